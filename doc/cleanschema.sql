@@ -96,6 +96,37 @@ CREATE TABLE IF NOT EXISTS ordermgmt.inventory_item (
     updatedby character varying(255),
     updatedtimestamp timestamp(6) without time zone,
     version bigint,
+    org_id uuid NOT NULL,
+    flashsale boolean DEFAULT false NOT NULL,
+    stripecount integer DEFAULT 1 NOT NULL,
+    stockledger boolean DEFAULT false NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS ordermgmt.inventory_stock_bucket (
+    itemid uuid NOT NULL,
+    bucketno integer NOT NULL,
+    availablestock integer NOT NULL,
+    reservedstock integer NOT NULL,
+    org_id uuid NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS ordermgmt.inventory_stock_snapshot (
+    itemid uuid NOT NULL,
+    availablestock integer NOT NULL,
+    reservedstock integer NOT NULL,
+    compactedtimestamp timestamp(6) without time zone DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    org_id uuid NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS ordermgmt.inventory_movement (
+    movementid uuid NOT NULL,
+    itemid uuid NOT NULL,
+    movementtype character varying(20) NOT NULL,
+    availabledelta integer NOT NULL,
+    reserveddelta integer NOT NULL,
+    compacted boolean DEFAULT false NOT NULL,
+    createdby character varying(255),
+    createdtimestamp timestamp(6) without time zone DEFAULT CURRENT_TIMESTAMP NOT NULL,
     org_id uuid NOT NULL
 );
 
@@ -225,6 +256,15 @@ ALTER TABLE ONLY ordermgmt.order_item
 ALTER TABLE ONLY ordermgmt.email_log
     ADD CONSTRAINT pk_email_log PRIMARY KEY (id);
 
+ALTER TABLE ONLY ordermgmt.inventory_stock_bucket
+    ADD CONSTRAINT pk_inventory_stock_bucket PRIMARY KEY (itemid, bucketno);
+
+ALTER TABLE ONLY ordermgmt.inventory_stock_snapshot
+    ADD CONSTRAINT pk_inventory_stock_snapshot PRIMARY KEY (itemid);
+
+ALTER TABLE ONLY ordermgmt.inventory_movement
+    ADD CONSTRAINT pk_inventory_movement PRIMARY KEY (movementid);
+
 -- Unique constraints
 ALTER TABLE ONLY ordermgmt.user_role
     ADD CONSTRAINT uq_user_role_rolename UNIQUE (rolename);
@@ -242,6 +282,19 @@ ALTER TABLE ONLY ordermgmt.inventory_item
 ALTER TABLE ONLY ordermgmt.inventory_item
     ADD CONSTRAINT ck_inventory_item_reservedstock_nonnegative CHECK (reservedstock >= 0);
 
+ALTER TABLE ONLY ordermgmt.inventory_item
+    ADD CONSTRAINT ck_inventory_item_stripecount_positive CHECK (stripecount >= 1);
+
+ALTER TABLE ONLY ordermgmt.inventory_stock_bucket
+    ADD CONSTRAINT ck_inventory_stock_bucket_availablestock_nonnegative CHECK (availablestock >= 0);
+
+ALTER TABLE ONLY ordermgmt.inventory_stock_bucket
+    ADD CONSTRAINT ck_inventory_stock_bucket_reservedstock_nonnegative CHECK (reservedstock >= 0);
+
+ALTER TABLE ONLY ordermgmt.inventory_movement
+    ADD CONSTRAINT ck_inventory_movement_movementtype
+    CHECK (movementtype IN ('RESERVE', 'RELEASE', 'FULFIL', 'RESTOCK'));
+
 -- Foreign keys
 ALTER TABLE ONLY ordermgmt.app_user
     ADD CONSTRAINT fk_app_user_role
@@ -308,6 +361,36 @@ ALTER TABLE ONLY ordermgmt.pricing_catalog
     FOREIGN KEY (itemid) REFERENCES ordermgmt.inventory_item(itemid)
     ON UPDATE CASCADE ON DELETE RESTRICT;
 
+ALTER TABLE ONLY ordermgmt.inventory_stock_bucket
+    ADD CONSTRAINT fk_inventory_stock_bucket_item
+    FOREIGN KEY (itemid) REFERENCES ordermgmt.inventory_item(itemid)
+    ON UPDATE CASCADE ON DELETE CASCADE;
+
+ALTER TABLE ONLY ordermgmt.inventory_stock_bucket
+    ADD CONSTRAINT fk_inventory_stock_bucket_org
+    FOREIGN KEY (org_id) REFERENCES ordermgmt.organization(org_id)
+    ON UPDATE CASCADE ON DELETE RESTRICT;
+
+ALTER TABLE ONLY ordermgmt.inventory_stock_snapshot
+    ADD CONSTRAINT fk_inventory_stock_snapshot_item
+    FOREIGN KEY (itemid) REFERENCES ordermgmt.inventory_item(itemid)
+    ON UPDATE CASCADE ON DELETE CASCADE;
+
+ALTER TABLE ONLY ordermgmt.inventory_stock_snapshot
+    ADD CONSTRAINT fk_inventory_stock_snapshot_org
+    FOREIGN KEY (org_id) REFERENCES ordermgmt.organization(org_id)
+    ON UPDATE CASCADE ON DELETE RESTRICT;
+
+ALTER TABLE ONLY ordermgmt.inventory_movement
+    ADD CONSTRAINT fk_inventory_movement_item
+    FOREIGN KEY (itemid) REFERENCES ordermgmt.inventory_item(itemid)
+    ON UPDATE CASCADE ON DELETE CASCADE;
+
+ALTER TABLE ONLY ordermgmt.inventory_movement
+    ADD CONSTRAINT fk_inventory_movement_org
+    FOREIGN KEY (org_id) REFERENCES ordermgmt.organization(org_id)
+    ON UPDATE CASCADE ON DELETE RESTRICT;
+
 -- =============================================================================
 -- 4) INDEXES (ADDED ONCE)
 -- =============================================================================
@@ -323,6 +406,15 @@ CREATE INDEX idx_email_log_sentat ON ordermgmt.email_log USING btree (sentat);
 CREATE INDEX idx_email_log_status ON ordermgmt.email_log USING btree (status);
 
 CREATE INDEX idx_inventory_item_org_id ON ordermgmt.inventory_item USING btree (org_id);
+CREATE INDEX idx_inventory_item_flashsale ON ordermgmt.inventory_item USING btree (itemid) WHERE flashsale;
+
+CREATE INDEX idx_inventory_stock_bucket_org_id ON ordermgmt.inventory_stock_bucket USING btree (org_id);
+
+CREATE INDEX idx_inventory_stock_snapshot_org_id ON ordermgmt.inventory_stock_snapshot USING btree (org_id);
+
+CREATE INDEX idx_inventory_movement_item_created ON ordermgmt.inventory_movement USING btree (itemid, createdtimestamp);
+CREATE INDEX idx_inventory_movement_pending ON ordermgmt.inventory_movement USING btree (itemid) WHERE NOT compacted;
+CREATE INDEX idx_inventory_movement_org_id ON ordermgmt.inventory_movement USING btree (org_id);
 
 CREATE INDEX idx_order_item_orderid ON ordermgmt.order_item USING btree (orderid);
 CREATE INDEX idx_order_item_org_id ON ordermgmt.order_item USING btree (org_id);
@@ -41,7 +41,7 @@ public class AdminOrderController {
     private final OrderService orderService;
 
     @GetMapping
-    @Operation(summary = "View Orders", description = "Get orders. With orderId: returns {\"orders\": [order]}. With page+size: returns paginated Page<OrderDTO>. Otherwise: returns the first 50 orders as {\"orders\": [...]}. customerId is excluded from responses.")
+    @Operation(summary = "View Orders", description = "Get orders. With orderId: returns {\"orders\": [order]}. With page+size: returns paginated Page<OrderDTO>. Otherwise: returns the first 50 orders as {\"orders\": [...]}. With headersOnly=true the lists carry totalAmount and itemCount but no items, and order lines are not read. With includeArchived=true, an orderId not among the current orders is looked up in the archive. customerId is excluded from responses.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Orders retrieved successfully", content = @Content),
             @ApiResponse(responseCode = "401", description = "Unauthorized access", content = @Content),
@@ -52,11 +52,13 @@ public class AdminOrderController {
     public ResponseEntity<?> getAllOrders(
             @Parameter(description = "Specific Order ID (UUID) to retrieve") @RequestParam(required = false) UUID orderId,
             @Parameter(description = "Page number (0-indexed)") @RequestParam(required = false) Integer page,
-            @Parameter(description = "Page size") @RequestParam(required = false) Integer size) {
+            @Parameter(description = "Page size") @RequestParam(required = false) Integer size,
+            @Parameter(description = "List order headers only (no items)") @RequestParam(defaultValue = "false") boolean headersOnly,
+            @Parameter(description = "Look up orderId in the archive too") @RequestParam(defaultValue = "false") boolean includeArchived) {
 
         if (orderId != null) {
             logger.info("Processing getAllOrders for specific Order: {}", orderId);
-            OrderDTO order = orderService.getOrderById(orderId);
+            OrderDTO order = orderService.getOrderById(orderId, includeArchived);
             logger.info("getAllOrders completed successfully for Order: {}", orderId);
             return ResponseEntity.ok(Map.of("orders", List.of(order)));
         }
@@ -64,14 +66,18 @@ public class AdminOrderController {
         if (page != null && size != null) {
             logger.info("Processing getAllOrders (Page) for Admin - Page: {}, Size: {}", page, size);
             Pageable pageable = PageRequest.of(page, size);
-            Page<OrderDTO> orders = orderService.getAllOrders(pageable);
+            Page<OrderDTO> orders = headersOnly
+                    ? orderService.getAllOrderHeaders(pageable)
+                    : orderService.getAllOrders(pageable);
             logger.info("getAllOrders (Page) completed successfully for Admin");
             return ResponseEntity.ok(orders);
         }
 
         logger.info("Processing getAllOrders (Default Page) for Admin");
         Pageable defaultPageable = PageRequest.of(0, 50);
-        Page<OrderDTO> orders = orderService.getAllOrders(defaultPageable);
+        Page<OrderDTO> orders = headersOnly
+                ? orderService.getAllOrderHeaders(defaultPageable)
+                : orderService.getAllOrders(defaultPageable);
         logger.info("getAllOrders (Default Page) completed successfully for Admin");
         return ResponseEntity.ok(Map.of("orders", orders.getContent()));
     }
@@ -14,6 +14,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import io.swagger.v3.oas.annotations.Operation;
@@ -21,6 +22,7 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -37,7 +39,7 @@ public class AdminPriceController {
     }
 
     @GetMapping
-    @Operation(summary = "View Prices", description = "Get pricing. With itemId: returns single AdminPricingDTO. With page+size: returns paginated Page<AdminPricingDTO>. Otherwise: returns {\"prices\": [...]}.")
+    @Operation(summary = "View Prices", description = "Get pricing. With itemId: returns single AdminPricingDTO (with at: the price in effect at that instant). With page+size: returns paginated Page<AdminPricingDTO>. Otherwise: returns {\"prices\": [...]}.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Prices retrieved successfully", content = @Content),
             @ApiResponse(responseCode = "401", description = "Unauthorized access", content = @Content),
@@ -47,9 +49,17 @@ public class AdminPriceController {
     })
     public ResponseEntity<?> getPrices(
             @Parameter(description = "Specific Item ID (UUID) to retrieve price for") @RequestParam(required = false) UUID itemId,
+            @Parameter(description = "Instant (yyyy-MM-dd HH:mm:ss) to resolve the item's price at; requires itemId") @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime at,
             @Parameter(description = "Page number (0-indexed)") @RequestParam(required = false) Integer page,
             @Parameter(description = "Page size") @RequestParam(required = false) Integer size) {
 
+        if (itemId != null && at != null) {
+            logger.info("Processing getPriceAt for Item: {} at {}", itemId, at);
+            AdminPricingDTO price = adminPriceService.getPriceAt(itemId, at);
+            logger.info("getPriceAt completed successfully for Item: {}", itemId);
+            return ResponseEntity.ok(price);
+        }
+
         if (itemId != null) {
             logger.info("Processing getPrice for specific Item: {}", itemId);
             AdminPricingDTO price = adminPriceService.getPrice(itemId);
@@ -1,5 +1,8 @@
 package com.example.ordermgmt.controller;
 
+import com.example.ordermgmt.dto.BulkOrderPlacementResultDTO;
+import com.example.ordermgmt.dto.BulkOrderPlacementWrapperDTO;
+import com.example.ordermgmt.dto.OrderAcceptanceDTO;
 import com.example.ordermgmt.dto.OrderDTO;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -7,6 +10,12 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 import com.example.ordermgmt.service.OrderService;
+import com.example.ordermgmt.service.impl.lock.LockAcquisitionPolicies;
+import com.example.ordermgmt.service.impl.lock.LockSite;
+import com.example.ordermgmt.service.impl.order.AsyncOrderIntake;
+import com.example.ordermgmt.service.impl.order.OrderAdmissionLimiter;
+import com.example.ordermgmt.service.impl.order.OrderIdempotencyCache;
+import com.example.ordermgmt.service.impl.order.OrderIntakeBatcher;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -32,26 +41,104 @@ import java.util.UUID;
 public class CustomerOrderController {
 
     private static final Logger logger = LoggerFactory.getLogger(CustomerOrderController.class);
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final String PREFER_HEADER = "Prefer";
+    private static final String RESPOND_ASYNC = "respond-async";
     private final OrderService orderService;
+    private final OrderIntakeBatcher orderIntake;
+    private final LockAcquisitionPolicies lockPolicies;
+    private final OrderAdmissionLimiter admissionLimiter;
+    private final OrderIdempotencyCache idempotencyCache;
+    private final AsyncOrderIntake asyncIntake;
 
     @PostMapping
-    @Operation(summary = "Place a New Order", description = "Create a new shopping order by providing the items. Response includes orderId, status, timestamps, items with prices, and totalAmount. customerId is excluded from response.")
+    @Operation(summary = "Place a New Order", description = "Create a new shopping order by providing the items. Response includes orderId, status, timestamps, items with prices, and totalAmount. customerId is excluded from response. With 'Prefer: respond-async' (and asynchronous acceptance enabled) the order is only journaled: the response is 202 with an orderToken to poll GET /api/customer/orders/accepted/{orderToken} with.")
     @ApiResponses({
             @ApiResponse(responseCode = "201", description = "Order created successfully", content = @Content(schema = @Schema(implementation = OrderDTO.class))),
-            @ApiResponse(responseCode = "400", description = "Invalid request — missing items, invalid quantity, or insufficient stock", content = @Content),
+            @ApiResponse(responseCode = "202", description = "Order accepted for asynchronous placement", content = @Content(schema = @Schema(implementation = OrderAcceptanceDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request — missing items, invalid quantity, insufficient stock, or Idempotency-Key reused for a different order", content = @Content),
             @ApiResponse(responseCode = "401", description = "Unauthorized access", content = @Content),
-            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
+            @ApiResponse(responseCode = "409", description = "A request with the same Idempotency-Key is still being processed", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content),
+            @ApiResponse(responseCode = "503", description = "Too many orders in flight, or order rows locked by concurrent updates — retry after the Retry-After delay", content = @Content)
     })
-    public ResponseEntity<OrderDTO> createOrder(@Valid @RequestBody OrderDTO request, Authentication authentication) {
+    public ResponseEntity<?> createOrder(@Valid @RequestBody OrderDTO request, Authentication authentication,
+            @Parameter(description = "Client-generated key; retries with the same key return the original order instead of placing a new one")
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @Parameter(description = "respond-async: accept the order into the intake journal and return 202 at once (ignored with an Idempotency-Key)")
+            @RequestHeader(value = PREFER_HEADER, required = false) String prefer) {
         String email = authentication.getName();
         logger.info("Processing createOrder for Customer: {}", email);
-        OrderDTO order = orderService.createOrder(request, email);
+        if (idempotencyKey == null && prefer != null && prefer.toLowerCase().contains(RESPOND_ASYNC)
+                && asyncIntake.isEnabled()) {
+            OrderAcceptanceDTO accepted = asyncIntake.accept(request, email);
+            logger.info("createOrder accepted for Customer: {} - Token: {}", email, accepted.getOrderToken());
+            return ResponseEntity.status(org.springframework.http.HttpStatus.ACCEPTED)
+                    .header(org.springframework.http.HttpHeaders.LOCATION,
+                            "/api/customer/orders/accepted/" + accepted.getOrderToken())
+                    .header("Preference-Applied", RESPOND_ASYNC)
+                    .body(accepted);
+        }
+        if (idempotencyKey != null) {
+            OrderIdempotencyCache.Result result = idempotencyCache.execute(idempotencyKey, email, request,
+                    () -> placeOrder(request, email));
+            logger.info("createOrder completed successfully for Customer: {}", email);
+            return ResponseEntity.status(org.springframework.http.HttpStatus.CREATED)
+                    .header(IDEMPOTENT_REPLAYED_HEADER, String.valueOf(result.replayed()))
+                    .body(result.order());
+        }
+        OrderDTO order = placeOrder(request, email);
         logger.info("createOrder completed successfully for Customer: {}", email);
         return ResponseEntity.status(org.springframework.http.HttpStatus.CREATED).body(order);
     }
 
+    private OrderDTO placeOrder(OrderDTO request, String email) {
+        return admissionLimiter.admit(() -> orderIntake.isEnabled()
+                ? orderIntake.createOrder(request, email)
+                : lockPolicies.withRetry(LockSite.ORDER_PLACEMENT, () -> orderService.createOrder(request, email)));
+    }
+
+    @GetMapping("/accepted/{orderToken}")
+    @Operation(summary = "Track an Accepted Order", description = "Outcome of an order accepted with 'Prefer: respond-async': ACCEPTED while it waits to be placed, PLACED with the order, or FAILED with the reason.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Status retrieved successfully", content = @Content(schema = @Schema(implementation = OrderAcceptanceDTO.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized access", content = @Content),
+            @ApiResponse(responseCode = "404", description = "No accepted order with this token", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
+    })
+    public ResponseEntity<OrderAcceptanceDTO> getAcceptedOrder(@PathVariable UUID orderToken,
+            Authentication authentication) {
+        String email = authentication.getName();
+        logger.info("Processing getAcceptedOrder for Token: {}, Customer: {}", orderToken, email);
+        OrderAcceptanceDTO status = asyncIntake.getStatus(orderToken, email);
+        logger.info("getAcceptedOrder completed successfully for Token: {} - Status: {}", orderToken,
+                status.getStatus());
+        return ResponseEntity.ok(status);
+    }
+
+    @PostMapping("/bulk")
+    @Operation(summary = "Place Orders in Bulk", description = "Place many orders in one call, for wholesale integrations. Request body: {\"orders\": [{\"items\": [...]}, ...]}. Orders that fit are placed together in one transaction; each order succeeds or fails on its own. Returns one result per order, in request order, with the placed order or the error.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Bulk placement result", content = @Content(schema = @Schema(implementation = BulkOrderPlacementResultDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request — empty list, too many orders, or incomplete customer profile", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized access", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content),
+            @ApiResponse(responseCode = "503", description = "Too many orders in flight, or inventory rows locked by concurrent updates — retry after the Retry-After delay", content = @Content)
+    })
+    public ResponseEntity<BulkOrderPlacementResultDTO> createOrdersBulk(
+            @Valid @RequestBody BulkOrderPlacementWrapperDTO wrapper, Authentication authentication) {
+        String email = authentication.getName();
+        List<OrderDTO> requests = wrapper.getOrders();
+        logger.info("Processing createOrdersBulk for {} orders, Customer: {}", requests.size(), email);
+        BulkOrderPlacementResultDTO result = admissionLimiter.admit(() -> orderService.createOrders(requests, email));
+        logger.info("createOrdersBulk completed successfully for Customer: {} - {} created, {} failed",
+                email, result.getCreated(), result.getFailed());
+        return ResponseEntity.ok(result);
+    }
+
     @GetMapping
-    @Operation(summary = "View My Orders", description = "Get your orders. With orderId: returns {\"orders\": [order]}. With page+size: returns paginated Page<OrderDTO>. Otherwise: returns {\"orders\": [...]}. customerId is excluded from all responses.")
+    @Operation(summary = "View My Orders", description = "Get your orders. With orderId: returns {\"orders\": [order]}. With page+size: returns paginated Page<OrderDTO>. Otherwise: returns {\"orders\": [...]}. With includeArchived=true, archived (old delivered or cancelled) orders are found by orderId and listed after the current ones. customerId is excluded from all responses.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Orders retrieved successfully", content = @Content),
             @ApiResponse(responseCode = "401", description = "Unauthorized access", content = @Content),
@@ -62,13 +149,14 @@ public class CustomerOrderController {
             Authentication authentication,
             @Parameter(description = "Specific Order ID (UUID) to retrieve") @RequestParam(required = false) UUID orderId,
             @Parameter(description = "Page number (0-indexed)") @RequestParam(required = false) Integer page,
-            @Parameter(description = "Page size") @RequestParam(required = false) Integer size) {
+            @Parameter(description = "Page size") @RequestParam(required = false) Integer size,
+            @Parameter(description = "Also read archived orders") @RequestParam(defaultValue = "false") boolean includeArchived) {
 
         String email = authentication.getName();
 
         if (orderId != null) {
             logger.info("Processing getMyOrders for specific Order: {}, Customer: {}", orderId, email);
-            OrderDTO order = orderService.getCustomerOrderById(orderId, email);
+            OrderDTO order = orderService.getCustomerOrderById(orderId, email, includeArchived);
             logger.info("getMyOrders completed successfully for Order: {}", orderId);
             return ResponseEntity.ok(Map.of("orders", List.of(order)));
         }
@@ -76,13 +164,13 @@ public class CustomerOrderController {
         if (page != null && size != null) {
             logger.info("Processing getMyOrders (Page) for Customer: {} - Page: {}, Size: {}", email, page, size);
             Pageable pageable = PageRequest.of(page, size);
-            Page<OrderDTO> orders = orderService.getCustomerOrders(email, pageable);
+            Page<OrderDTO> orders = orderService.getCustomerOrders(email, pageable, includeArchived);
             logger.info("getMyOrders (Page) completed successfully for Customer: {}", email);
             return ResponseEntity.ok(orders);
         }
 
         logger.info("Processing getMyOrders for Customer: {}", email);
-        List<OrderDTO> orders = orderService.getCustomerOrders(email);
+        List<OrderDTO> orders = orderService.getCustomerOrders(email, includeArchived);
         logger.info("getMyOrders completed successfully for Customer: {}", email);
         return ResponseEntity.ok(Map.of("orders", orders));
     }
@@ -94,12 +182,13 @@ public class CustomerOrderController {
             @ApiResponse(responseCode = "400", description = "Order cannot be cancelled (not in PENDING status)", content = @Content),
             @ApiResponse(responseCode = "401", description = "Unauthorized access", content = @Content),
             @ApiResponse(responseCode = "404", description = "Order not found", content = @Content),
-            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content),
+            @ApiResponse(responseCode = "503", description = "Order rows are locked by concurrent updates — retry after the Retry-After delay", content = @Content)
     })
     public ResponseEntity<OrderDTO> cancelMyOrder(@PathVariable UUID orderId, Authentication authentication) {
         String email = authentication.getName();
         logger.info("Processing cancelMyOrder for Order: {}", orderId);
-        OrderDTO order = orderService.cancelOrder(orderId, email);
+        OrderDTO order = lockPolicies.withRetry(LockSite.ORDER_CANCEL, () -> orderService.cancelOrder(orderId, email));
         logger.info("cancelMyOrder completed successfully for Order: {}", orderId);
         return ResponseEntity.ok(order);
     }
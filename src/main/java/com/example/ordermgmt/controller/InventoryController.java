@@ -20,6 +20,13 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import com.example.ordermgmt.dto.AddStockRequestDTO;
 import com.example.ordermgmt.dto.AddStockWrapperDTO;
+import com.example.ordermgmt.dto.FlashSaleToggleDTO;
+import com.example.ordermgmt.dto.FlashSaleWrapperDTO;
+import com.example.ordermgmt.dto.InventoryMovementDTO;
+import com.example.ordermgmt.dto.StockLedgerToggleDTO;
+import com.example.ordermgmt.dto.StockLedgerWrapperDTO;
+import com.example.ordermgmt.dto.StockStripingDTO;
+import com.example.ordermgmt.dto.StockStripingWrapperDTO;
 import com.example.ordermgmt.dto.InventoryItemWrapperDTO;
 import java.util.Map;
 import java.util.List;
@@ -123,6 +130,79 @@ public class InventoryController {
         return ResponseEntity.ok(Map.of("items", result));
     }
 
+    @PutMapping("/flash-sale")
+    @Operation(summary = "Toggle Flash-Sale Mode", description = "Enable or disable Redis-backed flash-sale mode per item. Enabling (re)builds the live counters from stock and open orders. Request body: {\"flashsale\": [{\"itemId\":\"...\",\"enabled\":true},...]}. Response: {\"items\": [...]}")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Flash-sale mode updated — returns {\"items\": [...]}", content = @Content),
+            @ApiResponse(responseCode = "400", description = "Invalid request format or parameters", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized access", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Forbidden — requires ADMIN role", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Item not found", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
+    })
+    public ResponseEntity<?> updateFlashSaleMode(@Valid @RequestBody FlashSaleWrapperDTO wrapper) {
+        List<FlashSaleToggleDTO> items = wrapper.getFlashsale();
+        logger.info("Processing updateFlashSaleMode for {} items", items.size());
+        List<UUID> result = inventoryService.updateFlashSaleMode(items);
+        logger.info("updateFlashSaleMode completed successfully");
+        return ResponseEntity.ok(Map.of("items", result));
+    }
+
+    @PutMapping("/striping")
+    @Operation(summary = "Stripe Item Stock", description = "Split a hot item's stock across N bucket rows so concurrent reservations update different rows, or rebalance an already striped item. buckets=1 folds the stock back onto the item. Request body: {\"striping\": [{\"itemId\":\"...\",\"buckets\":8},...]}. Response: {\"items\": [...]}")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Striping updated — returns {\"items\": [...]}", content = @Content),
+            @ApiResponse(responseCode = "400", description = "Invalid request, striping disabled or item in flash-sale mode", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized access", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Forbidden — requires ADMIN role", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Item not found", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
+    })
+    public ResponseEntity<?> updateStockStriping(@Valid @RequestBody StockStripingWrapperDTO wrapper) {
+        List<StockStripingDTO> items = wrapper.getStriping();
+        logger.info("Processing updateStockStriping for {} items", items.size());
+        List<UUID> result = inventoryService.updateStockStriping(items);
+        logger.info("updateStockStriping completed successfully");
+        return ResponseEntity.ok(Map.of("items", result));
+    }
+
+    @PutMapping("/ledger")
+    @Operation(summary = "Toggle Stock Ledger Mode", description = "Enable or disable ledger mode per item. In ledger mode every reservation, release, fulfilment and restock is recorded as an insert-only movement and the stock is derived from the last snapshot plus later movements. Disabling folds the balance back onto the item. Request body: {\"ledger\": [{\"itemId\":\"...\",\"enabled\":true},...]}. Response: {\"items\": [...]}")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Ledger mode updated — returns {\"items\": [...]}", content = @Content),
+            @ApiResponse(responseCode = "400", description = "Invalid request, ledger mode disabled, or item in flash-sale mode or striped", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized access", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Forbidden — requires ADMIN role", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Item not found", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
+    })
+    public ResponseEntity<?> updateStockLedgerMode(@Valid @RequestBody StockLedgerWrapperDTO wrapper) {
+        List<StockLedgerToggleDTO> items = wrapper.getLedger();
+        logger.info("Processing updateStockLedgerMode for {} items", items.size());
+        List<UUID> result = inventoryService.updateStockLedgerMode(items);
+        logger.info("updateStockLedgerMode completed successfully");
+        return ResponseEntity.ok(Map.of("items", result));
+    }
+
+    @GetMapping("/movements")
+    @Operation(summary = "View Stock Movements", description = "Audit trail of a ledger-mode item: its stock movements, newest first, as a paginated Page<InventoryMovementDTO>.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Movements retrieved successfully", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized access", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Forbidden — requires ADMIN role", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Item not found", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
+    })
+    public ResponseEntity<Page<InventoryMovementDTO>> getStockMovements(
+            @Parameter(description = "Item ID (UUID)") @RequestParam UUID itemId,
+            @Parameter(description = "Page number (0-indexed)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "50") int size) {
+        logger.info("Processing getStockMovements for Item: {}", itemId);
+        Page<InventoryMovementDTO> movements = inventoryService.getStockMovements(itemId, PageRequest.of(page, size));
+        logger.info("getStockMovements completed successfully for Item: {}", itemId);
+        return ResponseEntity.ok(movements);
+    }
+
     @DeleteMapping("/{ids}")
     @Operation(summary = "Delete Inventory Items", description = "Delete multiple inventory items by comma-separated UUIDs in path. Returns 204 No Content on success.")
     @ApiResponses({
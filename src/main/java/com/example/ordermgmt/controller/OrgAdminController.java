@@ -5,6 +5,7 @@ import com.example.ordermgmt.dto.UpdateUserStatusRequestDTO;
 import com.example.ordermgmt.dto.UserResponseDTO;
 import com.example.ordermgmt.dto.analytics.OrderAnalyticsResponseDTO;
 import com.example.ordermgmt.dto.analytics.RevenueReportResponseDTO;
+import com.example.ordermgmt.dto.analytics.StatusDurationReportResponseDTO;
 import com.example.ordermgmt.exception.InvalidOperationException;
 import com.example.ordermgmt.service.AdminAnalyticsService;
 import com.example.ordermgmt.service.OrgAdminService;
@@ -161,4 +162,18 @@ public class OrgAdminController {
 
         return ResponseEntity.ok(report);
     }
+
+    @GetMapping("/analytics/status-durations")
+    public ResponseEntity<StatusDurationReportResponseDTO> getStatusDurationReport(
+            @RequestParam("startdate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam("enddate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @Parameter(description = "Status the orders were in, e.g. CONFIRMED") @RequestParam("fromstatus") String fromStatus,
+            @Parameter(description = "Status they moved to, e.g. SHIPPED") @RequestParam("tostatus") String toStatus) {
+        logger.info("Processing getStatusDurationReport for range: {} to {} ({} -> {})",
+                startDate, endDate, fromStatus, toStatus);
+        StatusDurationReportResponseDTO report = adminAnalyticsService.getStatusDurationReport(
+                startDate, endDate, fromStatus, toStatus);
+        logger.info("getStatusDurationReport completed successfully for range: {} to {}", startDate, endDate);
+        return ResponseEntity.ok(report);
+    }
 }
@@ -0,0 +1,22 @@
+package com.example.ordermgmt.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Bulk order placement outcome dto")
+public class BulkOrderPlacementDTO {
+    @Schema(description = "Position of the order in the request")
+    private int index;
+
+    @Schema(description = "Placed order, absent when the order failed")
+    private OrderDTO order;
+
+    @Schema(description = "Why the order was not placed, absent on success")
+    private String error;
+}
@@ -0,0 +1,19 @@
+package com.example.ordermgmt.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Bulk order placement result dto")
+public class BulkOrderPlacementResultDTO {
+    private List<BulkOrderPlacementDTO> results;
+    private int created;
+    private int failed;
+}
@@ -0,0 +1,34 @@
+package com.example.ordermgmt.dto;
+
+import com.example.ordermgmt.enums.StockMovementType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Inventory ledger movement dto")
+public class InventoryMovementDTO {
+
+    private UUID movementId;
+
+    private StockMovementType movementType;
+
+    @Schema(description = "Change to available stock")
+    private Integer availableDelta;
+
+    @Schema(description = "Change to reserved stock")
+    private Integer reservedDelta;
+
+    @Schema(description = "true once the movement is folded into the item's stock snapshot")
+    private Boolean compacted;
+
+    private String createdBy;
+
+    private LocalDateTime createdTimestamp;
+}
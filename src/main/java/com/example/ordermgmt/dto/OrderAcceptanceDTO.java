@@ -0,0 +1,31 @@
+package com.example.ordermgmt.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Asynchronously accepted order dto")
+public class OrderAcceptanceDTO {
+    @Schema(description = "Token to poll the order's outcome with")
+    private UUID orderToken;
+
+    @Schema(description = "ACCEPTED (waiting to be placed), PLACED or FAILED")
+    private String status;
+
+    @Schema(description = "When the order was accepted")
+    private LocalDateTime acceptedTimestamp;
+
+    @Schema(description = "Placed order, present once status is PLACED")
+    private OrderDTO order;
+
+    @Schema(description = "Why the order was not placed, present when status is FAILED")
+    private String error;
+}
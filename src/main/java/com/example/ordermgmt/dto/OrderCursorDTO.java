@@ -0,0 +1,22 @@
+package com.example.ordermgmt.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * An order's keyset position, (createdTimestamp, orderId), without loading the
+ * order (JPQL constructor projection); the auto-cancel sweep resumes after the
+ * last one it read.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderCursorDTO {
+
+    private UUID orderId;
+    private LocalDateTime createdTimestamp;
+}
@@ -41,4 +41,13 @@ public class OrderDTO {
 
     @Schema(accessMode = Schema.AccessMode.READ_ONLY)
     private BigDecimal totalAmount;
+
+    @Schema(accessMode = Schema.AccessMode.READ_ONLY, description = "Number of order lines")
+    private Integer itemCount;
+
+    public OrderDTO(UUID orderId, UUID customerId, String status, LocalDateTime createdTimestamp,
+            LocalDateTime updatedTimestamp, List<OrderItemDTO> items, BigDecimal totalAmount) {
+        this(orderId, customerId, status, createdTimestamp, updatedTimestamp, items, totalAmount,
+                items != null ? items.size() : null);
+    }
 }
@@ -0,0 +1,20 @@
+package com.example.ordermgmt.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * An order's ID and current status name, without loading the order (JPQL
+ * constructor projection); groups bulk status updates by transition.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusRowDTO {
+
+    private UUID orderId;
+    private String statusName;
+}
@@ -0,0 +1,18 @@
+package com.example.ordermgmt.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Current stock of one bucket of a striped item (JPQL constructor projection).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockBucketLevelDTO {
+
+    private Integer bucketNo;
+    private Integer availableStock;
+    private Integer reservedStock;
+}
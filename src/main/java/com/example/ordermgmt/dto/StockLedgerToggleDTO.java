@@ -0,0 +1,24 @@
+package com.example.ordermgmt.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Stock ledger mode toggle dto")
+public class StockLedgerToggleDTO {
+
+    @NotNull(message = "Item ID is required")
+    private UUID itemId;
+
+    @NotNull(message = "Enabled flag is required")
+    @Schema(description = "true: record stock changes as ledger movements; false: fold the balance back onto the item")
+    private Boolean enabled;
+}
@@ -0,0 +1,21 @@
+package com.example.ordermgmt.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Stock of an item held outside its INVENTORY_ITEM row: the bucket sums of a striped
+ * item or the ledger balance of a ledger-mode item (JPQL constructor projection).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockLevelDTO {
+
+    private UUID itemId;
+    private Long availableStock;
+    private Long reservedStock;
+}
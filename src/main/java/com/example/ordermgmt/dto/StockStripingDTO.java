@@ -0,0 +1,26 @@
+package com.example.ordermgmt.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Stock striping dto")
+public class StockStripingDTO {
+
+    @NotNull(message = "Item ID is required")
+    private UUID itemId;
+
+    @NotNull(message = "Bucket count is required")
+    @Min(value = 1, message = "Bucket count must be at least 1")
+    @Schema(description = "Number of stock buckets; 1 folds the stock back onto the item row")
+    private Integer buckets;
+}
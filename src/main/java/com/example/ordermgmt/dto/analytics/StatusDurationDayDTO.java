@@ -0,0 +1,21 @@
+package com.example.ordermgmt.dto.analytics;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Time-in-status percentiles of the transitions made on one day, in milliseconds")
+public class StatusDurationDayDTO {
+    private LocalDate day;
+    private Long transitions;
+    private Long p50Ms;
+    private Long p90Ms;
+    private Long p95Ms;
+    private Long p99Ms;
+    private Long maxMs;
+}
@@ -0,0 +1,20 @@
+package com.example.ordermgmt.dto.analytics;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDate;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Time-in-status report: how long orders stayed in fromStatus before moving to toStatus")
+public class StatusDurationReportResponseDTO {
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private String fromStatus;
+    private String toStatus;
+    private List<StatusDurationDayDTO> days;
+}
@@ -48,6 +48,32 @@ public class InventoryItem {
     @OneToMany(mappedBy = "inventoryItem", cascade = CascadeType.PERSIST)
     private List<PricingHistory> pricingHistoryLogs;
 
+    /**
+     * Flash-sale items keep their live counters in Redis; the columns above are
+     * brought up to date by the asynchronous reconciler.
+     */
+    @Column(name = "flashsale", nullable = false)
+    private boolean flashSale;
+
+    /**
+     * Number of INVENTORY_STOCK_BUCKET rows the stock is split across; 1 means not
+     * striped. While striped the stock columns above stay at zero.
+     */
+    @Column(name = "stripecount", nullable = false)
+    private int stripeCount = 1;
+
+    public boolean isStriped() {
+        return stripeCount > 1;
+    }
+
+    /**
+     * Ledger-mode items record every stock change as an INVENTORY_MOVEMENT row; the
+     * balance is INVENTORY_STOCK_SNAPSHOT plus uncompacted movements. While in ledger
+     * mode the stock columns above stay at zero.
+     */
+    @Column(name = "stockledger", nullable = false)
+    private boolean stockLedger;
+
     @Version
     @Column(name = "version")
     private Long version;
@@ -0,0 +1,68 @@
+package com.example.ordermgmt.entity;
+
+import com.example.ordermgmt.enums.StockMovementType;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+import org.springframework.data.annotation.CreatedBy;
+import org.springframework.data.annotation.CreatedDate;
+import org.hibernate.annotations.TenantId;
+import org.hibernate.annotations.UuidGenerator;
+
+/**
+ * One stock movement of an item in ledger mode. Rows are only ever inserted;
+ * compaction folds them into INVENTORY_STOCK_SNAPSHOT and flags them as
+ * compacted, but keeps them as the item's audit trail.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "INVENTORY_MOVEMENT")
+@EntityListeners(AuditingEntityListener.class)
+public class InventoryMovement {
+
+    @Id
+    @UuidGenerator(style = UuidGenerator.Style.TIME)
+    @Column(name = "movementid", updatable = false, nullable = false)
+    private UUID movementId;
+
+    @Column(name = "itemid", updatable = false, nullable = false)
+    private UUID itemId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "movementtype", length = 20, updatable = false, nullable = false)
+    private StockMovementType movementType;
+
+    @Column(name = "availabledelta", updatable = false, nullable = false)
+    private Integer availableDelta;
+
+    @Column(name = "reserveddelta", updatable = false, nullable = false)
+    private Integer reservedDelta;
+
+    @Column(name = "compacted", nullable = false)
+    private boolean compacted;
+
+    @TenantId
+    @Column(name = "org_id")
+    private UUID orgId;
+
+    @CreatedBy
+    @Column(name = "createdby", updatable = false)
+    private String createdBy;
+
+    @CreatedDate
+    @Column(name = "createdtimestamp", nullable = false, updatable = false)
+    private LocalDateTime createdTimestamp;
+
+    public InventoryMovement(UUID itemId, StockMovementType movementType, int availableDelta, int reservedDelta) {
+        this.itemId = itemId;
+        this.movementType = movementType;
+        this.availableDelta = availableDelta;
+        this.reservedDelta = reservedDelta;
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.ordermgmt.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import java.io.Serializable;
+import java.util.UUID;
+import org.hibernate.annotations.TenantId;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * One stripe of a hot item's stock. Reservations for a striped item update a
+ * single bucket row instead of the shared INVENTORY_ITEM row, so concurrent
+ * orders for the same item mostly contend on different rows.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "INVENTORY_STOCK_BUCKET")
+public class InventoryStockBucket implements Persistable<InventoryStockBucket.BucketId> {
+
+    @EmbeddedId
+    private BucketId id;
+
+    @Column(name = "availablestock", nullable = false)
+    private Integer availableStock;
+
+    @Column(name = "reservedstock", nullable = false)
+    private Integer reservedStock;
+
+    @TenantId
+    @Column(name = "org_id")
+    private UUID orgId;
+
+    // Buckets are only ever created fresh after the old set is deleted, so save() can persist directly
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean newEntity = true;
+
+    public InventoryStockBucket(UUID itemId, int bucketNo, int availableStock, int reservedStock) {
+        this.id = new BucketId(itemId, bucketNo);
+        this.availableStock = availableStock;
+        this.reservedStock = reservedStock;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newEntity = false;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Embeddable
+    public static class BucketId implements Serializable {
+
+        @Column(name = "itemid", updatable = false, nullable = false)
+        private UUID itemId;
+
+        @Column(name = "bucketno", updatable = false, nullable = false)
+        private Integer bucketNo;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.ordermgmt.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import org.hibernate.annotations.TenantId;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * Stock of a ledger-mode item as of its last compaction. The live balance is
+ * this row plus the item's INVENTORY_MOVEMENT rows that are not yet compacted.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "INVENTORY_STOCK_SNAPSHOT")
+public class InventoryStockSnapshot implements Persistable<UUID> {
+
+    @Id
+    @Column(name = "itemid", updatable = false, nullable = false)
+    private UUID itemId;
+
+    @Column(name = "availablestock", nullable = false)
+    private Integer availableStock;
+
+    @Column(name = "reservedstock", nullable = false)
+    private Integer reservedStock;
+
+    @Column(name = "compactedtimestamp", nullable = false)
+    private LocalDateTime compactedTimestamp;
+
+    @TenantId
+    @Column(name = "org_id")
+    private UUID orgId;
+
+    // Snapshots are only created when ledger mode is switched on, after any old one is deleted
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean newEntity = true;
+
+    public InventoryStockSnapshot(UUID itemId, int availableStock, int reservedStock) {
+        this.itemId = itemId;
+        this.availableStock = availableStock;
+        this.reservedStock = reservedStock;
+        this.compactedTimestamp = LocalDateTime.now();
+    }
+
+    @Override
+    public UUID getId() {
+        return itemId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newEntity = false;
+    }
+}
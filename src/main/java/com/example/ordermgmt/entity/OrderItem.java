@@ -1,6 +1,7 @@
 package com.example.ordermgmt.entity;
 
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.NoArgsConstructor;
@@ -18,6 +19,7 @@ import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.annotation.CreatedBy;
 import org.springframework.data.annotation.LastModifiedBy;
 import org.hibernate.annotations.TenantId;
+import org.springframework.data.domain.Persistable;
 
 @Getter
 @Setter
@@ -26,7 +28,7 @@ import org.hibernate.annotations.TenantId;
 @Entity
 @Table(name = "ORDER_ITEM")
 @EntityListeners(AuditingEntityListener.class)
-public class OrderItem {
+public class OrderItem implements Persistable<OrderItem.OrderItemId> {
 
     @EmbeddedId
     private OrderItemId id;
@@ -73,6 +75,28 @@ public class OrderItem {
     @Column(name = "updatedby")
     private String updatedBy;
 
+    /**
+     * The composite key is assigned by the application, so Spring Data cannot tell
+     * a new line from a detached one and would merge (SELECT + INSERT) on save.
+     * Tracking the state here lets save() go straight to persist, which keeps the
+     * INSERTs batchable.
+     */
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean newEntity = true;
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newEntity = false;
+    }
+
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
@@ -0,0 +1,51 @@
+package com.example.ordermgmt.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.TenantId;
+
+/**
+ * One order line from the ORDER_SALE_LINE view: hot and archived lines alike,
+ * with their order's status and creation time. Read-only; revenue reports and
+ * order analytics query it so an order keeps counting once it is archived.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Immutable
+@Table(name = "ORDER_SALE_LINE")
+public class OrderSaleLine {
+
+    @EmbeddedId
+    private OrderItem.OrderItemId id;
+
+    // Archived lines keep no foreign key to the catalog, so reports join it LEFT
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "itemid", insertable = false, updatable = false,
+            foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private InventoryItem inventoryItem;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "statusid", insertable = false, updatable = false,
+            foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private OrderStatusLookup status;
+
+    @Column(name = "quantity")
+    private Integer quantity;
+
+    @Column(name = "unitprice", precision = 19, scale = 4)
+    private BigDecimal unitPrice;
+
+    // The order's creation time, which the reports' date ranges filter on
+    @Column(name = "createdtimestamp")
+    private LocalDateTime createdTimestamp;
+
+    @TenantId
+    @Column(name = "org_id")
+    private UUID orgId;
+}
@@ -5,6 +5,7 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.UUID;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -45,6 +46,17 @@ public class Orders {
     @JoinColumn(name = "org_id", insertable = false, updatable = false)
     private Organization org;
 
+    // Order token of an asynchronously accepted order; null for synchronous placements
+    @Column(name = "intaketoken", updatable = false, unique = true)
+    private UUID intakeToken;
+
+    // Sum of the line subtotals and number of lines, written at placement so headers need no ORDER_ITEM read
+    @Column(name = "totalamount", nullable = false, precision = 19, scale = 4)
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+
+    @Column(name = "itemcount", nullable = false)
+    private int itemCount;
+
     @CreatedDate
     @Column(name = "createdtimestamp", nullable = false, updatable = false)
     private LocalDateTime createdTimestamp;
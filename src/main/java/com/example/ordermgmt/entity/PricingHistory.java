@@ -39,6 +39,10 @@ public class PricingHistory {
     @Column(name = "newprice", nullable = false, precision = 19, scale = 4)
     private BigDecimal newPrice;
 
+    // When the price takes effect; createdTimestamp is when it was recorded
+    @Column(name = "effectivefrom", nullable = false, updatable = false)
+    private LocalDateTime effectiveFrom;
+
     @CreatedDate
     @Column(name = "createdtimestamp", nullable = false, updatable = false)
     private LocalDateTime createdTimestamp;
@@ -0,0 +1,5 @@
+package com.example.ordermgmt.enums;
+
+public enum StockMovementType {
+    RESERVE, RELEASE, FULFIL, RESTOCK
+}
@@ -0,0 +1,18 @@
+package com.example.ordermgmt.event;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Published once per order placed, inside the placing transaction. Listeners
+ * that only care about committed orders listen AFTER_COMMIT.
+ *
+ * @param orderId          The new PENDING order.
+ * @param orgId            The tenant the order belongs to.
+ * @param createdTimestamp When the order was created; null if not yet known.
+ */
+public record OrderPlacedEvent(
+        UUID orderId,
+        UUID orgId,
+        LocalDateTime createdTimestamp) {
+}
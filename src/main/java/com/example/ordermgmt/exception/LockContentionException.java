@@ -0,0 +1,7 @@
+package com.example.ordermgmt.exception;
+
+public class LockContentionException extends RuntimeException {
+    public LockContentionException(String message) {
+        super(message);
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -16,13 +17,106 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface InventoryItemRepository extends JpaRepository<InventoryItem, UUID> {
 
-    @Query("SELECT i FROM InventoryItem i WHERE i.availableStock > 0 AND i.pricingCatalog.unitPrice IS NOT NULL")
+    // Striped items keep their stock in INVENTORY_STOCK_BUCKET and ledger items in the snapshot plus
+    // pending movements, so the row columns alone are not enough
+    String AVAILABLE_WITH_PRICING = "SELECT i FROM InventoryItem i WHERE i.pricingCatalog.unitPrice IS NOT NULL "
+            + "AND (i.availableStock > 0 OR (i.stripeCount > 1 AND EXISTS (SELECT b.id.bucketNo "
+            + "FROM InventoryStockBucket b WHERE b.id.itemId = i.itemId AND b.availableStock > 0)) "
+            + "OR (i.stockLedger = true AND EXISTS (SELECT s.itemId FROM InventoryStockSnapshot s "
+            + "WHERE s.itemId = i.itemId AND s.availableStock + COALESCE((SELECT SUM(m.availableDelta) "
+            + "FROM InventoryMovement m WHERE m.itemId = i.itemId AND m.compacted = false), 0) > 0)))";
+
+    @Query(AVAILABLE_WITH_PRICING)
     List<InventoryItem> findAvailableWithPricing();
 
-    @Query("SELECT i FROM InventoryItem i WHERE i.availableStock > 0 AND i.pricingCatalog.unitPrice IS NOT NULL")
+    @Query(AVAILABLE_WITH_PRICING)
     Page<InventoryItem> findAvailableWithPricing(Pageable pageable);
 
+    List<InventoryItem> findByFlashSaleTrue();
+
+    // Scalar projection: tells the caller which items to route to flash-sale mode
+    // without pulling the entities into the persistence context
+    @Query("SELECT i.itemId FROM InventoryItem i WHERE i.itemId IN :itemIds AND i.flashSale = true")
+    List<UUID> findFlashSaleItemIds(@Param("itemIds") List<UUID> itemIds);
+
+    @Query("SELECT i.itemId FROM InventoryItem i WHERE i.itemId IN :itemIds AND i.stripeCount > 1")
+    List<UUID> findStripedItemIds(@Param("itemIds") List<UUID> itemIds);
+
+    @Query("SELECT i.itemId FROM InventoryItem i WHERE i.itemId IN :itemIds AND i.stockLedger = true")
+    List<UUID> findLedgerItemIds(@Param("itemIds") List<UUID> itemIds);
+
+    // Shared row lock: ledger inserts that need no balance check still wait for a mode switch
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT i FROM InventoryItem i WHERE i.itemId IN :itemIds ORDER BY i.itemId")
+    List<InventoryItem> findAllByItemIdInForShare(@Param("itemIds") List<UUID> itemIds);
+
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT i FROM InventoryItem i WHERE i.itemId IN :itemIds ORDER BY i.itemId")
     List<InventoryItem> findAllByItemIdInForUpdate(@Param("itemIds") List<UUID> itemIds);
+
+    /*
+     * Guarded single-statement stock moves used by the conditional reservation engine.
+     * The WHERE clause is the invariant check, so the row lock is held only for the
+     * statement itself and the affected-row count (0 or 1) tells the caller whether
+     * the move was allowed. The version is bumped so optimistic readers still see the change.
+     */
+
+    @Modifying
+    @Query("UPDATE InventoryItem i SET i.availableStock = i.availableStock - :quantity, "
+            + "i.reservedStock = i.reservedStock + :quantity, i.version = i.version + 1 "
+            + "WHERE i.itemId = :itemId AND i.availableStock >= :quantity")
+    int reserveStockIfAvailable(@Param("itemId") UUID itemId, @Param("quantity") int quantity);
+
+    @Modifying
+    @Query("UPDATE InventoryItem i SET i.availableStock = i.availableStock + :quantity, "
+            + "i.reservedStock = i.reservedStock - :quantity, i.version = i.version + 1 "
+            + "WHERE i.itemId = :itemId AND i.reservedStock >= :quantity")
+    int releaseReservedStockIfReserved(@Param("itemId") UUID itemId, @Param("quantity") int quantity);
+
+    @Modifying
+    @Query("UPDATE InventoryItem i SET i.reservedStock = i.reservedStock - :quantity, "
+            + "i.version = i.version + 1 "
+            + "WHERE i.itemId = :itemId AND i.reservedStock >= :quantity")
+    int fulfilReservedStockIfReserved(@Param("itemId") UUID itemId, @Param("quantity") int quantity);
+
+    /*
+     * Optimistic stock move used by the adaptive engine: applies only if nobody changed
+     * the row since its version was read. 0 rows means a concurrent writer got there first
+     * (or stock ran out), and the caller re-reads and retries.
+     */
+
+    @Query("SELECT i.version FROM InventoryItem i WHERE i.itemId = :itemId")
+    Long findVersion(@Param("itemId") UUID itemId);
+
+    @Query("SELECT i.availableStock FROM InventoryItem i WHERE i.itemId = :itemId")
+    Integer findAvailableStock(@Param("itemId") UUID itemId);
+
+    // Reported when an aggregated release finds too little reserved stock
+    @Query("SELECT i.reservedStock FROM InventoryItem i WHERE i.itemId = :itemId")
+    Integer findReservedStock(@Param("itemId") UUID itemId);
+
+    @Modifying
+    @Query("UPDATE InventoryItem i SET i.availableStock = i.availableStock - :quantity, "
+            + "i.reservedStock = i.reservedStock + :quantity, i.version = i.version + 1 "
+            + "WHERE i.itemId = :itemId AND i.version = :version AND i.availableStock >= :quantity")
+    int reserveStockIfVersion(@Param("itemId") UUID itemId, @Param("quantity") int quantity,
+            @Param("version") Long version);
+
+    // Applies reconciled flash-sale deltas; the check constraints still guard the result
+    @Modifying
+    @Query("UPDATE InventoryItem i SET i.availableStock = i.availableStock + :availableDelta, "
+            + "i.reservedStock = i.reservedStock + :reservedDelta, i.version = i.version + 1 "
+            + "WHERE i.itemId = :itemId")
+    int applyStockDelta(@Param("itemId") UUID itemId, @Param("availableDelta") int availableDelta,
+            @Param("reservedDelta") int reservedDelta);
+
+    // Scalar read: always hits the database, even if a stale entity is already managed
+    @Query("SELECT i.availableStock + i.reservedStock FROM InventoryItem i WHERE i.itemId = :itemId")
+    Integer findTotalStock(@Param("itemId") UUID itemId);
+
+    @Modifying
+    @Query("UPDATE InventoryItem i SET i.availableStock = :available, i.reservedStock = :reserved, "
+            + "i.version = i.version + 1 WHERE i.itemId = :itemId")
+    int overwriteStockLevels(@Param("itemId") UUID itemId, @Param("available") int available,
+            @Param("reserved") int reserved);
 }
@@ -0,0 +1,47 @@
+package com.example.ordermgmt.repository;
+
+import com.example.ordermgmt.dto.InventoryMovementDTO;
+import com.example.ordermgmt.dto.StockLevelDTO;
+import com.example.ordermgmt.entity.InventoryMovement;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface InventoryMovementRepository extends JpaRepository<InventoryMovement, UUID> {
+
+    @Query("SELECT DISTINCT m.itemId FROM InventoryMovement m WHERE m.compacted = false")
+    List<UUID> findItemIdsWithPendingMovements();
+
+    /*
+     * Compaction works on an explicit id list rather than a watermark: a movement whose
+     * transaction commits after this read is simply picked up by the next run.
+     */
+    @Query("SELECT m.movementId FROM InventoryMovement m WHERE m.itemId = :itemId AND m.compacted = false "
+            + "ORDER BY m.createdTimestamp")
+    List<UUID> findPendingMovementIds(@Param("itemId") UUID itemId, Pageable pageable);
+
+    @Query("SELECT new com.example.ordermgmt.dto.StockLevelDTO(m.itemId, SUM(m.availableDelta), SUM(m.reservedDelta)) "
+            + "FROM InventoryMovement m WHERE m.movementId IN :movementIds GROUP BY m.itemId")
+    StockLevelDTO sumDeltas(@Param("movementIds") List<UUID> movementIds);
+
+    @Modifying
+    @Query("UPDATE InventoryMovement m SET m.compacted = true WHERE m.movementId IN :movementIds")
+    int markCompacted(@Param("movementIds") List<UUID> movementIds);
+
+    @Modifying
+    @Query("UPDATE InventoryMovement m SET m.compacted = true WHERE m.itemId = :itemId AND m.compacted = false")
+    int markAllCompacted(@Param("itemId") UUID itemId);
+
+    @Query(value = "SELECT new com.example.ordermgmt.dto.InventoryMovementDTO(m.movementId, m.movementType, "
+            + "m.availableDelta, m.reservedDelta, m.compacted, m.createdBy, m.createdTimestamp) "
+            + "FROM InventoryMovement m WHERE m.itemId = :itemId ORDER BY m.createdTimestamp DESC",
+            countQuery = "SELECT COUNT(m) FROM InventoryMovement m WHERE m.itemId = :itemId")
+    Page<InventoryMovementDTO> findMovements(@Param("itemId") UUID itemId, Pageable pageable);
+}
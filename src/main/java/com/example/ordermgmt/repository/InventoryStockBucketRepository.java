@@ -0,0 +1,49 @@
+package com.example.ordermgmt.repository;
+
+import com.example.ordermgmt.dto.StockBucketLevelDTO;
+import com.example.ordermgmt.dto.StockLevelDTO;
+import com.example.ordermgmt.entity.InventoryStockBucket;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface InventoryStockBucketRepository
+        extends JpaRepository<InventoryStockBucket, InventoryStockBucket.BucketId> {
+
+    /*
+     * Guarded move on one bucket, same contract as the conditional engine's statements:
+     * 1 row updated means the move was allowed, 0 means the bucket could not cover it
+     * (or no longer exists after a rebalance).
+     */
+    @Modifying
+    @Query("UPDATE InventoryStockBucket b SET b.availableStock = b.availableStock + :availableDelta, "
+            + "b.reservedStock = b.reservedStock + :reservedDelta "
+            + "WHERE b.id.itemId = :itemId AND b.id.bucketNo = :bucketNo "
+            + "AND b.availableStock + :availableDelta >= 0 AND b.reservedStock + :reservedDelta >= 0")
+    int moveStockIfCovered(@Param("itemId") UUID itemId, @Param("bucketNo") int bucketNo,
+            @Param("availableDelta") int availableDelta, @Param("reservedDelta") int reservedDelta);
+
+    // Projection, not entities: always reads the database, even if buckets are already managed
+    @Query("SELECT new com.example.ordermgmt.dto.StockBucketLevelDTO(b.id.bucketNo, b.availableStock, b.reservedStock) "
+            + "FROM InventoryStockBucket b WHERE b.id.itemId = :itemId ORDER BY b.id.bucketNo")
+    List<StockBucketLevelDTO> findBucketLevels(@Param("itemId") UUID itemId);
+
+    // No-op write that row-locks every bucket of the item without loading them into the persistence context
+    @Modifying
+    @Query("UPDATE InventoryStockBucket b SET b.availableStock = b.availableStock WHERE b.id.itemId = :itemId")
+    int lockBuckets(@Param("itemId") UUID itemId);
+
+    @Modifying
+    @Query("DELETE FROM InventoryStockBucket b WHERE b.id.itemId = :itemId")
+    int deleteByItemId(@Param("itemId") UUID itemId);
+
+    @Query("SELECT new com.example.ordermgmt.dto.StockLevelDTO(b.id.itemId, SUM(b.availableStock), SUM(b.reservedStock)) "
+            + "FROM InventoryStockBucket b WHERE b.id.itemId IN :itemIds GROUP BY b.id.itemId")
+    List<StockLevelDTO> sumStockByItemIds(@Param("itemIds") Collection<UUID> itemIds);
+}
@@ -0,0 +1,44 @@
+package com.example.ordermgmt.repository;
+
+import com.example.ordermgmt.dto.StockLevelDTO;
+import com.example.ordermgmt.entity.InventoryStockSnapshot;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface InventoryStockSnapshotRepository extends JpaRepository<InventoryStockSnapshot, UUID> {
+
+    /*
+     * Derived balance: snapshot plus the movements not yet compacted. A single statement,
+     * so a compaction committing concurrently is seen either entirely or not at all.
+     */
+    @Query("SELECT new com.example.ordermgmt.dto.StockLevelDTO(s.itemId, "
+            + "s.availableStock + COALESCE((SELECT SUM(m.availableDelta) FROM InventoryMovement m "
+            + "WHERE m.itemId = s.itemId AND m.compacted = false), 0), "
+            + "s.reservedStock + COALESCE((SELECT SUM(m.reservedDelta) FROM InventoryMovement m "
+            + "WHERE m.itemId = s.itemId AND m.compacted = false), 0)) "
+            + "FROM InventoryStockSnapshot s WHERE s.itemId IN :itemIds")
+    List<StockLevelDTO> findBalances(@Param("itemIds") Collection<UUID> itemIds);
+
+    // No-op write that row-locks the snapshot, serializing compactions of the same item
+    @Modifying
+    @Query("UPDATE InventoryStockSnapshot s SET s.availableStock = s.availableStock WHERE s.itemId = :itemId")
+    int lockSnapshot(@Param("itemId") UUID itemId);
+
+    @Modifying
+    @Query("UPDATE InventoryStockSnapshot s SET s.availableStock = s.availableStock + :availableDelta, "
+            + "s.reservedStock = s.reservedStock + :reservedDelta, s.compactedTimestamp = CURRENT_TIMESTAMP "
+            + "WHERE s.itemId = :itemId")
+    int applyCompaction(@Param("itemId") UUID itemId, @Param("availableDelta") int availableDelta,
+            @Param("reservedDelta") int reservedDelta);
+
+    @Modifying
+    @Query("DELETE FROM InventoryStockSnapshot s WHERE s.itemId = :itemId")
+    int deleteByItemId(@Param("itemId") UUID itemId);
+}
@@ -22,31 +22,43 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, OrderItem.
 
         List<OrderItem> findByOrderOrderIdIn(List<UUID> orderIds);
 
+        // Keys only: bulk status updates group orders by the inventory rows their transitions lock
+        @Query("SELECT oi.id FROM OrderItem oi WHERE oi.id.orderId IN :orderIds")
+        List<OrderItem.OrderItemId> findIdsByOrderIdIn(@Param("orderIds") List<UUID> orderIds);
+
+        // Units of an item still held by orders in the given statuses (flash-sale counter recovery)
+        @Query("SELECT COALESCE(SUM(oi.quantity), 0) FROM OrderItem oi "
+                        + "WHERE oi.inventoryItem.itemId = :itemId "
+                        + "AND oi.order.status.statusName IN :statusNames")
+        Long sumQuantityByItemAndStatusNames(@Param("itemId") UUID itemId,
+                        @Param("statusNames") List<String> statusNames);
+
+        // Reports below read OrderSaleLine (ORDER_SALE_LINE), hot and archived lines alike
         @Query("SELECT new com.example.ordermgmt.dto.analytics.RevenueReportSummaryDTO("
                         +
-                        "COUNT(DISTINCT oi.inventoryItem.itemId), " +
+                        "COUNT(DISTINCT oi.id.itemId), " +
                         "CAST(COALESCE(SUM(oi.quantity), 0) AS Long), " +
                         "CAST(COALESCE(SUM(oi.quantity * oi.unitPrice), 0) AS BigDecimal)) " +
-                        "FROM OrderItem oi " +
-                        "JOIN oi.order o " +
-                        "WHERE o.createdTimestamp >= :startDateTime " +
-                        "AND o.createdTimestamp < :endDateTimeExclusive " +
-                        "AND o.status.statusName = 'DELIVERED'")
+                        "FROM OrderSaleLine oi " +
+                        "LEFT JOIN oi.inventoryItem ii " +
+                        "WHERE oi.createdTimestamp >= :startDateTime " +
+                        "AND oi.createdTimestamp < :endDateTimeExclusive " +
+                        "AND oi.status.statusName = 'DELIVERED'")
         RevenueReportSummaryDTO getRevenueReportSummary(
                         @Param("startDateTime") LocalDateTime startDateTime,
                         @Param("endDateTimeExclusive") LocalDateTime endDateTimeExclusive);
 
         @Query("SELECT new com.example.ordermgmt.dto.analytics.RevenueReportSummaryDTO("
                         +
-                        "COUNT(DISTINCT oi.inventoryItem.itemId), " +
+                        "COUNT(DISTINCT oi.id.itemId), " +
                         "CAST(COALESCE(SUM(oi.quantity), 0) AS Long), " +
                         "CAST(COALESCE(SUM(oi.quantity * oi.unitPrice), 0) AS BigDecimal)) " +
-                        "FROM OrderItem oi " +
-                        "JOIN oi.order o " +
-                        "WHERE o.createdTimestamp >= :startDateTime " +
-                        "AND o.createdTimestamp < :endDateTimeExclusive " +
-                        "AND o.status.statusName = 'DELIVERED' " +
-                        "AND LOWER(oi.inventoryItem.itemName) LIKE LOWER(CONCAT('%', :itemName, '%'))")
+                        "FROM OrderSaleLine oi " +
+                        "LEFT JOIN oi.inventoryItem ii " +
+                        "WHERE oi.createdTimestamp >= :startDateTime " +
+                        "AND oi.createdTimestamp < :endDateTimeExclusive " +
+                        "AND oi.status.statusName = 'DELIVERED' " +
+                        "AND LOWER(ii.itemName) LIKE LOWER(CONCAT('%', :itemName, '%'))")
         RevenueReportSummaryDTO getRevenueReportSummaryByItemName(
                         @Param("startDateTime") LocalDateTime startDateTime,
                         @Param("endDateTimeExclusive") LocalDateTime endDateTimeExclusive,
@@ -54,23 +66,23 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, OrderItem.
 
         @Query(value = "SELECT new com.example.ordermgmt.dto.analytics.RevenueReportItemAggregateDTO("
                         +
-                        "oi.inventoryItem.itemId, " +
-                        "oi.inventoryItem.itemName, " +
+                        "oi.id.itemId, " +
+                        "ii.itemName, " +
                         "CAST(COALESCE(SUM(oi.quantity), 0) AS Long), " +
                         "CAST(COALESCE(SUM(oi.quantity * oi.unitPrice), 0) AS BigDecimal)) " +
-                        "FROM OrderItem oi " +
-                        "JOIN oi.order o " +
-                        "WHERE o.createdTimestamp >= :startDateTime " +
-                        "AND o.createdTimestamp < :endDateTimeExclusive " +
-                        "AND o.status.statusName = 'DELIVERED' " +
-                        "GROUP BY oi.inventoryItem.itemId, oi.inventoryItem.itemName " +
-                        "ORDER BY oi.inventoryItem.itemName ASC", countQuery = "SELECT COUNT(DISTINCT oi.inventoryItem.itemId) "
+                        "FROM OrderSaleLine oi " +
+                        "LEFT JOIN oi.inventoryItem ii " +
+                        "WHERE oi.createdTimestamp >= :startDateTime " +
+                        "AND oi.createdTimestamp < :endDateTimeExclusive " +
+                        "AND oi.status.statusName = 'DELIVERED' " +
+                        "GROUP BY oi.id.itemId, ii.itemName " +
+                        "ORDER BY ii.itemName ASC", countQuery = "SELECT COUNT(DISTINCT oi.id.itemId) "
                                         +
-                                        "FROM OrderItem oi " +
-                                        "JOIN oi.order o " +
-                                        "WHERE o.createdTimestamp >= :startDateTime " +
-                                        "AND o.createdTimestamp < :endDateTimeExclusive " +
-                                        "AND o.status.statusName = 'DELIVERED'")
+                                        "FROM OrderSaleLine oi " +
+                                        "LEFT JOIN oi.inventoryItem ii " +
+                                        "WHERE oi.createdTimestamp >= :startDateTime " +
+                                        "AND oi.createdTimestamp < :endDateTimeExclusive " +
+                                        "AND oi.status.statusName = 'DELIVERED'")
         Page<RevenueReportItemAggregateDTO> getRevenueReportItems(
                         @Param("startDateTime") LocalDateTime startDateTime,
                         @Param("endDateTimeExclusive") LocalDateTime endDateTimeExclusive,
@@ -78,42 +90,42 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, OrderItem.
 
         @Query("SELECT new com.example.ordermgmt.dto.analytics.RevenueReportItemAggregateDTO("
                         +
-                        "oi.inventoryItem.itemId, " +
-                        "oi.inventoryItem.itemName, " +
+                        "oi.id.itemId, " +
+                        "ii.itemName, " +
                         "CAST(COALESCE(SUM(oi.quantity), 0) AS Long), " +
                         "CAST(COALESCE(SUM(oi.quantity * oi.unitPrice), 0) AS BigDecimal)) " +
-                        "FROM OrderItem oi " +
-                        "JOIN oi.order o " +
-                        "WHERE o.createdTimestamp >= :startDateTime " +
-                        "AND o.createdTimestamp < :endDateTimeExclusive " +
-                        "AND o.status.statusName = 'DELIVERED' " +
-                        "GROUP BY oi.inventoryItem.itemId, oi.inventoryItem.itemName " +
-                        "ORDER BY oi.inventoryItem.itemName ASC")
+                        "FROM OrderSaleLine oi " +
+                        "LEFT JOIN oi.inventoryItem ii " +
+                        "WHERE oi.createdTimestamp >= :startDateTime " +
+                        "AND oi.createdTimestamp < :endDateTimeExclusive " +
+                        "AND oi.status.statusName = 'DELIVERED' " +
+                        "GROUP BY oi.id.itemId, ii.itemName " +
+                        "ORDER BY ii.itemName ASC")
         List<RevenueReportItemAggregateDTO> getRevenueReportItemsList(
                         @Param("startDateTime") LocalDateTime startDateTime,
                         @Param("endDateTimeExclusive") LocalDateTime endDateTimeExclusive);
 
         @Query(value = "SELECT new com.example.ordermgmt.dto.analytics.RevenueReportItemAggregateDTO("
                         +
-                        "oi.inventoryItem.itemId, " +
-                        "oi.inventoryItem.itemName, " +
+                        "oi.id.itemId, " +
+                        "ii.itemName, " +
                         "CAST(COALESCE(SUM(oi.quantity), 0) AS Long), " +
                         "CAST(COALESCE(SUM(oi.quantity * oi.unitPrice), 0) AS BigDecimal)) " +
-                        "FROM OrderItem oi " +
-                        "JOIN oi.order o " +
-                        "WHERE o.createdTimestamp >= :startDateTime " +
-                        "AND o.createdTimestamp < :endDateTimeExclusive " +
-                        "AND o.status.statusName = 'DELIVERED' " +
-                        "AND LOWER(oi.inventoryItem.itemName) LIKE LOWER(CONCAT('%', :itemName, '%')) " +
-                        "GROUP BY oi.inventoryItem.itemId, oi.inventoryItem.itemName " +
-                        "ORDER BY oi.inventoryItem.itemName ASC", countQuery = "SELECT COUNT(DISTINCT oi.inventoryItem.itemId) "
+                        "FROM OrderSaleLine oi " +
+                        "LEFT JOIN oi.inventoryItem ii " +
+                        "WHERE oi.createdTimestamp >= :startDateTime " +
+                        "AND oi.createdTimestamp < :endDateTimeExclusive " +
+                        "AND oi.status.statusName = 'DELIVERED' " +
+                        "AND LOWER(ii.itemName) LIKE LOWER(CONCAT('%', :itemName, '%')) " +
+                        "GROUP BY oi.id.itemId, ii.itemName " +
+                        "ORDER BY ii.itemName ASC", countQuery = "SELECT COUNT(DISTINCT oi.id.itemId) "
                                         +
-                                        "FROM OrderItem oi " +
-                                        "JOIN oi.order o " +
-                                        "WHERE o.createdTimestamp >= :startDateTime " +
-                                        "AND o.createdTimestamp < :endDateTimeExclusive " +
-                                        "AND o.status.statusName = 'DELIVERED' " +
-                                        "AND LOWER(oi.inventoryItem.itemName) LIKE LOWER(CONCAT('%', :itemName, '%'))")
+                                        "FROM OrderSaleLine oi " +
+                                        "LEFT JOIN oi.inventoryItem ii " +
+                                        "WHERE oi.createdTimestamp >= :startDateTime " +
+                                        "AND oi.createdTimestamp < :endDateTimeExclusive " +
+                                        "AND oi.status.statusName = 'DELIVERED' " +
+                                        "AND LOWER(ii.itemName) LIKE LOWER(CONCAT('%', :itemName, '%'))")
         Page<RevenueReportItemAggregateDTO> getRevenueReportItemsByItemName(
                         @Param("startDateTime") LocalDateTime startDateTime,
                         @Param("endDateTimeExclusive") LocalDateTime endDateTimeExclusive,
@@ -122,17 +134,17 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, OrderItem.
 
         @Query("SELECT new com.example.ordermgmt.dto.analytics.ItemSoldOnRowDTO("
                         +
-                        "oi.inventoryItem.itemId, " +
+                        "oi.id.itemId, " +
                         "CAST(COALESCE(SUM(oi.quantity), 0) AS Long), " +
-                        "o.createdTimestamp) " +
-                        "FROM OrderItem oi " +
-                        "JOIN oi.order o " +
-                        "WHERE o.createdTimestamp >= :startDateTime " +
-                        "AND o.createdTimestamp < :endDateTimeExclusive " +
-                        "AND o.status.statusName = 'DELIVERED' " +
-                        "AND oi.inventoryItem.itemId IN :itemIds " +
-                        "GROUP BY oi.inventoryItem.itemId, o.createdTimestamp " +
-                        "ORDER BY o.createdTimestamp ASC")
+                        "oi.createdTimestamp) " +
+                        "FROM OrderSaleLine oi " +
+                        "LEFT JOIN oi.inventoryItem ii " +
+                        "WHERE oi.createdTimestamp >= :startDateTime " +
+                        "AND oi.createdTimestamp < :endDateTimeExclusive " +
+                        "AND oi.status.statusName = 'DELIVERED' " +
+                        "AND oi.id.itemId IN :itemIds " +
+                        "GROUP BY oi.id.itemId, oi.createdTimestamp " +
+                        "ORDER BY oi.createdTimestamp ASC")
         List<ItemSoldOnRowDTO> getItemSoldOnTimestamps(
                         @Param("startDateTime") LocalDateTime startDateTime,
                         @Param("endDateTimeExclusive") LocalDateTime endDateTimeExclusive,
@@ -140,18 +152,18 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, OrderItem.
 
         @Query("SELECT new com.example.ordermgmt.dto.analytics.ItemSoldOnRowDTO("
                         +
-                        "oi.inventoryItem.itemId, " +
+                        "oi.id.itemId, " +
                         "CAST(COALESCE(SUM(oi.quantity), 0) AS Long), " +
-                        "o.createdTimestamp) " +
-                        "FROM OrderItem oi " +
-                        "JOIN oi.order o " +
-                        "WHERE o.createdTimestamp >= :startDateTime " +
-                        "AND o.createdTimestamp < :endDateTimeExclusive " +
-                        "AND o.status.statusName = 'DELIVERED' " +
-                        "AND LOWER(oi.inventoryItem.itemName) LIKE LOWER(CONCAT('%', :itemName, '%')) " +
-                        "AND oi.inventoryItem.itemId IN :itemIds " +
-                        "GROUP BY oi.inventoryItem.itemId, o.createdTimestamp " +
-                        "ORDER BY o.createdTimestamp ASC")
+                        "oi.createdTimestamp) " +
+                        "FROM OrderSaleLine oi " +
+                        "LEFT JOIN oi.inventoryItem ii " +
+                        "WHERE oi.createdTimestamp >= :startDateTime " +
+                        "AND oi.createdTimestamp < :endDateTimeExclusive " +
+                        "AND oi.status.statusName = 'DELIVERED' " +
+                        "AND LOWER(ii.itemName) LIKE LOWER(CONCAT('%', :itemName, '%')) " +
+                        "AND oi.id.itemId IN :itemIds " +
+                        "GROUP BY oi.id.itemId, oi.createdTimestamp " +
+                        "ORDER BY oi.createdTimestamp ASC")
         List<ItemSoldOnRowDTO> getItemSoldOnTimestampsByItemName(
                         @Param("startDateTime") LocalDateTime startDateTime,
                         @Param("endDateTimeExclusive") LocalDateTime endDateTimeExclusive,
@@ -160,33 +172,33 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, OrderItem.
 
         @Query("SELECT new com.example.ordermgmt.dto.analytics.RevenueReportItemAggregateDTO("
                         +
-                        "oi.inventoryItem.itemId, " +
-                        "oi.inventoryItem.itemName, " +
+                        "oi.id.itemId, " +
+                        "ii.itemName, " +
                         "CAST(COALESCE(SUM(oi.quantity), 0) AS Long), " +
                         "CAST(COALESCE(SUM(oi.quantity * oi.unitPrice), 0) AS BigDecimal)) " +
-                        "FROM OrderItem oi " +
-                        "JOIN oi.order o " +
-                        "WHERE o.createdTimestamp >= :startDateTime " +
-                        "AND o.createdTimestamp < :endDateTimeExclusive " +
-                        "GROUP BY oi.inventoryItem.itemId, oi.inventoryItem.itemName " +
-                        "ORDER BY oi.inventoryItem.itemName ASC")
+                        "FROM OrderSaleLine oi " +
+                        "LEFT JOIN oi.inventoryItem ii " +
+                        "WHERE oi.createdTimestamp >= :startDateTime " +
+                        "AND oi.createdTimestamp < :endDateTimeExclusive " +
+                        "GROUP BY oi.id.itemId, ii.itemName " +
+                        "ORDER BY ii.itemName ASC")
         List<RevenueReportItemAggregateDTO> getOrderAnalyticsItemsList(
                         @Param("startDateTime") LocalDateTime startDateTime,
                         @Param("endDateTimeExclusive") LocalDateTime endDateTimeExclusive);
 
         @Query("SELECT new com.example.ordermgmt.dto.analytics.RevenueReportItemAggregateDTO("
                         +
-                        "oi.inventoryItem.itemId, " +
-                        "oi.inventoryItem.itemName, " +
+                        "oi.id.itemId, " +
+                        "ii.itemName, " +
                         "CAST(COALESCE(SUM(oi.quantity), 0) AS Long), " +
                         "CAST(COALESCE(SUM(oi.quantity * oi.unitPrice), 0) AS BigDecimal)) " +
-                        "FROM OrderItem oi " +
-                        "JOIN oi.order o " +
-                        "WHERE o.createdTimestamp >= :startDateTime " +
-                        "AND o.createdTimestamp < :endDateTimeExclusive " +
-                        "AND UPPER(o.status.statusName) IN :statuses " +
-                        "GROUP BY oi.inventoryItem.itemId, oi.inventoryItem.itemName " +
-                        "ORDER BY oi.inventoryItem.itemName ASC")
+                        "FROM OrderSaleLine oi " +
+                        "LEFT JOIN oi.inventoryItem ii " +
+                        "WHERE oi.createdTimestamp >= :startDateTime " +
+                        "AND oi.createdTimestamp < :endDateTimeExclusive " +
+                        "AND UPPER(oi.status.statusName) IN :statuses " +
+                        "GROUP BY oi.id.itemId, ii.itemName " +
+                        "ORDER BY ii.itemName ASC")
         List<RevenueReportItemAggregateDTO> getOrderAnalyticsItemsListByStatus(
                         @Param("startDateTime") LocalDateTime startDateTime,
                         @Param("endDateTimeExclusive") LocalDateTime endDateTimeExclusive,
@@ -194,17 +206,17 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, OrderItem.
 
         @Query("SELECT new com.example.ordermgmt.dto.analytics.RevenueReportItemAggregateDTO("
                         +
-                        "oi.inventoryItem.itemId, " +
-                        "oi.inventoryItem.itemName, " +
+                        "oi.id.itemId, " +
+                        "ii.itemName, " +
                         "CAST(COALESCE(SUM(oi.quantity), 0) AS Long), " +
                         "CAST(COALESCE(SUM(oi.quantity * oi.unitPrice), 0) AS BigDecimal)) " +
-                        "FROM OrderItem oi " +
-                        "JOIN oi.order o " +
-                        "WHERE o.createdTimestamp >= :startDateTime " +
-                        "AND o.createdTimestamp < :endDateTimeExclusive " +
-                        "AND LOWER(oi.inventoryItem.itemName) LIKE LOWER(CONCAT('%', :itemName, '%')) " +
-                        "GROUP BY oi.inventoryItem.itemId, oi.inventoryItem.itemName " +
-                        "ORDER BY oi.inventoryItem.itemName ASC")
+                        "FROM OrderSaleLine oi " +
+                        "LEFT JOIN oi.inventoryItem ii " +
+                        "WHERE oi.createdTimestamp >= :startDateTime " +
+                        "AND oi.createdTimestamp < :endDateTimeExclusive " +
+                        "AND LOWER(ii.itemName) LIKE LOWER(CONCAT('%', :itemName, '%')) " +
+                        "GROUP BY oi.id.itemId, ii.itemName " +
+                        "ORDER BY ii.itemName ASC")
         List<RevenueReportItemAggregateDTO> getOrderAnalyticsItemsByItemName(
                         @Param("startDateTime") LocalDateTime startDateTime,
                         @Param("endDateTimeExclusive") LocalDateTime endDateTimeExclusive,
@@ -212,18 +224,18 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, OrderItem.
 
         @Query("SELECT new com.example.ordermgmt.dto.analytics.RevenueReportItemAggregateDTO("
                         +
-                        "oi.inventoryItem.itemId, " +
-                        "oi.inventoryItem.itemName, " +
+                        "oi.id.itemId, " +
+                        "ii.itemName, " +
                         "CAST(COALESCE(SUM(oi.quantity), 0) AS Long), " +
                         "CAST(COALESCE(SUM(oi.quantity * oi.unitPrice), 0) AS BigDecimal)) " +
-                        "FROM OrderItem oi " +
-                        "JOIN oi.order o " +
-                        "WHERE o.createdTimestamp >= :startDateTime " +
-                        "AND o.createdTimestamp < :endDateTimeExclusive " +
-                        "AND UPPER(o.status.statusName) IN :statuses " +
-                        "AND LOWER(oi.inventoryItem.itemName) LIKE LOWER(CONCAT('%', :itemName, '%')) " +
-                        "GROUP BY oi.inventoryItem.itemId, oi.inventoryItem.itemName " +
-                        "ORDER BY oi.inventoryItem.itemName ASC")
+                        "FROM OrderSaleLine oi " +
+                        "LEFT JOIN oi.inventoryItem ii " +
+                        "WHERE oi.createdTimestamp >= :startDateTime " +
+                        "AND oi.createdTimestamp < :endDateTimeExclusive " +
+                        "AND UPPER(oi.status.statusName) IN :statuses " +
+                        "AND LOWER(ii.itemName) LIKE LOWER(CONCAT('%', :itemName, '%')) " +
+                        "GROUP BY oi.id.itemId, ii.itemName " +
+                        "ORDER BY ii.itemName ASC")
         List<RevenueReportItemAggregateDTO> getOrderAnalyticsItemsByItemNameAndStatus(
                         @Param("startDateTime") LocalDateTime startDateTime,
                         @Param("endDateTimeExclusive") LocalDateTime endDateTimeExclusive,
@@ -232,17 +244,17 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, OrderItem.
 
         @Query("SELECT new com.example.ordermgmt.dto.analytics.OrderAnalyticsSaleRowDTO("
                         +
-                        "oi.inventoryItem.itemId, " +
-                        "UPPER(o.status.statusName), " +
+                        "oi.id.itemId, " +
+                        "UPPER(oi.status.statusName), " +
                         "CAST(COALESCE(SUM(oi.quantity), 0) AS Long), " +
-                        "o.createdTimestamp) " +
-                        "FROM OrderItem oi " +
-                        "JOIN oi.order o " +
-                        "WHERE o.createdTimestamp >= :startDateTime " +
-                        "AND o.createdTimestamp < :endDateTimeExclusive " +
-                        "AND oi.inventoryItem.itemId IN :itemIds " +
-                        "GROUP BY oi.inventoryItem.itemId, o.status.statusName, o.createdTimestamp " +
-                        "ORDER BY o.createdTimestamp ASC")
+                        "oi.createdTimestamp) " +
+                        "FROM OrderSaleLine oi " +
+                        "LEFT JOIN oi.inventoryItem ii " +
+                        "WHERE oi.createdTimestamp >= :startDateTime " +
+                        "AND oi.createdTimestamp < :endDateTimeExclusive " +
+                        "AND oi.id.itemId IN :itemIds " +
+                        "GROUP BY oi.id.itemId, oi.status.statusName, oi.createdTimestamp " +
+                        "ORDER BY oi.createdTimestamp ASC")
         List<OrderAnalyticsSaleRowDTO> getOrderAnalyticsSales(
                         @Param("startDateTime") LocalDateTime startDateTime,
                         @Param("endDateTimeExclusive") LocalDateTime endDateTimeExclusive,
@@ -250,18 +262,18 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, OrderItem.
 
         @Query("SELECT new com.example.ordermgmt.dto.analytics.OrderAnalyticsSaleRowDTO("
                         +
-                        "oi.inventoryItem.itemId, " +
-                        "UPPER(o.status.statusName), " +
+                        "oi.id.itemId, " +
+                        "UPPER(oi.status.statusName), " +
                         "CAST(COALESCE(SUM(oi.quantity), 0) AS Long), " +
-                        "o.createdTimestamp) " +
-                        "FROM OrderItem oi " +
-                        "JOIN oi.order o " +
-                        "WHERE o.createdTimestamp >= :startDateTime " +
-                        "AND o.createdTimestamp < :endDateTimeExclusive " +
-                        "AND UPPER(o.status.statusName) IN :statuses " +
-                        "AND oi.inventoryItem.itemId IN :itemIds " +
-                        "GROUP BY oi.inventoryItem.itemId, o.status.statusName, o.createdTimestamp " +
-                        "ORDER BY o.createdTimestamp ASC")
+                        "oi.createdTimestamp) " +
+                        "FROM OrderSaleLine oi " +
+                        "LEFT JOIN oi.inventoryItem ii " +
+                        "WHERE oi.createdTimestamp >= :startDateTime " +
+                        "AND oi.createdTimestamp < :endDateTimeExclusive " +
+                        "AND UPPER(oi.status.statusName) IN :statuses " +
+                        "AND oi.id.itemId IN :itemIds " +
+                        "GROUP BY oi.id.itemId, oi.status.statusName, oi.createdTimestamp " +
+                        "ORDER BY oi.createdTimestamp ASC")
         List<OrderAnalyticsSaleRowDTO> getOrderAnalyticsSalesByStatus(
                         @Param("startDateTime") LocalDateTime startDateTime,
                         @Param("endDateTimeExclusive") LocalDateTime endDateTimeExclusive,
@@ -270,86 +282,86 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, OrderItem.
 
         @Query("SELECT new com.example.ordermgmt.dto.analytics.RevenueReportItemAggregateDTO("
                         +
-                        "oi.inventoryItem.itemId, " +
-                        "oi.inventoryItem.itemName, " +
+                        "oi.id.itemId, " +
+                        "ii.itemName, " +
                         "CAST(COALESCE(SUM(oi.quantity), 0) AS Long), " +
                         "CAST(COALESCE(SUM(oi.quantity * oi.unitPrice), 0) AS BigDecimal)) " +
-                        "FROM OrderItem oi " +
-                        "JOIN oi.order o " +
-                        "GROUP BY oi.inventoryItem.itemId, oi.inventoryItem.itemName " +
-                        "ORDER BY oi.inventoryItem.itemName ASC")
+                        "FROM OrderSaleLine oi " +
+                        "LEFT JOIN oi.inventoryItem ii " +
+                        "GROUP BY oi.id.itemId, ii.itemName " +
+                        "ORDER BY ii.itemName ASC")
         List<RevenueReportItemAggregateDTO> getOrderAnalyticsItemsListAll();
 
         @Query("SELECT new com.example.ordermgmt.dto.analytics.RevenueReportItemAggregateDTO("
                         +
-                        "oi.inventoryItem.itemId, " +
-                        "oi.inventoryItem.itemName, " +
+                        "oi.id.itemId, " +
+                        "ii.itemName, " +
                         "CAST(COALESCE(SUM(oi.quantity), 0) AS Long), " +
                         "CAST(COALESCE(SUM(oi.quantity * oi.unitPrice), 0) AS BigDecimal)) " +
-                        "FROM OrderItem oi " +
-                        "JOIN oi.order o " +
-                        "WHERE UPPER(o.status.statusName) IN :statuses " +
-                        "GROUP BY oi.inventoryItem.itemId, oi.inventoryItem.itemName " +
-                        "ORDER BY oi.inventoryItem.itemName ASC")
+                        "FROM OrderSaleLine oi " +
+                        "LEFT JOIN oi.inventoryItem ii " +
+                        "WHERE UPPER(oi.status.statusName) IN :statuses " +
+                        "GROUP BY oi.id.itemId, ii.itemName " +
+                        "ORDER BY ii.itemName ASC")
         List<RevenueReportItemAggregateDTO> getOrderAnalyticsItemsListByStatusAll(
                         @Param("statuses") List<String> statuses);
 
         @Query("SELECT new com.example.ordermgmt.dto.analytics.RevenueReportItemAggregateDTO("
                         +
-                        "oi.inventoryItem.itemId, " +
-                        "oi.inventoryItem.itemName, " +
+                        "oi.id.itemId, " +
+                        "ii.itemName, " +
                         "CAST(COALESCE(SUM(oi.quantity), 0) AS Long), " +
                         "CAST(COALESCE(SUM(oi.quantity * oi.unitPrice), 0) AS BigDecimal)) " +
-                        "FROM OrderItem oi " +
-                        "JOIN oi.order o " +
-                        "WHERE LOWER(oi.inventoryItem.itemName) LIKE LOWER(CONCAT('%', :itemName, '%')) " +
-                        "GROUP BY oi.inventoryItem.itemId, oi.inventoryItem.itemName " +
-                        "ORDER BY oi.inventoryItem.itemName ASC")
+                        "FROM OrderSaleLine oi " +
+                        "LEFT JOIN oi.inventoryItem ii " +
+                        "WHERE LOWER(ii.itemName) LIKE LOWER(CONCAT('%', :itemName, '%')) " +
+                        "GROUP BY oi.id.itemId, ii.itemName " +
+                        "ORDER BY ii.itemName ASC")
         List<RevenueReportItemAggregateDTO> getOrderAnalyticsItemsByItemNameAll(
                         @Param("itemName") String itemName);
 
         @Query("SELECT new com.example.ordermgmt.dto.analytics.RevenueReportItemAggregateDTO("
                         +
-                        "oi.inventoryItem.itemId, " +
-                        "oi.inventoryItem.itemName, " +
+                        "oi.id.itemId, " +
+                        "ii.itemName, " +
                         "CAST(COALESCE(SUM(oi.quantity), 0) AS Long), " +
                         "CAST(COALESCE(SUM(oi.quantity * oi.unitPrice), 0) AS BigDecimal)) " +
-                        "FROM OrderItem oi " +
-                        "JOIN oi.order o " +
-                        "WHERE UPPER(o.status.statusName) IN :statuses " +
-                        "AND LOWER(oi.inventoryItem.itemName) LIKE LOWER(CONCAT('%', :itemName, '%')) " +
-                        "GROUP BY oi.inventoryItem.itemId, oi.inventoryItem.itemName " +
-                        "ORDER BY oi.inventoryItem.itemName ASC")
+                        "FROM OrderSaleLine oi " +
+                        "LEFT JOIN oi.inventoryItem ii " +
+                        "WHERE UPPER(oi.status.statusName) IN :statuses " +
+                        "AND LOWER(ii.itemName) LIKE LOWER(CONCAT('%', :itemName, '%')) " +
+                        "GROUP BY oi.id.itemId, ii.itemName " +
+                        "ORDER BY ii.itemName ASC")
         List<RevenueReportItemAggregateDTO> getOrderAnalyticsItemsByItemNameAndStatusAll(
                         @Param("itemName") String itemName,
                         @Param("statuses") List<String> statuses);
 
         @Query("SELECT new com.example.ordermgmt.dto.analytics.OrderAnalyticsSaleRowDTO("
                         +
-                        "oi.inventoryItem.itemId, " +
-                        "UPPER(o.status.statusName), " +
+                        "oi.id.itemId, " +
+                        "UPPER(oi.status.statusName), " +
                         "CAST(COALESCE(SUM(oi.quantity), 0) AS Long), " +
-                        "o.createdTimestamp) " +
-                        "FROM OrderItem oi " +
-                        "JOIN oi.order o " +
-                        "WHERE oi.inventoryItem.itemId IN :itemIds " +
-                        "GROUP BY oi.inventoryItem.itemId, o.status.statusName, o.createdTimestamp " +
-                        "ORDER BY o.createdTimestamp ASC")
+                        "oi.createdTimestamp) " +
+                        "FROM OrderSaleLine oi " +
+                        "LEFT JOIN oi.inventoryItem ii " +
+                        "WHERE oi.id.itemId IN :itemIds " +
+                        "GROUP BY oi.id.itemId, oi.status.statusName, oi.createdTimestamp " +
+                        "ORDER BY oi.createdTimestamp ASC")
         List<OrderAnalyticsSaleRowDTO> getOrderAnalyticsSalesAll(
                         @Param("itemIds") List<UUID> itemIds);
 
         @Query("SELECT new com.example.ordermgmt.dto.analytics.OrderAnalyticsSaleRowDTO("
                         +
-                        "oi.inventoryItem.itemId, " +
-                        "UPPER(o.status.statusName), " +
+                        "oi.id.itemId, " +
+                        "UPPER(oi.status.statusName), " +
                         "CAST(COALESCE(SUM(oi.quantity), 0) AS Long), " +
-                        "o.createdTimestamp) " +
-                        "FROM OrderItem oi " +
-                        "JOIN oi.order o " +
-                        "WHERE UPPER(o.status.statusName) IN :statuses " +
-                        "AND oi.inventoryItem.itemId IN :itemIds " +
-                        "GROUP BY oi.inventoryItem.itemId, o.status.statusName, o.createdTimestamp " +
-                        "ORDER BY o.createdTimestamp ASC")
+                        "oi.createdTimestamp) " +
+                        "FROM OrderSaleLine oi " +
+                        "LEFT JOIN oi.inventoryItem ii " +
+                        "WHERE UPPER(oi.status.statusName) IN :statuses " +
+                        "AND oi.id.itemId IN :itemIds " +
+                        "GROUP BY oi.id.itemId, oi.status.statusName, oi.createdTimestamp " +
+                        "ORDER BY oi.createdTimestamp ASC")
         List<OrderAnalyticsSaleRowDTO> getOrderAnalyticsSalesByStatusAll(
                         @Param("statuses") List<String> statuses,
                         @Param("itemIds") List<UUID> itemIds);
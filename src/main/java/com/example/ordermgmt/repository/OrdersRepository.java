@@ -1,10 +1,14 @@
 package com.example.ordermgmt.repository;
 
+import com.example.ordermgmt.dto.OrderCursorDTO;
+import com.example.ordermgmt.dto.OrderStatusRowDTO;
 import com.example.ordermgmt.entity.Orders;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.QueryHint;
 import jakarta.persistence.LockModeType;
 import org.springframework.stereotype.Repository;
 import org.springframework.data.domain.Page;
@@ -21,11 +25,44 @@ public interface OrdersRepository extends JpaRepository<Orders, UUID> {
 
     Page<Orders> findByCustomerAppUserEmail(String email, Pageable pageable);
 
-    @Query("SELECT o FROM Orders o WHERE o.status.statusName = :statusName AND o.createdTimestamp < :cutoff")
-    List<Orders> findStalePendingOrders(@Param("statusName") String statusName,
-            @Param("cutoff") LocalDateTime cutoff);
+    Optional<Orders> findByIntakeToken(UUID intakeToken);
+
+    @Query("SELECT new com.example.ordermgmt.dto.OrderStatusRowDTO(o.orderId, o.status.statusName) "
+            + "FROM Orders o WHERE o.orderId IN :orderIds")
+    List<OrderStatusRowDTO> findStatusRows(@Param("orderIds") List<UUID> orderIds);
+
+    // Customer and user fetched with the orders: one query for the emails of a set-based transition
+    @Query("SELECT o FROM Orders o JOIN FETCH o.status JOIN FETCH o.customer c JOIN FETCH c.appUser "
+            + "WHERE o.orderId IN :orderIds")
+    List<Orders> findAllWithCustomerByOrderIdIn(@Param("orderIds") List<UUID> orderIds);
+
+    // Keyset page of the current tenant's stale orders, after (afterTimestamp, afterId) in key order
+    @Query("SELECT new com.example.ordermgmt.dto.OrderCursorDTO(o.orderId, o.createdTimestamp) FROM Orders o "
+            + "WHERE o.status.statusName = :statusName AND o.createdTimestamp < :cutoff "
+            + "AND (o.createdTimestamp, o.orderId) > (:afterTimestamp, :afterId) "
+            + "ORDER BY o.createdTimestamp, o.orderId")
+    List<OrderCursorDTO> findStalePage(@Param("statusName") String statusName,
+            @Param("cutoff") LocalDateTime cutoff,
+            @Param("afterTimestamp") LocalDateTime afterTimestamp,
+            @Param("afterId") UUID afterId,
+            Pageable pageable);
+
+    @Query("SELECT COUNT(o) FROM Orders o WHERE o.status.statusName = :statusName AND o.createdTimestamp < :cutoff")
+    long countStale(@Param("statusName") String statusName, @Param("cutoff") LocalDateTime cutoff);
 
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT o FROM Orders o WHERE o.orderId = :orderId")
     Optional<Orders> findByIdWithLock(@Param("orderId") UUID orderId);
+
+    // lock.timeout 0 renders FOR UPDATE NOWAIT: a held row fails at once instead of queueing
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "0"))
+    @Query("SELECT o FROM Orders o WHERE o.orderId = :orderId")
+    Optional<Orders> findByIdWithLockNoWait(@Param("orderId") UUID orderId);
+
+    // lock.timeout -2 (Hibernate's SKIP_LOCKED) renders FOR UPDATE SKIP LOCKED: a held row reads as absent
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o FROM Orders o WHERE o.orderId = :orderId")
+    Optional<Orders> findByIdWithLockSkipLocked(@Param("orderId") UUID orderId);
 }
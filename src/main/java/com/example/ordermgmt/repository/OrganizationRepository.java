@@ -1,12 +1,17 @@
 package com.example.ordermgmt.repository;
 
 import com.example.ordermgmt.entity.Organization;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface OrganizationRepository extends JpaRepository<Organization, UUID> {
     Optional<Organization> findBySubdomainIgnoreCase(String subdomain);
+
+    @Query("SELECT o.orgId FROM Organization o ORDER BY o.orgId")
+    List<UUID> findAllOrgIds();
 }
@@ -5,11 +5,10 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
-import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface PricingHistoryRepository extends JpaRepository<PricingHistory, UUID> {
 
-    Optional<PricingHistory> findFirstByInventoryItemItemIdOrderByCreatedTimestampDesc(UUID itemId);
+    List<PricingHistory> findAllByInventoryItemItemIdOrderByEffectiveFromAscCreatedTimestampAsc(UUID itemId);
 }
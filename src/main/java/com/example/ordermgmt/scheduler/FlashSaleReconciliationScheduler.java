@@ -0,0 +1,48 @@
+package com.example.ordermgmt.scheduler;
+
+import com.example.ordermgmt.service.impl.order.FlashSaleStockReconciler;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.inventory.flash-sale.enabled", havingValue = "true")
+public class FlashSaleReconciliationScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlashSaleReconciliationScheduler.class);
+
+    private final FlashSaleStockReconciler reconciler;
+
+    /**
+     * Crash recovery: counters lost with Redis are rebuilt from INVENTORY_ITEM and
+     * ORDER_ITEM before the first flash-sale order needs them.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverCounters() {
+        try {
+            reconciler.recoverMissingCounters();
+        } catch (RuntimeException e) {
+            // Counters are also rebuilt lazily on first use, so startup must not fail here
+            logger.error("recoverMissingCounters failed for Scheduler", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.inventory.flash-sale.reconcile-interval-ms:1000}")
+    public void reconcilePendingDeltas() {
+        try {
+            int items = reconciler.reconcile();
+            if (items > 0) {
+                logger.info("reconcilePendingDeltas completed successfully for Scheduler: {} items", items);
+            }
+        } catch (RuntimeException e) {
+            // Deltas are returned to Redis on rollback and picked up by the next run
+            logger.error("reconcilePendingDeltas failed for Scheduler", e);
+        }
+    }
+}
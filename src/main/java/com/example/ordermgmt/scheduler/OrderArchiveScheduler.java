@@ -0,0 +1,41 @@
+package com.example.ordermgmt.scheduler;
+
+import com.example.ordermgmt.service.impl.order.OrderArchiver;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class OrderArchiveScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderArchiveScheduler.class);
+
+    private final OrderArchiver archiver;
+
+    // Every node runs this; each tenant is archived only by the node holding its lease
+    @Scheduled(fixedRateString = "${app.order.archive.fixed-rate-ms:3600000}",
+            initialDelayString = "${app.order.archive.initial-delay-ms:300000}")
+    public void archiveOrders() {
+        try {
+            int archived = archiver.archive();
+            if (archived > 0) {
+                logger.info("archiveOrders completed successfully for Scheduler: archived {} orders", archived);
+            }
+        } catch (RuntimeException e) {
+            // Chunks already moved stay committed; the rest is picked up on the next run
+            logger.error("archiveOrders failed for Scheduler", e);
+        }
+    }
+
+    @Scheduled(fixedRateString = "${app.order.archive.size-refresh-ms:60000}")
+    public void refreshHotTableSizes() {
+        try {
+            archiver.refreshHotTableSizes();
+        } catch (RuntimeException e) {
+            logger.error("refreshHotTableSizes failed for Scheduler", e);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.ordermgmt.scheduler;
+
+import com.example.ordermgmt.service.impl.order.OrderExpiryWheel;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ticks the expiry wheel on a thread of its own. Spring's scheduling pool has a
+ * single thread shared by the sweeps, reconcilers and the archiver, so a long
+ * run of any of them would hold expiry well past its tick.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.order.expiry-wheel.enabled", havingValue = "true", matchIfMissing = true)
+public class OrderExpiryScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderExpiryScheduler.class);
+
+    private final OrderExpiryWheel expiryWheel;
+
+    @Value("${app.order.expiry-wheel.tick-ms:1000}")
+    private long tickMs;
+
+    private ScheduledExecutorService ticker;
+
+    @PostConstruct
+    void start() {
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "order-expiry-tick");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::cancelExpiredOrders, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+
+    /**
+     * Crash recovery: deadlines held in memory by the previous run are reloaded
+     * from the PENDING orders in the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildWheel() {
+        try {
+            expiryWheel.rebuild();
+        } catch (RuntimeException e) {
+            // The auto-cancel sweep still cancels these orders, so startup must not fail here
+            logger.error("rebuild failed for Scheduler", e);
+        }
+    }
+
+    public void cancelExpiredOrders() {
+        try {
+            int expired = expiryWheel.fireDue();
+            if (expired > 0) {
+                logger.info("cancelExpiredOrders completed successfully for Scheduler: cancelled {} orders", expired);
+            }
+        } catch (RuntimeException e) {
+            // Expired orders left PENDING are cancelled by the auto-cancel sweep
+            logger.error("cancelExpiredOrders failed for Scheduler", e);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.ordermgmt.scheduler;
+
+import com.example.ordermgmt.service.impl.order.StockLedgerCompactor;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.inventory.ledger.enabled", havingValue = "true")
+public class StockLedgerCompactionScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockLedgerCompactionScheduler.class);
+
+    private final StockLedgerCompactor compactor;
+
+    // One transaction per item, so a failing item does not hold back the others
+    @Scheduled(fixedDelayString = "${app.inventory.ledger.compaction-interval-ms:60000}")
+    public void compactLedger() {
+        List<UUID> itemIds = compactor.findItemsToCompact();
+        if (itemIds.isEmpty()) {
+            return;
+        }
+
+        int movements = 0;
+        for (UUID itemId : itemIds) {
+            try {
+                movements += compactor.compactItem(itemId);
+            } catch (RuntimeException e) {
+                logger.error("compactItem failed for Item: {}", itemId, e);
+            }
+        }
+        logger.info("compactLedger completed successfully for Scheduler: {} movements across {} items",
+                movements, itemIds.size());
+    }
+}
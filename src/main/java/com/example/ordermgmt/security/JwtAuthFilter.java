@@ -51,9 +51,10 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                 }
 
                 if (jwtUtil.validateToken(token)) {
-                    String email = jwtUtil.extractUsername(token);
-                    String role = jwtUtil.extractRole(token);
-                    UUID orgId = jwtUtil.extractOrgId(token);
+                    UserPrincipal principal = jwtUtil.extractPrincipal(token);
+                    String email = principal.email();
+                    String role = principal.role();
+                    UUID orgId = principal.orgId();
                     if (ROLE_SUPER_ADMIN.equals(role)) {
                         TenantContextHolder.setTenantId(TenantContextHolder.ROOT_TENANT_ID);
                     } else if (orgId != null) {
@@ -70,8 +71,9 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
                     if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
                         SimpleGrantedAuthority authority = new SimpleGrantedAuthority(role);
+                        // The principal carries the user/customer IDs; getName() is still the email
                         UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                                email, null, Collections.singletonList(authority));
+                                principal, null, Collections.singletonList(authority));
 
                         SecurityContextHolder.getContext().setAuthentication(authentication);
                         logger.debug("Authentication successful for user: {}, role: {}", email, role);
@@ -1,5 +1,6 @@
 package com.example.ordermgmt.security;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
@@ -37,12 +38,26 @@ public class JwtUtil {
     }
 
     public String generateToken(String email, String role, UUID orgId) {
+        return generateToken(email, role, orgId, null, null);
+    }
+
+    /**
+     * Token with the caller's user and customer IDs as claims, so requests can
+     * be resolved to their rows by primary key instead of by email.
+     */
+    public String generateToken(String email, String role, UUID orgId, UUID userId, UUID customerId) {
         io.jsonwebtoken.JwtBuilder builder = Jwts.builder()
                 .subject(email)
                 .claim("role", role);
         if (orgId != null) {
             builder.claim("org_id", orgId.toString());
         }
+        if (userId != null) {
+            builder.claim("user_id", userId.toString());
+        }
+        if (customerId != null) {
+            builder.claim("customer_id", customerId.toString());
+        }
         return builder
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + expirationTimeMs))
@@ -81,6 +96,31 @@ public class JwtUtil {
         return UUID.fromString(orgId);
     }
 
+    /**
+     * All identity claims of a validated token, parsed once.
+     */
+    public UserPrincipal extractPrincipal(String token) {
+        Claims claims = Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+        return new UserPrincipal(
+                claims.getSubject(),
+                claims.get("role", String.class),
+                uuidClaim(claims, "org_id"),
+                uuidClaim(claims, "user_id"),
+                uuidClaim(claims, "customer_id"));
+    }
+
+    private UUID uuidClaim(Claims claims, String name) {
+        String value = claims.get(name, String.class);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return UUID.fromString(value);
+    }
+
     public boolean validateToken(String token) {
         try {
             Jwts.parser()
@@ -0,0 +1,48 @@
+package com.example.ordermgmt.security;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.security.Principal;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * The authenticated caller, built once per request by {@link JwtAuthFilter}
+ * from the access token's claims and kept as the principal of the request's
+ * Authentication, so it follows the security context to async and intake
+ * threads. {@link #getName()} is the email, so {@code authentication.getName()}
+ * keeps working everywhere.
+ *
+ * userId and customerId are null for tokens issued before they were added as
+ * claims; customerId is null for every role but CUSTOMER. Callers fall back to
+ * the email lookup in that case.
+ */
+public record UserPrincipal(String email, String role, UUID orgId, UUID userId, UUID customerId)
+        implements Principal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    public static Optional<UserPrincipal> current() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return Optional.of(principal);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * The current caller's customer ID, if the caller is the given customer and
+     * the token carried it; null otherwise.
+     */
+    public static UUID customerIdFor(String email) {
+        return current()
+                .filter(principal -> principal.customerId() != null && email != null
+                        && email.trim().equalsIgnoreCase(principal.email()))
+                .map(UserPrincipal::customerId)
+                .orElse(null);
+    }
+}
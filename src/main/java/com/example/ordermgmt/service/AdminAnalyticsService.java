@@ -2,6 +2,7 @@ package com.example.ordermgmt.service;
 
 import com.example.ordermgmt.dto.analytics.OrderAnalyticsResponseDTO;
 import com.example.ordermgmt.dto.analytics.RevenueReportResponseDTO;
+import com.example.ordermgmt.dto.analytics.StatusDurationReportResponseDTO;
 import java.time.LocalDate;
 
 public interface AdminAnalyticsService {
@@ -18,4 +19,10 @@ public interface AdminAnalyticsService {
                         String itemName,
                         String orderStatus,
                         org.springframework.data.domain.Pageable pageable);
+
+        StatusDurationReportResponseDTO getStatusDurationReport(
+                        LocalDate startDate,
+                        LocalDate endDate,
+                        String fromStatus,
+                        String toStatus);
 }
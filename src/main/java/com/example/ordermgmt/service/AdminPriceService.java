@@ -4,6 +4,7 @@ import com.example.ordermgmt.dto.AdminPricingDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -14,6 +15,8 @@ public interface AdminPriceService {
 
     AdminPricingDTO getPrice(UUID itemId);
 
+    AdminPricingDTO getPriceAt(UUID itemId, LocalDateTime at);
+
     void addPrices(List<AdminPricingDTO> prices);
 
     void updatePrices(List<AdminPricingDTO> prices);
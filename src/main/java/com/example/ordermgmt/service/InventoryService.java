@@ -4,6 +4,10 @@ import com.example.ordermgmt.dto.InventoryItemDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import com.example.ordermgmt.dto.AddStockRequestDTO;
+import com.example.ordermgmt.dto.FlashSaleToggleDTO;
+import com.example.ordermgmt.dto.InventoryMovementDTO;
+import com.example.ordermgmt.dto.StockLedgerToggleDTO;
+import com.example.ordermgmt.dto.StockStripingDTO;
 
 import java.util.List;
 import java.util.UUID;
@@ -22,4 +26,12 @@ public interface InventoryService {
     List<UUID> addStock(List<AddStockRequestDTO> items);
 
     void deleteInventoryItems(List<UUID> itemIds);
+
+    List<UUID> updateFlashSaleMode(List<FlashSaleToggleDTO> items);
+
+    List<UUID> updateStockStriping(List<StockStripingDTO> items);
+
+    List<UUID> updateStockLedgerMode(List<StockLedgerToggleDTO> items);
+
+    Page<InventoryMovementDTO> getStockMovements(UUID itemId, Pageable pageable);
 }
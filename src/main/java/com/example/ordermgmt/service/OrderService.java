@@ -1,5 +1,6 @@
 package com.example.ordermgmt.service;
 
+import com.example.ordermgmt.dto.BulkOrderPlacementResultDTO;
 import com.example.ordermgmt.dto.BulkOrderStatusUpdateDTO;
 import com.example.ordermgmt.dto.BulkOrderUpdateResultDTO;
 import com.example.ordermgmt.dto.OrderDTO;
@@ -8,27 +9,46 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface OrderService {
     // Customer Operations
     OrderDTO createOrder(OrderDTO request, String email);
 
+    BulkOrderPlacementResultDTO createOrders(List<OrderDTO> requests, String email);
+
     List<OrderDTO> getCustomerOrders(String email);
 
     Page<OrderDTO> getCustomerOrders(String email, Pageable pageable);
 
     OrderDTO getCustomerOrderById(UUID orderId, String email);
 
+    // History reads that also look in the order archive when includeArchived is set
+    List<OrderDTO> getCustomerOrders(String email, boolean includeArchived);
+
+    Page<OrderDTO> getCustomerOrders(String email, Pageable pageable, boolean includeArchived);
+
+    OrderDTO getCustomerOrderById(UUID orderId, String email, boolean includeArchived);
+
     OrderDTO cancelOrder(UUID orderId, String email);
 
+    // Asynchronous acceptance: orders drained from the intake journal, keyed by their order token
+    OrderDTO createAcceptedOrder(UUID orderToken, OrderDTO request, String email);
+
+    Optional<OrderDTO> findAcceptedOrder(UUID orderToken, String email);
+
     // Admin Operations
     List<OrderDTO> getAllOrders();
 
     Page<OrderDTO> getAllOrders(Pageable pageable);
 
+    Page<OrderDTO> getAllOrderHeaders(Pageable pageable);
+
     OrderDTO getOrderById(UUID orderId);
 
+    OrderDTO getOrderById(UUID orderId, boolean includeArchived);
+
     OrderDTO updateOrderStatus(UUID orderId, OrderStatusUpdateDTO statusUpdate);
 
     BulkOrderUpdateResultDTO updateOrdersStatus(List<BulkOrderStatusUpdateDTO> updates);
@@ -10,10 +10,15 @@ import com.example.ordermgmt.dto.analytics.RevenueReportItemDTO;
 import com.example.ordermgmt.dto.analytics.RevenueReportResponseDTO;
 import com.example.ordermgmt.dto.analytics.RevenueReportSaleDTO;
 import com.example.ordermgmt.dto.analytics.RevenueReportSummaryDTO;
+import com.example.ordermgmt.dto.analytics.StatusDurationDayDTO;
+import com.example.ordermgmt.dto.analytics.StatusDurationReportResponseDTO;
 import com.example.ordermgmt.exception.InvalidOperationException;
 import com.example.ordermgmt.enums.OrderStatus;
 import com.example.ordermgmt.repository.OrderItemRepository;
+import com.example.ordermgmt.security.TenantContextHolder;
 import com.example.ordermgmt.service.AdminAnalyticsService;
+import com.example.ordermgmt.service.impl.order.OrderStatusHistoryStatements;
+import com.example.ordermgmt.service.impl.order.OrderStatusRegistry;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -44,6 +49,8 @@ public class AdminAnalyticsServiceImpl implements AdminAnalyticsService {
                         .map(Enum::name)
                         .collect(Collectors.toUnmodifiableSet());
         private final OrderItemRepository orderItemRepository;
+        private final OrderStatusRegistry orderStatusRegistry;
+        private final OrderStatusHistoryStatements statusHistoryStatements;
 
         @Override
         @Transactional(readOnly = true)
@@ -122,6 +129,41 @@ public class AdminAnalyticsServiceImpl implements AdminAnalyticsService {
                                 items);
         }
 
+        /**
+         * Per-day percentiles of the time the tenant's orders spent in fromStatus
+         * before moving to toStatus, read from ORDER_STATUS_HISTORY.
+         */
+        @Override
+        @Transactional(readOnly = true)
+        public StatusDurationReportResponseDTO getStatusDurationReport(
+                        LocalDate startDate,
+                        LocalDate endDate,
+                        String fromStatus,
+                        String toStatus) {
+                logger.info("Processing getStatusDurationReport for range: {} to {}", startDate, endDate);
+
+                validateDateRange(startDate, endDate);
+                if (fromStatus == null || fromStatus.isBlank() || toStatus == null || toStatus.isBlank()) {
+                        throw new InvalidOperationException("Both fromStatus and toStatus are required");
+                }
+                String fromStatusName = normalizeOrderStatus(fromStatus.trim());
+                String toStatusName = normalizeOrderStatus(toStatus.trim());
+                UUID orgId = TenantContextHolder.getTenantId();
+                if (orgId == null) {
+                        throw new InvalidOperationException("Status durations are reported per organization");
+                }
+
+                List<StatusDurationDayDTO> days = statusHistoryStatements.durationsByDay(
+                                orgId,
+                                statusIdOf(fromStatusName),
+                                statusIdOf(toStatusName),
+                                startDate.atStartOfDay(),
+                                endDate.plusDays(1).atStartOfDay());
+
+                logger.info("getStatusDurationReport completed successfully for range: {} to {}", startDate, endDate);
+                return new StatusDurationReportResponseDTO(startDate, endDate, fromStatusName, toStatusName, days);
+        }
+
         @Override
         @Transactional(readOnly = true)
         public OrderAnalyticsResponseDTO getOrderAnalytics(
@@ -451,6 +493,12 @@ public class AdminAnalyticsServiceImpl implements AdminAnalyticsService {
                                                 startDateTime, endDateTimeExclusive, itemName);
         }
 
+        private int statusIdOf(String statusName) {
+                return orderStatusRegistry.find(statusName)
+                                .orElseThrow(() -> new InvalidOperationException("Status config missing: " + statusName))
+                                .getStatusId();
+        }
+
         private void validateDateRange(LocalDate startDate, LocalDate endDate) {
                 if (startDate == null || endDate == null) {
                         throw new InvalidOperationException("Both startDate and endDate are required");
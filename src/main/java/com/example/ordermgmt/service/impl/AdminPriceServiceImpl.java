@@ -10,6 +10,8 @@ import com.example.ordermgmt.repository.InventoryItemRepository;
 import com.example.ordermgmt.repository.PricingCatalogRepository;
 import com.example.ordermgmt.repository.PricingHistoryRepository;
 import com.example.ordermgmt.service.AdminPriceService;
+import com.example.ordermgmt.service.impl.order.PriceSnapshotCache;
+import com.example.ordermgmt.service.impl.order.PriceTimeline;
 import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -33,15 +35,18 @@ public class AdminPriceServiceImpl implements AdminPriceService {
     private final PricingHistoryRepository pricingHistoryRepository;
     private final InventoryItemRepository inventoryItemRepository;
     private final AuditorAware<String> auditorAware;
+    private final PriceSnapshotCache priceSnapshotCache;
 
     public AdminPriceServiceImpl(PricingCatalogRepository pricingCatalogRepository,
             PricingHistoryRepository pricingHistoryRepository,
             InventoryItemRepository inventoryItemRepository,
-            AuditorAware<String> auditorAware) {
+            AuditorAware<String> auditorAware,
+            PriceSnapshotCache priceSnapshotCache) {
         this.pricingCatalogRepository = pricingCatalogRepository;
         this.pricingHistoryRepository = pricingHistoryRepository;
         this.inventoryItemRepository = inventoryItemRepository;
         this.auditorAware = auditorAware;
+        this.priceSnapshotCache = priceSnapshotCache;
     }
 
     private String getCurrentAuditor() {
@@ -77,10 +82,40 @@ public class AdminPriceServiceImpl implements AdminPriceService {
                 });
     }
 
+    /**
+     * Price in effect at an instant (e.g. to reprice an old quote), read from the
+     * item's price timeline. Future-dated prices only apply from their effectiveFrom.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public AdminPricingDTO getPriceAt(UUID itemId, LocalDateTime at) {
+        logger.info("Processing getPriceAt for Item: {} at {}", itemId, at);
+        InventoryItem item = inventoryItemRepository.findById(itemId)
+                .orElseThrow(() -> {
+                    logger.error("getPriceAt failed for Item: {} - Item not found", itemId);
+                    return new ResourceNotFoundException("Item not found: " + itemId);
+                });
+        PriceTimeline timeline = PriceTimeline.of(
+                pricingHistoryRepository.findAllByInventoryItemItemIdOrderByEffectiveFromAscCreatedTimestampAsc(itemId),
+                item.getPricingCatalog());
+        PriceTimeline.Entry entry = timeline.entryAt(at)
+                .orElseThrow(() -> {
+                    logger.warn("getPriceAt failed for Item: {} - No price in effect at {}", itemId, at);
+                    return new ResourceNotFoundException("No price in effect for item " + itemId + " at " + at);
+                });
+        // A catalog-only item has no history; its price applies since it was last set
+        LocalDateTime effectiveFrom = entry.effectiveFrom().equals(LocalDateTime.MIN)
+                ? item.getPricingCatalog().getUpdatedTimestamp()
+                : entry.effectiveFrom();
+        return new AdminPricingDTO(itemId, entry.price(), effectiveFrom);
+    }
+
     @Override
     @Transactional
     public void addPrices(List<AdminPricingDTO> prices) {
         logger.info("Processing addPrices for {} items", prices.size());
+        // Order placement must not keep pricing from snapshots taken before this commit
+        priceSnapshotCache.invalidateOnCommit();
 
         for (AdminPricingDTO pricingDTO : prices) {
             if (pricingCatalogRepository.existsById(pricingDTO.getItemId())) {
@@ -115,6 +150,7 @@ public class AdminPriceServiceImpl implements AdminPriceService {
     @Transactional
     public void updatePrices(List<AdminPricingDTO> prices) {
         logger.info("Processing updatePrices for {} items", prices.size());
+        priceSnapshotCache.invalidateOnCommit();
 
         for (AdminPricingDTO pricingDTO : prices) {
             PricingCatalog target = pricingCatalogRepository.findById(pricingDTO.getItemId())
@@ -141,12 +177,12 @@ public class AdminPriceServiceImpl implements AdminPriceService {
     }
 
     private void savePricingHistory(InventoryItem item, BigDecimal oldPrice, BigDecimal newPrice,
-            LocalDateTime timestamp, String auditor) {
+            LocalDateTime effectiveFrom, String auditor) {
         PricingHistory history = new PricingHistory();
         history.setInventoryItem(item);
         history.setOldPrice(oldPrice);
         history.setNewPrice(newPrice);
-        history.setCreatedTimestamp(timestamp);
+        history.setEffectiveFrom(effectiveFrom);
         history.setCreatedBy(auditor);
         pricingHistoryRepository.save(history);
     }
@@ -210,10 +210,7 @@ public class AuthServiceImpl implements AuthService {
             throw new AccountInactiveException("User is inactive");
         }
 
-        String accessToken = jwtUtil.generateToken(
-                user.getEmail(),
-                user.getRole().getRoleName(),
-                resolveTokenOrgId(user));
+        String accessToken = issueAccessToken(user);
         String refreshToken = createRefreshToken(user.getUserId());
 
         logger.info("loginUser completed successfully for User: {}", request.getEmail());
@@ -253,10 +250,7 @@ public class AuthServiceImpl implements AuthService {
             throw new AccountInactiveException("User is inactive");
         }
 
-        String newAccessToken = jwtUtil.generateToken(
-                user.getEmail(),
-                user.getRole().getRoleName(),
-                resolveTokenOrgId(user));
+        String newAccessToken = issueAccessToken(user);
         String newRefreshToken = createRefreshToken(user.getUserId());
 
         logger.info("refreshToken completed successfully for User ID: {}", userId);
@@ -398,6 +392,19 @@ public class AuthServiceImpl implements AuthService {
         }
     }
 
+    /**
+     * Access token carrying the user ID and, for customers, the customer ID, so
+     * later requests resolve the caller by primary key instead of by email.
+     */
+    private String issueAccessToken(AppUser user) {
+        String roleName = user.getRole().getRoleName();
+        UUID customerId = ROLE_CUSTOMER.equals(roleName)
+                ? customerRepository.findByAppUser(user).map(Customer::getCustomerId).orElse(null)
+                : null;
+        return jwtUtil.generateToken(user.getEmail(), roleName, resolveTokenOrgId(user), user.getUserId(),
+                customerId);
+    }
+
     private UUID resolveTokenOrgId(AppUser user) {
         if (ROLE_SUPER_ADMIN.equals(user.getRole().getRoleName())) {
             return null;
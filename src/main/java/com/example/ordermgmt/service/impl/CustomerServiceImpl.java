@@ -6,12 +6,16 @@ import com.example.ordermgmt.entity.Customer;
 import com.example.ordermgmt.exception.ResourceNotFoundException;
 import com.example.ordermgmt.repository.AppUserRepository;
 import com.example.ordermgmt.repository.CustomerRepository;
+import com.example.ordermgmt.security.UserPrincipal;
 import com.example.ordermgmt.service.CustomerService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Optional;
+import java.util.UUID;
+
 @Service
 public class CustomerServiceImpl implements CustomerService {
 
@@ -30,6 +34,11 @@ public class CustomerServiceImpl implements CustomerService {
     public CustomerProfileDTO getCustomerProfile(String email) {
         logger.info("Processing getCustomerProfile for Customer: {}", email);
 
+        Optional<Customer> byKey = findByPrincipal(email);
+        if (byKey.isPresent()) {
+            return convertToDTO(byKey.get(), UserPrincipal.current().get().email());
+        }
+
         AppUser user = appUserRepository.findByEmail(email)
                 .orElseThrow(() -> {
                     logger.error("getCustomerProfile failed for Customer: {} - User not found", email);
@@ -37,7 +46,7 @@ public class CustomerServiceImpl implements CustomerService {
                 });
 
         return customerRepository.findByAppUser(user)
-                .map(this::convertToDTO)
+                .map(customer -> convertToDTO(customer, user.getEmail()))
                 .orElseGet(() -> {
                     logger.warn(
                             "Processing getCustomerProfile for Customer: {} - Customer record not found, returning default",
@@ -59,14 +68,15 @@ public class CustomerServiceImpl implements CustomerService {
             throw new com.example.ordermgmt.exception.InvalidOperationException("Email cannot be updated");
         }
 
-        AppUser user = appUserRepository.findByEmail(email)
-                .orElseThrow(() -> {
-                    logger.error("updateCustomerProfile failed for Customer: {} - User not found", email);
-                    return new ResourceNotFoundException("User not found with email: " + email);
-                });
-
-        Customer customer = customerRepository.findByAppUser(user)
-                .orElseGet(() -> createNewCustomer(user));
+        Customer customer = findByPrincipal(email).orElseGet(() -> {
+            AppUser user = appUserRepository.findByEmail(email)
+                    .orElseThrow(() -> {
+                        logger.error("updateCustomerProfile failed for Customer: {} - User not found", email);
+                        return new ResourceNotFoundException("User not found with email: " + email);
+                    });
+            return customerRepository.findByAppUser(user)
+                    .orElseGet(() -> createNewCustomer(user));
+        });
 
         updateCustomerFields(customer, profileDTO);
         customerRepository.save(customer);
@@ -75,6 +85,12 @@ public class CustomerServiceImpl implements CustomerService {
         return "Profile updated successfully";
     }
 
+    // Customer by the token's customer_id claim; empty for tokens without it
+    private Optional<Customer> findByPrincipal(String email) {
+        UUID customerId = UserPrincipal.customerIdFor(email);
+        return customerId != null ? customerRepository.findById(customerId) : Optional.empty();
+    }
+
     private Customer createNewCustomer(AppUser user) {
         logger.info("Processing createNewCustomer for customer: {}", user.getEmail());
         Customer newCustomer = new Customer();
@@ -89,12 +105,12 @@ public class CustomerServiceImpl implements CustomerService {
         customer.setAddress(dto.getAddress());
     }
 
-    private CustomerProfileDTO convertToDTO(Customer customer) {
+    private CustomerProfileDTO convertToDTO(Customer customer, String email) {
         return new CustomerProfileDTO(
                 customer.getFirstName(),
                 customer.getLastName(),
                 customer.getContactNo(),
                 customer.getAddress(),
-                customer.getAppUser().getEmail());
+                email);
     }
 }
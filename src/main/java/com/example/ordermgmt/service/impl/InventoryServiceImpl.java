@@ -6,15 +6,26 @@ import com.example.ordermgmt.exception.InvalidOperationException;
 import com.example.ordermgmt.exception.ResourceNotFoundException;
 import com.example.ordermgmt.repository.InventoryItemRepository;
 import com.example.ordermgmt.service.InventoryService;
+import com.example.ordermgmt.service.impl.order.FlashSaleStockReconciler;
+import com.example.ordermgmt.service.impl.order.StockLedgerManager;
+import com.example.ordermgmt.service.impl.order.StripedStockManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import com.example.ordermgmt.dto.AddStockRequestDTO;
+import com.example.ordermgmt.dto.FlashSaleToggleDTO;
+import com.example.ordermgmt.dto.InventoryMovementDTO;
+import com.example.ordermgmt.dto.StockLedgerToggleDTO;
+import com.example.ordermgmt.dto.StockLevelDTO;
+import com.example.ordermgmt.dto.StockStripingDTO;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -28,17 +39,36 @@ public class InventoryServiceImpl implements InventoryService {
 
     private static final Logger logger = LoggerFactory.getLogger(InventoryServiceImpl.class);
     private final InventoryItemRepository inventoryItemRepository;
+    private final FlashSaleStockReconciler flashSaleReconciler;
+    private final StripedStockManager stripedStockManager;
+    private final StockLedgerManager stockLedgerManager;
 
-    public InventoryServiceImpl(InventoryItemRepository inventoryItemRepository) {
+    @Value("${app.inventory.striping.enabled:false}")
+    private boolean stripingEnabled;
+
+    @Value("${app.inventory.striping.max-buckets:64}")
+    private int maxStripeBuckets;
+
+    @Value("${app.inventory.ledger.enabled:false}")
+    private boolean ledgerEnabled;
+
+    public InventoryServiceImpl(InventoryItemRepository inventoryItemRepository,
+            FlashSaleStockReconciler flashSaleReconciler, StripedStockManager stripedStockManager,
+            StockLedgerManager stockLedgerManager) {
         this.inventoryItemRepository = inventoryItemRepository;
+        this.flashSaleReconciler = flashSaleReconciler;
+        this.stripedStockManager = stripedStockManager;
+        this.stockLedgerManager = stockLedgerManager;
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<InventoryItemDTO> getAllInventory() {
         logger.info("Processing getAllInventory (List) for Admin");
-        List<InventoryItemDTO> result = inventoryItemRepository.findAll().stream()
-                .map(this::convertToDTO)
+        List<InventoryItem> items = inventoryItemRepository.findAll();
+        Map<UUID, StockLevelDTO> stockLevels = findStockLevels(items);
+        List<InventoryItemDTO> result = items.stream()
+                .map(item -> convertToDTO(item, stockLevels))
                 .collect(Collectors.toList());
         logger.info("getAllInventory (List) completed successfully for Admin - Retrieved {} items", result.size());
         return result;
@@ -48,8 +78,9 @@ public class InventoryServiceImpl implements InventoryService {
     @Transactional(readOnly = true)
     public Page<InventoryItemDTO> getAllInventory(Pageable pageable) {
         logger.info("Processing getAllInventory (Page) for Admin");
-        Page<InventoryItemDTO> result = inventoryItemRepository.findAll(pageable)
-                .map(this::convertToDTO);
+        Page<InventoryItem> items = inventoryItemRepository.findAll(pageable);
+        Map<UUID, StockLevelDTO> stockLevels = findStockLevels(items.getContent());
+        Page<InventoryItemDTO> result = items.map(item -> convertToDTO(item, stockLevels));
         logger.info("getAllInventory (Page) completed successfully for Admin - Retrieved {} items",
                 result.getNumberOfElements());
         return result;
@@ -66,7 +97,7 @@ public class InventoryServiceImpl implements InventoryService {
                     return new ResourceNotFoundException("Inventory Item not found with ID: " + itemId);
                 });
 
-        InventoryItemDTO dto = convertToDTO(item);
+        InventoryItemDTO dto = convertToDTO(item, findStockLevels(List.of(item)));
         logger.info("getInventoryItem completed successfully for Item: {}", itemId);
         return dto;
     }
@@ -124,6 +155,7 @@ public class InventoryServiceImpl implements InventoryService {
                 logger.warn("Skipping updateInventoryItems - Item {} not found", dto.getItemId());
                 throw new ResourceNotFoundException("Inventory Item not found with ID: " + dto.getItemId());
             }
+            rejectManagedStockItem(existingItem, "update");
 
             // 2. Validate consistency: New Total Stock (Available) >= Currently Reserved
             if (dto.getAvailableStock() < existingItem.getReservedStock()) {
@@ -161,6 +193,7 @@ public class InventoryServiceImpl implements InventoryService {
 
         // 2. Prevent deletion of items with active reservations
         for (InventoryItem item : itemsToDelete) {
+            rejectManagedStockItem(item, "delete");
             if (item.getReservedStock() > 0) {
                 throw new InvalidOperationException(String.format(
                         "Cannot delete item '%s' (ID: %s) because it has %d units currently reserved for orders.",
@@ -196,7 +229,23 @@ public class InventoryServiceImpl implements InventoryService {
                 throw new ResourceNotFoundException("Inventory Item not found with ID: " + dto.getItemId());
             }
 
+            if (existingItem.isStriped()) {
+                // The row holds no stock while striped; spread the units over the buckets
+                stripedStockManager.addAvailable(existingItem, dto.getAddStock());
+                updatedIds.add(dto.getItemId());
+                continue;
+            }
+            if (existingItem.isStockLedger()) {
+                stockLedgerManager.restock(existingItem, dto.getAddStock());
+                updatedIds.add(dto.getItemId());
+                continue;
+            }
+
             existingItem.setAvailableStock(existingItem.getAvailableStock() + dto.getAddStock());
+            if (existingItem.isFlashSale()) {
+                // Live counters are in Redis; mirror the restock once it is committed
+                flashSaleReconciler.addAvailableAfterCommit(existingItem.getItemId(), dto.getAddStock());
+            }
 
             entitiesToUpdate.add(existingItem);
             updatedIds.add(dto.getItemId());
@@ -207,11 +256,200 @@ public class InventoryServiceImpl implements InventoryService {
         return updatedIds;
     }
 
-    private InventoryItemDTO convertToDTO(InventoryItem item) {
+    @Override
+    public List<UUID> updateFlashSaleMode(List<FlashSaleToggleDTO> items) {
+        logger.info("Processing updateFlashSaleMode for {} items", items.size());
+
+        List<UUID> itemIds = items.stream()
+                .map(FlashSaleToggleDTO::getItemId)
+                .sorted()
+                .collect(Collectors.toList());
+
+        Map<UUID, InventoryItem> lockedItems = inventoryItemRepository.findAllByItemIdInForUpdate(itemIds)
+                .stream()
+                .collect(Collectors.toMap(InventoryItem::getItemId, Function.identity()));
+
+        List<UUID> updatedIds = new ArrayList<>();
+        for (FlashSaleToggleDTO dto : items) {
+            InventoryItem existingItem = lockedItems.get(dto.getItemId());
+            if (existingItem == null) {
+                logger.warn("Skipping updateFlashSaleMode - Item {} not found", dto.getItemId());
+                throw new ResourceNotFoundException("Inventory Item not found with ID: " + dto.getItemId());
+            }
+
+            if (Boolean.TRUE.equals(dto.getEnabled())) {
+                if (existingItem.isStriped()) {
+                    throw new InvalidOperationException(String.format(
+                            "Cannot enable flash-sale mode for item '%s' (ID: %s) while its stock is striped.",
+                            existingItem.getItemName(), existingItem.getItemId()));
+                }
+                if (existingItem.isStockLedger()) {
+                    throw new InvalidOperationException(String.format(
+                            "Cannot enable flash-sale mode for item '%s' (ID: %s) while it is in ledger mode.",
+                            existingItem.getItemName(), existingItem.getItemId()));
+                }
+                existingItem.setFlashSale(true);
+                // (Re)building on enable also serves as the manual recovery path
+                flashSaleReconciler.rebuildCounters(existingItem.getItemId());
+            } else if (existingItem.isFlashSale()) {
+                existingItem.setFlashSale(false);
+                flashSaleReconciler.removeCounters(existingItem.getItemId());
+            }
+            updatedIds.add(dto.getItemId());
+        }
+
+        logger.info("updateFlashSaleMode completed successfully for {} items", items.size());
+        return updatedIds;
+    }
+
+    @Override
+    public List<UUID> updateStockStriping(List<StockStripingDTO> items) {
+        logger.info("Processing updateStockStriping for {} items", items.size());
+
+        List<UUID> itemIds = items.stream()
+                .map(StockStripingDTO::getItemId)
+                .sorted()
+                .collect(Collectors.toList());
+
+        Map<UUID, InventoryItem> lockedItems = inventoryItemRepository.findAllByItemIdInForUpdate(itemIds)
+                .stream()
+                .collect(Collectors.toMap(InventoryItem::getItemId, Function.identity()));
+
+        List<UUID> updatedIds = new ArrayList<>();
+        for (StockStripingDTO dto : items) {
+            InventoryItem existingItem = lockedItems.get(dto.getItemId());
+            if (existingItem == null) {
+                logger.warn("Skipping updateStockStriping - Item {} not found", dto.getItemId());
+                throw new ResourceNotFoundException("Inventory Item not found with ID: " + dto.getItemId());
+            }
+
+            int buckets = dto.getBuckets();
+            // Folding back to one bucket stays possible after striping has been switched off
+            if (buckets > 1 && !stripingEnabled) {
+                throw new InvalidOperationException(
+                        "Stock striping is disabled. Set app.inventory.striping.enabled=true first.");
+            }
+            if (buckets > 1 && buckets > maxStripeBuckets) {
+                throw new InvalidOperationException(String.format(
+                        "Bucket count %d for item '%s' exceeds the maximum of %d.",
+                        buckets, existingItem.getItemName(), maxStripeBuckets));
+            }
+            if (existingItem.isFlashSale()) {
+                throw new InvalidOperationException(String.format(
+                        "Cannot stripe item '%s' (ID: %s) while it is in flash-sale mode.",
+                        existingItem.getItemName(), existingItem.getItemId()));
+            }
+            if (buckets > 1 && existingItem.isStockLedger()) {
+                throw new InvalidOperationException(String.format(
+                        "Cannot stripe item '%s' (ID: %s) while it is in ledger mode.",
+                        existingItem.getItemName(), existingItem.getItemId()));
+            }
+
+            stripedStockManager.restripe(existingItem, buckets);
+            updatedIds.add(dto.getItemId());
+        }
+
+        logger.info("updateStockStriping completed successfully for {} items", items.size());
+        return updatedIds;
+    }
+
+    @Override
+    public List<UUID> updateStockLedgerMode(List<StockLedgerToggleDTO> items) {
+        logger.info("Processing updateStockLedgerMode for {} items", items.size());
+
+        List<UUID> itemIds = items.stream()
+                .map(StockLedgerToggleDTO::getItemId)
+                .sorted()
+                .collect(Collectors.toList());
+
+        Map<UUID, InventoryItem> lockedItems = inventoryItemRepository.findAllByItemIdInForUpdate(itemIds)
+                .stream()
+                .collect(Collectors.toMap(InventoryItem::getItemId, Function.identity()));
+
+        List<UUID> updatedIds = new ArrayList<>();
+        for (StockLedgerToggleDTO dto : items) {
+            InventoryItem existingItem = lockedItems.get(dto.getItemId());
+            if (existingItem == null) {
+                logger.warn("Skipping updateStockLedgerMode - Item {} not found", dto.getItemId());
+                throw new ResourceNotFoundException("Inventory Item not found with ID: " + dto.getItemId());
+            }
+
+            if (Boolean.TRUE.equals(dto.getEnabled())) {
+                if (!ledgerEnabled) {
+                    throw new InvalidOperationException(
+                            "Stock ledger mode is disabled. Set app.inventory.ledger.enabled=true first.");
+                }
+                if (existingItem.isFlashSale() || existingItem.isStriped()) {
+                    throw new InvalidOperationException(String.format(
+                            "Cannot enable ledger mode for item '%s' (ID: %s) while it is in flash-sale mode "
+                                    + "or its stock is striped.",
+                            existingItem.getItemName(), existingItem.getItemId()));
+                }
+                stockLedgerManager.enable(existingItem);
+            } else {
+                // Switching off stays possible after ledger mode has been disabled globally
+                stockLedgerManager.disable(existingItem);
+            }
+            updatedIds.add(dto.getItemId());
+        }
+
+        logger.info("updateStockLedgerMode completed successfully for {} items", items.size());
+        return updatedIds;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<InventoryMovementDTO> getStockMovements(UUID itemId, Pageable pageable) {
+        logger.info("Processing getStockMovements for Item: {}", itemId);
+        if (!inventoryItemRepository.existsById(itemId)) {
+            logger.warn("Skipping getStockMovements for Item: {} - Item not found", itemId);
+            throw new ResourceNotFoundException("Inventory Item not found with ID: " + itemId);
+        }
+        Page<InventoryMovementDTO> result = stockLedgerManager.findMovements(itemId, pageable);
+        logger.info("getStockMovements completed successfully for Item: {} - Retrieved {} movements",
+                itemId, result.getNumberOfElements());
+        return result;
+    }
+
+    private void rejectManagedStockItem(InventoryItem item, String operation) {
+        if (item.isFlashSale()) {
+            throw new InvalidOperationException(String.format(
+                    "Cannot %s item '%s' (ID: %s) while it is in flash-sale mode. Disable flash-sale mode first.",
+                    operation, item.getItemName(), item.getItemId()));
+        }
+        if (item.isStriped()) {
+            throw new InvalidOperationException(String.format(
+                    "Cannot %s item '%s' (ID: %s) while its stock is striped. Set its bucket count to 1 first.",
+                    operation, item.getItemName(), item.getItemId()));
+        }
+        if (item.isStockLedger()) {
+            throw new InvalidOperationException(String.format(
+                    "Cannot %s item '%s' (ID: %s) while it is in ledger mode. Disable ledger mode first.",
+                    operation, item.getItemName(), item.getItemId()));
+        }
+    }
+
+    // Bucket sums of striped items and derived balances of ledger-mode items
+    private Map<UUID, StockLevelDTO> findStockLevels(Collection<InventoryItem> items) {
+        Map<UUID, StockLevelDTO> stockLevels = new HashMap<>(stripedStockManager.findStockLevels(items));
+        stockLevels.putAll(stockLedgerManager.findStockLevels(items));
+        return stockLevels;
+    }
+
+    // Striped and ledger-mode items hold their stock elsewhere (the row columns stay at zero), so add it
+    private InventoryItemDTO convertToDTO(InventoryItem item, Map<UUID, StockLevelDTO> stockLevels) {
+        StockLevelDTO external = stockLevels.get(item.getItemId());
+        if (external == null) {
+            return new InventoryItemDTO(
+                    item.getItemId(),
+                    item.getItemName(),
+                    item.getAvailableStock(),
+                    item.getReservedStock());
+        }
         return new InventoryItemDTO(
                 item.getItemId(),
                 item.getItemName(),
-                item.getAvailableStock(),
-                item.getReservedStock());
+                item.getAvailableStock() + external.getAvailableStock().intValue(),
+                item.getReservedStock() + external.getReservedStock().intValue());
     }
 }
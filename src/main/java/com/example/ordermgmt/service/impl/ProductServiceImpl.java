@@ -1,10 +1,13 @@
 package com.example.ordermgmt.service.impl;
 
 import com.example.ordermgmt.dto.ProductDTO;
+import com.example.ordermgmt.dto.StockLevelDTO;
 import com.example.ordermgmt.entity.InventoryItem;
 import com.example.ordermgmt.entity.PricingCatalog;
 import com.example.ordermgmt.repository.InventoryItemRepository;
 import com.example.ordermgmt.service.ProductService;
+import com.example.ordermgmt.service.impl.order.StockLedgerManager;
+import com.example.ordermgmt.service.impl.order.StripedStockManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
@@ -12,7 +15,11 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,9 +29,14 @@ public class ProductServiceImpl implements ProductService {
     private static final int MIN_STOCK_THRESHOLD = 0;
 
     private final InventoryItemRepository inventoryItemRepository;
+    private final StripedStockManager stripedStockManager;
+    private final StockLedgerManager stockLedgerManager;
 
-    public ProductServiceImpl(InventoryItemRepository inventoryItemRepository) {
+    public ProductServiceImpl(InventoryItemRepository inventoryItemRepository,
+            StripedStockManager stripedStockManager, StockLedgerManager stockLedgerManager) {
         this.inventoryItemRepository = inventoryItemRepository;
+        this.stripedStockManager = stripedStockManager;
+        this.stockLedgerManager = stockLedgerManager;
     }
 
     @Override
@@ -39,9 +51,10 @@ public class ProductServiceImpl implements ProductService {
             return List.of();
         }
 
+        Map<UUID, StockLevelDTO> stockLevels = findStockLevels(items);
         List<ProductDTO> available = items.stream()
-                .filter(this::isAvailable)
-                .map(this::convertToDTO)
+                .filter(item -> isAvailable(item, stockLevels))
+                .map(item -> convertToDTO(item, stockLevels))
                 .collect(Collectors.toList());
 
         logger.info("getAvailableProducts completed successfully for Customer - Found {} products", available.size());
@@ -55,9 +68,10 @@ public class ProductServiceImpl implements ProductService {
                 pageable.getPageNumber(), pageable.getPageSize());
 
         Page<InventoryItem> page = inventoryItemRepository.findAvailableWithPricing(pageable);
+        Map<UUID, StockLevelDTO> stockLevels = findStockLevels(page.getContent());
         List<ProductDTO> content = page.getContent().stream()
-                .filter(this::isAvailable)
-                .map(this::convertToDTO)
+                .filter(item -> isAvailable(item, stockLevels))
+                .map(item -> convertToDTO(item, stockLevels))
                 .collect(Collectors.toList());
         Page<ProductDTO> products = new org.springframework.data.domain.PageImpl<>(content, pageable, page.getTotalElements());
 
@@ -67,17 +81,34 @@ public class ProductServiceImpl implements ProductService {
         return products;
     }
 
-    private boolean isAvailable(InventoryItem item) {
-        return item.getAvailableStock() != null && item.getAvailableStock() > MIN_STOCK_THRESHOLD &&
+    private boolean isAvailable(InventoryItem item, Map<UUID, StockLevelDTO> stockLevels) {
+        Integer availableStock = availableStock(item, stockLevels);
+        return availableStock != null && availableStock > MIN_STOCK_THRESHOLD &&
                 item.getPricingCatalog() != null &&
                 item.getPricingCatalog().getUnitPrice() != null &&
                 item.getPricingCatalog().getUnitPrice().compareTo(BigDecimal.ZERO) > 0;
     }
 
-    private ProductDTO convertToDTO(InventoryItem item) {
+    private ProductDTO convertToDTO(InventoryItem item, Map<UUID, StockLevelDTO> stockLevels) {
         PricingCatalog pricing = item.getPricingCatalog();
         BigDecimal unitPrice = (pricing != null) ? pricing.getUnitPrice() : null;
 
-        return new ProductDTO(item.getItemId(), item.getItemName(), unitPrice, item.getAvailableStock());
+        return new ProductDTO(item.getItemId(), item.getItemName(), unitPrice, availableStock(item, stockLevels));
+    }
+
+    // Bucket sums of striped items and derived balances of ledger-mode items
+    private Map<UUID, StockLevelDTO> findStockLevels(Collection<InventoryItem> items) {
+        Map<UUID, StockLevelDTO> stockLevels = new HashMap<>(stripedStockManager.findStockLevels(items));
+        stockLevels.putAll(stockLedgerManager.findStockLevels(items));
+        return stockLevels;
+    }
+
+    // Striped and ledger-mode items keep their stock off the row; the catalog shows the total
+    private Integer availableStock(InventoryItem item, Map<UUID, StockLevelDTO> stockLevels) {
+        StockLevelDTO external = stockLevels.get(item.getItemId());
+        if (external == null || item.getAvailableStock() == null) {
+            return item.getAvailableStock();
+        }
+        return item.getAvailableStock() + external.getAvailableStock().intValue();
     }
 }
@@ -0,0 +1,93 @@
+package com.example.ordermgmt.service.impl.lock;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.UUID;
+
+/**
+ * Cluster-wide leases on PostgreSQL advisory locks, so a job runs on one node at
+ * a time per scope (a tenant, say). The lease is a transaction-level advisory lock
+ * taken with {@code pg_try_advisory_xact_lock} on a pooled connection of its own,
+ * held while the work runs on other connections and released by rolling that
+ * transaction back. If the node dies, its connection drops and the lease goes
+ * with it. A node asking for a lease someone else holds is turned away at once
+ * instead of waiting.
+ *
+ * Advisory locks are PostgreSQL-only; elsewhere (H2 in tests) there is a single
+ * node and every lease is granted.
+ */
+@Service
+@RequiredArgsConstructor
+public class AdvisoryLockLeases {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdvisoryLockLeases.class);
+
+    // 64-bit key from the lease name and scope, so unrelated leases do not collide
+    private static final String TRY_LOCK = "SELECT pg_try_advisory_xact_lock(hashtextextended(?, 0))";
+
+    private final DataSource dataSource;
+    private final MeterRegistry meterRegistry;
+
+    private boolean advisoryLocksSupported;
+
+    @PostConstruct
+    void detectDatabase() {
+        try (Connection connection = dataSource.getConnection()) {
+            advisoryLocksSupported = "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+        } catch (SQLException e) {
+            logger.warn("Could not detect the database product, advisory leases disabled", e);
+        }
+    }
+
+    /**
+     * Run {@code work} while holding the lease on ({@code name}, {@code scope}).
+     *
+     * @return false, without running the work, when another node holds the lease
+     */
+    public boolean runIfLeased(String name, UUID scope, Runnable work) {
+        if (!advisoryLocksSupported) {
+            work.run();
+            return true;
+        }
+        String key = name + ":" + scope;
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                if (!tryLock(connection, key)) {
+                    meterRegistry.counter("lock.lease", "name", name, "outcome", "held").increment();
+                    logger.debug("Lease {} is held by another node", key);
+                    return false;
+                }
+                meterRegistry.counter("lock.lease", "name", name, "outcome", "acquired").increment();
+                work.run();
+                return true;
+            } finally {
+                // Nothing was written: ending the transaction only releases the lease
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new DataAccessResourceFailureException("Could not take the lease " + key, e);
+        }
+    }
+
+    private boolean tryLock(Connection connection, String key) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(TRY_LOCK)) {
+            statement.setString(1, key);
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() && result.getBoolean(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.ordermgmt.service.impl.lock;
+
+import com.example.ordermgmt.exception.LockContentionException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Lock-acquisition policy layer. Each {@link LockSite} gets a {@link LockPolicy}
+ * from {@code app.lock.<site>.*} (falling back to the site's default) and
+ * callers apply it in three places:
+ * <ul>
+ * <li>{@link #applyTimeout} at the start of the transaction bounds every lock
+ * wait in it via {@code SET LOCAL lock_timeout};</li>
+ * <li>{@link #modeOf} picks the NOWAIT / SKIP LOCKED variant of the site's
+ * primary locking read, timed by {@link #acquire};</li>
+ * <li>{@link #withRetry} around the transactional unit of work retries it on a
+ * lock failure with jittered exponential backoff and gives up with
+ * {@link LockContentionException}.</li>
+ * </ul>
+ * Retries wrap the whole transaction on purpose: after a failed lock statement
+ * PostgreSQL only accepts a rollback, so nothing inside it can be retried.
+ */
+@Service
+@RequiredArgsConstructor
+public class LockAcquisitionPolicies {
+
+    private static final Logger logger = LoggerFactory.getLogger(LockAcquisitionPolicies.class);
+
+    private final Environment environment;
+    private final DataSource dataSource;
+    private final MeterRegistry meterRegistry;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final Map<LockSite, LockPolicy> policies = new EnumMap<>(LockSite.class);
+
+    // lock_timeout is PostgreSQL-only; elsewhere (H2 in tests) timeouts are skipped
+    private boolean lockTimeoutSupported;
+
+    @PostConstruct
+    void loadPolicies() {
+        for (LockSite site : LockSite.values()) {
+            LockPolicy defaults = site.defaultPolicy();
+            String prefix = "app.lock." + site.key() + ".";
+            LockPolicy policy = new LockPolicy(
+                    environment.getProperty(prefix + "mode", LockPolicy.Mode.class, defaults.mode()),
+                    environment.getProperty(prefix + "timeout-ms", Long.class, defaults.timeoutMs()),
+                    environment.getProperty(prefix + "max-retries", Integer.class, defaults.maxRetries()),
+                    environment.getProperty(prefix + "backoff-ms", Long.class, defaults.backoffMs()),
+                    environment.getProperty(prefix + "max-backoff-ms", Long.class, defaults.maxBackoffMs()));
+            policies.put(site, policy);
+            logger.info("Lock policy for {}: {}", site.key(), policy);
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            lockTimeoutSupported = "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+        } catch (SQLException e) {
+            logger.warn("Could not detect the database product, lock timeouts disabled", e);
+        }
+    }
+
+    public LockPolicy policy(LockSite site) {
+        return policies.get(site);
+    }
+
+    public LockPolicy.Mode modeOf(LockSite site) {
+        return policies.get(site).mode();
+    }
+
+    /**
+     * Bound every lock wait of the current transaction by the site's timeout.
+     * Must run inside the transaction; the setting ends with it.
+     */
+    public void applyTimeout(LockSite site) {
+        LockPolicy policy = policies.get(site);
+        if (policy.mode() == LockPolicy.Mode.WAIT || !lockTimeoutSupported) {
+            return;
+        }
+        entityManager.createNativeQuery("SELECT set_config('lock_timeout', :timeout, true)")
+                .setParameter("timeout", policy.timeoutMs() + "ms")
+                .getSingleResult();
+    }
+
+    /**
+     * Run the site's primary locking read and record how long it waited.
+     */
+    public <T> T acquire(LockSite site, Supplier<T> lockingRead) {
+        long start = System.nanoTime();
+        String outcome = "failed";
+        try {
+            T result = lockingRead.get();
+            outcome = "acquired";
+            return result;
+        } finally {
+            Timer.builder("lock.wait")
+                    .description("Time spent acquiring a site's primary row lock")
+                    .tag("site", site.key())
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * A SKIP LOCKED read came back empty because someone else holds the row.
+     */
+    public void recordSkipped(LockSite site) {
+        meterRegistry.counter("lock.skipped", "site", site.key()).increment();
+    }
+
+    /**
+     * Run a transactional unit of work, retrying it when a lock could not be
+     * acquired (timeout, NOWAIT, deadlock). Must be called outside the
+     * transaction so that every attempt starts a fresh one.
+     */
+    public <T> T withRetry(LockSite site, Supplier<T> unitOfWork) {
+        LockPolicy policy = policies.get(site);
+        for (int attempt = 0;; attempt++) {
+            try {
+                return unitOfWork.get();
+            } catch (PessimisticLockingFailureException e) {
+                if (attempt >= policy.maxRetries()) {
+                    meterRegistry.counter("lock.giveups", "site", site.key()).increment();
+                    logger.warn("Giving up on {} after {} attempts: {}", site.key(), attempt + 1, e.getMessage());
+                    throw new LockContentionException(
+                            "The resource is busy, please retry shortly (" + site.key() + ")");
+                }
+                meterRegistry.counter("lock.retries", "site", site.key()).increment();
+                long backoff = policy.backoffMillis(attempt);
+                logger.debug("Lock failure on {} (attempt {}), retrying in {} ms", site.key(), attempt + 1, backoff);
+                sleep(backoff);
+            }
+        }
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LockContentionException("Interrupted while waiting to retry a lock");
+        }
+    }
+}
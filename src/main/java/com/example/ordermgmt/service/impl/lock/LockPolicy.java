@@ -0,0 +1,37 @@
+package com.example.ordermgmt.service.impl.lock;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * How one call site acquires its row locks.
+ *
+ * @param mode         how the site's primary lock is taken
+ * @param timeoutMs    lock_timeout for every other lock wait in the same
+ *                     transaction (all modes except WAIT)
+ * @param maxRetries   retries of the whole unit of work after a lock failure
+ * @param backoffMs    base of the exponential backoff between retries
+ * @param maxBackoffMs cap of the backoff
+ */
+public record LockPolicy(Mode mode, long timeoutMs, int maxRetries, long backoffMs, long maxBackoffMs) {
+
+    public enum Mode {
+        /** Plain SELECT ... FOR UPDATE, waits as long as it takes */
+        WAIT,
+        /** SELECT ... FOR UPDATE bounded by lock_timeout */
+        TIMEOUT,
+        /** SELECT ... FOR UPDATE NOWAIT: fails at once if the row is held */
+        NOWAIT,
+        /** SELECT ... FOR UPDATE SKIP LOCKED: a held row is treated as absent */
+        SKIP_LOCKED
+    }
+
+    /**
+     * Full-jitter exponential backoff: a uniform pick between 0 and
+     * min(maxBackoffMs, backoffMs * 2^attempt), so retrying callers spread out
+     * instead of colliding again on the same row.
+     */
+    public long backoffMillis(int attempt) {
+        long ceiling = Math.min(maxBackoffMs, backoffMs << Math.min(attempt, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+}
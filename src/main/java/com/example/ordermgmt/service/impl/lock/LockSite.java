@@ -0,0 +1,31 @@
+package com.example.ordermgmt.service.impl.lock;
+
+/**
+ * Call sites that take row locks on hot rows, each with its own
+ * {@link LockPolicy} under {@code app.lock.<key>.*}. The defaults keep
+ * interactive paths waiting a little, admin bulk updates failing fast and the
+ * auto-cancel scheduler skipping whatever someone else is holding.
+ */
+public enum LockSite {
+
+    ORDER_PLACEMENT("order-placement", new LockPolicy(LockPolicy.Mode.TIMEOUT, 2000, 2, 20, 500)),
+    ORDER_CANCEL("order-cancel", new LockPolicy(LockPolicy.Mode.TIMEOUT, 2000, 2, 20, 500)),
+    STATUS_UPDATE("status-update", new LockPolicy(LockPolicy.Mode.TIMEOUT, 500, 3, 20, 500)),
+    AUTO_CANCEL("auto-cancel", new LockPolicy(LockPolicy.Mode.SKIP_LOCKED, 1000, 0, 20, 500));
+
+    private final String key;
+    private final LockPolicy defaultPolicy;
+
+    LockSite(String key, LockPolicy defaultPolicy) {
+        this.key = key;
+        this.defaultPolicy = defaultPolicy;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public LockPolicy defaultPolicy() {
+        return defaultPolicy;
+    }
+}
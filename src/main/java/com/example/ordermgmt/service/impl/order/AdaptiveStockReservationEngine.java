@@ -0,0 +1,147 @@
+package com.example.ordermgmt.service.impl.order;
+
+import com.example.ordermgmt.entity.InventoryItem;
+import com.example.ordermgmt.exception.InsufficientStockException;
+import com.example.ordermgmt.repository.InventoryItemRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reservation engine that picks optimistic or pessimistic concurrency control
+ * per item. Items that rarely conflict are reserved with a version-checked
+ * UPDATE (read version, update where the version still matches), retried a
+ * bounded number of times; no row lock is taken up front. Once an item's
+ * conflict rate crosses the hot threshold ({@link InventoryContentionTracker})
+ * it is reserved under SELECT ... FOR UPDATE instead, until it cools down.
+ *
+ * An optimistic reservation that runs out of retries falls back to the locked
+ * path for that call, so contention never surfaces as a spurious rejection.
+ * Both paths finish with a guarded UPDATE, and lines are reserved in itemId
+ * order as on the pessimistic path, so row locks are still taken in a
+ * deterministic order. Releases and fulfilments are guarded UPDATEs, as in the
+ * conditional engine. The engine only exists when
+ * {@code app.inventory.reservation-engine=adaptive}.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.inventory.reservation-engine", havingValue = AdaptiveStockReservationEngine.NAME)
+public class AdaptiveStockReservationEngine implements StockReservationEngine {
+
+    public static final String NAME = "adaptive";
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveStockReservationEngine.class);
+
+    private final InventoryItemRepository inventoryRepository;
+    private final ConditionalStockReservationEngine conditionalEngine;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.inventory.adaptive.max-retries:3}")
+    private int maxRetries;
+
+    @Value("${app.inventory.adaptive.hot-threshold:0.2}")
+    private double hotThreshold;
+
+    @Value("${app.inventory.adaptive.cool-threshold:0.05}")
+    private double coolThreshold;
+
+    @Value("${app.inventory.adaptive.smoothing:0.1}")
+    private double smoothing;
+
+    @Value("${app.inventory.adaptive.contended-lock-ms:5}")
+    private long contendedLockMs;
+
+    private InventoryContentionTracker tracker;
+    private Counter retries;
+    private Counter retriesExhausted;
+
+    @PostConstruct
+    void init() {
+        tracker = new InventoryContentionTracker(smoothing, hotThreshold, coolThreshold, meterRegistry);
+        retries = meterRegistry.counter("inventory.adaptive.retries");
+        retriesExhausted = meterRegistry.counter("inventory.adaptive.retries.exhausted");
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    @Transactional
+    public void reserve(InventoryItem item, int quantity) {
+        UUID itemId = item.getItemId();
+        if (tracker.modeOf(itemId) == InventoryContentionTracker.Mode.PESSIMISTIC) {
+            reserveLocked(item, quantity);
+            return;
+        }
+        for (int attempt = 0; attempt <= maxRetries; attempt++) {
+            if (attempt > 0) {
+                retries.increment();
+            }
+            Long version = inventoryRepository.findVersion(itemId);
+            if (inventoryRepository.reserveStockIfVersion(itemId, quantity, version) == 1) {
+                tracker.record(itemId, false);
+                logger.debug("PENDING: Item {} reserved {} units optimistically (attempt {})",
+                        itemId, quantity, attempt + 1);
+                return;
+            }
+            int available = inventoryRepository.findAvailableStock(itemId);
+            if (available < quantity) {
+                throw insufficientStock(item, quantity, available);
+            }
+            // Stock was there, so the version moved under us: a concurrent writer won
+            tracker.record(itemId, true);
+        }
+        retriesExhausted.increment();
+        reserveLocked(item, quantity);
+    }
+
+    @Override
+    @Transactional
+    public void release(InventoryItem item, int quantity) {
+        conditionalEngine.release(item, quantity);
+    }
+
+    @Override
+    @Transactional
+    public void fulfil(InventoryItem item, int quantity) {
+        conditionalEngine.fulfil(item, quantity);
+    }
+
+    InventoryContentionTracker.Mode modeOf(UUID itemId) {
+        return tracker.modeOf(itemId);
+    }
+
+    private void reserveLocked(InventoryItem item, int quantity) {
+        UUID itemId = item.getItemId();
+        long start = System.nanoTime();
+        inventoryRepository.findAllByItemIdInForUpdate(List.of(itemId));
+        long waitedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        // A lock that had to be waited for is the pessimistic-mode conflict signal
+        tracker.record(itemId, waitedMs >= contendedLockMs);
+
+        // The managed entity is not refreshed by the locking read, so the guard decides
+        if (inventoryRepository.reserveStockIfAvailable(itemId, quantity) == 0) {
+            throw insufficientStock(item, quantity, inventoryRepository.findAvailableStock(itemId));
+        }
+        logger.debug("PENDING: Item {} reserved {} units under row lock", itemId, quantity);
+    }
+
+    private InsufficientStockException insufficientStock(InventoryItem item, int quantity, int available) {
+        return new InsufficientStockException("Insufficient stock for item: "
+                + item.getItemName() + " (ID: " + item.getItemId()
+                + "). Available: " + available + ", Requested: " + quantity);
+    }
+}
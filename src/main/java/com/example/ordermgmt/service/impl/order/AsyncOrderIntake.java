@@ -0,0 +1,357 @@
+package com.example.ordermgmt.service.impl.order;
+
+import com.example.ordermgmt.dto.OrderAcceptanceDTO;
+import com.example.ordermgmt.dto.OrderDTO;
+import com.example.ordermgmt.exception.LockContentionException;
+import com.example.ordermgmt.exception.ResourceNotFoundException;
+import com.example.ordermgmt.exception.ServiceOverloadedException;
+import com.example.ordermgmt.security.TenantContextHolder;
+import com.example.ordermgmt.security.UserPrincipal;
+import com.example.ordermgmt.service.OrderService;
+import com.example.ordermgmt.service.impl.lock.LockAcquisitionPolicies;
+import com.example.ordermgmt.service.impl.lock.LockSite;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous order acceptance ({@code Prefer: respond-async} on
+ * {@code POST /api/customer/orders}). An accepted order is appended to the
+ * local {@link OrderIntakeJournal} and answered with 202 and an order token as
+ * soon as the journal's group fsync made it durable, so accept latency does
+ * not depend on the database.
+ *
+ * A fixed pool of workers drains the accepted orders into
+ * {@link OrderService#createAcceptedOrder}, so the database sees at most
+ * {@code app.order.async.workers} placements at a time however large the
+ * burst. Lock give-ups and database outages are retried with exponential
+ * backoff; any other error settles the order as FAILED. Each outcome is
+ * written to Redis for {@code status-ttl-hours}, where the status endpoint of
+ * any node finds it; a placed order is also found by its token in ORDERS.
+ *
+ * On startup the journal is replayed and every accepted order that was not
+ * settled is drained again. The token is stored on the order under a unique
+ * index, so an order that was placed just before a crash is not placed twice.
+ * Only active when {@code app.order.async.enabled=true}.
+ */
+@Service
+public class AsyncOrderIntake {
+
+    public static final String STATUS_KEY_PREFIX = "order:accepted:";
+    public static final String ACCEPTED = "ACCEPTED";
+    public static final String PLACED = "PLACED";
+    public static final String FAILED = "FAILED";
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncOrderIntake.class);
+
+    private final OrderService orderService;
+    private final LockAcquisitionPolicies lockPolicies;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.order.async.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.order.async.journal-dir:data/intake-journal}")
+    private String journalDir;
+
+    @Value("${app.order.async.segment-bytes:67108864}")
+    private int segmentBytes;
+
+    @Value("${app.order.async.workers:4}")
+    private int workers;
+
+    @Value("${app.order.async.max-backlog:50000}")
+    private int maxBacklog;
+
+    @Value("${app.order.async.retry-backoff-ms:200}")
+    private long retryBackoffMs;
+
+    @Value("${app.order.async.max-backoff-ms:10000}")
+    private long maxBackoffMs;
+
+    @Value("${app.order.async.status-ttl-hours:24}")
+    private long statusTtlHours;
+
+    @Value("${app.order.async.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
+    private OrderIntakeJournal journal;
+    private final BlockingQueue<AcceptedOrder> queue = new LinkedBlockingQueue<>();
+    private final Map<UUID, AcceptedOrder> inFlight = new ConcurrentHashMap<>();
+    private final List<Thread> workerThreads = new ArrayList<>();
+    private volatile boolean running;
+
+    private Timer acceptLatency;
+    private Counter acceptedOrders;
+    private Counter rejectedOrders;
+    private Counter placedOrders;
+    private Counter failedOrders;
+    private Counter retries;
+
+    public AsyncOrderIntake(OrderService orderService, LockAcquisitionPolicies lockPolicies,
+            StringRedisTemplate redisTemplate, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.orderService = orderService;
+        this.lockPolicies = lockPolicies;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        start(new OrderIntakeJournal(Path.of(journalDir), segmentBytes));
+    }
+
+    void start(OrderIntakeJournal intakeJournal) {
+        acceptLatency = Timer.builder("order.async.accept.latency")
+                .description("Time to accept an order, journal fsync included")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        acceptedOrders = meterRegistry.counter("order.async.orders", "outcome", "accepted");
+        rejectedOrders = meterRegistry.counter("order.async.orders", "outcome", "rejected");
+        placedOrders = meterRegistry.counter("order.async.orders", "outcome", "placed");
+        failedOrders = meterRegistry.counter("order.async.orders", "outcome", "failed");
+        retries = meterRegistry.counter("order.async.retries");
+
+        journal = intakeJournal;
+        for (OrderIntakeJournal.Entry entry : journal.open()) {
+            try {
+                AcceptedOrder accepted = objectMapper.readValue(entry.payload(), AcceptedOrder.class);
+                inFlight.put(accepted.token(), accepted);
+                queue.add(accepted);
+            } catch (IOException e) {
+                logger.error("Dropping unreadable accepted order {} from the intake journal", entry.token(), e);
+                journal.markDone(entry.token());
+            }
+        }
+        Gauge.builder("order.async.backlog", journal, OrderIntakeJournal::unsettled)
+                .description("Accepted orders not yet placed or failed")
+                .register(meterRegistry);
+        Gauge.builder("order.async.journal.segments", journal, OrderIntakeJournal::segments)
+                .description("Intake journal segment files on disk")
+                .register(meterRegistry);
+
+        running = true;
+        for (int i = 0; i < workers; i++) {
+            Thread worker = new Thread(this::drain, "order-async-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workerThreads.add(worker);
+        }
+        logger.info("Asynchronous order acceptance enabled: {} workers, {} orders replayed", workers, queue.size());
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        // Orders still queued stay in the journal and are replayed on the next start
+        running = false;
+        for (Thread worker : workerThreads) {
+            worker.join(TimeUnit.SECONDS.toMillis(30));
+        }
+        journal.close();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Journal the order and return its token once the journal entry is durable.
+     */
+    public OrderAcceptanceDTO accept(OrderDTO request, String email) {
+        if (journal.unsettled() >= maxBacklog) {
+            rejectedOrders.increment();
+            throw new ServiceOverloadedException(
+                    "Too many accepted orders are waiting to be placed, please retry", retryAfterSeconds);
+        }
+        UserPrincipal principal = UserPrincipal.current().orElse(null);
+        AcceptedOrder accepted = new AcceptedOrder(UUID.randomUUID(), TenantContextHolder.getTenantId(), email,
+                principal != null ? principal.role() : null,
+                principal != null ? principal.orgId() : null,
+                principal != null ? principal.userId() : null,
+                principal != null ? principal.customerId() : null,
+                LocalDateTime.now(), request);
+        byte[] payload;
+        try {
+            payload = objectMapper.writeValueAsBytes(accepted);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize accepted order", e);
+        }
+
+        acceptLatency.record(() -> journal.append(accepted.token(), payload));
+        acceptedOrders.increment();
+
+        OrderAcceptanceDTO status = new OrderAcceptanceDTO(accepted.token(), ACCEPTED,
+                accepted.acceptedTimestamp(), null, null);
+        // Before queueing, so a worker's outcome is never overwritten by ACCEPTED
+        writeStatus(accepted, status);
+        inFlight.put(accepted.token(), accepted);
+        queue.add(accepted);
+        return status;
+    }
+
+    /**
+     * Outcome of an accepted order, looked up in Redis, then among the orders
+     * this node still holds, then in ORDERS.
+     */
+    public OrderAcceptanceDTO getStatus(UUID orderToken, String email) {
+        try {
+            String stored = redisTemplate.opsForValue()
+                    .get(statusKey(TenantContextHolder.getTenantId(), email, orderToken));
+            if (stored != null) {
+                return objectMapper.readValue(stored, OrderAcceptanceDTO.class);
+            }
+        } catch (DataAccessException | IOException e) {
+            logger.warn("Accepted order status unavailable for token {}: {}", orderToken, e.getMessage());
+        }
+        AcceptedOrder local = inFlight.get(orderToken);
+        if (local != null && local.email().equalsIgnoreCase(email)) {
+            return new OrderAcceptanceDTO(orderToken, ACCEPTED, local.acceptedTimestamp(), null, null);
+        }
+        return orderService.findAcceptedOrder(orderToken, email)
+                .map(order -> new OrderAcceptanceDTO(orderToken, PLACED, null, order, null))
+                .orElseThrow(() -> new ResourceNotFoundException("No accepted order found for token: " + orderToken));
+    }
+
+    private void drain() {
+        while (running) {
+            AcceptedOrder accepted;
+            try {
+                accepted = queue.poll(500, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (accepted != null) {
+                settle(accepted);
+            }
+        }
+    }
+
+    void settle(AcceptedOrder accepted) {
+        useContext(accepted);
+        try {
+            long backoff = retryBackoffMs;
+            while (true) {
+                try {
+                    OrderDTO order = lockPolicies.withRetry(LockSite.ORDER_PLACEMENT,
+                            () -> orderService.createAcceptedOrder(accepted.token(), accepted.request(),
+                                    accepted.email()));
+                    placedOrders.increment();
+                    finish(accepted, new OrderAcceptanceDTO(accepted.token(), PLACED,
+                            accepted.acceptedTimestamp(), order, null));
+                    return;
+                } catch (RuntimeException e) {
+                    if (!isTransient(e)) {
+                        logger.warn("Accepted order {} failed: {}", accepted.token(), e.getMessage());
+                        failedOrders.increment();
+                        finish(accepted, new OrderAcceptanceDTO(accepted.token(), FAILED,
+                                accepted.acceptedTimestamp(), null, e.getMessage()));
+                        return;
+                    }
+                    if (!running) {
+                        return;
+                    }
+                    retries.increment();
+                    logger.warn("Accepted order {} not placed yet, retrying in {} ms: {}", accepted.token(),
+                            backoff, e.getMessage());
+                    TimeUnit.MILLISECONDS.sleep(backoff);
+                    backoff = Math.min(backoff * 2, maxBackoffMs);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            TenantContextHolder.clear();
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private void finish(AcceptedOrder accepted, OrderAcceptanceDTO outcome) {
+        writeStatus(accepted, outcome);
+        inFlight.remove(accepted.token());
+        journal.markDone(accepted.token());
+    }
+
+    private void writeStatus(AcceptedOrder accepted, OrderAcceptanceDTO status) {
+        try {
+            redisTemplate.opsForValue().set(statusKey(accepted.tenantId(), accepted.email(), accepted.token()),
+                    objectMapper.writeValueAsString(status), Duration.ofHours(statusTtlHours));
+        } catch (DataAccessException | JsonProcessingException e) {
+            logger.warn("Could not store status {} of accepted order {}: {}", status.getStatus(),
+                    accepted.token(), e.getMessage());
+        }
+    }
+
+    private static boolean isTransient(RuntimeException e) {
+        return e instanceof LockContentionException
+                || e instanceof ServiceOverloadedException
+                || e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof CannotCreateTransactionException;
+    }
+
+    // Placement runs under the accepting request's tenant and principal, as it would have synchronously
+    private void useContext(AcceptedOrder accepted) {
+        if (accepted.tenantId() != null) {
+            TenantContextHolder.setTenantId(accepted.tenantId());
+        } else {
+            TenantContextHolder.clear();
+        }
+        UserPrincipal principal = new UserPrincipal(accepted.email(), accepted.role(), accepted.orgId(),
+                accepted.userId(), accepted.customerId());
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(new UsernamePasswordAuthenticationToken(principal, null,
+                accepted.role() != null ? List.of(new SimpleGrantedAuthority(accepted.role())) : List.of()));
+        SecurityContextHolder.setContext(context);
+    }
+
+    private static String statusKey(UUID tenantId, String email, UUID token) {
+        return STATUS_KEY_PREFIX + tenantId + ":" + email + ":" + token;
+    }
+
+    record AcceptedOrder(UUID token, UUID tenantId, String email, String role, UUID orgId, UUID userId,
+            UUID customerId, LocalDateTime acceptedTimestamp, OrderDTO request) {
+    }
+}
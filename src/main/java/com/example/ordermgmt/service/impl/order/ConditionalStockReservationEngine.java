@@ -0,0 +1,72 @@
+package com.example.ordermgmt.service.impl.order;
+
+import com.example.ordermgmt.entity.InventoryItem;
+import com.example.ordermgmt.exception.InsufficientStockException;
+import com.example.ordermgmt.exception.InvalidOperationException;
+import com.example.ordermgmt.repository.InventoryItemRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Lock-free reservation engine: each stock move is one guarded UPDATE and the
+ * affected-row count decides the outcome, so no SELECT ... FOR UPDATE is taken
+ * and no read-modify-write happens in Java.
+ */
+@Service
+@RequiredArgsConstructor
+public class ConditionalStockReservationEngine implements StockReservationEngine {
+
+    public static final String NAME = "conditional";
+
+    private static final Logger logger = LoggerFactory.getLogger(ConditionalStockReservationEngine.class);
+
+    private final InventoryItemRepository inventoryRepository;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    @Transactional
+    public void reserve(InventoryItem item, int quantity) {
+        int updated = inventoryRepository.reserveStockIfAvailable(item.getItemId(), quantity);
+        if (updated == 0) {
+            // The stale in-memory value is only used for the message; the guard already decided
+            throw new InsufficientStockException("Insufficient stock for item: "
+                    + item.getItemName() + " (ID: " + item.getItemId()
+                    + "). Available: " + item.getAvailableStock() + ", Requested: " + quantity);
+        }
+        logger.debug("PENDING: Item {} reserved {} units via conditional update", item.getItemId(), quantity);
+    }
+
+    @Override
+    @Transactional
+    public void release(InventoryItem item, int quantity) {
+        int updated = inventoryRepository.releaseReservedStockIfReserved(item.getItemId(), quantity);
+        if (updated == 0) {
+            throw stockInconsistency(item, quantity);
+        }
+        logger.debug("CANCELLED: Item {} released {} units via conditional update", item.getItemId(), quantity);
+    }
+
+    @Override
+    @Transactional
+    public void fulfil(InventoryItem item, int quantity) {
+        int updated = inventoryRepository.fulfilReservedStockIfReserved(item.getItemId(), quantity);
+        if (updated == 0) {
+            throw stockInconsistency(item, quantity);
+        }
+        logger.debug("DELIVERED: Item {} fulfilled {} units via conditional update", item.getItemId(), quantity);
+    }
+
+    private InvalidOperationException stockInconsistency(InventoryItem item, int quantity) {
+        return new InvalidOperationException(
+                "Stock inconsistency for item " + item.getItemId()
+                        + ": cannot release " + quantity
+                        + " units, only " + item.getReservedStock() + " reserved");
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.ordermgmt.service.impl.order;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Redis side of flash-sale mode: live per-item counters plus the pending
+ * deltas the reconciler still has to write back to INVENTORY_ITEM.
+ * Every mutation is a single Lua script, so the guard and the update are atomic.
+ */
+@Component
+@RequiredArgsConstructor
+public class FlashSaleCounters {
+
+    public static final String STOCK_KEY_PREFIX = "flash:stock:";
+    public static final String PENDING_DELTAS_KEY = "flash:pending";
+
+    static final String AVAILABLE = "available";
+    static final String RESERVED = "reserved";
+
+    static final long APPLIED = 1L;
+    static final long REJECTED = 0L;
+    static final long MISSING = -1L;
+
+    private static final String AVAILABLE_SUFFIX = ":a";
+    private static final String RESERVED_SUFFIX = ":r";
+
+    private static final RedisScript<Long> MOVE_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/flash-stock-move.lua"), Long.class);
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> DRAIN_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/flash-drain.lua"), List.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * Apply a stock move to the live counters.
+     *
+     * @param recordPending whether the reconciler must later apply the same deltas to Postgres
+     * @param guardField    counter that must hold at least {@code guardMinimum}, or {@code null}
+     * @return {@link #APPLIED}, {@link #REJECTED} or {@link #MISSING}
+     */
+    public long move(UUID itemId, int availableDelta, int reservedDelta, boolean recordPending,
+            String guardField, int guardMinimum) {
+        Long result = redisTemplate.execute(MOVE_SCRIPT,
+                List.of(stockKey(itemId), PENDING_DELTAS_KEY),
+                itemId.toString(),
+                String.valueOf(availableDelta),
+                String.valueOf(reservedDelta),
+                recordPending ? "1" : "0",
+                guardField != null ? guardField : "",
+                String.valueOf(guardMinimum));
+        return result != null ? result : MISSING;
+    }
+
+    /**
+     * Atomically take the pending deltas of one item, or of every item when {@code itemId} is null.
+     *
+     * @return itemId -> {availableDelta, reservedDelta}, sorted by itemId
+     */
+    public Map<UUID, int[]> drain(UUID itemId) {
+        List<?> entries = redisTemplate.execute(DRAIN_SCRIPT,
+                List.of(PENDING_DELTAS_KEY),
+                itemId != null ? itemId.toString() : "");
+
+        Map<UUID, int[]> deltas = new TreeMap<>();
+        if (entries == null) {
+            return deltas;
+        }
+        for (int i = 0; i + 1 < entries.size(); i += 2) {
+            String field = String.valueOf(entries.get(i));
+            int value = Integer.parseInt(String.valueOf(entries.get(i + 1)));
+            UUID id = UUID.fromString(field.substring(0, field.lastIndexOf(':')));
+            int[] delta = deltas.computeIfAbsent(id, k -> new int[2]);
+            if (field.endsWith(AVAILABLE_SUFFIX)) {
+                delta[0] += value;
+            } else {
+                delta[1] += value;
+            }
+        }
+        deltas.values().removeIf(delta -> delta[0] == 0 && delta[1] == 0);
+        return deltas;
+    }
+
+    /**
+     * Put drained deltas back, e.g. when the transaction that was applying them rolled back.
+     */
+    public void restorePending(Map<UUID, int[]> deltas) {
+        deltas.forEach((itemId, delta) -> {
+            redisTemplate.opsForHash().increment(PENDING_DELTAS_KEY, itemId + AVAILABLE_SUFFIX, delta[0]);
+            redisTemplate.opsForHash().increment(PENDING_DELTAS_KEY, itemId + RESERVED_SUFFIX, delta[1]);
+        });
+    }
+
+    public void write(UUID itemId, int available, int reserved) {
+        Map<String, String> counters = new HashMap<>();
+        counters.put(AVAILABLE, String.valueOf(available));
+        counters.put(RESERVED, String.valueOf(reserved));
+        redisTemplate.opsForHash().putAll(stockKey(itemId), counters);
+    }
+
+    public boolean exists(UUID itemId) {
+        return Boolean.TRUE.equals(redisTemplate.hasKey(stockKey(itemId)));
+    }
+
+    /**
+     * @return {available, reserved}, or null when the counters are missing
+     */
+    public int[] read(UUID itemId) {
+        List<Object> values = redisTemplate.opsForHash().multiGet(stockKey(itemId),
+                List.<Object>of(AVAILABLE, RESERVED));
+        if (values == null || values.get(0) == null || values.get(1) == null) {
+            return null;
+        }
+        return new int[] { Integer.parseInt(values.get(0).toString()), Integer.parseInt(values.get(1).toString()) };
+    }
+
+    public void delete(UUID itemId) {
+        redisTemplate.delete(stockKey(itemId));
+    }
+
+    static String stockKey(UUID itemId) {
+        return STOCK_KEY_PREFIX + itemId;
+    }
+}
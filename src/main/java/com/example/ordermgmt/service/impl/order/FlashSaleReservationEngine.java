@@ -0,0 +1,123 @@
+package com.example.ordermgmt.service.impl.order;
+
+import com.example.ordermgmt.entity.InventoryItem;
+import com.example.ordermgmt.exception.InsufficientStockException;
+import com.example.ordermgmt.exception.InvalidOperationException;
+import com.example.ordermgmt.repository.InventoryItemRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+/**
+ * Reservation engine for items in flash-sale mode ({@code INVENTORY_ITEM.flashsale}).
+ *
+ * Reserve and release run as one Lua script against the Redis counters and
+ * record the same deltas for {@link FlashSaleStockReconciler}; Postgres is not
+ * touched on the hot path. Fulfilment changes the physical total, so it first
+ * writes the item's pending deltas back and then updates Postgres synchronously.
+ * Every Redis move is compensated if the surrounding transaction rolls back.
+ */
+@Service
+@RequiredArgsConstructor
+public class FlashSaleReservationEngine implements StockReservationEngine {
+
+    public static final String NAME = "flash";
+
+    private static final Logger logger = LoggerFactory.getLogger(FlashSaleReservationEngine.class);
+
+    private final FlashSaleCounters counters;
+    private final FlashSaleStockReconciler reconciler;
+    private final InventoryItemRepository inventoryRepository;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    @Transactional
+    public void reserve(InventoryItem item, int quantity) {
+        UUID itemId = item.getItemId();
+        long result = moveOrInitialise(itemId, -quantity, quantity, true, FlashSaleCounters.AVAILABLE, quantity);
+        if (result == FlashSaleCounters.REJECTED) {
+            int[] live = counters.read(itemId);
+            throw new InsufficientStockException("Insufficient stock for item: "
+                    + item.getItemName() + " (ID: " + itemId
+                    + "). Available: " + (live != null ? live[0] : 0) + ", Requested: " + quantity);
+        }
+        compensateOnRollback(itemId, quantity, -quantity, true);
+        logger.debug("PENDING: Flash-sale item {} reserved {} units in Redis", itemId, quantity);
+    }
+
+    @Override
+    @Transactional
+    public void release(InventoryItem item, int quantity) {
+        UUID itemId = item.getItemId();
+        long result = moveOrInitialise(itemId, quantity, -quantity, true, FlashSaleCounters.RESERVED, quantity);
+        if (result == FlashSaleCounters.REJECTED) {
+            throw stockInconsistency(itemId, quantity);
+        }
+        compensateOnRollback(itemId, -quantity, quantity, true);
+        logger.debug("CANCELLED: Flash-sale item {} released {} units in Redis", itemId, quantity);
+    }
+
+    @Override
+    @Transactional
+    public void fulfil(InventoryItem item, int quantity) {
+        UUID itemId = item.getItemId();
+        long result = moveOrInitialise(itemId, 0, -quantity, false, FlashSaleCounters.RESERVED, quantity);
+        if (result == FlashSaleCounters.REJECTED) {
+            throw stockInconsistency(itemId, quantity);
+        }
+        compensateOnRollback(itemId, 0, quantity, false);
+
+        // Bring the row up to date first so the guarded statement sees this order's reservation
+        reconciler.reconcileItem(itemId);
+        if (inventoryRepository.fulfilReservedStockIfReserved(itemId, quantity) == 0) {
+            throw stockInconsistency(itemId, quantity);
+        }
+        logger.debug("DELIVERED: Flash-sale item {} fulfilled {} units", itemId, quantity);
+    }
+
+    private long moveOrInitialise(UUID itemId, int availableDelta, int reservedDelta, boolean recordPending,
+            String guardField, int guardMinimum) {
+        long result = counters.move(itemId, availableDelta, reservedDelta, recordPending, guardField, guardMinimum);
+        if (result == FlashSaleCounters.MISSING) {
+            logger.warn("Flash-sale counters missing for Item: {} — rebuilding from ORDER_ITEM", itemId);
+            reconciler.initialiseCountersIfMissing(itemId);
+            result = counters.move(itemId, availableDelta, reservedDelta, recordPending, guardField, guardMinimum);
+        }
+        if (result == FlashSaleCounters.MISSING) {
+            throw new IllegalStateException("Flash-sale counters unavailable for item " + itemId);
+        }
+        return result;
+    }
+
+    private void compensateOnRollback(UUID itemId, int availableDelta, int reservedDelta, boolean recordPending) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    counters.move(itemId, availableDelta, reservedDelta, recordPending, null, 0);
+                }
+            }
+        });
+    }
+
+    private InvalidOperationException stockInconsistency(UUID itemId, int quantity) {
+        int[] live = counters.read(itemId);
+        return new InvalidOperationException(
+                "Stock inconsistency for item " + itemId
+                        + ": cannot release " + quantity
+                        + " units, only " + (live != null ? live[1] : 0) + " reserved");
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.ordermgmt.service.impl.order;
+
+import com.example.ordermgmt.entity.InventoryItem;
+import com.example.ordermgmt.enums.OrderStatus;
+import com.example.ordermgmt.exception.ResourceNotFoundException;
+import com.example.ordermgmt.repository.InventoryItemRepository;
+import com.example.ordermgmt.repository.OrderItemRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keeps INVENTORY_ITEM and the Redis flash-sale counters in step.
+ *
+ * Reservations and releases only move units between available and reserved, so
+ * {@code availablestock + reservedstock} in Postgres stays exact even while their
+ * deltas are still pending in Redis; fulfilment (the only move that changes the
+ * total) is written to Postgres synchronously. That makes the counters
+ * recoverable at any time: reserved = units held by open orders in ORDER_ITEM,
+ * available = total - reserved.
+ */
+@Service
+@RequiredArgsConstructor
+public class FlashSaleStockReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlashSaleStockReconciler.class);
+
+    // Order statuses whose lines still hold a reservation
+    static final List<String> HOLDING_STATUSES = List.of(
+            OrderStatus.PENDING.name(),
+            OrderStatus.CONFIRMED.name(),
+            OrderStatus.PROCESSING.name(),
+            OrderStatus.SHIPPED.name());
+
+    private final FlashSaleCounters counters;
+    private final InventoryItemRepository inventoryRepository;
+    private final OrderItemRepository orderItemRepository;
+
+    /**
+     * Drain every pending delta and apply it to INVENTORY_ITEM in one transaction.
+     *
+     * @return number of items updated
+     */
+    @Transactional
+    public int reconcile() {
+        Map<UUID, int[]> deltas = counters.drain(null);
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+        applyDeltas(deltas);
+        logger.debug("Reconciled flash-sale deltas for {} items", deltas.size());
+        return deltas.size();
+    }
+
+    /**
+     * Apply the pending deltas of a single item inside the caller's transaction.
+     */
+    @Transactional
+    public void reconcileItem(UUID itemId) {
+        Map<UUID, int[]> deltas = counters.drain(itemId);
+        if (!deltas.isEmpty()) {
+            applyDeltas(deltas);
+        }
+    }
+
+    /**
+     * Recompute the counters of a flash-sale item from INVENTORY_ITEM and ORDER_ITEM
+     * and write them to both stores. Used when enabling flash mode and for recovery.
+     */
+    @Transactional
+    public void rebuildCounters(UUID itemId) {
+        rebuild(itemId, false);
+    }
+
+    /**
+     * Rebuild the counters only if they are missing (first use or Redis data loss).
+     * The row lock serializes concurrent callers, so only the first one rebuilds.
+     */
+    @Transactional
+    public void initialiseCountersIfMissing(UUID itemId) {
+        rebuild(itemId, true);
+    }
+
+    /**
+     * Startup recovery: rebuild counters for every flash-sale item that has none.
+     *
+     * @return number of items rebuilt
+     */
+    @Transactional
+    public int recoverMissingCounters() {
+        logger.info("Processing recoverMissingCounters for flash-sale items");
+        int rebuilt = 0;
+        for (InventoryItem item : inventoryRepository.findByFlashSaleTrue()) {
+            if (!counters.exists(item.getItemId())) {
+                rebuild(item.getItemId(), false);
+                rebuilt++;
+            }
+        }
+        logger.info("recoverMissingCounters completed successfully: rebuilt {} items", rebuilt);
+        return rebuilt;
+    }
+
+    /**
+     * Write back what is pending for the item and drop its counters (flash mode switched off).
+     */
+    @Transactional
+    public void removeCounters(UUID itemId) {
+        reconcileItem(itemId);
+        counters.delete(itemId);
+    }
+
+    /**
+     * Mirror a committed restock into the live counters. Missing counters are left
+     * alone: they are rebuilt from Postgres on first use.
+     */
+    public void addAvailableAfterCommit(UUID itemId, int quantity) {
+        Runnable apply = () -> counters.move(itemId, quantity, 0, false, null, 0);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply.run();
+            }
+        });
+    }
+
+    private void rebuild(UUID itemId, boolean onlyIfMissing) {
+        // The lock serializes rebuilds with each other and with restocks of the same item
+        if (inventoryRepository.findAllByItemIdInForUpdate(List.of(itemId)).isEmpty()) {
+            throw new ResourceNotFoundException("Inventory Item not found with ID: " + itemId);
+        }
+
+        if (onlyIfMissing && counters.exists(itemId)) {
+            return;
+        }
+
+        // Pending reserve/release deltas never change the total, so they can be dropped;
+        // they go back to Redis if this transaction rolls back
+        Map<UUID, int[]> discarded = counters.drain(itemId);
+        restoreOnRollback(discarded);
+
+        // Read and write through scalar/bulk statements: the row may already be managed with stale state
+        int total = inventoryRepository.findTotalStock(itemId);
+        int reserved = orderItemRepository.sumQuantityByItemAndStatusNames(itemId, HOLDING_STATUSES).intValue();
+        int available = total - reserved;
+        if (available < 0) {
+            logger.error("Flash-sale item {} is oversold: {} units held by open orders, only {} in stock",
+                    itemId, reserved, total);
+            available = 0;
+        }
+
+        inventoryRepository.overwriteStockLevels(itemId, available, reserved);
+        counters.write(itemId, available, reserved);
+        logger.info("Flash-sale counters rebuilt for Item: {} — available: {}, reserved: {}",
+                itemId, available, reserved);
+    }
+
+    private void applyDeltas(Map<UUID, int[]> deltas) {
+        restoreOnRollback(deltas);
+        // Map is sorted by itemId, so row locks are taken in the same order as order placement
+        deltas.forEach((itemId, delta) -> inventoryRepository.applyStockDelta(itemId, delta[0], delta[1]));
+    }
+
+    private void restoreOnRollback(Map<UUID, int[]> deltas) {
+        if (deltas.isEmpty() || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    logger.warn("Reconciliation rolled back — returning deltas for {} items to Redis", deltas.size());
+                    counters.restorePending(deltas);
+                }
+            }
+        });
+    }
+}
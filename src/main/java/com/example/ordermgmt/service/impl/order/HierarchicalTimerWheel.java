@@ -0,0 +1,105 @@
+package com.example.ordermgmt.service.impl.order;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel. Level 0 has one slot per tick and each level above
+ * has 64 slots, each 64 times as wide as a slot of the level below, so four
+ * levels cover 64^4 ticks. A timer goes into the lowest level its delay fits in
+ * and moves down a level whenever its slot comes round, until it expires out of
+ * level 0. Scheduling and expiring cost O(1) per timer, however many are held.
+ *
+ * Not thread-safe; callers serialize access.
+ */
+final class HierarchicalTimerWheel<T> {
+
+    static final int SLOT_BITS = 6;
+    static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+
+    private record Timer<T>(T value, long deadlineTick) {
+    }
+
+    private final int levels;
+    // Ticks the top level reaches ahead; later timers are parked at its far end
+    private final long horizon;
+    private final List<ArrayDeque<Timer<T>>> slots;
+    private long currentTick;
+    private int size;
+
+    HierarchicalTimerWheel(int levels, long startTick) {
+        this.levels = levels;
+        this.horizon = 1L << (SLOT_BITS * levels);
+        this.slots = new ArrayList<>(levels * SLOTS);
+        for (int i = 0; i < levels * SLOTS; i++) {
+            slots.add(new ArrayDeque<>());
+        }
+        this.currentTick = startTick;
+    }
+
+    /**
+     * Schedule a timer to expire at deadlineTick. A deadline that is not after
+     * the current tick expires on the next one.
+     */
+    void schedule(T value, long deadlineTick) {
+        place(new Timer<>(value, Math.max(deadlineTick, currentTick + 1)));
+        size++;
+    }
+
+    /**
+     * Advance the wheel up to nowTick.
+     *
+     * @return the timers expired on the way, tick by tick
+     */
+    List<T> advance(long nowTick) {
+        List<T> expired = new ArrayList<>();
+        while (currentTick < nowTick) {
+            currentTick++;
+            cascade();
+            ArrayDeque<Timer<T>> due = slots.get((int) (currentTick & SLOT_MASK));
+            while (!due.isEmpty()) {
+                expired.add(due.poll().value());
+                size--;
+            }
+        }
+        return expired;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long currentTick() {
+        return currentTick;
+    }
+
+    private void place(Timer<T> timer) {
+        long tick = Math.min(timer.deadlineTick(), currentTick + horizon - 1);
+        long delay = tick - currentTick;
+        int level = 0;
+        while (level < levels - 1 && delay >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        int slot = (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+        slots.get(level * SLOTS + slot).add(timer);
+    }
+
+    // When a slot of a level comes round, its timers are spread over the levels below.
+    // Higher levels go first: they may refill the slot the level below is about to empty.
+    private void cascade() {
+        int top = 0;
+        while (top < levels - 1 && (currentTick & ((1L << (SLOT_BITS * (top + 1))) - 1)) == 0) {
+            top++;
+        }
+        for (int level = top; level >= 1; level--) {
+            int slot = (int) ((currentTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+            ArrayDeque<Timer<T>> bucket = slots.get(level * SLOTS + slot);
+            int count = bucket.size();
+            for (int i = 0; i < count; i++) {
+                place(bucket.poll());
+            }
+        }
+    }
+}
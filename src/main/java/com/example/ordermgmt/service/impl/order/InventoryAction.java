@@ -0,0 +1,17 @@
+package com.example.ordermgmt.service.impl.order;
+
+/**
+ * What a status transition does to the stock the order reserved at placement.
+ */
+public enum InventoryAction {
+    /** The reservation stays as it is. */
+    NONE,
+    /** Reserved stock goes back to available stock. */
+    RELEASE,
+    /** Reserved stock leaves the warehouse with the order. */
+    FULFIL;
+
+    public boolean movesStock() {
+        return this != NONE;
+    }
+}
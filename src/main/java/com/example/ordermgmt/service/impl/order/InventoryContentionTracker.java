@@ -0,0 +1,120 @@
+package com.example.ordermgmt.service.impl.order;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-item conflict-rate estimate for the adaptive engine. Every stock attempt
+ * is one sample: an optimistic update lost to a concurrent writer, or a row
+ * lock that had to be waited for, counts as a conflict. The rate is an
+ * exponentially weighted moving average and the mode flips with hysteresis:
+ * an item turns pessimistic above the hot threshold and back to optimistic
+ * once its rate has decayed below the cool threshold.
+ *
+ * Items are only tracked from their first conflict on, so the long tail of
+ * SKUs that never conflict costs no memory. Per-item meters are registered
+ * the first time an item turns pessimistic, which bounds them to the hot set.
+ */
+class InventoryContentionTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(InventoryContentionTracker.class);
+
+    enum Mode {
+        OPTIMISTIC, PESSIMISTIC
+    }
+
+    private final double smoothing;
+    private final double hotThreshold;
+    private final double coolThreshold;
+    private final MeterRegistry meterRegistry;
+    private final Map<UUID, ItemContention> items = new ConcurrentHashMap<>();
+    private final AtomicInteger pessimisticItems = new AtomicInteger();
+    private final Counter switchedToPessimistic;
+    private final Counter switchedToOptimistic;
+
+    InventoryContentionTracker(double smoothing, double hotThreshold, double coolThreshold,
+            MeterRegistry meterRegistry) {
+        this.smoothing = smoothing;
+        this.hotThreshold = hotThreshold;
+        this.coolThreshold = coolThreshold;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("inventory.adaptive.items.pessimistic", pessimisticItems, AtomicInteger::get)
+                .description("Items currently reserved under row locks")
+                .register(meterRegistry);
+        switchedToPessimistic = meterRegistry.counter("inventory.adaptive.mode.switches", "to", "pessimistic");
+        switchedToOptimistic = meterRegistry.counter("inventory.adaptive.mode.switches", "to", "optimistic");
+    }
+
+    Mode modeOf(UUID itemId) {
+        ItemContention contention = items.get(itemId);
+        return contention == null ? Mode.OPTIMISTIC : contention.mode;
+    }
+
+    double conflictRate(UUID itemId) {
+        ItemContention contention = items.get(itemId);
+        return contention == null ? 0.0 : contention.rate;
+    }
+
+    void record(UUID itemId, boolean conflict) {
+        ItemContention contention = conflict
+                ? items.computeIfAbsent(itemId, id -> new ItemContention())
+                : items.get(itemId);
+        if (contention == null) {
+            return;
+        }
+        synchronized (contention) {
+            contention.rate += smoothing * ((conflict ? 1.0 : 0.0) - contention.rate);
+            if (conflict) {
+                contention.conflicts++;
+            }
+            if (contention.mode == Mode.OPTIMISTIC && contention.rate >= hotThreshold) {
+                contention.mode = Mode.PESSIMISTIC;
+                pessimisticItems.incrementAndGet();
+                switchedToPessimistic.increment();
+                registerItemMeters(itemId, contention);
+                logger.info("Item {} switched to pessimistic locking (conflict rate {})", itemId,
+                        String.format("%.2f", contention.rate));
+            } else if (contention.mode == Mode.PESSIMISTIC && contention.rate <= coolThreshold) {
+                contention.mode = Mode.OPTIMISTIC;
+                pessimisticItems.decrementAndGet();
+                switchedToOptimistic.increment();
+                logger.info("Item {} cooled down, back to optimistic updates", itemId);
+            }
+        }
+    }
+
+    private void registerItemMeters(UUID itemId, ItemContention contention) {
+        if (contention.metered) {
+            return;
+        }
+        contention.metered = true;
+        String tag = itemId.toString();
+        Gauge.builder("inventory.adaptive.item.mode", contention, c -> c.mode == Mode.PESSIMISTIC ? 1 : 0)
+                .description("1 while the item is reserved under row locks, 0 while optimistic")
+                .tag("itemId", tag)
+                .register(meterRegistry);
+        Gauge.builder("inventory.adaptive.item.conflict.rate", contention, c -> c.rate)
+                .tag("itemId", tag)
+                .register(meterRegistry);
+        FunctionCounter.builder("inventory.adaptive.item.conflicts", contention, c -> c.conflicts)
+                .description("Lost optimistic attempts and contended lock waits")
+                .tag("itemId", tag)
+                .register(meterRegistry);
+    }
+
+    private static final class ItemContention {
+        private volatile Mode mode = Mode.OPTIMISTIC;
+        private volatile double rate;
+        private volatile long conflicts;
+        private boolean metered;
+    }
+}
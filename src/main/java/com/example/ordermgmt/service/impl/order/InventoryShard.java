@@ -0,0 +1,107 @@
+package com.example.ordermgmt.service.impl.order;
+
+import com.example.ordermgmt.exception.InvalidOperationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One single-writer inventory shard: a bounded queue drained by a dedicated
+ * thread. Whatever queued up while the previous batch was committing goes into
+ * the next one, so batches grow with load and no row lock is ever contended by
+ * two threads of this JVM.
+ */
+class InventoryShard {
+
+    private static final Logger logger = LoggerFactory.getLogger(InventoryShard.class);
+
+    private final int index;
+    private final BlockingQueue<Reservation> queue;
+    private final InventoryShardWriter writer;
+    private final int maxBatch;
+    private final Thread thread;
+
+    private volatile boolean running = true;
+
+    InventoryShard(int index, int queueCapacity, int maxBatch, InventoryShardWriter writer) {
+        this.index = index;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.writer = writer;
+        this.maxBatch = maxBatch;
+        this.thread = new Thread(this::drain, "inventory-shard-" + index);
+        this.thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    /**
+     * Queue a reservation for the next group commit. The future completes once
+     * that commit is durable, or exceptionally with the rejection.
+     */
+    CompletableFuture<Void> submit(Map<UUID, Integer> quantities, long timeoutMs) throws InterruptedException {
+        Reservation reservation = new Reservation(quantities, new CompletableFuture<>());
+        if (!running || !queue.offer(reservation, timeoutMs, TimeUnit.MILLISECONDS)) {
+            reservation.result().completeExceptionally(
+                    new InvalidOperationException("Inventory is busy, please retry"));
+        }
+        return reservation.result();
+    }
+
+    void stop() throws InterruptedException {
+        running = false;
+        thread.interrupt();
+        thread.join(TimeUnit.SECONDS.toMillis(10));
+        List<Reservation> abandoned = new ArrayList<>();
+        queue.drainTo(abandoned);
+        abandoned.forEach(r -> r.result().completeExceptionally(
+                new InvalidOperationException("Inventory is shutting down, please retry")));
+    }
+
+    private void drain() {
+        List<Reservation> batch = new ArrayList<>(maxBatch);
+        while (running) {
+            try {
+                batch.add(queue.take());
+                queue.drainTo(batch, maxBatch - 1);
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void commit(List<Reservation> batch) {
+        List<RuntimeException> outcomes;
+        try {
+            outcomes = writer.reserveBatch(batch.stream().map(Reservation::quantities).toList());
+        } catch (RuntimeException e) {
+            logger.error("Shard {} failed to commit a batch of {} reservations", index, batch.size(), e);
+            batch.forEach(r -> r.result().completeExceptionally(e));
+            return;
+        }
+        // Completed only after the commit, so waiting callers never see an undurable reservation
+        for (int i = 0; i < batch.size(); i++) {
+            if (outcomes.get(i) == null) {
+                batch.get(i).result().complete(null);
+            } else {
+                batch.get(i).result().completeExceptionally(outcomes.get(i));
+            }
+        }
+    }
+
+    private record Reservation(Map<UUID, Integer> quantities, CompletableFuture<Void> result) {
+    }
+}
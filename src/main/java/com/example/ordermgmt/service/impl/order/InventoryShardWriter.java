@@ -0,0 +1,96 @@
+package com.example.ordermgmt.service.impl.order;
+
+import com.example.ordermgmt.entity.InventoryItem;
+import com.example.ordermgmt.exception.InsufficientStockException;
+import com.example.ordermgmt.exception.InvalidOperationException;
+import com.example.ordermgmt.repository.InventoryItemRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Transactional side of {@link InventoryShard}: applies one drained micro-batch
+ * of reservations in a single transaction (group commit).
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.inventory.reservation-engine", havingValue = ShardedStockReservationEngine.NAME)
+public class InventoryShardWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(InventoryShardWriter.class);
+
+    private final InventoryItemRepository inventoryRepository;
+
+    /**
+     * Lock every item of the batch once, apply the requests in arrival order
+     * against the locked balances and let the flush write each touched row once.
+     * Each request is all or nothing; a rejected request does not affect the others.
+     *
+     * @return one entry per request: {@code null} if reserved, otherwise the rejection
+     */
+    @Transactional
+    public List<RuntimeException> reserveBatch(List<Map<UUID, Integer>> requests) {
+        List<UUID> itemIds = new ArrayList<>(requests.stream()
+                .flatMap(request -> request.keySet().stream())
+                .collect(Collectors.toCollection(TreeSet::new)));
+        Map<UUID, InventoryItem> locked = inventoryRepository.findAllByItemIdInForUpdate(itemIds).stream()
+                .collect(Collectors.toMap(InventoryItem::getItemId, Function.identity()));
+
+        List<RuntimeException> outcomes = new ArrayList<>(requests.size());
+        for (Map<UUID, Integer> request : requests) {
+            RuntimeException rejection = checkRequest(request, locked);
+            if (rejection == null) {
+                request.forEach((itemId, quantity) -> {
+                    InventoryItem item = locked.get(itemId);
+                    item.setAvailableStock(item.getAvailableStock() - quantity);
+                    item.setReservedStock(item.getReservedStock() + quantity);
+                });
+            }
+            outcomes.add(rejection);
+        }
+        logger.debug("Shard batch applied: {} requests over {} items", requests.size(), itemIds.size());
+        return outcomes;
+    }
+
+    /**
+     * Undo a committed reservation with guarded UPDATEs, in a transaction of its own:
+     * it runs after the order transaction has already completed.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void release(Map<UUID, Integer> quantities) {
+        new TreeMap<>(quantities).forEach((itemId, quantity) -> {
+            if (inventoryRepository.releaseReservedStockIfReserved(itemId, quantity) == 0) {
+                throw new InvalidOperationException(
+                        "Stock inconsistency for item " + itemId + ": cannot release " + quantity + " units");
+            }
+        });
+    }
+
+    private RuntimeException checkRequest(Map<UUID, Integer> request, Map<UUID, InventoryItem> locked) {
+        for (Map.Entry<UUID, Integer> line : request.entrySet()) {
+            InventoryItem item = locked.get(line.getKey());
+            if (item == null) {
+                return new InvalidOperationException("Item not found: " + line.getKey());
+            }
+            if (item.getAvailableStock() < line.getValue()) {
+                return new InsufficientStockException("Insufficient stock for item: "
+                        + item.getItemName() + " (ID: " + item.getItemId()
+                        + "). Available: " + item.getAvailableStock() + ", Requested: " + line.getValue());
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.ordermgmt.service.impl.order;
+
+import com.example.ordermgmt.dto.StockLevelDTO;
+import com.example.ordermgmt.entity.InventoryItem;
+import com.example.ordermgmt.entity.InventoryMovement;
+import com.example.ordermgmt.enums.StockMovementType;
+import com.example.ordermgmt.exception.InsufficientStockException;
+import com.example.ordermgmt.exception.InvalidOperationException;
+import com.example.ordermgmt.repository.InventoryItemRepository;
+import com.example.ordermgmt.repository.InventoryMovementRepository;
+import com.example.ordermgmt.repository.InventoryStockSnapshotRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Reservation engine for ledger-mode items ({@code INVENTORY_ITEM.stockledger}).
+ *
+ * Every move is an INVENTORY_MOVEMENT insert; no stock row is rewritten.
+ * Reservations are the only moves that can oversell, so only they take the
+ * exclusive INVENTORY_ITEM row lock around the balance check. Releases and
+ * fulfilments take a shared lock, so they run concurrently with each other and
+ * only wait for a reservation or an admin mode switch on the same item.
+ */
+@Service
+@RequiredArgsConstructor
+public class LedgerStockReservationEngine implements StockReservationEngine {
+
+    public static final String NAME = "ledger";
+
+    private static final Logger logger = LoggerFactory.getLogger(LedgerStockReservationEngine.class);
+
+    private final InventoryItemRepository inventoryRepository;
+    private final InventoryStockSnapshotRepository snapshotRepository;
+    private final InventoryMovementRepository movementRepository;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    @Transactional
+    public void reserve(InventoryItem item, int quantity) {
+        inventoryRepository.findAllByItemIdInForUpdate(List.of(item.getItemId()));
+        long available = currentBalance(item).getAvailableStock();
+        if (available < quantity) {
+            throw new InsufficientStockException("Insufficient stock for item: "
+                    + item.getItemName() + " (ID: " + item.getItemId()
+                    + "). Available: " + available + ", Requested: " + quantity);
+        }
+        movementRepository.save(new InventoryMovement(item.getItemId(), StockMovementType.RESERVE, -quantity, quantity));
+        logger.debug("PENDING: Ledger item {} reserved {} units", item.getItemId(), quantity);
+    }
+
+    @Override
+    @Transactional
+    public void release(InventoryItem item, int quantity) {
+        checkReserved(item, quantity);
+        movementRepository.save(new InventoryMovement(item.getItemId(), StockMovementType.RELEASE, quantity, -quantity));
+        logger.debug("CANCELLED: Ledger item {} released {} units", item.getItemId(), quantity);
+    }
+
+    @Override
+    @Transactional
+    public void fulfil(InventoryItem item, int quantity) {
+        checkReserved(item, quantity);
+        movementRepository.save(new InventoryMovement(item.getItemId(), StockMovementType.FULFIL, 0, -quantity));
+        logger.debug("DELIVERED: Ledger item {} fulfilled {} units", item.getItemId(), quantity);
+    }
+
+    private void checkReserved(InventoryItem item, int quantity) {
+        inventoryRepository.findAllByItemIdInForShare(List.of(item.getItemId()));
+        long reserved = currentBalance(item).getReservedStock();
+        if (reserved < quantity) {
+            throw new InvalidOperationException(
+                    "Stock inconsistency for item " + item.getItemId()
+                            + ": cannot release " + quantity
+                            + " units, only " + reserved + " reserved");
+        }
+    }
+
+    private StockLevelDTO currentBalance(InventoryItem item) {
+        return snapshotRepository.findBalances(List.of(item.getItemId())).stream()
+                .findFirst()
+                .orElseThrow(() -> new InvalidOperationException(
+                        "Item " + item.getItemId() + " is no longer in ledger mode, please retry"));
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.ordermgmt.service.impl.order;
+
+import com.example.ordermgmt.exception.LockContentionException;
+import com.example.ordermgmt.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Adaptive concurrency limit in front of order placement. Requests beyond the
+ * current limit are shed at once with {@link ServiceOverloadedException}
+ * (503 + Retry-After) instead of queueing for a database connection.
+ *
+ * The limit follows a latency gradient: a slow moving average of the request
+ * time stands for the unloaded latency, and each sample moves the limit
+ * towards {@code limit * min(1, tolerance * longRtt / rtt) + sqrt(limit)}.
+ * While latency stays within the tolerance the square-root headroom lets the
+ * limit grow; once requests start queueing the gradient falls below one and
+ * the limit shrinks. Lock give-ups are treated as drops and cut the limit
+ * multiplicatively (AIMD). The limit only grows while at least half of it is
+ * in use, so an idle service does not drift up to the maximum.
+ */
+@Service
+@RequiredArgsConstructor
+public class OrderAdmissionLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderAdmissionLimiter.class);
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.order.admission.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.order.admission.initial-limit:20}")
+    private int initialLimit;
+
+    @Value("${app.order.admission.min-limit:4}")
+    private int minLimit;
+
+    @Value("${app.order.admission.max-limit:200}")
+    private int maxLimit;
+
+    @Value("${app.order.admission.tolerance:2.0}")
+    private double tolerance;
+
+    @Value("${app.order.admission.smoothing:0.2}")
+    private double smoothing;
+
+    @Value("${app.order.admission.long-window:500}")
+    private int longWindow;
+
+    @Value("${app.order.admission.backoff-ratio:0.9}")
+    private double backoffRatio;
+
+    @Value("${app.order.admission.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+    private double longRttNanos;
+    private Counter shed;
+    private Counter drops;
+
+    @PostConstruct
+    void init() {
+        limit = initialLimit;
+        Gauge.builder("order.admission.limit", this, l -> l.limit)
+                .description("Concurrent order placements currently admitted")
+                .register(meterRegistry);
+        Gauge.builder("order.admission.inflight", inFlight, AtomicInteger::get)
+                .description("Order placements in progress")
+                .register(meterRegistry);
+        shed = meterRegistry.counter("order.admission.shed");
+        drops = meterRegistry.counter("order.admission.drops");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public <T> T admit(Supplier<T> placement) {
+        if (!enabled) {
+            return placement.get();
+        }
+        int admitted = tryAcquire();
+        if (admitted < 0) {
+            shed.increment();
+            logger.warn("Shedding order placement: {} in flight at limit {}", inFlight.get(), (int) limit);
+            throw new ServiceOverloadedException("Too many orders are being placed right now, please retry shortly",
+                    retryAfterSeconds);
+        }
+        long start = System.nanoTime();
+        boolean dropped = false;
+        try {
+            return placement.get();
+        } catch (LockContentionException | PessimisticLockingFailureException e) {
+            dropped = true;
+            throw e;
+        } finally {
+            inFlight.decrementAndGet();
+            if (dropped) {
+                onDrop();
+            } else {
+                onSample(System.nanoTime() - start, admitted);
+            }
+        }
+    }
+
+    int limit() {
+        return (int) limit;
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * @return the in-flight count including this request, or -1 when at the limit
+     */
+    private int tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return -1;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    synchronized void onSample(long rttNanos, int inFlightAtStart) {
+        if (longRttNanos == 0) {
+            longRttNanos = rttNanos;
+        } else {
+            longRttNanos += (rttNanos - longRttNanos) / longWindow;
+        }
+        // After a sustained shift the average lags far behind; let it catch up
+        if (longRttNanos / rttNanos > 2.0) {
+            longRttNanos *= 0.95;
+        }
+        if (inFlightAtStart < limit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRttNanos / rttNanos));
+        double target = limit * gradient + Math.sqrt(limit);
+        setLimit(limit * (1 - smoothing) + target * smoothing);
+    }
+
+    synchronized void onDrop() {
+        drops.increment();
+        setLimit(limit * backoffRatio);
+    }
+
+    private void setLimit(double newLimit) {
+        double clamped = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        if ((int) clamped != (int) limit) {
+            logger.debug("Order admission limit {} -> {}", (int) limit, (int) clamped);
+        }
+        limit = clamped;
+    }
+}
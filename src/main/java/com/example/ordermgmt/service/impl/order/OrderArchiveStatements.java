@@ -0,0 +1,276 @@
+package com.example.ordermgmt.service.impl.order;
+
+import com.example.ordermgmt.dto.OrderDTO;
+import com.example.ordermgmt.dto.OrderItemDTO;
+import com.example.ordermgmt.security.TenantContextHolder;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.hibernate.query.NativeQuery;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Statements behind ORDERS_ARCHIVE and ORDER_ITEM_ARCHIVE, the cold copies of
+ * terminal orders. Archiving a chunk is three statements in the caller's
+ * transaction: claim the orders with SKIP LOCKED, then move their lines and
+ * the orders themselves, each as a DELETE ... RETURNING feeding an INSERT. An
+ * order is therefore either hot or archived, never both, and never lost.
+ *
+ * The claim re-checks status and age, so an order changed since it was paged
+ * stays hot. Native SQL bypasses the tenant filter: callers pass only order ids
+ * they read through it, and the reads filter on the tenant explicitly. The
+ * admin listing reads leave the filter off for the root tenant, which sees
+ * every tenant's orders through the tenant filter too.
+ */
+@Component
+public class OrderArchiveStatements {
+
+    private static final String CLAIM = "SELECT o.orderid FROM {h-schema}ORDERS o "
+            + "WHERE o.orderid = ANY(CAST(:orderIds AS uuid[])) AND o.org_id = :orgId "
+            + "AND o.statusid = ANY(CAST(:statusIds AS integer[])) "
+            + "AND COALESCE(o.updatedtimestamp, o.createdtimestamp) < :cutoff "
+            + "FOR UPDATE SKIP LOCKED";
+
+    // Lines first: ORDER_ITEM references ORDERS
+    private static final String MOVE_ITEMS = "WITH moved AS ("
+            + "  DELETE FROM {h-schema}ORDER_ITEM i WHERE i.orderid = ANY(CAST(:orderIds AS uuid[])) "
+            + "  RETURNING i.itemid, i.createdby, i.createdtimestamp, i.quantity, i.unitprice, "
+            + "            i.updatedby, i.updatedtimestamp, i.orderid, i.org_id) "
+            + "INSERT INTO {h-schema}ORDER_ITEM_ARCHIVE "
+            + "(itemid, createdby, createdtimestamp, quantity, unitprice, updatedby, updatedtimestamp, orderid, org_id) "
+            + "SELECT itemid, createdby, createdtimestamp, quantity, unitprice, updatedby, updatedtimestamp, "
+            + "       orderid, org_id FROM moved";
+
+    private static final String MOVE_ORDERS = "WITH moved AS ("
+            + "  DELETE FROM {h-schema}ORDERS o WHERE o.orderid = ANY(CAST(:orderIds AS uuid[])) "
+            + "  RETURNING o.orderid, o.createdby, o.createdtimestamp, o.updatedby, o.updatedtimestamp, "
+            + "            o.customerid, o.statusid, o.org_id, o.intaketoken, o.totalamount, o.itemcount) "
+            + "INSERT INTO {h-schema}ORDERS_ARCHIVE "
+            + "(orderid, createdby, createdtimestamp, updatedby, updatedtimestamp, customerid, statusid, "
+            + " org_id, intaketoken, totalamount, itemcount, archivedtimestamp) "
+            + "SELECT orderid, createdby, createdtimestamp, updatedby, updatedtimestamp, customerid, statusid, "
+            + "       org_id, intaketoken, totalamount, itemcount, :archivedAt FROM moved";
+
+    private static final String ORDER_COLUMNS = "SELECT a.orderid, a.customerid, s.statusname, "
+            + "a.createdtimestamp, a.updatedtimestamp, a.totalamount, a.itemcount "
+            + "FROM {h-schema}ORDERS_ARCHIVE a "
+            + "JOIN {h-schema}ORDER_STATUS_LOOKUP s ON s.statusid = a.statusid ";
+
+    private static final String CUSTOMER_ORDERS = ORDER_COLUMNS
+            + "WHERE a.org_id = :orgId AND a.customerid = :customerId "
+            + "ORDER BY a.createdtimestamp DESC, a.orderid "
+            + "LIMIT :limit OFFSET :offset";
+
+    private static final String COUNT_CUSTOMER_ORDERS = "SELECT COUNT(*) FROM {h-schema}ORDERS_ARCHIVE a "
+            + "WHERE a.org_id = :orgId AND a.customerid = :customerId";
+
+    private static final String TENANT_ORDERS = "WHERE a.org_id = :orgId ";
+
+    private static final String ORDERS_PAGE = "ORDER BY a.createdtimestamp DESC, a.orderid "
+            + "LIMIT :limit OFFSET :offset";
+
+    private static final String COUNT_ORDERS = "SELECT COUNT(*) FROM {h-schema}ORDERS_ARCHIVE a ";
+
+    private static final String ORDER_BY_ID = ORDER_COLUMNS
+            + "WHERE a.org_id = :orgId AND a.orderid = :orderId";
+
+    // Archived lines keep no foreign key to the catalog, so the name may be gone
+    private static final String ITEMS = "SELECT i.orderid, i.itemid, ii.itemname, i.quantity, i.unitprice "
+            + "FROM {h-schema}ORDER_ITEM_ARCHIVE i "
+            + "LEFT JOIN {h-schema}INVENTORY_ITEM ii ON ii.itemid = i.itemid "
+            + "WHERE i.orderid = ANY(CAST(:orderIds AS uuid[])) ";
+
+    private static final String TENANT_ITEMS = "AND i.org_id = :orgId";
+
+    // Planner statistics: cheap enough for a gauge, unlike COUNT(*) on a hot table
+    private static final String TABLE_SIZE = "SELECT CAST(GREATEST(c.reltuples, 0) AS bigint) AS estimatedrows, "
+            + "       pg_total_relation_size(c.oid) AS totalbytes "
+            + "FROM pg_catalog.pg_class c "
+            + "JOIN pg_catalog.pg_namespace n ON n.oid = c.relnamespace "
+            + "WHERE n.nspname = :schema AND c.relname = :table";
+
+    /** Planner estimate of a table's rows and its size on disk, indexes included. */
+    public record TableSize(long estimatedRows, long totalBytes) {
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Moves those of {@code orderIds} that are still in one of
+     * {@code statusIds}, last changed before {@code cutoff} and not locked by
+     * anyone else, together with their lines.
+     *
+     * @return ids of the orders archived
+     */
+    @SuppressWarnings("unchecked")
+    public List<UUID> archive(UUID orgId, List<UUID> orderIds, List<Integer> statusIds, LocalDateTime cutoff,
+            LocalDateTime archivedAt) {
+        List<UUID> claimed = entityManager.createNativeQuery(CLAIM)
+                .unwrap(NativeQuery.class)
+                .addScalar("orderid", UUID.class)
+                .setParameter("orderIds", orderIds.toArray(UUID[]::new))
+                .setParameter("orgId", orgId)
+                .setParameter("statusIds", statusIds.toArray(Integer[]::new))
+                .setParameter("cutoff", cutoff)
+                .getResultList();
+        if (claimed.isEmpty()) {
+            return claimed;
+        }
+        UUID[] ids = claimed.toArray(UUID[]::new);
+        entityManager.createNativeQuery(MOVE_ITEMS)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace("ORDER_ITEM")
+                .addSynchronizedQuerySpace("ORDER_ITEM_ARCHIVE")
+                .setParameter("orderIds", ids)
+                .executeUpdate();
+        entityManager.createNativeQuery(MOVE_ORDERS)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace("ORDERS")
+                .addSynchronizedQuerySpace("ORDERS_ARCHIVE")
+                .setParameter("orderIds", ids)
+                .setParameter("archivedAt", archivedAt)
+                .executeUpdate();
+        return claimed;
+    }
+
+    /** A customer's archived orders with their lines, newest first. */
+    public List<OrderDTO> findCustomerOrders(UUID orgId, UUID customerId, long offset, int limit) {
+        List<Object[]> rows = orderQuery(CUSTOMER_ORDERS)
+                .setParameter("orgId", orgId)
+                .setParameter("customerId", customerId)
+                .setParameter("offset", offset)
+                .setParameter("limit", limit)
+                .getResultList();
+        return toDTOs(orgId, rows);
+    }
+
+    public long countCustomerOrders(UUID orgId, UUID customerId) {
+        return ((Number) entityManager.createNativeQuery(COUNT_CUSTOMER_ORDERS)
+                .setParameter("orgId", orgId)
+                .setParameter("customerId", customerId)
+                .getSingleResult()).longValue();
+    }
+
+    /** Every archived order of the tenant with its lines, newest first. */
+    public List<OrderDTO> findOrders(UUID orgId, long offset, int limit) {
+        return toDTOs(orgId, pageOrders(orgId, offset, limit));
+    }
+
+    /** Like {@link #findOrders} but headers only: ORDER_ITEM_ARCHIVE is not read. */
+    public List<OrderDTO> findOrderHeaders(UUID orgId, long offset, int limit) {
+        return pageOrders(orgId, offset, limit).stream()
+                .map(row -> new OrderDTO((UUID) row[0], (UUID) row[1], (String) row[2], (LocalDateTime) row[3],
+                        (LocalDateTime) row[4], null, (BigDecimal) row[5], (Integer) row[6]))
+                .toList();
+    }
+
+    public long countOrders(UUID orgId) {
+        Query query = entityManager.createNativeQuery(COUNT_ORDERS + tenantClause(orgId, TENANT_ORDERS));
+        bindTenant(query, orgId);
+        return ((Number) query.getSingleResult()).longValue();
+    }
+
+    public Optional<OrderDTO> findOrder(UUID orgId, UUID orderId) {
+        List<Object[]> rows = orderQuery(ORDER_BY_ID)
+                .setParameter("orgId", orgId)
+                .setParameter("orderId", orderId)
+                .getResultList();
+        return toDTOs(orgId, rows).stream().findFirst();
+    }
+
+    public TableSize tableSize(String schema, String table) {
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager.createNativeQuery(TABLE_SIZE)
+                .unwrap(NativeQuery.class)
+                .addScalar("estimatedrows", Long.class)
+                .addScalar("totalbytes", Long.class)
+                .setParameter("schema", schema)
+                .setParameter("table", table)
+                .getResultList();
+        return rows.stream()
+                .findFirst()
+                .map(row -> new TableSize((Long) row[0], (Long) row[1]))
+                .orElse(new TableSize(0, 0));
+    }
+
+    @SuppressWarnings("unchecked")
+    private NativeQuery<Object[]> orderQuery(String sql) {
+        return (NativeQuery<Object[]>) entityManager.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                .addScalar("orderid", UUID.class)
+                .addScalar("customerid", UUID.class)
+                .addScalar("statusname", String.class)
+                .addScalar("createdtimestamp", LocalDateTime.class)
+                .addScalar("updatedtimestamp", LocalDateTime.class)
+                .addScalar("totalamount", BigDecimal.class)
+                .addScalar("itemcount", Integer.class);
+    }
+
+    private List<Object[]> pageOrders(UUID orgId, long offset, int limit) {
+        NativeQuery<Object[]> query = orderQuery(ORDER_COLUMNS + tenantClause(orgId, TENANT_ORDERS) + ORDERS_PAGE);
+        bindTenant(query, orgId);
+        return query.setParameter("offset", offset)
+                .setParameter("limit", limit)
+                .getResultList();
+    }
+
+    private static boolean allTenants(UUID orgId) {
+        return orgId == null || TenantContextHolder.ROOT_TENANT_ID.equals(orgId);
+    }
+
+    private static String tenantClause(UUID orgId, String clause) {
+        return allTenants(orgId) ? "" : clause;
+    }
+
+    private static void bindTenant(Query query, UUID orgId) {
+        if (!allTenants(orgId)) {
+            query.setParameter("orgId", orgId);
+        }
+    }
+
+    private List<OrderDTO> toDTOs(UUID orgId, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, List<OrderItemDTO>> itemsByOrderId = findItems(orgId,
+                rows.stream().map(row -> (UUID) row[0]).toList());
+        List<OrderDTO> orders = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            UUID orderId = (UUID) row[0];
+            orders.add(new OrderDTO(orderId, (UUID) row[1], (String) row[2], (LocalDateTime) row[3],
+                    (LocalDateTime) row[4], itemsByOrderId.getOrDefault(orderId, List.of()), (BigDecimal) row[5]));
+        }
+        return orders;
+    }
+
+    private Map<UUID, List<OrderItemDTO>> findItems(UUID orgId, List<UUID> orderIds) {
+        Query query = entityManager.createNativeQuery(ITEMS + tenantClause(orgId, TENANT_ITEMS))
+                .unwrap(NativeQuery.class)
+                .addScalar("orderid", UUID.class)
+                .addScalar("itemid", UUID.class)
+                .addScalar("itemname", String.class)
+                .addScalar("quantity", Integer.class)
+                .addScalar("unitprice", BigDecimal.class)
+                .setParameter("orderIds", orderIds.toArray(UUID[]::new));
+        bindTenant(query, orgId);
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = query.getResultList();
+        return rows.stream().collect(Collectors.groupingBy(row -> (UUID) row[0],
+                Collectors.mapping(row -> {
+                    Integer quantity = (Integer) row[3];
+                    BigDecimal unitPrice = (BigDecimal) row[4];
+                    return new OrderItemDTO((UUID) row[1], (String) row[2], quantity, unitPrice,
+                            unitPrice.multiply(BigDecimal.valueOf(quantity)));
+                }, Collectors.toList())));
+    }
+}
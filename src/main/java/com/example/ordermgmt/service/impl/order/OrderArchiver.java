@@ -0,0 +1,264 @@
+package com.example.ordermgmt.service.impl.order;
+
+import com.example.ordermgmt.dto.OrderCursorDTO;
+import com.example.ordermgmt.entity.OrderStatusLookup;
+import com.example.ordermgmt.enums.OrderStatus;
+import com.example.ordermgmt.repository.OrdersRepository;
+import com.example.ordermgmt.repository.OrganizationRepository;
+import com.example.ordermgmt.security.TenantContextHolder;
+import com.example.ordermgmt.service.impl.lock.AdvisoryLockLeases;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Moves terminal orders (DELIVERED, CANCELLED) last changed more than
+ * {@code app.order.archive.age-days} ago from ORDERS and ORDER_ITEM to their
+ * archive tables, so the hot tables and their indexes stop growing with the
+ * order history. Like the auto-cancel sweep, a tenant is archived only by the
+ * node holding its lease, and one reader pages through the candidates by
+ * (createdTimestamp, orderId). Chunks run one at a time, each in a transaction of
+ * its own through {@link OrderArchiveStatements#archive}, with a pause between
+ * them and a cap on chunks per tenant and run, so archiving never competes
+ * with order traffic for long; what is left waits for the next run.
+ *
+ * Order history reads the archive only when a caller asks for it: see
+ * {@code includeArchived} on the order history endpoints. Revenue reports and
+ * order analytics read the ORDER_SALE_LINE view over hot and archived lines,
+ * and the admin order listings page on into the archive, so an archived order
+ * still counts everywhere it did while hot.
+ *
+ * Metrics: {@code order.hot.rows} and {@code order.hot.bytes} per table
+ * (planner estimate and size on disk, refreshed by the scheduler),
+ * {@code order.archive.archived} and {@code order.archive.tenant.run}.
+ *
+ * The statements are PostgreSQL-only; elsewhere (H2 in tests) archiving is off.
+ */
+@Service
+public class OrderArchiver {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderArchiver.class);
+
+    public static final String LEASE = "order-archive";
+
+    static final Set<OrderStatus> TERMINAL_STATUSES = EnumSet.of(OrderStatus.DELIVERED, OrderStatus.CANCELLED);
+
+    static final List<String> HOT_TABLES = List.of("orders", "order_item");
+
+    // Keyset start: before any order's (createdTimestamp, orderId)
+    private static final LocalDateTime FIRST_TIMESTAMP = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+
+    private final OrganizationRepository organizationRepository;
+    private final OrdersRepository ordersRepository;
+    private final OrderArchiveStatements archiveStatements;
+    private final OrderStatusRegistry statusRegistry;
+    private final AdvisoryLockLeases leases;
+    private final TransactionTemplate transactionTemplate;
+    private final DataSource dataSource;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.order.archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.order.archive.age-days:90}")
+    private int ageDays;
+
+    @Value("${app.order.archive.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.order.archive.pause-ms:200}")
+    private long pauseMs;
+
+    @Value("${app.order.archive.max-chunks:100}")
+    private int maxChunks;
+
+    @Value("${spring.jpa.properties.hibernate.default_schema:ordermgmt}")
+    private String schema;
+
+    private boolean archiveSupported;
+    private final Map<String, AtomicLong> hotRows = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> hotBytes = new ConcurrentHashMap<>();
+    private Counter archived;
+    private Timer tenantRuns;
+
+    public OrderArchiver(OrganizationRepository organizationRepository, OrdersRepository ordersRepository,
+            OrderArchiveStatements archiveStatements, OrderStatusRegistry statusRegistry, AdvisoryLockLeases leases,
+            PlatformTransactionManager transactionManager, DataSource dataSource, MeterRegistry meterRegistry) {
+        this.organizationRepository = organizationRepository;
+        this.ordersRepository = ordersRepository;
+        this.archiveStatements = archiveStatements;
+        this.statusRegistry = statusRegistry;
+        this.leases = leases;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.dataSource = dataSource;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void init() {
+        detectDatabase();
+        registerMetrics();
+    }
+
+    void detectDatabase() {
+        try (Connection connection = dataSource.getConnection()) {
+            archiveSupported = "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+        } catch (SQLException e) {
+            logger.warn("Could not detect the database product, order archiving disabled", e);
+        }
+    }
+
+    void registerMetrics() {
+        for (String table : HOT_TABLES) {
+            AtomicLong rows = hotRows.computeIfAbsent(table, t -> new AtomicLong());
+            AtomicLong bytes = hotBytes.computeIfAbsent(table, t -> new AtomicLong());
+            Gauge.builder("order.hot.rows", rows, AtomicLong::get)
+                    .tag("table", table)
+                    .description("Estimated rows in the hot order table")
+                    .register(meterRegistry);
+            Gauge.builder("order.hot.bytes", bytes, AtomicLong::get)
+                    .tag("table", table)
+                    .description("Size on disk of the hot order table, indexes included")
+                    .baseUnit("bytes")
+                    .register(meterRegistry);
+        }
+        archived = meterRegistry.counter("order.archive.archived");
+        tenantRuns = Timer.builder("order.archive.tenant.run")
+                .description("Time to archive one tenant's old terminal orders")
+                .register(meterRegistry);
+    }
+
+    /**
+     * One pass over every tenant this node gets the lease for.
+     *
+     * @return number of orders archived
+     */
+    public int archive() {
+        if (!enabled || !archiveSupported) {
+            return 0;
+        }
+        List<Integer> statusIds = TERMINAL_STATUSES.stream()
+                .map(statusRegistry::find)
+                .flatMap(lookup -> lookup.map(OrderStatusLookup::getStatusId).stream())
+                .toList();
+        if (statusIds.isEmpty()) {
+            logger.warn("Skipping archive - no terminal statuses in ORDER_STATUS_LOOKUP");
+            return 0;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(ageDays);
+        int total = 0;
+        for (UUID orgId : organizationRepository.findAllOrgIds()) {
+            AtomicInteger tenantArchived = new AtomicInteger();
+            boolean leased = leases.runIfLeased(LEASE, orgId,
+                    () -> tenantArchived.set(tenantRuns.record(() -> archiveTenant(orgId, statusIds, cutoff))));
+            if (!leased) {
+                logger.info("Skipping archive for Tenant: {} - leased by another node", orgId);
+            }
+            total += tenantArchived.get();
+            if (Thread.currentThread().isInterrupted()) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Reads the size of the hot order tables into the {@code order.hot.*} gauges.
+     */
+    public void refreshHotTableSizes() {
+        if (!archiveSupported) {
+            return;
+        }
+        for (String table : HOT_TABLES) {
+            OrderArchiveStatements.TableSize size = archiveStatements.tableSize(schema, table);
+            hotRows.get(table).set(size.estimatedRows());
+            hotBytes.get(table).set(size.totalBytes());
+        }
+    }
+
+    private int archiveTenant(UUID orgId, List<Integer> statusIds, LocalDateTime cutoff) {
+        TenantContextHolder.setTenantId(orgId);
+        try {
+            int tenantArchived = 0;
+            int chunks = 0;
+            for (OrderStatus status : TERMINAL_STATUSES) {
+                LocalDateTime afterTimestamp = FIRST_TIMESTAMP;
+                UUID afterId = FIRST_ID;
+                List<OrderCursorDTO> page;
+                do {
+                    if (chunks >= maxChunks) {
+                        logger.info("Archive paused for Tenant: {} after {} chunks; the rest waits for the next run",
+                                orgId, chunks);
+                        return tenantArchived;
+                    }
+                    // createdTimestamp bounds the index range; the claim checks the last change
+                    page = ordersRepository.findStalePage(status.name(), cutoff, afterTimestamp, afterId,
+                            PageRequest.of(0, chunkSize));
+                    if (page.isEmpty()) {
+                        break;
+                    }
+                    OrderCursorDTO last = page.get(page.size() - 1);
+                    afterTimestamp = last.getCreatedTimestamp();
+                    afterId = last.getOrderId();
+
+                    List<UUID> chunk = page.stream().map(OrderCursorDTO::getOrderId).toList();
+                    LocalDateTime archivedAt = LocalDateTime.now();
+                    List<UUID> moved = transactionTemplate.execute(
+                            tx -> archiveStatements.archive(orgId, chunk, statusIds, cutoff, archivedAt));
+                    int count = moved != null ? moved.size() : 0;
+                    tenantArchived += count;
+                    archived.increment(count);
+                    chunks++;
+                    if (!pause()) {
+                        return tenantArchived;
+                    }
+                } while (page.size() == chunkSize);
+            }
+
+            if (tenantArchived > 0) {
+                logger.info("Archive completed successfully for Tenant: {}: archived {} orders older than {} days",
+                        orgId, tenantArchived, ageDays);
+            }
+            return tenantArchived;
+        } finally {
+            TenantContextHolder.clear();
+        }
+    }
+
+    // Gives order traffic the connection and row locks back between chunks
+    private boolean pause() {
+        if (pauseMs <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
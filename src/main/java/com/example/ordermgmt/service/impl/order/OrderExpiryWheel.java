@@ -0,0 +1,231 @@
+package com.example.ordermgmt.service.impl.order;
+
+import com.example.ordermgmt.dto.OrderCursorDTO;
+import com.example.ordermgmt.enums.OrderStatus;
+import com.example.ordermgmt.event.OrderPlacedEvent;
+import com.example.ordermgmt.exception.InvalidOperationException;
+import com.example.ordermgmt.exception.OrderNotFoundException;
+import com.example.ordermgmt.repository.OrdersRepository;
+import com.example.ordermgmt.repository.OrganizationRepository;
+import com.example.ordermgmt.security.TenantContextHolder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cancels each PENDING order within about a tick of its expiry deadline
+ * (createdTimestamp + {@code app.order.stale-minutes}), instead of waiting for
+ * the next auto-cancel sweep. Deadlines are held in memory in a
+ * {@link HierarchicalTimerWheel}: an order is added when its placing transaction
+ * commits, and the wheel is rebuilt from the database at startup. Expired orders
+ * are cancelled through {@link OrderTransitionHelper#cancelStalePendingOrder},
+ * which skips any order that is no longer PENDING.
+ *
+ * Anything the wheel misses (a node going down, a lock held at the deadline) is
+ * left to the periodic sweep by {@link StalePendingOrderSweeper}. Every node
+ * holds the orders it placed plus those it found at startup, so an order can
+ * fire on two nodes; the second finds it cancelled or skips it while locked.
+ *
+ * Metrics: {@code order.expiry.scheduled}, {@code order.expiry.cancelled},
+ * {@code order.expiry.deferred} and {@code order.expiry.lag} (deadline to cancel).
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.order.expiry-wheel.enabled", havingValue = "true", matchIfMissing = true)
+public class OrderExpiryWheel {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderExpiryWheel.class);
+
+    // 4 levels of 64 one-second slots reach 194 days ahead
+    static final int LEVELS = 4;
+    private static final int REBUILD_PAGE_SIZE = 1000;
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+
+    private record Expiry(UUID orderId, UUID orgId, long deadlineMillis) {
+    }
+
+    private final OrganizationRepository organizationRepository;
+    private final OrdersRepository ordersRepository;
+    private final OrderTransitionHelper transitionHelper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.order.stale-minutes}")
+    private int staleMinutes;
+
+    @Value("${app.order.expiry-wheel.tick-ms:1000}")
+    private long tickMs;
+
+    @Value("${app.order.expiry-wheel.workers:4}")
+    private int workers;
+
+    // Orders in the wheel, so one placed while the wheel is rebuilt is only held once
+    private final Map<UUID, Expiry> scheduled = new ConcurrentHashMap<>();
+    private HierarchicalTimerWheel<Expiry> wheel;
+    private Counter cancelled;
+    private Counter deferred;
+    private Timer lag;
+
+    @PostConstruct
+    void registerMetrics() {
+        wheel = new HierarchicalTimerWheel<>(LEVELS, System.currentTimeMillis() / tickMs);
+        Gauge.builder("order.expiry.scheduled", scheduled, Map::size)
+                .description("PENDING orders waiting for their expiry deadline on this node")
+                .register(meterRegistry);
+        cancelled = meterRegistry.counter("order.expiry.cancelled");
+        deferred = meterRegistry.counter("order.expiry.deferred");
+        lag = Timer.builder("order.expiry.lag")
+                .description("Time from an order's expiry deadline to its cancellation")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderPlaced(OrderPlacedEvent event) {
+        // Set on every placement path (JPA auditing, or the row written by place_order). If missing,
+        // the commit time stands in: that is after the real creation, so the deadline is late, never early
+        LocalDateTime createdTimestamp = event.createdTimestamp() != null
+                ? event.createdTimestamp()
+                : LocalDateTime.now();
+        schedule(event.orderId(), event.orgId(), createdTimestamp);
+    }
+
+    /**
+     * Load every tenant's PENDING orders that are not yet stale. Those already
+     * stale are left to the sweep, which cancels them in chunks.
+     *
+     * @return number of orders scheduled
+     */
+    public int rebuild() {
+        logger.info("Processing rebuild for OrderExpiryWheel");
+        LocalDateTime now = LocalDateTime.now();
+        int loaded = 0;
+        for (UUID orgId : organizationRepository.findAllOrgIds()) {
+            TenantContextHolder.setTenantId(orgId);
+            try {
+                // Keyset from the stale cutoff up to now; later orders arrive as events
+                LocalDateTime afterTimestamp = now.minusMinutes(staleMinutes);
+                UUID afterId = FIRST_ID;
+                List<OrderCursorDTO> page;
+                do {
+                    page = ordersRepository.findStalePage(OrderStatus.PENDING.name(), now,
+                            afterTimestamp, afterId, PageRequest.of(0, REBUILD_PAGE_SIZE));
+                    for (OrderCursorDTO cursor : page) {
+                        schedule(cursor.getOrderId(), orgId, cursor.getCreatedTimestamp());
+                        loaded++;
+                    }
+                    if (!page.isEmpty()) {
+                        OrderCursorDTO last = page.get(page.size() - 1);
+                        afterTimestamp = last.getCreatedTimestamp();
+                        afterId = last.getOrderId();
+                    }
+                } while (page.size() == REBUILD_PAGE_SIZE);
+            } finally {
+                TenantContextHolder.clear();
+            }
+        }
+        logger.info("rebuild completed successfully for OrderExpiryWheel: {} PENDING orders scheduled", loaded);
+        return loaded;
+    }
+
+    /**
+     * Advance the wheel to now and cancel the orders whose deadline has passed.
+     *
+     * @return number of orders that expired
+     */
+    public int fireDue() {
+        return fireDue(System.currentTimeMillis());
+    }
+
+    int fireDue(long nowMillis) {
+        List<Expiry> due;
+        synchronized (this) {
+            due = wheel.advance(nowMillis / tickMs);
+        }
+        if (due.isEmpty()) {
+            return 0;
+        }
+
+        AtomicInteger expired = new AtomicInteger();
+        // Bounds the cancellations in flight, and with them the connections they hold
+        Semaphore slots = new Semaphore(Math.max(1, workers));
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Expiry expiry : due) {
+                scheduled.remove(expiry.orderId());
+                slots.acquireUninterruptibly();
+                executor.execute(() -> {
+                    TenantContextHolder.setTenantId(expiry.orgId());
+                    try {
+                        if (expire(expiry)) {
+                            expired.incrementAndGet();
+                        }
+                    } finally {
+                        TenantContextHolder.clear();
+                        slots.release();
+                    }
+                });
+            }
+        }
+        return expired.get();
+    }
+
+    int scheduledCount() {
+        return scheduled.size();
+    }
+
+    void schedule(UUID orderId, UUID orgId, LocalDateTime createdTimestamp) {
+        long deadlineMillis = createdTimestamp.plusMinutes(staleMinutes)
+                .atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        Expiry expiry = new Expiry(orderId, orgId, deadlineMillis);
+        if (scheduled.putIfAbsent(orderId, expiry) != null) {
+            return;
+        }
+        synchronized (this) {
+            // Rounded up so an order never fires before its deadline
+            wheel.schedule(expiry, Math.ceilDiv(deadlineMillis, tickMs));
+        }
+    }
+
+    private boolean expire(Expiry expiry) {
+        try {
+            if (!transitionHelper.cancelStalePendingOrder(expiry.orderId())) {
+                return false;
+            }
+            cancelled.increment();
+            lag.record(Math.max(0L, System.currentTimeMillis() - expiry.deadlineMillis()), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (OrderNotFoundException | InvalidOperationException e) {
+            logger.error("cancelStalePendingOrder failed for Order: {}", expiry.orderId(), e);
+        } catch (PessimisticLockingFailureException e) {
+            // Its items are held past the lock timeout; the sweep picks it up
+            deferred.increment();
+            logger.warn("cancelStalePendingOrder deferred for Order: {} - {}", expiry.orderId(), e.getMessage());
+        } catch (RuntimeException e) {
+            // Still PENDING; the sweep picks it up
+            logger.error("Expiry failed for Order: {}", expiry.orderId(), e);
+        }
+        return false;
+    }
+}
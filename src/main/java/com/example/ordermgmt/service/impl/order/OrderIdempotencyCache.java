@@ -0,0 +1,182 @@
+package com.example.ordermgmt.service.impl.order;
+
+import com.example.ordermgmt.dto.OrderDTO;
+import com.example.ordermgmt.exception.IdempotencyConflictException;
+import com.example.ordermgmt.exception.InvalidOperationException;
+import com.example.ordermgmt.security.TenantContextHolder;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Replay cache behind the {@code Idempotency-Key} header of order creation.
+ * The first request with a key claims it in Redis (SET NX with a short TTL)
+ * and places the order; on success the key is settled with the order's JSON
+ * for {@code app.order.idempotency.ttl-hours}. A retry with the same key gets
+ * that stored order back without reaching the database. A concurrent duplicate
+ * finds the claim and polls until the first request settles, so the two never
+ * run side by side.
+ *
+ * Keys are scoped per tenant and customer and bound to a fingerprint of the
+ * request body; reusing a key for a different order is rejected. A failed
+ * placement releases the key so the client can retry. If Redis is unreachable
+ * the order is placed without replay protection rather than refused.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderIdempotencyCache {
+
+    public static final String KEY_PREFIX = "idempotency:order:";
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderIdempotencyCache.class);
+
+    private static final String PENDING = "P:";
+    private static final String DONE = "D:";
+
+    private static final RedisScript<Long> SETTLE_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/idempotency-settle.lua"), Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.order.idempotency.ttl-hours:24}")
+    private long ttlHours;
+
+    @Value("${app.order.idempotency.claim-ttl-ms:30000}")
+    private long claimTtlMs;
+
+    @Value("${app.order.idempotency.wait-timeout-ms:10000}")
+    private long waitTimeoutMs;
+
+    @Value("${app.order.idempotency.poll-ms:25}")
+    private long pollMs;
+
+    public record Result(OrderDTO order, boolean replayed) {
+    }
+
+    public Result execute(String idempotencyKey, String email, OrderDTO request, Supplier<OrderDTO> placement) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new InvalidOperationException(
+                    "Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+        String redisKey = KEY_PREFIX + TenantContextHolder.getTenantId() + ":" + email + ":" + idempotencyKey;
+        String fingerprint = fingerprint(request);
+        String owner = PENDING + UUID.randomUUID();
+
+        long deadline = System.nanoTime() + Duration.ofMillis(waitTimeoutMs).toNanos();
+        boolean waited = false;
+        while (true) {
+            Boolean claimed;
+            String stored;
+            try {
+                claimed = redisTemplate.opsForValue().setIfAbsent(redisKey, owner, Duration.ofMillis(claimTtlMs));
+                stored = Boolean.TRUE.equals(claimed) ? null : redisTemplate.opsForValue().get(redisKey);
+            } catch (DataAccessException e) {
+                logger.warn("Idempotency store unavailable, placing order without replay protection: {}",
+                        e.getMessage());
+                record("bypass");
+                return new Result(placement.get(), false);
+            }
+            if (Boolean.TRUE.equals(claimed)) {
+                record(waited ? "waited-miss" : "miss");
+                return new Result(placeAndSettle(redisKey, owner, fingerprint, placement), false);
+            }
+            if (stored != null && stored.startsWith(DONE)) {
+                record(waited ? "waited-replay" : "replay");
+                logger.info("Replaying order for Idempotency-Key {} of Customer: {}", idempotencyKey, email);
+                return new Result(replay(stored, fingerprint), true);
+            }
+            // Claimed by a request still in flight (or the key just expired): wait and look again
+            if (System.nanoTime() > deadline) {
+                record("timeout");
+                throw new IdempotencyConflictException(
+                        "A request with this Idempotency-Key is still being processed, please retry shortly");
+            }
+            waited = true;
+            sleep();
+        }
+    }
+
+    private OrderDTO placeAndSettle(String redisKey, String owner, String fingerprint,
+            Supplier<OrderDTO> placement) {
+        OrderDTO order;
+        try {
+            order = placement.get();
+        } catch (RuntimeException e) {
+            settle(redisKey, owner, "");
+            throw e;
+        }
+        try {
+            settle(redisKey, owner, DONE + fingerprint + ":" + objectMapper.writeValueAsString(order));
+        } catch (JsonProcessingException e) {
+            logger.error("Could not store order {} for replay", order.getOrderId(), e);
+            settle(redisKey, owner, "");
+        }
+        return order;
+    }
+
+    private void settle(String redisKey, String owner, String value) {
+        try {
+            Long settled = redisTemplate.execute(SETTLE_SCRIPT, List.of(redisKey), owner, value,
+                    String.valueOf(Duration.ofHours(ttlHours).toSeconds()));
+            if (settled == null || settled == 0) {
+                logger.warn("Idempotency claim on {} expired before the order was settled", redisKey);
+            }
+        } catch (DataAccessException e) {
+            logger.warn("Could not settle idempotency key {}: {}", redisKey, e.getMessage());
+        }
+    }
+
+    private OrderDTO replay(String stored, String fingerprint) {
+        int separator = stored.indexOf(':', DONE.length());
+        if (!stored.substring(DONE.length(), separator).equals(fingerprint)) {
+            throw new InvalidOperationException("Idempotency-Key was already used for a different order");
+        }
+        try {
+            return objectMapper.readValue(stored.substring(separator + 1), OrderDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored order for replay is unreadable", e);
+        }
+    }
+
+    private String fingerprint(OrderDTO request) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(request.getItems());
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not fingerprint order request", e);
+        }
+    }
+
+    private void record(String outcome) {
+        meterRegistry.counter("order.idempotency.requests", "outcome", outcome).increment();
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(pollMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyConflictException("Interrupted while waiting for the original request");
+        }
+    }
+}
@@ -0,0 +1,341 @@
+package com.example.ordermgmt.service.impl.order;
+
+import com.example.ordermgmt.dto.OrderDTO;
+import com.example.ordermgmt.dto.OrderItemDTO;
+import com.example.ordermgmt.exception.InvalidOperationException;
+import com.example.ordermgmt.exception.ServiceOverloadedException;
+import com.example.ordermgmt.security.TenantContextHolder;
+import com.example.ordermgmt.service.OrderService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Group-commit intake for order placement. Concurrent {@code createOrder} calls
+ * are collected for a short window (or until the batch is full) and placed in
+ * one transaction, so a burst of orders pays for one commit instead of one each.
+ *
+ * Every order still goes through {@link OrderService#createOrder}, joining the
+ * batch transaction. A failing order would doom the whole transaction, so the
+ * batch is pre-checked first ({@link OrderInventoryManagerImpl#checkBatchFits}
+ * plus the customer checks): orders that would be rejected are taken out and
+ * placed on their own, where they fail with their usual error. If the batch
+ * still fails (e.g. an engine-routed item ran out), nothing of it is committed
+ * and each order is retried on its own, so one order's rejection never costs
+ * another order its placement. Callers are answered only after the commit.
+ *
+ * Batches are formed per tenant, since a persistence context is bound to one
+ * tenant. Only active when {@code app.order.intake.group-commit.enabled=true}.
+ *
+ * A caller waits at most the window plus the batch transaction timeout. An
+ * order no batch has picked up by then is withdrawn and the caller gets a 503,
+ * so a retry never places it twice.
+ */
+@Service
+public class OrderIntakeBatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderIntakeBatcher.class);
+
+    private final OrderService orderService;
+    private final OrderValidatorImpl orderValidator;
+    private final OrderInventoryManagerImpl orderInventoryManager;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.order.intake.group-commit.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.order.intake.group-commit.window-ms:2}")
+    private long windowMs;
+
+    @Value("${app.order.intake.group-commit.max-batch:64}")
+    private int maxBatch;
+
+    @Value("${app.order.intake.group-commit.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${app.order.intake.group-commit.workers:4}")
+    private int workers;
+
+    @Value("${app.order.intake.group-commit.transaction-timeout-seconds:10}")
+    private int transactionTimeoutSeconds;
+
+    private BlockingQueue<PendingOrder> queue;
+    private ExecutorService batchExecutor;
+    private Thread collector;
+    private volatile boolean running;
+
+    private DistributionSummary batchSize;
+    private DistributionSummary orderLines;
+    private Timer batchWindow;
+    private Counter batchedOrders;
+    private Counter soloOrders;
+
+    public OrderIntakeBatcher(OrderService orderService, OrderValidatorImpl orderValidator,
+            OrderInventoryManagerImpl orderInventoryManager, PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.orderService = orderService;
+        this.orderValidator = orderValidator;
+        this.orderInventoryManager = orderInventoryManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        batchSize = DistributionSummary.builder("order.intake.batch.size")
+                .description("Orders placed per group commit")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        orderLines = DistributionSummary.builder("order.intake.order.lines")
+                .description("Lines per order taken in by the group-commit intake")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        batchWindow = Timer.builder("order.intake.batch.window")
+                .description("Time a batch stayed open, from its first order to dispatch")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("order.intake.batch.window.configured", this, intake -> intake.windowMs)
+                .description("Configured batch window")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        batchedOrders = meterRegistry.counter("order.intake.orders", "path", "batched");
+        soloOrders = meterRegistry.counter("order.intake.orders", "path", "solo");
+
+        transactionTemplate.setTimeout(transactionTimeoutSeconds);
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        AtomicInteger workerIndex = new AtomicInteger();
+        batchExecutor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "order-intake-" + workerIndex.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        running = true;
+        collector = new Thread(this::collect, "order-intake-collector");
+        collector.setDaemon(true);
+        collector.start();
+        logger.info("Order intake group commit enabled: window {} ms, max batch {}, {} workers",
+                windowMs, maxBatch, workers);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        collector.interrupt();
+        collector.join(TimeUnit.SECONDS.toMillis(10));
+        batchExecutor.shutdown();
+        batchExecutor.awaitTermination(30, TimeUnit.SECONDS);
+        List<PendingOrder> abandoned = new ArrayList<>();
+        queue.drainTo(abandoned);
+        abandoned.forEach(p -> p.result().completeExceptionally(
+                new InvalidOperationException("Order intake is shutting down, please retry")));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queue the order for the next group commit and wait for its outcome. Falls
+     * back to a direct placement when the intake queue is full.
+     */
+    public OrderDTO createOrder(OrderDTO request, String email) {
+        PendingOrder pending = new PendingOrder(request, email, TenantContextHolder.getTenantId(),
+                SecurityContextHolder.getContext().getAuthentication(), System.nanoTime(),
+                new CompletableFuture<>(), new AtomicBoolean());
+        orderLines.record(request.getItems().size());
+        if (!running || !queue.offer(pending)) {
+            soloOrders.increment();
+            return orderService.createOrder(request, email);
+        }
+        long waitMs = windowMs + TimeUnit.SECONDS.toMillis(transactionTimeoutSeconds);
+        try {
+            return awaitOutcome(pending, waitMs);
+        } catch (TimeoutException e) {
+            if (pending.claim()) {
+                // No batch picked it up, so it is never placed and a retry is safe
+                throw new ServiceOverloadedException("Order intake is busy, please retry", 1);
+            }
+        }
+        // Picked up just now: the batch transaction is bounded by its timeout
+        try {
+            return awaitOutcome(pending, TimeUnit.SECONDS.toMillis(transactionTimeoutSeconds));
+        } catch (TimeoutException e) {
+            throw new ServiceOverloadedException("Order placement is taking too long, please retry", 1);
+        }
+    }
+
+    private OrderDTO awaitOutcome(PendingOrder pending, long waitMs) throws TimeoutException {
+        try {
+            return pending.result().get(waitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InvalidOperationException("Interrupted while waiting for order placement");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Order placement failed", e.getCause());
+        }
+    }
+
+    private void collect() {
+        long windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+        while (running) {
+            try {
+                PendingOrder first = queue.take();
+                List<PendingOrder> batch = new ArrayList<>(maxBatch);
+                batch.add(first);
+                long deadline = first.enqueuedNanos() + windowNanos;
+                while (batch.size() < maxBatch) {
+                    PendingOrder next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                batchWindow.record(System.nanoTime() - first.enqueuedNanos(), TimeUnit.NANOSECONDS);
+                dispatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void dispatch(List<PendingOrder> batch) {
+        Map<UUID, List<PendingOrder>> byTenant = new LinkedHashMap<>();
+        for (PendingOrder pending : batch) {
+            byTenant.computeIfAbsent(pending.tenantId(), id -> new ArrayList<>()).add(pending);
+        }
+        byTenant.forEach((tenantId, tenantBatch) -> batchExecutor.execute(() -> placeBatch(tenantId, tenantBatch)));
+    }
+
+    void placeBatch(UUID tenantId, List<PendingOrder> claimable) {
+        // Callers that gave up waiting have withdrawn their orders
+        List<PendingOrder> batch = claimable.stream().filter(PendingOrder::claim).toList();
+        if (batch.isEmpty()) {
+            return;
+        }
+        if (tenantId != null) {
+            TenantContextHolder.setTenantId(tenantId);
+        } else {
+            TenantContextHolder.clear();
+        }
+        try {
+            List<PendingOrder> rejected = new ArrayList<>();
+            List<PendingOrder> placed = new ArrayList<>();
+            List<OrderDTO> results;
+            try {
+                results = transactionTemplate.execute(status -> placeTogether(batch, placed, rejected));
+            } catch (RuntimeException e) {
+                logger.warn("Group commit of {} orders failed, placing them one by one: {}",
+                        batch.size(), e.getMessage());
+                batch.forEach(this::placeAlone);
+                return;
+            }
+
+            batchSize.record(placed.size());
+            batchedOrders.increment(placed.size());
+            // Completed only after the commit, so no caller sees an order that could still roll back
+            for (int i = 0; i < placed.size(); i++) {
+                placed.get(i).result().complete(results.get(i));
+            }
+            rejected.forEach(this::placeAlone);
+        } finally {
+            TenantContextHolder.clear();
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private List<OrderDTO> placeTogether(List<PendingOrder> batch, List<PendingOrder> placed,
+            List<PendingOrder> rejected) {
+        List<PendingOrder> candidates = new ArrayList<>();
+        for (PendingOrder pending : batch) {
+            try {
+                orderValidator.validateOrderItems(pending.request().getItems());
+                orderValidator.validateCustomerProfile(orderValidator.validateAndGetCustomer(pending.email()));
+                candidates.add(pending);
+            } catch (RuntimeException e) {
+                rejected.add(pending);
+            }
+        }
+
+        List<List<OrderItemDTO>> items = candidates.stream().map(p -> p.request().getItems()).toList();
+        List<Boolean> fits = items.isEmpty() ? List.of() : orderInventoryManager.checkBatchFits(items);
+
+        List<OrderDTO> results = new ArrayList<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            PendingOrder pending = candidates.get(i);
+            if (!fits.get(i)) {
+                rejected.add(pending);
+                continue;
+            }
+            useAuthentication(pending.authentication());
+            results.add(orderService.createOrder(pending.request(), pending.email()));
+            placed.add(pending);
+        }
+        return results;
+    }
+
+    private void placeAlone(PendingOrder pending) {
+        soloOrders.increment();
+        useAuthentication(pending.authentication());
+        try {
+            pending.result().complete(orderService.createOrder(pending.request(), pending.email()));
+        } catch (RuntimeException e) {
+            pending.result().completeExceptionally(e);
+        }
+    }
+
+    // The auditor reads the current principal, so each order is written under its own caller
+    private void useAuthentication(Authentication authentication) {
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(authentication);
+        SecurityContextHolder.setContext(context);
+    }
+
+    record PendingOrder(OrderDTO request, String email, UUID tenantId, Authentication authentication,
+            long enqueuedNanos, CompletableFuture<OrderDTO> result, AtomicBoolean claimed) {
+
+        // Exactly one of the batch and the waiting caller wins the order
+        boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+    }
+}
@@ -0,0 +1,347 @@
+package com.example.ordermgmt.service.impl.order;
+
+import com.example.ordermgmt.exception.InvalidOperationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Local append-only journal of accepted orders, written to memory-mapped
+ * segment files of fixed size ({@code intake-<n>.journal}).
+ *
+ * Each record is {@code [length][crc32][type][token][payload]}: an ACCEPTED
+ * record carries the order, a DONE record only the token of an order that has
+ * been settled. {@link #append} returns once its record is on disk. A single
+ * flusher thread forces the active segment whenever records are waiting, so
+ * every append that arrives while a force is running is made durable by the
+ * next one: one fsync per group of appends instead of one each.
+ *
+ * {@link #open} reads all segments and returns the ACCEPTED records without a
+ * DONE, in append order, then starts a fresh segment; a torn record at the end
+ * of a segment (crash mid-write) fails its checksum and ends that segment. A
+ * segment is deleted once it and every older segment hold no unsettled order,
+ * so a DONE record is never deleted before the ACCEPTED record it settles.
+ *
+ * Not a Spring bean: owned and started by {@link AsyncOrderIntake}.
+ */
+public class OrderIntakeJournal {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderIntakeJournal.class);
+
+    static final byte ACCEPTED = 1;
+    static final byte DONE = 2;
+
+    private static final String SEGMENT_PREFIX = "intake-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+    // length + crc32 + type + token
+    private static final int HEADER_BYTES = Integer.BYTES + Integer.BYTES + 1 + 2 * Long.BYTES;
+
+    public record Entry(UUID token, byte[] payload) {
+    }
+
+    private final Path directory;
+    private final int segmentBytes;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition pendingFlush = lock.newCondition();
+    private final Condition flushed = lock.newCondition();
+
+    // Guarded by lock
+    private final TreeMap<Long, Integer> unsettledBySegment = new TreeMap<>();
+    private final Map<UUID, Long> segmentByToken = new LinkedHashMap<>();
+    private long activeSegment;
+    private MappedByteBuffer active;
+    private long appendedRecords;
+    private long flushedRecords;
+    private boolean open;
+
+    private Thread flusher;
+
+    public OrderIntakeJournal(Path directory, int segmentBytes) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+    }
+
+    /**
+     * Replay the journal and start accepting appends. Returns the accepted
+     * orders that were never settled.
+     */
+    public List<Entry> open() {
+        List<Entry> unsettled;
+        lock.lock();
+        try {
+            Files.createDirectories(directory);
+            Map<UUID, Entry> accepted = new LinkedHashMap<>();
+            long lastSegment = 0;
+            for (Path segment : listSegments()) {
+                long index = segmentIndex(segment);
+                lastSegment = index;
+                unsettledBySegment.put(index, 0);
+                readSegment(segment, index, accepted);
+            }
+            unsettled = new ArrayList<>(accepted.values());
+            roll(lastSegment + 1);
+            compact();
+            open = true;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open order intake journal in " + directory, e);
+        } finally {
+            lock.unlock();
+        }
+        flusher = new Thread(this::flushLoop, "order-intake-journal-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+        logger.info("Order intake journal opened in {}: {} accepted orders to replay", directory, unsettled.size());
+        return unsettled;
+    }
+
+    public void close() throws InterruptedException {
+        lock.lock();
+        try {
+            if (!open) {
+                return;
+            }
+            open = false;
+            pendingFlush.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        flusher.join(TimeUnit.SECONDS.toMillis(10));
+        lock.lock();
+        try {
+            active.force();
+            flushedRecords = appendedRecords;
+            flushed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Append an accepted order and wait until it is durable.
+     */
+    public void append(UUID token, byte[] payload) {
+        long record = write(ACCEPTED, token, payload);
+        lock.lock();
+        try {
+            // Written records are always forced, by the flusher or by close()
+            while (flushedRecords < record) {
+                flushed.await();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InvalidOperationException("Interrupted while writing the order intake journal");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Record that an accepted order was settled (placed or finally rejected).
+     * Not waited for: if the record is lost, the order is replayed and found
+     * already settled by its token.
+     */
+    public void markDone(UUID token) {
+        write(DONE, token, new byte[0]);
+        lock.lock();
+        try {
+            Long segment = segmentByToken.remove(token);
+            if (segment != null) {
+                unsettledBySegment.merge(segment, -1, Integer::sum);
+                compact();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int unsettled() {
+        lock.lock();
+        try {
+            return segmentByToken.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int segments() {
+        lock.lock();
+        try {
+            return unsettledBySegment.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long write(byte type, UUID token, byte[] payload) {
+        int length = HEADER_BYTES + payload.length;
+        // A segment must keep room for the zero length that ends it
+        if (length + Integer.BYTES > segmentBytes) {
+            throw new InvalidOperationException("Order is too large for the intake journal");
+        }
+        CRC32 crc = new CRC32();
+        ByteBuffer body = ByteBuffer.allocate(length - 2 * Integer.BYTES)
+                .put(type)
+                .putLong(token.getMostSignificantBits())
+                .putLong(token.getLeastSignificantBits())
+                .put(payload)
+                .flip();
+        crc.update(body.duplicate());
+
+        lock.lock();
+        try {
+            if (!open) {
+                throw new InvalidOperationException("Order intake journal is closed, please retry");
+            }
+            if (active.remaining() < length + Integer.BYTES) {
+                roll(activeSegment + 1);
+            }
+            active.putInt(length).putInt((int) crc.getValue()).put(body);
+            if (type == ACCEPTED) {
+                segmentByToken.put(token, activeSegment);
+                unsettledBySegment.merge(activeSegment, 1, Integer::sum);
+            }
+            appendedRecords++;
+            pendingFlush.signal();
+            return appendedRecords;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not roll the order intake journal", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void flushLoop() {
+        while (true) {
+            MappedByteBuffer segment;
+            long target;
+            lock.lock();
+            try {
+                while (open && flushedRecords == appendedRecords) {
+                    pendingFlush.awaitUninterruptibly();
+                }
+                if (!open) {
+                    return;
+                }
+                segment = active;
+                target = appendedRecords;
+            } finally {
+                lock.unlock();
+            }
+            // Outside the lock: appends keep landing in the buffer and form the next group
+            segment.force();
+            lock.lock();
+            try {
+                flushedRecords = Math.max(flushedRecords, target);
+                flushed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    // Caller holds the lock
+    private void roll(long index) throws IOException {
+        if (active != null) {
+            // Everything appended so far lives in this or an older, already forced segment
+            active.force();
+            flushedRecords = appendedRecords;
+            flushed.signalAll();
+        }
+        Path segment = directory.resolve(SEGMENT_PREFIX + index + SEGMENT_SUFFIX);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            active = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+            channel.force(true);
+        }
+        activeSegment = index;
+        unsettledBySegment.putIfAbsent(index, 0);
+        compact();
+    }
+
+    // Caller holds the lock
+    private void compact() {
+        while (!unsettledBySegment.isEmpty()) {
+            Map.Entry<Long, Integer> oldest = unsettledBySegment.firstEntry();
+            if (oldest.getKey() == activeSegment || oldest.getValue() > 0) {
+                return;
+            }
+            unsettledBySegment.pollFirstEntry();
+            Path segment = directory.resolve(SEGMENT_PREFIX + oldest.getKey() + SEGMENT_SUFFIX);
+            try {
+                Files.deleteIfExists(segment);
+            } catch (IOException e) {
+                logger.warn("Could not delete settled intake journal segment {}: {}", segment, e.getMessage());
+            }
+        }
+    }
+
+    private void readSegment(Path segment, long index, Map<UUID, Entry> accepted) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        while (buffer.remaining() >= HEADER_BYTES) {
+            int length = buffer.getInt();
+            if (length < HEADER_BYTES || length - Integer.BYTES > buffer.remaining()) {
+                // Zero: end of the written part; anything else: torn write
+                return;
+            }
+            int checksum = buffer.getInt();
+            ByteBuffer body = buffer.slice(buffer.position(), length - 2 * Integer.BYTES);
+            CRC32 crc = new CRC32();
+            crc.update(body.duplicate());
+            if ((int) crc.getValue() != checksum) {
+                logger.warn("Intake journal segment {} ends in a torn record at {}", segment, buffer.position());
+                return;
+            }
+            buffer.position(buffer.position() + body.remaining());
+            byte type = body.get();
+            UUID token = new UUID(body.getLong(), body.getLong());
+            if (type == ACCEPTED) {
+                byte[] payload = new byte[body.remaining()];
+                body.get(payload);
+                accepted.put(token, new Entry(token, payload));
+                segmentByToken.put(token, index);
+                unsettledBySegment.merge(index, 1, Integer::sum);
+            } else if (type == DONE && accepted.remove(token) != null) {
+                Long acceptedIn = segmentByToken.remove(token);
+                unsettledBySegment.merge(acceptedIn, -1, Integer::sum);
+            }
+        }
+    }
+
+    private List<Path> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX)
+                            && path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted((a, b) -> Long.compare(segmentIndex(a), segmentIndex(b)))
+                    .toList();
+        }
+    }
+
+    private static long segmentIndex(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+}
@@ -1,27 +1,34 @@
 package com.example.ordermgmt.service.impl.order;
 
 import com.example.ordermgmt.dto.OrderItemDTO;
+import com.example.ordermgmt.entity.Customer;
 import com.example.ordermgmt.entity.InventoryItem;
 import com.example.ordermgmt.entity.OrderItem;
+import com.example.ordermgmt.entity.OrderStatusLookup;
 import com.example.ordermgmt.entity.Orders;
 import com.example.ordermgmt.entity.PricingHistory;
-import com.example.ordermgmt.enums.OrderStatus;
 import com.example.ordermgmt.exception.InsufficientStockException;
 import com.example.ordermgmt.exception.InvalidOperationException;
 import com.example.ordermgmt.repository.InventoryItemRepository;
 import com.example.ordermgmt.repository.OrderItemRepository;
 import com.example.ordermgmt.repository.PricingHistoryRepository;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.TreeMap;
 import java.util.UUID;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -32,28 +39,331 @@ public class OrderInventoryManagerImpl {
 
         private static final Logger logger = LoggerFactory.getLogger(OrderInventoryManagerImpl.class);
 
+        public static final String PESSIMISTIC_ENGINE = "pessimistic";
+        public static final String JAVA_PLACEMENT = "java";
+        public static final String PLPGSQL_PLACEMENT = "plpgsql";
+
         private final InventoryItemRepository inventoryRepository;
         private final OrderItemRepository orderItemRepository;
         private final PricingHistoryRepository pricingHistoryRepository;
+        private final List<StockReservationEngine> reservationEngines;
+        private final FlashSaleReservationEngine flashSaleEngine;
+        private final StripedStockReservationEngine stripedEngine;
+        private final LedgerStockReservationEngine ledgerEngine;
+        private final PriceSnapshotCache priceSnapshotCache;
+        private final OrderPlacementFunction placementFunction;
+        private final OrderTransitionStatements transitionStatements;
+
+        @Value("${app.order.placement.batched:true}")
+        private boolean batchedPlacement;
+
+        @Value("${app.inventory.reservation-engine:" + PESSIMISTIC_ENGINE + "}")
+        private String reservationEngineName;
+
+        @Value("${app.inventory.flash-sale.enabled:false}")
+        private boolean flashSaleEnabled;
+
+        @Value("${app.inventory.striping.enabled:false}")
+        private boolean stripingEnabled;
+
+        @Value("${app.inventory.ledger.enabled:false}")
+        private boolean ledgerEnabled;
+
+        @Value("${app.order.placement.engine:" + JAVA_PLACEMENT + "}")
+        private String placementEngineName;
+
+        // true: orders without engine-routed items are placed by the place_order function
+        private boolean functionPlacement;
+
+        // null selects the built-in pessimistic path (SELECT ... FOR UPDATE + read-modify-write)
+        private StockReservationEngine reservationEngine;
+
+        @PostConstruct
+        void selectReservationEngine() {
+                if (reservationEngineName == null || PESSIMISTIC_ENGINE.equals(reservationEngineName)) {
+                        reservationEngine = null;
+                        logger.info("Inventory reservation engine: {}", PESSIMISTIC_ENGINE);
+                        selectPlacementEngine();
+                        return;
+                }
+                if (FlashSaleReservationEngine.NAME.equals(reservationEngineName)) {
+                        throw new IllegalStateException(
+                                        "Flash-sale mode is enabled per item (INVENTORY_ITEM.flashsale), not globally");
+                }
+                if (StripedStockReservationEngine.NAME.equals(reservationEngineName)) {
+                        throw new IllegalStateException(
+                                        "Striping is enabled per item (INVENTORY_ITEM.stripecount), not globally");
+                }
+                if (LedgerStockReservationEngine.NAME.equals(reservationEngineName)) {
+                        throw new IllegalStateException(
+                                        "Ledger mode is enabled per item (INVENTORY_ITEM.stockledger), not globally");
+                }
+                reservationEngine = reservationEngines.stream()
+                                .filter(engine -> engine.getName().equals(reservationEngineName))
+                                .findFirst()
+                                .orElseThrow(() -> new IllegalStateException(
+                                                "Unknown inventory reservation engine: " + reservationEngineName));
+                logger.info("Inventory reservation engine: {}", reservationEngineName);
+                selectPlacementEngine();
+        }
+
+        private void selectPlacementEngine() {
+                if (placementEngineName == null || JAVA_PLACEMENT.equals(placementEngineName)) {
+                        functionPlacement = false;
+                } else if (PLPGSQL_PLACEMENT.equals(placementEngineName)) {
+                        if (reservationEngine != null) {
+                                throw new IllegalStateException("The " + PLPGSQL_PLACEMENT
+                                                + " placement engine takes its own row locks and cannot be combined with the "
+                                                + reservationEngineName + " reservation engine");
+                        }
+                        functionPlacement = true;
+                } else {
+                        throw new IllegalStateException("Unknown order placement engine: " + placementEngineName);
+                }
+                logger.info("Order placement engine: {}", functionPlacement ? PLPGSQL_PLACEMENT : JAVA_PLACEMENT);
+        }
+
+        /**
+         * Whether the order goes to {@link #placeInDatabase}: the plpgsql placement engine
+         * is selected and none of the items is in flash-sale, striped or ledger mode (those
+         * always take the Java path and its engines).
+         */
+        public boolean placesInDatabase(List<OrderItemDTO> items) {
+                return functionPlacement && routeItems(items).isEmpty();
+        }
+
+        /**
+         * Place the whole order with the {@code place_order} function: the ORDERS row,
+         * the row locks (itemId order, as on the Java path), prices from the same
+         * timeline, the reservations and the ORDER_ITEM rows in one round trip. A line
+         * the function rejects fails the order with the exception the Java path throws
+         * for it; the function has written nothing in that case.
+         */
+        @Transactional
+        public PlacedOrder placeInDatabase(Customer customer, OrderStatusLookup status, UUID intakeToken,
+                        List<OrderItemDTO> items) {
+                logger.info("Processing placeInDatabase for Customer: {}", customer.getCustomerId());
+                LocalDateTime now = LocalDateTime.now();
+                List<OrderPlacementFunction.Row> rows = placementFunction.call(customer.getOrgId(),
+                                customer.getCustomerId(), status.getStatusId(), items, intakeToken, now);
+
+                OrderPlacementFunction.Row first = rows.get(0);
+                if (!OrderPlacementFunction.PLACED.equals(first.outcome())) {
+                        throw rejection(first);
+                }
+                List<OrderItemDTO> lines = rows.stream()
+                                .map(row -> new OrderItemDTO(
+                                                row.itemId(),
+                                                row.itemName(),
+                                                row.quantity(),
+                                                row.unitPrice(),
+                                                row.unitPrice().multiply(BigDecimal.valueOf(row.quantity()))))
+                                .collect(Collectors.toList());
+                logger.info("placeInDatabase completed successfully for Order: {}", first.orderId());
+                return new PlacedOrder(first.orderId(), now, lines);
+        }
+
+        private RuntimeException rejection(OrderPlacementFunction.Row row) {
+                return switch (row.outcome()) {
+                        case OrderPlacementFunction.ITEM_NOT_FOUND -> itemNotFound(row.itemId());
+                        case OrderPlacementFunction.INSUFFICIENT_STOCK -> insufficientStock(row.itemName(), row.itemId(),
+                                        row.availableStock(), row.quantity());
+                        case OrderPlacementFunction.PRICE_NOT_FOUND -> priceNotFound(row.itemId());
+                        case OrderPlacementFunction.PRICE_NOT_IN_EFFECT -> priceNotInEffect(row.itemId());
+                        default -> new IllegalStateException("Unexpected place_order outcome: " + row.outcome());
+                };
+        }
 
         /**
          * Process order items with pessimistic locking and price-from-history.
          * Items are sorted by itemId before lock acquisition to prevent deadlocks.
+         * Unit prices are those in effect now on each item's {@link PriceTimeline}, taken
+         * from the tenant's {@link PriceSnapshotCache} (validated once per order).
+         * When a {@link StockReservationEngine} is configured the rows are read without
+         * locks and each reservation is delegated to the engine, in the same order.
+         * Items in flash-sale mode always go to the Redis-backed flash-sale engine,
+         * striped items to the bucket engine and ledger-mode items to the ledger engine.
+         * An {@link OrderLevelReservationEngine} gets all of its lines in one call once
+         * every line is priced.
+         *
+         * In batched mode the locked inventory rows are left to dirty checking and the
+         * order lines are staged, so the whole order is written by a single flush
+         * (one JDBC batch per table) instead of two round trips per line.
          */
         @Transactional
         public List<OrderItemDTO> processAndSaveOrderItems(List<OrderItemDTO> items, Orders order) {
                 logger.info("Processing processAndSaveOrderItems for Order: {}", order.getOrderId());
                 List<OrderItemDTO> sortedItems = sortByItemId(items);
-                Map<UUID, InventoryItem> lockedInventory = acquireInventoryLocks(sortedItems);
+                Map<UUID, StockReservationEngine> routedItems = routeItems(sortedItems);
+                Map<UUID, InventoryItem> inventory = loadInventory(sortedItems, routedItems);
+                PriceSnapshotCache.Prices prices = priceSnapshotCache.open();
+
+                Map<UUID, Integer> orderLevelReservations = new LinkedHashMap<>();
+                List<PricedLine> lines = sortedItems.stream()
+                                .map(itemReq -> reserveItem(itemReq, inventory, prices, orderLevelReservations,
+                                                routedItems.getOrDefault(itemReq.getItemId(), reservationEngine)))
+                                .collect(Collectors.toList());
+                if (reservationEngine instanceof OrderLevelReservationEngine orderLevelEngine
+                                && !orderLevelReservations.isEmpty()) {
+                        orderLevelEngine.reserveAll(orderLevelReservations);
+                }
 
-                List<OrderItemDTO> result = sortedItems.stream()
-                                .map(itemReq -> processItem(itemReq, lockedInventory, order))
+                List<OrderItem> stagedItems = new ArrayList<>();
+                List<OrderItemDTO> result = lines.stream()
+                                .map(line -> saveLine(line, order, stagedItems))
                                 .collect(Collectors.toList());
 
+                if (batchedPlacement) {
+                        orderItemRepository.saveAll(stagedItems);
+                        orderItemRepository.flush();
+                        logger.debug("Order {} written in a single flush ({} lines)",
+                                        order.getOrderId(), stagedItems.size());
+                }
+
                 logger.info("processAndSaveOrderItems completed successfully for Order: {}", order.getOrderId());
                 return result;
         }
 
+        /**
+         * Group-commit pre-check. Locks the regular rows of every order in the batch
+         * (sorted by itemId, like a single order) and replays the orders against them in
+         * arrival order without writing anything. An order that would fail on the locked
+         * path (unknown item, insufficient stock) is reported as not fitting, so the
+         * caller can place it on its own instead of failing the whole batch.
+         *
+         * Engine-routed items cannot be checked without reserving them and are assumed
+         * to fit; with a global engine nothing is locked and every order is reported fitting.
+         */
+        @Transactional
+        public List<Boolean> checkBatchFits(List<List<OrderItemDTO>> orders) {
+                if (reservationEngine != null) {
+                        return orders.stream().map(order -> Boolean.TRUE).collect(Collectors.toList());
+                }
+                List<OrderItemDTO> allItems = orders.stream()
+                                .flatMap(List::stream)
+                                .collect(Collectors.toList());
+                Map<UUID, StockReservationEngine> routedItems = routeItems(allItems);
+                List<UUID> regularIds = allItems.stream()
+                                .map(OrderItemDTO::getItemId)
+                                .filter(id -> !routedItems.containsKey(id))
+                                .distinct()
+                                .sorted()
+                                .collect(Collectors.toList());
+
+                Map<UUID, Integer> remaining = new HashMap<>();
+                if (!regularIds.isEmpty()) {
+                        inventoryRepository.findAllByItemIdInForUpdate(regularIds)
+                                        .forEach(item -> remaining.put(item.getItemId(), item.getAvailableStock()));
+                }
+
+                List<Boolean> fits = new ArrayList<>(orders.size());
+                for (List<OrderItemDTO> order : orders) {
+                        Map<UUID, Integer> demand = order.stream()
+                                        .filter(i -> !routedItems.containsKey(i.getItemId()))
+                                        .collect(Collectors.toMap(OrderItemDTO::getItemId, OrderItemDTO::getQuantity,
+                                                        Integer::sum));
+                        boolean fit = demand.entrySet().stream()
+                                        .allMatch(d -> remaining.getOrDefault(d.getKey(), -1) >= d.getValue());
+                        if (fit) {
+                                demand.forEach((itemId, quantity) -> remaining.merge(itemId, -quantity, Integer::sum));
+                        }
+                        fits.add(fit);
+                }
+                return fits;
+        }
+
+        /**
+         * Bulk placement. Locks the union of the regular items of every order once, in
+         * itemId order, and resolves each item's price once. The orders are then replayed
+         * in request order against the locked rows: an order that fits is reserved on the
+         * managed entities (written by the caller's flush), an order that does not is
+         * rejected before it has changed anything, so it cannot fail the others.
+         *
+         * Orders with engine-routed items, and every order while a global engine is
+         * configured, are returned as {@link BulkReservation#SOLO} for the caller to place
+         * one at a time.
+         */
+        @Transactional
+        public List<BulkReservation> reserveBulk(List<List<OrderItemDTO>> orders) {
+                logger.info("Processing reserveBulk for {} orders", orders.size());
+                if (reservationEngine != null) {
+                        return orders.stream().map(order -> BulkReservation.SOLO).collect(Collectors.toList());
+                }
+                List<OrderItemDTO> allItems = orders.stream()
+                                .flatMap(List::stream)
+                                .collect(Collectors.toList());
+                Map<UUID, StockReservationEngine> routedItems = routeItems(allItems);
+                List<UUID> regularIds = allItems.stream()
+                                .map(OrderItemDTO::getItemId)
+                                .filter(id -> !routedItems.containsKey(id))
+                                .distinct()
+                                .sorted()
+                                .collect(Collectors.toList());
+                Map<UUID, InventoryItem> locked = regularIds.isEmpty()
+                                ? Map.of()
+                                : inventoryRepository.findAllByItemIdInForUpdate(regularIds).stream()
+                                                .collect(Collectors.toMap(InventoryItem::getItemId, Function.identity()));
+
+                PriceSnapshotCache.Prices snapshot = priceSnapshotCache.open();
+                Map<UUID, BigDecimal> prices = new HashMap<>();
+                List<BulkReservation> reservations = new ArrayList<>(orders.size());
+                for (List<OrderItemDTO> items : orders) {
+                        if (items.stream().anyMatch(i -> routedItems.containsKey(i.getItemId()))) {
+                                reservations.add(BulkReservation.SOLO);
+                                continue;
+                        }
+                        try {
+                                reservations.add(new BulkReservation(
+                                                reserveBulkOrder(items, locked, snapshot, prices), null));
+                        } catch (InvalidOperationException | InsufficientStockException e) {
+                                logger.warn("Bulk order rejected: {}", e.getMessage());
+                                reservations.add(new BulkReservation(null, e.getMessage()));
+                        }
+                }
+                logger.info("reserveBulk completed successfully for {} orders ({} items locked)",
+                                orders.size(), locked.size());
+                return reservations;
+        }
+
+        /**
+         * Stage the lines of an order reserved by {@link #reserveBulk}; the caller writes
+         * the staged lines of the whole bulk with one saveAll and flush.
+         */
+        public List<OrderItemDTO> stageBulkLines(BulkReservation reservation, Orders order,
+                        List<OrderItem> stagedItems) {
+                return reservation.lines().stream()
+                                .map(line -> {
+                                        OrderItem orderItem = newOrderItem(line, order);
+                                        stagedItems.add(orderItem);
+                                        return toLineDTO(orderItem);
+                                })
+                                .collect(Collectors.toList());
+        }
+
+        private List<PricedLine> reserveBulkOrder(List<OrderItemDTO> items, Map<UUID, InventoryItem> locked,
+                        PriceSnapshotCache.Prices snapshot, Map<UUID, BigDecimal> prices) {
+                // Check and price the whole order before moving any stock, so a rejection leaves no trace
+                Map<UUID, Integer> demand = new HashMap<>();
+                List<PricedLine> lines = new ArrayList<>();
+                for (OrderItemDTO itemReq : sortByItemId(items)) {
+                        InventoryItem inventoryItem = locked.get(itemReq.getItemId());
+                        if (inventoryItem == null) {
+                                throw itemNotFound(itemReq.getItemId());
+                        }
+                        checkAvailableStock(inventoryItem,
+                                        demand.merge(inventoryItem.getItemId(), itemReq.getQuantity(), Integer::sum));
+                        BigDecimal unitPrice = prices.computeIfAbsent(inventoryItem.getItemId(),
+                                        id -> resolveUnitPrice(inventoryItem, snapshot));
+                        lines.add(new PricedLine(inventoryItem, itemReq.getQuantity(), unitPrice));
+                }
+                for (PricedLine line : lines) {
+                        InventoryItem inventoryItem = line.item();
+                        inventoryItem.setAvailableStock(inventoryItem.getAvailableStock() - line.quantity());
+                        inventoryItem.setReservedStock(inventoryItem.getReservedStock() + line.quantity());
+                }
+                return lines;
+        }
+
         private List<OrderItemDTO> sortByItemId(List<OrderItemDTO> items) {
                 return items.stream()
                                 .sorted(Comparator.comparing(OrderItemDTO::getItemId))
@@ -69,38 +379,127 @@ public class OrderInventoryManagerImpl {
                                 .collect(Collectors.toMap(InventoryItem::getItemId, Function.identity()));
         }
 
-        private OrderItemDTO processItem(OrderItemDTO itemReq, Map<UUID, InventoryItem> lockedInventory, Orders order) {
-                InventoryItem inventoryItem = lockedInventory.get(itemReq.getItemId());
-                if (inventoryItem == null) {
-                        throw new InvalidOperationException("Item not found: " + itemReq.getItemId());
+        /**
+         * Items that bypass the configured engine: flash-sale, striped and ledger-mode
+         * items. Each check is a scalar query and is skipped entirely while its mode is
+         * disabled.
+         */
+        private Map<UUID, StockReservationEngine> routeItems(List<OrderItemDTO> items) {
+                if (!flashSaleEnabled && !stripingEnabled && !ledgerEnabled) {
+                        return Map.of();
                 }
+                return routeItemIds(items.stream()
+                                .map(OrderItemDTO::getItemId)
+                                .collect(Collectors.toList()));
+        }
 
-                int availableStock = inventoryItem.getAvailableStock();
-                if (availableStock < itemReq.getQuantity()) {
-                        throw new InsufficientStockException("Insufficient stock for item: "
-                                        + inventoryItem.getItemName() + " (ID: " + inventoryItem.getItemId()
-                                        + "). Available: " + availableStock + ", Requested: "
-                                        + itemReq.getQuantity());
+        private Map<UUID, StockReservationEngine> routeItemIds(List<UUID> itemIds) {
+                if (!flashSaleEnabled && !stripingEnabled && !ledgerEnabled) {
+                        return Map.of();
+                }
+                Map<UUID, StockReservationEngine> routed = new HashMap<>();
+                if (flashSaleEnabled) {
+                        inventoryRepository.findFlashSaleItemIds(itemIds).forEach(id -> routed.put(id, flashSaleEngine));
+                }
+                if (stripingEnabled) {
+                        inventoryRepository.findStripedItemIds(itemIds).forEach(id -> routed.put(id, stripedEngine));
+                }
+                if (ledgerEnabled) {
+                        inventoryRepository.findLedgerItemIds(itemIds).forEach(id -> routed.put(id, ledgerEngine));
+                }
+                return routed;
+        }
+
+        private StockReservationEngine engineFor(InventoryItem item) {
+                if (flashSaleEnabled && item.isFlashSale()) {
+                        return flashSaleEngine;
+                }
+                if (stripingEnabled && item.isStriped()) {
+                        return stripedEngine;
+                }
+                if (ledgerEnabled && item.isStockLedger()) {
+                        return ledgerEngine;
                 }
+                return reservationEngine;
+        }
 
-                BigDecimal unitPrice = resolveUnitPrice(inventoryItem);
+        /**
+         * Regular items are locked (pessimistic path) or read plainly (engine path);
+         * flash-sale, striped and ledger-mode items are never locked here.
+         */
+        private Map<UUID, InventoryItem> loadInventory(List<OrderItemDTO> items,
+                        Map<UUID, StockReservationEngine> routedItems) {
+                if (routedItems.isEmpty()) {
+                        return reservationEngine == null ? acquireInventoryLocks(items) : loadUnlocked(items);
+                }
+                Map<Boolean, List<OrderItemDTO>> byMode = items.stream()
+                                .collect(Collectors.partitioningBy(i -> routedItems.containsKey(i.getItemId())));
+                Map<UUID, InventoryItem> inventory = new HashMap<>(loadUnlocked(byMode.get(true)));
+                List<OrderItemDTO> regularItems = byMode.get(false);
+                if (!regularItems.isEmpty()) {
+                        inventory.putAll(reservationEngine == null
+                                        ? acquireInventoryLocks(regularItems)
+                                        : loadUnlocked(regularItems));
+                }
+                return inventory;
+        }
 
-                inventoryItem.setAvailableStock(inventoryItem.getAvailableStock() - itemReq.getQuantity());
-                inventoryItem.setReservedStock(inventoryItem.getReservedStock() + itemReq.getQuantity());
-                inventoryRepository.saveAndFlush(inventoryItem);
-                logger.debug("PENDING: Item {} reserved — available: {}, reserved: {}",
-                                inventoryItem.getItemId(), inventoryItem.getAvailableStock(),
-                                inventoryItem.getReservedStock());
+        private Map<UUID, InventoryItem> loadUnlocked(List<OrderItemDTO> items) {
+                List<UUID> itemIds = items.stream()
+                                .map(OrderItemDTO::getItemId)
+                                .collect(Collectors.toList());
+                return inventoryRepository.findAllById(itemIds).stream()
+                                .collect(Collectors.toMap(InventoryItem::getItemId, Function.identity()));
+        }
+
+        private PricedLine reserveItem(OrderItemDTO itemReq, Map<UUID, InventoryItem> inventory,
+                        PriceSnapshotCache.Prices prices, Map<UUID, Integer> orderLevelReservations,
+                        StockReservationEngine engine) {
+                InventoryItem inventoryItem = inventory.get(itemReq.getItemId());
+                if (inventoryItem == null) {
+                        throw itemNotFound(itemReq.getItemId());
+                }
+
+                BigDecimal unitPrice;
+                if (engine == null) {
+                        checkAvailableStock(inventoryItem, itemReq.getQuantity());
+                        unitPrice = resolveUnitPrice(inventoryItem, prices);
+                        reserveLockedStock(inventoryItem, itemReq.getQuantity());
+                } else {
+                        // Price first so an unpriced item fails before any stock statement is issued
+                        unitPrice = resolveUnitPrice(inventoryItem, prices);
+                        if (engine instanceof OrderLevelReservationEngine) {
+                                orderLevelReservations.put(inventoryItem.getItemId(), itemReq.getQuantity());
+                        } else {
+                                engine.reserve(inventoryItem, itemReq.getQuantity());
+                        }
+                }
+                return new PricedLine(inventoryItem, itemReq.getQuantity(), unitPrice);
+        }
+
+        private OrderItemDTO saveLine(PricedLine line, Orders order, List<OrderItem> stagedItems) {
+                // Create OrderItem — saved now, or staged for the single flush in batched mode
+                OrderItem orderItem = newOrderItem(line, order);
+                if (batchedPlacement) {
+                        stagedItems.add(orderItem);
+                } else {
+                        orderItemRepository.save(orderItem);
+                }
+                return toLineDTO(orderItem);
+        }
 
-                // Create and save OrderItem
+        private OrderItem newOrderItem(PricedLine line, Orders order) {
                 OrderItem orderItem = new OrderItem();
-                orderItem.setId(new OrderItem.OrderItemId(order.getOrderId(), inventoryItem.getItemId()));
+                orderItem.setId(new OrderItem.OrderItemId(order.getOrderId(), line.item().getItemId()));
                 orderItem.setOrder(order);
-                orderItem.setInventoryItem(inventoryItem);
-                orderItem.setQuantity(itemReq.getQuantity());
-                orderItem.setUnitPrice(unitPrice);
-                orderItemRepository.save(orderItem);
+                orderItem.setInventoryItem(line.item());
+                orderItem.setQuantity(line.quantity());
+                orderItem.setUnitPrice(line.unitPrice());
+                return orderItem;
+        }
 
+        private OrderItemDTO toLineDTO(OrderItem orderItem) {
+                InventoryItem inventoryItem = orderItem.getInventoryItem();
                 return new OrderItemDTO(
                                 inventoryItem.getItemId(),
                                 inventoryItem.getItemName(),
@@ -109,19 +508,42 @@ public class OrderInventoryManagerImpl {
                                 orderItem.getUnitPrice().multiply(BigDecimal.valueOf(orderItem.getQuantity())));
         }
 
+        private void checkAvailableStock(InventoryItem inventoryItem, int quantity) {
+                int availableStock = inventoryItem.getAvailableStock();
+                if (availableStock < quantity) {
+                        throw insufficientStock(inventoryItem.getItemName(), inventoryItem.getItemId(),
+                                        availableStock, quantity);
+                }
+        }
+
+        private void reserveLockedStock(InventoryItem inventoryItem, int quantity) {
+                inventoryItem.setAvailableStock(inventoryItem.getAvailableStock() - quantity);
+                inventoryItem.setReservedStock(inventoryItem.getReservedStock() + quantity);
+                if (!batchedPlacement) {
+                        inventoryRepository.saveAndFlush(inventoryItem);
+                }
+                logger.debug("PENDING: Item {} reserved — available: {}, reserved: {}",
+                                inventoryItem.getItemId(), inventoryItem.getAvailableStock(),
+                                inventoryItem.getReservedStock());
+        }
+
         /**
-         * Handle inventory updates based on specific order status transitions.
-         * Uses pessimistic locking with deterministic lock order to prevent deadlocks.
+         * Apply the inventory action of an order's status transition.
+         * Regular items are changed by one aggregated statement that locks their rows
+         * in itemId order (deterministic lock order prevents deadlocks).
          *
-         * Inventory transitions handled:
-         * 1. Revert Reservation: (Any Status) -> CANCELLED (availableStock += qty, reservedStock -= qty)
-         * 2. Final Fulfillment: SHIPPED -> DELIVERED (reservedStock -= qty)
-         * 3. No-op: All other transitions (no inventory impact)
+         * Inventory actions handled:
+         * 1. RELEASE: revert the reservation (availableStock += qty, reservedStock -= qty)
+         * 2. FULFIL: final fulfillment (reservedStock -= qty)
+         * 3. NONE: no inventory impact, no lines read or rows locked
          */
         @Transactional
-        public void handleInventoryUpdate(Orders order, OrderStatus currentStatus, OrderStatus nextStatus) {
-                logger.info("Processing handleInventoryUpdate for Order: {} ({} -> {})",
-                                order.getOrderId(), currentStatus, nextStatus);
+        public void handleInventoryUpdate(Orders order, InventoryAction action) {
+                logger.info("Processing handleInventoryUpdate for Order: {} ({})", order.getOrderId(), action);
+
+                if (!action.movesStock()) {
+                        return;
+                }
 
                 List<OrderItem> items = orderItemRepository.findByOrderOrderId(order.getOrderId());
 
@@ -131,75 +553,190 @@ public class OrderInventoryManagerImpl {
                         return;
                 }
 
-                // Collect sorted itemIds for deterministic lock order
-                List<UUID> itemIds = items.stream()
-                                .map(i -> i.getInventoryItem().getItemId())
-                                .sorted()
+                if (flashSaleEnabled || stripingEnabled || ledgerEnabled || reservationEngine != null) {
+                        // Per-item routing; the pessimistic path (null engine) continues below
+                        Map<StockReservationEngine, List<OrderItem>> byEngine = new HashMap<>();
+                        List<OrderItem> lockedPathItems = new ArrayList<>();
+                        for (OrderItem item : items) {
+                                StockReservationEngine engine = engineFor(item.getInventoryItem());
+                                if (engine == null) {
+                                        lockedPathItems.add(item);
+                                } else {
+                                        byEngine.computeIfAbsent(engine, e -> new ArrayList<>()).add(item);
+                                }
+                        }
+                        byEngine.forEach((engine, engineItems) -> moveStockWithEngine(engineItems, engine, action));
+                        items = lockedPathItems;
+                        if (items.isEmpty()) {
+                                return;
+                        }
+                }
+
+                Map<UUID, Integer> quantityByItem = items.stream()
+                                .collect(Collectors.groupingBy(i -> i.getInventoryItem().getItemId(), TreeMap::new,
+                                                Collectors.summingInt(OrderItem::getQuantity)));
+                moveReservedStock(quantityByItem, action == InventoryAction.RELEASE);
+        }
+
+        /**
+         * Whether {@link #handleInventoryUpdates} can move the stock of these orders:
+         * no global reservation engine is set and none of their items is in flash-sale,
+         * striped or ledger mode. Otherwise the orders take the per-order path.
+         */
+        public boolean movesStockInPlace(List<UUID> orderIds) {
+                if (reservationEngine != null) {
+                        return false;
+                }
+                if (!flashSaleEnabled && !stripingEnabled && !ledgerEnabled) {
+                        return true;
+                }
+                List<UUID> itemIds = orderItemRepository.findIdsByOrderIdIn(orderIds).stream()
+                                .map(OrderItem.OrderItemId::getItemId)
                                 .distinct()
                                 .collect(Collectors.toList());
-                Map<UUID, InventoryItem> locked = inventoryRepository
-                                .findAllByItemIdInForUpdate(itemIds).stream()
-                                .collect(Collectors.toMap(InventoryItem::getItemId, Function.identity()));
+                return routeItemIds(itemIds).isEmpty();
+        }
 
-                if (nextStatus == OrderStatus.CANCELLED) {
-                        // Revert reservation: available ++, reserved --
-                        for (OrderItem item : items) {
-                                InventoryItem inv = locked.get(item.getInventoryItem().getItemId());
-                                releaseReservedStock(inv, item.getQuantity());
-                                inv.setAvailableStock(inv.getAvailableStock() + item.getQuantity());
-                                inventoryRepository.save(inv);
-                                logger.debug("CANCELLED: Item {} reservation reverted — available: {}, reserved: {}",
-                                                inv.getItemId(), inv.getAvailableStock(), inv.getReservedStock());
+        /**
+         * Stock side of a set-based transition: the lines of all the orders summed per
+         * item and applied with one aggregated statement, as for a single order. Only
+         * for orders {@link #movesStockInPlace} accepted.
+         */
+        @Transactional
+        public void handleInventoryUpdates(List<UUID> orderIds, InventoryAction action) {
+                if (!action.movesStock()) {
+                        return;
+                }
+                logger.info("Processing handleInventoryUpdates for {} orders ({})", orderIds.size(), action);
+                Map<UUID, Integer> quantityByItem = transitionStatements.sumLineQuantities(orderIds);
+                if (!quantityByItem.isEmpty()) {
+                        moveReservedStock(quantityByItem, action == InventoryAction.RELEASE);
+                }
+        }
+
+        /**
+         * One guarded UPDATE for all the items. An item without enough reserved stock
+         * fails the whole move; the caller's transaction rolls back the items already
+         * changed by the statement.
+         */
+        private void moveReservedStock(Map<UUID, Integer> quantityByItem, boolean restoreAvailable) {
+                List<UUID> moved = transitionStatements.moveReservedStock(quantityByItem, restoreAvailable);
+                if (moved.size() == quantityByItem.size()) {
+                        logger.debug("{}: reserved stock moved for items {}",
+                                        restoreAvailable ? "RELEASE" : "FULFIL", quantityByItem);
+                        return;
+                }
+                UUID itemId = quantityByItem.keySet().stream()
+                                .filter(id -> !moved.contains(id))
+                                .findFirst()
+                                .orElseThrow();
+                Integer reserved = inventoryRepository.findReservedStock(itemId);
+                throw stockInconsistency(itemId, quantityByItem.get(itemId), reserved == null ? 0 : reserved);
+        }
+
+        /**
+         * Same transitions as the pessimistic path, delegated to the configured engine
+         * in ascending itemId order.
+         */
+        private void moveStockWithEngine(List<OrderItem> items, StockReservationEngine engine,
+                        InventoryAction action) {
+                List<OrderItem> sortedItems = items.stream()
+                                .sorted(Comparator.comparing(i -> i.getInventoryItem().getItemId()))
+                                .collect(Collectors.toList());
+
+                if (action == InventoryAction.RELEASE) {
+                        for (OrderItem item : sortedItems) {
+                                engine.release(item.getInventoryItem(), item.getQuantity());
                         }
-                } else if (nextStatus == OrderStatus.DELIVERED && currentStatus == OrderStatus.SHIPPED) {
-                        // Final fulfillment: reserved --
-                        for (OrderItem item : items) {
-                                InventoryItem inv = locked.get(item.getInventoryItem().getItemId());
-                                releaseReservedStock(inv, item.getQuantity());
-                                inventoryRepository.save(inv);
-                                logger.debug("DELIVERED: Item {} fulfilled — available: {}, reserved: {}",
-                                                inv.getItemId(), inv.getAvailableStock(), inv.getReservedStock());
+                } else if (action == InventoryAction.FULFIL) {
+                        for (OrderItem item : sortedItems) {
+                                engine.fulfil(item.getInventoryItem(), item.getQuantity());
                         }
                 }
         }
 
         /**
-         * Resolve unit price: prefer PricingHistory (immutable) over PricingCatalog
-         * (mutable).
+         * Resolve the unit price in effect now from the item's price timeline, taken
+         * from the tenant's price snapshot or loaded from the database on a miss.
          */
-        private BigDecimal resolveUnitPrice(InventoryItem inventoryItem) {
-                // 1. Try PricingHistory first (immutable snapshot)
-                Optional<PricingHistory> latestHistory = pricingHistoryRepository
-                                .findFirstByInventoryItemItemIdOrderByCreatedTimestampDesc(inventoryItem.getItemId());
-
-                if (latestHistory.isPresent()) {
-                        logger.debug("Price for item {} resolved from PricingHistory: {}",
-                                        inventoryItem.getItemId(), latestHistory.get().getNewPrice());
-                        return latestHistory.get().getNewPrice();
+        private BigDecimal resolveUnitPrice(InventoryItem inventoryItem, PriceSnapshotCache.Prices prices) {
+                BigDecimal unitPrice = prices.timeline(inventoryItem.getItemId(), id -> loadTimeline(inventoryItem))
+                                .priceAt(LocalDateTime.now());
+                if (unitPrice == null) {
+                        throw priceNotInEffect(inventoryItem.getItemId());
                 }
+                return unitPrice;
+        }
 
-                // 2. Fallback to PricingCatalog (backward compatibility)
-                if (inventoryItem.getPricingCatalog() != null
-                                && inventoryItem.getPricingCatalog().getUnitPrice() != null) {
+        /**
+         * Load the price timeline: PricingHistory (immutable) by effectiveFrom, or the
+         * PricingCatalog price (mutable) when there is no history.
+         */
+        private PriceTimeline loadTimeline(InventoryItem inventoryItem) {
+                List<PricingHistory> history = pricingHistoryRepository
+                                .findAllByInventoryItemItemIdOrderByEffectiveFromAscCreatedTimestampAsc(
+                                                inventoryItem.getItemId());
+                PriceTimeline timeline = PriceTimeline.of(history, inventoryItem.getPricingCatalog());
+                if (timeline.isEmpty()) {
+                        throw priceNotFound(inventoryItem.getItemId());
+                }
+                if (history.isEmpty()) {
                         logger.warn("Skipping PricingHistory for Item: {} - no history found, falling back to PricingCatalog: {}",
                                         inventoryItem.getItemId(), inventoryItem.getPricingCatalog().getUnitPrice());
-                        return inventoryItem.getPricingCatalog().getUnitPrice();
+                } else {
+                        logger.debug("Price timeline for item {} loaded from PricingHistory: {} entries",
+                                        inventoryItem.getItemId(), timeline.size());
                 }
+                return timeline;
+        }
+
+        // Rejections shared by the Java path and the place_order function, so both fail alike
+        private static InvalidOperationException itemNotFound(UUID itemId) {
+                return new InvalidOperationException("Item not found: " + itemId);
+        }
+
+        private static InsufficientStockException insufficientStock(String itemName, UUID itemId, int available,
+                        int requested) {
+                return new InsufficientStockException("Insufficient stock for item: " + itemName + " (ID: " + itemId
+                                + "). Available: " + available + ", Requested: " + requested);
+        }
+
+        private static InvalidOperationException priceNotInEffect(UUID itemId) {
+                return new InvalidOperationException("No price in effect yet for item ID: " + itemId
+                                + ". Its first price is scheduled for later.");
+        }
+
+        private static InvalidOperationException stockInconsistency(UUID itemId, int quantity, int reserved) {
+                return new InvalidOperationException("Stock inconsistency for item " + itemId + ": cannot release "
+                                + quantity + " units, only " + reserved + " reserved");
+        }
+
+        private static InvalidOperationException priceNotFound(UUID itemId) {
+                return new InvalidOperationException("Price not found for item ID: " + itemId
+                                + ". Ensure pricing is configured before accepting orders.");
+        }
+
+        // An order written by the place_order function: its ID, creation instant and priced lines
+        record PlacedOrder(UUID orderId, LocalDateTime createdTimestamp, List<OrderItemDTO> lines) {
+        }
 
-                throw new InvalidOperationException(
-                                "Price not found for item ID: " + inventoryItem.getItemId()
-                                                + ". Ensure pricing is configured before accepting orders.");
+        // A line whose stock is reserved (or handed to an order-level engine) but not yet written
+        record PricedLine(InventoryItem item, int quantity, BigDecimal unitPrice) {
         }
 
-        private void releaseReservedStock(InventoryItem inventoryItem, int quantity) {
-                int currentReserved = inventoryItem.getReservedStock();
-                int newReserved = currentReserved - quantity;
-                if (newReserved < 0) {
-                        throw new InvalidOperationException(
-                                        "Stock inconsistency for item " + inventoryItem.getItemId()
-                                                        + ": cannot release " + quantity
-                                                        + " units, only " + currentReserved + " reserved");
+        /**
+         * One order of a bulk: its reserved lines, the reason it was rejected, or neither
+         * when it has to be placed on its own.
+         */
+        record BulkReservation(List<PricedLine> lines, String error) {
+                static final BulkReservation SOLO = new BulkReservation(null, null);
+
+                boolean isReserved() {
+                        return lines != null;
+                }
+
+                boolean isSolo() {
+                        return lines == null && error == null;
                 }
-                inventoryItem.setReservedStock(newReserved);
         }
 }
@@ -0,0 +1,21 @@
+package com.example.ordermgmt.service.impl.order;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A {@link StockReservationEngine} that reserves all lines of an order in one
+ * call instead of line by line, so it can coordinate reservations it commits
+ * outside the surrounding order transaction. Releases and fulfilments still
+ * go through the per-item methods.
+ */
+public interface OrderLevelReservationEngine extends StockReservationEngine {
+
+    /**
+     * Reserve every line of one order; all or nothing.
+     *
+     * @param quantities quantity per itemId, in ascending itemId order
+     * @throws com.example.ordermgmt.exception.InsufficientStockException if any line lacks stock
+     */
+    void reserveAll(Map<UUID, Integer> quantities);
+}
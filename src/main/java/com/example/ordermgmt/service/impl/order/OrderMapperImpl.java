@@ -33,6 +33,22 @@ public class OrderMapperImpl {
                 total);
     }
 
+    /**
+     * Header only: total and line count come from the ORDERS row and ORDER_ITEM
+     * is not read; items is left null.
+     */
+    public OrderDTO convertToHeaderDTO(Orders order) {
+        return new OrderDTO(
+                order.getOrderId(),
+                order.getCustomer().getCustomerId(),
+                order.getStatus().getStatusName(),
+                order.getCreatedTimestamp(),
+                order.getUpdatedTimestamp(),
+                null,
+                order.getTotalAmount(),
+                order.getItemCount());
+    }
+
     @Transactional(readOnly = true)
     public OrderDTO convertToDTO(Orders order) {
         List<OrderItem> items = orderItemRepository.findByOrderOrderId(order.getOrderId());
@@ -0,0 +1,91 @@
+package com.example.ordermgmt.service.impl.order;
+
+import com.example.ordermgmt.dto.OrderItemDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.query.NativeQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Calls the {@code place_order} PL/pgSQL function (migration V12): the ORDERS
+ * insert, row locks, pricing, stock reservation and ORDER_ITEM inserts of one
+ * order in a single round trip. Runs in the caller's transaction, so the
+ * placement lock timeout applies to the function's row locks.
+ *
+ * Returns the function's rows as they are; {@link OrderInventoryManagerImpl}
+ * turns a failure row into the exception the Java engine would have thrown.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderPlacementFunction {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderPlacementFunction.class);
+
+    public static final String PLACED = "PLACED";
+    public static final String ITEM_NOT_FOUND = "ITEM_NOT_FOUND";
+    public static final String INSUFFICIENT_STOCK = "INSUFFICIENT_STOCK";
+    public static final String PRICE_NOT_FOUND = "PRICE_NOT_FOUND";
+    public static final String PRICE_NOT_IN_EFFECT = "PRICE_NOT_IN_EFFECT";
+
+    private static final String CALL = "SELECT outcome, orderid, itemid, itemname, quantity, unitprice, availablestock "
+            + "FROM place_order(:orgId, :customerId, :statusId, :itemIds, :quantities, :intakeToken, :auditor, :now)";
+
+    private final AuditorAware<String> auditorAware;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * One line of the result: a priced line of the placed order, or the line
+     * that failed (orderId and unitPrice null; availableStock set for
+     * INSUFFICIENT_STOCK).
+     */
+    public record Row(String outcome, UUID orderId, UUID itemId, String itemName, int quantity,
+            BigDecimal unitPrice, Integer availableStock) {
+    }
+
+    /**
+     * @param now the instant the lines are priced at; also the order's created timestamp
+     */
+    public List<Row> call(UUID orgId, UUID customerId, int statusId, List<OrderItemDTO> items, UUID intakeToken,
+            LocalDateTime now) {
+        UUID[] itemIds = items.stream().map(OrderItemDTO::getItemId).toArray(UUID[]::new);
+        Integer[] quantities = items.stream().map(OrderItemDTO::getQuantity).toArray(Integer[]::new);
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager.createNativeQuery(CALL)
+                .unwrap(NativeQuery.class)
+                .addScalar("outcome", String.class)
+                .addScalar("orderid", UUID.class)
+                .addScalar("itemid", UUID.class)
+                .addScalar("itemname", String.class)
+                .addScalar("quantity", Integer.class)
+                .addScalar("unitprice", BigDecimal.class)
+                .addScalar("availablestock", Integer.class)
+                .setParameter("orgId", orgId)
+                .setParameter("customerId", customerId)
+                .setParameter("statusId", statusId)
+                .setParameter("itemIds", itemIds)
+                .setParameter("quantities", quantities)
+                // Typed: null for synchronous placements
+                .setParameter("intakeToken", intakeToken, UUID.class)
+                .setParameter("auditor", auditorAware.getCurrentAuditor().orElse("SYSTEM"))
+                .setParameter("now", now)
+                .getResultList();
+        logger.debug("place_order returned {} rows for Customer: {}", rows.size(), customerId);
+
+        return rows.stream()
+                .map(row -> new Row((String) row[0], (UUID) row[1], (UUID) row[2], (String) row[3],
+                        (Integer) row[4], (BigDecimal) row[5], (Integer) row[6]))
+                .toList();
+    }
+}
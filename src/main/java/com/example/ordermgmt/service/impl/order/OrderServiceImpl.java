@@ -1,10 +1,13 @@
 package com.example.ordermgmt.service.impl.order;
 
 import com.example.ordermgmt.dto.BulkOrderFailureDTO;
+import com.example.ordermgmt.dto.BulkOrderPlacementDTO;
+import com.example.ordermgmt.dto.BulkOrderPlacementResultDTO;
 import com.example.ordermgmt.dto.BulkOrderStatusUpdateDTO;
 import com.example.ordermgmt.dto.BulkOrderUpdateResultDTO;
 import com.example.ordermgmt.dto.OrderDTO;
 import com.example.ordermgmt.dto.OrderItemDTO;
+import com.example.ordermgmt.dto.OrderStatusRowDTO;
 import com.example.ordermgmt.dto.OrderStatusUpdateDTO;
 import com.example.ordermgmt.entity.Customer;
 import com.example.ordermgmt.entity.OrderItem;
@@ -13,26 +16,54 @@ import com.example.ordermgmt.entity.OrderStatusLookup;
 import com.example.ordermgmt.enums.OrderStatus;
 import com.example.ordermgmt.exception.InsufficientStockException;
 import com.example.ordermgmt.exception.InvalidOperationException;
+import com.example.ordermgmt.exception.InvalidOrderTransitionException;
+import com.example.ordermgmt.exception.LockContentionException;
 import com.example.ordermgmt.exception.OrderNotFoundException;
 import com.example.ordermgmt.repository.OrderItemRepository;
 import com.example.ordermgmt.repository.OrdersRepository;
+import com.example.ordermgmt.security.TenantContextHolder;
 import com.example.ordermgmt.service.OrderService;
+import com.example.ordermgmt.service.impl.lock.LockAcquisitionPolicies;
+import com.example.ordermgmt.service.impl.lock.LockPolicy;
+import com.example.ordermgmt.service.impl.lock.LockSite;
 import com.example.ordermgmt.event.EmailDispatchEvent;
+import com.example.ordermgmt.event.OrderPlacedEvent;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static java.util.stream.Collectors.groupingBy;
 
@@ -42,6 +73,9 @@ public class OrderServiceImpl implements OrderService {
 
     private static final Logger logger = LoggerFactory.getLogger(OrderServiceImpl.class);
 
+    // Order ids per lookup or set-based statement in bulk status updates
+    private static final int LOOKUP_CHUNK = 1000;
+
     private final OrdersRepository ordersRepository;
     private final OrderItemRepository orderItemRepository;
     private final OrderValidatorImpl orderValidator;
@@ -49,34 +83,277 @@ public class OrderServiceImpl implements OrderService {
     private final OrderMapperImpl orderMapper;
     private final OrderTransitionHelper transitionHelper;
     private final ApplicationEventPublisher eventPublisher;
+    private final LockAcquisitionPolicies lockPolicies;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderStatusHistoryStatements statusHistory;
+    private final OrderArchiveStatements orderArchive;
+
+    @Value("${app.order.placement.batched:true}")
+    private boolean batchedPlacement;
+
+    @Value("${app.order.bulk.max-orders:500}")
+    private int maxBulkOrders;
+
+    @Value("${app.order.bulk.status-update.concurrency:16}")
+    private int bulkStatusConcurrency;
+
+    @Value("${app.order.bulk.status-update.set-based:true}")
+    private boolean setBasedStatusUpdates;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int connectionPoolSize;
 
     @Override
     @Transactional
     public OrderDTO createOrder(OrderDTO request, String email) {
         logger.info("Processing createOrder for Customer: {}", email);
+        OrderDTO responseDTO = placeOrder(request, email, null);
+        logger.info("createOrder completed successfully for Customer: {}", email);
+        return responseDTO;
+    }
+
+    /**
+     * Places an order accepted into the intake journal. The order token is
+     * stored on the order (unique), so an order the journal replays after a
+     * crash that had already been placed is returned instead of placed again.
+     */
+    @Override
+    @Transactional
+    public OrderDTO createAcceptedOrder(UUID orderToken, OrderDTO request, String email) {
+        logger.info("Processing createAcceptedOrder for Token: {}, Customer: {}", orderToken, email);
+        Optional<Orders> existing = ordersRepository.findByIntakeToken(orderToken);
+        if (existing.isPresent()) {
+            logger.info("Accepted order {} was already placed as Order: {}", orderToken,
+                    existing.get().getOrderId());
+            return orderMapper.convertToDTO(existing.get());
+        }
+        OrderDTO responseDTO = placeOrder(request, email, orderToken);
+        logger.info("createAcceptedOrder completed successfully for Token: {}", orderToken);
+        return responseDTO;
+    }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<OrderDTO> findAcceptedOrder(UUID orderToken, String email) {
+        return ordersRepository.findByIntakeToken(orderToken)
+                .map(order -> {
+                    orderValidator.validateOrderOwnership(order, email);
+                    return orderMapper.convertToDTO(order);
+                });
+    }
+
+    private OrderDTO placeOrder(OrderDTO request, String email, UUID intakeToken) {
+        orderValidator.validateOrderItems(request.getItems());
+        lockPolicies.applyTimeout(LockSite.ORDER_PLACEMENT);
         Customer customer = orderValidator.validateAndGetCustomer(email);
         orderValidator.validateCustomerProfile(customer);
 
         OrderStatusLookup pendingStatus = orderValidator.getStatusOrThrow(OrderStatus.PENDING.name());
 
+        if (orderInventoryManager.placesInDatabase(request.getItems())) {
+            return placeInDatabase(request, email, intakeToken, customer, pendingStatus);
+        }
+
         Orders order = new Orders();
         // orderId is auto-generated by @UuidGenerator (UUID v7)
         order.setCustomer(customer);
         order.setStatus(pendingStatus);
+        order.setIntakeToken(intakeToken);
 
-        ordersRepository.saveAndFlush(order);
+        if (batchedPlacement) {
+            // Deferred: the ORDERS insert joins the single flush done after the lines are staged
+            ordersRepository.save(order);
+        } else {
+            ordersRepository.saveAndFlush(order);
+        }
         logger.info("Order entity saved with ID: {}", order.getOrderId());
 
         List<OrderItemDTO> itemDTOs = orderInventoryManager.processAndSaveOrderItems(request.getItems(), order);
 
         BigDecimal total = orderMapper.calculateTotal(itemDTOs);
+        // Dirty-checked: part of the batched ORDERS insert, or one UPDATE at commit when the order was flushed early
+        order.setTotalAmount(total);
+        order.setItemCount(itemDTOs.size());
         // Items are already in memory from inventory processing — use the full overload
         // to avoid an extra query
         OrderDTO responseDTO = orderMapper.convertToDTO(order, itemDTOs, total);
 
-        logger.info("createOrder completed successfully for Customer: {}", email);
+        recordPlaced(customer, List.of(order), pendingStatus);
+        publishPlaced(customer, email, order, responseDTO);
+
+        return responseDTO;
+    }
+
+    /**
+     * The same placement done by the place_order function in one round trip. The
+     * Orders instance is only a view of the row the function wrote, for the mapper
+     * and the receipt; it is never attached to the persistence context.
+     */
+    private OrderDTO placeInDatabase(OrderDTO request, String email, UUID intakeToken, Customer customer,
+            OrderStatusLookup pendingStatus) {
+        OrderInventoryManagerImpl.PlacedOrder placed = orderInventoryManager.placeInDatabase(customer,
+                pendingStatus, intakeToken, request.getItems());
+
+        BigDecimal total = orderMapper.calculateTotal(placed.lines());
+        Orders order = new Orders();
+        order.setOrderId(placed.orderId());
+        order.setCustomer(customer);
+        order.setStatus(pendingStatus);
+        order.setOrgId(customer.getOrgId());
+        order.setIntakeToken(intakeToken);
+        order.setTotalAmount(total);
+        order.setItemCount(placed.lines().size());
+        order.setCreatedTimestamp(placed.createdTimestamp());
+        order.setUpdatedTimestamp(placed.createdTimestamp());
+        logger.info("Order placed in the database with ID: {}", order.getOrderId());
+
+        OrderDTO responseDTO = orderMapper.convertToDTO(order, placed.lines(), total);
+        recordPlaced(customer, List.of(order), pendingStatus);
+        publishPlaced(customer, email, order, responseDTO);
+        return responseDTO;
+    }
+
+    /**
+     * Places many orders for one customer. Orders the inventory manager can
+     * reserve together share one transaction: the union of their items is locked
+     * once, each price is resolved once and all ORDERS and ORDER_ITEM rows go out
+     * in a single batched flush. An order that does not fit is reported without
+     * affecting the others; orders that need a reservation engine are placed one
+     * at a time afterwards, each in its own transaction.
+     */
+    @Override
+    public BulkOrderPlacementResultDTO createOrders(List<OrderDTO> requests, String email) {
+        logger.info("Processing createOrders for {} orders, Customer: {}", requests.size(), email);
+        if (requests.size() > maxBulkOrders) {
+            throw new InvalidOperationException(
+                    "A bulk request may contain at most " + maxBulkOrders + " orders, got " + requests.size());
+        }
+
+        List<BulkOrderPlacementDTO> results = lockPolicies.withRetry(LockSite.ORDER_PLACEMENT,
+                () -> transactionTemplate.execute(status -> placeTogether(requests, email)));
+
+        for (int index = 0; index < results.size(); index++) {
+            if (results.get(index) != null) {
+                continue;
+            }
+            OrderDTO request = requests.get(index);
+            try {
+                // Self-invocation: the template supplies the transaction createOrder would get from its proxy
+                OrderDTO order = lockPolicies.withRetry(LockSite.ORDER_PLACEMENT,
+                        () -> transactionTemplate.execute(status -> createOrder(request, email)));
+                results.set(index, new BulkOrderPlacementDTO(index, order, null));
+            } catch (InvalidOperationException | InsufficientStockException | LockContentionException e) {
+                logger.error("Bulk placement failed for order #{}: {}", index, e.getMessage());
+                results.set(index, new BulkOrderPlacementDTO(index, null, e.getMessage()));
+            }
+        }
+
+        int created = (int) results.stream().filter(result -> result.getOrder() != null).count();
+        logger.info("createOrders completed: {} created, {} failed", created, results.size() - created);
+        return new BulkOrderPlacementResultDTO(results, created, results.size() - created);
+    }
+
+    /**
+     * @return one outcome per request, null where the order still has to be placed on its own
+     */
+    private List<BulkOrderPlacementDTO> placeTogether(List<OrderDTO> requests, String email) {
+        lockPolicies.applyTimeout(LockSite.ORDER_PLACEMENT);
+        Customer customer = orderValidator.validateAndGetCustomer(email);
+        orderValidator.validateCustomerProfile(customer);
+        OrderStatusLookup pendingStatus = orderValidator.getStatusOrThrow(OrderStatus.PENDING.name());
+
+        List<OrderInventoryManagerImpl.BulkReservation> reservations = reserveValid(requests);
+
+        List<Orders> orders = new ArrayList<>();
+        for (OrderInventoryManagerImpl.BulkReservation reservation : reservations) {
+            if (reservation.isReserved()) {
+                Orders order = new Orders();
+                order.setCustomer(customer);
+                order.setStatus(pendingStatus);
+                orders.add(order);
+            }
+        }
+        // orderIds are assigned on persist, before the lines that reference them are staged
+        ordersRepository.saveAll(orders);
+
+        List<BulkOrderPlacementDTO> results = new ArrayList<>(requests.size());
+        List<OrderItem> stagedItems = new ArrayList<>();
+        List<OrderDTO> placed = new ArrayList<>();
+        int next = 0;
+        for (int index = 0; index < reservations.size(); index++) {
+            OrderInventoryManagerImpl.BulkReservation reservation = reservations.get(index);
+            if (reservation.isSolo()) {
+                results.add(null);
+            } else if (!reservation.isReserved()) {
+                results.add(new BulkOrderPlacementDTO(index, null, reservation.error()));
+            } else {
+                Orders order = orders.get(next++);
+                List<OrderItemDTO> itemDTOs = orderInventoryManager.stageBulkLines(reservation, order, stagedItems);
+                BigDecimal total = orderMapper.calculateTotal(itemDTOs);
+                order.setTotalAmount(total);
+                order.setItemCount(itemDTOs.size());
+                OrderDTO responseDTO = orderMapper.convertToDTO(order, itemDTOs, total);
+                placed.add(responseDTO);
+                results.add(new BulkOrderPlacementDTO(index, responseDTO, null));
+            }
+        }
 
+        // One flush: batched ORDERS and ORDER_ITEM inserts plus the dirty inventory rows
+        orderItemRepository.saveAll(stagedItems);
+        ordersRepository.flush();
+        recordPlaced(customer, orders, pendingStatus);
+        for (int i = 0; i < orders.size(); i++) {
+            publishPlaced(customer, email, orders.get(i), placed.get(i));
+        }
+        logger.info("{} orders placed together ({} lines)", placed.size(), stagedItems.size());
+        return results;
+    }
+
+    // An order repeating an item is rejected up front; its lines would fail the shared flush
+    private List<OrderInventoryManagerImpl.BulkReservation> reserveValid(List<OrderDTO> requests) {
+        List<String> itemErrors = new ArrayList<>(requests.size());
+        List<List<OrderItemDTO>> valid = new ArrayList<>();
+        for (OrderDTO request : requests) {
+            try {
+                orderValidator.validateOrderItems(request.getItems());
+                itemErrors.add(null);
+                valid.add(request.getItems());
+            } catch (InvalidOperationException e) {
+                itemErrors.add(e.getMessage());
+            }
+        }
+        Iterator<OrderInventoryManagerImpl.BulkReservation> reserved = valid.isEmpty()
+                ? Collections.emptyIterator()
+                : orderInventoryManager.reserveBulk(valid).iterator();
+        List<OrderInventoryManagerImpl.BulkReservation> reservations = new ArrayList<>(requests.size());
+        for (String error : itemErrors) {
+            reservations.add(error == null
+                    ? reserved.next()
+                    : new OrderInventoryManagerImpl.BulkReservation(null, error));
+        }
+        return reservations;
+    }
+
+    // One history row per order, NULL -> PENDING, in a single statement
+    private void recordPlaced(Customer customer, List<Orders> orders, OrderStatusLookup pendingStatus) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        LocalDateTime placedAt = orders.get(0).getCreatedTimestamp() != null
+                ? orders.get(0).getCreatedTimestamp()
+                : LocalDateTime.now();
+        statusHistory.recordPlaced(customer.getOrgId(), orders.stream().map(Orders::getOrderId).toList(),
+                pendingStatus.getStatusId(), placedAt);
+    }
+
+    private void publishPlaced(Customer customer, String email, Orders order, OrderDTO responseDTO) {
+        // Starts the order's expiry countdown once the placement commits
+        eventPublisher.publishEvent(new OrderPlacedEvent(order.getOrderId(), customer.getOrgId(),
+                order.getCreatedTimestamp()));
+        publishReceipt(customer, email, order, responseDTO);
+    }
+
+    private void publishReceipt(Customer customer, String email, Orders order, OrderDTO responseDTO) {
         eventPublisher.publishEvent(new EmailDispatchEvent(
                 email,
                 "Order Receipt #" + order.getOrderId(),
@@ -89,8 +366,6 @@ public class OrderServiceImpl implements OrderService {
                                 : customer.getAppUser().getEmail(),
                         "order", responseDTO,
                         "summary", "Your order has been placed successfully.")));
-
-        return responseDTO;
     }
 
     @Override
@@ -136,6 +411,9 @@ public class OrderServiceImpl implements OrderService {
         return result;
     }
 
+    /**
+     * Hot orders first, then the archived ones, newest first.
+     */
     @Override
     @Transactional(readOnly = true)
     public List<OrderDTO> getAllOrders() {
@@ -152,11 +430,16 @@ public class OrderServiceImpl implements OrderService {
         List<OrderDTO> result = orders.stream()
                 .map(order -> orderMapper.convertToDTO(order, itemsByOrderId))
                 .collect(Collectors.toList());
+        result.addAll(orderArchive.findOrders(TenantContextHolder.getTenantId(), 0, Integer.MAX_VALUE));
 
         logger.info("getAllOrders completed successfully for Admin");
         return result;
     }
 
+    /**
+     * One listing over both tables, like the customer's archived history: the
+     * archive fills the page the hot orders run out on and those after it.
+     */
     @Override
     @Transactional(readOnly = true)
     public Page<OrderDTO> getAllOrders(Pageable pageable) {
@@ -166,12 +449,29 @@ public class OrderServiceImpl implements OrderService {
 
         Map<UUID, List<OrderItem>> itemsByOrderId = fetchItemsMap(page.getContent());
 
-        Page<OrderDTO> result = page.map(order -> orderMapper.convertToDTO(order, itemsByOrderId));
+        Page<OrderDTO> hot = page.map(order -> orderMapper.convertToDTO(order, itemsByOrderId));
+        Page<OrderDTO> result = withArchivedOrders(hot, pageable, orderArchive::findOrders);
 
         logger.info("getAllOrders (Page) completed successfully for Admin");
         return result;
     }
 
+    /**
+     * Order headers only: the total and line count persisted on ORDERS and
+     * ORDERS_ARCHIVE, so neither ORDER_ITEM nor ORDER_ITEM_ARCHIVE is read.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<OrderDTO> getAllOrderHeaders(Pageable pageable) {
+        logger.info("Processing getAllOrderHeaders (Page) for Admin");
+
+        Page<OrderDTO> hot = ordersRepository.findAll(pageable).map(orderMapper::convertToHeaderDTO);
+        Page<OrderDTO> result = withArchivedOrders(hot, pageable, orderArchive::findOrderHeaders);
+
+        logger.info("getAllOrderHeaders (Page) completed successfully for Admin");
+        return result;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public OrderDTO getCustomerOrderById(UUID orderId, String email) {
@@ -186,11 +486,74 @@ public class OrderServiceImpl implements OrderService {
         return orderMapper.convertToDTO(order);
     }
 
+    /**
+     * Hot orders first, then the customer's archived orders, newest first.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<OrderDTO> getCustomerOrders(String email, boolean includeArchived) {
+        List<OrderDTO> hot = getCustomerOrders(email);
+        if (!includeArchived) {
+            return hot;
+        }
+        logger.info("Processing getCustomerOrders (Archive) for Customer: {}", email);
+        List<OrderDTO> result = new ArrayList<>(hot);
+        result.addAll(orderArchive.findCustomerOrders(TenantContextHolder.getTenantId(),
+                orderValidator.customerIdOf(email), 0, Integer.MAX_VALUE));
+        logger.info("getCustomerOrders (Archive) completed successfully for Customer: {}", email);
+        return result;
+    }
+
+    /**
+     * One listing over both tables: the hot orders' pages come first, and the
+     * archive fills the page the hot orders run out on and those after it.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<OrderDTO> getCustomerOrders(String email, Pageable pageable, boolean includeArchived) {
+        Page<OrderDTO> hot = getCustomerOrders(email, pageable);
+        if (!includeArchived) {
+            return hot;
+        }
+        logger.info("Processing getCustomerOrders (Page, Archive) for Customer: {}", email);
+        UUID orgId = TenantContextHolder.getTenantId();
+        UUID customerId = orderValidator.customerIdOf(email);
+        long archivedTotal = orderArchive.countCustomerOrders(orgId, customerId);
+
+        List<OrderDTO> content = new ArrayList<>(hot.getContent());
+        int remaining = pageable.getPageSize() - content.size();
+        if (remaining > 0 && archivedTotal > 0) {
+            long archiveOffset = Math.max(0, pageable.getOffset() - hot.getTotalElements());
+            content.addAll(orderArchive.findCustomerOrders(orgId, customerId, archiveOffset, remaining));
+        }
+
+        logger.info("getCustomerOrders (Page, Archive) completed successfully for Customer: {}", email);
+        return new PageImpl<>(content, pageable, hot.getTotalElements() + archivedTotal);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public OrderDTO getCustomerOrderById(UUID orderId, String email, boolean includeArchived) {
+        try {
+            return getCustomerOrderById(orderId, email);
+        } catch (OrderNotFoundException e) {
+            if (!includeArchived) {
+                throw e;
+            }
+            logger.info("Processing getCustomerOrderById (Archive) for Order: {}, Customer: {}", orderId, email);
+            OrderDTO order = getArchivedOrderOrThrow(orderId);
+            orderValidator.validateArchivedOrderOwnership(order, email);
+            logger.info("getCustomerOrderById (Archive) completed successfully for Order: {}", orderId);
+            return order;
+        }
+    }
+
     @Override
     @Transactional
     public OrderDTO cancelOrder(UUID orderId, String email) {
         logger.info("Processing cancelOrder for Order: {}, Customer: {}", orderId, email);
-        Orders order = ordersRepository.findByIdWithLock(orderId)
+        lockPolicies.applyTimeout(LockSite.ORDER_CANCEL);
+        Orders order = lockPolicies.acquire(LockSite.ORDER_CANCEL, () -> lockOrder(LockSite.ORDER_CANCEL, orderId))
                 .orElseThrow(() -> {
                     logger.warn("Order not found: {}", orderId);
                     return new OrderNotFoundException("Order not found: " + orderId);
@@ -200,16 +563,19 @@ public class OrderServiceImpl implements OrderService {
         orderValidator.validateOrderCancellation(order);
 
         OrderStatusLookup cancelledStatus = orderValidator.getStatusOrThrow(OrderStatus.CANCELLED.name());
-        orderInventoryManager.handleInventoryUpdate(order, OrderStatus.valueOf(order.getStatus().getStatusName()),
-                OrderStatus.CANCELLED);
+        StatusTransition cancellation = orderValidator.cancellationOf(
+                OrderStatus.valueOf(order.getStatus().getStatusName()));
+        orderInventoryManager.handleInventoryUpdate(order, cancellation.inventoryAction());
 
+        statusHistory.recordTransitions(List.of(orderId), order.getStatus().getStatusId(),
+                cancelledStatus.getStatusId(), LocalDateTime.now());
         order.setStatus(cancelledStatus);
         ordersRepository.save(order);
 
         eventPublisher.publishEvent(new EmailDispatchEvent(
                 email,
                 "Order Status Update: " + OrderStatus.CANCELLED.name(),
-                "order-status",
+                cancellation.template(),
                 order.getCustomer().getOrgId(),
                 java.util.Map.of(
                         "name", order.getCustomer().getFirstName() != null
@@ -238,26 +604,67 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
+    public OrderDTO getOrderById(UUID orderId, boolean includeArchived) {
+        try {
+            return getOrderById(orderId);
+        } catch (OrderNotFoundException e) {
+            if (!includeArchived) {
+                throw e;
+            }
+            logger.info("Processing getOrderById (Archive) for Order: {}", orderId);
+            OrderDTO order = getArchivedOrderOrThrow(orderId);
+            logger.info("getOrderById (Archive) completed successfully for Order: {}", orderId);
+            return order;
+        }
+    }
+
+    // No surrounding transaction: the helper runs its own, and retries must not hold a connection
+    @Override
     public OrderDTO updateOrderStatus(UUID orderId, OrderStatusUpdateDTO statusUpdate) {
         logger.info("Processing updateOrderStatus for Order: {}", orderId);
-        return transitionHelper.updateOrderInternal(orderId, statusUpdate.getNewStatus());
+        return lockPolicies.withRetry(LockSite.STATUS_UPDATE,
+                () -> transitionHelper.updateOrderInternal(orderId, statusUpdate.getNewStatus()));
     }
 
+    /**
+     * With set-based updates on, groups of orders making the same transition are
+     * moved first with one statement per chunk ({@link #applySetBased}); whatever
+     * that pass leaves runs per order.
+     *
+     * Per-order transitions run in lanes on virtual threads. Updates whose orders share
+     * an inventory item (or name the same order twice) go to the same lane and run
+     * in request order, so no two lanes queue on the same row locks. At most
+     * {@code bulkStatusConcurrency} lanes run at once, and never more than half the
+     * connection pool: each one holds a connection for its REQUIRES_NEW transaction.
+     * Results are reported in request order, as the sequential loop did.
+     */
     @Override
     public BulkOrderUpdateResultDTO updateOrdersStatus(List<BulkOrderStatusUpdateDTO> updates) {
         logger.info("Processing updateOrdersStatus for {} orders", updates.size());
+        OrderDTO[] results = new OrderDTO[updates.size()];
+        String[] errors = new String[updates.size()];
+
+        List<Integer> perOrder = setBasedStatusUpdates
+                ? applySetBased(updates, results)
+                : IntStream.range(0, updates.size()).boxed().toList();
+
+        int concurrency = Math.min(bulkStatusConcurrency, Math.max(1, connectionPoolSize / 2));
+        if (concurrency <= 1 || perOrder.size() <= 1) {
+            for (int i : perOrder) {
+                applyStatusUpdate(updates.get(i), i, results, errors);
+            }
+        } else {
+            runInLanes(updates, partitionByItems(updates, perOrder), concurrency, results, errors);
+        }
+
         List<OrderDTO> successes = new ArrayList<>();
         List<BulkOrderFailureDTO> failures = new ArrayList<>();
-
-        for (BulkOrderStatusUpdateDTO update : updates) {
-            try {
-                OrderDTO result = transitionHelper.updateOrderInternal(
-                        update.getOrderId(), update.getNewStatus());
-                successes.add(result);
-            } catch (OrderNotFoundException | InvalidOperationException | InsufficientStockException e) {
-                logger.error("Bulk update failed for Order: {}: {}", update.getOrderId(), e.getMessage());
-                failures.add(new BulkOrderFailureDTO(update.getOrderId(), e.getMessage()));
+        for (int i = 0; i < updates.size(); i++) {
+            if (errors[i] != null) {
+                failures.add(new BulkOrderFailureDTO(updates.get(i).getOrderId(), errors[i]));
+            } else {
+                successes.add(results[i]);
             }
         }
 
@@ -266,6 +673,203 @@ public class OrderServiceImpl implements OrderService {
         return new BulkOrderUpdateResultDTO(successes, failures);
     }
 
+    private void applyStatusUpdate(BulkOrderStatusUpdateDTO update, int index, OrderDTO[] results,
+            String[] errors) {
+        try {
+            // Each attempt is a fresh REQUIRES_NEW transaction, so a lock failure can be retried
+            results[index] = lockPolicies.withRetry(LockSite.STATUS_UPDATE,
+                    () -> transitionHelper.updateOrderInternal(update.getOrderId(), update.getNewStatus()));
+        } catch (OrderNotFoundException | InvalidOperationException | InsufficientStockException
+                | LockContentionException e) {
+            logger.error("Bulk update failed for Order: {}: {}", update.getOrderId(), e.getMessage());
+            errors[index] = e.getMessage();
+        }
+    }
+
+    /**
+     * Set-based pass: updates grouped by (current, next) status, each group moved in
+     * chunks by {@link OrderTransitionHelper#updateOrdersInternal}. Returns the
+     * positions left for the per-order path, ascending: unknown orders, orders named
+     * more than once, unknown or invalid transitions (so they fail with the per-order
+     * message), and orders the statements did not move.
+     */
+    private List<Integer> applySetBased(List<BulkOrderStatusUpdateDTO> updates, OrderDTO[] results) {
+        Map<UUID, Integer> firstPosition = new HashMap<>();
+        Set<UUID> repeated = new HashSet<>();
+        for (int i = 0; i < updates.size(); i++) {
+            if (firstPosition.putIfAbsent(updates.get(i).getOrderId(), i) != null) {
+                repeated.add(updates.get(i).getOrderId());
+            }
+        }
+
+        List<UUID> orderIds = new ArrayList<>(firstPosition.keySet());
+        Map<UUID, OrderStatus> currentStatus = new HashMap<>();
+        for (int from = 0; from < orderIds.size(); from += LOOKUP_CHUNK) {
+            List<UUID> chunk = orderIds.subList(from, Math.min(from + LOOKUP_CHUNK, orderIds.size()));
+            for (OrderStatusRowDTO row : ordersRepository.findStatusRows(chunk)) {
+                currentStatus.put(row.getOrderId(), parseStatus(row.getStatusName()));
+            }
+        }
+
+        List<Integer> perOrder = new ArrayList<>();
+        Map<Transition, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < updates.size(); i++) {
+            UUID orderId = updates.get(i).getOrderId();
+            OrderStatus current = currentStatus.get(orderId);
+            OrderStatus next = parseStatus(updates.get(i).getNewStatus());
+            if (repeated.contains(orderId) || current == null || next == null
+                    || !isAdminTransition(current, next)) {
+                perOrder.add(i);
+            } else {
+                groups.computeIfAbsent(new Transition(current, next), t -> new ArrayList<>()).add(i);
+            }
+        }
+
+        groups.forEach((transition, positions) -> {
+            for (int from = 0; from < positions.size(); from += LOOKUP_CHUNK) {
+                List<Integer> chunk = positions.subList(from, Math.min(from + LOOKUP_CHUNK, positions.size()));
+                List<UUID> ids = chunk.stream().map(position -> updates.get(position).getOrderId()).toList();
+                Map<UUID, OrderDTO> moved;
+                try {
+                    moved = lockPolicies.withRetry(LockSite.STATUS_UPDATE,
+                            () -> transitionHelper.updateOrdersInternal(ids, transition.current(), transition.next()));
+                } catch (InvalidOperationException | LockContentionException e) {
+                    // Rolled back as a whole; one by one, only the orders at fault fail
+                    logger.warn("Set-based {} -> {} failed for {} orders, updating them one by one: {}",
+                            transition.current(), transition.next(), ids.size(), e.getMessage());
+                    moved = Map.of();
+                }
+                for (int position : chunk) {
+                    OrderDTO result = moved.get(updates.get(position).getOrderId());
+                    if (result != null) {
+                        results[position] = result;
+                    } else {
+                        perOrder.add(position);
+                    }
+                }
+            }
+        });
+
+        Collections.sort(perOrder);
+        logger.info("Set-based pass moved {} of {} orders in {} groups",
+                updates.size() - perOrder.size(), updates.size(), groups.size());
+        return perOrder;
+    }
+
+    private boolean isAdminTransition(OrderStatus current, OrderStatus next) {
+        try {
+            orderValidator.validateAdminTransition(current, next);
+            return true;
+        } catch (InvalidOrderTransitionException e) {
+            return false;
+        }
+    }
+
+    private static OrderStatus parseStatus(String statusName) {
+        if (statusName == null) {
+            return null;
+        }
+        try {
+            return OrderStatus.valueOf(statusName.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private record Transition(OrderStatus current, OrderStatus next) {
+    }
+
+    /**
+     * Groups update positions into lanes with a union-find: positions naming the
+     * same order, or orders sharing an inventory item, end up with one root.
+     * Positions stay ascending inside a lane; the longest lanes come first so a
+     * long lane does not start last and set the finish time.
+     */
+    private List<List<Integer>> partitionByItems(List<BulkOrderStatusUpdateDTO> updates, List<Integer> positions) {
+        int[] parent = new int[updates.size()];
+        Arrays.setAll(parent, i -> i);
+
+        Map<UUID, Integer> orderOwner = new HashMap<>();
+        for (int i : positions) {
+            Integer first = orderOwner.putIfAbsent(updates.get(i).getOrderId(), i);
+            if (first != null) {
+                union(parent, first, i);
+            }
+        }
+
+        List<UUID> orderIds = new ArrayList<>(orderOwner.keySet());
+        Map<UUID, Integer> itemOwner = new HashMap<>();
+        for (int from = 0; from < orderIds.size(); from += LOOKUP_CHUNK) {
+            List<UUID> chunk = orderIds.subList(from, Math.min(from + LOOKUP_CHUNK, orderIds.size()));
+            for (OrderItem.OrderItemId key : orderItemRepository.findIdsByOrderIdIn(chunk)) {
+                int position = orderOwner.get(key.getOrderId());
+                Integer first = itemOwner.putIfAbsent(key.getItemId(), position);
+                if (first != null) {
+                    union(parent, first, position);
+                }
+            }
+        }
+
+        Map<Integer, List<Integer>> lanes = new LinkedHashMap<>();
+        for (int i : positions) {
+            lanes.computeIfAbsent(find(parent, i), root -> new ArrayList<>()).add(i);
+        }
+        List<List<Integer>> ordered = new ArrayList<>(lanes.values());
+        ordered.sort(Comparator.comparingInt(List<Integer>::size).reversed());
+        return ordered;
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    private static void union(int[] parent, int a, int b) {
+        parent[find(parent, a)] = find(parent, b);
+    }
+
+    // Workers pull whole lanes; the caller's tenant and principal go with them (the auditor reads the principal)
+    private void runInLanes(List<BulkOrderStatusUpdateDTO> updates, List<List<Integer>> lanes, int concurrency,
+            OrderDTO[] results, String[] errors) {
+        UUID tenantId = TenantContextHolder.getTenantId();
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+        Queue<List<Integer>> pending = new ConcurrentLinkedQueue<>(lanes);
+        AtomicReference<RuntimeException> unexpected = new AtomicReference<>();
+        int workers = Math.min(concurrency, lanes.size());
+        logger.info("Running {} status updates in {} lanes on {} workers",
+                lanes.stream().mapToInt(List::size).sum(), lanes.size(), workers);
+
+        // close() waits for every worker, which also publishes their writes to results and errors
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int w = 0; w < workers; w++) {
+                executor.execute(() -> {
+                    TenantContextHolder.setTenantId(tenantId);
+                    SecurityContextHolder.setContext(securityContext);
+                    try {
+                        List<Integer> lane;
+                        while (unexpected.get() == null && (lane = pending.poll()) != null) {
+                            for (int index : lane) {
+                                applyStatusUpdate(updates.get(index), index, results, errors);
+                            }
+                        }
+                    } catch (RuntimeException e) {
+                        // Stops the other workers after their current lane, like the loop stopped at the first one
+                        unexpected.compareAndSet(null, e);
+                    } finally {
+                        TenantContextHolder.clear();
+                        SecurityContextHolder.clearContext();
+                    }
+                });
+            }
+        }
+        if (unexpected.get() != null) {
+            throw unexpected.get();
+        }
+    }
+
     private Map<UUID, List<OrderItem>> fetchItemsMap(List<Orders> orders) {
         List<UUID> orderIds = orders.stream()
                 .map(Orders::getOrderId)
@@ -276,6 +880,46 @@ public class OrderServiceImpl implements OrderService {
                 .collect(groupingBy(item -> item.getOrder().getOrderId()));
     }
 
+    private Optional<Orders> lockOrder(LockSite site, UUID orderId) {
+        LockPolicy.Mode mode = lockPolicies.modeOf(site);
+        if (mode == LockPolicy.Mode.NOWAIT) {
+            return ordersRepository.findByIdWithLockNoWait(orderId);
+        }
+        if (mode == LockPolicy.Mode.SKIP_LOCKED) {
+            return ordersRepository.findByIdWithLockSkipLocked(orderId);
+        }
+        return ordersRepository.findByIdWithLock(orderId);
+    }
+
+    /** Reads one slice of the tenant's archived orders: (orgId, offset, limit). */
+    @FunctionalInterface
+    private interface ArchivedOrderPage {
+        List<OrderDTO> read(UUID orgId, long offset, int limit);
+    }
+
+    private Page<OrderDTO> withArchivedOrders(Page<OrderDTO> hot, Pageable pageable, ArchivedOrderPage archived) {
+        UUID orgId = TenantContextHolder.getTenantId();
+        long archivedTotal = orderArchive.countOrders(orgId);
+        if (archivedTotal == 0) {
+            return hot;
+        }
+        List<OrderDTO> content = new ArrayList<>(hot.getContent());
+        int remaining = pageable.getPageSize() - content.size();
+        if (remaining > 0) {
+            long archiveOffset = Math.max(0, pageable.getOffset() - hot.getTotalElements());
+            content.addAll(archived.read(orgId, archiveOffset, remaining));
+        }
+        return new PageImpl<>(content, pageable, hot.getTotalElements() + archivedTotal);
+    }
+
+    private OrderDTO getArchivedOrderOrThrow(UUID orderId) {
+        return orderArchive.findOrder(TenantContextHolder.getTenantId(), orderId)
+                .orElseThrow(() -> {
+                    logger.warn("Order not found in hot or archived orders: {}", orderId);
+                    return new OrderNotFoundException("Order not found: " + orderId);
+                });
+    }
+
     private Orders getOrderOrThrow(UUID orderId) {
         return ordersRepository.findById(orderId)
                 .orElseThrow(() -> {
@@ -0,0 +1,124 @@
+package com.example.ordermgmt.service.impl.order;
+
+import com.example.ordermgmt.dto.analytics.StatusDurationDayDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.query.NativeQuery;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Statements behind ORDER_STATUS_HISTORY, the append-only log of status changes.
+ * Each write is one INSERT for any number of orders, in the caller's transaction,
+ * so a change and its history row commit or roll back together. A row carries
+ * how long the order spent in the status it left, so the time-in-status report
+ * reads each transition on its own, from the (org_id, from, to, changedtimestamp)
+ * index.
+ *
+ * Writes only synchronize with the history table: they do not flush pending
+ * ORDERS changes, so a batched placement still goes out in one flush. Native
+ * SQL bypasses the tenant filter: callers pass only order ids they read through
+ * it, and the report filters on the tenant explicitly.
+ */
+@Component
+public class OrderStatusHistoryStatements {
+
+    private static final String HISTORY_TABLE = "ORDER_STATUS_HISTORY";
+
+    private static final String RECORD_PLACED = "INSERT INTO {h-schema}ORDER_STATUS_HISTORY "
+            + "(orderid, fromstatusid, tostatusid, changedtimestamp, dwellms, org_id) "
+            + "SELECT u.orderid, NULL, :toStatusId, :changedAt, NULL, :orgId "
+            + "FROM unnest(CAST(:orderIds AS uuid[])) AS u(orderid)";
+
+    // Dwell runs from the order's previous row, or from its creation if it has none
+    private static final String RECORD_TRANSITIONS = "INSERT INTO {h-schema}ORDER_STATUS_HISTORY "
+            + "(orderid, fromstatusid, tostatusid, changedtimestamp, dwellms, org_id) "
+            + "SELECT o.orderid, :fromStatusId, :toStatusId, :changedAt, "
+            + "       GREATEST(0, CAST(EXTRACT(EPOCH FROM (CAST(:changedAt AS timestamp) "
+            + "           - COALESCE(previous.changedtimestamp, o.createdtimestamp))) * 1000 AS bigint)), "
+            + "       o.org_id "
+            + "FROM {h-schema}ORDERS o "
+            + "LEFT JOIN LATERAL (SELECT h.changedtimestamp FROM {h-schema}ORDER_STATUS_HISTORY h "
+            + "      WHERE h.orderid = o.orderid ORDER BY h.changedtimestamp DESC LIMIT 1) previous ON true "
+            + "WHERE o.orderid = ANY(CAST(:orderIds AS uuid[]))";
+
+    private static final String DURATIONS_BY_DAY = "SELECT CAST(h.changedtimestamp AS date) AS changedday, "
+            + "       COUNT(*) AS transitions, "
+            + "       percentile_cont(0.5) WITHIN GROUP (ORDER BY h.dwellms) AS p50, "
+            + "       percentile_cont(0.9) WITHIN GROUP (ORDER BY h.dwellms) AS p90, "
+            + "       percentile_cont(0.95) WITHIN GROUP (ORDER BY h.dwellms) AS p95, "
+            + "       percentile_cont(0.99) WITHIN GROUP (ORDER BY h.dwellms) AS p99, "
+            + "       MAX(h.dwellms) AS maxms "
+            + "FROM {h-schema}ORDER_STATUS_HISTORY h "
+            + "WHERE h.org_id = :orgId AND h.fromstatusid = :fromStatusId AND h.tostatusid = :toStatusId "
+            + "AND h.changedtimestamp >= :start AND h.changedtimestamp < :end "
+            + "GROUP BY CAST(h.changedtimestamp AS date) "
+            + "ORDER BY changedday";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Records the placement of new orders of one tenant: NULL to
+     * {@code pendingStatusId}, no dwell.
+     */
+    public void recordPlaced(UUID orgId, List<UUID> orderIds, int pendingStatusId, LocalDateTime placedAt) {
+        entityManager.createNativeQuery(RECORD_PLACED)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(HISTORY_TABLE)
+                .setParameter("orderIds", orderIds.toArray(UUID[]::new))
+                .setParameter("toStatusId", pendingStatusId)
+                .setParameter("changedAt", placedAt)
+                .setParameter("orgId", orgId)
+                .executeUpdate();
+    }
+
+    /**
+     * Records that the orders went from {@code fromStatusId} to
+     * {@code toStatusId} at {@code changedAt}.
+     */
+    public void recordTransitions(List<UUID> orderIds, int fromStatusId, int toStatusId, LocalDateTime changedAt) {
+        entityManager.createNativeQuery(RECORD_TRANSITIONS)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(HISTORY_TABLE)
+                .setParameter("orderIds", orderIds.toArray(UUID[]::new))
+                .setParameter("fromStatusId", fromStatusId)
+                .setParameter("toStatusId", toStatusId)
+                .setParameter("changedAt", changedAt)
+                .executeUpdate();
+    }
+
+    /**
+     * Time spent in {@code fromStatusId} by the tenant's orders that went on to
+     * {@code toStatusId} between {@code start} and {@code end} (exclusive), per
+     * day of the change: count and percentiles in milliseconds.
+     */
+    public List<StatusDurationDayDTO> durationsByDay(UUID orgId, int fromStatusId, int toStatusId,
+            LocalDateTime start, LocalDateTime end) {
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager.createNativeQuery(DURATIONS_BY_DAY)
+                .unwrap(NativeQuery.class)
+                .addScalar("changedday", LocalDate.class)
+                .addScalar("transitions", Long.class)
+                .addScalar("p50", Double.class)
+                .addScalar("p90", Double.class)
+                .addScalar("p95", Double.class)
+                .addScalar("p99", Double.class)
+                .addScalar("maxms", Long.class)
+                .setParameter("orgId", orgId)
+                .setParameter("fromStatusId", fromStatusId)
+                .setParameter("toStatusId", toStatusId)
+                .setParameter("start", start)
+                .setParameter("end", end)
+                .getResultList();
+        return rows.stream()
+                .map(row -> new StatusDurationDayDTO((LocalDate) row[0], (Long) row[1],
+                        Math.round((Double) row[2]), Math.round((Double) row[3]),
+                        Math.round((Double) row[4]), Math.round((Double) row[5]), (Long) row[6]))
+                .toList();
+    }
+}
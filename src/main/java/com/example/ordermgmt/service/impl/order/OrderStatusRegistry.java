@@ -0,0 +1,67 @@
+package com.example.ordermgmt.service.impl.order;
+
+import com.example.ordermgmt.entity.OrderStatusLookup;
+import com.example.ordermgmt.enums.OrderStatus;
+import com.example.ordermgmt.repository.OrderStatusLookupRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * ORDER_STATUS_LOOKUP held in memory, so transitions resolve status entities
+ * without a query. The table is loaded at startup and reloaded only when a
+ * status is missing, which covers statuses seeded after the application started.
+ * The entities are detached and shared; callers only assign them to orders.
+ */
+@Service
+@RequiredArgsConstructor
+public class OrderStatusRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderStatusRegistry.class);
+
+    private final OrderStatusLookupRepository statusRepository;
+
+    private volatile Map<OrderStatus, OrderStatusLookup> statuses = new EnumMap<>(OrderStatus.class);
+
+    @PostConstruct
+    void loadStatuses() {
+        logger.info("Order status registry loaded: {} statuses", reload().size());
+    }
+
+    public Optional<OrderStatusLookup> find(String statusName) {
+        OrderStatus status;
+        try {
+            status = OrderStatus.valueOf(statusName);
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        return find(status);
+    }
+
+    public Optional<OrderStatusLookup> find(OrderStatus status) {
+        OrderStatusLookup lookup = statuses.get(status);
+        if (lookup == null) {
+            lookup = reload().get(status);
+        }
+        return Optional.ofNullable(lookup);
+    }
+
+    private synchronized Map<OrderStatus, OrderStatusLookup> reload() {
+        Map<OrderStatus, OrderStatusLookup> loaded = new EnumMap<>(OrderStatus.class);
+        for (OrderStatusLookup lookup : statusRepository.findAll()) {
+            try {
+                loaded.put(OrderStatus.valueOf(lookup.getStatusName()), lookup);
+            } catch (IllegalArgumentException e) {
+                logger.warn("Skipping status {} - not an order status", lookup.getStatusName());
+            }
+        }
+        statuses = loaded;
+        return loaded;
+    }
+}
@@ -1,11 +1,16 @@
 package com.example.ordermgmt.service.impl.order;
 
 import com.example.ordermgmt.dto.OrderDTO;
+import com.example.ordermgmt.entity.OrderItem;
 import com.example.ordermgmt.entity.Orders;
 import com.example.ordermgmt.entity.OrderStatusLookup;
 import com.example.ordermgmt.enums.OrderStatus;
 import com.example.ordermgmt.exception.OrderNotFoundException;
+import com.example.ordermgmt.repository.OrderItemRepository;
 import com.example.ordermgmt.repository.OrdersRepository;
+import com.example.ordermgmt.service.impl.lock.LockAcquisitionPolicies;
+import com.example.ordermgmt.service.impl.lock.LockPolicy;
+import com.example.ordermgmt.service.impl.lock.LockSite;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,13 +19,25 @@ import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.context.ApplicationEventPublisher;
 import com.example.ordermgmt.event.EmailDispatchEvent;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 /**
  * Handles individual order status transitions in an isolated transaction.
  * Uses REQUIRES_NEW propagation so that:
  * - In bulk updates, one failure doesn't roll back other orders.
- * - The auto-cancel scheduler can cancel each order independently.
+ * - The auto-cancel sweep can cancel each chunk, or each order, independently.
+ * - A set-based chunk of a bulk update commits or rolls back on its own.
+ * Row locks follow the site's {@link LockSite} policy: admin updates are bounded
+ * by a lock timeout and the scheduler skips orders someone else holds.
+ * Every change is appended to ORDER_STATUS_HISTORY in the same transaction.
+ * Allowed transitions, their stock moves and email templates come from the
+ * tenant's {@link OrderWorkflow}; status entities from {@link OrderStatusRegistry}.
  */
 @Service
 @RequiredArgsConstructor
@@ -33,6 +50,10 @@ public class OrderTransitionHelper {
         private final OrderInventoryManagerImpl orderInventoryManager;
         private final OrderMapperImpl orderMapper;
         private final ApplicationEventPublisher eventPublisher;
+        private final LockAcquisitionPolicies lockPolicies;
+        private final OrderItemRepository orderItemRepository;
+        private final OrderTransitionStatements transitionStatements;
+        private final OrderStatusHistoryStatements statusHistory;
 
         /**
          * Perform a status transition for a single order in its own transaction.
@@ -43,7 +64,9 @@ public class OrderTransitionHelper {
 
                 String newStatusName = newStatusString.trim().toUpperCase();
 
-                Orders order = ordersRepository.findByIdWithLock(orderId)
+                lockPolicies.applyTimeout(LockSite.STATUS_UPDATE);
+                Orders order = lockPolicies.acquire(LockSite.STATUS_UPDATE,
+                                () -> lockOrder(LockSite.STATUS_UPDATE, orderId))
                                 .orElseThrow(() -> {
                                         logger.warn("Skipping updateOrderInternal for Order: {} - Order not found",
                                                         orderId);
@@ -53,45 +76,44 @@ public class OrderTransitionHelper {
                 OrderStatus currentStatus = OrderStatus.valueOf(order.getStatus().getStatusName());
                 OrderStatus nextStatus = OrderStatus.valueOf(newStatusName);
 
-                orderValidator.validateAdminTransition(currentStatus, nextStatus);
+                StatusTransition transition = orderValidator.validateAdminTransition(currentStatus, nextStatus);
 
                 OrderStatusLookup nextStatusLookup = orderValidator.getStatusOrThrow(newStatusName);
-                orderInventoryManager.handleInventoryUpdate(order, currentStatus, nextStatus);
+                orderInventoryManager.handleInventoryUpdate(order, transition.inventoryAction());
 
+                statusHistory.recordTransitions(List.of(orderId), order.getStatus().getStatusId(),
+                                nextStatusLookup.getStatusId(), LocalDateTime.now());
                 order.setStatus(nextStatusLookup);
                 ordersRepository.save(order);
 
                 logger.info("updateOrderInternal completed successfully for Order: {} ({} -> {})",
                                 orderId, currentStatus, nextStatus);
 
-                eventPublisher.publishEvent(new EmailDispatchEvent(
-                                order.getCustomer().getAppUser().getEmail(),
-                                "Order Status Update: " + nextStatus.name(),
-                                "order-status",
-                                order.getCustomer().getOrgId(),
-                                java.util.Map.of(
-                                                "name", order.getCustomer().getFirstName() != null
-                                                                ? order.getCustomer().getFirstName() + (order
-                                                                                .getCustomer().getLastName() != null
-                                                                                                ? " " + order.getCustomer()
-                                                                                                                .getLastName()
-                                                                                                : "")
-                                                                : order.getCustomer().getAppUser().getEmail(),
-                                                "orderId", order.getOrderId(),
-                                                "status", nextStatus.name())));
+                publishStatusChange(order, transition);
 
                 return orderMapper.convertToDTO(order);
         }
 
         /**
-         * Cancel a stale PENDING order. Used by the auto-cancel scheduler.
-         * Double-checks that the order is still PENDING before cancelling.
+         * Cancel a stale PENDING order. Used by the auto-cancel sweep when a chunk
+         * fails. Double-checks that the order is still PENDING before cancelling.
+         * Returns whether the order was cancelled.
          */
         @Transactional(propagation = Propagation.REQUIRES_NEW)
-        public void cancelStalePendingOrder(UUID orderId) {
+        public boolean cancelStalePendingOrder(UUID orderId) {
                 logger.info("Processing cancelStalePendingOrder for Order: {}", orderId);
 
-                Orders order = ordersRepository.findByIdWithLock(orderId)
+                lockPolicies.applyTimeout(LockSite.AUTO_CANCEL);
+                Optional<Orders> locked = lockPolicies.acquire(LockSite.AUTO_CANCEL,
+                                () -> lockOrder(LockSite.AUTO_CANCEL, orderId));
+                if (locked.isEmpty() && lockPolicies.modeOf(LockSite.AUTO_CANCEL) == LockPolicy.Mode.SKIP_LOCKED) {
+                        // Held by a customer or admin right now; the next run picks it up if still PENDING
+                        lockPolicies.recordSkipped(LockSite.AUTO_CANCEL);
+                        logger.info("Skipping cancelStalePendingOrder for Order: {} - locked by another transaction",
+                                        orderId);
+                        return false;
+                }
+                Orders order = locked
                                 .orElseThrow(() -> {
                                         logger.warn("Skipping cancelStalePendingOrder for Order: {} - Order not found",
                                                         orderId);
@@ -101,22 +123,128 @@ public class OrderTransitionHelper {
                 if (!OrderStatus.PENDING.name().equals(order.getStatus().getStatusName())) {
                         logger.warn("Skipping cancelStalePendingOrder for Order: {} - no longer PENDING (current: {})",
                                         orderId, order.getStatus().getStatusName());
-                        return;
+                        return false;
                 }
 
                 OrderStatusLookup cancelledStatus = orderValidator.getStatusOrThrow(OrderStatus.CANCELLED.name());
+                StatusTransition cancellation = orderValidator.cancellationOf(OrderStatus.PENDING);
 
-                orderInventoryManager.handleInventoryUpdate(order, OrderStatus.PENDING, OrderStatus.CANCELLED);
+                orderInventoryManager.handleInventoryUpdate(order, cancellation.inventoryAction());
 
+                statusHistory.recordTransitions(List.of(orderId), order.getStatus().getStatusId(),
+                                cancelledStatus.getStatusId(), LocalDateTime.now());
                 order.setStatus(cancelledStatus);
                 ordersRepository.save(order);
 
+                publishStatusChange(order, cancellation);
+
+                logger.info("cancelStalePendingOrder completed successfully for Order: {}", orderId);
+                return true;
+        }
+
+        /**
+         * Cancel a chunk of stale PENDING orders in one transaction. Used by the
+         * auto-cancel sweep. The orders are claimed with SKIP LOCKED: those a customer
+         * or admin holds right now, or that are no longer PENDING, are left for the
+         * next run. Returns the orders that were cancelled.
+         */
+        @Transactional(propagation = Propagation.REQUIRES_NEW)
+        public List<UUID> cancelStalePendingOrders(List<UUID> orderIds) {
+                logger.info("Processing cancelStalePendingOrders for {} orders", orderIds.size());
+
+                lockPolicies.applyTimeout(LockSite.AUTO_CANCEL);
+                OrderStatusLookup pendingStatus = orderValidator.getStatusOrThrow(OrderStatus.PENDING.name());
+                OrderStatusLookup cancelledStatus = orderValidator.getStatusOrThrow(OrderStatus.CANCELLED.name());
+                StatusTransition cancellation = orderValidator.cancellationOf(OrderStatus.PENDING);
+                List<UUID> claimed = transitionStatements.claim(orderIds, pendingStatus.getStatusId());
+                if (claimed.isEmpty()) {
+                        return List.of();
+                }
+
+                LocalDateTime now = LocalDateTime.now();
+                List<Orders> orders;
+                if (orderInventoryManager.movesStockInPlace(claimed)) {
+                        // The rows are already ours: the guarded UPDATE does not wait
+                        transitionStatements.transition(claimed, pendingStatus.getStatusId(),
+                                        cancelledStatus.getStatusId(), now);
+                        orderInventoryManager.handleInventoryUpdates(claimed, cancellation.inventoryAction());
+                        orders = ordersRepository.findAllWithCustomerByOrderIdIn(claimed);
+                } else {
+                        orders = ordersRepository.findAllWithCustomerByOrderIdIn(claimed);
+                        for (Orders order : orders) {
+                                orderInventoryManager.handleInventoryUpdate(order, cancellation.inventoryAction());
+                                order.setStatus(cancelledStatus);
+                        }
+                        ordersRepository.saveAll(orders);
+                }
+                statusHistory.recordTransitions(claimed, pendingStatus.getStatusId(), cancelledStatus.getStatusId(),
+                                now);
+                orders.forEach(order -> publishStatusChange(order, cancellation));
+
+                logger.info("cancelStalePendingOrders completed successfully: {} of {} orders",
+                                claimed.size(), orderIds.size());
+                return claimed;
+        }
+
+        /**
+         * Set-based transition of a group of orders that all go from
+         * {@code currentStatus} to {@code nextStatus}, in one transaction: one guarded
+         * UPDATE of the orders, one aggregated stock move when the transition changes
+         * stock, then the same emails and DTOs as {@link #updateOrderInternal}.
+         * Returns the orders that were moved, by ID; orders missing from the result
+         * were no longer in {@code currentStatus}, or have engine-routed stock, and
+         * are left untouched for the per-order path.
+         */
+        @Transactional(propagation = Propagation.REQUIRES_NEW)
+        public Map<UUID, OrderDTO> updateOrdersInternal(List<UUID> orderIds, OrderStatus currentStatus,
+                        OrderStatus nextStatus) {
+                logger.info("Processing updateOrdersInternal for {} orders ({} -> {})",
+                                orderIds.size(), currentStatus, nextStatus);
+
+                StatusTransition transition = orderValidator.validateAdminTransition(currentStatus, nextStatus);
+                boolean movesStock = transition.inventoryAction().movesStock();
+                if (movesStock && !orderInventoryManager.movesStockInPlace(orderIds)) {
+                        logger.info("Skipping updateOrdersInternal for {} orders - engine-routed stock", orderIds.size());
+                        return Map.of();
+                }
+
+                lockPolicies.applyTimeout(LockSite.STATUS_UPDATE);
+                OrderStatusLookup currentLookup = orderValidator.getStatusOrThrow(currentStatus.name());
+                OrderStatusLookup nextLookup = orderValidator.getStatusOrThrow(nextStatus.name());
+                LocalDateTime now = LocalDateTime.now();
+                List<UUID> moved = transitionStatements.transition(orderIds, currentLookup.getStatusId(),
+                                nextLookup.getStatusId(), now);
+                if (moved.isEmpty()) {
+                        return Map.of();
+                }
+                // One history insert for the whole group, in the same transaction
+                statusHistory.recordTransitions(moved, currentLookup.getStatusId(), nextLookup.getStatusId(), now);
+                if (movesStock) {
+                        orderInventoryManager.handleInventoryUpdates(moved, transition.inventoryAction());
+                }
+
+                // Loaded after the UPDATE, so the entities carry the new status
+                Map<UUID, List<OrderItem>> itemsByOrderId = orderItemRepository.findByOrderOrderIdIn(moved).stream()
+                                .collect(Collectors.groupingBy(item -> item.getOrder().getOrderId()));
+                Map<UUID, OrderDTO> results = new HashMap<>();
+                for (Orders order : ordersRepository.findAllWithCustomerByOrderIdIn(moved)) {
+                        publishStatusChange(order, transition);
+                        results.put(order.getOrderId(), orderMapper.convertToDTO(order, itemsByOrderId));
+                }
+
+                logger.info("updateOrdersInternal completed successfully: {} of {} orders ({} -> {})",
+                                moved.size(), orderIds.size(), currentStatus, nextStatus);
+                return results;
+        }
+
+        private void publishStatusChange(Orders order, StatusTransition transition) {
+                OrderStatus status = transition.to();
                 eventPublisher.publishEvent(new EmailDispatchEvent(
                                 order.getCustomer().getAppUser().getEmail(),
-                                "Order Status Update: " + OrderStatus.CANCELLED.name(),
-                                "order-status",
+                                "Order Status Update: " + status.name(),
+                                transition.template(),
                                 order.getCustomer().getOrgId(),
-                                java.util.Map.of(
+                                Map.of(
                                                 "name", order.getCustomer().getFirstName() != null
                                                                 ? order.getCustomer().getFirstName() + (order
                                                                                 .getCustomer().getLastName() != null
@@ -125,8 +253,17 @@ public class OrderTransitionHelper {
                                                                                                 : "")
                                                                 : order.getCustomer().getAppUser().getEmail(),
                                                 "orderId", order.getOrderId(),
-                                                "status", OrderStatus.CANCELLED.name())));
+                                                "status", status.name())));
+        }
 
-                logger.info("cancelStalePendingOrder completed successfully for Order: {}", orderId);
+        private Optional<Orders> lockOrder(LockSite site, UUID orderId) {
+                LockPolicy.Mode mode = lockPolicies.modeOf(site);
+                if (mode == LockPolicy.Mode.NOWAIT) {
+                        return ordersRepository.findByIdWithLockNoWait(orderId);
+                }
+                if (mode == LockPolicy.Mode.SKIP_LOCKED) {
+                        return ordersRepository.findByIdWithLockSkipLocked(orderId);
+                }
+                return ordersRepository.findByIdWithLock(orderId);
         }
 }
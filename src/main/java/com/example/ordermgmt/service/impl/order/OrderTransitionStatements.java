@@ -0,0 +1,135 @@
+package com.example.ordermgmt.service.impl.order;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.query.NativeQuery;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Set-based statements behind status transitions: one guarded UPDATE moves a whole
+ * group of orders from one status to the next, and one guarded UPDATE applies the
+ * summed per-item stock deltas. Rows are locked in key order by a FOR UPDATE
+ * subquery, the same order the per-order path locks them in. All statements run in
+ * the caller's transaction, so the site's lock timeout applies.
+ *
+ * Native SQL bypasses the tenant filter: callers pass only order ids they read
+ * through it.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderTransitionStatements {
+
+    private static final String TRANSITION = "UPDATE {h-schema}ORDERS o "
+            + "SET statusid = :nextStatusId, updatedtimestamp = :now, updatedby = :auditor "
+            + "FROM (SELECT orderid FROM {h-schema}ORDERS "
+            + "      WHERE orderid = ANY(CAST(:orderIds AS uuid[])) AND statusid = :expectedStatusId "
+            + "      ORDER BY orderid FOR UPDATE) locked "
+            + "WHERE o.orderid = locked.orderid "
+            + "RETURNING o.orderid";
+
+    private static final String CLAIM = "SELECT orderid FROM {h-schema}ORDERS "
+            + "WHERE orderid = ANY(CAST(:orderIds AS uuid[])) AND statusid = :expectedStatusId "
+            + "ORDER BY orderid FOR UPDATE SKIP LOCKED";
+
+    private static final String SUM_LINES = "SELECT itemid, CAST(SUM(quantity) AS integer) AS quantity "
+            + "FROM {h-schema}ORDER_ITEM WHERE orderid = ANY(CAST(:orderIds AS uuid[])) GROUP BY itemid";
+
+    // The reservedstock guard is the invariant check: an item it rejects is missing from the result
+    private static final String MOVE_RESERVED = "UPDATE {h-schema}INVENTORY_ITEM i "
+            + "SET reservedstock = i.reservedstock - d.quantity, "
+            + "    availablestock = i.availablestock "
+            + "        + CASE WHEN CAST(:restoreAvailable AS boolean) THEN d.quantity ELSE 0 END, "
+            + "    version = COALESCE(i.version, 0) + 1 "
+            + "FROM (SELECT l.itemid, u.quantity "
+            + "      FROM {h-schema}INVENTORY_ITEM l "
+            + "      JOIN unnest(CAST(:itemIds AS uuid[]), CAST(:quantities AS integer[])) AS u(itemid, quantity) "
+            + "        ON u.itemid = l.itemid "
+            + "      ORDER BY l.itemid FOR UPDATE OF l) d "
+            + "WHERE i.itemid = d.itemid AND i.reservedstock >= d.quantity "
+            + "RETURNING i.itemid";
+
+    private final AuditorAware<String> auditorAware;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * {@code UPDATE ... WHERE orderid = ANY(:ids) AND statusid = :expected RETURNING orderid}.
+     * Orders that are no longer in the expected status are left alone and missing
+     * from the result.
+     */
+    public List<UUID> transition(List<UUID> orderIds, int expectedStatusId, int nextStatusId, LocalDateTime now) {
+        @SuppressWarnings("unchecked")
+        List<UUID> moved = entityManager.createNativeQuery(TRANSITION)
+                .unwrap(NativeQuery.class)
+                .addScalar("orderid", UUID.class)
+                .setParameter("orderIds", orderIds.toArray(UUID[]::new))
+                .setParameter("expectedStatusId", expectedStatusId)
+                .setParameter("nextStatusId", nextStatusId)
+                .setParameter("now", now)
+                .setParameter("auditor", auditorAware.getCurrentAuditor().orElse("SYSTEM"))
+                .getResultList();
+        return moved;
+    }
+
+    /**
+     * Locks the orders still in the expected status and returns them. Orders another
+     * transaction holds are skipped rather than waited for, and are missing from the
+     * result, as are orders that moved on.
+     */
+    public List<UUID> claim(List<UUID> orderIds, int expectedStatusId) {
+        @SuppressWarnings("unchecked")
+        List<UUID> claimed = entityManager.createNativeQuery(CLAIM)
+                .unwrap(NativeQuery.class)
+                .addScalar("orderid", UUID.class)
+                .setParameter("orderIds", orderIds.toArray(UUID[]::new))
+                .setParameter("expectedStatusId", expectedStatusId)
+                .getResultList();
+        return claimed;
+    }
+
+    /**
+     * Line quantities of the orders summed per item, in itemId order.
+     */
+    public Map<UUID, Integer> sumLineQuantities(List<UUID> orderIds) {
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager.createNativeQuery(SUM_LINES)
+                .unwrap(NativeQuery.class)
+                .addScalar("itemid", UUID.class)
+                .addScalar("quantity", Integer.class)
+                .setParameter("orderIds", orderIds.toArray(UUID[]::new))
+                .getResultList();
+        Map<UUID, Integer> quantities = new TreeMap<>();
+        rows.forEach(row -> quantities.put((UUID) row[0], (Integer) row[1]));
+        return quantities;
+    }
+
+    /**
+     * Takes each quantity off the item's reserved stock and, when
+     * {@code restoreAvailable}, puts it back into available stock. Returns the
+     * items that were changed; an item without enough reserved stock is not.
+     */
+    public List<UUID> moveReservedStock(Map<UUID, Integer> quantityByItem, boolean restoreAvailable) {
+        List<UUID> itemIds = new ArrayList<>(quantityByItem.keySet());
+        Integer[] quantities = itemIds.stream().map(quantityByItem::get).toArray(Integer[]::new);
+
+        @SuppressWarnings("unchecked")
+        List<UUID> moved = entityManager.createNativeQuery(MOVE_RESERVED)
+                .unwrap(NativeQuery.class)
+                .addScalar("itemid", UUID.class)
+                .setParameter("itemIds", itemIds.toArray(UUID[]::new))
+                .setParameter("quantities", quantities)
+                .setParameter("restoreAvailable", restoreAvailable)
+                .getResultList();
+        return moved;
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.ordermgmt.service.impl.order;
 
+import com.example.ordermgmt.dto.OrderDTO;
+import com.example.ordermgmt.dto.OrderItemDTO;
 import com.example.ordermgmt.entity.Customer;
 import com.example.ordermgmt.entity.Orders;
 import com.example.ordermgmt.entity.OrderStatusLookup;
@@ -7,26 +9,43 @@ import com.example.ordermgmt.enums.OrderStatus;
 import com.example.ordermgmt.exception.InvalidOperationException;
 import com.example.ordermgmt.exception.InvalidOrderTransitionException;
 import com.example.ordermgmt.repository.CustomerRepository;
-import com.example.ordermgmt.repository.OrderStatusLookupRepository;
+import com.example.ordermgmt.security.UserPrincipal;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
 @Service
 @RequiredArgsConstructor
 public class OrderValidatorImpl {
 
     private static final Logger logger = LoggerFactory.getLogger(OrderValidatorImpl.class);
     private final CustomerRepository customerRepository;
-    private final OrderStatusLookupRepository statusRepository;
+    private final OrderStatusRegistry statusRegistry;
+    private final OrderWorkflowRegistry workflows;
 
     public Customer validateAndGetCustomer(String email) {
-        return customerRepository.findByAppUserEmail(email)
-                .orElseThrow(() -> {
-                    logger.error("Customer not found for email: {}", email);
-                    return new InvalidOperationException("Customer not found for email: " + email);
-                });
+        // The token's customer_id claim turns the email join into a key lookup
+        UUID customerId = UserPrincipal.customerIdFor(email);
+        Optional<Customer> customer = customerId != null
+                ? customerRepository.findById(customerId)
+                : customerRepository.findByAppUserEmail(email);
+        return customer.orElseThrow(() -> {
+            logger.error("Customer not found for email: {}", email);
+            return new InvalidOperationException("Customer not found for email: " + email);
+        });
+    }
+
+    // From the token when it carries the claim, so the customer row is not read
+    public UUID customerIdOf(String email) {
+        UUID customerId = UserPrincipal.customerIdFor(email);
+        return customerId != null ? customerId : validateAndGetCustomer(email).getCustomerId();
     }
 
     public void validateCustomerProfile(Customer customer) {
@@ -36,7 +55,32 @@ public class OrderValidatorImpl {
         }
     }
 
+    /**
+     * Each item at most once per order: ORDER_ITEM is keyed by (orderId, itemId),
+     * so a repeated item would only fail later, on the line insert.
+     */
+    public void validateOrderItems(List<OrderItemDTO> items) {
+        Set<UUID> seen = new HashSet<>();
+        for (OrderItemDTO item : items) {
+            if (item.getItemId() != null && !seen.add(item.getItemId())) {
+                logger.warn("Item {} requested more than once in one order", item.getItemId());
+                throw new InvalidOperationException(
+                        "Item " + item.getItemId() + " appears more than once in the order");
+            }
+        }
+    }
+
     public void validateOrderOwnership(Orders order, String email) {
+        UUID customerId = UserPrincipal.customerIdFor(email);
+        if (customerId != null) {
+            // Compares the order's foreign key; the customer and user rows are not loaded
+            if (!customerId.equals(order.getCustomer().getCustomerId())) {
+                logger.warn("Access denied! User [{}] is not owner of order [{}]", email, order.getOrderId());
+                throw new InvalidOperationException(
+                        "Access denied for user: " + email + " on order: " + order.getOrderId());
+            }
+            return;
+        }
         if (order.getCustomer().getAppUser().getEmail() == null ||
                 !order.getCustomer().getAppUser().getEmail().trim().equalsIgnoreCase(email.trim())) {
             logger.warn("Access denied! User [{}] is not owner of order [{}]", email, order.getOrderId());
@@ -45,6 +89,18 @@ public class OrderValidatorImpl {
         }
     }
 
+    /**
+     * Ownership of an archived order, which is read as a DTO: the caller's
+     * customer ID against the order's.
+     */
+    public void validateArchivedOrderOwnership(OrderDTO order, String email) {
+        if (!customerIdOf(email).equals(order.getCustomerId())) {
+            logger.warn("Access denied! User [{}] is not owner of order [{}]", email, order.getOrderId());
+            throw new InvalidOperationException(
+                    "Access denied for user: " + email + " on order: " + order.getOrderId());
+        }
+    }
+
     public void validateOrderCancellation(Orders order) {
         String currentStatus = order.getStatus().getStatusName();
         if (!OrderStatus.PENDING.name().equalsIgnoreCase(currentStatus.trim())) {
@@ -54,38 +110,25 @@ public class OrderValidatorImpl {
         }
     }
 
-    public void validateAdminTransition(OrderStatus current, OrderStatus next) {
-        boolean valid = false;
-
-        switch (current) {
-            case PENDING:
-                if (next == OrderStatus.CONFIRMED || next == OrderStatus.CANCELLED)
-                    valid = true;
-                break;
-            case CONFIRMED:
-                if (next == OrderStatus.PROCESSING || next == OrderStatus.CANCELLED)
-                    valid = true;
-                break;
-            case PROCESSING:
-                if (next == OrderStatus.SHIPPED || next == OrderStatus.CANCELLED)
-                    valid = true;
-                break;
-            case SHIPPED:
-                if (next == OrderStatus.DELIVERED)
-                    valid = true;
-                break;
-            default:
-                break;
-        }
-
-        if (!valid) {
+    /**
+     * The current tenant's workflow edge from {@code current} to {@code next};
+     * throws if the workflow does not allow it.
+     */
+    public StatusTransition validateAdminTransition(OrderStatus current, OrderStatus next) {
+        StatusTransition transition = workflows.workflow().transition(current, next);
+        if (transition == null) {
             logger.warn("Invalid status transition from {} to {}", current, next);
             throw new InvalidOrderTransitionException("Invalid transition from " + current + " to " + next);
         }
+        return transition;
+    }
+
+    public StatusTransition cancellationOf(OrderStatus current) {
+        return workflows.cancellation(current);
     }
 
     public OrderStatusLookup getStatusOrThrow(String statusName) {
-        return statusRepository.findByStatusName(statusName)
+        return statusRegistry.find(statusName)
                 .orElseThrow(() -> {
                     logger.error("Status not found: {}", statusName);
                     return new InvalidOperationException("Status config missing: " + statusName);
@@ -0,0 +1,126 @@
+package com.example.ordermgmt.service.impl.order;
+
+import com.example.ordermgmt.enums.OrderStatus;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Transition matrix of an order workflow, compiled once: a lookup is two
+ * {@link EnumMap} reads. Built from a spec of comma-separated entries
+ * {@code FROM>TO[:ACTION[:template]]}, e.g. {@code SHIPPED>DELIVERED:FULFIL};
+ * the action defaults to NONE and the template to {@value #DEFAULT_TEMPLATE}.
+ */
+public final class OrderWorkflow {
+
+    public static final String DEFAULT_TEMPLATE = "order-status";
+
+    public static final String DEFAULT_SPEC = "PENDING>CONFIRMED,PENDING>CANCELLED:RELEASE,"
+            + "CONFIRMED>PROCESSING,CONFIRMED>CANCELLED:RELEASE,"
+            + "PROCESSING>SHIPPED,PROCESSING>CANCELLED:RELEASE,"
+            + "SHIPPED>DELIVERED:FULFIL";
+
+    /**
+     * Statuses an order never leaves: their stock is already released or
+     * fulfilled, and no {@link InventoryAction} reserves it again.
+     */
+    public static final Set<OrderStatus> TERMINAL = Collections.unmodifiableSet(
+            EnumSet.of(OrderStatus.DELIVERED, OrderStatus.CANCELLED));
+
+    public static final OrderWorkflow DEFAULT = parse(DEFAULT_SPEC);
+
+    private final Map<OrderStatus, Map<OrderStatus, StatusTransition>> matrix;
+    private final int size;
+
+    private OrderWorkflow(Map<OrderStatus, Map<OrderStatus, StatusTransition>> matrix, int size) {
+        this.matrix = matrix;
+        this.size = size;
+    }
+
+    /**
+     * Compile a spec. Unknown statuses or actions, self-transitions, transitions
+     * out of a {@link #TERMINAL} status and duplicate entries are rejected with
+     * {@link IllegalArgumentException}.
+     */
+    public static OrderWorkflow parse(String spec) {
+        Map<OrderStatus, Map<OrderStatus, StatusTransition>> matrix = new EnumMap<>(OrderStatus.class);
+        int size = 0;
+        for (String entry : spec.split(",")) {
+            String trimmed = entry.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            String[] parts = trimmed.split(":", -1);
+            String[] statuses = parts[0].split(">", -1);
+            if (statuses.length != 2 || parts.length > 3) {
+                throw new IllegalArgumentException("Invalid workflow entry: " + trimmed);
+            }
+            OrderStatus from = parseEnum(OrderStatus.class, statuses[0], trimmed);
+            OrderStatus to = parseEnum(OrderStatus.class, statuses[1], trimmed);
+            if (from == to) {
+                throw new IllegalArgumentException("Workflow entry goes nowhere: " + trimmed);
+            }
+            if (TERMINAL.contains(from)) {
+                // Reopening would let a later cancel release the same stock twice
+                throw new IllegalArgumentException("Workflow entry leaves terminal status " + from + ": " + trimmed);
+            }
+            InventoryAction action = parts.length > 1 && !parts[1].isBlank()
+                    ? parseEnum(InventoryAction.class, parts[1], trimmed)
+                    : InventoryAction.NONE;
+            String template = parts.length > 2 && !parts[2].isBlank() ? parts[2].trim() : DEFAULT_TEMPLATE;
+
+            StatusTransition previous = matrix.computeIfAbsent(from, status -> new EnumMap<>(OrderStatus.class))
+                    .put(to, new StatusTransition(from, to, action, template));
+            if (previous != null) {
+                throw new IllegalArgumentException("Duplicate workflow entry: " + trimmed);
+            }
+            size++;
+        }
+        return new OrderWorkflow(matrix, size);
+    }
+
+    /**
+     * The transition from {@code from} to {@code to}, or null if the workflow does
+     * not allow it.
+     */
+    public StatusTransition transition(OrderStatus from, OrderStatus to) {
+        Map<OrderStatus, StatusTransition> targets = matrix.get(from);
+        return targets == null ? null : targets.get(to);
+    }
+
+    public Set<String> templates() {
+        Set<String> templates = new TreeSet<>();
+        matrix.values().forEach(targets -> targets.values().forEach(t -> templates.add(t.template())));
+        return Collections.unmodifiableSet(templates);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder spec = new StringBuilder();
+        matrix.values().forEach(targets -> targets.values().forEach(t -> {
+            if (!spec.isEmpty()) {
+                spec.append(',');
+            }
+            spec.append(t.from()).append('>').append(t.to()).append(':').append(t.inventoryAction())
+                    .append(':').append(t.template());
+        }));
+        return spec.toString();
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value, String entry) {
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown " + type.getSimpleName() + " '" + value.trim()
+                    + "' in workflow entry: " + entry, e);
+        }
+    }
+}
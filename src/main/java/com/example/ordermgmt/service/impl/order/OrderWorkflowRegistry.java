@@ -0,0 +1,85 @@
+package com.example.ordermgmt.service.impl.order;
+
+import com.example.ordermgmt.enums.OrderStatus;
+import com.example.ordermgmt.security.TenantContextHolder;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Order workflows, compiled once at startup: the default one from
+ * {@code app.order.workflow.transitions} and a full replacement per tenant from
+ * {@code app.order.workflow.tenants.<orgId>}. Every email template a workflow
+ * names must exist, so a typo fails startup instead of a customer notification.
+ */
+@Service
+@RequiredArgsConstructor
+public class OrderWorkflowRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderWorkflowRegistry.class);
+
+    private final Environment environment;
+
+    private OrderWorkflow defaultWorkflow = OrderWorkflow.DEFAULT;
+    private Map<UUID, OrderWorkflow> tenantWorkflows = Map.of();
+
+    @PostConstruct
+    void loadWorkflows() {
+        defaultWorkflow = compile("default",
+                environment.getProperty("app.order.workflow.transitions", OrderWorkflow.DEFAULT_SPEC));
+        Map<String, String> specs = Binder.get(environment)
+                .bind("app.order.workflow.tenants", Bindable.mapOf(String.class, String.class))
+                .orElse(Map.of());
+        Map<UUID, OrderWorkflow> workflows = new HashMap<>();
+        specs.forEach((orgId, spec) -> workflows.put(UUID.fromString(orgId), compile("tenant " + orgId, spec)));
+        tenantWorkflows = Map.copyOf(workflows);
+    }
+
+    /**
+     * Workflow of the current tenant, or the default one.
+     */
+    public OrderWorkflow workflow() {
+        return workflowOf(TenantContextHolder.getTenantId());
+    }
+
+    public OrderWorkflow workflowOf(UUID orgId) {
+        return orgId == null ? defaultWorkflow : tenantWorkflows.getOrDefault(orgId, defaultWorkflow);
+    }
+
+    /**
+     * Cancellation the system applies on its own (customer cancel, auto-cancel):
+     * the current tenant's edge into CANCELLED if it has one, otherwise the
+     * default workflow's, otherwise a plain release of the reservation.
+     */
+    public StatusTransition cancellation(OrderStatus from) {
+        StatusTransition transition = workflow().transition(from, OrderStatus.CANCELLED);
+        if (transition == null) {
+            transition = defaultWorkflow.transition(from, OrderStatus.CANCELLED);
+        }
+        return transition != null ? transition
+                : new StatusTransition(from, OrderStatus.CANCELLED, InventoryAction.RELEASE,
+                        OrderWorkflow.DEFAULT_TEMPLATE);
+    }
+
+    private static OrderWorkflow compile(String name, String spec) {
+        OrderWorkflow workflow = OrderWorkflow.parse(spec);
+        for (String template : workflow.templates()) {
+            if (!new ClassPathResource("templates/emails/" + template + ".html").exists()) {
+                throw new IllegalStateException("Order workflow " + name + " names a missing email template: "
+                        + template);
+            }
+        }
+        logger.info("Order workflow {}: {}", name, workflow);
+        return workflow;
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.ordermgmt.service.impl.order;
+
+import com.example.ordermgmt.security.TenantContextHolder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Per-tenant snapshot of price timelines (itemId to {@link PriceTimeline}) for
+ * order placement, filled lazily on the first lookup of each item so the hot
+ * path does not query PRICING_HISTORY once per line. Timelines include
+ * future-dated prices, which take effect without invalidating anything.
+ *
+ * Consistency across nodes rests on a per-tenant price epoch in Redis. An
+ * admin price change marks the tenant pending and advances the epoch right
+ * before its commit, and clears the mark and advances the epoch again once the
+ * commit completed ({@code redis/price-epoch.lua}). Each order reads epoch and
+ * mark once, in {@link #open}: while a change is pending every lookup goes to
+ * the database and nothing is cached, and a snapshot built under another epoch
+ * is thrown away. So no order that starts after a price change committed is
+ * priced from a snapshot taken before it, on any node. If Redis cannot be read
+ * the lookups go to the database; if the epoch cannot be advanced the price
+ * change is rolled back.
+ */
+@Component
+@RequiredArgsConstructor
+public class PriceSnapshotCache {
+
+    public static final String EPOCH_KEY_PREFIX = "price:epoch:";
+    public static final String PENDING_KEY_PREFIX = "price:pending:";
+
+    private static final Logger logger = LoggerFactory.getLogger(PriceSnapshotCache.class);
+
+    private static final RedisScript<Long> EPOCH_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/price-epoch.lua"), Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.pricing.snapshot-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.pricing.snapshot-cache.pending-ttl-seconds:30}")
+    private long pendingTtlSeconds;
+
+    private final Map<UUID, TenantSnapshot> snapshots = new ConcurrentHashMap<>();
+    private Counter hits;
+    private Counter misses;
+    private Counter bypassed;
+
+    /**
+     * Timeline lookups for one order. The loader builds a timeline from the
+     * database and is only called on a miss.
+     */
+    @FunctionalInterface
+    public interface Prices {
+
+        Prices DIRECT = (itemId, loader) -> loader.apply(itemId);
+
+        PriceTimeline timeline(UUID itemId, Function<UUID, PriceTimeline> loader);
+    }
+
+    @PostConstruct
+    void init() {
+        hits = meterRegistry.counter("price.snapshot.lookups", "result", "hit");
+        misses = meterRegistry.counter("price.snapshot.lookups", "result", "miss");
+        bypassed = meterRegistry.counter("price.snapshot.lookups", "result", "bypass");
+        Gauge.builder("price.snapshot.entries", snapshots,
+                s -> s.values().stream().mapToInt(snapshot -> snapshot.timelines.size()).sum())
+                .description("Item timelines held in the snapshots of all tenants")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Validate the current tenant's snapshot against the price epoch and return
+     * the lookups to use for one order.
+     */
+    public Prices open() {
+        if (!enabled) {
+            return Prices.DIRECT;
+        }
+        UUID tenantId = currentTenant();
+        List<String> state;
+        try {
+            state = redisTemplate.opsForValue()
+                    .multiGet(List.of(EPOCH_KEY_PREFIX + tenantId, PENDING_KEY_PREFIX + tenantId));
+        } catch (DataAccessException e) {
+            logger.warn("Price epoch unavailable, pricing from the database: {}", e.getMessage());
+            return bypass();
+        }
+        if (state == null || parse(state.get(1)) > 0) {
+            return bypass();
+        }
+        long epoch = parse(state.get(0));
+        TenantSnapshot snapshot = snapshots.compute(tenantId,
+                (id, current) -> current != null && current.epoch == epoch ? current : new TenantSnapshot(epoch));
+        return (itemId, loader) -> {
+            PriceTimeline cached = snapshot.timelines.get(itemId);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+            misses.increment();
+            PriceTimeline timeline = loader.apply(itemId);
+            snapshot.timelines.putIfAbsent(itemId, timeline);
+            return timeline;
+        };
+    }
+
+    /**
+     * Invalidate the current tenant's snapshots on every node when the
+     * surrounding transaction commits. Call from inside the price change.
+     */
+    public void invalidateOnCommit() {
+        if (!enabled) {
+            return;
+        }
+        UUID tenantId = currentTenant();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            advance(tenantId, "bump");
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean begun;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                try {
+                    advance(tenantId, "begin");
+                } catch (DataAccessException e) {
+                    logger.error("Price change for tenant {} aborted: price epoch could not be advanced",
+                            tenantId, e);
+                    throw e;
+                }
+                begun = true;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (!begun) {
+                    return;
+                }
+                try {
+                    advance(tenantId, "end");
+                } catch (DataAccessException e) {
+                    logger.error("Price epoch for tenant {} not released, lookups bypass the cache for {}s",
+                            tenantId, pendingTtlSeconds, e);
+                }
+            }
+        });
+    }
+
+    private void advance(UUID tenantId, String phase) {
+        snapshots.remove(tenantId);
+        Long epoch = redisTemplate.execute(EPOCH_SCRIPT,
+                List.of(EPOCH_KEY_PREFIX + tenantId, PENDING_KEY_PREFIX + tenantId),
+                phase, String.valueOf(pendingTtlSeconds));
+        logger.debug("Price epoch for tenant {} advanced to {} ({})", tenantId, epoch, phase);
+    }
+
+    private Prices bypass() {
+        return (itemId, loader) -> {
+            bypassed.increment();
+            return loader.apply(itemId);
+        };
+    }
+
+    private UUID currentTenant() {
+        UUID tenantId = TenantContextHolder.getTenantId();
+        return tenantId != null ? tenantId : TenantContextHolder.ROOT_TENANT_ID;
+    }
+
+    private static long parse(String value) {
+        return value == null ? 0 : Long.parseLong(value);
+    }
+
+    private static final class TenantSnapshot {
+        private final long epoch;
+        private final Map<UUID, PriceTimeline> timelines = new ConcurrentHashMap<>();
+
+        private TenantSnapshot(long epoch) {
+            this.epoch = epoch;
+        }
+    }
+}
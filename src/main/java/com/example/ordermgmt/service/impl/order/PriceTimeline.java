@@ -0,0 +1,106 @@
+package com.example.ordermgmt.service.impl.order;
+
+import com.example.ordermgmt.entity.PricingCatalog;
+import com.example.ordermgmt.entity.PricingHistory;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * An item's prices over time: parallel arrays of effectiveFrom instants
+ * (ascending) and prices, built from its PRICING_HISTORY rows. The price at an
+ * instant is the last entry effective at or before it, found by binary search.
+ * Future-dated rows are part of the timeline, so a scheduled price change
+ * applies the moment it becomes effective without reloading anything.
+ *
+ * Immutable; a price change replaces the timeline (see {@link PriceSnapshotCache}).
+ */
+public final class PriceTimeline {
+
+    public record Entry(LocalDateTime effectiveFrom, BigDecimal price) {
+    }
+
+    private static final PriceTimeline EMPTY = new PriceTimeline(new LocalDateTime[0], new BigDecimal[0]);
+
+    private static final Comparator<PricingHistory> EFFECTIVE_ORDER = Comparator
+            .comparing(PricingHistory::getEffectiveFrom, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(PricingHistory::getCreatedTimestamp, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final LocalDateTime[] effectiveFrom;
+    private final BigDecimal[] prices;
+
+    private PriceTimeline(LocalDateTime[] effectiveFrom, BigDecimal[] prices) {
+        this.effectiveFrom = effectiveFrom;
+        this.prices = prices;
+    }
+
+    /**
+     * Timeline from the item's history rows; without history, the catalog
+     * price (if any) applies at every instant.
+     */
+    public static PriceTimeline of(List<PricingHistory> history, PricingCatalog catalog) {
+        if (history.isEmpty()) {
+            return catalog != null && catalog.getUnitPrice() != null ? constant(catalog.getUnitPrice()) : EMPTY;
+        }
+        List<PricingHistory> sorted = new ArrayList<>(history);
+        sorted.sort(EFFECTIVE_ORDER);
+        List<LocalDateTime> instants = new ArrayList<>(sorted.size());
+        List<BigDecimal> values = new ArrayList<>(sorted.size());
+        for (PricingHistory row : sorted) {
+            LocalDateTime from = row.getEffectiveFrom() != null ? row.getEffectiveFrom() : LocalDateTime.MIN;
+            int last = instants.size() - 1;
+            if (last >= 0 && instants.get(last).equals(from)) {
+                // Same effective instant: the row recorded last wins
+                values.set(last, row.getNewPrice());
+            } else {
+                instants.add(from);
+                values.add(row.getNewPrice());
+            }
+        }
+        return new PriceTimeline(instants.toArray(new LocalDateTime[0]), values.toArray(new BigDecimal[0]));
+    }
+
+    public static PriceTimeline constant(BigDecimal price) {
+        return new PriceTimeline(new LocalDateTime[] { LocalDateTime.MIN }, new BigDecimal[] { price });
+    }
+
+    public boolean isEmpty() {
+        return prices.length == 0;
+    }
+
+    public int size() {
+        return prices.length;
+    }
+
+    /**
+     * Price in effect at the instant, or null if none was effective yet.
+     */
+    public BigDecimal priceAt(LocalDateTime instant) {
+        int index = indexAt(instant);
+        return index < 0 ? null : prices[index];
+    }
+
+    public Optional<Entry> entryAt(LocalDateTime instant) {
+        int index = indexAt(instant);
+        return index < 0 ? Optional.empty() : Optional.of(new Entry(effectiveFrom[index], prices[index]));
+    }
+
+    // Index of the last entry effective at or before the instant, -1 if none
+    private int indexAt(LocalDateTime instant) {
+        int low = 0;
+        int high = effectiveFrom.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (effectiveFrom[mid].isAfter(instant)) {
+                high = mid - 1;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return high;
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.ordermgmt.service.impl.order;
+
+import com.example.ordermgmt.entity.InventoryItem;
+import com.example.ordermgmt.exception.InvalidOperationException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Reservation engine backed by in-JVM single-writer shards. Item IDs hash to a
+ * fixed set of {@link InventoryShard}s; each shard group-commits whatever
+ * reservations queued up for its items, so request threads no longer queue on
+ * Postgres row locks.
+ *
+ * Shards commit on their own, outside the order transaction, so an order is
+ * placed with a two-phase protocol:
+ * <ol>
+ * <li>Reserve: the order is split per shard and every part is submitted at
+ * once. Each part commits or is rejected as a whole in its shard's next batch.</li>
+ * <li>Complete: if any part was rejected, the committed parts are released and
+ * the first rejection is thrown. Otherwise the outcome follows the order
+ * transaction: a rollback releases every part.</li>
+ * </ol>
+ * A crash between the two phases leaves the parts reserved without an order;
+ * such stock shows up as reserved stock no open order accounts for.
+ *
+ * Releases and fulfilments run inside the order transaction as guarded
+ * UPDATEs, as in the conditional engine. The engine and its shard threads only
+ * exist when {@code app.inventory.reservation-engine=sharded}.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.inventory.reservation-engine", havingValue = ShardedStockReservationEngine.NAME)
+public class ShardedStockReservationEngine implements OrderLevelReservationEngine {
+
+    public static final String NAME = "sharded";
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardedStockReservationEngine.class);
+
+    private final InventoryShardWriter writer;
+    private final ConditionalStockReservationEngine conditionalEngine;
+
+    @Value("${app.inventory.sharding.shards:8}")
+    private int shardCount;
+
+    @Value("${app.inventory.sharding.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${app.inventory.sharding.max-batch:256}")
+    private int maxBatch;
+
+    @Value("${app.inventory.sharding.timeout-ms:5000}")
+    private long timeoutMs;
+
+    private final List<InventoryShard> shards = new ArrayList<>();
+
+    @PostConstruct
+    void startShards() {
+        for (int i = 0; i < shardCount; i++) {
+            InventoryShard shard = new InventoryShard(i, queueCapacity, maxBatch, writer);
+            shard.start();
+            shards.add(shard);
+        }
+        logger.info("Started {} inventory shards (max batch {})", shardCount, maxBatch);
+    }
+
+    @PreDestroy
+    void stopShards() throws InterruptedException {
+        for (InventoryShard shard : shards) {
+            shard.stop();
+        }
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void reserve(InventoryItem item, int quantity) {
+        reserveAll(Map.of(item.getItemId(), quantity));
+    }
+
+    @Override
+    public void reserveAll(Map<UUID, Integer> quantities) {
+        Map<Integer, Map<UUID, Integer>> byShard = new TreeMap<>();
+        quantities.forEach((itemId, quantity) -> byShard
+                .computeIfAbsent(shardOf(itemId), k -> new LinkedHashMap<>())
+                .merge(itemId, quantity, Integer::sum));
+
+        // Phase 1: submit every part before waiting, so the shards commit them in parallel
+        List<ShardPart> parts = new ArrayList<>();
+        RuntimeException failure = null;
+        try {
+            for (Map.Entry<Integer, Map<UUID, Integer>> entry : byShard.entrySet()) {
+                parts.add(new ShardPart(entry.getValue(),
+                        shards.get(entry.getKey()).submit(entry.getValue(), timeoutMs)));
+            }
+            for (ShardPart part : parts) {
+                RuntimeException rejection = await(part);
+                if (failure == null) {
+                    failure = rejection;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure = new InvalidOperationException("Interrupted while reserving stock, please retry");
+        }
+
+        // Phase 2
+        if (failure != null) {
+            // Includes parts that commit after we stopped waiting for them
+            parts.forEach(part -> part.result().thenRun(() -> release(part)));
+            throw failure;
+        }
+        releaseOnRollback(parts);
+        logger.debug("PENDING: Reserved {} items across {} shards", quantities.size(), parts.size());
+    }
+
+    @Override
+    @Transactional
+    public void release(InventoryItem item, int quantity) {
+        conditionalEngine.release(item, quantity);
+    }
+
+    @Override
+    @Transactional
+    public void fulfil(InventoryItem item, int quantity) {
+        conditionalEngine.fulfil(item, quantity);
+    }
+
+    int shardOf(UUID itemId) {
+        return Math.floorMod(itemId.hashCode(), shards.size());
+    }
+
+    private RuntimeException await(ShardPart part) throws InterruptedException {
+        try {
+            part.result().get(timeoutMs, TimeUnit.MILLISECONDS);
+            return null;
+        } catch (ExecutionException e) {
+            return e.getCause() instanceof RuntimeException cause
+                    ? cause
+                    : new IllegalStateException("Inventory shard failed", e.getCause());
+        } catch (TimeoutException e) {
+            return new InvalidOperationException("Inventory is busy, please retry");
+        }
+    }
+
+    private void releaseOnRollback(List<ShardPart> parts) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    parts.forEach(ShardedStockReservationEngine.this::release);
+                } else if (status == STATUS_UNKNOWN) {
+                    logger.error("Order transaction outcome unknown; shard reservations {} kept", parts.stream()
+                            .map(ShardPart::quantities)
+                            .toList());
+                }
+            }
+        });
+    }
+
+    private void release(ShardPart part) {
+        try {
+            writer.release(part.quantities());
+        } catch (RuntimeException e) {
+            logger.error("Failed to release shard reservation {} — reserved stock needs manual correction",
+                    part.quantities(), e);
+        }
+    }
+
+    private record ShardPart(Map<UUID, Integer> quantities, CompletableFuture<Void> result) {
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.ordermgmt.service.impl.order;
+
+import com.example.ordermgmt.dto.OrderCursorDTO;
+import com.example.ordermgmt.enums.OrderStatus;
+import com.example.ordermgmt.exception.InvalidOperationException;
+import com.example.ordermgmt.exception.OrderNotFoundException;
+import com.example.ordermgmt.repository.OrdersRepository;
+import com.example.ordermgmt.repository.OrganizationRepository;
+import com.example.ordermgmt.security.TenantContextHolder;
+import com.example.ordermgmt.service.impl.lock.AdvisoryLockLeases;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cancels stale PENDING orders, one tenant at a time. Every node runs the sweep,
+ * but a tenant is only swept by the node holding its advisory lease; the others
+ * skip it. Within a tenant, one reader pages through the stale orders by
+ * (createdTimestamp, orderId) and hands each page to a pool of workers as a chunk;
+ * a chunk is claimed with SKIP LOCKED and cancelled in one transaction by
+ * {@link OrderTransitionHelper#cancelStalePendingOrders}. A chunk that fails is
+ * retried order by order, so only the order at fault stays PENDING.
+ *
+ * Metrics: {@code order.autocancel.backlog} (stale PENDING orders left in the
+ * tenants this node sweeps), {@code order.autocancel.cancelled} (throughput),
+ * {@code order.autocancel.deferred} and {@code order.autocancel.tenant.sweep}.
+ */
+@Service
+@RequiredArgsConstructor
+public class StalePendingOrderSweeper {
+
+    private static final Logger logger = LoggerFactory.getLogger(StalePendingOrderSweeper.class);
+
+    public static final String LEASE = "auto-cancel";
+
+    // Keyset start: before any order's (createdTimestamp, orderId)
+    private static final LocalDateTime FIRST_TIMESTAMP = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+
+    private final OrganizationRepository organizationRepository;
+    private final OrdersRepository ordersRepository;
+    private final OrderTransitionHelper transitionHelper;
+    private final AdvisoryLockLeases leases;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.order.stale-minutes}")
+    private int staleMinutes;
+
+    @Value("${app.order.auto-cancel.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.order.auto-cancel.workers:4}")
+    private int workers;
+
+    private final Map<UUID, AtomicLong> backlogByTenant = new ConcurrentHashMap<>();
+    private Counter cancelled;
+    private Counter deferred;
+    private Timer tenantSweeps;
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("order.autocancel.backlog", backlogByTenant,
+                        backlog -> backlog.values().stream().mapToLong(AtomicLong::get).sum())
+                .description("Stale PENDING orders not yet cancelled in the tenants this node sweeps")
+                .register(meterRegistry);
+        cancelled = meterRegistry.counter("order.autocancel.cancelled");
+        deferred = meterRegistry.counter("order.autocancel.deferred");
+        tenantSweeps = Timer.builder("order.autocancel.tenant.sweep")
+                .description("Time to sweep one tenant's stale PENDING orders")
+                .register(meterRegistry);
+    }
+
+    /**
+     * One pass over every tenant this node gets the lease for.
+     *
+     * @return number of orders cancelled
+     */
+    public int sweep() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(staleMinutes);
+        int total = 0;
+        for (UUID orgId : organizationRepository.findAllOrgIds()) {
+            AtomicInteger tenantCancelled = new AtomicInteger();
+            boolean leased = leases.runIfLeased(LEASE, orgId,
+                    () -> tenantCancelled.set(tenantSweeps.record(() -> sweepTenant(orgId, cutoff))));
+            if (!leased) {
+                // Reported by the node that holds the lease
+                backlogByTenant.remove(orgId);
+                logger.info("Skipping sweep for Tenant: {} - leased by another node", orgId);
+            }
+            total += tenantCancelled.get();
+        }
+        return total;
+    }
+
+    private int sweepTenant(UUID orgId, LocalDateTime cutoff) {
+        TenantContextHolder.setTenantId(orgId);
+        try {
+            AtomicLong backlog = new AtomicLong(ordersRepository.countStale(OrderStatus.PENDING.name(), cutoff));
+            backlogByTenant.put(orgId, backlog);
+            if (backlog.get() == 0) {
+                return 0;
+            }
+            logger.info("Found {} stale PENDING orders in Tenant: {} (older than {} min). Auto-cancelling...",
+                    backlog.get(), orgId, staleMinutes);
+
+            AtomicInteger tenantCancelled = new AtomicInteger();
+            // Bounds the chunks in flight, and with them the connections the workers hold
+            Semaphore slots = new Semaphore(Math.max(1, workers));
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                LocalDateTime afterTimestamp = FIRST_TIMESTAMP;
+                UUID afterId = FIRST_ID;
+                List<OrderCursorDTO> page;
+                do {
+                    page = ordersRepository.findStalePage(OrderStatus.PENDING.name(), cutoff,
+                            afterTimestamp, afterId, PageRequest.of(0, chunkSize));
+                    if (page.isEmpty()) {
+                        break;
+                    }
+                    OrderCursorDTO last = page.get(page.size() - 1);
+                    afterTimestamp = last.getCreatedTimestamp();
+                    afterId = last.getOrderId();
+
+                    List<UUID> chunk = page.stream().map(OrderCursorDTO::getOrderId).toList();
+                    slots.acquireUninterruptibly();
+                    executor.execute(() -> {
+                        TenantContextHolder.setTenantId(orgId);
+                        try {
+                            int count = cancelChunk(chunk);
+                            tenantCancelled.addAndGet(count);
+                            backlog.addAndGet(-count);
+                            cancelled.increment(count);
+                        } catch (RuntimeException e) {
+                            // Its orders stay PENDING for the next run
+                            logger.error("cancelChunk failed for Tenant: {}", orgId, e);
+                        } finally {
+                            TenantContextHolder.clear();
+                            slots.release();
+                        }
+                    });
+                } while (page.size() == chunkSize);
+            }
+
+            logger.info("Sweep completed successfully for Tenant: {}: cancelled {} orders, {} left",
+                    orgId, tenantCancelled.get(), backlog.get());
+            return tenantCancelled.get();
+        } finally {
+            TenantContextHolder.clear();
+        }
+    }
+
+    private int cancelChunk(List<UUID> orderIds) {
+        try {
+            return transitionHelper.cancelStalePendingOrders(orderIds).size();
+        } catch (InvalidOperationException | PessimisticLockingFailureException e) {
+            // Rolled back as a whole; one by one, only the orders at fault stay PENDING
+            logger.warn("Chunk of {} orders failed, cancelling them one by one: {}", orderIds.size(), e.getMessage());
+        }
+
+        int count = 0;
+        for (UUID orderId : orderIds) {
+            try {
+                if (transitionHelper.cancelStalePendingOrder(orderId)) {
+                    count++;
+                }
+            } catch (OrderNotFoundException | InvalidOperationException e) {
+                logger.error("cancelStalePendingOrder failed for Order: {}", orderId, e);
+            } catch (PessimisticLockingFailureException e) {
+                // Its items are held past the lock timeout; the next run tries again
+                deferred.increment();
+                logger.warn("cancelStalePendingOrder deferred for Order: {} - {}", orderId, e.getMessage());
+            }
+        }
+        return count;
+    }
+}
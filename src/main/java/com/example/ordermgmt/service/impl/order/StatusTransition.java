@@ -0,0 +1,10 @@
+package com.example.ordermgmt.service.impl.order;
+
+import com.example.ordermgmt.enums.OrderStatus;
+
+/**
+ * One allowed edge of an {@link OrderWorkflow}: the stock it moves and the email
+ * template the customer is notified with.
+ */
+public record StatusTransition(OrderStatus from, OrderStatus to, InventoryAction inventoryAction, String template) {
+}
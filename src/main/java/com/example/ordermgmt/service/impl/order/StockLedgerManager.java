@@ -0,0 +1,110 @@
+package com.example.ordermgmt.service.impl.order;
+
+import com.example.ordermgmt.dto.InventoryMovementDTO;
+import com.example.ordermgmt.dto.StockLevelDTO;
+import com.example.ordermgmt.entity.InventoryItem;
+import com.example.ordermgmt.entity.InventoryMovement;
+import com.example.ordermgmt.entity.InventoryStockSnapshot;
+import com.example.ordermgmt.enums.StockMovementType;
+import com.example.ordermgmt.repository.InventoryMovementRepository;
+import com.example.ordermgmt.repository.InventoryStockSnapshotRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Admin-side operations on ledger-mode stock: switching the mode, restocking,
+ * the derived balances shown by the catalog and inventory views, and the
+ * movement history. Every write expects the caller to hold the INVENTORY_ITEM
+ * row lock, which keeps the reservation engine out until commit.
+ */
+@Service
+@RequiredArgsConstructor
+public class StockLedgerManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockLedgerManager.class);
+
+    private final InventoryStockSnapshotRepository snapshotRepository;
+    private final InventoryMovementRepository movementRepository;
+
+    /**
+     * Move the item's stock from its row into a fresh snapshot; later changes are movements.
+     */
+    @Transactional
+    public void enable(InventoryItem lockedItem) {
+        if (lockedItem.isStockLedger()) {
+            return;
+        }
+        UUID itemId = lockedItem.getItemId();
+        snapshotRepository.save(new InventoryStockSnapshot(itemId,
+                lockedItem.getAvailableStock(), lockedItem.getReservedStock()));
+        logger.info("Item {} switched to ledger mode — available: {}, reserved: {}",
+                itemId, lockedItem.getAvailableStock(), lockedItem.getReservedStock());
+        lockedItem.setAvailableStock(0);
+        lockedItem.setReservedStock(0);
+        lockedItem.setStockLedger(true);
+    }
+
+    /**
+     * Fold the derived balance back onto the row and drop the snapshot. The
+     * movements stay as history, all flagged as compacted.
+     */
+    @Transactional
+    public void disable(InventoryItem lockedItem) {
+        if (!lockedItem.isStockLedger()) {
+            return;
+        }
+        UUID itemId = lockedItem.getItemId();
+
+        // Waits for a running compaction so its movements are not counted twice
+        snapshotRepository.lockSnapshot(itemId);
+        StockLevelDTO balance = snapshotRepository.findBalances(List.of(itemId)).stream()
+                .findFirst()
+                .orElse(new StockLevelDTO(itemId, 0L, 0L));
+        movementRepository.markAllCompacted(itemId);
+        snapshotRepository.deleteByItemId(itemId);
+
+        lockedItem.setAvailableStock(Math.toIntExact(balance.getAvailableStock()));
+        lockedItem.setReservedStock(Math.toIntExact(balance.getReservedStock()));
+        lockedItem.setStockLedger(false);
+        logger.info("Item {} switched off ledger mode — available: {}, reserved: {}",
+                itemId, balance.getAvailableStock(), balance.getReservedStock());
+    }
+
+    @Transactional
+    public void restock(InventoryItem lockedItem, int quantity) {
+        movementRepository.save(new InventoryMovement(lockedItem.getItemId(), StockMovementType.RESTOCK, quantity, 0));
+    }
+
+    /**
+     * Derived balances of the ledger-mode items among {@code items}; no query when there are none.
+     */
+    @Transactional(readOnly = true)
+    public Map<UUID, StockLevelDTO> findStockLevels(Collection<InventoryItem> items) {
+        List<UUID> ledgerIds = items.stream()
+                .filter(InventoryItem::isStockLedger)
+                .map(InventoryItem::getItemId)
+                .collect(Collectors.toList());
+        if (ledgerIds.isEmpty()) {
+            return Map.of();
+        }
+        return snapshotRepository.findBalances(ledgerIds).stream()
+                .collect(Collectors.toMap(StockLevelDTO::getItemId, Function.identity()));
+    }
+
+    @Transactional(readOnly = true)
+    public Page<InventoryMovementDTO> findMovements(UUID itemId, Pageable pageable) {
+        return movementRepository.findMovements(itemId, pageable);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.ordermgmt.service.impl.order;
+
+import com.example.ordermgmt.entity.InventoryItem;
+
+/**
+ * Alternative to the default pessimistic (SELECT ... FOR UPDATE) stock path in
+ * {@link OrderInventoryManagerImpl}. Selected with
+ * {@code app.inventory.reservation-engine}; callers invoke it per item in
+ * ascending itemId order, inside the surrounding order transaction.
+ */
+public interface StockReservationEngine {
+
+    /**
+     * Configuration value that selects this engine.
+     */
+    String getName();
+
+    /**
+     * Move {@code quantity} from available to reserved stock.
+     *
+     * @throws com.example.ordermgmt.exception.InsufficientStockException if not enough stock is available
+     */
+    void reserve(InventoryItem item, int quantity);
+
+    /**
+     * Return a reservation to available stock (order CANCELLED).
+     *
+     * @throws com.example.ordermgmt.exception.InvalidOperationException if less than {@code quantity} is reserved
+     */
+    void release(InventoryItem item, int quantity);
+
+    /**
+     * Consume a reservation (order DELIVERED).
+     *
+     * @throws com.example.ordermgmt.exception.InvalidOperationException if less than {@code quantity} is reserved
+     */
+    void fulfil(InventoryItem item, int quantity);
+}
@@ -0,0 +1,105 @@
+package com.example.ordermgmt.service.impl.order;
+
+import com.example.ordermgmt.dto.StockBucketLevelDTO;
+import com.example.ordermgmt.dto.StockLevelDTO;
+import com.example.ordermgmt.entity.InventoryItem;
+import com.example.ordermgmt.entity.InventoryStockBucket;
+import com.example.ordermgmt.repository.InventoryStockBucketRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Admin-side operations on striped stock: (re)striping, restocking and the
+ * summed totals shown by the catalog and inventory views. Every write expects
+ * the caller to hold the INVENTORY_ITEM row lock.
+ */
+@Service
+@RequiredArgsConstructor
+public class StripedStockManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(StripedStockManager.class);
+
+    private final InventoryStockBucketRepository bucketRepository;
+
+    /**
+     * Fold the item's stock (row plus any existing buckets) and split it evenly
+     * over {@code buckets} buckets; 1 moves everything back onto the row.
+     */
+    @Transactional
+    public void restripe(InventoryItem lockedItem, int buckets) {
+        UUID itemId = lockedItem.getItemId();
+
+        // Waits for in-flight bucket moves and holds new ones off until commit
+        bucketRepository.lockBuckets(itemId);
+        int available = lockedItem.getAvailableStock();
+        int reserved = lockedItem.getReservedStock();
+        for (StockBucketLevelDTO level : bucketRepository.findBucketLevels(itemId)) {
+            available += level.getAvailableStock();
+            reserved += level.getReservedStock();
+        }
+        bucketRepository.deleteByItemId(itemId);
+
+        lockedItem.setStripeCount(buckets);
+        if (buckets == 1) {
+            lockedItem.setAvailableStock(available);
+            lockedItem.setReservedStock(reserved);
+        } else {
+            lockedItem.setAvailableStock(0);
+            lockedItem.setReservedStock(0);
+            List<InventoryStockBucket> stripes = new ArrayList<>(buckets);
+            for (int bucketNo = 0; bucketNo < buckets; bucketNo++) {
+                stripes.add(new InventoryStockBucket(itemId, bucketNo,
+                        share(available, buckets, bucketNo), share(reserved, buckets, bucketNo)));
+            }
+            bucketRepository.saveAll(stripes);
+        }
+        logger.info("Item {} striped over {} buckets — available: {}, reserved: {}",
+                itemId, buckets, available, reserved);
+    }
+
+    /**
+     * Spread a restock evenly over the item's buckets.
+     */
+    @Transactional
+    public void addAvailable(InventoryItem lockedItem, int quantity) {
+        int buckets = lockedItem.getStripeCount();
+        for (int bucketNo = 0; bucketNo < buckets; bucketNo++) {
+            int amount = share(quantity, buckets, bucketNo);
+            if (amount > 0 && bucketRepository.moveStockIfCovered(lockedItem.getItemId(), bucketNo, amount, 0) == 0) {
+                throw new IllegalStateException("Stock bucket " + bucketNo + " missing for item " + lockedItem.getItemId());
+            }
+        }
+    }
+
+    /**
+     * Summed bucket stock of the striped items among {@code items}; no query when none is striped.
+     */
+    @Transactional(readOnly = true)
+    public Map<UUID, StockLevelDTO> findStockLevels(Collection<InventoryItem> items) {
+        List<UUID> stripedIds = items.stream()
+                .filter(InventoryItem::isStriped)
+                .map(InventoryItem::getItemId)
+                .collect(Collectors.toList());
+        if (stripedIds.isEmpty()) {
+            return Map.of();
+        }
+        return bucketRepository.sumStockByItemIds(stripedIds).stream()
+                .collect(Collectors.toMap(StockLevelDTO::getItemId, Function.identity()));
+    }
+
+    // Even split; the first (total % buckets) buckets take one extra unit
+    private static int share(int total, int buckets, int bucketNo) {
+        return total / buckets + (bucketNo < total % buckets ? 1 : 0);
+    }
+}
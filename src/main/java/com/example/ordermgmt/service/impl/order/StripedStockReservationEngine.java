@@ -0,0 +1,146 @@
+package com.example.ordermgmt.service.impl.order;
+
+import com.example.ordermgmt.dto.StockBucketLevelDTO;
+import com.example.ordermgmt.entity.InventoryItem;
+import com.example.ordermgmt.exception.InsufficientStockException;
+import com.example.ordermgmt.exception.InvalidOperationException;
+import com.example.ordermgmt.repository.InventoryItemRepository;
+import com.example.ordermgmt.repository.InventoryStockBucketRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/**
+ * Reservation engine for striped items ({@code INVENTORY_ITEM.stripecount > 1}).
+ *
+ * A move first tries one bucket chosen by round-robin (or by request thread)
+ * and then the remaining buckets, each with a single guarded UPDATE. Only when
+ * no single bucket can cover the quantity is it split across buckets; that
+ * slow path takes the INVENTORY_ITEM row lock, which the fast path never
+ * touches, so it only serializes with other spills and admin rebalances.
+ */
+@Service
+@RequiredArgsConstructor
+public class StripedStockReservationEngine implements StockReservationEngine {
+
+    public static final String NAME = "striped";
+
+    static final String ROUND_ROBIN = "round-robin";
+    static final String THREAD_HASH = "thread-hash";
+
+    // Bounds the spill loop when concurrent fast-path moves keep changing the buckets under it
+    private static final int MAX_SPILL_ATTEMPTS = 5;
+
+    private static final Logger logger = LoggerFactory.getLogger(StripedStockReservationEngine.class);
+
+    private final InventoryStockBucketRepository bucketRepository;
+    private final InventoryItemRepository inventoryRepository;
+
+    private final AtomicInteger nextBucket = new AtomicInteger();
+
+    @Value("${app.inventory.striping.bucket-selection:" + ROUND_ROBIN + "}")
+    private String bucketSelection;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    @Transactional
+    public void reserve(InventoryItem item, int quantity) {
+        move(item, -quantity, quantity, available -> new InsufficientStockException("Insufficient stock for item: "
+                + item.getItemName() + " (ID: " + item.getItemId()
+                + "). Available: " + available + ", Requested: " + quantity));
+        logger.debug("PENDING: Striped item {} reserved {} units", item.getItemId(), quantity);
+    }
+
+    @Override
+    @Transactional
+    public void release(InventoryItem item, int quantity) {
+        move(item, quantity, -quantity, reserved -> stockInconsistency(item, "release", quantity, reserved));
+        logger.debug("CANCELLED: Striped item {} released {} units", item.getItemId(), quantity);
+    }
+
+    @Override
+    @Transactional
+    public void fulfil(InventoryItem item, int quantity) {
+        move(item, 0, -quantity, reserved -> stockInconsistency(item, "fulfil", quantity, reserved));
+        logger.debug("DELIVERED: Striped item {} fulfilled {} units", item.getItemId(), quantity);
+    }
+
+    int pickBucket(int buckets) {
+        if (THREAD_HASH.equals(bucketSelection)) {
+            return Math.floorMod(Long.hashCode(Thread.currentThread().threadId()), buckets);
+        }
+        return Math.floorMod(nextBucket.getAndIncrement(), buckets);
+    }
+
+    private void move(InventoryItem item, int availableDelta, int reservedDelta,
+            IntFunction<RuntimeException> uncovered) {
+        UUID itemId = item.getItemId();
+        int buckets = item.getStripeCount();
+        int start = pickBucket(buckets);
+        for (int i = 0; i < buckets; i++) {
+            int bucketNo = (start + i) % buckets;
+            if (bucketRepository.moveStockIfCovered(itemId, bucketNo, availableDelta, reservedDelta) == 1) {
+                return;
+            }
+        }
+        moveAcrossBuckets(itemId, availableDelta, reservedDelta, uncovered);
+    }
+
+    /**
+     * Split the move over several buckets. Partial moves are undone by the
+     * transaction rollback if the quantity cannot be covered in the end.
+     */
+    private void moveAcrossBuckets(UUID itemId, int availableDelta, int reservedDelta,
+            IntFunction<RuntimeException> uncovered) {
+        boolean fromAvailable = availableDelta < 0;
+        int remaining = fromAvailable ? -availableDelta : -reservedDelta;
+
+        inventoryRepository.findAllByItemIdInForUpdate(List.of(itemId));
+        int coverable = 0;
+        for (int attempt = 0; attempt < MAX_SPILL_ATTEMPTS; attempt++) {
+            List<StockBucketLevelDTO> levels = bucketRepository.findBucketLevels(itemId);
+            if (levels.isEmpty()) {
+                throw new InvalidOperationException("Item " + itemId + " is no longer striped, please retry");
+            }
+            coverable = levels.stream()
+                    .mapToInt(l -> fromAvailable ? l.getAvailableStock() : l.getReservedStock())
+                    .sum();
+            if (coverable < remaining) {
+                throw uncovered.apply(coverable);
+            }
+
+            for (StockBucketLevelDTO level : levels) {
+                int take = Math.min(fromAvailable ? level.getAvailableStock() : level.getReservedStock(), remaining);
+                if (take > 0 && bucketRepository.moveStockIfCovered(itemId, level.getBucketNo(),
+                        Integer.signum(availableDelta) * take, Integer.signum(reservedDelta) * take) == 1) {
+                    remaining -= take;
+                }
+                if (remaining == 0) {
+                    logger.debug("Striped item {} move spread across {} buckets", itemId, levels.size());
+                    return;
+                }
+            }
+        }
+        throw uncovered.apply(coverable);
+    }
+
+    private InvalidOperationException stockInconsistency(InventoryItem item, String action, int quantity,
+            int reserved) {
+        return new InvalidOperationException(
+                "Stock inconsistency for item " + item.getItemId()
+                        + ": cannot " + action + " " + quantity
+                        + " units, only " + reserved + " reserved");
+    }
+}
@@ -0,0 +1,16 @@
+-- =============================================================================
+-- V10: Asynchronous order acceptance
+-- - ORDERS.intaketoken: order token handed out when an order is accepted into
+--   the intake journal (202 Accepted). Unique, so replaying the journal after
+--   a crash can never place the same accepted order twice. NULL for orders
+--   placed synchronously
+-- =============================================================================
+
+SET search_path TO ordermgmt;
+
+ALTER TABLE ORDERS
+    ADD COLUMN IF NOT EXISTS intaketoken uuid;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_orders_intaketoken
+    ON ORDERS USING btree (intaketoken)
+    WHERE (intaketoken IS NOT NULL);
@@ -0,0 +1,34 @@
+-- =============================================================================
+-- V11: Persisted order totals
+-- - ORDERS.totalamount: sum of the order's line subtotals (unitprice x quantity)
+-- - ORDERS.itemcount: number of ORDER_ITEM lines
+--   Both are written in the placement transaction, so order headers can be
+--   listed without reading ORDER_ITEM. Existing orders are backfilled from
+--   their lines
+-- =============================================================================
+
+SET search_path TO ordermgmt;
+
+ALTER TABLE ORDERS
+    ADD COLUMN IF NOT EXISTS totalamount numeric(19,4),
+    ADD COLUMN IF NOT EXISTS itemcount integer;
+
+UPDATE ORDERS o
+SET totalamount = lines.total,
+    itemcount = lines.lines
+FROM (
+    SELECT orderid, SUM(unitprice * quantity) AS total, COUNT(*) AS lines
+    FROM ORDER_ITEM
+    GROUP BY orderid
+) lines
+WHERE lines.orderid = o.orderid
+  AND o.totalamount IS NULL;
+
+-- Orders without lines
+UPDATE ORDERS SET totalamount = 0, itemcount = 0 WHERE totalamount IS NULL;
+
+ALTER TABLE ORDERS
+    ALTER COLUMN totalamount SET DEFAULT 0,
+    ALTER COLUMN totalamount SET NOT NULL,
+    ALTER COLUMN itemcount SET DEFAULT 0,
+    ALTER COLUMN itemcount SET NOT NULL;
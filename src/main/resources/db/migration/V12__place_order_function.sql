@@ -0,0 +1,141 @@
+-- =============================================================================
+-- V12: Server-side order placement
+-- - place_order(): locks the order's inventory rows, prices every line from
+--   the PRICING_HISTORY timeline (PRICING_CATALOG without history), reserves
+--   the stock and writes the ORDERS and ORDER_ITEM rows in one call
+--   (app.order.placement.engine=plpgsql)
+-- - Returns one PLACED row per priced line, or a single row naming the first
+--   line that failed (ITEM_NOT_FOUND, INSUFFICIENT_STOCK, PRICE_NOT_FOUND,
+--   PRICE_NOT_IN_EFFECT); nothing is written in that case
+-- =============================================================================
+
+SET search_path TO ordermgmt;
+
+CREATE OR REPLACE FUNCTION ordermgmt.place_order(
+    p_org_id uuid,
+    p_customer_id uuid,
+    p_status_id integer,
+    p_item_ids uuid[],
+    p_quantities integer[],
+    p_intake_token uuid,
+    p_auditor character varying,
+    p_now timestamp without time zone)
+RETURNS TABLE (
+    outcome character varying,
+    orderid uuid,
+    itemid uuid,
+    itemname character varying,
+    quantity integer,
+    unitprice numeric,
+    availablestock integer)
+LANGUAGE plpgsql
+AS $$
+#variable_conflict use_column
+DECLARE
+    v_line record;
+    v_price numeric;
+    v_total numeric := 0;
+    v_order_id uuid;
+    v_item_ids uuid[] := '{}';
+    v_names character varying[] := '{}';
+    v_quantities integer[] := '{}';
+    v_prices numeric[] := '{}';
+BEGIN
+    -- Same lock order as the Java engine (ascending itemid), so both can run side by side
+    PERFORM 1
+    FROM ordermgmt.INVENTORY_ITEM i
+    WHERE i.itemid = ANY (p_item_ids)
+      AND i.org_id = p_org_id
+    ORDER BY i.itemid
+    FOR UPDATE;
+
+    -- Check and price every line before writing anything; the first failing line is reported
+    FOR v_line IN
+        SELECT r.itemid, r.quantity, i.itemid IS NOT NULL AS known, i.itemname,
+               i.availablestock - (SUM(r.quantity) OVER (PARTITION BY r.itemid ORDER BY r.lineno)
+                                   - r.quantity) AS available
+        FROM unnest(p_item_ids, p_quantities) WITH ORDINALITY AS r(itemid, quantity, lineno)
+        LEFT JOIN ordermgmt.INVENTORY_ITEM i ON i.itemid = r.itemid AND i.org_id = p_org_id
+        ORDER BY r.itemid, r.lineno
+    LOOP
+        IF NOT v_line.known THEN
+            RETURN QUERY SELECT 'ITEM_NOT_FOUND'::varchar, NULL::uuid, v_line.itemid, NULL::varchar,
+                v_line.quantity, NULL::numeric, NULL::integer;
+            RETURN;
+        END IF;
+        IF v_line.available < v_line.quantity THEN
+            RETURN QUERY SELECT 'INSUFFICIENT_STOCK'::varchar, NULL::uuid, v_line.itemid, v_line.itemname,
+                v_line.quantity, NULL::numeric, v_line.available::integer;
+            RETURN;
+        END IF;
+
+        -- Price timeline: the last history row effective at p_now (ties: recorded last),
+        -- the catalog price when the item has no history at all
+        SELECT ph.newprice INTO v_price
+        FROM ordermgmt.PRICING_HISTORY ph
+        WHERE ph.itemid = v_line.itemid
+          AND ph.effectivefrom <= p_now
+        ORDER BY ph.effectivefrom DESC, ph.createdtimestamp DESC
+        LIMIT 1;
+        IF NOT FOUND THEN
+            IF EXISTS (SELECT 1 FROM ordermgmt.PRICING_HISTORY ph WHERE ph.itemid = v_line.itemid) THEN
+                RETURN QUERY SELECT 'PRICE_NOT_IN_EFFECT'::varchar, NULL::uuid, v_line.itemid, v_line.itemname,
+                    v_line.quantity, NULL::numeric, NULL::integer;
+                RETURN;
+            END IF;
+            SELECT pc.unitprice INTO v_price
+            FROM ordermgmt.PRICING_CATALOG pc
+            WHERE pc.itemid = v_line.itemid;
+            IF NOT FOUND THEN
+                RETURN QUERY SELECT 'PRICE_NOT_FOUND'::varchar, NULL::uuid, v_line.itemid, v_line.itemname,
+                    v_line.quantity, NULL::numeric, NULL::integer;
+                RETURN;
+            END IF;
+        END IF;
+
+        v_item_ids := v_item_ids || v_line.itemid;
+        v_names := v_names || v_line.itemname;
+        v_quantities := v_quantities || v_line.quantity;
+        v_prices := v_prices || v_price;
+        v_total := v_total + v_price * v_line.quantity;
+    END LOOP;
+
+    -- Time-ordered (version 7) order ID, like the ones generated for orders placed from Java
+    v_order_id := encode(
+        set_bit(set_bit(
+            overlay(uuid_send(gen_random_uuid())
+                    PLACING substring(int8send(floor(extract(epoch FROM clock_timestamp()) * 1000)::bigint) FROM 3)
+                    FROM 1 FOR 6),
+            52, 1), 53, 1),
+        'hex')::uuid;
+
+    INSERT INTO ordermgmt.ORDERS (orderid, customerid, statusid, org_id, intaketoken, totalamount, itemcount,
+                               createdtimestamp, updatedtimestamp, createdby, updatedby)
+    VALUES (v_order_id, p_customer_id, p_status_id, p_org_id, p_intake_token, v_total,
+            cardinality(v_item_ids), p_now, p_now, p_auditor, p_auditor);
+
+    UPDATE ordermgmt.INVENTORY_ITEM i
+    SET availablestock = i.availablestock - d.quantity,
+        reservedstock = i.reservedstock + d.quantity,
+        version = COALESCE(i.version, 0) + 1,
+        updatedtimestamp = p_now,
+        updatedby = p_auditor
+    FROM (
+        SELECT u.itemid, SUM(u.quantity) AS quantity
+        FROM unnest(v_item_ids, v_quantities) AS u(itemid, quantity)
+        GROUP BY u.itemid
+    ) d
+    WHERE i.itemid = d.itemid;
+
+    INSERT INTO ordermgmt.ORDER_ITEM (orderid, itemid, quantity, unitprice, org_id,
+                                   createdtimestamp, updatedtimestamp, createdby, updatedby)
+    SELECT v_order_id, l.itemid, l.quantity, l.unitprice, p_org_id, p_now, p_now, p_auditor, p_auditor
+    FROM unnest(v_item_ids, v_quantities, v_prices) AS l(itemid, quantity, unitprice);
+
+    RETURN QUERY
+    SELECT 'PLACED'::varchar, v_order_id, l.itemid, l.itemname, l.quantity, l.unitprice, NULL::integer
+    FROM unnest(v_item_ids, v_names, v_quantities, v_prices) WITH ORDINALITY
+         AS l(itemid, itemname, quantity, unitprice, lineno)
+    ORDER BY l.lineno;
+END;
+$$;
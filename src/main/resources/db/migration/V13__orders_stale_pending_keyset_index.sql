@@ -0,0 +1,12 @@
+-- =============================================================================
+-- V13: Keyset index for the auto-cancel sweep
+-- - idx_orders_org_status_created: the sweep pages through one tenant's stale
+--   PENDING orders by (createdtimestamp, orderid). With the key columns after
+--   org_id and statusid each page is an index range scan that starts where the
+--   previous page stopped, instead of re-reading the pages before it
+-- =============================================================================
+
+SET search_path TO ordermgmt;
+
+CREATE INDEX IF NOT EXISTS idx_orders_org_status_created
+    ON ORDERS USING btree (org_id, statusid, createdtimestamp, orderid);
@@ -0,0 +1,48 @@
+-- =============================================================================
+-- V14: Append-only order status history
+-- - ORDER_STATUS_HISTORY: one insert per status change, in the transaction that
+--   makes it; placement is recorded as a change from NULL to PENDING. Rows are
+--   never updated or deleted
+-- - dwellms: how long the order was in fromstatusid, taken from the order's
+--   previous row when the change is written, so time-in-status reports read
+--   single rows instead of pairing them up
+-- - No foreign key to ORDERS: a batched placement writes its row before the
+--   ORDERS insert is flushed
+-- - Existing orders get one row for the status they are in now, entered at
+--   their last update; their first change measures its dwell from there
+-- =============================================================================
+
+SET search_path TO ordermgmt;
+
+CREATE TABLE IF NOT EXISTS ORDER_STATUS_HISTORY (
+    historyid uuid DEFAULT gen_random_uuid() NOT NULL,
+    orderid uuid NOT NULL,
+    fromstatusid integer,
+    tostatusid integer NOT NULL,
+    changedtimestamp timestamp(6) without time zone NOT NULL,
+    dwellms bigint,
+    org_id uuid NOT NULL,
+    CONSTRAINT pk_order_status_history PRIMARY KEY (historyid),
+    CONSTRAINT fk_order_status_history_from
+        FOREIGN KEY (fromstatusid) REFERENCES ORDER_STATUS_LOOKUP(statusid),
+    CONSTRAINT fk_order_status_history_to
+        FOREIGN KEY (tostatusid) REFERENCES ORDER_STATUS_LOOKUP(statusid),
+    CONSTRAINT fk_order_status_history_org
+        FOREIGN KEY (org_id) REFERENCES ORGANIZATION(org_id)
+        ON UPDATE CASCADE ON DELETE RESTRICT
+);
+
+-- The previous row of an order, read when its next change is written
+CREATE INDEX IF NOT EXISTS idx_order_status_history_order_changed
+    ON ORDER_STATUS_HISTORY USING btree (orderid, changedtimestamp);
+
+-- Time-in-status reports: one range scan per (tenant, from, to) over the days
+-- asked for, answered from the index alone
+CREATE INDEX IF NOT EXISTS idx_order_status_history_org_transition_changed
+    ON ORDER_STATUS_HISTORY USING btree (org_id, fromstatusid, tostatusid, changedtimestamp)
+    INCLUDE (dwellms);
+
+INSERT INTO ORDER_STATUS_HISTORY (orderid, fromstatusid, tostatusid, changedtimestamp, dwellms, org_id)
+SELECT o.orderid, NULL, o.statusid, COALESCE(o.updatedtimestamp, o.createdtimestamp), NULL, o.org_id
+FROM ORDERS o
+WHERE NOT EXISTS (SELECT 1 FROM ORDER_STATUS_HISTORY h WHERE h.orderid = o.orderid);
@@ -0,0 +1,53 @@
+-- =============================================================================
+-- V15: Cold tables for archived orders
+-- - ORDERS_ARCHIVE / ORDER_ITEM_ARCHIVE: same columns as ORDERS / ORDER_ITEM,
+--   plus archivedtimestamp on the order. Terminal orders (DELIVERED, CANCELLED)
+--   past the archive age are moved here in chunks: deleted from the hot table
+--   and inserted here in one transaction, so an order is in exactly one place
+-- - No foreign key between the two archive tables, nor to INVENTORY_ITEM or
+--   CUSTOMER: rows are written once and only read back, and archived lines
+--   must not hold up changes to the catalog
+-- - Reads go by customer (history) or by order id, each with its own index
+-- - ORDER_STATUS_HISTORY is left as is: it has no foreign key to ORDERS
+-- =============================================================================
+
+SET search_path TO ordermgmt;
+
+CREATE TABLE IF NOT EXISTS ORDERS_ARCHIVE (
+    orderid uuid NOT NULL,
+    createdby character varying(255),
+    createdtimestamp timestamp(6) without time zone NOT NULL,
+    updatedby character varying(255),
+    updatedtimestamp timestamp(6) without time zone,
+    customerid uuid NOT NULL,
+    statusid integer NOT NULL,
+    org_id uuid NOT NULL,
+    intaketoken uuid,
+    totalamount numeric(19,4) DEFAULT 0 NOT NULL,
+    itemcount integer DEFAULT 0 NOT NULL,
+    archivedtimestamp timestamp(6) without time zone DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    CONSTRAINT pk_orders_archive PRIMARY KEY (orderid),
+    CONSTRAINT fk_orders_archive_status
+        FOREIGN KEY (statusid) REFERENCES ORDER_STATUS_LOOKUP(statusid),
+    CONSTRAINT fk_orders_archive_org
+        FOREIGN KEY (org_id) REFERENCES ORGANIZATION(org_id)
+        ON UPDATE CASCADE ON DELETE RESTRICT
+);
+
+CREATE TABLE IF NOT EXISTS ORDER_ITEM_ARCHIVE (
+    itemid uuid NOT NULL,
+    createdby character varying(255),
+    createdtimestamp timestamp(6) without time zone NOT NULL,
+    quantity integer NOT NULL,
+    unitprice numeric(19,4) NOT NULL,
+    updatedby character varying(255),
+    updatedtimestamp timestamp(6) without time zone,
+    orderid uuid NOT NULL,
+    org_id uuid NOT NULL,
+    -- Order first: an archived order's lines are read together
+    CONSTRAINT pk_order_item_archive PRIMARY KEY (orderid, itemid)
+);
+
+-- Customer history, newest first
+CREATE INDEX IF NOT EXISTS idx_orders_archive_org_customer_created
+    ON ORDERS_ARCHIVE USING btree (org_id, customerid, createdtimestamp DESC, orderid);
@@ -0,0 +1,23 @@
+-- =============================================================================
+-- V16: Reports over hot and archived orders
+-- - ORDER_SALE_LINE: every order line, hot or archived, with its order's status
+--   and creation time. Revenue reports and order analytics read this view, so
+--   an order keeps counting after it is archived. An order is moved with its
+--   lines in one transaction, so a statement sees it in exactly one branch
+-- - ORDERS_ARCHIVE gets an (org_id, createdtimestamp) index for the reports'
+--   date ranges and the admin listing
+-- =============================================================================
+
+SET search_path TO ordermgmt;
+
+CREATE OR REPLACE VIEW ORDER_SALE_LINE AS
+SELECT i.orderid, i.itemid, i.org_id, i.quantity, i.unitprice, o.statusid, o.createdtimestamp
+FROM ORDER_ITEM i
+JOIN ORDERS o ON o.orderid = i.orderid
+UNION ALL
+SELECT i.orderid, i.itemid, i.org_id, i.quantity, i.unitprice, o.statusid, o.createdtimestamp
+FROM ORDER_ITEM_ARCHIVE i
+JOIN ORDERS_ARCHIVE o ON o.orderid = i.orderid;
+
+CREATE INDEX IF NOT EXISTS idx_orders_archive_org_created
+    ON ORDERS_ARCHIVE USING btree (org_id, createdtimestamp DESC, orderid);
@@ -0,0 +1,14 @@
+-- =============================================================================
+-- V6: Per-item flash-sale mode
+-- - INVENTORY_ITEM.flashsale marks items whose live stock counters are held in
+--   Redis and reconciled back into availablestock/reservedstock asynchronously
+-- =============================================================================
+
+SET search_path TO ordermgmt;
+
+ALTER TABLE INVENTORY_ITEM
+    ADD COLUMN IF NOT EXISTS flashsale boolean DEFAULT false NOT NULL;
+
+-- Recovery and the reconciler only ever scan the (few) flash-sale items
+CREATE INDEX IF NOT EXISTS idx_inventory_item_flashsale
+    ON INVENTORY_ITEM USING btree (itemid) WHERE flashsale;
@@ -0,0 +1,36 @@
+-- =============================================================================
+-- V7: Striped stock for hot items
+-- - INVENTORY_ITEM.stripecount: number of stock buckets (1 = not striped)
+-- - INVENTORY_STOCK_BUCKET holds the available/reserved stock of a striped item
+--   split across sub-rows, so concurrent reservations update different rows
+-- =============================================================================
+
+SET search_path TO ordermgmt;
+
+ALTER TABLE INVENTORY_ITEM
+    ADD COLUMN IF NOT EXISTS stripecount integer DEFAULT 1 NOT NULL;
+
+ALTER TABLE INVENTORY_ITEM
+    DROP CONSTRAINT IF EXISTS ck_inventory_item_stripecount_positive;
+ALTER TABLE INVENTORY_ITEM
+    ADD CONSTRAINT ck_inventory_item_stripecount_positive CHECK (stripecount >= 1);
+
+CREATE TABLE IF NOT EXISTS INVENTORY_STOCK_BUCKET (
+    itemid uuid NOT NULL,
+    bucketno integer NOT NULL,
+    availablestock integer NOT NULL,
+    reservedstock integer NOT NULL,
+    org_id uuid NOT NULL,
+    CONSTRAINT pk_inventory_stock_bucket PRIMARY KEY (itemid, bucketno),
+    CONSTRAINT ck_inventory_stock_bucket_availablestock_nonnegative CHECK (availablestock >= 0),
+    CONSTRAINT ck_inventory_stock_bucket_reservedstock_nonnegative CHECK (reservedstock >= 0),
+    CONSTRAINT fk_inventory_stock_bucket_item
+        FOREIGN KEY (itemid) REFERENCES INVENTORY_ITEM(itemid)
+        ON UPDATE CASCADE ON DELETE CASCADE,
+    CONSTRAINT fk_inventory_stock_bucket_org
+        FOREIGN KEY (org_id) REFERENCES ORGANIZATION(org_id)
+        ON UPDATE CASCADE ON DELETE RESTRICT
+);
+
+CREATE INDEX IF NOT EXISTS idx_inventory_stock_bucket_org_id
+    ON INVENTORY_STOCK_BUCKET USING btree (org_id);
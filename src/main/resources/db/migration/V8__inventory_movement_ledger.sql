@@ -0,0 +1,63 @@
+-- =============================================================================
+-- V8: Append-only inventory movement ledger
+-- - INVENTORY_ITEM.stockledger: the item's stock is kept in the ledger
+-- - INVENTORY_MOVEMENT: one insert per reservation, release, fulfilment and
+--   restock; rows are never deleted, so they double as the audit trail
+-- - INVENTORY_STOCK_SNAPSHOT: balance of all movements folded in by compaction;
+--   balance = snapshot + movements not yet compacted. No non-negative checks:
+--   a partially compacted tail may briefly take a snapshot column below zero
+-- =============================================================================
+
+SET search_path TO ordermgmt;
+
+ALTER TABLE INVENTORY_ITEM
+    ADD COLUMN IF NOT EXISTS stockledger boolean DEFAULT false NOT NULL;
+
+CREATE TABLE IF NOT EXISTS INVENTORY_STOCK_SNAPSHOT (
+    itemid uuid NOT NULL,
+    availablestock integer NOT NULL,
+    reservedstock integer NOT NULL,
+    compactedtimestamp timestamp(6) without time zone DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    org_id uuid NOT NULL,
+    CONSTRAINT pk_inventory_stock_snapshot PRIMARY KEY (itemid),
+    CONSTRAINT fk_inventory_stock_snapshot_item
+        FOREIGN KEY (itemid) REFERENCES INVENTORY_ITEM(itemid)
+        ON UPDATE CASCADE ON DELETE CASCADE,
+    CONSTRAINT fk_inventory_stock_snapshot_org
+        FOREIGN KEY (org_id) REFERENCES ORGANIZATION(org_id)
+        ON UPDATE CASCADE ON DELETE RESTRICT
+);
+
+CREATE TABLE IF NOT EXISTS INVENTORY_MOVEMENT (
+    movementid uuid NOT NULL,
+    itemid uuid NOT NULL,
+    movementtype character varying(20) NOT NULL,
+    availabledelta integer NOT NULL,
+    reserveddelta integer NOT NULL,
+    compacted boolean DEFAULT false NOT NULL,
+    createdby character varying(255),
+    createdtimestamp timestamp(6) without time zone DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    org_id uuid NOT NULL,
+    CONSTRAINT pk_inventory_movement PRIMARY KEY (movementid),
+    CONSTRAINT ck_inventory_movement_movementtype
+        CHECK (movementtype IN ('RESERVE', 'RELEASE', 'FULFIL', 'RESTOCK')),
+    CONSTRAINT fk_inventory_movement_item
+        FOREIGN KEY (itemid) REFERENCES INVENTORY_ITEM(itemid)
+        ON UPDATE CASCADE ON DELETE CASCADE,
+    CONSTRAINT fk_inventory_movement_org
+        FOREIGN KEY (org_id) REFERENCES ORGANIZATION(org_id)
+        ON UPDATE CASCADE ON DELETE RESTRICT
+);
+
+CREATE INDEX IF NOT EXISTS idx_inventory_stock_snapshot_org_id
+    ON INVENTORY_STOCK_SNAPSHOT USING btree (org_id);
+
+CREATE INDEX IF NOT EXISTS idx_inventory_movement_item_created
+    ON INVENTORY_MOVEMENT USING btree (itemid, createdtimestamp);
+
+-- Balance reads and compaction only ever look at the (small) uncompacted tail
+CREATE INDEX IF NOT EXISTS idx_inventory_movement_pending
+    ON INVENTORY_MOVEMENT USING btree (itemid) WHERE NOT compacted;
+
+CREATE INDEX IF NOT EXISTS idx_inventory_movement_org_id
+    ON INVENTORY_MOVEMENT USING btree (org_id);
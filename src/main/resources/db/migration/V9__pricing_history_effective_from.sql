@@ -0,0 +1,24 @@
+-- =============================================================================
+-- V9: Effective-dated prices
+-- - PRICING_HISTORY.effectivefrom: instant the price takes effect
+--   (AdminPricingDTO.effectiveFrom); createdtimestamp stays the audit time the
+--   row was recorded. Existing rows take effect when they were recorded
+-- =============================================================================
+
+SET search_path TO ordermgmt;
+
+ALTER TABLE PRICING_HISTORY
+    ADD COLUMN IF NOT EXISTS effectivefrom timestamp(6) without time zone;
+
+-- The table is append-only; lift the guard for the one-off backfill only
+ALTER TABLE PRICING_HISTORY DISABLE TRIGGER trg_pricing_history_no_update;
+UPDATE PRICING_HISTORY SET effectivefrom = createdtimestamp WHERE effectivefrom IS NULL;
+ALTER TABLE PRICING_HISTORY ENABLE TRIGGER trg_pricing_history_no_update;
+
+ALTER TABLE PRICING_HISTORY
+    ALTER COLUMN effectivefrom SET DEFAULT CURRENT_TIMESTAMP,
+    ALTER COLUMN effectivefrom SET NOT NULL;
+
+-- Price timelines are loaded per item in effective order
+CREATE INDEX IF NOT EXISTS idx_pricing_history_item_effective
+    ON PRICING_HISTORY USING btree (itemid, effectivefrom);
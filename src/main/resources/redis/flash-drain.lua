@@ -0,0 +1,19 @@
+-- Atomically take pending flash-sale deltas for reconciliation.
+-- KEYS[1] = flash:pending
+-- ARGV[1] = itemId to drain a single item, or '' to drain every item
+-- Returns a flat list of field/value pairs (<itemId>:a|r, delta).
+
+if ARGV[1] == '' then
+    local entries = redis.call('HGETALL', KEYS[1])
+    if #entries > 0 then
+        redis.call('DEL', KEYS[1])
+    end
+    return entries
+end
+
+local availableField = ARGV[1] .. ':a'
+local reservedField = ARGV[1] .. ':r'
+local available = redis.call('HGET', KEYS[1], availableField) or '0'
+local reserved = redis.call('HGET', KEYS[1], reservedField) or '0'
+redis.call('HDEL', KEYS[1], availableField, reservedField)
+return { availableField, available, reservedField, reserved }
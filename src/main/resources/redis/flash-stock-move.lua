@@ -0,0 +1,31 @@
+-- Atomic flash-sale stock move.
+-- KEYS[1] = flash:stock:<itemId>  (hash: available, reserved)
+-- KEYS[2] = flash:pending         (hash: <itemId>:a, <itemId>:r deltas awaiting reconciliation)
+-- ARGV[1] = itemId
+-- ARGV[2] = available delta
+-- ARGV[3] = reserved delta
+-- ARGV[4] = '1' to record the deltas for the Postgres reconciler, '0' otherwise
+-- ARGV[5] = guarded field ('available' | 'reserved' | '' for none)
+-- ARGV[6] = minimum value the guarded field must hold
+-- Returns 1 when applied, 0 when the guard rejected the move, -1 when the counters are missing.
+
+if redis.call('EXISTS', KEYS[1]) == 0 then
+    return -1
+end
+
+if ARGV[5] ~= '' then
+    local current = tonumber(redis.call('HGET', KEYS[1], ARGV[5]) or '0')
+    if current < tonumber(ARGV[6]) then
+        return 0
+    end
+end
+
+redis.call('HINCRBY', KEYS[1], 'available', ARGV[2])
+redis.call('HINCRBY', KEYS[1], 'reserved', ARGV[3])
+
+if ARGV[4] == '1' then
+    redis.call('HINCRBY', KEYS[2], ARGV[1] .. ':a', ARGV[2])
+    redis.call('HINCRBY', KEYS[2], ARGV[1] .. ':r', ARGV[3])
+end
+
+return 1
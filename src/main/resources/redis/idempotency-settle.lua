@@ -0,0 +1,16 @@
+-- Settle an idempotency key, but only while this request still owns it.
+-- KEYS[1] = idempotency:order:<tenant>:<customer>:<key>
+-- ARGV[1] = owner marker stored when the key was claimed
+-- ARGV[2] = completed value to store, or '' to release the key
+-- ARGV[3] = TTL of the completed value in seconds
+-- Returns 1 when settled, 0 when the claim had expired or was taken over.
+
+if redis.call('GET', KEYS[1]) ~= ARGV[1] then
+    return 0
+end
+if ARGV[2] == '' then
+    redis.call('DEL', KEYS[1])
+else
+    redis.call('SET', KEYS[1], ARGV[2], 'EX', tonumber(ARGV[3]))
+end
+return 1
@@ -0,0 +1,19 @@
+-- Advance a tenant's price epoch around an admin price change.
+-- KEYS[1] = price:epoch:<tenant>
+-- KEYS[2] = price:pending:<tenant> (number of price changes between beforeCommit and completion)
+-- ARGV[1] = 'begin' before the commit, 'end' once it completed, 'bump' outside a transaction
+-- ARGV[2] = TTL of the pending marker in seconds, so a crashed node cannot pin it
+-- Returns the new epoch.
+
+if ARGV[1] == 'begin' then
+    redis.call('INCR', KEYS[2])
+    redis.call('EXPIRE', KEYS[2], tonumber(ARGV[2]))
+elseif ARGV[1] == 'end' then
+    local pending = tonumber(redis.call('GET', KEYS[2]) or '0')
+    if pending > 1 then
+        redis.call('DECR', KEYS[2])
+    else
+        redis.call('DEL', KEYS[2])
+    end
+end
+return redis.call('INCR', KEYS[1])
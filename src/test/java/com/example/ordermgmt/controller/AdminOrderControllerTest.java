@@ -80,7 +80,7 @@ class AdminOrderControllerTest {
         order.setOrderId(orderId);
         order.setStatus("COMPLETED");
 
-        when(orderService.getOrderById(orderId)).thenReturn(order);
+        when(orderService.getOrderById(orderId, false)).thenReturn(order);
 
         mockMvc.perform(get("/api/admin/orders")
                 .param("orderId", orderId.toString()))
@@ -89,7 +89,7 @@ class AdminOrderControllerTest {
                 .andExpect(jsonPath("$.orders[0].orderId").value(orderId.toString()))
                 .andExpect(jsonPath("$.orders[0].status").value("COMPLETED"));
 
-        verify(orderService, times(1)).getOrderById(orderId);
+        verify(orderService, times(1)).getOrderById(orderId, false);
     }
 
     @Test
@@ -112,6 +112,28 @@ class AdminOrderControllerTest {
         verify(orderService, times(1)).getAllOrders(any(Pageable.class));
     }
 
+    @Test
+    void testGetAllOrders_HeadersOnly_ListsHeaders() throws Exception {
+        OrderDTO order1 = new OrderDTO();
+        order1.setOrderId(UUID.randomUUID());
+        order1.setTotalAmount(java.math.BigDecimal.valueOf(42));
+        order1.setItemCount(3);
+
+        Page<OrderDTO> pageResult = new PageImpl<>(Collections.singletonList(order1), PageRequest.of(0, 5), 1);
+
+        when(orderService.getAllOrderHeaders(any(Pageable.class))).thenReturn(pageResult);
+
+        mockMvc.perform(get("/api/admin/orders")
+                .param("page", "0")
+                .param("size", "5")
+                .param("headersOnly", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].itemCount").value(3))
+                .andExpect(jsonPath("$.content[0].totalAmount").value(42));
+
+        verify(orderService, never()).getAllOrders(any(Pageable.class));
+    }
+
     @Test
     void testUpdateOrderStatusBulk_Success() throws Exception {
         BulkOrderStatusUpdateWrapperDTO wrapper = new BulkOrderStatusUpdateWrapperDTO();
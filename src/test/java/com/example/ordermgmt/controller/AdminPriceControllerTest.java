@@ -19,6 +19,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.UUID;
 
@@ -83,6 +84,24 @@ class AdminPriceControllerTest {
         verify(adminPriceService, times(1)).getPrice(itemId);
     }
 
+    @Test
+    void testGetPrices_Success_WithItemIdAndInstant() throws Exception {
+        UUID itemId = UUID.randomUUID();
+        AdminPricingDTO priceDTO = new AdminPricingDTO();
+        priceDTO.setItemId(itemId);
+        priceDTO.setUnitPrice(BigDecimal.valueOf(180.00));
+
+        when(adminPriceService.getPriceAt(itemId, LocalDateTime.of(2026, 1, 15, 10, 30))).thenReturn(priceDTO);
+
+        mockMvc.perform(get("/api/admin/prices")
+                .param("itemId", itemId.toString())
+                .param("at", "2026-01-15 10:30:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.unitPrice").value(180.00));
+
+        verify(adminPriceService, never()).getPrice(any());
+    }
+
     @Test
     void testGetPrices_Success_WithPagination() throws Exception {
         AdminPricingDTO priceDTO = new AdminPricingDTO();
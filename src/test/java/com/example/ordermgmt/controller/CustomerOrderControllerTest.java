@@ -1,7 +1,17 @@
 package com.example.ordermgmt.controller;
 
+import com.example.ordermgmt.dto.BulkOrderPlacementDTO;
+import com.example.ordermgmt.dto.BulkOrderPlacementResultDTO;
+import com.example.ordermgmt.dto.BulkOrderPlacementWrapperDTO;
+import com.example.ordermgmt.dto.OrderAcceptanceDTO;
 import com.example.ordermgmt.dto.OrderDTO;
+import com.example.ordermgmt.exception.ServiceOverloadedException;
 import com.example.ordermgmt.service.OrderService;
+import com.example.ordermgmt.service.impl.lock.LockAcquisitionPolicies;
+import com.example.ordermgmt.service.impl.order.AsyncOrderIntake;
+import com.example.ordermgmt.service.impl.order.OrderAdmissionLimiter;
+import com.example.ordermgmt.service.impl.order.OrderIdempotencyCache;
+import com.example.ordermgmt.service.impl.order.OrderIntakeBatcher;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -20,6 +30,7 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.util.Collections;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -35,6 +46,21 @@ class CustomerOrderControllerTest {
     @Mock
     private OrderService orderService;
 
+    @Mock
+    private OrderIntakeBatcher orderIntake;
+
+    @Mock
+    private LockAcquisitionPolicies lockPolicies;
+
+    @Mock
+    private OrderAdmissionLimiter admissionLimiter;
+
+    @Mock
+    private OrderIdempotencyCache idempotencyCache;
+
+    @Mock
+    private AsyncOrderIntake asyncIntake;
+
     @InjectMocks
     private CustomerOrderController customerOrderController;
 
@@ -46,6 +72,10 @@ class CustomerOrderControllerTest {
                 .setControllerAdvice(new com.example.ordermgmt.exception.GlobalExceptionHandler())
                 .build();
         objectMapper = new ObjectMapper();
+        lenient().when(lockPolicies.withRetry(any(), any()))
+                .thenAnswer(inv -> ((Supplier<?>) inv.getArgument(1)).get());
+        lenient().when(admissionLimiter.admit(any()))
+                .thenAnswer(inv -> ((Supplier<?>) inv.getArgument(0)).get());
     }
 
     @Test
@@ -75,6 +105,176 @@ class CustomerOrderControllerTest {
         verify(orderService, times(1)).createOrder(any(OrderDTO.class), eq("customer@example.com"));
     }
 
+    @Test
+    void testCreateOrder_WithGroupCommitIntake_GoesThroughIntake() throws Exception {
+        OrderDTO requestDTO = new OrderDTO();
+        com.example.ordermgmt.dto.OrderItemDTO orderItem1 = new com.example.ordermgmt.dto.OrderItemDTO();
+        orderItem1.setItemId(UUID.randomUUID());
+        orderItem1.setQuantity(1);
+        requestDTO.setItems(Collections.singletonList(orderItem1));
+
+        OrderDTO responseDTO = new OrderDTO();
+        responseDTO.setOrderId(UUID.randomUUID());
+        responseDTO.setStatus("PENDING");
+
+        Authentication authentication = mock(Authentication.class);
+        when(authentication.getName()).thenReturn("customer@example.com");
+
+        when(orderIntake.isEnabled()).thenReturn(true);
+        when(orderIntake.createOrder(any(OrderDTO.class), eq("customer@example.com"))).thenReturn(responseDTO);
+
+        mockMvc.perform(post("/api/customer/orders")
+                .principal(authentication)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.status").value("PENDING"));
+
+        verify(orderService, never()).createOrder(any(OrderDTO.class), any());
+    }
+
+    @Test
+    void testCreateOrder_WhenOverloaded_Returns503WithRetryAfter() throws Exception {
+        OrderDTO requestDTO = new OrderDTO();
+        com.example.ordermgmt.dto.OrderItemDTO orderItem1 = new com.example.ordermgmt.dto.OrderItemDTO();
+        orderItem1.setItemId(UUID.randomUUID());
+        orderItem1.setQuantity(1);
+        requestDTO.setItems(Collections.singletonList(orderItem1));
+
+        Authentication authentication = mock(Authentication.class);
+        when(authentication.getName()).thenReturn("customer@example.com");
+
+        doThrow(new ServiceOverloadedException("Too many orders", 2)).when(admissionLimiter).admit(any());
+
+        mockMvc.perform(post("/api/customer/orders")
+                .principal(authentication)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(jsonPath("$.error").value("Service Overloaded"));
+
+        verify(orderService, never()).createOrder(any(OrderDTO.class), any());
+    }
+
+    @Test
+    void testCreateOrder_WithIdempotencyKey_ReturnsReplayedOrder() throws Exception {
+        OrderDTO requestDTO = new OrderDTO();
+        com.example.ordermgmt.dto.OrderItemDTO orderItem1 = new com.example.ordermgmt.dto.OrderItemDTO();
+        orderItem1.setItemId(UUID.randomUUID());
+        orderItem1.setQuantity(1);
+        requestDTO.setItems(Collections.singletonList(orderItem1));
+
+        OrderDTO responseDTO = new OrderDTO();
+        responseDTO.setOrderId(UUID.randomUUID());
+        responseDTO.setStatus("PENDING");
+
+        Authentication authentication = mock(Authentication.class);
+        when(authentication.getName()).thenReturn("customer@example.com");
+
+        when(idempotencyCache.execute(eq("retry-1"), eq("customer@example.com"), any(OrderDTO.class), any()))
+                .thenReturn(new OrderIdempotencyCache.Result(responseDTO, true));
+
+        mockMvc.perform(post("/api/customer/orders")
+                .principal(authentication)
+                .header("Idempotency-Key", "retry-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(jsonPath("$.orderId").value(responseDTO.getOrderId().toString()));
+
+        verify(orderService, never()).createOrder(any(OrderDTO.class), any());
+        verify(admissionLimiter, never()).admit(any());
+    }
+
+    @Test
+    void testCreateOrder_WithPreferRespondAsync_Returns202WithToken() throws Exception {
+        OrderDTO requestDTO = new OrderDTO();
+        com.example.ordermgmt.dto.OrderItemDTO orderItem1 = new com.example.ordermgmt.dto.OrderItemDTO();
+        orderItem1.setItemId(UUID.randomUUID());
+        orderItem1.setQuantity(1);
+        requestDTO.setItems(Collections.singletonList(orderItem1));
+
+        UUID token = UUID.randomUUID();
+        Authentication authentication = mock(Authentication.class);
+        when(authentication.getName()).thenReturn("customer@example.com");
+
+        when(asyncIntake.isEnabled()).thenReturn(true);
+        when(asyncIntake.accept(any(OrderDTO.class), eq("customer@example.com")))
+                .thenReturn(new OrderAcceptanceDTO(token, "ACCEPTED", null, null, null));
+
+        mockMvc.perform(post("/api/customer/orders")
+                .principal(authentication)
+                .header("Prefer", "respond-async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/customer/orders/accepted/" + token))
+                .andExpect(jsonPath("$.orderToken").value(token.toString()))
+                .andExpect(jsonPath("$.status").value("ACCEPTED"));
+
+        verifyNoInteractions(orderService, admissionLimiter);
+    }
+
+    @Test
+    void testGetAcceptedOrder_ReturnsStatus() throws Exception {
+        UUID token = UUID.randomUUID();
+        Authentication authentication = mock(Authentication.class);
+        when(authentication.getName()).thenReturn("customer@example.com");
+        when(asyncIntake.getStatus(token, "customer@example.com"))
+                .thenReturn(new OrderAcceptanceDTO(token, "FAILED", null, null, "Insufficient stock"));
+
+        mockMvc.perform(get("/api/customer/orders/accepted/" + token)
+                .principal(authentication))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("FAILED"))
+                .andExpect(jsonPath("$.error").value("Insufficient stock"));
+    }
+
+    @Test
+    void testCreateOrdersBulk_ReturnsResultPerOrder() throws Exception {
+        com.example.ordermgmt.dto.OrderItemDTO orderItem1 = new com.example.ordermgmt.dto.OrderItemDTO();
+        orderItem1.setItemId(UUID.randomUUID());
+        orderItem1.setQuantity(1);
+        OrderDTO requestDTO = new OrderDTO();
+        requestDTO.setItems(Collections.singletonList(orderItem1));
+
+        OrderDTO placed = new OrderDTO();
+        placed.setOrderId(UUID.randomUUID());
+        placed.setStatus("PENDING");
+        BulkOrderPlacementResultDTO result = new BulkOrderPlacementResultDTO(java.util.List.of(
+                new BulkOrderPlacementDTO(0, placed, null),
+                new BulkOrderPlacementDTO(1, null, "Insufficient stock")), 1, 1);
+
+        Authentication authentication = mock(Authentication.class);
+        when(authentication.getName()).thenReturn("customer@example.com");
+        when(orderService.createOrders(any(), eq("customer@example.com"))).thenReturn(result);
+
+        mockMvc.perform(post("/api/customer/orders/bulk")
+                .principal(authentication)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                        new BulkOrderPlacementWrapperDTO(java.util.List.of(requestDTO, requestDTO)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.results[0].order.status").value("PENDING"))
+                .andExpect(jsonPath("$.results[1].error").value("Insufficient stock"));
+    }
+
+    @Test
+    void testCreateOrdersBulk_WithEmptyList_ReturnsBadRequest() throws Exception {
+        Authentication authentication = mock(Authentication.class);
+
+        mockMvc.perform(post("/api/customer/orders/bulk")
+                .principal(authentication)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"orders\": []}"))
+                .andExpect(status().isBadRequest());
+
+        verify(orderService, never()).createOrders(any(), any());
+    }
+
     @Test
     void testGetMyOrders_Success_NoParams() throws Exception {
         OrderDTO order = new OrderDTO();
@@ -83,7 +283,7 @@ class CustomerOrderControllerTest {
         Authentication authentication = mock(Authentication.class);
         when(authentication.getName()).thenReturn("customer@example.com");
 
-        when(orderService.getCustomerOrders("customer@example.com")).thenReturn(Collections.singletonList(order));
+        when(orderService.getCustomerOrders("customer@example.com", false)).thenReturn(Collections.singletonList(order));
 
         mockMvc.perform(get("/api/customer/orders")
                 .principal(authentication))
@@ -91,7 +291,7 @@ class CustomerOrderControllerTest {
                 .andExpect(jsonPath("$.orders").isArray())
                 .andExpect(jsonPath("$.orders[0].status").value("COMPLETED"));
 
-        verify(orderService, times(1)).getCustomerOrders("customer@example.com");
+        verify(orderService, times(1)).getCustomerOrders("customer@example.com", false);
     }
 
     @Test
@@ -103,7 +303,7 @@ class CustomerOrderControllerTest {
         Authentication authentication = mock(Authentication.class);
         when(authentication.getName()).thenReturn("customer@example.com");
 
-        when(orderService.getCustomerOrderById(orderId, "customer@example.com")).thenReturn(order);
+        when(orderService.getCustomerOrderById(orderId, "customer@example.com", false)).thenReturn(order);
 
         mockMvc.perform(get("/api/customer/orders")
                 .principal(authentication)
@@ -112,7 +312,7 @@ class CustomerOrderControllerTest {
                 .andExpect(jsonPath("$.orders").isArray())
                 .andExpect(jsonPath("$.orders[0].status").value("SHIPPED"));
 
-        verify(orderService, times(1)).getCustomerOrderById(orderId, "customer@example.com");
+        verify(orderService, times(1)).getCustomerOrderById(orderId, "customer@example.com", false);
     }
 
     @Test
@@ -125,7 +325,7 @@ class CustomerOrderControllerTest {
         Authentication authentication = mock(Authentication.class);
         when(authentication.getName()).thenReturn("customer@example.com");
 
-        when(orderService.getCustomerOrders(eq("customer@example.com"), any(Pageable.class))).thenReturn(pageResult);
+        when(orderService.getCustomerOrders(eq("customer@example.com"), any(Pageable.class), eq(false))).thenReturn(pageResult);
 
         mockMvc.perform(get("/api/customer/orders")
                 .principal(authentication)
@@ -135,7 +335,28 @@ class CustomerOrderControllerTest {
                 .andExpect(jsonPath("$.content").isArray())
                 .andExpect(jsonPath("$.content[0].status").value("PENDING"));
 
-        verify(orderService, times(1)).getCustomerOrders(eq("customer@example.com"), any(Pageable.class));
+        verify(orderService, times(1)).getCustomerOrders(eq("customer@example.com"), any(Pageable.class), eq(false));
+    }
+
+    @Test
+    void testGetMyOrders_IncludeArchived_WithOrderId() throws Exception {
+        UUID orderId = UUID.randomUUID();
+        OrderDTO order = new OrderDTO();
+        order.setStatus("DELIVERED");
+
+        Authentication authentication = mock(Authentication.class);
+        when(authentication.getName()).thenReturn("customer@example.com");
+
+        when(orderService.getCustomerOrderById(orderId, "customer@example.com", true)).thenReturn(order);
+
+        mockMvc.perform(get("/api/customer/orders")
+                .principal(authentication)
+                .param("orderId", orderId.toString())
+                .param("includeArchived", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orders[0].status").value("DELIVERED"));
+
+        verify(orderService, times(1)).getCustomerOrderById(orderId, "customer@example.com", true);
     }
 
     @Test
@@ -2,8 +2,16 @@ package com.example.ordermgmt.controller;
 
 import com.example.ordermgmt.dto.AddStockRequestDTO;
 import com.example.ordermgmt.dto.AddStockWrapperDTO;
+import com.example.ordermgmt.dto.FlashSaleToggleDTO;
+import com.example.ordermgmt.dto.FlashSaleWrapperDTO;
+import com.example.ordermgmt.dto.InventoryMovementDTO;
+import com.example.ordermgmt.dto.StockLedgerToggleDTO;
+import com.example.ordermgmt.dto.StockLedgerWrapperDTO;
+import com.example.ordermgmt.dto.StockStripingDTO;
+import com.example.ordermgmt.dto.StockStripingWrapperDTO;
 import com.example.ordermgmt.dto.InventoryItemDTO;
 import com.example.ordermgmt.dto.InventoryItemWrapperDTO;
+import com.example.ordermgmt.enums.StockMovementType;
 import com.example.ordermgmt.service.InventoryService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -144,6 +152,89 @@ class InventoryControllerTest {
         verify(inventoryService, times(1)).addStock(anyList());
     }
 
+    @Test
+    void testUpdateFlashSaleMode_Success() throws Exception {
+        UUID itemId = UUID.randomUUID();
+        FlashSaleWrapperDTO wrapper = new FlashSaleWrapperDTO(
+                Collections.singletonList(new FlashSaleToggleDTO(itemId, true)));
+
+        when(inventoryService.updateFlashSaleMode(anyList())).thenReturn(Collections.singletonList(itemId));
+
+        mockMvc.perform(put("/api/admin/inventory/flash-sale")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(wrapper)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0]").value(itemId.toString()));
+
+        verify(inventoryService, times(1)).updateFlashSaleMode(anyList());
+    }
+
+    @Test
+    void testUpdateFlashSaleMode_EmptyList_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(put("/api/admin/inventory/flash-sale")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"flashsale\": []}"))
+                .andExpect(status().isBadRequest());
+
+        verify(inventoryService, never()).updateFlashSaleMode(anyList());
+    }
+
+    @Test
+    void testUpdateStockStriping_Success() throws Exception {
+        UUID itemId = UUID.randomUUID();
+        StockStripingWrapperDTO wrapper = new StockStripingWrapperDTO(
+                Collections.singletonList(new StockStripingDTO(itemId, 8)));
+
+        when(inventoryService.updateStockStriping(anyList())).thenReturn(Collections.singletonList(itemId));
+
+        mockMvc.perform(put("/api/admin/inventory/striping")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(wrapper)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0]").value(itemId.toString()));
+    }
+
+    @Test
+    void testUpdateStockStriping_ZeroBuckets_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(put("/api/admin/inventory/striping")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"striping\": [{\"itemId\": \"" + UUID.randomUUID() + "\", \"buckets\": 0}]}"))
+                .andExpect(status().isBadRequest());
+
+        verify(inventoryService, never()).updateStockStriping(anyList());
+    }
+
+    @Test
+    void testUpdateStockLedgerMode_Success() throws Exception {
+        UUID itemId = UUID.randomUUID();
+        StockLedgerWrapperDTO wrapper = new StockLedgerWrapperDTO(
+                Collections.singletonList(new StockLedgerToggleDTO(itemId, true)));
+
+        when(inventoryService.updateStockLedgerMode(anyList())).thenReturn(Collections.singletonList(itemId));
+
+        mockMvc.perform(put("/api/admin/inventory/ledger")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(wrapper)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0]").value(itemId.toString()));
+    }
+
+    @Test
+    void testGetStockMovements_Success() throws Exception {
+        UUID itemId = UUID.randomUUID();
+        InventoryMovementDTO movement = new InventoryMovementDTO(UUID.randomUUID(), StockMovementType.RESTOCK,
+                25, 0, false, "admin", null);
+
+        when(inventoryService.getStockMovements(eq(itemId), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(Collections.singletonList(movement), PageRequest.of(0, 50), 1));
+
+        mockMvc.perform(get("/api/admin/inventory/movements")
+                .param("itemId", itemId.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].movementType").value("RESTOCK"))
+                .andExpect(jsonPath("$.content[0].availableDelta").value(25));
+    }
+
     @Test
     void testUpdateInventoryItems_Success() throws Exception {
         InventoryItemWrapperDTO wrapper = new InventoryItemWrapperDTO();
@@ -9,6 +9,8 @@ import com.example.ordermgmt.dto.analytics.OrderAnalyticsSaleDTO;
 import com.example.ordermgmt.dto.analytics.RevenueReportItemDTO;
 import com.example.ordermgmt.dto.analytics.RevenueReportResponseDTO;
 import com.example.ordermgmt.dto.analytics.RevenueReportSaleDTO;
+import com.example.ordermgmt.dto.analytics.StatusDurationDayDTO;
+import com.example.ordermgmt.dto.analytics.StatusDurationReportResponseDTO;
 import com.example.ordermgmt.exception.GlobalExceptionHandler;
 import com.example.ordermgmt.exception.InvalidOperationException;
 import com.example.ordermgmt.service.AdminAnalyticsService;
@@ -224,6 +226,37 @@ class OrgAdminControllerTest {
                 verify(eventPublisher, times(1)).publishEvent(any(EmailDispatchEvent.class));
         }
 
+        @Test
+        void testGetStatusDurationReport_Success() throws Exception {
+                LocalDate startDate = LocalDate.parse("2026-03-01");
+                LocalDate endDate = LocalDate.parse("2026-03-09");
+                StatusDurationReportResponseDTO reportDTO = new StatusDurationReportResponseDTO(
+                                startDate,
+                                endDate,
+                                "CONFIRMED",
+                                "SHIPPED",
+                                List.of(new StatusDurationDayDTO(LocalDate.parse("2026-03-02"), 12L,
+                                                3_600_000L, 7_200_000L, 9_000_000L, 10_800_000L, 12_000_000L)));
+
+                when(adminAnalyticsService.getStatusDurationReport(startDate, endDate, "confirmed", "shipped"))
+                                .thenReturn(reportDTO);
+
+                mockMvc.perform(get("/api/org-admin/analytics/status-durations")
+                                .param("startdate", "2026-03-01")
+                                .param("enddate", "2026-03-09")
+                                .param("fromstatus", "confirmed")
+                                .param("tostatus", "shipped"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.fromStatus").value("CONFIRMED"))
+                                .andExpect(jsonPath("$.toStatus").value("SHIPPED"))
+                                .andExpect(jsonPath("$.days[0].day").value("2026-03-02"))
+                                .andExpect(jsonPath("$.days[0].transitions").value(12))
+                                .andExpect(jsonPath("$.days[0].p95Ms").value(9_000_000));
+
+                verify(adminAnalyticsService, times(1))
+                                .getStatusDurationReport(startDate, endDate, "confirmed", "shipped");
+        }
+
         @Test
         void testGetOrderAnalytics_Success() throws Exception {
                 LocalDate startDate = LocalDate.parse("2026-02-01");
@@ -0,0 +1,208 @@
+package com.example.ordermgmt.integration;
+
+import com.example.ordermgmt.service.impl.order.AdaptiveStockReservationEngine;
+import com.example.ordermgmt.service.impl.order.ConditionalStockReservationEngine;
+import com.example.ordermgmt.service.impl.order.OrderInventoryManagerImpl;
+import com.example.ordermgmt.service.impl.order.StockReservationEngine;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+/**
+ * <h3>Benchmark: pessimistic vs. conditional vs. adaptive locking on a Zipfian catalog</h3>
+ * <p>
+ * 200 buyers place single-line orders over 64 items whose popularity follows a
+ * Zipf distribution (s = 1.1): a handful of head items take most of the traffic
+ * while the long tail almost never conflicts. The same seeded request stream is
+ * replayed on each engine. Stock covers every order, so all differences come
+ * from concurrency control.
+ * </p>
+ * <p>
+ * Reports throughput and p50/p99 latency per engine, plus the adaptive engine's
+ * retries and the number of items it ended up locking.
+ * Opt-in: {@code mvn test -Dtest=AdaptiveLockingBenchmarkTest -Dbenchmark=true}
+ * against the "it" PostgreSQL database.
+ * </p>
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("it")
+@TestPropertySource(properties = "app.inventory.reservation-engine=" + AdaptiveStockReservationEngine.NAME)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class AdaptiveLockingBenchmarkTest {
+
+    private static final int BUYERS = 200;
+    private static final int ORDERS_PER_BUYER = 5;
+    private static final int ITEMS = 64;
+    private static final double ZIPF_EXPONENT = 1.1;
+    private static final long SEED = 42L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OrderInventoryManagerImpl orderInventoryManager;
+
+    @Autowired
+    private ConditionalStockReservationEngine conditionalEngine;
+
+    @Autowired
+    private AdaptiveStockReservationEngine adaptiveEngine;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private BenchmarkSupport support;
+    private String adminToken;
+    private String customerToken;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        support = new BenchmarkSupport(mockMvc, objectMapper);
+        adminToken = support.loginAdmin();
+        customerToken = support.loginCustomer();
+        support.completeCustomerProfile(customerToken);
+    }
+
+    @AfterEach
+    void tearDown() {
+        useEngine(adaptiveEngine);
+    }
+
+    @Test
+    void compareEngines_OnZipfianPopularity() throws Exception {
+        List<Result> results = List.of(
+                run(OrderInventoryManagerImpl.PESSIMISTIC_ENGINE, null),
+                run(ConditionalStockReservationEngine.NAME, conditionalEngine),
+                run(AdaptiveStockReservationEngine.NAME, adaptiveEngine));
+
+        System.out.printf("%-12s %10s %10s %10s%n", "engine", "orders/s", "p50 ms", "p99 ms");
+        results.forEach(this::print);
+        System.out.printf("adaptive: %.0f retries, %.0f exhausted, %.0f items locked at the end%n",
+                meterRegistry.get("inventory.adaptive.retries").counter().count(),
+                meterRegistry.get("inventory.adaptive.retries.exhausted").counter().count(),
+                meterRegistry.get("inventory.adaptive.items.pessimistic").gauge().value());
+    }
+
+    private Result run(String name, StockReservationEngine engine) throws Exception {
+        useEngine(engine);
+        int perItemStock = BUYERS * ORDERS_PER_BUYER;
+        List<UUID> items = support.createPricedItems(adminToken, "Zipf Item " + name, ITEMS, perItemStock);
+        List<String> bodies = new ArrayList<>();
+        for (UUID itemId : items) {
+            bodies.add(support.orderBody(List.of(itemId), 1));
+        }
+        int[][] picks = zipfianPicks();
+
+        ExecutorService executor = Executors.newFixedThreadPool(BUYERS);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int b = 0; b < BUYERS; b++) {
+            int[] buyerPicks = picks[b];
+            futures.add(executor.submit(() -> {
+                startLatch.await();
+                for (int pick : buyerPicks) {
+                    long start = System.nanoTime();
+                    MvcResult result = mockMvc.perform(post("/api/customer/orders")
+                            .header("Authorization", "Bearer " + customerToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(bodies.get(pick)))
+                            .andReturn();
+                    latencies.add(System.nanoTime() - start);
+                    if (result.getResponse().getStatus() == 201) {
+                        accepted.incrementAndGet();
+                    } else {
+                        errors.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long wallStart = System.nanoTime();
+        startLatch.countDown();
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.MINUTES);
+        }
+        long wallNanos = System.nanoTime() - wallStart;
+        executor.shutdown();
+
+        assertEquals(0, errors.get(), name + ": stock covers every order");
+        int reserved = 0;
+        for (UUID itemId : items) {
+            int[] stock = support.readStock(adminToken, itemId);
+            assertEquals(perItemStock, stock[0] + stock[1], name + ": stock must be conserved");
+            reserved += stock[1];
+        }
+        assertEquals(accepted.get(), reserved, name + ": reserved units");
+
+        long[] samples = latencies.stream().mapToLong(Long::longValue).toArray();
+        return new Result(name, accepted.get() / (wallNanos / 1_000_000_000.0),
+                BenchmarkSupport.percentileMillis(samples, 50),
+                BenchmarkSupport.percentileMillis(samples, 99));
+    }
+
+    // Same seed for every engine, so each one replays the identical request stream
+    private int[][] zipfianPicks() {
+        double[] cumulative = new double[ITEMS];
+        double total = 0;
+        for (int rank = 0; rank < ITEMS; rank++) {
+            total += 1.0 / Math.pow(rank + 1, ZIPF_EXPONENT);
+            cumulative[rank] = total;
+        }
+        Random random = new Random(SEED);
+        int[][] picks = new int[BUYERS][ORDERS_PER_BUYER];
+        for (int b = 0; b < BUYERS; b++) {
+            for (int i = 0; i < ORDERS_PER_BUYER; i++) {
+                double u = random.nextDouble() * total;
+                int rank = 0;
+                while (cumulative[rank] < u) {
+                    rank++;
+                }
+                picks[b][i] = rank;
+            }
+        }
+        return picks;
+    }
+
+    private void useEngine(StockReservationEngine engine) {
+        ReflectionTestUtils.setField(AopTestUtils.getUltimateTargetObject(orderInventoryManager),
+                "reservationEngine", engine);
+    }
+
+    private void print(Result result) {
+        System.out.printf("%-12s %10.1f %10.2f %10.2f%n", result.engine, result.ordersPerSecond,
+                result.p50Millis, result.p99Millis);
+    }
+
+    private record Result(String engine, double ordersPerSecond, double p50Millis, double p99Millis) {
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.ordermgmt.integration;
+
+import com.example.ordermgmt.service.impl.order.OrderAdmissionLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+/**
+ * <h3>Benchmark: order placement under 3x overload, with and without admission control</h3>
+ * <p>
+ * A closed-loop run with as many buyers as the connection pool first measures
+ * capacity (orders/s). Then an open-loop generator offers three times that
+ * rate for a fixed duration, once with the limiter off (requests queue for a
+ * connection) and once with it on (requests above the limit get 503).
+ * </p>
+ * <p>
+ * Reports throughput, p50/p99 latency of accepted orders, shed count and the
+ * final limit; the limiter run must keep its p99 below the unprotected one.
+ * Opt-in: {@code mvn test -Dtest=AdmissionControlBenchmarkTest -Dbenchmark=true}
+ * against the "it" PostgreSQL database.
+ * </p>
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("it")
+@TestPropertySource(properties = "app.order.admission.enabled=true")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class AdmissionControlBenchmarkTest {
+
+    private static final int CALIBRATION_BUYERS = 10;
+    private static final int CALIBRATION_ORDERS = 500;
+    private static final int SPREAD_ITEMS = 64;
+    private static final double OVERLOAD_FACTOR = 3.0;
+    private static final long RUN_SECONDS = 20;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OrderAdmissionLimiter admissionLimiter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private BenchmarkSupport support;
+    private String adminToken;
+    private String customerToken;
+    private List<String> bodies;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        support = new BenchmarkSupport(mockMvc, objectMapper);
+        adminToken = support.loginAdmin();
+        customerToken = support.loginCustomer();
+        support.completeCustomerProfile(customerToken);
+        List<UUID> items = support.createPricedItems(adminToken, "Admission Item", SPREAD_ITEMS, 1_000_000);
+        bodies = new ArrayList<>();
+        for (UUID itemId : items) {
+            bodies.add(support.orderBody(List.of(itemId), 1));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        useLimiter(true);
+    }
+
+    @Test
+    void compareAdmission_AtThreeTimesCapacity() throws Exception {
+        useLimiter(false);
+        double capacity = calibrate();
+        double offeredRate = capacity * OVERLOAD_FACTOR;
+
+        Result unprotected = runOpenLoop("off", offeredRate);
+        useLimiter(true);
+        Result limited = runOpenLoop("on", offeredRate);
+
+        System.out.printf("capacity %.1f orders/s, offered %.1f orders/s%n", capacity, offeredRate);
+        System.out.printf("%-8s %10s %10s %10s %10s %10s%n", "limiter", "orders/s", "p50 ms", "p99 ms", "shed",
+                "limit");
+        print(unprotected);
+        print(limited);
+
+        assertTrue(limited.shed > 0, "3x overload should shed requests");
+        assertTrue(limited.p99Millis < unprotected.p99Millis,
+                "admission control should bound p99: " + limited.p99Millis + " vs " + unprotected.p99Millis);
+    }
+
+    private double calibrate() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CALIBRATION_BUYERS);
+        AtomicInteger next = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int b = 0; b < CALIBRATION_BUYERS; b++) {
+            futures.add(executor.submit(() -> {
+                int i;
+                while ((i = next.getAndIncrement()) < CALIBRATION_ORDERS) {
+                    assertEquals(201, place(bodies.get(i % bodies.size())));
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+        return CALIBRATION_ORDERS / ((System.nanoTime() - start) / 1_000_000_000.0);
+    }
+
+    private Result runOpenLoop(String label, double ratePerSecond) throws Exception {
+        double shedBefore = meterRegistry.get("order.admission.shed").counter().count();
+        ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+
+        long intervalNanos = (long) (1_000_000_000L / ratePerSecond);
+        long total = (long) (ratePerSecond * RUN_SECONDS);
+        long start = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>();
+        for (long n = 0; n < total; n++) {
+            long due = start + n * intervalNanos;
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+            String body = bodies.get((int) (n % bodies.size()));
+            futures.add(senders.submit(() -> {
+                long sent = System.nanoTime();
+                int status = place(body);
+                if (status == 201) {
+                    latencies.add(System.nanoTime() - sent);
+                    accepted.incrementAndGet();
+                } else if (status != 503) {
+                    errors.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.MINUTES);
+        }
+        long wallNanos = System.nanoTime() - start;
+        senders.shutdown();
+
+        assertEquals(0, errors.get(), label + ": unexpected non-201/503 responses");
+        long[] samples = latencies.stream().mapToLong(Long::longValue).toArray();
+        return new Result(label, accepted.get() / (wallNanos / 1_000_000_000.0),
+                BenchmarkSupport.percentileMillis(samples, 50),
+                BenchmarkSupport.percentileMillis(samples, 99),
+                (long) (meterRegistry.get("order.admission.shed").counter().count() - shedBefore),
+                (int) meterRegistry.get("order.admission.limit").gauge().value());
+    }
+
+    private int place(String body) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/customer/orders")
+                .header("Authorization", "Bearer " + customerToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andReturn();
+        return result.getResponse().getStatus();
+    }
+
+    private void useLimiter(boolean enabled) {
+        ReflectionTestUtils.setField(admissionLimiter, "enabled", enabled);
+    }
+
+    private void print(Result result) {
+        System.out.printf("%-8s %10.1f %10.2f %10.2f %10d %10d%n", result.label, result.ordersPerSecond,
+                result.p50Millis, result.p99Millis, result.shed, result.limit);
+    }
+
+    private record Result(String label, double ordersPerSecond, double p50Millis, double p99Millis, long shed,
+            int limit) {
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.ordermgmt.integration;
+
+import com.example.ordermgmt.dto.*;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Shared setup for the opt-in benchmark suites (run with -Dbenchmark=true).
+ * Everything goes through the public API so the numbers include the full
+ * request path: security filter, transaction, flush and serialization.
+ */
+final class BenchmarkSupport {
+
+    static final String ADMIN_EMAIL = "anandchaniyara007@gmail.com";
+    static final String CUSTOMER_EMAIL = "anandchaniyara007storage@gmail.com";
+
+    private final MockMvc mockMvc;
+    private final ObjectMapper objectMapper;
+
+    BenchmarkSupport(MockMvc mockMvc, ObjectMapper objectMapper) {
+        this.mockMvc = mockMvc;
+        this.objectMapper = objectMapper;
+    }
+
+    String login(String email, String password) throws Exception {
+        LoginRequestDTO login = new LoginRequestDTO("enterprise", email, password);
+        MvcResult result = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(login)))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("accessToken").asText();
+    }
+
+    String loginAdmin() throws Exception {
+        return login(ADMIN_EMAIL, "adminpassword");
+    }
+
+    String loginCustomer() throws Exception {
+        return login(CUSTOMER_EMAIL, "customerpassword");
+    }
+
+    void completeCustomerProfile(String customerToken) throws Exception {
+        CustomerProfileDTO profile = new CustomerProfileDTO("Bench", "Customer", "9876543210",
+                "1 Benchmark Way", CUSTOMER_EMAIL);
+        mockMvc.perform(put("/api/customer/profile")
+                .header("Authorization", "Bearer " + customerToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(profile)))
+                .andExpect(status().isOk());
+    }
+
+    /**
+     * Creates {@code count} inventory items with the given stock and a flat price.
+     */
+    List<UUID> createPricedItems(String adminToken, String namePrefix, int count, int stock) throws Exception {
+        StringBuilder body = new StringBuilder("{\"inventory\": [");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                body.append(',');
+            }
+            body.append("{\"itemName\": \"").append(namePrefix).append(' ').append(i)
+                    .append("\", \"availableStock\": ").append(stock).append(", \"reservedStock\": 0}");
+        }
+        body.append("]}");
+
+        MvcResult invResult = mockMvc.perform(post("/api/admin/inventory")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body.toString()))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        List<UUID> itemIds = new ArrayList<>();
+        for (JsonNode node : objectMapper.readTree(invResult.getResponse().getContentAsString()).get("items")) {
+            itemIds.add(UUID.fromString(node.asText()));
+        }
+
+        List<AdminPricingDTO> prices = itemIds.stream()
+                .map(id -> new AdminPricingDTO(id, new BigDecimal("10.00"), null))
+                .collect(Collectors.toList());
+        mockMvc.perform(post("/api/admin/prices")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new AdminPricingWrapperDTO(prices))))
+                .andExpect(status().isCreated());
+
+        return itemIds;
+    }
+
+    /**
+     * Returns {availableStock, reservedStock} as currently persisted.
+     */
+    int[] readStock(String adminToken, UUID itemId) throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/admin/inventory")
+                .header("Authorization", "Bearer " + adminToken)
+                .param("itemId", itemId.toString()))
+                .andExpect(status().isOk())
+                .andReturn();
+        JsonNode item = objectMapper.readTree(result.getResponse().getContentAsString());
+        return new int[] { item.get("availableStock").asInt(), item.get("reservedStock").asInt() };
+    }
+
+    String orderBody(List<UUID> itemIds, int quantity) throws Exception {
+        List<OrderItemDTO> lines = itemIds.stream()
+                .map(id -> new OrderItemDTO(id, null, quantity, null, null))
+                .collect(Collectors.toList());
+        return objectMapper.writeValueAsString(new OrderDTO(null, null, null, null, null, lines, null));
+    }
+
+    /**
+     * Nearest-rank percentile over raw samples (nanoseconds in, milliseconds out).
+     */
+    static double percentileMillis(long[] samplesNanos, double percentile) {
+        if (samplesNanos.length == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(samplesNanos, samplesNanos.length);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.ordermgmt.integration;
+
+import com.example.ordermgmt.dto.BulkOrderStatusUpdateDTO;
+import com.example.ordermgmt.dto.BulkOrderStatusUpdateWrapperDTO;
+import com.example.ordermgmt.service.OrderService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * <h3>Benchmark: bulk status updates, one by one vs. parallel lanes</h3>
+ * <p>
+ * Confirms 1k, 10k and 50k PENDING orders through {@code PUT /api/admin/orders/status},
+ * once with the concurrency set to 1 (the old sequential loop) and once with the
+ * configured concurrency. Each order holds two of {@value #ITEMS} items, paired so
+ * the orders fall into {@value #ITEMS}/2 lanes. Every update must succeed. Reports
+ * updates per second and wall time for each size and mode.
+ * </p>
+ * <p>
+ * Opt-in: {@code mvn test -Dtest=BulkStatusUpdateBenchmarkTest -Dbenchmark=true}
+ * against the "it" PostgreSQL database. The 50k sequential run takes minutes.
+ * </p>
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("it")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class BulkStatusUpdateBenchmarkTest {
+
+    private static final int[] SIZES = { 1_000, 10_000, 50_000 };
+    private static final int ITEMS = 200;
+    private static final int PLACEMENT_CHUNK = 500;
+    private static final int STOCK = 10_000_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OrderService orderService;
+
+    private BenchmarkSupport support;
+    private String adminToken;
+    private String customerToken;
+    private int configuredConcurrency;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        support = new BenchmarkSupport(mockMvc, objectMapper);
+        adminToken = support.loginAdmin();
+        customerToken = support.loginCustomer();
+        support.completeCustomerProfile(customerToken);
+        configuredConcurrency = (Integer) ReflectionTestUtils.getField(
+                AopTestUtils.getUltimateTargetObject(orderService), "bulkStatusConcurrency");
+    }
+
+    @AfterEach
+    void tearDown() {
+        useConcurrency(configuredConcurrency);
+    }
+
+    @Test
+    void compareModes_ConfirmThousandsOfOrders() throws Exception {
+        List<UUID> items = support.createPricedItems(adminToken, "Bulk Status Bench Item", ITEMS, STOCK);
+        List<Result> results = new ArrayList<>();
+        for (int size : SIZES) {
+            results.add(run(size, 1, items));
+            results.add(run(size, configuredConcurrency, items));
+        }
+
+        System.out.printf("%-8s %-12s %12s %10s%n", "updates", "concurrency", "updates/s", "seconds");
+        for (Result result : results) {
+            System.out.printf("%-8d %-12d %12.1f %10.2f%n", result.updates, result.concurrency,
+                    result.updatesPerSecond, result.seconds);
+        }
+
+        Result sequential = results.get(results.size() - 2);
+        Result parallel = results.get(results.size() - 1);
+        assertTrue(parallel.updatesPerSecond > sequential.updatesPerSecond,
+                "Parallel lanes should confirm orders faster than the sequential loop");
+    }
+
+    private Result run(int size, int concurrency, List<UUID> items) throws Exception {
+        List<UUID> orderIds = placeOrders(size, items);
+        useConcurrency(concurrency);
+
+        List<BulkOrderStatusUpdateDTO> updates = orderIds.stream()
+                .map(id -> new BulkOrderStatusUpdateDTO(id, "CONFIRMED"))
+                .toList();
+        String body = objectMapper.writeValueAsString(new BulkOrderStatusUpdateWrapperDTO(updates));
+
+        long start = System.nanoTime();
+        MvcResult result = mockMvc.perform(put("/api/admin/orders/status")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andReturn();
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        JsonNode outcome = objectMapper.readTree(result.getResponse().getContentAsString());
+        assertEquals(0, outcome.get("failures").size(), "every update should succeed");
+        assertEquals(size, outcome.get("successes").size());
+        // Request order is kept in the response
+        assertEquals(orderIds.get(size - 1).toString(), outcome.get("successes").get(size - 1).get("orderId").asText());
+
+        return new Result(size, concurrency, size / seconds, seconds);
+    }
+
+    // Order k holds items 2p and 2p+1 for p = k mod ITEMS/2: orders of the same pair share a lane
+    private List<UUID> placeOrders(int count, List<UUID> items) throws Exception {
+        List<UUID> orderIds = new ArrayList<>();
+        for (int from = 0; from < count; from += PLACEMENT_CHUNK) {
+            StringBuilder body = new StringBuilder("{\"orders\": [");
+            for (int k = from; k < Math.min(from + PLACEMENT_CHUNK, count); k++) {
+                if (k > from) {
+                    body.append(',');
+                }
+                int pair = k % (ITEMS / 2);
+                body.append(support.orderBody(List.of(items.get(2 * pair), items.get(2 * pair + 1)), 1));
+            }
+            body.append("]}");
+
+            MvcResult result = mockMvc.perform(post("/api/customer/orders/bulk")
+                    .header("Authorization", "Bearer " + customerToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(body.toString()))
+                    .andReturn();
+            JsonNode placed = objectMapper.readTree(result.getResponse().getContentAsString());
+            assertEquals(0, placed.get("failed").asInt(), "every order should be placed");
+            for (JsonNode entry : placed.get("results")) {
+                orderIds.add(UUID.fromString(entry.get("order").get("orderId").asText()));
+            }
+        }
+        return orderIds;
+    }
+
+    private void useConcurrency(int concurrency) {
+        ReflectionTestUtils.setField(AopTestUtils.getUltimateTargetObject(orderService),
+                "bulkStatusConcurrency", concurrency);
+    }
+
+    private record Result(int updates, int concurrency, double updatesPerSecond, double seconds) {
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.ordermgmt.integration;
+
+import com.example.ordermgmt.service.impl.order.FlashSaleCounters;
+import com.example.ordermgmt.service.impl.order.FlashSaleStockReconciler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Flash-sale mode under concurrent load.
+ *
+ * Covers:
+ * - Demand above stock on a flash-sale item never oversells
+ * - Reconciliation brings INVENTORY_ITEM in line with the Redis counters
+ * - Counters lost from Redis are rebuilt from ORDER_ITEM
+ * - Cancellation releases stock through the counters
+ *
+ * Requires the "it" PostgreSQL database and a local Redis.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("it")
+@TestPropertySource(properties = "app.inventory.flash-sale.enabled=true")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class FlashSaleConcurrencyIntegrationTest {
+
+    private static final int BUYERS = 50;
+    private static final int ORDERS_PER_BUYER = 4;
+    private static final int STOCK = 120;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private FlashSaleCounters counters;
+
+    @Autowired
+    private FlashSaleStockReconciler reconciler;
+
+    private static BenchmarkSupport support;
+    private static String adminToken;
+    private static String customerToken;
+    private static UUID flashItem;
+    private static final List<UUID> acceptedOrders = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        if (support == null) {
+            support = new BenchmarkSupport(mockMvc, objectMapper);
+            adminToken = support.loginAdmin();
+            customerToken = support.loginCustomer();
+            support.completeCustomerProfile(customerToken);
+            flashItem = support.createPricedItems(adminToken, "Flash Item", 1, STOCK).get(0);
+        }
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("1. ADMIN switches the item to flash-sale mode")
+    void enableFlashSale() throws Exception {
+        mockMvc.perform(put("/api/admin/inventory/flash-sale")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"flashsale\": [{\"itemId\": \"" + flashItem + "\", \"enabled\": true}]}"))
+                .andExpect(status().isOk());
+
+        assertArrayEquals(new int[] { STOCK, 0 }, counters.read(flashItem));
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("2. Concurrent demand above stock sells every unit exactly once")
+    void concurrentOrdersNeverOversell() throws Exception {
+        String body = support.orderBody(List.of(flashItem), 1);
+        ExecutorService executor = Executors.newFixedThreadPool(BUYERS);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int b = 0; b < BUYERS; b++) {
+            futures.add(executor.submit(() -> {
+                startLatch.await();
+                for (int i = 0; i < ORDERS_PER_BUYER; i++) {
+                    MvcResult result = mockMvc.perform(post("/api/customer/orders")
+                            .header("Authorization", "Bearer " + customerToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                            .andReturn();
+                    int status = result.getResponse().getStatus();
+                    if (status == 201) {
+                        acceptedOrders.add(UUID.fromString(objectMapper
+                                .readTree(result.getResponse().getContentAsString()).get("orderId").asText()));
+                    } else if (status == 400) {
+                        rejected.incrementAndGet();
+                    } else {
+                        errors.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        startLatch.countDown();
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        assertEquals(0, errors.get(), "unexpected non-2xx/400 responses");
+        assertEquals(STOCK, acceptedOrders.size(), "every unit should be sold exactly once");
+        assertEquals(BUYERS * ORDERS_PER_BUYER - STOCK, rejected.get());
+        assertArrayEquals(new int[] { 0, STOCK }, counters.read(flashItem));
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("3. Reconciliation writes the pending deltas to PostgreSQL")
+    void reconcileMatchesCounters() throws Exception {
+        reconciler.reconcile();
+
+        assertArrayEquals(counters.read(flashItem), support.readStock(adminToken, flashItem));
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("4. Lost counters are rebuilt from ORDER_ITEM")
+    void recoverAfterRedisLoss() throws Exception {
+        counters.delete(flashItem);
+        assertNull(counters.read(flashItem));
+
+        assertEquals(1, reconciler.recoverMissingCounters());
+
+        assertArrayEquals(new int[] { 0, STOCK }, counters.read(flashItem));
+        assertArrayEquals(new int[] { 0, STOCK }, support.readStock(adminToken, flashItem));
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("5. Cancelling an order returns the unit to the counters")
+    void cancelReleasesThroughCounters() throws Exception {
+        mockMvc.perform(put("/api/customer/orders/" + acceptedOrders.get(0) + "/cancel")
+                .header("Authorization", "Bearer " + customerToken))
+                .andExpect(status().isOk());
+
+        assertArrayEquals(new int[] { 1, STOCK - 1 }, counters.read(flashItem));
+        reconciler.reconcile();
+        assertArrayEquals(new int[] { 1, STOCK - 1 }, support.readStock(adminToken, flashItem));
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.ordermgmt.integration;
+
+import com.example.ordermgmt.service.impl.order.OrderIntakeBatcher;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+/**
+ * <h3>Benchmark: one commit per order vs. group-commit intake</h3>
+ * <p>
+ * 200 buyers place 2-line orders spread over 32 items with ample stock, so
+ * row locks are rarely contended and the per-order commit dominates. The same
+ * load runs with the intake off and on; a final run on one hot item with stock
+ * below demand checks that rejected orders do not take the rest of their batch
+ * down with them.
+ * </p>
+ * <p>
+ * Reports throughput, p50/p99 latency and the mean achieved batch size.
+ * Opt-in: {@code mvn test -Dtest=GroupCommitIntakeBenchmarkTest -Dbenchmark=true}
+ * against the "it" PostgreSQL database.
+ * </p>
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("it")
+@TestPropertySource(properties = "app.order.intake.group-commit.enabled=true")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class GroupCommitIntakeBenchmarkTest {
+
+    private static final int BUYERS = 200;
+    private static final int ORDERS_PER_BUYER = 5;
+    private static final int SPREAD_ITEMS = 32;
+    private static final int LINES_PER_ORDER = 2;
+    private static final int HOT_STOCK = 600;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OrderIntakeBatcher orderIntake;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private BenchmarkSupport support;
+    private String adminToken;
+    private String customerToken;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        support = new BenchmarkSupport(mockMvc, objectMapper);
+        adminToken = support.loginAdmin();
+        customerToken = support.loginCustomer();
+        support.completeCustomerProfile(customerToken);
+    }
+
+    @AfterEach
+    void tearDown() {
+        useIntake(true);
+    }
+
+    @Test
+    void compareIntake_OnSpreadAndHotWorkloads() throws Exception {
+        List<Result> results = List.of(
+                runSpread(false),
+                runSpread(true),
+                runHot(false),
+                runHot(true));
+
+        System.out.printf("%-8s %-8s %10s %10s %10s %10s %10s%n",
+                "load", "intake", "orders/s", "p50 ms", "p99 ms", "rejected", "avg batch");
+        results.forEach(this::print);
+    }
+
+    private Result runSpread(boolean groupCommit) throws Exception {
+        useIntake(groupCommit);
+        int perItemStock = BUYERS * ORDERS_PER_BUYER;
+        List<UUID> items = support.createPricedItems(adminToken, "Intake Spread Item " + groupCommit, SPREAD_ITEMS,
+                perItemStock);
+        List<String> bodies = new ArrayList<>();
+        for (int i = 0; i < SPREAD_ITEMS; i++) {
+            bodies.add(support.orderBody(List.of(items.get(i), items.get((i + 7) % SPREAD_ITEMS)), 1));
+        }
+
+        Result result = run("spread", groupCommit, bodies);
+
+        int reserved = 0;
+        for (UUID itemId : items) {
+            int[] stock = support.readStock(adminToken, itemId);
+            assertEquals(perItemStock, stock[0] + stock[1], "stock must be conserved");
+            reserved += stock[1];
+        }
+        assertEquals(0, result.rejected, "stock covers every order");
+        assertEquals(result.accepted * LINES_PER_ORDER, reserved, "reserved units");
+        return result;
+    }
+
+    private Result runHot(boolean groupCommit) throws Exception {
+        useIntake(groupCommit);
+        UUID hotItem = support.createPricedItems(adminToken, "Intake Hot Item " + groupCommit, 1, HOT_STOCK).get(0);
+
+        Result result = run("hot", groupCommit, List.of(support.orderBody(List.of(hotItem), 1)));
+
+        int[] stock = support.readStock(adminToken, hotItem);
+        assertEquals(HOT_STOCK, result.accepted, "every unit should be sold exactly once");
+        assertEquals(BUYERS * ORDERS_PER_BUYER - HOT_STOCK, result.rejected);
+        assertArrayEquals(new int[] { 0, HOT_STOCK }, stock);
+        return result;
+    }
+
+    private Result run(String load, boolean groupCommit, List<String> bodies) throws Exception {
+        DistributionSummary batchSize = meterRegistry.get("order.intake.batch.size").summary();
+        long batchesBefore = batchSize.count();
+        double batchedBefore = batchSize.totalAmount();
+
+        ExecutorService executor = Executors.newFixedThreadPool(BUYERS);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int b = 0; b < BUYERS; b++) {
+            String body = bodies.get(b % bodies.size());
+            futures.add(executor.submit(() -> {
+                startLatch.await();
+                for (int i = 0; i < ORDERS_PER_BUYER; i++) {
+                    long start = System.nanoTime();
+                    MvcResult result = mockMvc.perform(post("/api/customer/orders")
+                            .header("Authorization", "Bearer " + customerToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                            .andReturn();
+                    latencies.add(System.nanoTime() - start);
+                    int status = result.getResponse().getStatus();
+                    if (status == 201) {
+                        accepted.incrementAndGet();
+                    } else if (status == 400) {
+                        rejected.incrementAndGet();
+                    } else {
+                        errors.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long wallStart = System.nanoTime();
+        startLatch.countDown();
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.MINUTES);
+        }
+        long wallNanos = System.nanoTime() - wallStart;
+        executor.shutdown();
+
+        assertEquals(0, errors.get(), load + "/" + groupCommit + ": unexpected non-2xx/400 responses");
+        long batches = batchSize.count() - batchesBefore;
+        double avgBatch = batches == 0 ? 1.0 : (batchSize.totalAmount() - batchedBefore) / batches;
+        long[] samples = latencies.stream().mapToLong(Long::longValue).toArray();
+        return new Result(load, groupCommit, accepted.get(), accepted.get() / (wallNanos / 1_000_000_000.0),
+                BenchmarkSupport.percentileMillis(samples, 50),
+                BenchmarkSupport.percentileMillis(samples, 99),
+                rejected.get(), avgBatch);
+    }
+
+    private void useIntake(boolean enabled) {
+        ReflectionTestUtils.setField(orderIntake, "enabled", enabled);
+    }
+
+    private void print(Result result) {
+        System.out.printf("%-8s %-8s %10.1f %10.2f %10.2f %10d %10.1f%n", result.load,
+                result.groupCommit ? "on" : "off", result.ordersPerSecond, result.p50Millis, result.p99Millis,
+                result.rejected, result.avgBatch);
+    }
+
+    private record Result(String load, boolean groupCommit, int accepted, double ordersPerSecond, double p50Millis,
+            double p99Millis, int rejected, double avgBatch) {
+    }
+}
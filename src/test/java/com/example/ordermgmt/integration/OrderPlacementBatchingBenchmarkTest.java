@@ -0,0 +1,148 @@
+package com.example.ordermgmt.integration;
+
+import com.example.ordermgmt.service.impl.order.OrderInventoryManagerImpl;
+import com.example.ordermgmt.service.impl.order.OrderServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * <h3>Benchmark: per-line writes vs. single batched flush on order placement</h3>
+ * <p>
+ * Places 1, 10 and 50-line orders with {@code app.order.placement.batched}
+ * off (saveAndFlush per line) and on (one flush, JDBC batching) and reports,
+ * per order, the JDBC statements prepared (round trips) and p50/p99 latency.
+ * </p>
+ * <p>
+ * Opt-in: {@code mvn test -Dtest=OrderPlacementBatchingBenchmarkTest -Dbenchmark=true}
+ * against the "it" PostgreSQL database.
+ * </p>
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("it")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class OrderPlacementBatchingBenchmarkTest {
+
+    private static final int WARMUP_ORDERS = 20;
+    private static final int MEASURED_ORDERS = 200;
+    private static final int[] LINE_COUNTS = { 1, 10, 50 };
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private OrderServiceImpl orderService;
+
+    @Autowired
+    private OrderInventoryManagerImpl orderInventoryManager;
+
+    private BenchmarkSupport support;
+    private Statistics statistics;
+    private String customerToken;
+    private List<UUID> itemIds;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        support = new BenchmarkSupport(mockMvc, objectMapper);
+        String adminToken = support.loginAdmin();
+        itemIds = support.createPricedItems(adminToken, "Batch Bench Item", 50, 1_000_000);
+        customerToken = support.loginCustomer();
+        support.completeCustomerProfile(customerToken);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+        setBatched(true);
+    }
+
+    @Test
+    void compareRoundTripsAndLatency_PerLineVsBatched() throws Exception {
+        System.out.printf("%-8s %-6s %12s %10s %10s%n", "mode", "lines", "stmts/order", "p50 ms", "p99 ms");
+
+        for (int lines : LINE_COUNTS) {
+            Result legacy = run(false, lines);
+            Result batched = run(true, lines);
+
+            print("legacy", lines, legacy);
+            print("batched", lines, batched);
+
+            // The batched path must never cost more round trips than the per-line path
+            assertTrue(batched.statementsPerOrder <= legacy.statementsPerOrder,
+                    "Batched placement should not prepare more statements than the per-line path");
+        }
+    }
+
+    private Result run(boolean batched, int lines) throws Exception {
+        setBatched(batched);
+        String body = support.orderBody(itemIds.subList(0, lines), 1);
+
+        for (int i = 0; i < WARMUP_ORDERS; i++) {
+            placeOrder(body);
+        }
+
+        long[] latencies = new long[MEASURED_ORDERS];
+        long statements = 0;
+        for (int i = 0; i < MEASURED_ORDERS; i++) {
+            statistics.clear();
+            long start = System.nanoTime();
+            placeOrder(body);
+            latencies[i] = System.nanoTime() - start;
+            statements += statistics.getPrepareStatementCount();
+        }
+
+        return new Result((double) statements / MEASURED_ORDERS,
+                BenchmarkSupport.percentileMillis(latencies, 50),
+                BenchmarkSupport.percentileMillis(latencies, 99));
+    }
+
+    private void placeOrder(String body) throws Exception {
+        mockMvc.perform(post("/api/customer/orders")
+                .header("Authorization", "Bearer " + customerToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isCreated());
+    }
+
+    private void setBatched(boolean batched) {
+        ReflectionTestUtils.setField(AopTestUtils.getUltimateTargetObject(orderService), "batchedPlacement", batched);
+        ReflectionTestUtils.setField(AopTestUtils.getUltimateTargetObject(orderInventoryManager), "batchedPlacement",
+                batched);
+    }
+
+    private void print(String mode, int lines, Result result) {
+        System.out.printf("%-8s %-6d %12.1f %10.2f %10.2f%n",
+                mode, lines, result.statementsPerOrder, result.p50Millis, result.p99Millis);
+    }
+
+    private record Result(double statementsPerOrder, double p50Millis, double p99Millis) {
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.ordermgmt.integration;
+
+import com.example.ordermgmt.service.impl.order.OrderInventoryManagerImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+/**
+ * <h3>Benchmark: Java placement engine vs. the place_order PL/pgSQL function</h3>
+ * <p>
+ * 100 buyers place 5-line orders at once over a shared set of 20 items, so
+ * orders overlap and queue on the same row locks. Each run uses fresh items
+ * with ample stock; every order must be accepted and every unit reserved
+ * exactly once. Reports throughput, p50/p99 latency and JDBC statements
+ * prepared per order (round trips) for each engine.
+ * </p>
+ * <p>
+ * Opt-in: {@code mvn test -Dtest=OrderPlacementFunctionBenchmarkTest -Dbenchmark=true}
+ * against the "it" PostgreSQL database.
+ * </p>
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("it")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class OrderPlacementFunctionBenchmarkTest {
+
+    private static final int BUYERS = 100;
+    private static final int ORDERS_PER_BUYER = 10;
+    private static final int ITEMS = 20;
+    private static final int LINES = 5;
+    private static final int STOCK = 1_000_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private OrderInventoryManagerImpl orderInventoryManager;
+
+    private BenchmarkSupport support;
+    private Statistics statistics;
+    private String adminToken;
+    private String customerToken;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        support = new BenchmarkSupport(mockMvc, objectMapper);
+        adminToken = support.loginAdmin();
+        customerToken = support.loginCustomer();
+        support.completeCustomerProfile(customerToken);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+        useFunction(false);
+    }
+
+    @Test
+    void compareEngines_MultiLineOrdersUnderContention() throws Exception {
+        Result java = run(OrderInventoryManagerImpl.JAVA_PLACEMENT, false);
+        Result function = run(OrderInventoryManagerImpl.PLPGSQL_PLACEMENT, true);
+
+        System.out.printf("%-8s %10s %10s %10s %12s%n", "engine", "orders/s", "p50 ms", "p99 ms", "stmts/order");
+        print(java);
+        print(function);
+
+        assertTrue(function.statementsPerOrder < java.statementsPerOrder,
+                "The function should need fewer round trips per order than the Java engine");
+    }
+
+    private Result run(String name, boolean inDatabase) throws Exception {
+        useFunction(inDatabase);
+        List<UUID> items = support.createPricedItems(adminToken, "Function Bench Item " + name, ITEMS, STOCK);
+        // Order k takes LINES consecutive items starting at k: neighbouring orders share rows
+        List<String> bodies = new ArrayList<>();
+        for (int k = 0; k < ITEMS; k++) {
+            List<UUID> lines = new ArrayList<>();
+            for (int j = 0; j < LINES; j++) {
+                lines.add(items.get((k + j) % ITEMS));
+            }
+            bodies.add(support.orderBody(lines, 1));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(BUYERS);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int b = 0; b < BUYERS; b++) {
+            int buyer = b;
+            futures.add(executor.submit(() -> {
+                startLatch.await();
+                for (int i = 0; i < ORDERS_PER_BUYER; i++) {
+                    String body = bodies.get((buyer + i) % bodies.size());
+                    long start = System.nanoTime();
+                    MvcResult result = mockMvc.perform(post("/api/customer/orders")
+                            .header("Authorization", "Bearer " + customerToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                            .andReturn();
+                    latencies.add(System.nanoTime() - start);
+                    if (result.getResponse().getStatus() == 201) {
+                        accepted.incrementAndGet();
+                    } else {
+                        errors.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        statistics.clear();
+        long wallStart = System.nanoTime();
+        startLatch.countDown();
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.MINUTES);
+        }
+        long wallNanos = System.nanoTime() - wallStart;
+        long statements = statistics.getPrepareStatementCount();
+        executor.shutdown();
+
+        int orders = BUYERS * ORDERS_PER_BUYER;
+        assertEquals(0, errors.get(), name + ": unexpected non-201 responses");
+        assertEquals(orders, accepted.get(), name + ": every order should be accepted");
+        int reserved = 0;
+        for (UUID item : items) {
+            int[] stock = support.readStock(adminToken, item);
+            assertEquals(STOCK, stock[0] + stock[1], name + ": stock must be conserved");
+            reserved += stock[1];
+        }
+        assertEquals(orders * LINES, reserved, name + ": every line reserved exactly once");
+
+        long[] samples = latencies.stream().mapToLong(Long::longValue).toArray();
+        return new Result(name, orders / (wallNanos / 1_000_000_000.0),
+                BenchmarkSupport.percentileMillis(samples, 50),
+                BenchmarkSupport.percentileMillis(samples, 99),
+                (double) statements / orders);
+    }
+
+    private void useFunction(boolean enabled) {
+        ReflectionTestUtils.setField(AopTestUtils.getUltimateTargetObject(orderInventoryManager),
+                "functionPlacement", enabled);
+    }
+
+    private void print(Result result) {
+        System.out.printf("%-8s %10.1f %10.2f %10.2f %12.1f%n", result.engine, result.ordersPerSecond,
+                result.p50Millis, result.p99Millis, result.statementsPerOrder);
+    }
+
+    private record Result(String engine, double ordersPerSecond, double p50Millis, double p99Millis,
+            double statementsPerOrder) {
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.ordermgmt.integration;
+
+import com.example.ordermgmt.dto.AdminPricingDTO;
+import com.example.ordermgmt.dto.AdminPricingWrapperDTO;
+import com.example.ordermgmt.dto.OrderDTO;
+import com.example.ordermgmt.dto.OrderItemDTO;
+import com.example.ordermgmt.service.impl.order.OrderInventoryManagerImpl;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * The place_order PL/pgSQL function against the Java placement engine.
+ *
+ * Covers:
+ * - The same order gets the same lines, prices, total and line count from both
+ * - Both move the same stock from available to reserved
+ * - A scheduled (future) price is ignored by both
+ * - An order placed by the function cancels like any other
+ * - Insufficient stock and unknown items are rejected with the same message,
+ *   and the rejected order leaves no stock movement behind
+ *
+ * Requires the "it" PostgreSQL database with the place_order function (test_schema.sql).
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("it")
+public class OrderPlacementFunctionParityIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OrderInventoryManagerImpl orderInventoryManager;
+
+    private BenchmarkSupport support;
+    private String adminToken;
+    private String customerToken;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        support = new BenchmarkSupport(mockMvc, objectMapper);
+        adminToken = support.loginAdmin();
+        customerToken = support.loginCustomer();
+        support.completeCustomerProfile(customerToken);
+    }
+
+    @AfterEach
+    void tearDown() {
+        useFunction(false);
+    }
+
+    @Test
+    @DisplayName("Same order, same lines, total and stock movement")
+    void sameOrder_SameResultFromBothEngines() throws Exception {
+        List<UUID> items = support.createPricedItems(adminToken, "Parity Item", 3, 100);
+        schedulePrice(items.get(0), new BigDecimal("99.00"), LocalDateTime.now().plusDays(30));
+        String body = orderBody(items, 3, 1, 7);
+
+        useFunction(false);
+        JsonNode javaOrder = placeOrder(body);
+        int[] afterJava = support.readStock(adminToken, items.get(0));
+
+        useFunction(true);
+        JsonNode functionOrder = placeOrder(body);
+        int[] afterFunction = support.readStock(adminToken, items.get(0));
+
+        assertNotEquals(javaOrder.get("orderId").asText(), functionOrder.get("orderId").asText());
+        assertEquals(javaOrder.get("status").asText(), functionOrder.get("status").asText());
+        assertEquals(javaOrder.get("items"), functionOrder.get("items"));
+        assertEquals(0, javaOrder.get("totalAmount").decimalValue()
+                .compareTo(functionOrder.get("totalAmount").decimalValue()));
+        assertEquals(javaOrder.get("itemCount").asInt(), functionOrder.get("itemCount").asInt());
+        // The scheduled price is not in effect yet: every line is still at the flat 10.00
+        for (JsonNode line : functionOrder.get("items")) {
+            assertEquals(0, new BigDecimal("10.00").compareTo(line.get("unitPrice").decimalValue()));
+        }
+
+        assertArrayEquals(new int[] { 97, 3 }, afterJava);
+        assertArrayEquals(new int[] { 94, 6 }, afterFunction);
+
+        // Read back through JPA: the function wrote the same rows the Java path writes
+        JsonNode stored = readOrder(functionOrder.get("orderId").asText());
+        assertEquals(functionOrder.get("items"), stored.get("items"));
+        assertEquals(0, functionOrder.get("totalAmount").decimalValue()
+                .compareTo(stored.get("totalAmount").decimalValue()));
+
+        mockMvc.perform(put("/api/customer/orders/" + functionOrder.get("orderId").asText() + "/cancel")
+                .header("Authorization", "Bearer " + customerToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CANCELLED"));
+        assertArrayEquals(new int[] { 97, 3 }, support.readStock(adminToken, items.get(0)));
+    }
+
+    @Test
+    @DisplayName("Insufficient stock: same rejection, nothing reserved")
+    void insufficientStock_SameRejectionFromBothEngines() throws Exception {
+        List<UUID> items = support.createPricedItems(adminToken, "Parity Scarce Item", 2, 5);
+        // One line fits, the other does not: neither engine may keep a partial reservation
+        String body = orderBody(items, 1, 6);
+
+        useFunction(false);
+        String javaMessage = rejectOrder(body);
+        useFunction(true);
+        String functionMessage = rejectOrder(body);
+
+        assertEquals(javaMessage, functionMessage);
+        assertTrue(functionMessage.contains("Available: 5, Requested: 6"), functionMessage);
+        assertArrayEquals(new int[] { 5, 0 }, support.readStock(adminToken, items.get(0)));
+        assertArrayEquals(new int[] { 5, 0 }, support.readStock(adminToken, items.get(1)));
+    }
+
+    @Test
+    @DisplayName("Unknown item: same rejection")
+    void unknownItem_SameRejectionFromBothEngines() throws Exception {
+        String body = orderBody(List.of(UUID.randomUUID()), 1);
+
+        useFunction(false);
+        String javaMessage = rejectOrder(body);
+        useFunction(true);
+        String functionMessage = rejectOrder(body);
+
+        assertEquals(javaMessage, functionMessage);
+        assertTrue(functionMessage.startsWith("Item not found"), functionMessage);
+    }
+
+    private JsonNode placeOrder(String body) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/customer/orders")
+                .header("Authorization", "Bearer " + customerToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+
+    private String rejectOrder(String body) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/customer/orders")
+                .header("Authorization", "Bearer " + customerToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isBadRequest())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("message").asText();
+    }
+
+    private JsonNode readOrder(String orderId) throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/customer/orders")
+                .header("Authorization", "Bearer " + customerToken)
+                .param("orderId", orderId))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("orders").get(0);
+    }
+
+    private void schedulePrice(UUID itemId, BigDecimal price, LocalDateTime effectiveFrom) throws Exception {
+        AdminPricingWrapperDTO prices = new AdminPricingWrapperDTO(
+                List.of(new AdminPricingDTO(itemId, price, effectiveFrom)));
+        mockMvc.perform(post("/api/admin/prices")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(prices)))
+                .andExpect(status().isCreated());
+    }
+
+    // One line per item, with the given quantities in item order
+    private String orderBody(List<UUID> itemIds, int... quantities) throws Exception {
+        List<OrderItemDTO> lines = new ArrayList<>();
+        for (int i = 0; i < itemIds.size(); i++) {
+            lines.add(new OrderItemDTO(itemIds.get(i), null, quantities[i], null, null));
+        }
+        return objectMapper.writeValueAsString(new OrderDTO(null, null, null, null, null, lines, null));
+    }
+
+    private void useFunction(boolean enabled) {
+        ReflectionTestUtils.setField(AopTestUtils.getUltimateTargetObject(orderInventoryManager),
+                "functionPlacement", enabled);
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.ordermgmt.integration;
+
+import com.example.ordermgmt.service.impl.order.OrderInventoryManagerImpl;
+import com.example.ordermgmt.service.impl.order.ShardedStockReservationEngine;
+import com.example.ordermgmt.service.impl.order.StockReservationEngine;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+/**
+ * <h3>Benchmark: row-locked placement vs. single-writer inventory shards</h3>
+ * <p>
+ * Two workloads, each run on the pessimistic path
+ * ({@code findAllByItemIdInForUpdate}) and on the sharded engine:
+ * </p>
+ * <ul>
+ * <li>hot: 200 buyers fire single-unit orders at one item, with stock below
+ * demand so the surplus must be rejected without overselling;</li>
+ * <li>spread: 200 buyers order 3 of 16 items at a time, so most orders span
+ * several shards and go through the two-phase protocol.</li>
+ * </ul>
+ * <p>
+ * Reports throughput and p50/p99 latency per path.
+ * Opt-in: {@code mvn test -Dtest=ShardedStockBenchmarkTest -Dbenchmark=true}
+ * against the "it" PostgreSQL database.
+ * </p>
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("it")
+@TestPropertySource(properties = "app.inventory.reservation-engine=" + ShardedStockReservationEngine.NAME)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class ShardedStockBenchmarkTest {
+
+    private static final int BUYERS = 200;
+    private static final int ORDERS_PER_BUYER = 5;
+    private static final int HOT_STOCK = 800;
+    private static final int SPREAD_ITEMS = 16;
+    private static final int LINES_PER_ORDER = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OrderInventoryManagerImpl orderInventoryManager;
+
+    @Autowired
+    private ShardedStockReservationEngine shardedEngine;
+
+    private BenchmarkSupport support;
+    private String adminToken;
+    private String customerToken;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        support = new BenchmarkSupport(mockMvc, objectMapper);
+        adminToken = support.loginAdmin();
+        customerToken = support.loginCustomer();
+        support.completeCustomerProfile(customerToken);
+    }
+
+    @AfterEach
+    void tearDown() {
+        useEngine(shardedEngine);
+    }
+
+    @Test
+    void comparePaths_OnHotAndSpreadWorkloads() throws Exception {
+        List<Result> results = List.of(
+                runHot(OrderInventoryManagerImpl.PESSIMISTIC_ENGINE, null),
+                runHot(ShardedStockReservationEngine.NAME, shardedEngine),
+                runSpread(OrderInventoryManagerImpl.PESSIMISTIC_ENGINE, null),
+                runSpread(ShardedStockReservationEngine.NAME, shardedEngine));
+
+        System.out.printf("%-8s %-12s %10s %10s %10s %10s%n",
+                "load", "engine", "orders/s", "p50 ms", "p99 ms", "rejected");
+        results.forEach(this::print);
+    }
+
+    private Result runHot(String name, StockReservationEngine engine) throws Exception {
+        useEngine(engine);
+        UUID hotItem = support.createPricedItems(adminToken, "Shard Hot Item " + name, 1, HOT_STOCK).get(0);
+        List<String> bodies = List.of(support.orderBody(List.of(hotItem), 1));
+
+        Result result = run("hot", name, bodies);
+
+        int[] stock = support.readStock(adminToken, hotItem);
+        assertEquals(HOT_STOCK, result.accepted, name + ": every unit should be sold exactly once");
+        assertEquals(0, stock[0], name + ": available stock");
+        assertEquals(HOT_STOCK, stock[1], name + ": reserved stock");
+        return result;
+    }
+
+    private Result runSpread(String name, StockReservationEngine engine) throws Exception {
+        useEngine(engine);
+        int perItemStock = BUYERS * ORDERS_PER_BUYER;
+        List<UUID> items = support.createPricedItems(adminToken, "Shard Spread Item " + name, SPREAD_ITEMS,
+                perItemStock);
+        List<String> bodies = new ArrayList<>();
+        for (int i = 0; i < SPREAD_ITEMS; i++) {
+            List<UUID> lines = new ArrayList<>();
+            for (int l = 0; l < LINES_PER_ORDER; l++) {
+                lines.add(items.get((i + l * 5) % SPREAD_ITEMS));
+            }
+            bodies.add(support.orderBody(lines, 1));
+        }
+
+        Result result = run("spread", name, bodies);
+
+        int reserved = 0;
+        for (UUID itemId : items) {
+            int[] stock = support.readStock(adminToken, itemId);
+            assertEquals(perItemStock, stock[0] + stock[1], name + ": stock must be conserved");
+            reserved += stock[1];
+        }
+        assertEquals(0, result.rejected, name + ": stock covers every order");
+        assertEquals(result.accepted * LINES_PER_ORDER, reserved, name + ": reserved units");
+        return result;
+    }
+
+    private Result run(String load, String name, List<String> bodies) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(BUYERS);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int b = 0; b < BUYERS; b++) {
+            String body = bodies.get(b % bodies.size());
+            futures.add(executor.submit(() -> {
+                startLatch.await();
+                for (int i = 0; i < ORDERS_PER_BUYER; i++) {
+                    long start = System.nanoTime();
+                    MvcResult result = mockMvc.perform(post("/api/customer/orders")
+                            .header("Authorization", "Bearer " + customerToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                            .andReturn();
+                    latencies.add(System.nanoTime() - start);
+                    int status = result.getResponse().getStatus();
+                    if (status == 201) {
+                        accepted.incrementAndGet();
+                    } else if (status == 400) {
+                        rejected.incrementAndGet();
+                    } else {
+                        errors.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long wallStart = System.nanoTime();
+        startLatch.countDown();
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.MINUTES);
+        }
+        long wallNanos = System.nanoTime() - wallStart;
+        executor.shutdown();
+
+        assertEquals(0, errors.get(), load + "/" + name + ": unexpected non-2xx/400 responses");
+        long[] samples = latencies.stream().mapToLong(Long::longValue).toArray();
+        return new Result(load, name, accepted.get(), accepted.get() / (wallNanos / 1_000_000_000.0),
+                BenchmarkSupport.percentileMillis(samples, 50),
+                BenchmarkSupport.percentileMillis(samples, 99),
+                rejected.get());
+    }
+
+    private void useEngine(StockReservationEngine engine) {
+        ReflectionTestUtils.setField(AopTestUtils.getUltimateTargetObject(orderInventoryManager),
+                "reservationEngine", engine);
+    }
+
+    private void print(Result result) {
+        System.out.printf("%-8s %-12s %10.1f %10.2f %10.2f %10d%n", result.load, result.engine,
+                result.ordersPerSecond, result.p50Millis, result.p99Millis, result.rejected);
+    }
+
+    private record Result(String load, String engine, int accepted, double ordersPerSecond, double p50Millis,
+            double p99Millis, int rejected) {
+    }
+}
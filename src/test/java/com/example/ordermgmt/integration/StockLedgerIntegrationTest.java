@@ -0,0 +1,188 @@
+package com.example.ordermgmt.integration;
+
+import com.example.ordermgmt.service.impl.order.StockLedgerCompactor;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Ledger mode under concurrent load.
+ *
+ * Covers:
+ * - Demand above stock on a ledger item never oversells
+ * - Compaction folds movements into the snapshot without changing the balance
+ * - Movements stay available as the item's audit trail
+ * - Cancellation and restock are recorded as movements
+ * - Switching ledger mode off folds the balance back onto INVENTORY_ITEM
+ *
+ * Requires the "it" PostgreSQL database.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("it")
+@TestPropertySource(properties = "app.inventory.ledger.enabled=true")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class StockLedgerIntegrationTest {
+
+    private static final int BUYERS = 50;
+    private static final int ORDERS_PER_BUYER = 4;
+    private static final int STOCK = 120;
+    private static final int RESTOCK = 10;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private StockLedgerCompactor compactor;
+
+    private static BenchmarkSupport support;
+    private static String adminToken;
+    private static String customerToken;
+    private static UUID ledgerItem;
+    private static final List<UUID> acceptedOrders = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        if (support == null) {
+            support = new BenchmarkSupport(mockMvc, objectMapper);
+            adminToken = support.loginAdmin();
+            customerToken = support.loginCustomer();
+            support.completeCustomerProfile(customerToken);
+            ledgerItem = support.createPricedItems(adminToken, "Ledger Item", 1, STOCK).get(0);
+        }
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("1. ADMIN switches the item to ledger mode")
+    void enableLedger() throws Exception {
+        toggleLedger(true);
+
+        assertArrayEquals(new int[] { STOCK, 0 }, support.readStock(adminToken, ledgerItem));
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("2. Concurrent demand above stock sells every unit exactly once")
+    void concurrentOrdersNeverOversell() throws Exception {
+        String body = support.orderBody(List.of(ledgerItem), 1);
+        ExecutorService executor = Executors.newFixedThreadPool(BUYERS);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int b = 0; b < BUYERS; b++) {
+            futures.add(executor.submit(() -> {
+                startLatch.await();
+                for (int i = 0; i < ORDERS_PER_BUYER; i++) {
+                    MvcResult result = mockMvc.perform(post("/api/customer/orders")
+                            .header("Authorization", "Bearer " + customerToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                            .andReturn();
+                    int status = result.getResponse().getStatus();
+                    if (status == 201) {
+                        acceptedOrders.add(UUID.fromString(objectMapper
+                                .readTree(result.getResponse().getContentAsString()).get("orderId").asText()));
+                    } else if (status == 400) {
+                        rejected.incrementAndGet();
+                    } else {
+                        errors.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        startLatch.countDown();
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        assertEquals(0, errors.get(), "unexpected non-2xx/400 responses");
+        assertEquals(STOCK, acceptedOrders.size(), "every unit should be sold exactly once");
+        assertEquals(BUYERS * ORDERS_PER_BUYER - STOCK, rejected.get());
+        assertArrayEquals(new int[] { 0, STOCK }, support.readStock(adminToken, ledgerItem));
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("3. Compaction folds the movements into the snapshot and keeps them as history")
+    void compactionKeepsBalanceAndTrail() throws Exception {
+        assertEquals(STOCK, compactor.compactItem(ledgerItem));
+        assertEquals(0, compactor.compactItem(ledgerItem));
+
+        assertArrayEquals(new int[] { 0, STOCK }, support.readStock(adminToken, ledgerItem));
+        JsonNode movements = readMovements();
+        assertEquals(STOCK, movements.get("totalElements").asInt());
+        assertEquals("RESERVE", movements.get("content").get(0).get("movementType").asText());
+        assertTrue(movements.get("content").get(0).get("compacted").asBoolean());
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("4. Cancellation and restock are appended as movements")
+    void cancelAndRestockAppendMovements() throws Exception {
+        mockMvc.perform(put("/api/customer/orders/" + acceptedOrders.get(0) + "/cancel")
+                .header("Authorization", "Bearer " + customerToken))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/admin/inventory/addstock")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"addstock\": [{\"itemId\": \"" + ledgerItem + "\", \"addStock\": " + RESTOCK + "}]}"))
+                .andExpect(status().isOk());
+
+        assertArrayEquals(new int[] { 1 + RESTOCK, STOCK - 1 }, support.readStock(adminToken, ledgerItem));
+        assertEquals(STOCK + 2, readMovements().get("totalElements").asInt());
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("5. Switching ledger mode off folds the balance back onto the item")
+    void disableLedgerFoldsBalanceBack() throws Exception {
+        toggleLedger(false);
+
+        assertArrayEquals(new int[] { 1 + RESTOCK, STOCK - 1 }, support.readStock(adminToken, ledgerItem));
+        assertEquals(0, compactor.compactItem(ledgerItem));
+    }
+
+    private void toggleLedger(boolean enabled) throws Exception {
+        mockMvc.perform(put("/api/admin/inventory/ledger")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ledger\": [{\"itemId\": \"" + ledgerItem + "\", \"enabled\": " + enabled + "}]}"))
+                .andExpect(status().isOk());
+    }
+
+    private JsonNode readMovements() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/admin/inventory/movements")
+                .header("Authorization", "Bearer " + adminToken)
+                .param("itemId", ledgerItem.toString()))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+}
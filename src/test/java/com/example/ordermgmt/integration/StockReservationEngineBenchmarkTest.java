@@ -0,0 +1,159 @@
+package com.example.ordermgmt.integration;
+
+import com.example.ordermgmt.service.impl.order.ConditionalStockReservationEngine;
+import com.example.ordermgmt.service.impl.order.OrderInventoryManagerImpl;
+import com.example.ordermgmt.service.impl.order.StockReservationEngine;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+/**
+ * <h3>Benchmark: pessimistic vs. conditional-UPDATE reservation on one hot item</h3>
+ * <p>
+ * 200 buyers fire single-unit orders at the same item at once. Stock is set
+ * below demand so both engines must also reject the surplus without
+ * overselling. Reports throughput and p50/p99 latency per engine.
+ * </p>
+ * <p>
+ * Opt-in: {@code mvn test -Dtest=StockReservationEngineBenchmarkTest -Dbenchmark=true}
+ * against the "it" PostgreSQL database.
+ * </p>
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("it")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class StockReservationEngineBenchmarkTest {
+
+    private static final int BUYERS = 200;
+    private static final int ORDERS_PER_BUYER = 5;
+    private static final int STOCK = 800;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OrderInventoryManagerImpl orderInventoryManager;
+
+    @Autowired
+    private ConditionalStockReservationEngine conditionalEngine;
+
+    private BenchmarkSupport support;
+    private String adminToken;
+    private String customerToken;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        support = new BenchmarkSupport(mockMvc, objectMapper);
+        adminToken = support.loginAdmin();
+        customerToken = support.loginCustomer();
+        support.completeCustomerProfile(customerToken);
+    }
+
+    @AfterEach
+    void tearDown() {
+        useEngine(null);
+    }
+
+    @Test
+    void compareEngines_OnOneHotItem() throws Exception {
+        Result pessimistic = run(OrderInventoryManagerImpl.PESSIMISTIC_ENGINE, null);
+        Result conditional = run(ConditionalStockReservationEngine.NAME, conditionalEngine);
+
+        System.out.printf("%-12s %10s %10s %10s %10s%n", "engine", "orders/s", "p50 ms", "p99 ms", "rejected");
+        print(pessimistic);
+        print(conditional);
+    }
+
+    private Result run(String name, StockReservationEngine engine) throws Exception {
+        useEngine(engine);
+        UUID hotItem = support.createPricedItems(adminToken, "Hot Item " + name, 1, STOCK).get(0);
+        String body = support.orderBody(List.of(hotItem), 1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(BUYERS);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int b = 0; b < BUYERS; b++) {
+            futures.add(executor.submit(() -> {
+                startLatch.await();
+                for (int i = 0; i < ORDERS_PER_BUYER; i++) {
+                    long start = System.nanoTime();
+                    MvcResult result = mockMvc.perform(post("/api/customer/orders")
+                            .header("Authorization", "Bearer " + customerToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                            .andReturn();
+                    latencies.add(System.nanoTime() - start);
+                    int status = result.getResponse().getStatus();
+                    if (status == 201) {
+                        accepted.incrementAndGet();
+                    } else if (status == 400) {
+                        rejected.incrementAndGet();
+                    } else {
+                        errors.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long wallStart = System.nanoTime();
+        startLatch.countDown();
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.MINUTES);
+        }
+        long wallNanos = System.nanoTime() - wallStart;
+        executor.shutdown();
+
+        int[] stock = support.readStock(adminToken, hotItem);
+        assertEquals(0, errors.get(), name + ": unexpected non-2xx/400 responses");
+        assertEquals(STOCK, accepted.get(), name + ": every unit should be sold exactly once");
+        assertEquals(0, stock[0], name + ": available stock");
+        assertEquals(STOCK, stock[1], name + ": reserved stock");
+
+        long[] samples = latencies.stream().mapToLong(Long::longValue).toArray();
+        return new Result(name, accepted.get() / (wallNanos / 1_000_000_000.0),
+                BenchmarkSupport.percentileMillis(samples, 50),
+                BenchmarkSupport.percentileMillis(samples, 99),
+                rejected.get());
+    }
+
+    private void useEngine(StockReservationEngine engine) {
+        ReflectionTestUtils.setField(AopTestUtils.getUltimateTargetObject(orderInventoryManager),
+                "reservationEngine", engine);
+    }
+
+    private void print(Result result) {
+        System.out.printf("%-12s %10.1f %10.2f %10.2f %10d%n",
+                result.engine, result.ordersPerSecond, result.p50Millis, result.p99Millis, result.rejected);
+    }
+
+    private record Result(String engine, double ordersPerSecond, double p50Millis, double p99Millis, int rejected) {
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.ordermgmt.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * <h3>Benchmark: contention on one hot item vs. number of stock buckets</h3>
+ * <p>
+ * 200 buyers fire single-unit orders at the same item, striped over 1, 2, 4,
+ * 8 and 16 buckets (1 = the plain locked row). Stock is below demand so the
+ * last units go through the cross-bucket spill path as well. Reports
+ * throughput and p50/p99 latency per bucket count.
+ * </p>
+ * <p>
+ * Opt-in: {@code mvn test -Dtest=StripedStockBenchmarkTest -Dbenchmark=true}
+ * against the "it" PostgreSQL database.
+ * </p>
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("it")
+@TestPropertySource(properties = "app.inventory.striping.enabled=true")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class StripedStockBenchmarkTest {
+
+    private static final int BUYERS = 200;
+    private static final int ORDERS_PER_BUYER = 5;
+    private static final int STOCK = 800;
+    private static final int[] BUCKET_COUNTS = { 1, 2, 4, 8, 16 };
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private BenchmarkSupport support;
+    private String adminToken;
+    private String customerToken;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        support = new BenchmarkSupport(mockMvc, objectMapper);
+        adminToken = support.loginAdmin();
+        customerToken = support.loginCustomer();
+        support.completeCustomerProfile(customerToken);
+    }
+
+    @Test
+    void throughputByBucketCount_OnOneHotItem() throws Exception {
+        List<Result> results = new ArrayList<>();
+        for (int buckets : BUCKET_COUNTS) {
+            results.add(run(buckets));
+        }
+
+        System.out.printf("%-8s %10s %10s %10s %10s%n", "buckets", "orders/s", "p50 ms", "p99 ms", "rejected");
+        results.forEach(this::print);
+    }
+
+    private Result run(int buckets) throws Exception {
+        UUID hotItem = support.createPricedItems(adminToken, "Striped Hot Item " + buckets, 1, STOCK).get(0);
+        if (buckets > 1) {
+            stripe(hotItem, buckets);
+        }
+        String body = support.orderBody(List.of(hotItem), 1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(BUYERS);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int b = 0; b < BUYERS; b++) {
+            futures.add(executor.submit(() -> {
+                startLatch.await();
+                for (int i = 0; i < ORDERS_PER_BUYER; i++) {
+                    long start = System.nanoTime();
+                    MvcResult result = mockMvc.perform(post("/api/customer/orders")
+                            .header("Authorization", "Bearer " + customerToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                            .andReturn();
+                    latencies.add(System.nanoTime() - start);
+                    int status = result.getResponse().getStatus();
+                    if (status == 201) {
+                        accepted.incrementAndGet();
+                    } else if (status == 400) {
+                        rejected.incrementAndGet();
+                    } else {
+                        errors.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long wallStart = System.nanoTime();
+        startLatch.countDown();
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.MINUTES);
+        }
+        long wallNanos = System.nanoTime() - wallStart;
+        executor.shutdown();
+
+        // Summed over all buckets by the admin view
+        int[] stock = support.readStock(adminToken, hotItem);
+        assertEquals(0, errors.get(), buckets + " buckets: unexpected non-2xx/400 responses");
+        assertEquals(STOCK, accepted.get(), buckets + " buckets: every unit should be sold exactly once");
+        assertEquals(0, stock[0], buckets + " buckets: available stock");
+        assertEquals(STOCK, stock[1], buckets + " buckets: reserved stock");
+
+        long[] samples = latencies.stream().mapToLong(Long::longValue).toArray();
+        return new Result(buckets, accepted.get() / (wallNanos / 1_000_000_000.0),
+                BenchmarkSupport.percentileMillis(samples, 50),
+                BenchmarkSupport.percentileMillis(samples, 99),
+                rejected.get());
+    }
+
+    private void stripe(UUID itemId, int buckets) throws Exception {
+        mockMvc.perform(put("/api/admin/inventory/striping")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"striping\": [{\"itemId\": \"" + itemId + "\", \"buckets\": " + buckets + "}]}"))
+                .andExpect(status().isOk());
+    }
+
+    private void print(Result result) {
+        System.out.printf("%-8d %10.1f %10.2f %10.2f %10d%n",
+                result.buckets, result.ordersPerSecond, result.p50Millis, result.p99Millis, result.rejected);
+    }
+
+    private record Result(int buckets, double ordersPerSecond, double p50Millis, double p99Millis, int rejected) {
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.ordermgmt.scheduler;
+
+import com.example.ordermgmt.service.impl.order.FlashSaleStockReconciler;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FlashSaleReconciliationSchedulerTest {
+
+    @Mock
+    private FlashSaleStockReconciler reconciler;
+
+    @InjectMocks
+    private FlashSaleReconciliationScheduler scheduler;
+
+    @Test
+    void reconcilePendingDeltas_DelegatesToReconciler() {
+        when(reconciler.reconcile()).thenReturn(3);
+
+        scheduler.reconcilePendingDeltas();
+
+        verify(reconciler).reconcile();
+    }
+
+    @Test
+    void reconcilePendingDeltas_WhenReconcileFails_KeepsSchedulerAlive() {
+        when(reconciler.reconcile()).thenThrow(new IllegalStateException("Redis down"));
+
+        assertDoesNotThrow(() -> scheduler.reconcilePendingDeltas());
+    }
+
+    @Test
+    void recoverCounters_WhenRecoveryFails_DoesNotBlockStartup() {
+        when(reconciler.recoverMissingCounters()).thenThrow(new IllegalStateException("Redis down"));
+
+        assertDoesNotThrow(() -> scheduler.recoverCounters());
+    }
+}
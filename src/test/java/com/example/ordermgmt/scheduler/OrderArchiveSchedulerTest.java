@@ -0,0 +1,46 @@
+package com.example.ordermgmt.scheduler;
+
+import com.example.ordermgmt.service.impl.order.OrderArchiver;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrderArchiveSchedulerTest {
+
+    @Mock
+    private OrderArchiver archiver;
+
+    @InjectMocks
+    private OrderArchiveScheduler scheduler;
+
+    @Test
+    void archiveOrders_RunsOnePass() {
+        when(archiver.archive()).thenReturn(3);
+
+        scheduler.archiveOrders();
+
+        verify(archiver).archive();
+    }
+
+    @Test
+    void archiveOrders_WhenArchivingFails_KeepsSchedulerAlive() {
+        when(archiver.archive()).thenThrow(new IllegalStateException("connection reset"));
+
+        assertDoesNotThrow(() -> scheduler.archiveOrders());
+    }
+
+    @Test
+    void refreshHotTableSizes_WhenCatalogReadFails_KeepsSchedulerAlive() {
+        doThrow(new IllegalStateException("connection reset")).when(archiver).refreshHotTableSizes();
+
+        assertDoesNotThrow(() -> scheduler.refreshHotTableSizes());
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.ordermgmt.scheduler;
+
+import com.example.ordermgmt.service.impl.order.OrderExpiryWheel;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrderExpirySchedulerTest {
+
+    @Mock
+    private OrderExpiryWheel expiryWheel;
+
+    @InjectMocks
+    private OrderExpiryScheduler scheduler;
+
+    @Test
+    void cancelExpiredOrders_AdvancesTheWheelOncePerTick() {
+        when(expiryWheel.fireDue()).thenReturn(2);
+
+        scheduler.cancelExpiredOrders();
+
+        verify(expiryWheel).fireDue();
+    }
+
+    @Test
+    void start_TicksOnItsOwnThread() throws Exception {
+        ReflectionTestUtils.setField(scheduler, "tickMs", 10L);
+        CompletableFuture<String> tickThread = new CompletableFuture<>();
+        when(expiryWheel.fireDue()).thenAnswer(inv -> {
+            tickThread.complete(Thread.currentThread().getName());
+            return 0;
+        });
+
+        scheduler.start();
+        try {
+            assertEquals("order-expiry-tick", tickThread.get(5, TimeUnit.SECONDS));
+        } finally {
+            scheduler.stop();
+        }
+    }
+
+    @Test
+    void cancelExpiredOrders_WhenCancellationFails_KeepsSchedulerAlive() {
+        when(expiryWheel.fireDue()).thenThrow(new IllegalStateException("connection reset"));
+
+        assertDoesNotThrow(() -> scheduler.cancelExpiredOrders());
+    }
+
+    @Test
+    void rebuildWheel_WhenRebuildFails_DoesNotBlockStartup() {
+        when(expiryWheel.rebuild()).thenThrow(new IllegalStateException("database down"));
+
+        assertDoesNotThrow(() -> scheduler.rebuildWheel());
+    }
+}
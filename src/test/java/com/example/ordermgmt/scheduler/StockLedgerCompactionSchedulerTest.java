@@ -0,0 +1,47 @@
+package com.example.ordermgmt.scheduler;
+
+import com.example.ordermgmt.service.impl.order.StockLedgerCompactor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockLedgerCompactionSchedulerTest {
+
+    @Mock
+    private StockLedgerCompactor compactor;
+
+    @InjectMocks
+    private StockLedgerCompactionScheduler scheduler;
+
+    @Test
+    void compactLedger_WithNothingPending_CompactsNothing() {
+        when(compactor.findItemsToCompact()).thenReturn(List.of());
+
+        scheduler.compactLedger();
+
+        verify(compactor, never()).compactItem(any());
+    }
+
+    @Test
+    void compactLedger_WhenOneItemFails_StillCompactsTheOthers() {
+        UUID failing = UUID.randomUUID();
+        UUID healthy = UUID.randomUUID();
+        when(compactor.findItemsToCompact()).thenReturn(List.of(failing, healthy));
+        when(compactor.compactItem(failing)).thenThrow(new IllegalStateException("deadlock detected"));
+        when(compactor.compactItem(healthy)).thenReturn(12);
+
+        assertDoesNotThrow(() -> scheduler.compactLedger());
+
+        verify(compactor).compactItem(healthy);
+    }
+}
@@ -4,7 +4,11 @@ package com.example.ordermgmt.service.impl;
 import com.example.ordermgmt.dto.analytics.*;
 import com.example.ordermgmt.enums.OrderStatus;
 import com.example.ordermgmt.exception.InvalidOperationException;
+import com.example.ordermgmt.entity.OrderStatusLookup;
 import com.example.ordermgmt.repository.OrderItemRepository;
+import com.example.ordermgmt.security.TenantContextHolder;
+import com.example.ordermgmt.service.impl.order.OrderStatusHistoryStatements;
+import com.example.ordermgmt.service.impl.order.OrderStatusRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -20,6 +24,7 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -32,6 +37,12 @@ class AdminAnalyticsServiceImplTest {
     @Mock
     private OrderItemRepository orderItemRepository;
 
+    @Mock
+    private OrderStatusRegistry orderStatusRegistry;
+
+    @Mock
+    private OrderStatusHistoryStatements statusHistoryStatements;
+
     @InjectMocks
     private AdminAnalyticsServiceImpl adminAnalyticsService;
 
@@ -253,4 +264,49 @@ class AdminAnalyticsServiceImplTest {
         assertNotNull(response);
         assertEquals(1, response.getItems().size());
     }
+
+    @Test
+    void getStatusDurationReport_ReadsTheTenantsTransitionsOverTheWholeRange() {
+        UUID orgId = UUID.randomUUID();
+        when(orderStatusRegistry.find("CONFIRMED")).thenReturn(Optional.of(status(2)));
+        when(orderStatusRegistry.find("SHIPPED")).thenReturn(Optional.of(status(4)));
+        StatusDurationDayDTO day = new StatusDurationDayDTO(startDate, 40L, 3_600_000L, 7_200_000L,
+                9_000_000L, 14_400_000L, 20_000_000L);
+        when(statusHistoryStatements.durationsByDay(orgId, 2, 4, startDate.atStartOfDay(),
+                endDate.plusDays(1).atStartOfDay())).thenReturn(List.of(day));
+
+        TenantContextHolder.setTenantId(orgId);
+        StatusDurationReportResponseDTO response;
+        try {
+            response = adminAnalyticsService.getStatusDurationReport(startDate, endDate, " confirmed", "SHIPPED");
+        } finally {
+            TenantContextHolder.clear();
+        }
+
+        assertEquals("CONFIRMED", response.getFromStatus());
+        assertEquals("SHIPPED", response.getToStatus());
+        assertEquals(List.of(day), response.getDays());
+    }
+
+    @Test
+    void getStatusDurationReport_WithInvalidStatus_ThrowsException() {
+        assertThrows(InvalidOperationException.class, () ->
+                adminAnalyticsService.getStatusDurationReport(startDate, endDate, "CONFIRMED", "LOST"));
+
+        verifyNoInteractions(statusHistoryStatements);
+    }
+
+    @Test
+    void getStatusDurationReport_WithoutTenant_ThrowsException() {
+        assertThrows(InvalidOperationException.class, () ->
+                adminAnalyticsService.getStatusDurationReport(startDate, endDate, "CONFIRMED", "SHIPPED"));
+
+        verifyNoInteractions(statusHistoryStatements);
+    }
+
+    private OrderStatusLookup status(int statusId) {
+        OrderStatusLookup status = new OrderStatusLookup();
+        status.setStatusId(statusId);
+        return status;
+    }
 }
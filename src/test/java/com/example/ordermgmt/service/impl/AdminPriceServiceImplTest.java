@@ -3,11 +3,13 @@ package com.example.ordermgmt.service.impl;
 import com.example.ordermgmt.dto.AdminPricingDTO;
 import com.example.ordermgmt.entity.InventoryItem;
 import com.example.ordermgmt.entity.PricingCatalog;
+import com.example.ordermgmt.entity.PricingHistory;
 import com.example.ordermgmt.exception.InvalidOperationException;
 import com.example.ordermgmt.exception.ResourceNotFoundException;
 import com.example.ordermgmt.repository.InventoryItemRepository;
 import com.example.ordermgmt.repository.PricingCatalogRepository;
 import com.example.ordermgmt.repository.PricingHistoryRepository;
+import com.example.ordermgmt.service.impl.order.PriceSnapshotCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -46,6 +48,9 @@ class AdminPriceServiceImplTest {
     @Mock
     private AuditorAware<String> auditorAware;
 
+    @Mock
+    private PriceSnapshotCache priceSnapshotCache;
+
     @InjectMocks
     private AdminPriceServiceImpl adminPriceService;
 
@@ -114,6 +119,31 @@ class AdminPriceServiceImplTest {
         assertThrows(ResourceNotFoundException.class, () -> adminPriceService.getPrice(itemId));
     }
 
+    @Test
+    void getPriceAt_ReturnsPriceInEffectAtTheInstant() {
+        LocalDateTime january = LocalDateTime.of(2026, 1, 1, 0, 0);
+        LocalDateTime march = LocalDateTime.of(2026, 3, 1, 0, 0);
+        when(inventoryItemRepository.findById(itemId)).thenReturn(Optional.of(inventoryItem));
+        when(pricingHistoryRepository.findAllByInventoryItemItemIdOrderByEffectiveFromAscCreatedTimestampAsc(itemId))
+                .thenReturn(List.of(history(january, 90), history(march, 120)));
+
+        AdminPricingDTO result = adminPriceService.getPriceAt(itemId, march.minusDays(1));
+
+        assertEquals(BigDecimal.valueOf(90), result.getUnitPrice());
+        assertEquals(january, result.getEffectiveFrom());
+    }
+
+    @Test
+    void getPriceAt_BeforeFirstPrice_ThrowsException() {
+        LocalDateTime january = LocalDateTime.of(2026, 1, 1, 0, 0);
+        when(inventoryItemRepository.findById(itemId)).thenReturn(Optional.of(inventoryItem));
+        when(pricingHistoryRepository.findAllByInventoryItemItemIdOrderByEffectiveFromAscCreatedTimestampAsc(itemId))
+                .thenReturn(List.of(history(january, 90)));
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> adminPriceService.getPriceAt(itemId, january.minusDays(1)));
+    }
+
     @Test
     void addPrices_WithNewItems_AddsSuccessfully() {
         when(pricingCatalogRepository.existsById(itemId)).thenReturn(false);
@@ -123,6 +153,20 @@ class AdminPriceServiceImplTest {
 
         verify(pricingCatalogRepository).save(any(PricingCatalog.class));
         verify(pricingHistoryRepository).save(any());
+        verify(priceSnapshotCache).invalidateOnCommit();
+    }
+
+    @Test
+    void addPrices_WithFutureEffectiveFrom_RecordsItAsTheHistoryEffectiveFrom() {
+        LocalDateTime nextWeek = LocalDateTime.now().plusWeeks(1);
+        when(pricingCatalogRepository.existsById(itemId)).thenReturn(false);
+        when(inventoryItemRepository.findById(itemId)).thenReturn(Optional.of(inventoryItem));
+
+        adminPriceService.addPrices(List.of(new AdminPricingDTO(itemId, BigDecimal.valueOf(150), nextWeek)));
+
+        ArgumentCaptor<PricingHistory> historyCaptor = ArgumentCaptor.forClass(PricingHistory.class);
+        verify(pricingHistoryRepository).save(historyCaptor.capture());
+        assertEquals(nextWeek, historyCaptor.getValue().getEffectiveFrom());
     }
 
     @Test
@@ -166,6 +210,7 @@ class AdminPriceServiceImplTest {
         assertEquals(BigDecimal.valueOf(150), pricingCatalog.getUnitPrice());
         verify(pricingCatalogRepository).save(pricingCatalog);
         verify(pricingHistoryRepository).save(any());
+        verify(priceSnapshotCache).invalidateOnCommit();
     }
 
     @Test
@@ -203,4 +248,12 @@ class AdminPriceServiceImplTest {
         assertNull(result.get(0).getUnitPrice());
         assertNull(result.get(0).getEffectiveFrom());
     }
+
+    private PricingHistory history(LocalDateTime effectiveFrom, long price) {
+        PricingHistory history = new PricingHistory();
+        history.setInventoryItem(inventoryItem);
+        history.setNewPrice(BigDecimal.valueOf(price));
+        history.setEffectiveFrom(effectiveFrom);
+        return history;
+    }
 }
@@ -2,6 +2,7 @@ package com.example.ordermgmt.service.impl;
 
 import com.example.ordermgmt.dto.*;
 import com.example.ordermgmt.entity.AppUser;
+import com.example.ordermgmt.entity.Customer;
 import com.example.ordermgmt.entity.Organization;
 import com.example.ordermgmt.entity.UserRole;
 import com.example.ordermgmt.event.EmailDispatchEvent;
@@ -71,6 +72,8 @@ class AuthServiceImplTest {
 
     private UUID orgId;
     private UUID userId;
+    private UUID customerId;
+    private Customer customer;
     private Organization organization;
     private AppUser appUser;
     private UserRole customerRole;
@@ -102,6 +105,11 @@ class AuthServiceImplTest {
         appUser.setOrgId(orgId);
         appUser.setIsActive(true);
 
+        customerId = UUID.randomUUID();
+        customer = new Customer();
+        customer.setCustomerId(customerId);
+        customer.setAppUser(appUser);
+
         registrationRequest = new RegistrationRequestDTO();
         registrationRequest.setEmail("new@example.com");
         registrationRequest.setPassword("password123");
@@ -168,7 +176,9 @@ class AuthServiceImplTest {
         when(organizationRepository.findBySubdomainIgnoreCase("testorg")).thenReturn(Optional.of(organization));
         when(appUserRepository.findByOrgIdAndEmailIgnoreCase(orgId, "test@example.com")).thenReturn(Optional.of(appUser));
         when(passwordEncoder.matches("password123", "encodedPassword")).thenReturn(true);
-        when(jwtUtil.generateToken(eq("test@example.com"), eq("CUSTOMER"), eq(orgId))).thenReturn("access-token");
+        when(customerRepository.findByAppUser(appUser)).thenReturn(Optional.of(customer));
+        when(jwtUtil.generateToken(eq("test@example.com"), eq("CUSTOMER"), eq(orgId), eq(userId), eq(customerId)))
+                .thenReturn("access-token");
         doNothing().when(valueOperations).set(anyString(), anyString(), any(Duration.class));
 
         LoginResponseDTO response = authService.loginUser(loginRequest);
@@ -212,12 +222,14 @@ class AuthServiceImplTest {
         when(organizationRepository.findBySubdomainIgnoreCase("testorg")).thenReturn(Optional.of(organization));
         when(appUserRepository.findByOrgIdAndEmailIgnoreCase(orgId, "test@example.com")).thenReturn(Optional.of(appUser));
         when(passwordEncoder.matches("password123", "encodedPassword")).thenReturn(true);
-        when(jwtUtil.generateToken(eq("test@example.com"), eq("SUPER_ADMIN"), isNull())).thenReturn("access-token");
+        when(jwtUtil.generateToken(eq("test@example.com"), eq("SUPER_ADMIN"), isNull(), eq(userId), isNull()))
+                .thenReturn("access-token");
 
         LoginResponseDTO response = authService.loginUser(loginRequest);
 
         assertNotNull(response);
-        verify(jwtUtil).generateToken(eq("test@example.com"), eq("SUPER_ADMIN"), isNull());
+        verify(jwtUtil).generateToken(eq("test@example.com"), eq("SUPER_ADMIN"), isNull(), eq(userId), isNull());
+        verify(customerRepository, never()).findByAppUser(any());
     }
 
     @Test
@@ -228,7 +240,9 @@ class AuthServiceImplTest {
 
         when(valueOperations.get("RT:" + refreshToken)).thenReturn(userId.toString());
         when(appUserRepository.findById(userId)).thenReturn(Optional.of(appUser));
-        when(jwtUtil.generateToken(eq("test@example.com"), eq("CUSTOMER"), eq(orgId))).thenReturn("new-access-token");
+        when(customerRepository.findByAppUser(appUser)).thenReturn(Optional.of(customer));
+        when(jwtUtil.generateToken(eq("test@example.com"), eq("CUSTOMER"), eq(orgId), eq(userId), eq(customerId)))
+                .thenReturn("new-access-token");
         doNothing().when(valueOperations).set(anyString(), anyString(), any(Duration.class));
 
         RefreshTokenResponseDTO response = authService.refreshToken(request, accessToken);
@@ -7,13 +7,18 @@ import com.example.ordermgmt.exception.InvalidOperationException;
 import com.example.ordermgmt.exception.ResourceNotFoundException;
 import com.example.ordermgmt.repository.AppUserRepository;
 import com.example.ordermgmt.repository.CustomerRepository;
+import com.example.ordermgmt.security.UserPrincipal;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -64,6 +69,11 @@ class CustomerServiceImplTest {
         profileDTO.setAddress("456 New St");
     }
 
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
     @Test
     void getCustomerProfile_WithExistingCustomer_ReturnsProfile() {
         when(appUserRepository.findByEmail("test@example.com")).thenReturn(Optional.of(appUser));
@@ -171,4 +181,35 @@ class CustomerServiceImplTest {
         assertNull(result.getFirstName());
         assertNull(result.getLastName());
     }
+
+    @Test
+    void getCustomerProfile_WithCustomerIdClaim_LooksUpByPrimaryKey() {
+        authenticate();
+        when(customerRepository.findById(customerId)).thenReturn(Optional.of(customer));
+
+        CustomerProfileDTO result = customerService.getCustomerProfile("test@example.com");
+
+        assertEquals("John", result.getFirstName());
+        assertEquals("test@example.com", result.getEmail());
+        verifyNoInteractions(appUserRepository);
+        verify(customerRepository, never()).findByAppUser(any());
+    }
+
+    @Test
+    void updateCustomerProfile_WithCustomerIdClaim_UpdatesByPrimaryKey() {
+        authenticate();
+        when(customerRepository.findById(customerId)).thenReturn(Optional.of(customer));
+
+        customerService.updateCustomerProfile("test@example.com", profileDTO);
+
+        assertEquals("Jane", customer.getFirstName());
+        verify(customerRepository).save(customer);
+        verifyNoInteractions(appUserRepository);
+    }
+
+    private void authenticate() {
+        UserPrincipal principal = new UserPrincipal("test@example.com", "CUSTOMER", null, userId, customerId);
+        SecurityContextHolder.getContext()
+                .setAuthentication(new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+    }
 }
@@ -1,11 +1,18 @@
 package com.example.ordermgmt.service.impl;
 
 import com.example.ordermgmt.dto.AddStockRequestDTO;
+import com.example.ordermgmt.dto.FlashSaleToggleDTO;
+import com.example.ordermgmt.dto.StockLedgerToggleDTO;
+import com.example.ordermgmt.dto.StockLevelDTO;
+import com.example.ordermgmt.dto.StockStripingDTO;
 import com.example.ordermgmt.dto.InventoryItemDTO;
 import com.example.ordermgmt.entity.InventoryItem;
 import com.example.ordermgmt.exception.InvalidOperationException;
 import com.example.ordermgmt.exception.ResourceNotFoundException;
 import com.example.ordermgmt.repository.InventoryItemRepository;
+import com.example.ordermgmt.service.impl.order.FlashSaleStockReconciler;
+import com.example.ordermgmt.service.impl.order.StockLedgerManager;
+import com.example.ordermgmt.service.impl.order.StripedStockManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -17,8 +24,10 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -32,6 +41,15 @@ class InventoryServiceImplTest {
     @Mock
     private InventoryItemRepository inventoryItemRepository;
 
+    @Mock
+    private FlashSaleStockReconciler flashSaleReconciler;
+
+    @Mock
+    private StripedStockManager stripedStockManager;
+
+    @Mock
+    private StockLedgerManager stockLedgerManager;
+
     @InjectMocks
     private InventoryServiceImpl inventoryService;
 
@@ -228,6 +246,234 @@ class InventoryServiceImplTest {
                 inventoryService.addStock(List.of(addStockRequest)));
     }
 
+    @Test
+    void addStock_ForFlashSaleItem_MirrorsRestockIntoCounters() {
+        inventoryItem.setFlashSale(true);
+        when(inventoryItemRepository.findAllByItemIdInForUpdate(List.of(itemId))).thenReturn(List.of(inventoryItem));
+
+        inventoryService.addStock(List.of(new AddStockRequestDTO(itemId, 50)));
+
+        assertEquals(150, inventoryItem.getAvailableStock());
+        verify(flashSaleReconciler).addAvailableAfterCommit(itemId, 50);
+    }
+
+    @Test
+    void updateInventoryItems_ForFlashSaleItem_ThrowsException() {
+        inventoryItem.setFlashSale(true);
+        when(inventoryItemRepository.findAllByItemIdInForUpdate(List.of(itemId))).thenReturn(List.of(inventoryItem));
+
+        assertThrows(InvalidOperationException.class, () ->
+                inventoryService.updateInventoryItems(List.of(inventoryItemDTO)));
+        verify(inventoryItemRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void updateFlashSaleMode_Enable_FlagsItemAndRebuildsCounters() {
+        when(inventoryItemRepository.findAllByItemIdInForUpdate(List.of(itemId))).thenReturn(List.of(inventoryItem));
+
+        List<UUID> result = inventoryService.updateFlashSaleMode(List.of(new FlashSaleToggleDTO(itemId, true)));
+
+        assertEquals(List.of(itemId), result);
+        assertTrue(inventoryItem.isFlashSale());
+        verify(flashSaleReconciler).rebuildCounters(itemId);
+    }
+
+    @Test
+    void updateFlashSaleMode_Disable_ClearsFlagAndRemovesCounters() {
+        inventoryItem.setFlashSale(true);
+        when(inventoryItemRepository.findAllByItemIdInForUpdate(List.of(itemId))).thenReturn(List.of(inventoryItem));
+
+        inventoryService.updateFlashSaleMode(List.of(new FlashSaleToggleDTO(itemId, false)));
+
+        assertFalse(inventoryItem.isFlashSale());
+        verify(flashSaleReconciler).removeCounters(itemId);
+        verify(flashSaleReconciler, never()).rebuildCounters(any());
+    }
+
+    @Test
+    void updateFlashSaleMode_WithNonExistingItem_ThrowsException() {
+        assertThrows(ResourceNotFoundException.class, () ->
+                inventoryService.updateFlashSaleMode(List.of(new FlashSaleToggleDTO(itemId, true))));
+        verifyNoInteractions(flashSaleReconciler);
+    }
+
+    @Test
+    void updateStockStriping_WhenDisabled_ThrowsException() {
+        when(inventoryItemRepository.findAllByItemIdInForUpdate(List.of(itemId))).thenReturn(List.of(inventoryItem));
+
+        assertThrows(InvalidOperationException.class, () ->
+                inventoryService.updateStockStriping(List.of(new StockStripingDTO(itemId, 8))));
+        verifyNoInteractions(stripedStockManager);
+    }
+
+    @Test
+    void updateStockStriping_WhenEnabled_RestripesLockedItem() {
+        ReflectionTestUtils.setField(inventoryService, "stripingEnabled", true);
+        ReflectionTestUtils.setField(inventoryService, "maxStripeBuckets", 64);
+        when(inventoryItemRepository.findAllByItemIdInForUpdate(List.of(itemId))).thenReturn(List.of(inventoryItem));
+
+        List<UUID> result = inventoryService.updateStockStriping(List.of(new StockStripingDTO(itemId, 8)));
+
+        assertEquals(List.of(itemId), result);
+        verify(stripedStockManager).restripe(inventoryItem, 8);
+    }
+
+    @Test
+    void updateStockStriping_AboveMaximum_ThrowsException() {
+        ReflectionTestUtils.setField(inventoryService, "stripingEnabled", true);
+        ReflectionTestUtils.setField(inventoryService, "maxStripeBuckets", 16);
+        when(inventoryItemRepository.findAllByItemIdInForUpdate(List.of(itemId))).thenReturn(List.of(inventoryItem));
+
+        assertThrows(InvalidOperationException.class, () ->
+                inventoryService.updateStockStriping(List.of(new StockStripingDTO(itemId, 32))));
+        verify(stripedStockManager, never()).restripe(any(), anyInt());
+    }
+
+    @Test
+    void updateStockStriping_ForFlashSaleItem_ThrowsException() {
+        ReflectionTestUtils.setField(inventoryService, "stripingEnabled", true);
+        ReflectionTestUtils.setField(inventoryService, "maxStripeBuckets", 64);
+        inventoryItem.setFlashSale(true);
+        when(inventoryItemRepository.findAllByItemIdInForUpdate(List.of(itemId))).thenReturn(List.of(inventoryItem));
+
+        assertThrows(InvalidOperationException.class, () ->
+                inventoryService.updateStockStriping(List.of(new StockStripingDTO(itemId, 4))));
+    }
+
+    @Test
+    void updateStockStriping_FoldingBackToOneBucket_AllowedWhileDisabled() {
+        inventoryItem.setStripeCount(4);
+        when(inventoryItemRepository.findAllByItemIdInForUpdate(List.of(itemId))).thenReturn(List.of(inventoryItem));
+
+        inventoryService.updateStockStriping(List.of(new StockStripingDTO(itemId, 1)));
+
+        verify(stripedStockManager).restripe(inventoryItem, 1);
+    }
+
+    @Test
+    void addStock_ForStripedItem_SpreadsOverBucketsAndLeavesRowAlone() {
+        inventoryItem.setStripeCount(4);
+        inventoryItem.setAvailableStock(0);
+        when(inventoryItemRepository.findAllByItemIdInForUpdate(List.of(itemId))).thenReturn(List.of(inventoryItem));
+
+        inventoryService.addStock(List.of(new AddStockRequestDTO(itemId, 40)));
+
+        verify(stripedStockManager).addAvailable(inventoryItem, 40);
+        assertEquals(0, inventoryItem.getAvailableStock());
+    }
+
+    @Test
+    void deleteInventoryItems_ForStripedItem_ThrowsException() {
+        inventoryItem.setStripeCount(2);
+        inventoryItem.setReservedStock(0);
+        when(inventoryItemRepository.findAllByItemIdInForUpdate(List.of(itemId))).thenReturn(List.of(inventoryItem));
+
+        assertThrows(InvalidOperationException.class, () -> inventoryService.deleteInventoryItems(List.of(itemId)));
+        verify(inventoryItemRepository, never()).deleteAll(anyList());
+    }
+
+    @Test
+    void getInventoryItem_ForStripedItem_ReturnsBucketTotals() {
+        inventoryItem.setStripeCount(4);
+        inventoryItem.setAvailableStock(0);
+        inventoryItem.setReservedStock(0);
+        when(inventoryItemRepository.findById(itemId)).thenReturn(Optional.of(inventoryItem));
+        when(stripedStockManager.findStockLevels(List.of(inventoryItem)))
+                .thenReturn(Map.of(itemId, new StockLevelDTO(itemId, 96L, 4L)));
+
+        InventoryItemDTO result = inventoryService.getInventoryItem(itemId);
+
+        assertEquals(96, result.getAvailableStock());
+        assertEquals(4, result.getReservedStock());
+    }
+
+    @Test
+    void updateStockLedgerMode_EnableWhenDisabled_ThrowsException() {
+        when(inventoryItemRepository.findAllByItemIdInForUpdate(List.of(itemId))).thenReturn(List.of(inventoryItem));
+
+        assertThrows(InvalidOperationException.class, () ->
+                inventoryService.updateStockLedgerMode(List.of(new StockLedgerToggleDTO(itemId, true))));
+        verify(stockLedgerManager, never()).enable(any());
+    }
+
+    @Test
+    void updateStockLedgerMode_EnableWhenEnabled_MovesLockedItemIntoLedger() {
+        ReflectionTestUtils.setField(inventoryService, "ledgerEnabled", true);
+        when(inventoryItemRepository.findAllByItemIdInForUpdate(List.of(itemId))).thenReturn(List.of(inventoryItem));
+
+        List<UUID> result = inventoryService.updateStockLedgerMode(List.of(new StockLedgerToggleDTO(itemId, true)));
+
+        assertEquals(List.of(itemId), result);
+        verify(stockLedgerManager).enable(inventoryItem);
+    }
+
+    @Test
+    void updateStockLedgerMode_Disable_AllowedWhileDisabled() {
+        inventoryItem.setStockLedger(true);
+        when(inventoryItemRepository.findAllByItemIdInForUpdate(List.of(itemId))).thenReturn(List.of(inventoryItem));
+
+        inventoryService.updateStockLedgerMode(List.of(new StockLedgerToggleDTO(itemId, false)));
+
+        verify(stockLedgerManager).disable(inventoryItem);
+    }
+
+    @Test
+    void updateStockLedgerMode_ForStripedItem_ThrowsException() {
+        ReflectionTestUtils.setField(inventoryService, "ledgerEnabled", true);
+        inventoryItem.setStripeCount(4);
+        when(inventoryItemRepository.findAllByItemIdInForUpdate(List.of(itemId))).thenReturn(List.of(inventoryItem));
+
+        assertThrows(InvalidOperationException.class, () ->
+                inventoryService.updateStockLedgerMode(List.of(new StockLedgerToggleDTO(itemId, true))));
+        verify(stockLedgerManager, never()).enable(any());
+    }
+
+    @Test
+    void updateFlashSaleMode_ForLedgerItem_ThrowsException() {
+        inventoryItem.setStockLedger(true);
+        when(inventoryItemRepository.findAllByItemIdInForUpdate(List.of(itemId))).thenReturn(List.of(inventoryItem));
+
+        assertThrows(InvalidOperationException.class, () ->
+                inventoryService.updateFlashSaleMode(List.of(new FlashSaleToggleDTO(itemId, true))));
+        verifyNoInteractions(flashSaleReconciler);
+    }
+
+    @Test
+    void addStock_ForLedgerItem_InsertsRestockMovementAndLeavesRowAlone() {
+        inventoryItem.setStockLedger(true);
+        inventoryItem.setAvailableStock(0);
+        when(inventoryItemRepository.findAllByItemIdInForUpdate(List.of(itemId))).thenReturn(List.of(inventoryItem));
+
+        inventoryService.addStock(List.of(new AddStockRequestDTO(itemId, 40)));
+
+        verify(stockLedgerManager).restock(inventoryItem, 40);
+        assertEquals(0, inventoryItem.getAvailableStock());
+    }
+
+    @Test
+    void getInventoryItem_ForLedgerItem_ReturnsDerivedBalance() {
+        inventoryItem.setStockLedger(true);
+        inventoryItem.setAvailableStock(0);
+        inventoryItem.setReservedStock(0);
+        when(inventoryItemRepository.findById(itemId)).thenReturn(Optional.of(inventoryItem));
+        when(stockLedgerManager.findStockLevels(List.of(inventoryItem)))
+                .thenReturn(Map.of(itemId, new StockLevelDTO(itemId, 57L, 3L)));
+
+        InventoryItemDTO result = inventoryService.getInventoryItem(itemId);
+
+        assertEquals(57, result.getAvailableStock());
+        assertEquals(3, result.getReservedStock());
+    }
+
+    @Test
+    void getStockMovements_WithNonExistingItem_ThrowsException() {
+        when(inventoryItemRepository.existsById(itemId)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class, () ->
+                inventoryService.getStockMovements(itemId, PageRequest.of(0, 50)));
+        verifyNoInteractions(stockLedgerManager);
+    }
+
     @Test
     void addStock_MultipleItems_UpdatesAll() {
         UUID itemId2 = UUID.randomUUID();
@@ -1,9 +1,12 @@
 package com.example.ordermgmt.service.impl;
 
 import com.example.ordermgmt.dto.ProductDTO;
+import com.example.ordermgmt.dto.StockLevelDTO;
 import com.example.ordermgmt.entity.InventoryItem;
 import com.example.ordermgmt.entity.PricingCatalog;
 import com.example.ordermgmt.repository.InventoryItemRepository;
+import com.example.ordermgmt.service.impl.order.StockLedgerManager;
+import com.example.ordermgmt.service.impl.order.StripedStockManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -17,6 +20,7 @@ import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -29,6 +33,12 @@ class ProductServiceImplTest {
     @Mock
     private InventoryItemRepository inventoryItemRepository;
 
+    @Mock
+    private StripedStockManager stripedStockManager;
+
+    @Mock
+    private StockLedgerManager stockLedgerManager;
+
     @InjectMocks
     private ProductServiceImpl productService;
 
@@ -178,4 +188,32 @@ class ProductServiceImplTest {
         // Item without pricing should be filtered out by isAvailable() method
         assertTrue(result.isEmpty());
     }
+
+    @Test
+    void getAvailableProducts_WithStripedItem_ShowsSummedBucketStock() {
+        availableItem.setAvailableStock(0);
+        availableItem.setStripeCount(4);
+        when(inventoryItemRepository.findAvailableWithPricing()).thenReturn(List.of(availableItem));
+        when(stripedStockManager.findStockLevels(List.of(availableItem)))
+                .thenReturn(Map.of(itemId, new StockLevelDTO(itemId, 37L, 3L)));
+
+        List<ProductDTO> result = productService.getAvailableProducts();
+
+        assertEquals(1, result.size());
+        assertEquals(37, result.get(0).getAvailableStock());
+    }
+
+    @Test
+    void getAvailableProducts_WithLedgerItem_ShowsDerivedBalance() {
+        availableItem.setAvailableStock(0);
+        availableItem.setStockLedger(true);
+        when(inventoryItemRepository.findAvailableWithPricing()).thenReturn(List.of(availableItem));
+        when(stockLedgerManager.findStockLevels(List.of(availableItem)))
+                .thenReturn(Map.of(itemId, new StockLevelDTO(itemId, 21L, 9L)));
+
+        List<ProductDTO> result = productService.getAvailableProducts();
+
+        assertEquals(1, result.size());
+        assertEquals(21, result.get(0).getAvailableStock());
+    }
 }
@@ -0,0 +1,116 @@
+package com.example.ordermgmt.service.impl.lock;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AdvisoryLockLeasesTest {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private DatabaseMetaData metaData;
+
+    @Mock
+    private PreparedStatement statement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AdvisoryLockLeases leases;
+    private UUID scope;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        leases = new AdvisoryLockLeases(dataSource, meterRegistry);
+        scope = UUID.randomUUID();
+    }
+
+    @Test
+    void runIfLeased_WithoutPostgres_RunsTheWork() throws SQLException {
+        when(dataSource.getConnection()).thenThrow(new SQLException("no database"));
+        leases.detectDatabase();
+        AtomicBoolean ran = new AtomicBoolean();
+
+        assertTrue(leases.runIfLeased("auto-cancel", scope, () -> ran.set(true)));
+
+        assertTrue(ran.get());
+    }
+
+    @Test
+    void runIfLeased_WhenLeaseIsFree_RunsTheWorkAndReleasesTheLease() throws SQLException {
+        onPostgres(true);
+        AtomicBoolean ran = new AtomicBoolean();
+
+        assertTrue(leases.runIfLeased("auto-cancel", scope, () -> ran.set(true)));
+
+        assertTrue(ran.get());
+        verify(statement).setString(1, "auto-cancel:" + scope);
+        InOrder order = inOrder(connection);
+        order.verify(connection).setAutoCommit(false);
+        order.verify(connection).rollback();
+        order.verify(connection).close();
+        assertEquals(1.0, meterRegistry.get("lock.lease").tag("outcome", "acquired").counter().count());
+    }
+
+    @Test
+    void runIfLeased_WhenAnotherNodeHoldsTheLease_SkipsTheWork() throws SQLException {
+        onPostgres(false);
+        AtomicBoolean ran = new AtomicBoolean();
+
+        assertFalse(leases.runIfLeased("auto-cancel", scope, () -> ran.set(true)));
+
+        assertFalse(ran.get());
+        verify(connection).rollback();
+        assertEquals(1.0, meterRegistry.get("lock.lease").tag("outcome", "held").counter().count());
+    }
+
+    @Test
+    void runIfLeased_WhenTheWorkFails_StillReleasesTheLease() throws SQLException {
+        onPostgres(true);
+
+        assertThrows(IllegalStateException.class, () -> leases.runIfLeased("auto-cancel", scope, () -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        verify(connection).rollback();
+        verify(connection).close();
+    }
+
+    private void onPostgres(boolean leaseFree) throws SQLException {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(metaData.getDatabaseProductName()).thenReturn("PostgreSQL");
+        leases.detectDatabase();
+        clearInvocations(connection);
+
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getBoolean(1)).thenReturn(leaseFree);
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.ordermgmt.service.impl.lock;
+
+import com.example.ordermgmt.exception.LockContentionException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.mock.env.MockEnvironment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LockAcquisitionPoliciesTest {
+
+    @Mock
+    private DataSource dataSource;
+
+    private SimpleMeterRegistry meterRegistry;
+    private LockAcquisitionPolicies lockPolicies;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("app.lock.status-update.max-retries", "2")
+                .withProperty("app.lock.status-update.backoff-ms", "1")
+                .withProperty("app.lock.status-update.max-backoff-ms", "2")
+                .withProperty("app.lock.order-cancel.mode", "NOWAIT");
+        when(dataSource.getConnection()).thenThrow(new SQLException("no database"));
+        meterRegistry = new SimpleMeterRegistry();
+        lockPolicies = new LockAcquisitionPolicies(environment, dataSource, meterRegistry);
+        lockPolicies.loadPolicies();
+    }
+
+    @Test
+    void loadPolicies_OverridesDefaultsPerSite() {
+        assertEquals(2, lockPolicies.policy(LockSite.STATUS_UPDATE).maxRetries());
+        assertEquals(LockPolicy.Mode.NOWAIT, lockPolicies.modeOf(LockSite.ORDER_CANCEL));
+        assertEquals(LockSite.AUTO_CANCEL.defaultPolicy(), lockPolicies.policy(LockSite.AUTO_CANCEL));
+    }
+
+    @Test
+    void withRetry_RetriesLockFailuresUntilTheWorkSucceeds() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = lockPolicies.withRetry(LockSite.STATUS_UPDATE, () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new PessimisticLockingFailureException("lock timeout");
+            }
+            return "done";
+        });
+
+        assertEquals("done", result);
+        assertEquals(3, attempts.get());
+        assertEquals(2.0, meterRegistry.get("lock.retries").tag("site", "status-update").counter().count());
+    }
+
+    @Test
+    void withRetry_GivesUpWithLockContentionException() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(LockContentionException.class, () -> lockPolicies.withRetry(LockSite.STATUS_UPDATE, () -> {
+            attempts.incrementAndGet();
+            throw new PessimisticLockingFailureException("lock timeout");
+        }));
+
+        assertEquals(3, attempts.get());
+        assertEquals(1.0, meterRegistry.get("lock.giveups").tag("site", "status-update").counter().count());
+    }
+
+    @Test
+    void withRetry_DoesNotRetryOtherFailures() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(IllegalStateException.class, () -> lockPolicies.withRetry(LockSite.STATUS_UPDATE, () -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("boom");
+        }));
+
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void acquire_RecordsWaitTimeByOutcome() {
+        Optional<String> locked = lockPolicies.acquire(LockSite.ORDER_CANCEL, () -> Optional.of("row"));
+
+        assertEquals(Optional.of("row"), locked);
+        assertEquals(1, meterRegistry.get("lock.wait").tag("site", "order-cancel").tag("outcome", "acquired")
+                .timer().count());
+    }
+
+    @Test
+    void applyTimeout_WithoutPostgres_DoesNothing() {
+        assertDoesNotThrow(() -> lockPolicies.applyTimeout(LockSite.ORDER_PLACEMENT));
+    }
+
+    @Test
+    void backoffMillis_StaysWithinTheCappedWindow() {
+        LockPolicy policy = new LockPolicy(LockPolicy.Mode.TIMEOUT, 100, 5, 10, 50);
+
+        for (int attempt = 0; attempt < 8; attempt++) {
+            long backoff = policy.backoffMillis(attempt);
+            assertTrue(backoff >= 0 && backoff <= Math.min(50, 10L << attempt), "attempt " + attempt + ": " + backoff);
+        }
+    }
+}
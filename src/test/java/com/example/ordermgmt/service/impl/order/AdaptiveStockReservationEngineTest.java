@@ -0,0 +1,147 @@
+package com.example.ordermgmt.service.impl.order;
+
+import com.example.ordermgmt.entity.InventoryItem;
+import com.example.ordermgmt.exception.InsufficientStockException;
+import com.example.ordermgmt.repository.InventoryItemRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AdaptiveStockReservationEngineTest {
+
+    @Mock
+    private InventoryItemRepository inventoryRepository;
+
+    @Mock
+    private ConditionalStockReservationEngine conditionalEngine;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AdaptiveStockReservationEngine engine;
+
+    private UUID itemId;
+    private InventoryItem item;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        engine = new AdaptiveStockReservationEngine(inventoryRepository, conditionalEngine, meterRegistry);
+        ReflectionTestUtils.setField(engine, "maxRetries", 2);
+        ReflectionTestUtils.setField(engine, "hotThreshold", 0.5);
+        ReflectionTestUtils.setField(engine, "coolThreshold", 0.1);
+        ReflectionTestUtils.setField(engine, "smoothing", 0.5);
+        ReflectionTestUtils.setField(engine, "contendedLockMs", 1000L);
+        engine.init();
+
+        itemId = UUID.randomUUID();
+        item = new InventoryItem();
+        item.setItemId(itemId);
+        item.setItemName("Tail Item");
+        item.setAvailableStock(10);
+        item.setReservedStock(0);
+    }
+
+    @Test
+    void reserve_WithoutConflict_UsesVersionCheckedUpdateOnly() {
+        when(inventoryRepository.findVersion(itemId)).thenReturn(7L);
+        when(inventoryRepository.reserveStockIfVersion(itemId, 3, 7L)).thenReturn(1);
+
+        engine.reserve(item, 3);
+
+        verify(inventoryRepository, never()).findAllByItemIdInForUpdate(anyList());
+        assertEquals(InventoryContentionTracker.Mode.OPTIMISTIC, engine.modeOf(itemId));
+        assertEquals(0.0, meterRegistry.get("inventory.adaptive.retries").counter().count());
+    }
+
+    @Test
+    void reserve_WhenVersionMoved_RetriesWithFreshVersion() {
+        when(inventoryRepository.findVersion(itemId)).thenReturn(7L, 8L);
+        when(inventoryRepository.reserveStockIfVersion(itemId, 3, 7L)).thenReturn(0);
+        when(inventoryRepository.reserveStockIfVersion(itemId, 3, 8L)).thenReturn(1);
+        when(inventoryRepository.findAvailableStock(itemId)).thenReturn(9);
+
+        engine.reserve(item, 3);
+
+        assertEquals(1.0, meterRegistry.get("inventory.adaptive.retries").counter().count());
+        verify(inventoryRepository, never()).findAllByItemIdInForUpdate(anyList());
+    }
+
+    @Test
+    void reserve_WhenStockRanOut_ThrowsWithoutRetrying() {
+        when(inventoryRepository.findVersion(itemId)).thenReturn(7L);
+        when(inventoryRepository.reserveStockIfVersion(itemId, 3, 7L)).thenReturn(0);
+        when(inventoryRepository.findAvailableStock(itemId)).thenReturn(2);
+
+        InsufficientStockException ex = assertThrows(InsufficientStockException.class,
+                () -> engine.reserve(item, 3));
+
+        assertTrue(ex.getMessage().contains("Available: 2"));
+        verify(inventoryRepository, times(1)).findVersion(itemId);
+    }
+
+    @Test
+    void reserve_WhenRetriesExhausted_FallsBackToRowLockAndTurnsPessimistic() {
+        when(inventoryRepository.findVersion(itemId)).thenReturn(1L, 2L, 3L);
+        when(inventoryRepository.reserveStockIfVersion(eq(itemId), eq(3), anyLong())).thenReturn(0);
+        when(inventoryRepository.findAvailableStock(itemId)).thenReturn(9);
+        when(inventoryRepository.reserveStockIfAvailable(itemId, 3)).thenReturn(1);
+
+        engine.reserve(item, 3);
+
+        verify(inventoryRepository).findAllByItemIdInForUpdate(List.of(itemId));
+        assertEquals(1.0, meterRegistry.get("inventory.adaptive.retries.exhausted").counter().count());
+        assertEquals(InventoryContentionTracker.Mode.PESSIMISTIC, engine.modeOf(itemId));
+        assertEquals(1.0, meterRegistry.get("inventory.adaptive.item.mode")
+                .tag("itemId", itemId.toString()).gauge().value());
+    }
+
+    @Test
+    void reserve_WhenPessimistic_LocksFirstAndCoolsDownWithoutLockWaits() {
+        when(inventoryRepository.findVersion(itemId)).thenReturn(1L, 2L, 3L);
+        when(inventoryRepository.reserveStockIfVersion(eq(itemId), eq(1), anyLong())).thenReturn(0);
+        when(inventoryRepository.findAvailableStock(itemId)).thenReturn(9);
+        when(inventoryRepository.reserveStockIfAvailable(itemId, 1)).thenReturn(1);
+        engine.reserve(item, 1);
+        assertEquals(InventoryContentionTracker.Mode.PESSIMISTIC, engine.modeOf(itemId));
+
+        // Uncontended lock waits decay the rate until the item goes back to optimistic
+        for (int i = 0; i < 3; i++) {
+            engine.reserve(item, 1);
+        }
+
+        assertEquals(InventoryContentionTracker.Mode.OPTIMISTIC, engine.modeOf(itemId));
+        verify(inventoryRepository, times(3)).findVersion(itemId);
+        assertEquals(1.0, meterRegistry.get("inventory.adaptive.mode.switches").tag("to", "optimistic")
+                .counter().count());
+    }
+
+    @Test
+    void reserve_WhenPessimisticAndGuardFails_ThrowsInsufficientStock() {
+        when(inventoryRepository.findVersion(itemId)).thenReturn(1L, 2L, 3L);
+        when(inventoryRepository.reserveStockIfVersion(eq(itemId), eq(4), anyLong())).thenReturn(0);
+        when(inventoryRepository.findAvailableStock(itemId)).thenReturn(9, 9, 9, 1);
+        when(inventoryRepository.reserveStockIfAvailable(itemId, 4)).thenReturn(0);
+
+        assertThrows(InsufficientStockException.class, () -> engine.reserve(item, 4));
+    }
+
+    @Test
+    void releaseAndFulfil_DelegateToGuardedUpdates() {
+        engine.release(item, 2);
+        engine.fulfil(item, 1);
+
+        verify(conditionalEngine).release(item, 2);
+        verify(conditionalEngine).fulfil(item, 1);
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.ordermgmt.service.impl.order;
+
+import com.example.ordermgmt.dto.OrderAcceptanceDTO;
+import com.example.ordermgmt.dto.OrderDTO;
+import com.example.ordermgmt.dto.OrderItemDTO;
+import com.example.ordermgmt.exception.InsufficientStockException;
+import com.example.ordermgmt.exception.LockContentionException;
+import com.example.ordermgmt.exception.ResourceNotFoundException;
+import com.example.ordermgmt.exception.ServiceOverloadedException;
+import com.example.ordermgmt.security.TenantContextHolder;
+import com.example.ordermgmt.service.OrderService;
+import com.example.ordermgmt.service.impl.lock.LockAcquisitionPolicies;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncOrderIntakeTest {
+
+    private static final String EMAIL = "customer@example.com";
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private LockAcquisitionPolicies lockPolicies;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private SimpleMeterRegistry meterRegistry;
+    private AsyncOrderIntake intake;
+    private UUID tenantId;
+    private OrderDTO request;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        tenantId = UUID.randomUUID();
+        TenantContextHolder.setTenantId(tenantId);
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        lenient().when(lockPolicies.withRetry(any(), any()))
+                .thenAnswer(inv -> ((Supplier<?>) inv.getArgument(1)).get());
+
+        request = new OrderDTO();
+        request.setItems(List.of(new OrderItemDTO(UUID.randomUUID(), null, 2, null, null)));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (intake != null) {
+            intake.stop();
+        }
+        TenantContextHolder.clear();
+    }
+
+    @Test
+    void accept_JournalsTheOrderAndReturnsItsToken() {
+        intake = newIntake(0);
+
+        OrderAcceptanceDTO accepted = intake.accept(request, EMAIL);
+
+        assertEquals(AsyncOrderIntake.ACCEPTED, accepted.getStatus());
+        assertNotNull(accepted.getOrderToken());
+        verify(valueOperations).set(eq(statusKey(accepted.getOrderToken())),
+                argThat(json -> json.contains("\"ACCEPTED\"")), eq(Duration.ofHours(24)));
+        assertEquals(1.0, meterRegistry.get("order.async.backlog").gauge().value());
+        verifyNoInteractions(orderService);
+    }
+
+    @Test
+    void accept_BacklogFull_Sheds() {
+        intake = newIntake(0);
+        ReflectionTestUtils.setField(intake, "maxBacklog", 1);
+        intake.accept(request, EMAIL);
+
+        assertThrows(ServiceOverloadedException.class, () -> intake.accept(request, EMAIL));
+    }
+
+    @Test
+    void worker_PlacesTheOrderUnderItsTenantAndSettlesIt() {
+        OrderDTO placed = new OrderDTO();
+        placed.setOrderId(UUID.randomUUID());
+        when(orderService.createAcceptedOrder(any(), any(), eq(EMAIL))).thenAnswer(inv -> {
+            assertEquals(tenantId, TenantContextHolder.getTenantId());
+            return placed;
+        });
+        intake = newIntake(1);
+
+        OrderAcceptanceDTO accepted = intake.accept(request, EMAIL);
+
+        verify(valueOperations, timeout(2000)).set(eq(statusKey(accepted.getOrderToken())),
+                argThat(json -> json.contains("\"PLACED\"")), any(Duration.class));
+        verify(orderService).createAcceptedOrder(eq(accepted.getOrderToken()), any(OrderDTO.class), eq(EMAIL));
+        assertEquals(1.0, meterRegistry.get("order.async.orders").tag("outcome", "placed").counter().count());
+    }
+
+    @Test
+    void worker_RejectedOrder_SettlesAsFailed() {
+        when(orderService.createAcceptedOrder(any(), any(), eq(EMAIL)))
+                .thenThrow(new InsufficientStockException("Insufficient stock"));
+        intake = newIntake(1);
+
+        OrderAcceptanceDTO accepted = intake.accept(request, EMAIL);
+
+        verify(valueOperations, timeout(2000)).set(eq(statusKey(accepted.getOrderToken())),
+                argThat(json -> json.contains("\"FAILED\"") && json.contains("Insufficient stock")),
+                any(Duration.class));
+        verify(orderService, times(1)).createAcceptedOrder(any(), any(), any());
+    }
+
+    @Test
+    void worker_LockContention_RetriesWithBackoff() {
+        when(orderService.createAcceptedOrder(any(), any(), eq(EMAIL)))
+                .thenThrow(new LockContentionException("busy"))
+                .thenReturn(new OrderDTO());
+        intake = newIntake(1);
+
+        intake.accept(request, EMAIL);
+
+        verify(orderService, timeout(2000).times(2)).createAcceptedOrder(any(), any(), any());
+        assertEquals(1.0, meterRegistry.get("order.async.retries").counter().count());
+    }
+
+    @Test
+    void start_ReplaysOrdersThatWereAcceptedButNotSettled() throws InterruptedException {
+        intake = newIntake(0);
+        UUID token = intake.accept(request, EMAIL).getOrderToken();
+        intake.stop();
+
+        intake = newIntake(1);
+
+        verify(orderService, timeout(2000)).createAcceptedOrder(eq(token),
+                argThat(order -> order.getItems().size() == 1), eq(EMAIL));
+    }
+
+    @Test
+    void getStatus_WithoutStoredStatus_FallsBackToThePlacedOrder() {
+        intake = newIntake(0);
+        UUID token = UUID.randomUUID();
+        OrderDTO placed = new OrderDTO();
+        when(valueOperations.get(statusKey(token))).thenReturn(null);
+        when(orderService.findAcceptedOrder(token, EMAIL)).thenReturn(Optional.of(placed));
+
+        OrderAcceptanceDTO status = intake.getStatus(token, EMAIL);
+
+        assertEquals(AsyncOrderIntake.PLACED, status.getStatus());
+        assertSame(placed, status.getOrder());
+    }
+
+    @Test
+    void getStatus_UnknownToken_NotFound() {
+        intake = newIntake(0);
+        UUID token = UUID.randomUUID();
+        when(valueOperations.get(anyString())).thenReturn(null);
+        when(orderService.findAcceptedOrder(token, EMAIL)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> intake.getStatus(token, EMAIL));
+    }
+
+    private AsyncOrderIntake newIntake(int workers) {
+        AsyncOrderIntake created = new AsyncOrderIntake(orderService, lockPolicies, redisTemplate, objectMapper,
+                meterRegistry);
+        ReflectionTestUtils.setField(created, "enabled", true);
+        ReflectionTestUtils.setField(created, "workers", workers);
+        ReflectionTestUtils.setField(created, "maxBacklog", 100);
+        ReflectionTestUtils.setField(created, "retryBackoffMs", 10L);
+        ReflectionTestUtils.setField(created, "maxBackoffMs", 50L);
+        ReflectionTestUtils.setField(created, "statusTtlHours", 24L);
+        ReflectionTestUtils.setField(created, "retryAfterSeconds", 1L);
+        created.start(new OrderIntakeJournal(directory, 4096));
+        return created;
+    }
+
+    private String statusKey(UUID token) {
+        return AsyncOrderIntake.STATUS_KEY_PREFIX + tenantId + ":" + EMAIL + ":" + token;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.ordermgmt.service.impl.order;
+
+import com.example.ordermgmt.entity.InventoryItem;
+import com.example.ordermgmt.exception.InsufficientStockException;
+import com.example.ordermgmt.exception.InvalidOperationException;
+import com.example.ordermgmt.repository.InventoryItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConditionalStockReservationEngineTest {
+
+    @Mock
+    private InventoryItemRepository inventoryRepository;
+
+    @InjectMocks
+    private ConditionalStockReservationEngine engine;
+
+    private UUID itemId;
+    private InventoryItem item;
+
+    @BeforeEach
+    void setUp() {
+        itemId = UUID.randomUUID();
+        item = new InventoryItem();
+        item.setItemId(itemId);
+        item.setItemName("Hot Item");
+        item.setAvailableStock(3);
+        item.setReservedStock(2);
+    }
+
+    @Test
+    void reserve_WhenGuardMatches_Succeeds() {
+        when(inventoryRepository.reserveStockIfAvailable(itemId, 3)).thenReturn(1);
+
+        assertDoesNotThrow(() -> engine.reserve(item, 3));
+
+        verify(inventoryRepository).reserveStockIfAvailable(itemId, 3);
+        verify(inventoryRepository, never()).findAllByItemIdInForUpdate(anyList());
+    }
+
+    @Test
+    void reserve_WhenNoRowUpdated_ThrowsInsufficientStock() {
+        when(inventoryRepository.reserveStockIfAvailable(itemId, 5)).thenReturn(0);
+
+        InsufficientStockException ex = assertThrows(InsufficientStockException.class,
+                () -> engine.reserve(item, 5));
+
+        assertTrue(ex.getMessage().contains("Insufficient stock for item: Hot Item"));
+    }
+
+    @Test
+    void release_WhenGuardMatches_Succeeds() {
+        when(inventoryRepository.releaseReservedStockIfReserved(itemId, 2)).thenReturn(1);
+
+        assertDoesNotThrow(() -> engine.release(item, 2));
+    }
+
+    @Test
+    void release_WhenNotEnoughReserved_ThrowsMeaningfulException() {
+        when(inventoryRepository.releaseReservedStockIfReserved(itemId, 5)).thenReturn(0);
+
+        InvalidOperationException ex = assertThrows(InvalidOperationException.class,
+                () -> engine.release(item, 5));
+
+        assertTrue(ex.getMessage().contains("cannot release 5 units"));
+    }
+
+    @Test
+    void fulfil_WhenNotEnoughReserved_ThrowsMeaningfulException() {
+        when(inventoryRepository.fulfilReservedStockIfReserved(itemId, 5)).thenReturn(0);
+
+        InvalidOperationException ex = assertThrows(InvalidOperationException.class,
+                () -> engine.fulfil(item, 5));
+
+        assertTrue(ex.getMessage().contains("cannot release 5 units"));
+        verify(inventoryRepository, never()).releaseReservedStockIfReserved(any(), anyInt());
+    }
+}
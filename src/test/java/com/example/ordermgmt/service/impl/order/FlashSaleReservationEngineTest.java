@@ -0,0 +1,115 @@
+package com.example.ordermgmt.service.impl.order;
+
+import com.example.ordermgmt.entity.InventoryItem;
+import com.example.ordermgmt.exception.InsufficientStockException;
+import com.example.ordermgmt.exception.InvalidOperationException;
+import com.example.ordermgmt.repository.InventoryItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FlashSaleReservationEngineTest {
+
+    @Mock
+    private FlashSaleCounters counters;
+
+    @Mock
+    private FlashSaleStockReconciler reconciler;
+
+    @Mock
+    private InventoryItemRepository inventoryRepository;
+
+    @InjectMocks
+    private FlashSaleReservationEngine engine;
+
+    private UUID itemId;
+    private InventoryItem item;
+
+    @BeforeEach
+    void setUp() {
+        itemId = UUID.randomUUID();
+        item = new InventoryItem();
+        item.setItemId(itemId);
+        item.setItemName("Flash Item");
+        item.setFlashSale(true);
+    }
+
+    @Test
+    void reserve_WhenCountersAllowIt_MovesStockInRedisOnly() {
+        when(counters.move(itemId, -3, 3, true, FlashSaleCounters.AVAILABLE, 3)).thenReturn(FlashSaleCounters.APPLIED);
+
+        assertDoesNotThrow(() -> engine.reserve(item, 3));
+
+        verifyNoInteractions(inventoryRepository, reconciler);
+    }
+
+    @Test
+    void reserve_WhenRejected_ThrowsInsufficientStockWithLiveCount() {
+        when(counters.move(itemId, -5, 5, true, FlashSaleCounters.AVAILABLE, 5)).thenReturn(FlashSaleCounters.REJECTED);
+        when(counters.read(itemId)).thenReturn(new int[] { 2, 8 });
+
+        InsufficientStockException ex = assertThrows(InsufficientStockException.class,
+                () -> engine.reserve(item, 5));
+
+        assertTrue(ex.getMessage().contains("Available: 2, Requested: 5"));
+    }
+
+    @Test
+    void reserve_WhenCountersMissing_InitialisesAndRetries() {
+        when(counters.move(itemId, -1, 1, true, FlashSaleCounters.AVAILABLE, 1))
+                .thenReturn(FlashSaleCounters.MISSING, FlashSaleCounters.APPLIED);
+
+        engine.reserve(item, 1);
+
+        verify(reconciler).initialiseCountersIfMissing(itemId);
+        verify(counters, times(2)).move(itemId, -1, 1, true, FlashSaleCounters.AVAILABLE, 1);
+    }
+
+    @Test
+    void reserve_WhenCountersStayMissing_FailsFast() {
+        when(counters.move(itemId, -1, 1, true, FlashSaleCounters.AVAILABLE, 1)).thenReturn(FlashSaleCounters.MISSING);
+
+        assertThrows(IllegalStateException.class, () -> engine.reserve(item, 1));
+    }
+
+    @Test
+    void release_WhenReservedTooLow_ThrowsInconsistency() {
+        when(counters.move(itemId, 4, -4, true, FlashSaleCounters.RESERVED, 4)).thenReturn(FlashSaleCounters.REJECTED);
+        when(counters.read(itemId)).thenReturn(new int[] { 10, 1 });
+
+        InvalidOperationException ex = assertThrows(InvalidOperationException.class,
+                () -> engine.release(item, 4));
+
+        assertTrue(ex.getMessage().contains("only 1 reserved"));
+    }
+
+    @Test
+    void fulfil_ReconcilesItemBeforeGuardedUpdate() {
+        when(counters.move(itemId, 0, -2, false, FlashSaleCounters.RESERVED, 2)).thenReturn(FlashSaleCounters.APPLIED);
+        when(inventoryRepository.fulfilReservedStockIfReserved(itemId, 2)).thenReturn(1);
+
+        engine.fulfil(item, 2);
+
+        InOrder inOrder = inOrder(reconciler, inventoryRepository);
+        inOrder.verify(reconciler).reconcileItem(itemId);
+        inOrder.verify(inventoryRepository).fulfilReservedStockIfReserved(itemId, 2);
+    }
+
+    @Test
+    void fulfil_WhenRowNotUpdated_ThrowsInconsistency() {
+        when(counters.move(itemId, 0, -2, false, FlashSaleCounters.RESERVED, 2)).thenReturn(FlashSaleCounters.APPLIED);
+        when(inventoryRepository.fulfilReservedStockIfReserved(itemId, 2)).thenReturn(0);
+
+        assertThrows(InvalidOperationException.class, () -> engine.fulfil(item, 2));
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.ordermgmt.service.impl.order;
+
+import com.example.ordermgmt.entity.InventoryItem;
+import com.example.ordermgmt.exception.ResourceNotFoundException;
+import com.example.ordermgmt.repository.InventoryItemRepository;
+import com.example.ordermgmt.repository.OrderItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FlashSaleStockReconcilerTest {
+
+    @Mock
+    private FlashSaleCounters counters;
+
+    @Mock
+    private InventoryItemRepository inventoryRepository;
+
+    @Mock
+    private OrderItemRepository orderItemRepository;
+
+    @InjectMocks
+    private FlashSaleStockReconciler reconciler;
+
+    private UUID itemId;
+    private InventoryItem item;
+
+    @BeforeEach
+    void setUp() {
+        itemId = UUID.fromString("00000000-0000-0000-0000-00000000000b");
+        item = new InventoryItem();
+        item.setItemId(itemId);
+        item.setFlashSale(true);
+    }
+
+    @Test
+    void reconcile_WithNothingPending_DoesNotTouchPostgres() {
+        when(counters.drain(null)).thenReturn(new TreeMap<>());
+
+        assertEquals(0, reconciler.reconcile());
+
+        verifyNoInteractions(inventoryRepository);
+    }
+
+    @Test
+    void reconcile_AppliesDeltasInItemIdOrder() {
+        UUID first = UUID.fromString("00000000-0000-0000-0000-00000000000a");
+        TreeMap<UUID, int[]> deltas = new TreeMap<>();
+        deltas.put(itemId, new int[] { -1, 1 });
+        deltas.put(first, new int[] { -4, 4 });
+        when(counters.drain(null)).thenReturn(deltas);
+
+        assertEquals(2, reconciler.reconcile());
+
+        InOrder inOrder = inOrder(inventoryRepository);
+        inOrder.verify(inventoryRepository).applyStockDelta(first, -4, 4);
+        inOrder.verify(inventoryRepository).applyStockDelta(itemId, -1, 1);
+    }
+
+    @Test
+    void rebuildCounters_DerivesReservedFromOpenOrders() {
+        when(inventoryRepository.findAllByItemIdInForUpdate(List.of(itemId))).thenReturn(List.of(item));
+        when(counters.drain(itemId)).thenReturn(new TreeMap<>());
+        when(inventoryRepository.findTotalStock(itemId)).thenReturn(100);
+        when(orderItemRepository.sumQuantityByItemAndStatusNames(itemId, FlashSaleStockReconciler.HOLDING_STATUSES))
+                .thenReturn(30L);
+
+        reconciler.rebuildCounters(itemId);
+
+        verify(inventoryRepository).overwriteStockLevels(itemId, 70, 30);
+        verify(counters).write(itemId, 70, 30);
+    }
+
+    @Test
+    void rebuildCounters_WhenOversold_ClampsAvailableToZero() {
+        when(inventoryRepository.findAllByItemIdInForUpdate(List.of(itemId))).thenReturn(List.of(item));
+        when(counters.drain(itemId)).thenReturn(new TreeMap<>());
+        when(inventoryRepository.findTotalStock(itemId)).thenReturn(10);
+        when(orderItemRepository.sumQuantityByItemAndStatusNames(itemId, FlashSaleStockReconciler.HOLDING_STATUSES))
+                .thenReturn(12L);
+
+        reconciler.rebuildCounters(itemId);
+
+        verify(counters).write(itemId, 0, 12);
+    }
+
+    @Test
+    void rebuildCounters_WithUnknownItem_ThrowsException() {
+        assertThrows(ResourceNotFoundException.class, () -> reconciler.rebuildCounters(itemId));
+
+        verifyNoInteractions(counters);
+    }
+
+    @Test
+    void initialiseCountersIfMissing_WhenAnotherCallerWon_SkipsRebuild() {
+        when(inventoryRepository.findAllByItemIdInForUpdate(List.of(itemId))).thenReturn(List.of(item));
+        when(counters.exists(itemId)).thenReturn(true);
+
+        reconciler.initialiseCountersIfMissing(itemId);
+
+        verify(counters, never()).write(any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void recoverMissingCounters_RebuildsOnlyItemsWithoutCounters() {
+        InventoryItem healthy = new InventoryItem();
+        healthy.setItemId(UUID.randomUUID());
+        healthy.setFlashSale(true);
+        when(inventoryRepository.findByFlashSaleTrue()).thenReturn(List.of(healthy, item));
+        when(counters.exists(healthy.getItemId())).thenReturn(true);
+        when(counters.exists(itemId)).thenReturn(false);
+        when(inventoryRepository.findAllByItemIdInForUpdate(List.of(itemId))).thenReturn(List.of(item));
+        when(counters.drain(itemId)).thenReturn(new TreeMap<>());
+        when(inventoryRepository.findTotalStock(itemId)).thenReturn(5);
+        when(orderItemRepository.sumQuantityByItemAndStatusNames(itemId, FlashSaleStockReconciler.HOLDING_STATUSES))
+                .thenReturn(0L);
+
+        assertEquals(1, reconciler.recoverMissingCounters());
+
+        verify(counters).write(itemId, 5, 0);
+        verify(counters, never()).write(eq(healthy.getItemId()), anyInt(), anyInt());
+    }
+
+    @Test
+    void removeCounters_WritesBackPendingDeltasFirst() {
+        TreeMap<UUID, int[]> deltas = new TreeMap<>();
+        deltas.put(itemId, new int[] { 2, -2 });
+        when(counters.drain(itemId)).thenReturn(deltas);
+
+        reconciler.removeCounters(itemId);
+
+        InOrder inOrder = inOrder(inventoryRepository, counters);
+        inOrder.verify(inventoryRepository).applyStockDelta(itemId, 2, -2);
+        inOrder.verify(counters).delete(itemId);
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.ordermgmt.service.impl.order;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HierarchicalTimerWheelTest {
+
+    @Test
+    void advance_ExpiresTimerOnItsDeadlineTickNotBefore() {
+        HierarchicalTimerWheel<String> wheel = new HierarchicalTimerWheel<>(4, 0);
+        wheel.schedule("a", 10);
+
+        assertTrue(wheel.advance(9).isEmpty());
+        assertEquals(List.of("a"), wheel.advance(10));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advance_CascadesTimersDownFromUpperLevels() {
+        HierarchicalTimerWheel<String> wheel = new HierarchicalTimerWheel<>(4, 7);
+        wheel.schedule("level1", 100);
+        wheel.schedule("level2", 5_000);
+        wheel.schedule("level3", 300_000);
+
+        assertTrue(wheel.advance(99).isEmpty());
+        assertEquals(List.of("level1"), wheel.advance(100));
+        assertTrue(wheel.advance(4_999).isEmpty());
+        assertEquals(List.of("level2"), wheel.advance(5_000));
+        assertTrue(wheel.advance(299_999).isEmpty());
+        assertEquals(List.of("level3"), wheel.advance(300_000));
+    }
+
+    @Test
+    void advance_TimerBeyondTheTopLevel_IsParkedUntilItFits() {
+        // Two levels reach 4096 ticks ahead
+        HierarchicalTimerWheel<String> wheel = new HierarchicalTimerWheel<>(2, 0);
+        wheel.schedule("far", 10_000);
+
+        assertTrue(wheel.advance(9_999).isEmpty());
+        assertEquals(List.of("far"), wheel.advance(10_000));
+    }
+
+    @Test
+    void schedule_DeadlineAlreadyPassed_ExpiresOnNextTick() {
+        HierarchicalTimerWheel<String> wheel = new HierarchicalTimerWheel<>(4, 50);
+        wheel.schedule("late", 20);
+
+        assertEquals(1, wheel.size());
+        assertEquals(List.of("late"), wheel.advance(51));
+    }
+
+    @Test
+    void advance_ManyTimers_EachExpiresExactlyOnItsDeadline() {
+        Random random = new Random(42);
+        long start = 12_345;
+        HierarchicalTimerWheel<Integer> wheel = new HierarchicalTimerWheel<>(3, start);
+        Map<Integer, Long> deadlines = new HashMap<>();
+        for (int i = 0; i < 2_000; i++) {
+            long deadline = start + 1 + random.nextInt(600_000);
+            deadlines.put(i, deadline);
+            wheel.schedule(i, deadline);
+        }
+
+        int expired = 0;
+        for (long tick = start + 1; tick <= start + 600_000; tick++) {
+            for (Integer timer : wheel.advance(tick)) {
+                assertEquals((long) deadlines.get(timer), tick, "timer " + timer);
+                expired++;
+            }
+        }
+        assertEquals(2_000, expired);
+        assertEquals(0, wheel.size());
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.ordermgmt.service.impl.order;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InventoryContentionTrackerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private InventoryContentionTracker tracker;
+    private UUID itemId;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        tracker = new InventoryContentionTracker(0.25, 0.4, 0.1, meterRegistry);
+        itemId = UUID.randomUUID();
+    }
+
+    @Test
+    void record_WithoutConflicts_NeverTracksTheItem() {
+        for (int i = 0; i < 100; i++) {
+            tracker.record(itemId, false);
+        }
+
+        assertEquals(InventoryContentionTracker.Mode.OPTIMISTIC, tracker.modeOf(itemId));
+        assertEquals(0.0, tracker.conflictRate(itemId));
+        assertTrue(meterRegistry.find("inventory.adaptive.item.mode").gauges().isEmpty());
+    }
+
+    @Test
+    void record_SporadicConflicts_StayOptimistic() {
+        for (int i = 0; i < 50; i++) {
+            tracker.record(itemId, i % 10 == 0);
+        }
+
+        assertEquals(InventoryContentionTracker.Mode.OPTIMISTIC, tracker.modeOf(itemId));
+        assertEquals(0.0, meterRegistry.get("inventory.adaptive.mode.switches").tag("to", "pessimistic")
+                .counter().count());
+    }
+
+    @Test
+    void record_SwitchesWithHysteresis() {
+        tracker.record(itemId, true);
+        tracker.record(itemId, true);
+        assertEquals(InventoryContentionTracker.Mode.PESSIMISTIC, tracker.modeOf(itemId));
+        assertEquals(1.0, meterRegistry.get("inventory.adaptive.items.pessimistic").gauge().value());
+
+        // Below the hot threshold but above the cool one: stays pessimistic
+        tracker.record(itemId, false);
+        assertEquals(InventoryContentionTracker.Mode.PESSIMISTIC, tracker.modeOf(itemId));
+
+        for (int i = 0; i < 5; i++) {
+            tracker.record(itemId, false);
+        }
+        assertEquals(InventoryContentionTracker.Mode.OPTIMISTIC, tracker.modeOf(itemId));
+        assertEquals(0.0, meterRegistry.get("inventory.adaptive.items.pessimistic").gauge().value());
+        assertEquals(2.0, meterRegistry.get("inventory.adaptive.item.conflicts")
+                .tag("itemId", itemId.toString()).functionCounter().count());
+    }
+}
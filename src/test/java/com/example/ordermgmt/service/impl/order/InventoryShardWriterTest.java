@@ -0,0 +1,89 @@
+package com.example.ordermgmt.service.impl.order;
+
+import com.example.ordermgmt.entity.InventoryItem;
+import com.example.ordermgmt.exception.InsufficientStockException;
+import com.example.ordermgmt.exception.InvalidOperationException;
+import com.example.ordermgmt.repository.InventoryItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryShardWriterTest {
+
+    @Mock
+    private InventoryItemRepository inventoryRepository;
+
+    @InjectMocks
+    private InventoryShardWriter writer;
+
+    private UUID itemId;
+    private InventoryItem item;
+
+    @BeforeEach
+    void setUp() {
+        itemId = UUID.randomUUID();
+        item = new InventoryItem();
+        item.setItemId(itemId);
+        item.setItemName("Sharded Item");
+        item.setAvailableStock(10);
+        item.setReservedStock(0);
+    }
+
+    @Test
+    void reserveBatch_AppliesRequestsInArrivalOrderUnderOneLock() {
+        when(inventoryRepository.findAllByItemIdInForUpdate(List.of(itemId))).thenReturn(List.of(item));
+
+        List<RuntimeException> outcomes = writer.reserveBatch(List.of(
+                Map.of(itemId, 4), Map.of(itemId, 5), Map.of(itemId, 3)));
+
+        assertNull(outcomes.get(0));
+        assertNull(outcomes.get(1));
+        assertInstanceOf(InsufficientStockException.class, outcomes.get(2));
+        assertEquals(1, item.getAvailableStock());
+        assertEquals(9, item.getReservedStock());
+        verify(inventoryRepository, times(1)).findAllByItemIdInForUpdate(anyList());
+    }
+
+    @Test
+    void reserveBatch_RejectedRequestLeavesItsOtherLinesUntouched() {
+        UUID otherId = UUID.randomUUID();
+        InventoryItem other = new InventoryItem();
+        other.setItemId(otherId);
+        other.setAvailableStock(0);
+        other.setReservedStock(0);
+        when(inventoryRepository.findAllByItemIdInForUpdate(anyList())).thenReturn(List.of(item, other));
+
+        List<RuntimeException> outcomes = writer.reserveBatch(List.of(Map.of(itemId, 2, otherId, 1)));
+
+        assertInstanceOf(InsufficientStockException.class, outcomes.get(0));
+        assertEquals(10, item.getAvailableStock());
+        assertEquals(0, item.getReservedStock());
+    }
+
+    @Test
+    void reserveBatch_WithUnknownItem_RejectsRequest() {
+        when(inventoryRepository.findAllByItemIdInForUpdate(List.of(itemId))).thenReturn(List.of());
+
+        List<RuntimeException> outcomes = writer.reserveBatch(List.of(Map.of(itemId, 1)));
+
+        assertInstanceOf(InvalidOperationException.class, outcomes.get(0));
+    }
+
+    @Test
+    void release_WhenGuardFails_ThrowsInconsistency() {
+        when(inventoryRepository.releaseReservedStockIfReserved(itemId, 3)).thenReturn(0);
+
+        assertThrows(InvalidOperationException.class, () -> writer.release(Map.of(itemId, 3)));
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.ordermgmt.service.impl.order;
+
+import com.example.ordermgmt.dto.StockLevelDTO;
+import com.example.ordermgmt.entity.InventoryItem;
+import com.example.ordermgmt.entity.InventoryMovement;
+import com.example.ordermgmt.enums.StockMovementType;
+import com.example.ordermgmt.exception.InsufficientStockException;
+import com.example.ordermgmt.exception.InvalidOperationException;
+import com.example.ordermgmt.repository.InventoryItemRepository;
+import com.example.ordermgmt.repository.InventoryMovementRepository;
+import com.example.ordermgmt.repository.InventoryStockSnapshotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LedgerStockReservationEngineTest {
+
+    @Mock
+    private InventoryItemRepository inventoryRepository;
+
+    @Mock
+    private InventoryStockSnapshotRepository snapshotRepository;
+
+    @Mock
+    private InventoryMovementRepository movementRepository;
+
+    @InjectMocks
+    private LedgerStockReservationEngine engine;
+
+    private UUID itemId;
+    private InventoryItem item;
+
+    @BeforeEach
+    void setUp() {
+        itemId = UUID.randomUUID();
+        item = new InventoryItem();
+        item.setItemId(itemId);
+        item.setItemName("Ledger Item");
+        item.setAvailableStock(0);
+        item.setReservedStock(0);
+        item.setStockLedger(true);
+    }
+
+    @Test
+    void reserve_WhenBalanceCovers_InsertsReserveMovementUnderRowLock() {
+        when(snapshotRepository.findBalances(List.of(itemId))).thenReturn(List.of(new StockLevelDTO(itemId, 10L, 2L)));
+
+        engine.reserve(item, 4);
+
+        verify(inventoryRepository).findAllByItemIdInForUpdate(List.of(itemId));
+        InventoryMovement movement = captureMovement();
+        assertEquals(StockMovementType.RESERVE, movement.getMovementType());
+        assertEquals(-4, movement.getAvailableDelta());
+        assertEquals(4, movement.getReservedDelta());
+        assertEquals(0, item.getAvailableStock());
+    }
+
+    @Test
+    void reserve_WhenBalanceTooLow_ThrowsWithoutInserting() {
+        when(snapshotRepository.findBalances(List.of(itemId))).thenReturn(List.of(new StockLevelDTO(itemId, 3L, 0L)));
+
+        InsufficientStockException ex = assertThrows(InsufficientStockException.class, () -> engine.reserve(item, 4));
+
+        assertTrue(ex.getMessage().contains("Available: 3"));
+        verify(movementRepository, never()).save(any());
+    }
+
+    @Test
+    void reserve_WhenSnapshotGone_AsksForRetry() {
+        when(snapshotRepository.findBalances(List.of(itemId))).thenReturn(List.of());
+
+        assertThrows(InvalidOperationException.class, () -> engine.reserve(item, 1));
+        verify(movementRepository, never()).save(any());
+    }
+
+    @Test
+    void release_InsertsReleaseMovementUnderSharedLock() {
+        when(snapshotRepository.findBalances(List.of(itemId))).thenReturn(List.of(new StockLevelDTO(itemId, 0L, 5L)));
+
+        engine.release(item, 5);
+
+        verify(inventoryRepository).findAllByItemIdInForShare(List.of(itemId));
+        verify(inventoryRepository, never()).findAllByItemIdInForUpdate(anyList());
+        InventoryMovement movement = captureMovement();
+        assertEquals(StockMovementType.RELEASE, movement.getMovementType());
+        assertEquals(5, movement.getAvailableDelta());
+        assertEquals(-5, movement.getReservedDelta());
+    }
+
+    @Test
+    void fulfil_InsertsFulfilMovement() {
+        when(snapshotRepository.findBalances(List.of(itemId))).thenReturn(List.of(new StockLevelDTO(itemId, 7L, 5L)));
+
+        engine.fulfil(item, 2);
+
+        InventoryMovement movement = captureMovement();
+        assertEquals(StockMovementType.FULFIL, movement.getMovementType());
+        assertEquals(0, movement.getAvailableDelta());
+        assertEquals(-2, movement.getReservedDelta());
+    }
+
+    @Test
+    void fulfil_WithLessReservedThanRequested_ThrowsInconsistency() {
+        when(snapshotRepository.findBalances(List.of(itemId))).thenReturn(List.of(new StockLevelDTO(itemId, 7L, 1L)));
+
+        assertThrows(InvalidOperationException.class, () -> engine.fulfil(item, 2));
+        verify(movementRepository, never()).save(any());
+    }
+
+    private InventoryMovement captureMovement() {
+        ArgumentCaptor<InventoryMovement> captor = ArgumentCaptor.forClass(InventoryMovement.class);
+        verify(movementRepository).save(captor.capture());
+        assertEquals(itemId, captor.getValue().getItemId());
+        return captor.getValue();
+    }
+}
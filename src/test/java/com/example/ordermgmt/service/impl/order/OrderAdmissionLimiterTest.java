@@ -0,0 +1,120 @@
+package com.example.ordermgmt.service.impl.order;
+
+import com.example.ordermgmt.exception.LockContentionException;
+import com.example.ordermgmt.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderAdmissionLimiterTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OrderAdmissionLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        limiter = new OrderAdmissionLimiter(meterRegistry);
+        ReflectionTestUtils.setField(limiter, "enabled", true);
+        ReflectionTestUtils.setField(limiter, "initialLimit", 10);
+        ReflectionTestUtils.setField(limiter, "minLimit", 1);
+        ReflectionTestUtils.setField(limiter, "maxLimit", 100);
+        ReflectionTestUtils.setField(limiter, "tolerance", 2.0);
+        ReflectionTestUtils.setField(limiter, "smoothing", 0.2);
+        ReflectionTestUtils.setField(limiter, "longWindow", 100);
+        ReflectionTestUtils.setField(limiter, "backoffRatio", 0.5);
+        ReflectionTestUtils.setField(limiter, "retryAfterSeconds", 3L);
+        limiter.init();
+    }
+
+    @Test
+    void admit_WhenDisabled_RunsPlacementWithoutCounting() {
+        ReflectionTestUtils.setField(limiter, "enabled", false);
+
+        assertEquals("placed", limiter.admit(() -> "placed"));
+        assertEquals(0, limiter.inFlight());
+    }
+
+    @Test
+    void admit_AtTheLimit_ShedsWithRetryAfter() throws Exception {
+        ReflectionTestUtils.setField(limiter, "limit", 1.0);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> holder = CompletableFuture.supplyAsync(() -> limiter.admit(() -> {
+            started.countDown();
+            await(release);
+            return "first";
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        ServiceOverloadedException shed = assertThrows(ServiceOverloadedException.class,
+                () -> limiter.admit(() -> "second"));
+
+        assertEquals(3, shed.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.get("order.admission.shed").counter().count());
+        assertEquals(1.0, meterRegistry.get("order.admission.inflight").gauge().value());
+        release.countDown();
+        assertEquals("first", holder.get(5, TimeUnit.SECONDS));
+        assertEquals(0, limiter.inFlight());
+    }
+
+    @Test
+    void onSample_WithSteadyLatencyUnderLoad_RaisesTheLimit() {
+        for (int i = 0; i < 20; i++) {
+            limiter.onSample(10 * MILLIS, limiter.limit());
+        }
+
+        assertTrue(limiter.limit() > 10, "limit " + limiter.limit());
+    }
+
+    @Test
+    void onSample_WhenLatencyClimbs_LowersTheLimit() {
+        for (int i = 0; i < 20; i++) {
+            limiter.onSample(10 * MILLIS, limiter.limit());
+        }
+        int before = limiter.limit();
+
+        for (int i = 0; i < 20; i++) {
+            limiter.onSample(200 * MILLIS, limiter.limit());
+        }
+
+        assertTrue(limiter.limit() < before, before + " -> " + limiter.limit());
+        assertEquals(limiter.limit(), (int) meterRegistry.get("order.admission.limit").gauge().value());
+    }
+
+    @Test
+    void onSample_WhenMostlyIdle_DoesNotRaiseTheLimit() {
+        for (int i = 0; i < 20; i++) {
+            limiter.onSample(10 * MILLIS, 1);
+        }
+
+        assertEquals(10, limiter.limit());
+    }
+
+    @Test
+    void admit_LockGiveUp_CutsTheLimit() {
+        assertThrows(LockContentionException.class, () -> limiter.admit(() -> {
+            throw new LockContentionException("busy");
+        }));
+
+        assertEquals(5, limiter.limit());
+        assertEquals(1.0, meterRegistry.get("order.admission.drops").counter().count());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
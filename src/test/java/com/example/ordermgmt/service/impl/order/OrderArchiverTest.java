@@ -0,0 +1,233 @@
+package com.example.ordermgmt.service.impl.order;
+
+import com.example.ordermgmt.dto.OrderCursorDTO;
+import com.example.ordermgmt.entity.OrderStatusLookup;
+import com.example.ordermgmt.enums.OrderStatus;
+import com.example.ordermgmt.repository.OrdersRepository;
+import com.example.ordermgmt.repository.OrganizationRepository;
+import com.example.ordermgmt.security.TenantContextHolder;
+import com.example.ordermgmt.service.impl.lock.AdvisoryLockLeases;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderArchiverTest {
+
+    @Mock
+    private OrganizationRepository organizationRepository;
+
+    @Mock
+    private OrdersRepository ordersRepository;
+
+    @Mock
+    private OrderArchiveStatements archiveStatements;
+
+    @Mock
+    private OrderStatusRegistry statusRegistry;
+
+    @Mock
+    private AdvisoryLockLeases leases;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private DataSource dataSource;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OrderArchiver archiver;
+    private UUID orgId;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        archiver = new OrderArchiver(organizationRepository, ordersRepository, archiveStatements, statusRegistry,
+                leases, transactionManager, dataSource, meterRegistry);
+        ReflectionTestUtils.setField(archiver, "enabled", true);
+        ReflectionTestUtils.setField(archiver, "archiveSupported", true);
+        ReflectionTestUtils.setField(archiver, "ageDays", 90);
+        ReflectionTestUtils.setField(archiver, "chunkSize", 2);
+        ReflectionTestUtils.setField(archiver, "pauseMs", 0L);
+        ReflectionTestUtils.setField(archiver, "maxChunks", 100);
+        ReflectionTestUtils.setField(archiver, "schema", "ordermgmt");
+        archiver.registerMetrics();
+
+        orgId = UUID.randomUUID();
+        lenient().when(organizationRepository.findAllOrgIds()).thenReturn(List.of(orgId));
+        lenient().when(leases.runIfLeased(eq(OrderArchiver.LEASE), any(), any())).thenAnswer(inv -> {
+            ((Runnable) inv.getArgument(2)).run();
+            return true;
+        });
+        lenient().when(statusRegistry.find(OrderStatus.DELIVERED)).thenReturn(Optional.of(status(5, "DELIVERED")));
+        lenient().when(statusRegistry.find(OrderStatus.CANCELLED)).thenReturn(Optional.of(status(6, "CANCELLED")));
+    }
+
+    @Test
+    void archive_MovesEachTerminalStatusInChunksInTheTenant() {
+        stubPages(Map.of("DELIVERED", cursors(3), "CANCELLED", cursors(1)));
+        Map<UUID, UUID> tenantByOrder = new ConcurrentHashMap<>();
+        when(archiveStatements.archive(eq(orgId), anyList(), eq(List.of(5, 6)), any(), any())).thenAnswer(inv -> {
+            List<UUID> chunk = inv.getArgument(1);
+            chunk.forEach(id -> tenantByOrder.put(id, TenantContextHolder.getTenantId()));
+            return chunk;
+        });
+
+        int archived = archiver.archive();
+
+        assertEquals(4, archived);
+        // DELIVERED in chunks of 2 and 1, then CANCELLED in one
+        verify(archiveStatements, times(3)).archive(eq(orgId), anyList(), anyList(), any(), any());
+        verify(ordersRepository, times(2)).findStalePage(eq("DELIVERED"), any(), any(), any(), any());
+        verify(ordersRepository, times(1)).findStalePage(eq("CANCELLED"), any(), any(), any(), any());
+        assertTrue(tenantByOrder.values().stream().allMatch(orgId::equals), "archived in the tenant");
+        assertEquals(4.0, meterRegistry.get("order.archive.archived").counter().count());
+        assertNull(TenantContextHolder.getTenantId());
+    }
+
+    @Test
+    void archive_OrdersChangedSincePaged_AreNotCounted() {
+        List<OrderCursorDTO> delivered = cursors(2);
+        stubPages(Map.of("DELIVERED", delivered, "CANCELLED", List.of()));
+        // The claim re-checks status and age: only the first order still qualifies
+        when(archiveStatements.archive(eq(orgId), anyList(), anyList(), any(), any()))
+                .thenReturn(List.of(delivered.get(0).getOrderId()));
+
+        assertEquals(1, archiver.archive());
+
+        assertEquals(1.0, meterRegistry.get("order.archive.archived").counter().count());
+    }
+
+    @Test
+    void archive_StopsAfterMaxChunksAndLeavesTheRestForTheNextRun() {
+        ReflectionTestUtils.setField(archiver, "maxChunks", 1);
+        stubPages(Map.of("DELIVERED", cursors(3), "CANCELLED", cursors(1)));
+        when(archiveStatements.archive(eq(orgId), anyList(), anyList(), any(), any()))
+                .thenAnswer(inv -> inv.getArgument(1));
+
+        assertEquals(2, archiver.archive());
+
+        verify(archiveStatements, times(1)).archive(any(), anyList(), anyList(), any(), any());
+        verify(ordersRepository, never()).findStalePage(eq("CANCELLED"), any(), any(), any(), any());
+    }
+
+    @Test
+    void archive_CutoffIsTheArchiveAge() {
+        stubPages(Map.of("DELIVERED", List.of(), "CANCELLED", List.of()));
+
+        archiver.archive();
+
+        verify(ordersRepository).findStalePage(eq("DELIVERED"),
+                argThat(cutoff -> cutoff.isBefore(LocalDateTime.now().minusDays(89))), any(), any(), any());
+        verifyNoInteractions(archiveStatements);
+    }
+
+    @Test
+    void archive_TenantLeasedByAnotherNode_IsSkipped() {
+        doReturn(false).when(leases).runIfLeased(eq(OrderArchiver.LEASE), eq(orgId), any());
+
+        assertEquals(0, archiver.archive());
+
+        verifyNoInteractions(ordersRepository, archiveStatements);
+    }
+
+    @Test
+    void archive_WhenDisabled_DoesNothing() {
+        ReflectionTestUtils.setField(archiver, "enabled", false);
+
+        assertEquals(0, archiver.archive());
+
+        verifyNoInteractions(organizationRepository, ordersRepository, archiveStatements);
+    }
+
+    @Test
+    void init_WhenEnabledOnPostgres_TurnsArchivingOn() throws Exception {
+        ReflectionTestUtils.setField(archiver, "archiveSupported", false);
+        Connection connection = mock(Connection.class);
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(metaData.getDatabaseProductName()).thenReturn("PostgreSQL");
+
+        archiver.init();
+
+        assertEquals(true, ReflectionTestUtils.getField(archiver, "archiveSupported"));
+        verify(connection).close();
+    }
+
+    @Test
+    void refreshHotTableSizes_PublishesRowsAndBytesPerTable() {
+        when(archiveStatements.tableSize("ordermgmt", "orders"))
+                .thenReturn(new OrderArchiveStatements.TableSize(1_200L, 4_096_000L));
+        when(archiveStatements.tableSize("ordermgmt", "order_item"))
+                .thenReturn(new OrderArchiveStatements.TableSize(3_500L, 9_000_000L));
+
+        archiver.refreshHotTableSizes();
+
+        assertEquals(1_200.0, meterRegistry.get("order.hot.rows").tag("table", "orders").gauge().value());
+        assertEquals(9_000_000.0, meterRegistry.get("order.hot.bytes").tag("table", "order_item").gauge().value());
+    }
+
+    @Test
+    void refreshHotTableSizes_OffPostgreSql_LeavesGaugesAtZero() {
+        ReflectionTestUtils.setField(archiver, "archiveSupported", false);
+
+        archiver.refreshHotTableSizes();
+
+        verifyNoInteractions(archiveStatements);
+        assertEquals(0.0, meterRegistry.get("order.hot.rows").tag("table", "orders").gauge().value());
+    }
+
+    private static OrderStatusLookup status(int id, String name) {
+        OrderStatusLookup lookup = new OrderStatusLookup();
+        lookup.setStatusId(id);
+        lookup.setStatusName(name);
+        return lookup;
+    }
+
+    // Candidates in key order, one minute apart, well past the archive age
+    private List<OrderCursorDTO> cursors(int count) {
+        LocalDateTime start = LocalDateTime.now().minusDays(200);
+        List<OrderCursorDTO> cursors = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            cursors.add(new OrderCursorDTO(UUID.randomUUID(), start.plusMinutes(i)));
+        }
+        return cursors;
+    }
+
+    // Answers each page from the cursor it is asked to resume after, like the keyset query
+    private void stubPages(Map<String, List<OrderCursorDTO>> byStatus) {
+        when(ordersRepository.findStalePage(any(), any(), any(), any(), any())).thenAnswer(inv -> {
+            List<OrderCursorDTO> candidates = byStatus.get(inv.<String>getArgument(0));
+            LocalDateTime afterTimestamp = inv.getArgument(2);
+            Pageable pageable = inv.getArgument(4);
+            return candidates.stream()
+                    .filter(cursor -> cursor.getCreatedTimestamp().isAfter(afterTimestamp))
+                    .limit(pageable.getPageSize())
+                    .toList();
+        });
+    }
+}
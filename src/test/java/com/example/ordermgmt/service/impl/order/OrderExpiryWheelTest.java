@@ -0,0 +1,153 @@
+package com.example.ordermgmt.service.impl.order;
+
+import com.example.ordermgmt.dto.OrderCursorDTO;
+import com.example.ordermgmt.event.OrderPlacedEvent;
+import com.example.ordermgmt.repository.OrdersRepository;
+import com.example.ordermgmt.repository.OrganizationRepository;
+import com.example.ordermgmt.security.TenantContextHolder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderExpiryWheelTest {
+
+    @Mock
+    private OrganizationRepository organizationRepository;
+
+    @Mock
+    private OrdersRepository ordersRepository;
+
+    @Mock
+    private OrderTransitionHelper transitionHelper;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OrderExpiryWheel expiryWheel;
+    private UUID orgId;
+    private long now;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        expiryWheel = new OrderExpiryWheel(organizationRepository, ordersRepository, transitionHelper, meterRegistry);
+        ReflectionTestUtils.setField(expiryWheel, "staleMinutes", 60);
+        ReflectionTestUtils.setField(expiryWheel, "tickMs", 1000L);
+        ReflectionTestUtils.setField(expiryWheel, "workers", 2);
+        now = System.currentTimeMillis();
+        expiryWheel.registerMetrics();
+        orgId = UUID.randomUUID();
+    }
+
+    @Test
+    void onOrderPlaced_CancelsOrderWithinATickOfItsDeadline() {
+        UUID orderId = UUID.randomUUID();
+        // Deadline five seconds from now
+        expiryWheel.onOrderPlaced(new OrderPlacedEvent(orderId, orgId,
+                LocalDateTime.now().minusMinutes(60).plusSeconds(5)));
+        Map<UUID, UUID> tenantByOrder = new ConcurrentHashMap<>();
+        when(transitionHelper.cancelStalePendingOrder(orderId)).thenAnswer(inv -> {
+            tenantByOrder.put(orderId, TenantContextHolder.getTenantId());
+            return true;
+        });
+
+        assertEquals(0, expiryWheel.fireDue(now + 3_000));
+        verifyNoInteractions(transitionHelper);
+
+        assertEquals(1, expiryWheel.fireDue(now + 7_000));
+
+        assertEquals(orgId, tenantByOrder.get(orderId), "cancelled in the order's tenant");
+        assertEquals(0, expiryWheel.scheduledCount());
+        assertEquals(1.0, meterRegistry.get("order.expiry.cancelled").counter().count());
+        assertEquals(1L, meterRegistry.get("order.expiry.lag").timer().count());
+        assertNull(TenantContextHolder.getTenantId());
+    }
+
+    @Test
+    void onOrderPlaced_SameOrderTwice_IsHeldOnce() {
+        UUID orderId = UUID.randomUUID();
+        LocalDateTime createdTimestamp = LocalDateTime.now();
+
+        expiryWheel.onOrderPlaced(new OrderPlacedEvent(orderId, orgId, createdTimestamp));
+        expiryWheel.onOrderPlaced(new OrderPlacedEvent(orderId, orgId, createdTimestamp));
+
+        assertEquals(1, expiryWheel.scheduledCount());
+        assertEquals(1.0, meterRegistry.get("order.expiry.scheduled").gauge().value());
+    }
+
+    @Test
+    void fireDue_OrderNoLongerPending_IsNotCounted() {
+        UUID orderId = UUID.randomUUID();
+        expiryWheel.onOrderPlaced(new OrderPlacedEvent(orderId, orgId, LocalDateTime.now()));
+        when(transitionHelper.cancelStalePendingOrder(orderId)).thenReturn(false);
+
+        assertEquals(0, expiryWheel.fireDue(now + 61 * 60_000L));
+
+        verify(transitionHelper).cancelStalePendingOrder(orderId);
+        assertEquals(0.0, meterRegistry.get("order.expiry.cancelled").counter().count());
+        assertEquals(0, expiryWheel.scheduledCount());
+    }
+
+    @Test
+    void fireDue_WhenLocksTimeOut_LeavesOrderToTheSweep() {
+        UUID orderId = UUID.randomUUID();
+        expiryWheel.onOrderPlaced(new OrderPlacedEvent(orderId, orgId, LocalDateTime.now()));
+        when(transitionHelper.cancelStalePendingOrder(orderId))
+                .thenThrow(new PessimisticLockingFailureException("lock timeout"));
+
+        assertEquals(0, expiryWheel.fireDue(now + 61 * 60_000L));
+
+        assertEquals(1.0, meterRegistry.get("order.expiry.deferred").counter().count());
+        assertEquals(0, expiryWheel.scheduledCount());
+    }
+
+    @Test
+    void rebuild_SchedulesEachTenantsPendingOrdersThatAreNotYetStale() {
+        UUID otherOrgId = UUID.randomUUID();
+        when(organizationRepository.findAllOrgIds()).thenReturn(List.of(orgId, otherOrgId));
+        LocalDateTime recent = LocalDateTime.now().minusMinutes(10);
+        Map<UUID, List<OrderCursorDTO>> pendingByTenant = Map.of(
+                orgId, List.of(new OrderCursorDTO(UUID.randomUUID(), recent),
+                        new OrderCursorDTO(UUID.randomUUID(), recent.plusMinutes(1))),
+                otherOrgId, List.of(new OrderCursorDTO(UUID.randomUUID(), recent)));
+        when(ordersRepository.findStalePage(eq("PENDING"), any(), any(), any(), any(Pageable.class)))
+                .thenAnswer(inv -> pendingByTenant.get(TenantContextHolder.getTenantId()));
+        Map<UUID, UUID> tenantByOrder = new ConcurrentHashMap<>();
+        when(transitionHelper.cancelStalePendingOrder(any())).thenAnswer(inv -> {
+            tenantByOrder.put(inv.getArgument(0), TenantContextHolder.getTenantId());
+            return true;
+        });
+
+        assertEquals(3, expiryWheel.rebuild());
+
+        // The keyset starts at the stale cutoff; stale orders are the sweep's
+        ArgumentCaptor<LocalDateTime> afterTimestamp = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(ordersRepository, times(2)).findStalePage(eq("PENDING"), any(), afterTimestamp.capture(), any(),
+                any(Pageable.class));
+        assertTrue(afterTimestamp.getValue().isBefore(LocalDateTime.now().minusMinutes(59)));
+        assertEquals(3, expiryWheel.scheduledCount());
+        assertNull(TenantContextHolder.getTenantId());
+
+        assertEquals(0, expiryWheel.fireDue(now + 45 * 60_000L));
+        assertEquals(3, expiryWheel.fireDue(now + 52 * 60_000L));
+        pendingByTenant.forEach((tenant, cursors) -> cursors
+                .forEach(cursor -> assertEquals(tenant, tenantByOrder.get(cursor.getOrderId()))));
+    }
+}
@@ -0,0 +1,211 @@
+package com.example.ordermgmt.service.impl.order;
+
+import com.example.ordermgmt.dto.OrderDTO;
+import com.example.ordermgmt.dto.OrderItemDTO;
+import com.example.ordermgmt.exception.IdempotencyConflictException;
+import com.example.ordermgmt.exception.InsufficientStockException;
+import com.example.ordermgmt.exception.InvalidOperationException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderIdempotencyCacheTest {
+
+    private static final String EMAIL = "customer@example.com";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private final Map<String, String> store = new ConcurrentHashMap<>();
+    private SimpleMeterRegistry meterRegistry;
+    private OrderIdempotencyCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new OrderIdempotencyCache(redisTemplate, new ObjectMapper().findAndRegisterModules(), meterRegistry);
+        ReflectionTestUtils.setField(cache, "ttlHours", 24L);
+        ReflectionTestUtils.setField(cache, "claimTtlMs", 30000L);
+        ReflectionTestUtils.setField(cache, "waitTimeoutMs", 2000L);
+        ReflectionTestUtils.setField(cache, "pollMs", 5L);
+
+        // Redis stand-in: SET NX, GET and the settle script over a map
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        lenient().when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+                .thenAnswer(inv -> store.putIfAbsent(inv.getArgument(0), inv.getArgument(1)) == null);
+        lenient().when(valueOperations.get(anyString())).thenAnswer(inv -> store.get(inv.<String>getArgument(0)));
+        lenient().when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenAnswer(inv -> {
+                    String key = inv.<List<String>>getArgument(1).get(0);
+                    Object[] args = (Object[]) inv.getRawArguments()[2];
+                    if (!args[0].equals(store.get(key))) {
+                        return 0L;
+                    }
+                    if ("".equals(args[1])) {
+                        store.remove(key);
+                    } else {
+                        store.put(key, (String) args[1]);
+                    }
+                    return 1L;
+                });
+    }
+
+    @Test
+    void execute_FirstRequest_PlacesOrderAndStoresIt() {
+        OrderDTO request = request();
+        OrderDTO placed = placed();
+
+        OrderIdempotencyCache.Result result = cache.execute("key-1", EMAIL, request, () -> placed);
+
+        assertSame(placed, result.order());
+        assertFalse(result.replayed());
+        assertEquals(1, store.size());
+        assertTrue(store.values().iterator().next().startsWith("D:"));
+        assertEquals(1.0, meterRegistry.get("order.idempotency.requests").tag("outcome", "miss").counter().count());
+    }
+
+    @Test
+    void execute_RepeatedKey_ReplaysStoredOrderWithoutPlacing() {
+        OrderDTO request = request();
+        OrderDTO placed = placed();
+        cache.execute("key-1", EMAIL, request, () -> placed);
+        AtomicInteger placements = new AtomicInteger();
+
+        OrderIdempotencyCache.Result result = cache.execute("key-1", EMAIL, request, () -> {
+            placements.incrementAndGet();
+            return placed();
+        });
+
+        assertTrue(result.replayed());
+        assertEquals(placed.getOrderId(), result.order().getOrderId());
+        assertEquals(placed.getCreatedTimestamp(), result.order().getCreatedTimestamp());
+        assertEquals(0, placements.get());
+        assertEquals(1.0, meterRegistry.get("order.idempotency.requests").tag("outcome", "replay").counter().count());
+    }
+
+    @Test
+    void execute_SameKeyForDifferentOrder_IsRejected() {
+        cache.execute("key-1", EMAIL, request(), this::placed);
+
+        assertThrows(InvalidOperationException.class,
+                () -> cache.execute("key-1", EMAIL, request(), this::placed));
+    }
+
+    @Test
+    void execute_ConcurrentDuplicate_WaitsForTheFirstRequest() throws Exception {
+        OrderDTO request = request();
+        OrderDTO placed = placed();
+        CountDownLatch placing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<OrderIdempotencyCache.Result> first = CompletableFuture.supplyAsync(
+                () -> cache.execute("key-1", EMAIL, request, () -> {
+                    placing.countDown();
+                    await(release);
+                    return placed;
+                }));
+        assertTrue(placing.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<OrderIdempotencyCache.Result> duplicate = CompletableFuture.supplyAsync(
+                () -> cache.execute("key-1", EMAIL, request, () -> fail("duplicate must not place an order")));
+        Thread.sleep(50);
+        assertFalse(duplicate.isDone());
+        release.countDown();
+
+        assertFalse(first.get(5, TimeUnit.SECONDS).replayed());
+        OrderIdempotencyCache.Result replayed = duplicate.get(5, TimeUnit.SECONDS);
+        assertTrue(replayed.replayed());
+        assertEquals(placed.getOrderId(), replayed.order().getOrderId());
+        assertEquals(1.0,
+                meterRegistry.get("order.idempotency.requests").tag("outcome", "waited-replay").counter().count());
+    }
+
+    @Test
+    void execute_WhenFirstRequestNeverSettles_TimesOutWithConflict() {
+        ReflectionTestUtils.setField(cache, "waitTimeoutMs", 20L);
+        store.put(OrderIdempotencyCache.KEY_PREFIX + "null:" + EMAIL + ":key-1", "P:someone-else");
+
+        assertThrows(IdempotencyConflictException.class,
+                () -> cache.execute("key-1", EMAIL, request(), this::placed));
+    }
+
+    @Test
+    void execute_FailedPlacement_ReleasesKeyForRetry() {
+        OrderDTO request = request();
+        assertThrows(InsufficientStockException.class, () -> cache.execute("key-1", EMAIL, request, () -> {
+            throw new InsufficientStockException("Insufficient stock");
+        }));
+        assertTrue(store.isEmpty());
+
+        OrderIdempotencyCache.Result retry = cache.execute("key-1", EMAIL, request, this::placed);
+
+        assertFalse(retry.replayed());
+    }
+
+    @Test
+    void execute_WhenRedisIsDown_PlacesOrderWithoutReplayProtection() {
+        doThrow(new RedisConnectionFailureException("down"))
+                .when(valueOperations).setIfAbsent(anyString(), anyString(), any(Duration.class));
+        OrderDTO placed = placed();
+
+        OrderIdempotencyCache.Result result = cache.execute("key-1", EMAIL, request(), () -> placed);
+
+        assertSame(placed, result.order());
+        assertEquals(1.0, meterRegistry.get("order.idempotency.requests").tag("outcome", "bypass").counter().count());
+    }
+
+    @Test
+    void execute_WithOverlongKey_IsRejected() {
+        assertThrows(InvalidOperationException.class,
+                () -> cache.execute("k".repeat(256), EMAIL, request(), this::placed));
+    }
+
+    private OrderDTO request() {
+        OrderDTO request = new OrderDTO();
+        request.setItems(List.of(new OrderItemDTO(UUID.randomUUID(), null, 1, null, null)));
+        return request;
+    }
+
+    private OrderDTO placed() {
+        OrderDTO placed = new OrderDTO();
+        placed.setOrderId(UUID.randomUUID());
+        placed.setStatus("PENDING");
+        placed.setCreatedTimestamp(LocalDateTime.now().withNano(0));
+        return placed;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.ordermgmt.service.impl.order;
+
+import com.example.ordermgmt.dto.OrderDTO;
+import com.example.ordermgmt.dto.OrderItemDTO;
+import com.example.ordermgmt.entity.Customer;
+import com.example.ordermgmt.exception.InsufficientStockException;
+import com.example.ordermgmt.exception.InvalidOperationException;
+import com.example.ordermgmt.exception.ServiceOverloadedException;
+import com.example.ordermgmt.security.TenantContextHolder;
+import com.example.ordermgmt.service.OrderService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderIntakeBatcherTest {
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private OrderValidatorImpl orderValidator;
+
+    @Mock
+    private OrderInventoryManagerImpl orderInventoryManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OrderIntakeBatcher intake;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        intake = new OrderIntakeBatcher(orderService, orderValidator, orderInventoryManager, transactionManager,
+                meterRegistry);
+        ReflectionTestUtils.setField(intake, "enabled", true);
+        ReflectionTestUtils.setField(intake, "windowMs", 200L);
+        ReflectionTestUtils.setField(intake, "maxBatch", 2);
+        ReflectionTestUtils.setField(intake, "queueCapacity", 16);
+        ReflectionTestUtils.setField(intake, "workers", 1);
+        ReflectionTestUtils.setField(intake, "transactionTimeoutSeconds", 10);
+        intake.start();
+
+        lenient().when(orderValidator.validateAndGetCustomer(anyString())).thenReturn(new Customer());
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        intake.stop();
+        TenantContextHolder.clear();
+    }
+
+    @Test
+    void createOrder_ConcurrentCallers_ShareOneCommit() throws Exception {
+        OrderDTO first = order();
+        OrderDTO second = order();
+        OrderDTO firstPlaced = placed();
+        OrderDTO secondPlaced = placed();
+        when(orderInventoryManager.checkBatchFits(anyList())).thenReturn(List.of(true, true));
+        when(orderService.createOrder(any(OrderDTO.class), anyString()))
+                .thenAnswer(inv -> inv.getArgument(0) == first ? firstPlaced : secondPlaced);
+
+        CompletableFuture<OrderDTO> firstResult = CompletableFuture.supplyAsync(
+                () -> intake.createOrder(first, "first@example.com"));
+        CompletableFuture<OrderDTO> secondResult = CompletableFuture.supplyAsync(
+                () -> intake.createOrder(second, "second@example.com"));
+
+        assertSame(firstPlaced, firstResult.get(5, TimeUnit.SECONDS));
+        assertSame(secondPlaced, secondResult.get(5, TimeUnit.SECONDS));
+        verify(transactionManager, times(1)).getTransaction(any());
+        verify(transactionManager, times(1)).commit(any());
+        assertEquals(2.0, meterRegistry.get("order.intake.batch.size").summary().totalAmount());
+        assertEquals(2, meterRegistry.get("order.intake.order.lines").summary().count());
+        assertEquals(1, meterRegistry.get("order.intake.batch.window").timer().count());
+    }
+
+    @Test
+    void placeBatch_OrderFailingPreCheck_IsPlacedAloneWithoutFailingTheBatch() {
+        UUID tenantId = UUID.randomUUID();
+        OrderDTO fitting = order();
+        OrderDTO tooLarge = order();
+        OrderDTO placedOrder = placed();
+        OrderIntakeBatcher.PendingOrder fittingPending = pending(fitting, tenantId);
+        OrderIntakeBatcher.PendingOrder tooLargePending = pending(tooLarge, tenantId);
+        when(orderInventoryManager.checkBatchFits(anyList())).thenReturn(List.of(true, false));
+        when(orderService.createOrder(fitting, "customer@example.com")).thenReturn(placedOrder);
+        when(orderService.createOrder(tooLarge, "customer@example.com"))
+                .thenThrow(new InsufficientStockException("Insufficient stock"));
+
+        intake.placeBatch(tenantId, List.of(fittingPending, tooLargePending));
+
+        assertSame(placedOrder, fittingPending.result().join());
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> tooLargePending.result().get());
+        assertInstanceOf(InsufficientStockException.class, failure.getCause());
+        verify(orderService, times(1)).createOrder(fitting, "customer@example.com");
+        verify(transactionManager, times(1)).commit(any());
+        verify(transactionManager, never()).rollback(any());
+        assertNull(TenantContextHolder.getTenantId());
+    }
+
+    @Test
+    void placeBatch_WhenBatchFails_PlacesEveryOrderAlone() {
+        UUID tenantId = UUID.randomUUID();
+        OrderDTO fitting = order();
+        OrderDTO failing = order();
+        OrderDTO placedOrder = placed();
+        OrderIntakeBatcher.PendingOrder fittingPending = pending(fitting, tenantId);
+        OrderIntakeBatcher.PendingOrder failingPending = pending(failing, tenantId);
+        // Engine-routed items pass the pre-check but may still run out
+        when(orderInventoryManager.checkBatchFits(anyList())).thenReturn(List.of(true, true));
+        when(orderService.createOrder(fitting, "customer@example.com")).thenReturn(placedOrder);
+        when(orderService.createOrder(failing, "customer@example.com"))
+                .thenThrow(new InsufficientStockException("Insufficient stock"));
+
+        intake.placeBatch(tenantId, List.of(fittingPending, failingPending));
+
+        assertSame(placedOrder, fittingPending.result().join());
+        assertTrue(failingPending.result().isCompletedExceptionally());
+        verify(transactionManager).rollback(any());
+        verify(orderService, times(2)).createOrder(fitting, "customer@example.com");
+    }
+
+    @Test
+    void placeBatch_WithIncompleteProfile_TakesOrderOutOfTheBatch() {
+        UUID tenantId = UUID.randomUUID();
+        OrderDTO request = order();
+        OrderIntakeBatcher.PendingOrder pending = pending(request, tenantId);
+        doThrow(new InvalidOperationException("Customer profile incomplete"))
+                .when(orderValidator).validateCustomerProfile(any());
+        when(orderService.createOrder(request, "customer@example.com"))
+                .thenThrow(new InvalidOperationException("Customer profile incomplete"));
+
+        intake.placeBatch(tenantId, List.of(pending));
+
+        assertTrue(pending.result().isCompletedExceptionally());
+        verify(orderInventoryManager, never()).checkBatchFits(anyList());
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void createOrder_WhenNoBatchPicksItUp_Returns503AndWithdrawsTheOrder() throws Exception {
+        Thread collector = (Thread) ReflectionTestUtils.getField(intake, "collector");
+        collector.interrupt();
+        collector.join(TimeUnit.SECONDS.toMillis(5));
+        ReflectionTestUtils.setField(intake, "windowMs", 20L);
+        ReflectionTestUtils.setField(intake, "transactionTimeoutSeconds", 0);
+
+        assertThrows(ServiceOverloadedException.class, () -> intake.createOrder(order(), "customer@example.com"));
+
+        // A batch reaching the withdrawn order later must not place it
+        @SuppressWarnings("unchecked")
+        BlockingQueue<OrderIntakeBatcher.PendingOrder> queue =
+                (BlockingQueue<OrderIntakeBatcher.PendingOrder>) ReflectionTestUtils.getField(intake, "queue");
+        OrderIntakeBatcher.PendingOrder withdrawn = queue.poll();
+        intake.placeBatch(withdrawn.tenantId(), List.of(withdrawn));
+        verifyNoInteractions(orderService, transactionManager);
+    }
+
+    private OrderIntakeBatcher.PendingOrder pending(OrderDTO request, UUID tenantId) {
+        return new OrderIntakeBatcher.PendingOrder(request, "customer@example.com", tenantId, null,
+                System.nanoTime(), new CompletableFuture<>(), new AtomicBoolean());
+    }
+
+    private OrderDTO order() {
+        OrderDTO request = new OrderDTO();
+        request.setItems(List.of(new OrderItemDTO(UUID.randomUUID(), null, 1, null, null)));
+        return request;
+    }
+
+    private OrderDTO placed() {
+        OrderDTO placed = new OrderDTO();
+        placed.setOrderId(UUID.randomUUID());
+        placed.setStatus("PENDING");
+        return placed;
+    }
+}
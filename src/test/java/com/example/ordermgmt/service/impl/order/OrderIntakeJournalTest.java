@@ -0,0 +1,118 @@
+package com.example.ordermgmt.service.impl.order;
+
+import com.example.ordermgmt.exception.InvalidOperationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderIntakeJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private OrderIntakeJournal journal;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    @Test
+    void open_AfterRestart_ReplaysUnsettledOrdersInAppendOrder() throws InterruptedException {
+        journal = new OrderIntakeJournal(directory, 4096);
+        assertTrue(journal.open().isEmpty());
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        journal.append(first, bytes("first"));
+        journal.append(second, bytes("second"));
+        journal.append(third, bytes("third"));
+        journal.markDone(second);
+        journal.close();
+
+        journal = new OrderIntakeJournal(directory, 4096);
+        List<OrderIntakeJournal.Entry> replayed = journal.open();
+
+        assertEquals(List.of(first, third), replayed.stream().map(OrderIntakeJournal.Entry::token).toList());
+        assertEquals("third", new String(replayed.get(1).payload(), StandardCharsets.UTF_8));
+        assertEquals(2, journal.unsettled());
+    }
+
+    @Test
+    void open_TornLastRecord_ReplaysUpToTheLastIntactRecord() throws Exception {
+        journal = new OrderIntakeJournal(directory, 4096);
+        journal.open();
+        UUID intact = UUID.randomUUID();
+        journal.append(intact, bytes("intact"));
+        journal.append(UUID.randomUUID(), bytes("torn"));
+        journal.close();
+
+        // Flip a payload byte of the second record, as a crash in the middle of writing it would leave it
+        int secondRecord = 25 + "intact".length();
+        try (FileChannel channel = FileChannel.open(segments().get(0), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] { 'X' }), secondRecord + 25);
+        }
+
+        journal = new OrderIntakeJournal(directory, 4096);
+        List<OrderIntakeJournal.Entry> replayed = journal.open();
+
+        assertEquals(List.of(intact), replayed.stream().map(OrderIntakeJournal.Entry::token).toList());
+    }
+
+    @Test
+    void markDone_SettledSegmentsAreDeletedOldestFirst() throws IOException {
+        journal = new OrderIntakeJournal(directory, 128);
+        journal.open();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        // 25 + 64 bytes per record: each order rolls to a new segment
+        journal.append(first, new byte[64]);
+        journal.append(second, new byte[64]);
+        journal.append(third, new byte[64]);
+        assertEquals(3, segments().size());
+
+        journal.markDone(second);
+        assertEquals(3, segments().size());
+
+        journal.markDone(first);
+        journal.markDone(third);
+        assertEquals(1, segments().size());
+        assertEquals(1, journal.segments());
+        assertEquals(0, journal.unsettled());
+    }
+
+    @Test
+    void append_OrderLargerThanASegment_IsRejected() {
+        journal = new OrderIntakeJournal(directory, 128);
+        journal.open();
+
+        assertThrows(InvalidOperationException.class, () -> journal.append(UUID.randomUUID(), new byte[128]));
+        assertEquals(0, journal.unsettled());
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
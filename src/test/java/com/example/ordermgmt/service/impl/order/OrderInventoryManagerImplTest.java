@@ -1,12 +1,13 @@
 package com.example.ordermgmt.service.impl.order;
 
 import com.example.ordermgmt.dto.OrderItemDTO;
+import com.example.ordermgmt.entity.Customer;
 import com.example.ordermgmt.entity.InventoryItem;
 import com.example.ordermgmt.entity.OrderItem;
+import com.example.ordermgmt.entity.OrderStatusLookup;
 import com.example.ordermgmt.entity.Orders;
 import com.example.ordermgmt.entity.PricingCatalog;
 import com.example.ordermgmt.entity.PricingHistory;
-import com.example.ordermgmt.enums.OrderStatus;
 import com.example.ordermgmt.exception.InsufficientStockException;
 import com.example.ordermgmt.exception.InvalidOperationException;
 import com.example.ordermgmt.repository.InventoryItemRepository;
@@ -18,16 +19,20 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -42,6 +47,27 @@ class OrderInventoryManagerImplTest {
     @Mock
     private PricingHistoryRepository pricingHistoryRepository;
 
+    @Mock
+    private StockReservationEngine reservationEngine;
+
+    @Mock
+    private FlashSaleReservationEngine flashSaleEngine;
+
+    @Mock
+    private StripedStockReservationEngine stripedEngine;
+
+    @Mock
+    private LedgerStockReservationEngine ledgerEngine;
+
+    @Mock
+    private PriceSnapshotCache priceSnapshotCache;
+
+    @Mock
+    private OrderPlacementFunction placementFunction;
+
+    @Mock
+    private OrderTransitionStatements transitionStatements;
+
     @InjectMocks
     private OrderInventoryManagerImpl orderInventoryManager;
 
@@ -71,6 +97,7 @@ class OrderInventoryManagerImplTest {
         pricingHistory = new PricingHistory();
         pricingHistory.setNewPrice(BigDecimal.valueOf(89.99));
         pricingHistory.setCreatedTimestamp(LocalDateTime.now());
+        pricingHistory.setEffectiveFrom(LocalDateTime.now().minusDays(1));
 
         inventoryItem1 = new InventoryItem();
         inventoryItem1.setItemId(itemId1);
@@ -88,6 +115,8 @@ class OrderInventoryManagerImplTest {
 
         orderItemDTO1 = new OrderItemDTO(itemId1, "Item 1", 5, BigDecimal.valueOf(99.99), BigDecimal.valueOf(499.95));
         orderItemDTO2 = new OrderItemDTO(itemId2, "Item 2", 10, BigDecimal.valueOf(99.99), BigDecimal.valueOf(999.90));
+
+        lenient().when(priceSnapshotCache.open()).thenReturn(PriceSnapshotCache.Prices.DIRECT);
     }
 
     @Test
@@ -96,10 +125,10 @@ class OrderInventoryManagerImplTest {
         
         when(inventoryRepository.findAllByItemIdInForUpdate(anyList()))
                 .thenReturn(List.of(inventoryItem1, inventoryItem2));
-        when(pricingHistoryRepository.findFirstByInventoryItemItemIdOrderByCreatedTimestampDesc(itemId1))
-                .thenReturn(Optional.of(pricingHistory));
-        when(pricingHistoryRepository.findFirstByInventoryItemItemIdOrderByCreatedTimestampDesc(itemId2))
-                .thenReturn(Optional.empty());
+        when(pricingHistoryRepository.findAllByInventoryItemItemIdOrderByEffectiveFromAscCreatedTimestampAsc(itemId1))
+                .thenReturn(List.of(pricingHistory));
+        when(pricingHistoryRepository.findAllByInventoryItemItemIdOrderByEffectiveFromAscCreatedTimestampAsc(itemId2))
+                .thenReturn(List.of());
 
         List<OrderItemDTO> result = orderInventoryManager.processAndSaveOrderItems(items, order);
 
@@ -116,6 +145,208 @@ class OrderInventoryManagerImplTest {
         verify(orderItemRepository, times(2)).save(any(OrderItem.class));
     }
 
+    @Test
+    void processAndSaveOrderItems_WithSnapshotHit_SkipsPricingHistory() {
+        when(priceSnapshotCache.open()).thenReturn((itemId, loader) -> PriceTimeline.constant(BigDecimal.valueOf(42)));
+        when(inventoryRepository.findAllByItemIdInForUpdate(anyList())).thenReturn(List.of(inventoryItem1));
+
+        List<OrderItemDTO> result = orderInventoryManager.processAndSaveOrderItems(List.of(orderItemDTO1), order);
+
+        assertEquals(BigDecimal.valueOf(42), result.get(0).getUnitPrice());
+        verify(priceSnapshotCache, times(1)).open();
+        verifyNoInteractions(pricingHistoryRepository);
+    }
+
+    @Test
+    void processAndSaveOrderItems_InBatchedMode_StagesLinesAndFlushesOnce() {
+        ReflectionTestUtils.setField(orderInventoryManager, "batchedPlacement", true);
+        List<OrderItemDTO> items = List.of(orderItemDTO2, orderItemDTO1);
+
+        when(inventoryRepository.findAllByItemIdInForUpdate(anyList()))
+                .thenReturn(List.of(inventoryItem1, inventoryItem2));
+        when(pricingHistoryRepository.findAllByInventoryItemItemIdOrderByEffectiveFromAscCreatedTimestampAsc(any(UUID.class)))
+                .thenReturn(List.of(pricingHistory));
+
+        List<OrderItemDTO> result = orderInventoryManager.processAndSaveOrderItems(items, order);
+
+        assertEquals(2, result.size());
+        assertEquals(95, inventoryItem1.getAvailableStock());
+        assertEquals(25, inventoryItem1.getReservedStock());
+        assertEquals(190, inventoryItem2.getAvailableStock());
+        assertEquals(40, inventoryItem2.getReservedStock());
+
+        verify(orderItemRepository).saveAll(argThat(staged -> ((List<?>) staged).size() == 2));
+        verify(orderItemRepository).flush();
+        verify(orderItemRepository, never()).save(any(OrderItem.class));
+        verify(inventoryRepository, never()).saveAndFlush(any(InventoryItem.class));
+    }
+
+    @Test
+    void processAndSaveOrderItems_InBatchedMode_WithInsufficientStock_WritesNothing() {
+        ReflectionTestUtils.setField(orderInventoryManager, "batchedPlacement", true);
+        inventoryItem1.setAvailableStock(2);
+
+        when(inventoryRepository.findAllByItemIdInForUpdate(anyList()))
+                .thenReturn(List.of(inventoryItem1));
+
+        assertThrows(InsufficientStockException.class, () ->
+                orderInventoryManager.processAndSaveOrderItems(List.of(orderItemDTO1), order));
+
+        verify(orderItemRepository, never()).saveAll(anyList());
+        verify(orderItemRepository, never()).flush();
+    }
+
+    @Test
+    void processAndSaveOrderItems_WithReservationEngine_SkipsRowLocksAndDelegatesInItemOrder() {
+        ReflectionTestUtils.setField(orderInventoryManager, "reservationEngine", reservationEngine);
+        List<OrderItemDTO> items = List.of(orderItemDTO2, orderItemDTO1);
+
+        when(inventoryRepository.findAllById(anyList())).thenReturn(List.of(inventoryItem1, inventoryItem2));
+        when(pricingHistoryRepository.findAllByInventoryItemItemIdOrderByEffectiveFromAscCreatedTimestampAsc(any(UUID.class)))
+                .thenReturn(List.of(pricingHistory));
+
+        List<OrderItemDTO> result = orderInventoryManager.processAndSaveOrderItems(items, order);
+
+        assertEquals(2, result.size());
+        InventoryItem first = itemId1.compareTo(itemId2) < 0 ? inventoryItem1 : inventoryItem2;
+        InventoryItem second = first == inventoryItem1 ? inventoryItem2 : inventoryItem1;
+        var inOrder = inOrder(reservationEngine);
+        inOrder.verify(reservationEngine).reserve(eq(first), anyInt());
+        inOrder.verify(reservationEngine).reserve(eq(second), anyInt());
+
+        // The engine owns the stock columns; the loaded entities are left untouched
+        assertEquals(100, inventoryItem1.getAvailableStock());
+        assertEquals(200, inventoryItem2.getAvailableStock());
+        verify(inventoryRepository, never()).findAllByItemIdInForUpdate(anyList());
+        verify(inventoryRepository, never()).saveAndFlush(any(InventoryItem.class));
+    }
+
+    @Test
+    void processAndSaveOrderItems_WithReservationEngine_WhenEngineRejects_DoesNotSaveLine() {
+        ReflectionTestUtils.setField(orderInventoryManager, "reservationEngine", reservationEngine);
+
+        when(inventoryRepository.findAllById(anyList())).thenReturn(List.of(inventoryItem1));
+        when(pricingHistoryRepository.findAllByInventoryItemItemIdOrderByEffectiveFromAscCreatedTimestampAsc(itemId1))
+                .thenReturn(List.of(pricingHistory));
+        doThrow(new InsufficientStockException("Insufficient stock for item: Item 1"))
+                .when(reservationEngine).reserve(inventoryItem1, 5);
+
+        assertThrows(InsufficientStockException.class, () ->
+                orderInventoryManager.processAndSaveOrderItems(List.of(orderItemDTO1), order));
+
+        verify(orderItemRepository, never()).save(any(OrderItem.class));
+    }
+
+    @Test
+    void processAndSaveOrderItems_WithOrderLevelEngine_ReservesWholeOrderOnceBeforeSavingLines() {
+        OrderLevelReservationEngine orderLevelEngine = mock(OrderLevelReservationEngine.class);
+        ReflectionTestUtils.setField(orderInventoryManager, "reservationEngine", orderLevelEngine);
+
+        when(inventoryRepository.findAllById(anyList())).thenReturn(List.of(inventoryItem1, inventoryItem2));
+        when(pricingHistoryRepository.findAllByInventoryItemItemIdOrderByEffectiveFromAscCreatedTimestampAsc(any(UUID.class)))
+                .thenReturn(List.of(pricingHistory));
+
+        List<OrderItemDTO> result = orderInventoryManager.processAndSaveOrderItems(
+                List.of(orderItemDTO2, orderItemDTO1), order);
+
+        assertEquals(2, result.size());
+        UUID first = itemId1.compareTo(itemId2) < 0 ? itemId1 : itemId2;
+        var inOrder = inOrder(orderLevelEngine, orderItemRepository);
+        inOrder.verify(orderLevelEngine).reserveAll(argThat(quantities ->
+                quantities.equals(Map.of(itemId1, 5, itemId2, 10))
+                        && quantities.keySet().iterator().next().equals(first)));
+        inOrder.verify(orderItemRepository, times(2)).save(any(OrderItem.class));
+        verify(orderLevelEngine, never()).reserve(any(), anyInt());
+        verify(inventoryRepository, never()).findAllByItemIdInForUpdate(anyList());
+    }
+
+    @Test
+    void processAndSaveOrderItems_WithOrderLevelEngine_WhenRejected_SavesNoLine() {
+        OrderLevelReservationEngine orderLevelEngine = mock(OrderLevelReservationEngine.class);
+        ReflectionTestUtils.setField(orderInventoryManager, "reservationEngine", orderLevelEngine);
+
+        when(inventoryRepository.findAllById(anyList())).thenReturn(List.of(inventoryItem1));
+        when(pricingHistoryRepository.findAllByInventoryItemItemIdOrderByEffectiveFromAscCreatedTimestampAsc(itemId1))
+                .thenReturn(List.of(pricingHistory));
+        doThrow(new InsufficientStockException("Insufficient stock for item: Item 1"))
+                .when(orderLevelEngine).reserveAll(anyMap());
+
+        assertThrows(InsufficientStockException.class, () ->
+                orderInventoryManager.processAndSaveOrderItems(List.of(orderItemDTO1), order));
+
+        verify(orderItemRepository, never()).save(any(OrderItem.class));
+    }
+
+    @Test
+    void processAndSaveOrderItems_WithFlashSaleItem_RoutesItToFlashEngineAndLocksOnlyRegularItems() {
+        ReflectionTestUtils.setField(orderInventoryManager, "flashSaleEnabled", true);
+        inventoryItem1.setFlashSale(true);
+
+        when(inventoryRepository.findFlashSaleItemIds(anyList())).thenReturn(List.of(itemId1));
+        when(inventoryRepository.findAllById(List.of(itemId1))).thenReturn(List.of(inventoryItem1));
+        when(inventoryRepository.findAllByItemIdInForUpdate(List.of(itemId2))).thenReturn(List.of(inventoryItem2));
+        when(pricingHistoryRepository.findAllByInventoryItemItemIdOrderByEffectiveFromAscCreatedTimestampAsc(any(UUID.class)))
+                .thenReturn(List.of(pricingHistory));
+
+        List<OrderItemDTO> result = orderInventoryManager.processAndSaveOrderItems(
+                List.of(orderItemDTO1, orderItemDTO2), order);
+
+        assertEquals(2, result.size());
+        verify(flashSaleEngine).reserve(inventoryItem1, 5);
+        verify(flashSaleEngine, never()).reserve(eq(inventoryItem2), anyInt());
+        assertEquals(100, inventoryItem1.getAvailableStock());
+        assertEquals(190, inventoryItem2.getAvailableStock());
+    }
+
+    @Test
+    void processAndSaveOrderItems_WithFlashSaleDisabled_IgnoresFlag() {
+        inventoryItem1.setFlashSale(true);
+
+        when(inventoryRepository.findAllByItemIdInForUpdate(anyList())).thenReturn(List.of(inventoryItem1));
+        when(pricingHistoryRepository.findAllByInventoryItemItemIdOrderByEffectiveFromAscCreatedTimestampAsc(itemId1))
+                .thenReturn(List.of(pricingHistory));
+
+        orderInventoryManager.processAndSaveOrderItems(List.of(orderItemDTO1), order);
+
+        verify(inventoryRepository, never()).findFlashSaleItemIds(anyList());
+        verifyNoInteractions(flashSaleEngine);
+        assertEquals(95, inventoryItem1.getAvailableStock());
+    }
+
+    @Test
+    void processAndSaveOrderItems_WithStripedItem_RoutesItToBucketEngineWithoutRowLock() {
+        ReflectionTestUtils.setField(orderInventoryManager, "stripingEnabled", true);
+        inventoryItem1.setStripeCount(8);
+
+        when(inventoryRepository.findStripedItemIds(anyList())).thenReturn(List.of(itemId1));
+        when(inventoryRepository.findAllById(List.of(itemId1))).thenReturn(List.of(inventoryItem1));
+        when(pricingHistoryRepository.findAllByInventoryItemItemIdOrderByEffectiveFromAscCreatedTimestampAsc(itemId1))
+                .thenReturn(List.of(pricingHistory));
+
+        orderInventoryManager.processAndSaveOrderItems(List.of(orderItemDTO1), order);
+
+        verify(stripedEngine).reserve(inventoryItem1, 5);
+        verify(inventoryRepository, never()).findAllByItemIdInForUpdate(anyList());
+        verify(inventoryRepository, never()).findFlashSaleItemIds(anyList());
+    }
+
+    @Test
+    void processAndSaveOrderItems_WithLedgerItem_RoutesItToLedgerEngineWithoutRowLock() {
+        ReflectionTestUtils.setField(orderInventoryManager, "ledgerEnabled", true);
+        inventoryItem1.setStockLedger(true);
+
+        when(inventoryRepository.findLedgerItemIds(anyList())).thenReturn(List.of(itemId1));
+        when(inventoryRepository.findAllById(List.of(itemId1))).thenReturn(List.of(inventoryItem1));
+        when(pricingHistoryRepository.findAllByInventoryItemItemIdOrderByEffectiveFromAscCreatedTimestampAsc(itemId1))
+                .thenReturn(List.of(pricingHistory));
+
+        orderInventoryManager.processAndSaveOrderItems(List.of(orderItemDTO1), order);
+
+        verify(ledgerEngine).reserve(inventoryItem1, 5);
+        verify(inventoryRepository, never()).findAllByItemIdInForUpdate(anyList());
+        verify(inventoryRepository, never()).findStripedItemIds(anyList());
+    }
+
     @Test
     void processAndSaveOrderItems_WithNonExistingItem_ThrowsException() {
         when(inventoryRepository.findAllByItemIdInForUpdate(anyList()))
@@ -148,8 +379,8 @@ class OrderInventoryManagerImplTest {
         
         when(inventoryRepository.findAllByItemIdInForUpdate(anyList()))
                 .thenReturn(List.of(inventoryItem1));
-        when(pricingHistoryRepository.findFirstByInventoryItemItemIdOrderByCreatedTimestampDesc(itemId1))
-                .thenReturn(Optional.empty());
+        when(pricingHistoryRepository.findAllByInventoryItemItemIdOrderByEffectiveFromAscCreatedTimestampAsc(itemId1))
+                .thenReturn(List.of());
 
         List<OrderItemDTO> items = List.of(orderItemDTO1);
 
@@ -158,23 +389,39 @@ class OrderInventoryManagerImplTest {
     }
 
     @Test
-    void handleInventoryUpdate_PendingToConfirmed_DoesNotChangeInventory() {
-        List<OrderItem> orderItems = List.of(
-                createOrderItem(order, inventoryItem1, 5),
-                createOrderItem(order, inventoryItem2, 10)
-        );
+    void processAndSaveOrderItems_WithScheduledPriceChange_UsesPriceInEffectNow() {
+        PricingHistory scheduled = new PricingHistory();
+        scheduled.setNewPrice(BigDecimal.valueOf(120));
+        scheduled.setEffectiveFrom(LocalDateTime.now().plusDays(1));
+        when(inventoryRepository.findAllByItemIdInForUpdate(anyList())).thenReturn(List.of(inventoryItem1));
+        when(pricingHistoryRepository.findAllByInventoryItemItemIdOrderByEffectiveFromAscCreatedTimestampAsc(itemId1))
+                .thenReturn(List.of(pricingHistory, scheduled));
 
-        when(orderItemRepository.findByOrderOrderId(orderId)).thenReturn(orderItems);
-        when(inventoryRepository.findAllByItemIdInForUpdate(anyList()))
-                .thenReturn(List.of(inventoryItem1, inventoryItem2));
+        List<OrderItemDTO> result = orderInventoryManager.processAndSaveOrderItems(List.of(orderItemDTO1), order);
 
-        orderInventoryManager.handleInventoryUpdate(order, OrderStatus.PENDING, OrderStatus.CONFIRMED);
+        assertEquals(BigDecimal.valueOf(89.99), result.get(0).getUnitPrice());
+    }
 
-        assertEquals(100, inventoryItem1.getAvailableStock());
-        assertEquals(20, inventoryItem1.getReservedStock());
-        assertEquals(200, inventoryItem2.getAvailableStock());
-        assertEquals(30, inventoryItem2.getReservedStock());
+    @Test
+    void processAndSaveOrderItems_WithOnlyFuturePrice_ThrowsException() {
+        pricingHistory.setEffectiveFrom(LocalDateTime.now().plusHours(1));
+        when(inventoryRepository.findAllByItemIdInForUpdate(anyList())).thenReturn(List.of(inventoryItem1));
+        when(pricingHistoryRepository.findAllByInventoryItemItemIdOrderByEffectiveFromAscCreatedTimestampAsc(itemId1))
+                .thenReturn(List.of(pricingHistory));
+
+        List<OrderItemDTO> items = List.of(orderItemDTO1);
+
+        assertThrows(InvalidOperationException.class, () ->
+                orderInventoryManager.processAndSaveOrderItems(items, order));
+        verify(orderItemRepository, never()).save(any(OrderItem.class));
+    }
+
+    @Test
+    void handleInventoryUpdate_PendingToConfirmed_DoesNotChangeInventory() {
+        orderInventoryManager.handleInventoryUpdate(order, InventoryAction.NONE);
 
+        verify(orderItemRepository, never()).findByOrderOrderId(any());
+        verifyNoInteractions(transitionStatements);
         verify(inventoryRepository, never()).save(any(InventoryItem.class));
     }
 
@@ -183,63 +430,67 @@ class OrderInventoryManagerImplTest {
         inventoryItem1.setAvailableStock(10);
         inventoryItem1.setReservedStock(8);
 
+        assertDoesNotThrow(() ->
+                orderInventoryManager.handleInventoryUpdate(order, InventoryAction.NONE));
+
+        verify(inventoryRepository, never()).findAllByItemIdInForUpdate(anyList());
+        verifyNoInteractions(transitionStatements);
+    }
+
+    @Test
+    void handleInventoryUpdate_ConfirmedToCancelled_ReleasesStock() {
         List<OrderItem> orderItems = List.of(createOrderItem(order, inventoryItem1, 5));
 
         when(orderItemRepository.findByOrderOrderId(orderId)).thenReturn(orderItems);
-        when(inventoryRepository.findAllByItemIdInForUpdate(anyList()))
-                .thenReturn(List.of(inventoryItem1));
+        when(transitionStatements.moveReservedStock(Map.of(itemId1, 5), true)).thenReturn(List.of(itemId1));
 
-        assertDoesNotThrow(() ->
-                orderInventoryManager.handleInventoryUpdate(order, OrderStatus.PENDING, OrderStatus.CONFIRMED));
+        orderInventoryManager.handleInventoryUpdate(order, InventoryAction.RELEASE);
 
-        assertEquals(10, inventoryItem1.getAvailableStock());
-        assertEquals(8, inventoryItem1.getReservedStock());
+        verify(transitionStatements).moveReservedStock(Map.of(itemId1, 5), true);
+        verify(inventoryRepository, never()).findAllByItemIdInForUpdate(anyList());
         verify(inventoryRepository, never()).save(any(InventoryItem.class));
     }
 
     @Test
-    void handleInventoryUpdate_ConfirmedToCancelled_ReleasesStock() {
+    void handleInventoryUpdate_ProcessingToCancelled_ReleasesStock() {
         List<OrderItem> orderItems = List.of(createOrderItem(order, inventoryItem1, 5));
 
         when(orderItemRepository.findByOrderOrderId(orderId)).thenReturn(orderItems);
-        when(inventoryRepository.findAllByItemIdInForUpdate(anyList()))
-                .thenReturn(List.of(inventoryItem1));
+        when(transitionStatements.moveReservedStock(Map.of(itemId1, 5), true)).thenReturn(List.of(itemId1));
 
-        orderInventoryManager.handleInventoryUpdate(order, OrderStatus.CONFIRMED, OrderStatus.CANCELLED);
+        orderInventoryManager.handleInventoryUpdate(order, InventoryAction.RELEASE);
 
-        assertEquals(105, inventoryItem1.getAvailableStock()); // 100 + 5
-        assertEquals(15, inventoryItem1.getReservedStock()); // 20 - 5
+        verify(transitionStatements).moveReservedStock(Map.of(itemId1, 5), true);
     }
 
     @Test
-    void handleInventoryUpdate_ProcessingToCancelled_ReleasesStock() {
-        List<OrderItem> orderItems = List.of(createOrderItem(order, inventoryItem1, 5));
+    void handleInventoryUpdate_WithRepeatedItem_MovesSummedQuantityInOneStatement() {
+        List<OrderItem> orderItems = List.of(
+                createOrderItem(order, inventoryItem1, 5),
+                createOrderItem(order, inventoryItem2, 3),
+                createOrderItem(order, inventoryItem1, 2));
 
         when(orderItemRepository.findByOrderOrderId(orderId)).thenReturn(orderItems);
-        when(inventoryRepository.findAllByItemIdInForUpdate(anyList()))
-                .thenReturn(List.of(inventoryItem1));
+        when(transitionStatements.moveReservedStock(anyMap(), eq(true))).thenReturn(List.of(itemId1, itemId2));
 
-        orderInventoryManager.handleInventoryUpdate(order, OrderStatus.PROCESSING, OrderStatus.CANCELLED);
+        orderInventoryManager.handleInventoryUpdate(order, InventoryAction.RELEASE);
 
-        assertEquals(105, inventoryItem1.getAvailableStock()); // 100 + 5
-        assertEquals(15, inventoryItem1.getReservedStock()); // 20 - 5
+        verify(transitionStatements, times(1)).moveReservedStock(Map.of(itemId1, 7, itemId2, 3), true);
     }
 
     @Test
     void handleInventoryUpdate_CancelledWithInsufficientReservedStock_ThrowsMeaningfulException() {
-        inventoryItem1.setReservedStock(3);
         List<OrderItem> orderItems = List.of(createOrderItem(order, inventoryItem1, 5));
 
         when(orderItemRepository.findByOrderOrderId(orderId)).thenReturn(orderItems);
-        when(inventoryRepository.findAllByItemIdInForUpdate(anyList()))
-                .thenReturn(List.of(inventoryItem1));
+        when(transitionStatements.moveReservedStock(Map.of(itemId1, 5), true)).thenReturn(List.of());
+        when(inventoryRepository.findReservedStock(itemId1)).thenReturn(3);
 
         InvalidOperationException ex = assertThrows(InvalidOperationException.class, () ->
-                orderInventoryManager.handleInventoryUpdate(order, OrderStatus.CONFIRMED, OrderStatus.CANCELLED));
+                orderInventoryManager.handleInventoryUpdate(order, InventoryAction.RELEASE));
 
         assertTrue(ex.getMessage().contains("cannot release 5 units"));
-        assertEquals(100, inventoryItem1.getAvailableStock());
-        assertEquals(3, inventoryItem1.getReservedStock());
+        assertTrue(ex.getMessage().contains("only 3 reserved"));
         verify(inventoryRepository, never()).save(any(InventoryItem.class));
     }
 
@@ -248,30 +499,26 @@ class OrderInventoryManagerImplTest {
         List<OrderItem> orderItems = List.of(createOrderItem(order, inventoryItem1, 5));
 
         when(orderItemRepository.findByOrderOrderId(orderId)).thenReturn(orderItems);
-        when(inventoryRepository.findAllByItemIdInForUpdate(anyList()))
-                .thenReturn(List.of(inventoryItem1));
+        when(transitionStatements.moveReservedStock(Map.of(itemId1, 5), false)).thenReturn(List.of(itemId1));
 
-        orderInventoryManager.handleInventoryUpdate(order, OrderStatus.SHIPPED, OrderStatus.DELIVERED);
+        orderInventoryManager.handleInventoryUpdate(order, InventoryAction.FULFIL);
 
-        assertEquals(100, inventoryItem1.getAvailableStock()); // unchanged
-        assertEquals(15, inventoryItem1.getReservedStock()); // 20 - 5
+        // Available stock is left alone: the units leave the warehouse
+        verify(transitionStatements).moveReservedStock(Map.of(itemId1, 5), false);
     }
 
     @Test
     void handleInventoryUpdate_DeliveredWithInsufficientReservedStock_ThrowsMeaningfulException() {
-        inventoryItem1.setReservedStock(3);
         List<OrderItem> orderItems = List.of(createOrderItem(order, inventoryItem1, 5));
 
         when(orderItemRepository.findByOrderOrderId(orderId)).thenReturn(orderItems);
-        when(inventoryRepository.findAllByItemIdInForUpdate(anyList()))
-                .thenReturn(List.of(inventoryItem1));
+        when(transitionStatements.moveReservedStock(Map.of(itemId1, 5), false)).thenReturn(List.of());
+        when(inventoryRepository.findReservedStock(itemId1)).thenReturn(3);
 
         InvalidOperationException ex = assertThrows(InvalidOperationException.class, () ->
-                orderInventoryManager.handleInventoryUpdate(order, OrderStatus.SHIPPED, OrderStatus.DELIVERED));
+                orderInventoryManager.handleInventoryUpdate(order, InventoryAction.FULFIL));
 
         assertTrue(ex.getMessage().contains("cannot release 5 units"));
-        assertEquals(100, inventoryItem1.getAvailableStock());
-        assertEquals(3, inventoryItem1.getReservedStock());
         verify(inventoryRepository, never()).save(any(InventoryItem.class));
     }
 
@@ -279,9 +526,9 @@ class OrderInventoryManagerImplTest {
     void handleInventoryUpdate_WithNoOrderItems_LogsWarning() {
         when(orderItemRepository.findByOrderOrderId(orderId)).thenReturn(List.of());
 
-        orderInventoryManager.handleInventoryUpdate(order, OrderStatus.PENDING, OrderStatus.CONFIRMED);
+        orderInventoryManager.handleInventoryUpdate(order, InventoryAction.RELEASE);
 
-        verify(inventoryRepository, never()).findAllByItemIdInForUpdate(anyList());
+        verifyNoInteractions(transitionStatements);
         verify(inventoryRepository, never()).save(any());
     }
 
@@ -290,31 +537,379 @@ class OrderInventoryManagerImplTest {
         List<OrderItem> orderItems = List.of(createOrderItem(order, inventoryItem1, 5));
 
         when(orderItemRepository.findByOrderOrderId(orderId)).thenReturn(orderItems);
-        when(inventoryRepository.findAllByItemIdInForUpdate(anyList()))
-                .thenReturn(List.of(inventoryItem1));
+        when(transitionStatements.moveReservedStock(Map.of(itemId1, 5), true)).thenReturn(List.of(itemId1));
 
-        orderInventoryManager.handleInventoryUpdate(order, OrderStatus.PENDING, OrderStatus.CANCELLED);
+        orderInventoryManager.handleInventoryUpdate(order, InventoryAction.RELEASE);
 
-        assertEquals(105, inventoryItem1.getAvailableStock()); // reservation reverted
-        assertEquals(15, inventoryItem1.getReservedStock());
-        verify(inventoryRepository).save(any());
+        // The reservation taken at placement is reverted
+        verify(transitionStatements).moveReservedStock(Map.of(itemId1, 5), true);
     }
 
     @Test
     void handleInventoryUpdate_ProcessingToShipped_NoInventoryChange() {
+        orderInventoryManager.handleInventoryUpdate(order, InventoryAction.NONE);
+
+        verify(orderItemRepository, never()).findByOrderOrderId(any());
+        verifyNoInteractions(transitionStatements);
+        verify(inventoryRepository, never()).save(any());
+    }
+
+    @Test
+    void handleInventoryUpdate_WithReservationEngine_CancelledReleasesThroughEngine() {
+        ReflectionTestUtils.setField(orderInventoryManager, "reservationEngine", reservationEngine);
         List<OrderItem> orderItems = List.of(createOrderItem(order, inventoryItem1, 5));
 
         when(orderItemRepository.findByOrderOrderId(orderId)).thenReturn(orderItems);
-        when(inventoryRepository.findAllByItemIdInForUpdate(anyList()))
-                .thenReturn(List.of(inventoryItem1));
 
-        orderInventoryManager.handleInventoryUpdate(order, OrderStatus.PROCESSING, OrderStatus.SHIPPED);
+        orderInventoryManager.handleInventoryUpdate(order, InventoryAction.RELEASE);
 
-        assertEquals(100, inventoryItem1.getAvailableStock()); // unchanged
-        assertEquals(20, inventoryItem1.getReservedStock()); // unchanged
+        verify(reservationEngine).release(inventoryItem1, 5);
+        verifyNoInteractions(transitionStatements);
+        verify(inventoryRepository, never()).findAllByItemIdInForUpdate(anyList());
         verify(inventoryRepository, never()).save(any());
     }
 
+    @Test
+    void handleInventoryUpdate_WithReservationEngine_ShippedToDeliveredFulfilsThroughEngine() {
+        ReflectionTestUtils.setField(orderInventoryManager, "reservationEngine", reservationEngine);
+        List<OrderItem> orderItems = List.of(createOrderItem(order, inventoryItem1, 5));
+
+        when(orderItemRepository.findByOrderOrderId(orderId)).thenReturn(orderItems);
+
+        orderInventoryManager.handleInventoryUpdate(order, InventoryAction.FULFIL);
+
+        verify(reservationEngine).fulfil(inventoryItem1, 5);
+        verify(reservationEngine, never()).release(any(), anyInt());
+    }
+
+    @Test
+    void handleInventoryUpdate_WithReservationEngine_ProcessingToShippedIsNoOp() {
+        ReflectionTestUtils.setField(orderInventoryManager, "reservationEngine", reservationEngine);
+
+        orderInventoryManager.handleInventoryUpdate(order, InventoryAction.NONE);
+
+        verifyNoInteractions(reservationEngine);
+    }
+
+    @Test
+    void handleInventoryUpdate_WithFlashSaleItem_ReleasesThroughFlashEngine() {
+        ReflectionTestUtils.setField(orderInventoryManager, "flashSaleEnabled", true);
+        inventoryItem1.setFlashSale(true);
+        List<OrderItem> orderItems = List.of(
+                createOrderItem(order, inventoryItem1, 5),
+                createOrderItem(order, inventoryItem2, 3));
+
+        when(orderItemRepository.findByOrderOrderId(orderId)).thenReturn(orderItems);
+        when(transitionStatements.moveReservedStock(Map.of(itemId2, 3), true)).thenReturn(List.of(itemId2));
+
+        orderInventoryManager.handleInventoryUpdate(order, InventoryAction.RELEASE);
+
+        verify(flashSaleEngine).release(inventoryItem1, 5);
+        verify(transitionStatements).moveReservedStock(Map.of(itemId2, 3), true);
+    }
+
+    @Test
+    void movesStockInPlace_WithoutRoutingModes_ReadsNoLines() {
+        assertTrue(orderInventoryManager.movesStockInPlace(List.of(orderId)));
+
+        verify(orderItemRepository, never()).findIdsByOrderIdIn(anyList());
+    }
+
+    @Test
+    void movesStockInPlace_WithGlobalEngine_IsFalse() {
+        ReflectionTestUtils.setField(orderInventoryManager, "reservationEngine", reservationEngine);
+
+        assertFalse(orderInventoryManager.movesStockInPlace(List.of(orderId)));
+    }
+
+    @Test
+    void movesStockInPlace_WithFlashSaleItem_IsFalse() {
+        ReflectionTestUtils.setField(orderInventoryManager, "flashSaleEnabled", true);
+
+        when(orderItemRepository.findIdsByOrderIdIn(List.of(orderId))).thenReturn(List.of(
+                new OrderItem.OrderItemId(orderId, itemId1), new OrderItem.OrderItemId(orderId, itemId2)));
+        when(inventoryRepository.findFlashSaleItemIds(List.of(itemId1, itemId2))).thenReturn(List.of(itemId1));
+
+        assertFalse(orderInventoryManager.movesStockInPlace(List.of(orderId)));
+    }
+
+    @Test
+    void handleInventoryUpdates_MovesSummedLinesOfAllOrdersInOneStatement() {
+        UUID otherOrderId = UUID.randomUUID();
+        Map<UUID, Integer> summed = Map.of(itemId1, 12, itemId2, 3);
+
+        when(transitionStatements.sumLineQuantities(List.of(orderId, otherOrderId))).thenReturn(summed);
+        when(transitionStatements.moveReservedStock(summed, false)).thenReturn(List.of(itemId1, itemId2));
+
+        orderInventoryManager.handleInventoryUpdates(List.of(orderId, otherOrderId), InventoryAction.FULFIL);
+
+        verify(transitionStatements, times(1)).moveReservedStock(summed, false);
+        verify(orderItemRepository, never()).findByOrderOrderId(any());
+    }
+
+    @Test
+    void handleInventoryUpdates_WithInsufficientReservedStock_ThrowsForFirstShortItem() {
+        Map<UUID, Integer> summed = Map.of(itemId1, 12);
+
+        when(transitionStatements.sumLineQuantities(List.of(orderId))).thenReturn(summed);
+        when(transitionStatements.moveReservedStock(summed, true)).thenReturn(List.of());
+        when(inventoryRepository.findReservedStock(itemId1)).thenReturn(10);
+
+        InvalidOperationException ex = assertThrows(InvalidOperationException.class, () ->
+                orderInventoryManager.handleInventoryUpdates(List.of(orderId), InventoryAction.RELEASE));
+
+        assertTrue(ex.getMessage().contains("cannot release 12 units, only 10 reserved"));
+    }
+
+    @Test
+    void selectReservationEngine_WithFlashName_FailsFast() {
+        ReflectionTestUtils.setField(orderInventoryManager, "reservationEngineName", FlashSaleReservationEngine.NAME);
+        ReflectionTestUtils.setField(orderInventoryManager, "reservationEngines", List.of());
+
+        assertThrows(IllegalStateException.class, () -> orderInventoryManager.selectReservationEngine());
+    }
+
+    @Test
+    void handleInventoryUpdate_WithStripedItem_FulfilsThroughBucketEngine() {
+        ReflectionTestUtils.setField(orderInventoryManager, "stripingEnabled", true);
+        inventoryItem1.setStripeCount(4);
+        List<OrderItem> orderItems = List.of(createOrderItem(order, inventoryItem1, 5));
+
+        when(orderItemRepository.findByOrderOrderId(orderId)).thenReturn(orderItems);
+
+        orderInventoryManager.handleInventoryUpdate(order, InventoryAction.FULFIL);
+
+        verify(stripedEngine).fulfil(inventoryItem1, 5);
+        verify(inventoryRepository, never()).findAllByItemIdInForUpdate(anyList());
+    }
+
+    @Test
+    void selectReservationEngine_WithStripedName_FailsFast() {
+        ReflectionTestUtils.setField(orderInventoryManager, "reservationEngineName", StripedStockReservationEngine.NAME);
+        ReflectionTestUtils.setField(orderInventoryManager, "reservationEngines", List.of());
+
+        assertThrows(IllegalStateException.class, () -> orderInventoryManager.selectReservationEngine());
+    }
+
+    @Test
+    void handleInventoryUpdate_WithLedgerItem_ReleasesThroughLedgerEngine() {
+        ReflectionTestUtils.setField(orderInventoryManager, "ledgerEnabled", true);
+        inventoryItem1.setStockLedger(true);
+        List<OrderItem> orderItems = List.of(createOrderItem(order, inventoryItem1, 5));
+
+        when(orderItemRepository.findByOrderOrderId(orderId)).thenReturn(orderItems);
+
+        orderInventoryManager.handleInventoryUpdate(order, InventoryAction.RELEASE);
+
+        verify(ledgerEngine).release(inventoryItem1, 5);
+        verify(inventoryRepository, never()).findAllByItemIdInForUpdate(anyList());
+    }
+
+    @Test
+    void checkBatchFits_ReplaysOrdersAgainstLockedStockInArrivalOrder() {
+        inventoryItem1.setAvailableStock(8);
+        when(inventoryRepository.findAllByItemIdInForUpdate(anyList()))
+                .thenReturn(List.of(inventoryItem1, inventoryItem2));
+
+        OrderItemDTO fiveOfItem1 = new OrderItemDTO(itemId1, "Item 1", 5, null, null);
+        List<Boolean> fits = orderInventoryManager.checkBatchFits(List.of(
+                List.of(fiveOfItem1, orderItemDTO2),
+                List.of(fiveOfItem1),
+                List.of(orderItemDTO2)));
+
+        // The second order no longer fits once the first has taken 5 of the 8 units
+        assertEquals(List.of(true, false, true), fits);
+        assertEquals(8, inventoryItem1.getAvailableStock());
+        verifyNoInteractions(orderItemRepository);
+    }
+
+    @Test
+    void checkBatchFits_WithUnknownItem_ReportsOrderAsNotFitting() {
+        when(inventoryRepository.findAllByItemIdInForUpdate(anyList())).thenReturn(List.of(inventoryItem1));
+
+        List<Boolean> fits = orderInventoryManager.checkBatchFits(List.of(
+                List.of(orderItemDTO1),
+                List.of(orderItemDTO2)));
+
+        assertEquals(List.of(true, false), fits);
+    }
+
+    @Test
+    void checkBatchFits_WithGlobalEngine_LocksNothing() {
+        ReflectionTestUtils.setField(orderInventoryManager, "reservationEngine", reservationEngine);
+
+        List<Boolean> fits = orderInventoryManager.checkBatchFits(List.of(List.of(orderItemDTO1)));
+
+        assertEquals(List.of(true), fits);
+        verifyNoInteractions(inventoryRepository);
+    }
+
+    @Test
+    void reserveBulk_LocksUnionOnceAndRejectsOrdersThatNoLongerFit() {
+        inventoryItem1.setAvailableStock(8);
+        when(inventoryRepository.findAllByItemIdInForUpdate(List.of(itemId1, itemId2).stream().sorted().toList()))
+                .thenReturn(List.of(inventoryItem1, inventoryItem2));
+        when(pricingHistoryRepository.findAllByInventoryItemItemIdOrderByEffectiveFromAscCreatedTimestampAsc(any()))
+                .thenReturn(List.of(pricingHistory));
+
+        OrderItemDTO fiveOfItem1 = new OrderItemDTO(itemId1, "Item 1", 5, null, null);
+        List<OrderInventoryManagerImpl.BulkReservation> reservations = orderInventoryManager.reserveBulk(List.of(
+                List.of(fiveOfItem1, orderItemDTO2),
+                List.of(fiveOfItem1, orderItemDTO2),
+                List.of(orderItemDTO2)));
+
+        assertTrue(reservations.get(0).isReserved());
+        assertFalse(reservations.get(1).isReserved());
+        assertTrue(reservations.get(1).error().contains("Insufficient stock"));
+        assertTrue(reservations.get(2).isReserved());
+        // The rejected order moved nothing, not even its item 2 line
+        assertEquals(3, inventoryItem1.getAvailableStock());
+        assertEquals(180, inventoryItem2.getAvailableStock());
+        assertEquals(50, inventoryItem2.getReservedStock());
+        verify(inventoryRepository, times(1)).findAllByItemIdInForUpdate(anyList());
+        verify(pricingHistoryRepository, times(1)).findAllByInventoryItemItemIdOrderByEffectiveFromAscCreatedTimestampAsc(itemId1);
+        verify(pricingHistoryRepository, times(1)).findAllByInventoryItemItemIdOrderByEffectiveFromAscCreatedTimestampAsc(itemId2);
+        verifyNoInteractions(orderItemRepository);
+    }
+
+    @Test
+    void reserveBulk_WithUnknownItem_RejectsOnlyThatOrder() {
+        when(inventoryRepository.findAllByItemIdInForUpdate(anyList())).thenReturn(List.of(inventoryItem1));
+        when(pricingHistoryRepository.findAllByInventoryItemItemIdOrderByEffectiveFromAscCreatedTimestampAsc(itemId1))
+                .thenReturn(List.of(pricingHistory));
+
+        List<OrderInventoryManagerImpl.BulkReservation> reservations = orderInventoryManager.reserveBulk(List.of(
+                List.of(orderItemDTO1),
+                List.of(orderItemDTO2)));
+
+        assertTrue(reservations.get(0).isReserved());
+        assertEquals("Item not found: " + itemId2, reservations.get(1).error());
+    }
+
+    @Test
+    void reserveBulk_WithGlobalEngine_LeavesEveryOrderToSoloPlacement() {
+        ReflectionTestUtils.setField(orderInventoryManager, "reservationEngine", reservationEngine);
+
+        List<OrderInventoryManagerImpl.BulkReservation> reservations = orderInventoryManager.reserveBulk(
+                List.of(List.of(orderItemDTO1), List.of(orderItemDTO2)));
+
+        assertTrue(reservations.stream().allMatch(OrderInventoryManagerImpl.BulkReservation::isSolo));
+        verifyNoInteractions(inventoryRepository);
+    }
+
+    @Test
+    void stageBulkLines_StagesLinesWithoutSaving() {
+        when(inventoryRepository.findAllByItemIdInForUpdate(anyList())).thenReturn(List.of(inventoryItem1));
+        when(pricingHistoryRepository.findAllByInventoryItemItemIdOrderByEffectiveFromAscCreatedTimestampAsc(itemId1))
+                .thenReturn(List.of(pricingHistory));
+        OrderInventoryManagerImpl.BulkReservation reservation = orderInventoryManager
+                .reserveBulk(List.of(List.of(orderItemDTO1))).get(0);
+        List<OrderItem> staged = new java.util.ArrayList<>();
+
+        List<OrderItemDTO> lines = orderInventoryManager.stageBulkLines(reservation, order, staged);
+
+        assertEquals(1, lines.size());
+        assertEquals(0, BigDecimal.valueOf(449.95).compareTo(lines.get(0).getSubTotal()));
+        assertEquals(1, staged.size());
+        assertEquals(orderId, staged.get(0).getId().getOrderId());
+        verifyNoInteractions(orderItemRepository);
+    }
+
+    @Test
+    void selectReservationEngine_WithLedgerName_FailsFast() {
+        ReflectionTestUtils.setField(orderInventoryManager, "reservationEngineName", LedgerStockReservationEngine.NAME);
+        ReflectionTestUtils.setField(orderInventoryManager, "reservationEngines", List.of());
+
+        assertThrows(IllegalStateException.class, () -> orderInventoryManager.selectReservationEngine());
+    }
+
+    @Test
+    void selectReservationEngine_WithUnknownName_FailsFast() {
+        ReflectionTestUtils.setField(orderInventoryManager, "reservationEngineName", "does-not-exist");
+        ReflectionTestUtils.setField(orderInventoryManager, "reservationEngines", List.of());
+
+        assertThrows(IllegalStateException.class, () -> orderInventoryManager.selectReservationEngine());
+    }
+
+    @Test
+    void selectReservationEngine_WithPlacementFunctionAndGlobalEngine_FailsFast() {
+        when(reservationEngine.getName()).thenReturn(ConditionalStockReservationEngine.NAME);
+        ReflectionTestUtils.setField(orderInventoryManager, "reservationEngineName", ConditionalStockReservationEngine.NAME);
+        ReflectionTestUtils.setField(orderInventoryManager, "reservationEngines", List.of(reservationEngine));
+        ReflectionTestUtils.setField(orderInventoryManager, "placementEngineName",
+                OrderInventoryManagerImpl.PLPGSQL_PLACEMENT);
+
+        assertThrows(IllegalStateException.class, () -> orderInventoryManager.selectReservationEngine());
+    }
+
+    @Test
+    void placesInDatabase_WithLedgerItem_KeepsTheJavaPath() {
+        ReflectionTestUtils.setField(orderInventoryManager, "functionPlacement", true);
+        ReflectionTestUtils.setField(orderInventoryManager, "ledgerEnabled", true);
+        when(inventoryRepository.findLedgerItemIds(List.of(itemId1, itemId2))).thenReturn(List.of(itemId2));
+        when(inventoryRepository.findLedgerItemIds(List.of(itemId1))).thenReturn(List.of());
+
+        assertFalse(orderInventoryManager.placesInDatabase(List.of(orderItemDTO1, orderItemDTO2)));
+        assertTrue(orderInventoryManager.placesInDatabase(List.of(orderItemDTO1)));
+    }
+
+    @Test
+    void placeInDatabase_ReturnsThePricedLinesInOneCall() {
+        Customer customer = new Customer();
+        customer.setCustomerId(UUID.randomUUID());
+        customer.setOrgId(UUID.randomUUID());
+        OrderStatusLookup pending = new OrderStatusLookup();
+        pending.setStatusId(1);
+        BigDecimal price = new BigDecimal("89.9900");
+        when(placementFunction.call(eq(customer.getOrgId()), eq(customer.getCustomerId()), eq(1),
+                eq(List.of(orderItemDTO1, orderItemDTO2)), isNull(), any(LocalDateTime.class)))
+                .thenReturn(List.of(
+                        new OrderPlacementFunction.Row(OrderPlacementFunction.PLACED, orderId, itemId1, "Item 1", 5,
+                                price, null),
+                        new OrderPlacementFunction.Row(OrderPlacementFunction.PLACED, orderId, itemId2, "Item 2", 10,
+                                price, null)));
+
+        OrderInventoryManagerImpl.PlacedOrder placed = orderInventoryManager.placeInDatabase(customer, pending, null,
+                List.of(orderItemDTO1, orderItemDTO2));
+
+        assertEquals(orderId, placed.orderId());
+        assertEquals(List.of(itemId1, itemId2), placed.lines().stream().map(OrderItemDTO::getItemId).toList());
+        assertEquals(0, new BigDecimal("899.90").compareTo(placed.lines().get(1).getSubTotal()));
+        verifyNoInteractions(inventoryRepository, orderItemRepository, pricingHistoryRepository);
+    }
+
+    @Test
+    void placeInDatabase_WithInsufficientStock_ThrowsTheJavaPathException() {
+        Customer customer = new Customer();
+        customer.setCustomerId(UUID.randomUUID());
+        OrderStatusLookup pending = new OrderStatusLookup();
+        pending.setStatusId(1);
+        when(placementFunction.call(any(), any(), eq(1), anyList(), any(), any()))
+                .thenReturn(List.of(new OrderPlacementFunction.Row(OrderPlacementFunction.INSUFFICIENT_STOCK, null,
+                        itemId1, "Item 1", 150, null, 100)));
+
+        InsufficientStockException rejected = assertThrows(InsufficientStockException.class,
+                () -> orderInventoryManager.placeInDatabase(customer, pending, null, List.of(orderItemDTO1)));
+
+        assertEquals("Insufficient stock for item: Item 1 (ID: " + itemId1 + "). Available: 100, Requested: 150",
+                rejected.getMessage());
+    }
+
+    @Test
+    void placeInDatabase_WithScheduledFirstPrice_ThrowsTheJavaPathException() {
+        Customer customer = new Customer();
+        OrderStatusLookup pending = new OrderStatusLookup();
+        pending.setStatusId(1);
+        when(placementFunction.call(any(), any(), eq(1), anyList(), any(), any()))
+                .thenReturn(List.of(new OrderPlacementFunction.Row(OrderPlacementFunction.PRICE_NOT_IN_EFFECT, null,
+                        itemId1, "Item 1", 5, null, null)));
+
+        InvalidOperationException rejected = assertThrows(InvalidOperationException.class,
+                () -> orderInventoryManager.placeInDatabase(customer, pending, null, List.of(orderItemDTO1)));
+
+        assertTrue(rejected.getMessage().startsWith("No price in effect yet for item ID: " + itemId1));
+    }
+
     private OrderItem createOrderItem(Orders order, InventoryItem item, int quantity) {
         OrderItem orderItem = new OrderItem();
         orderItem.setOrder(order);
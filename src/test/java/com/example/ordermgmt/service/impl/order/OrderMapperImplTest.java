@@ -26,6 +26,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 @ExtendWith(MockitoExtension.class)
 class OrderMapperImplTest {
@@ -141,6 +142,20 @@ class OrderMapperImplTest {
         assertEquals(BigDecimal.valueOf(499.95), first.getSubTotal());
     }
 
+    @Test
+    void convertToHeaderDTO_UsesPersistedTotalsWithoutReadingItems() {
+        order.setTotalAmount(BigDecimal.valueOf(999.85));
+        order.setItemCount(2);
+
+        OrderDTO result = orderMapper.convertToHeaderDTO(order);
+
+        assertEquals(orderId, result.getOrderId());
+        assertEquals(BigDecimal.valueOf(999.85), result.getTotalAmount());
+        assertEquals(2, result.getItemCount());
+        assertNull(result.getItems());
+        verifyNoInteractions(orderItemRepository);
+    }
+
     @Test
     void convertToDTO_WithOrderAndNoItems_ReturnsDTOWithEmptyList() {
         when(orderItemRepository.findByOrderOrderId(orderId)).thenReturn(List.of());
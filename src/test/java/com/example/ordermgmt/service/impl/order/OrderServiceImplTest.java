@@ -7,14 +7,19 @@ import com.example.ordermgmt.entity.Orders;
 import com.example.ordermgmt.entity.OrderStatusLookup;
 import com.example.ordermgmt.enums.OrderStatus;
 import com.example.ordermgmt.event.EmailDispatchEvent;
+import com.example.ordermgmt.event.OrderPlacedEvent;
 import com.example.ordermgmt.exception.InsufficientStockException;
 import com.example.ordermgmt.exception.InvalidOperationException;
+import com.example.ordermgmt.exception.InvalidOrderTransitionException;
 import com.example.ordermgmt.exception.OrderNotFoundException;
 import com.example.ordermgmt.repository.OrderItemRepository;
 import com.example.ordermgmt.repository.OrdersRepository;
+import com.example.ordermgmt.security.TenantContextHolder;
+import com.example.ordermgmt.service.impl.lock.LockAcquisitionPolicies;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -23,13 +28,21 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -45,6 +58,10 @@ class OrderServiceImplTest {
     @Mock private OrderMapperImpl orderMapper;
     @Mock private OrderTransitionHelper transitionHelper;
     @Mock private ApplicationEventPublisher eventPublisher;
+    @Mock private LockAcquisitionPolicies lockPolicies;
+    @Mock private TransactionTemplate transactionTemplate;
+    @Mock private OrderStatusHistoryStatements statusHistory;
+    @Mock private OrderArchiveStatements orderArchive;
 
     @InjectMocks
     private OrderServiceImpl orderService;
@@ -61,6 +78,14 @@ class OrderServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(lockPolicies.acquire(any(), any()))
+                .thenAnswer(inv -> ((Supplier<?>) inv.getArgument(1)).get());
+        lenient().when(lockPolicies.withRetry(any(), any()))
+                .thenAnswer(inv -> ((Supplier<?>) inv.getArgument(1)).get());
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(inv -> ((TransactionCallback<?>) inv.getArgument(0)).doInTransaction(null));
+        ReflectionTestUtils.setField(orderService, "maxBulkOrders", 500);
+
         orderId    = UUID.randomUUID();
         customerId = UUID.randomUUID();
         email      = "customer@example.com";
@@ -72,6 +97,7 @@ class OrderServiceImplTest {
         customer.setAppUser(appUser);
 
         pendingStatus = new OrderStatusLookup();
+        pendingStatus.setStatusId(1);
         pendingStatus.setStatusName("PENDING");
 
         order = new Orders();
@@ -114,9 +140,60 @@ class OrderServiceImplTest {
         assertEquals(1,                        result.getItems().size());
         assertEquals(BigDecimal.valueOf(99.98), result.getTotalAmount());
 
+        ArgumentCaptor<Orders> saved = ArgumentCaptor.forClass(Orders.class);
+        verify(ordersRepository).saveAndFlush(saved.capture());
+        assertEquals(BigDecimal.valueOf(99.98), saved.getValue().getTotalAmount());
+        assertEquals(1, saved.getValue().getItemCount());
         verify(eventPublisher).publishEvent(any(EmailDispatchEvent.class));
     }
 
+    @Test
+    void createOrder_InBatchedMode_DefersOrderInsertToSingleFlush() {
+        ReflectionTestUtils.setField(orderService, "batchedPlacement", true);
+        when(orderValidator.validateAndGetCustomer(email)).thenReturn(customer);
+        doNothing().when(orderValidator).validateCustomerProfile(customer);
+        when(orderValidator.getStatusOrThrow("PENDING")).thenReturn(pendingStatus);
+        when(ordersRepository.save(any(Orders.class))).thenReturn(order);
+        when(orderInventoryManager.processAndSaveOrderItems(eq(itemDTOs), any(Orders.class)))
+                .thenReturn(itemDTOs);
+        when(orderMapper.calculateTotal(itemDTOs)).thenReturn(BigDecimal.valueOf(99.98));
+        when(orderMapper.convertToDTO(any(Orders.class), eq(itemDTOs), any(BigDecimal.class)))
+                .thenReturn(orderDTO);
+
+        OrderDTO result = orderService.createOrder(orderDTO, email);
+
+        assertEquals(orderId, result.getOrderId());
+        verify(ordersRepository).save(any(Orders.class));
+        verify(ordersRepository, never()).saveAndFlush(any(Orders.class));
+    }
+
+    @Test
+    void createOrder_WithPlacementFunction_DoesNotPersistTheOrderFromJava() {
+        LocalDateTime placedAt = LocalDateTime.now();
+        when(orderValidator.validateAndGetCustomer(email)).thenReturn(customer);
+        when(orderValidator.getStatusOrThrow("PENDING")).thenReturn(pendingStatus);
+        when(orderInventoryManager.placesInDatabase(itemDTOs)).thenReturn(true);
+        when(orderInventoryManager.placeInDatabase(customer, pendingStatus, null, itemDTOs))
+                .thenReturn(new OrderInventoryManagerImpl.PlacedOrder(orderId, placedAt, itemDTOs));
+        when(orderMapper.calculateTotal(itemDTOs)).thenReturn(BigDecimal.valueOf(99.98));
+        when(orderMapper.convertToDTO(any(Orders.class), eq(itemDTOs), any(BigDecimal.class)))
+                .thenReturn(orderDTO);
+
+        OrderDTO result = orderService.createOrder(orderDTO, email);
+
+        assertEquals(orderId, result.getOrderId());
+        ArgumentCaptor<Orders> mapped = ArgumentCaptor.forClass(Orders.class);
+        verify(orderMapper).convertToDTO(mapped.capture(), eq(itemDTOs), any(BigDecimal.class));
+        assertEquals(orderId, mapped.getValue().getOrderId());
+        assertEquals(placedAt, mapped.getValue().getCreatedTimestamp());
+        verify(ordersRepository, never()).save(any(Orders.class));
+        verify(ordersRepository, never()).saveAndFlush(any(Orders.class));
+        verify(orderInventoryManager, never()).processAndSaveOrderItems(anyList(), any(Orders.class));
+        verify(eventPublisher).publishEvent(any(EmailDispatchEvent.class));
+        verify(eventPublisher).publishEvent(new OrderPlacedEvent(orderId, customer.getOrgId(), placedAt));
+        verify(statusHistory).recordPlaced(customer.getOrgId(), List.of(orderId), 1, placedAt);
+    }
+
     @Test
     void createOrder_WithInvalidCustomer_ThrowsException() {
         when(orderValidator.validateAndGetCustomer(email))
@@ -127,6 +204,56 @@ class OrderServiceImplTest {
         verify(eventPublisher, never()).publishEvent(any());
     }
 
+    @Test
+    void createOrder_WithRepeatedItem_IsRejectedBeforeAnythingIsStaged() {
+        ReflectionTestUtils.setField(orderService, "batchedPlacement", true);
+        doThrow(new InvalidOperationException("Item appears more than once in the order"))
+                .when(orderValidator).validateOrderItems(itemDTOs);
+
+        assertThrows(InvalidOperationException.class, () -> orderService.createOrder(orderDTO, email));
+
+        verifyNoInteractions(ordersRepository, orderInventoryManager, eventPublisher);
+    }
+
+    // -------------------------------------------------------------------------
+    // createAcceptedOrder — orders drained from the intake journal
+    // -------------------------------------------------------------------------
+
+    @Test
+    void createAcceptedOrder_FirstTime_StoresTokenOnTheOrder() {
+        UUID token = UUID.randomUUID();
+        when(ordersRepository.findByIntakeToken(token)).thenReturn(Optional.empty());
+        when(orderValidator.validateAndGetCustomer(email)).thenReturn(customer);
+        when(orderValidator.getStatusOrThrow("PENDING")).thenReturn(pendingStatus);
+        when(orderInventoryManager.processAndSaveOrderItems(eq(itemDTOs), any(Orders.class)))
+                .thenReturn(itemDTOs);
+        when(orderMapper.calculateTotal(itemDTOs)).thenReturn(BigDecimal.valueOf(99.98));
+        when(orderMapper.convertToDTO(any(Orders.class), eq(itemDTOs), any(BigDecimal.class)))
+                .thenReturn(orderDTO);
+
+        OrderDTO result = orderService.createAcceptedOrder(token, orderDTO, email);
+
+        assertEquals(orderId, result.getOrderId());
+        ArgumentCaptor<Orders> saved = ArgumentCaptor.forClass(Orders.class);
+        verify(ordersRepository).saveAndFlush(saved.capture());
+        assertEquals(token, saved.getValue().getIntakeToken());
+        verify(eventPublisher).publishEvent(any(EmailDispatchEvent.class));
+    }
+
+    @Test
+    void createAcceptedOrder_AlreadyPlacedBeforeReplay_ReturnsExistingOrder() {
+        UUID token = UUID.randomUUID();
+        order.setIntakeToken(token);
+        when(ordersRepository.findByIntakeToken(token)).thenReturn(Optional.of(order));
+        when(orderMapper.convertToDTO(order)).thenReturn(orderDTO);
+
+        OrderDTO result = orderService.createAcceptedOrder(token, orderDTO, email);
+
+        assertEquals(orderId, result.getOrderId());
+        verify(ordersRepository, never()).saveAndFlush(any(Orders.class));
+        verifyNoInteractions(orderInventoryManager, eventPublisher);
+    }
+
     // -------------------------------------------------------------------------
     // getCustomerOrders — batch-fetch path is exercised
     // -------------------------------------------------------------------------
@@ -211,6 +338,101 @@ class OrderServiceImplTest {
                 () -> orderService.getCustomerOrderById(orderId, email));
     }
 
+    // -------------------------------------------------------------------------
+    // Archived orders (includeArchived)
+    // -------------------------------------------------------------------------
+
+    @Test
+    void getCustomerOrderById_IncludeArchived_FallsBackToTheArchive() {
+        UUID orgId = UUID.randomUUID();
+        TenantContextHolder.setTenantId(orgId);
+        try {
+            OrderDTO archived = new OrderDTO(orderId, customerId, "DELIVERED",
+                    LocalDateTime.now().minusDays(200), LocalDateTime.now().minusDays(190),
+                    itemDTOs, BigDecimal.valueOf(99.98));
+            when(ordersRepository.findById(orderId)).thenReturn(Optional.empty());
+            when(orderArchive.findOrder(orgId, orderId)).thenReturn(Optional.of(archived));
+
+            OrderDTO result = orderService.getCustomerOrderById(orderId, email, true);
+
+            assertSame(archived, result);
+            verify(orderValidator).validateArchivedOrderOwnership(archived, email);
+        } finally {
+            TenantContextHolder.clear();
+        }
+    }
+
+    @Test
+    void getCustomerOrderById_NotIncludingArchived_NeverReadsTheArchive() {
+        when(ordersRepository.findById(orderId)).thenReturn(Optional.empty());
+
+        assertThrows(OrderNotFoundException.class,
+                () -> orderService.getCustomerOrderById(orderId, email, false));
+
+        verifyNoInteractions(orderArchive);
+    }
+
+    @Test
+    void getCustomerOrders_AsPage_IncludeArchived_FillsThePageFromTheArchive() {
+        UUID orgId = UUID.randomUUID();
+        TenantContextHolder.setTenantId(orgId);
+        try {
+            // One hot order in total; page 0 of size 3 takes two archived orders after it
+            when(ordersRepository.findByCustomerAppUserEmail(eq(email), any(Pageable.class)))
+                    .thenReturn(new PageImpl<>(List.of(order), PageRequest.of(0, 3), 1));
+            when(orderItemRepository.findByOrderOrderIdIn(List.of(orderId))).thenReturn(List.of());
+            when(orderMapper.convertToDTO(eq(order), any(Map.class))).thenReturn(orderDTO);
+            when(orderValidator.customerIdOf(email)).thenReturn(customerId);
+            when(orderArchive.countCustomerOrders(orgId, customerId)).thenReturn(5L);
+            OrderDTO archived = new OrderDTO(UUID.randomUUID(), customerId, "CANCELLED",
+                    LocalDateTime.now().minusDays(300), null, List.of(), BigDecimal.ZERO);
+            when(orderArchive.findCustomerOrders(orgId, customerId, 0, 2)).thenReturn(List.of(archived, archived));
+
+            Page<OrderDTO> result = orderService.getCustomerOrders(email, PageRequest.of(0, 3), true);
+
+            assertEquals(3, result.getContent().size());
+            assertEquals(orderId, result.getContent().get(0).getOrderId());
+            assertEquals(6, result.getTotalElements());
+        } finally {
+            TenantContextHolder.clear();
+        }
+    }
+
+    @Test
+    void getCustomerOrders_AsPage_IncludeArchived_PastTheHotOrders_ReadsTheArchiveAtAnOffset() {
+        UUID orgId = UUID.randomUUID();
+        TenantContextHolder.setTenantId(orgId);
+        try {
+            // Four hot orders; page 2 of size 3 starts at 6, two past the hot orders
+            when(ordersRepository.findByCustomerAppUserEmail(eq(email), any(Pageable.class)))
+                    .thenReturn(new PageImpl<>(List.of(), PageRequest.of(2, 3), 4));
+            when(orderValidator.customerIdOf(email)).thenReturn(customerId);
+            when(orderArchive.countCustomerOrders(orgId, customerId)).thenReturn(10L);
+            when(orderArchive.findCustomerOrders(orgId, customerId, 2, 3)).thenReturn(List.of(orderDTO));
+
+            Page<OrderDTO> result = orderService.getCustomerOrders(email, PageRequest.of(2, 3), true);
+
+            assertEquals(1, result.getContent().size());
+            assertEquals(14, result.getTotalElements());
+        } finally {
+            TenantContextHolder.clear();
+        }
+    }
+
+    @Test
+    void getOrderById_IncludeArchived_NotFoundAnywhere_ThrowsException() {
+        UUID orgId = UUID.randomUUID();
+        TenantContextHolder.setTenantId(orgId);
+        try {
+            when(ordersRepository.findById(orderId)).thenReturn(Optional.empty());
+            when(orderArchive.findOrder(orgId, orderId)).thenReturn(Optional.empty());
+
+            assertThrows(OrderNotFoundException.class, () -> orderService.getOrderById(orderId, true));
+        } finally {
+            TenantContextHolder.clear();
+        }
+    }
+
     // -------------------------------------------------------------------------
     // cancelOrder
     // -------------------------------------------------------------------------
@@ -221,8 +443,9 @@ class OrderServiceImplTest {
         doNothing().when(orderValidator).validateOrderOwnership(order, email);
         doNothing().when(orderValidator).validateOrderCancellation(order);
         when(orderValidator.getStatusOrThrow("CANCELLED")).thenReturn(pendingStatus);
-        doNothing().when(orderInventoryManager).handleInventoryUpdate(
-                eq(order), eq(OrderStatus.PENDING), eq(OrderStatus.CANCELLED));
+        when(orderValidator.cancellationOf(OrderStatus.PENDING)).thenReturn(new StatusTransition(
+                OrderStatus.PENDING, OrderStatus.CANCELLED, InventoryAction.RELEASE, "order-status"));
+        doNothing().when(orderInventoryManager).handleInventoryUpdate(order, InventoryAction.RELEASE);
         when(orderMapper.convertToDTO(order)).thenReturn(orderDTO);
 
         OrderDTO result = orderService.cancelOrder(orderId, email);
@@ -230,6 +453,7 @@ class OrderServiceImplTest {
         assertNotNull(result);
         assertEquals(pendingStatus, order.getStatus());
         verify(ordersRepository).save(order);
+        verify(statusHistory).recordTransitions(eq(List.of(orderId)), eq(1), eq(1), any());
         verify(eventPublisher).publishEvent(any(EmailDispatchEvent.class));
     }
 
@@ -277,6 +501,63 @@ class OrderServiceImplTest {
         verify(orderItemRepository, never()).findByOrderOrderId(any());
     }
 
+    @Test
+    void getAllOrderHeaders_NeverReadsOrderItems() {
+        Page<Orders> orderPage = new PageImpl<>(List.of(order));
+        when(ordersRepository.findAll(any(Pageable.class))).thenReturn(orderPage);
+        when(orderMapper.convertToHeaderDTO(order)).thenReturn(orderDTO);
+
+        Page<OrderDTO> result = orderService.getAllOrderHeaders(PageRequest.of(0, 10));
+
+        assertEquals(1, result.getContent().size());
+        verifyNoInteractions(orderItemRepository);
+    }
+
+    @Test
+    void getAllOrderHeaders_FillsThePageFromTheArchive() {
+        UUID orgId = UUID.randomUUID();
+        TenantContextHolder.setTenantId(orgId);
+        try {
+            // One hot order in total; page 0 of size 3 takes two archived orders after it
+            when(ordersRepository.findAll(any(Pageable.class)))
+                    .thenReturn(new PageImpl<>(List.of(order), PageRequest.of(0, 3), 1));
+            when(orderMapper.convertToHeaderDTO(order)).thenReturn(orderDTO);
+            when(orderArchive.countOrders(orgId)).thenReturn(5L);
+            OrderDTO archived = new OrderDTO(UUID.randomUUID(), customerId, "DELIVERED",
+                    LocalDateTime.now().minusDays(300), null, null, BigDecimal.TEN, 1);
+            when(orderArchive.findOrderHeaders(orgId, 0, 2)).thenReturn(List.of(archived, archived));
+
+            Page<OrderDTO> result = orderService.getAllOrderHeaders(PageRequest.of(0, 3));
+
+            assertEquals(3, result.getContent().size());
+            assertEquals(orderId, result.getContent().get(0).getOrderId());
+            assertEquals(6, result.getTotalElements());
+            verify(orderArchive, never()).findOrders(any(), anyLong(), anyInt());
+        } finally {
+            TenantContextHolder.clear();
+        }
+    }
+
+    @Test
+    void getAllOrders_AsPage_PastTheHotOrders_ReadsTheArchiveAtAnOffset() {
+        UUID orgId = UUID.randomUUID();
+        TenantContextHolder.setTenantId(orgId);
+        try {
+            // Four hot orders; page 2 of size 3 starts at 6, two past the hot orders
+            when(ordersRepository.findAll(any(Pageable.class)))
+                    .thenReturn(new PageImpl<>(List.of(), PageRequest.of(2, 3), 4));
+            when(orderArchive.countOrders(orgId)).thenReturn(10L);
+            when(orderArchive.findOrders(orgId, 2, 3)).thenReturn(List.of(orderDTO));
+
+            Page<OrderDTO> result = orderService.getAllOrders(PageRequest.of(2, 3));
+
+            assertEquals(1, result.getContent().size());
+            assertEquals(14, result.getTotalElements());
+        } finally {
+            TenantContextHolder.clear();
+        }
+    }
+
     // -------------------------------------------------------------------------
     // getOrderById (admin single-order path)
     // -------------------------------------------------------------------------
@@ -298,6 +579,95 @@ class OrderServiceImplTest {
         assertThrows(OrderNotFoundException.class, () -> orderService.getOrderById(orderId));
     }
 
+    // -------------------------------------------------------------------------
+    // createOrders
+    // -------------------------------------------------------------------------
+
+    @Test
+    void createOrders_PlacesFittingOrdersTogetherAndReportsRejections() {
+        OrderDTO first = new OrderDTO(null, null, null, null, null, itemDTOs, null);
+        OrderDTO second = new OrderDTO(null, null, null, null, null, itemDTOs, null);
+        when(orderValidator.validateAndGetCustomer(email)).thenReturn(customer);
+        when(orderValidator.getStatusOrThrow("PENDING")).thenReturn(pendingStatus);
+        OrderInventoryManagerImpl.BulkReservation reserved = new OrderInventoryManagerImpl.BulkReservation(
+                List.of(), null);
+        when(orderInventoryManager.reserveBulk(anyList())).thenReturn(List.of(
+                reserved,
+                new OrderInventoryManagerImpl.BulkReservation(null, "Insufficient stock for item: Test Item")));
+        when(orderInventoryManager.stageBulkLines(eq(reserved), any(Orders.class), anyList())).thenReturn(itemDTOs);
+        when(orderMapper.calculateTotal(itemDTOs)).thenReturn(BigDecimal.valueOf(99.98));
+        when(orderMapper.convertToDTO(any(Orders.class), eq(itemDTOs), any(BigDecimal.class))).thenReturn(orderDTO);
+
+        BulkOrderPlacementResultDTO result = orderService.createOrders(List.of(first, second), email);
+
+        assertEquals(1, result.getCreated());
+        assertEquals(1, result.getFailed());
+        assertSame(orderDTO, result.getResults().get(0).getOrder());
+        assertEquals(1, result.getResults().get(1).getIndex());
+        assertNull(result.getResults().get(1).getOrder());
+        assertTrue(result.getResults().get(1).getError().contains("Insufficient stock"));
+        verify(ordersRepository).saveAll(argThat(orders -> ((List<?>) orders).size() == 1));
+        verify(orderItemRepository).saveAll(anyList());
+        verify(ordersRepository, times(1)).flush();
+        verify(statusHistory, times(1)).recordPlaced(any(), argThat(ids -> ids.size() == 1), eq(1), any());
+        verify(transactionTemplate, times(1)).execute(any());
+        verify(eventPublisher, times(1)).publishEvent(any(EmailDispatchEvent.class));
+    }
+
+    @Test
+    void createOrders_OrderRepeatingAnItem_IsRejectedWithoutFailingTheOthers() {
+        List<OrderItemDTO> repeated = List.of(orderItemDTO, orderItemDTO);
+        OrderDTO valid = new OrderDTO(null, null, null, null, null, itemDTOs, null);
+        OrderDTO invalid = new OrderDTO(null, null, null, null, null, repeated, null);
+        when(orderValidator.validateAndGetCustomer(email)).thenReturn(customer);
+        when(orderValidator.getStatusOrThrow("PENDING")).thenReturn(pendingStatus);
+        doThrow(new InvalidOperationException("Item appears more than once in the order"))
+                .when(orderValidator).validateOrderItems(repeated);
+        OrderInventoryManagerImpl.BulkReservation reserved = new OrderInventoryManagerImpl.BulkReservation(
+                List.of(), null);
+        when(orderInventoryManager.reserveBulk(List.of(itemDTOs))).thenReturn(List.of(reserved));
+        when(orderInventoryManager.stageBulkLines(eq(reserved), any(Orders.class), anyList())).thenReturn(itemDTOs);
+        when(orderMapper.calculateTotal(itemDTOs)).thenReturn(BigDecimal.valueOf(99.98));
+        when(orderMapper.convertToDTO(any(Orders.class), eq(itemDTOs), any(BigDecimal.class))).thenReturn(orderDTO);
+
+        BulkOrderPlacementResultDTO result = orderService.createOrders(List.of(invalid, valid), email);
+
+        assertEquals(1, result.getCreated());
+        assertNull(result.getResults().get(0).getOrder());
+        assertTrue(result.getResults().get(0).getError().contains("more than once"));
+        assertSame(orderDTO, result.getResults().get(1).getOrder());
+        verify(transactionTemplate, times(1)).execute(any());
+    }
+
+    @Test
+    void createOrders_EngineOrders_ArePlacedOneAtATime() {
+        OrderDTO request = new OrderDTO(null, null, null, null, null, itemDTOs, null);
+        when(orderValidator.validateAndGetCustomer(email)).thenReturn(customer);
+        when(orderValidator.getStatusOrThrow("PENDING")).thenReturn(pendingStatus);
+        when(orderInventoryManager.reserveBulk(anyList()))
+                .thenReturn(List.of(OrderInventoryManagerImpl.BulkReservation.SOLO));
+        when(ordersRepository.saveAndFlush(any(Orders.class))).thenReturn(order);
+        when(orderInventoryManager.processAndSaveOrderItems(eq(itemDTOs), any(Orders.class)))
+                .thenThrow(new InsufficientStockException("Insufficient stock"));
+
+        BulkOrderPlacementResultDTO result = orderService.createOrders(List.of(request), email);
+
+        assertEquals(0, result.getCreated());
+        assertEquals("Insufficient stock", result.getResults().get(0).getError());
+        verify(orderInventoryManager).processAndSaveOrderItems(eq(itemDTOs), any(Orders.class));
+        verify(transactionTemplate, times(2)).execute(any());
+    }
+
+    @Test
+    void createOrders_OverTheLimit_ThrowsException() {
+        ReflectionTestUtils.setField(orderService, "maxBulkOrders", 1);
+        OrderDTO request = new OrderDTO(null, null, null, null, null, itemDTOs, null);
+
+        assertThrows(InvalidOperationException.class,
+                () -> orderService.createOrders(List.of(request, request), email));
+        verifyNoInteractions(orderInventoryManager);
+    }
+
     // -------------------------------------------------------------------------
     // updateOrderStatus / updateOrdersStatus
     // -------------------------------------------------------------------------
@@ -390,4 +760,190 @@ class OrderServiceImplTest {
         assertTrue(result.getSuccesses().isEmpty());
         assertTrue(result.getFailures().isEmpty());
     }
+
+    @Test
+    void updateOrdersStatus_InParallel_OrdersSharingAnItemRunInOneLaneInRequestOrder() {
+        useParallelBulkUpdates();
+        UUID tenantId = UUID.randomUUID();
+        TenantContextHolder.setTenantId(tenantId);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID alone = UUID.randomUUID();
+        UUID sharedItem = UUID.randomUUID();
+        when(orderItemRepository.findIdsByOrderIdIn(anyList())).thenReturn(List.of(
+                new OrderItem.OrderItemId(first, sharedItem),
+                new OrderItem.OrderItemId(second, sharedItem),
+                new OrderItem.OrderItemId(alone, UUID.randomUUID())));
+
+        Map<UUID, Thread> threads = new ConcurrentHashMap<>();
+        Map<UUID, UUID> tenants = new ConcurrentHashMap<>();
+        List<UUID> sharedLaneOrder = new CopyOnWriteArrayList<>();
+        when(transitionHelper.updateOrderInternal(any(), eq("CONFIRMED"))).thenAnswer(inv -> {
+            UUID id = inv.getArgument(0);
+            threads.put(id, Thread.currentThread());
+            tenants.put(id, TenantContextHolder.getTenantId());
+            if (!id.equals(alone)) {
+                sharedLaneOrder.add(id);
+            }
+            return new OrderDTO(id, customerId, "CONFIRMED", null, null, null, null);
+        });
+
+        try {
+            BulkOrderUpdateResultDTO result = orderService.updateOrdersStatus(List.of(
+                    new BulkOrderStatusUpdateDTO(first, "CONFIRMED"),
+                    new BulkOrderStatusUpdateDTO(alone, "CONFIRMED"),
+                    new BulkOrderStatusUpdateDTO(second, "CONFIRMED")));
+
+            assertEquals(List.of(first, alone, second),
+                    result.getSuccesses().stream().map(OrderDTO::getOrderId).toList());
+            assertEquals(List.of(first, second), sharedLaneOrder);
+            assertEquals(Map.of(first, tenantId, second, tenantId, alone, tenantId), tenants);
+            assertSame(threads.get(first), threads.get(second));
+            assertTrue(threads.get(first).isVirtual());
+        } finally {
+            TenantContextHolder.clear();
+        }
+    }
+
+    @Test
+    void updateOrdersStatus_InParallel_ReportsFailuresInRequestOrder() {
+        useParallelBulkUpdates();
+        when(orderItemRepository.findIdsByOrderIdIn(anyList())).thenReturn(List.of());
+        List<BulkOrderStatusUpdateDTO> updates = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            updates.add(new BulkOrderStatusUpdateDTO(UUID.randomUUID(), i % 3 == 0 ? "INVALID" : "CONFIRMED"));
+        }
+        when(transitionHelper.updateOrderInternal(any(), eq("CONFIRMED")))
+                .thenAnswer(inv -> new OrderDTO(inv.getArgument(0), customerId, "CONFIRMED", null, null, null, null));
+        when(transitionHelper.updateOrderInternal(any(), eq("INVALID")))
+                .thenThrow(new InvalidOperationException("Invalid transition"));
+
+        BulkOrderUpdateResultDTO result = orderService.updateOrdersStatus(updates);
+
+        assertEquals(updates.stream().filter(u -> u.getNewStatus().equals("CONFIRMED"))
+                .map(BulkOrderStatusUpdateDTO::getOrderId).toList(),
+                result.getSuccesses().stream().map(OrderDTO::getOrderId).toList());
+        assertEquals(updates.stream().filter(u -> u.getNewStatus().equals("INVALID"))
+                .map(BulkOrderStatusUpdateDTO::getOrderId).toList(),
+                result.getFailures().stream().map(BulkOrderFailureDTO::getOrderId).toList());
+    }
+
+    @Test
+    void updateOrdersStatus_ConcurrencyOne_RunsOnTheCallerWithoutGroupingLanes() {
+        ReflectionTestUtils.setField(orderService, "bulkStatusConcurrency", 1);
+        ReflectionTestUtils.setField(orderService, "connectionPoolSize", 50);
+        Thread caller = Thread.currentThread();
+        when(transitionHelper.updateOrderInternal(any(), eq("CONFIRMED"))).thenAnswer(inv -> {
+            assertSame(caller, Thread.currentThread());
+            return new OrderDTO(inv.getArgument(0), customerId, "CONFIRMED", null, null, null, null);
+        });
+
+        BulkOrderUpdateResultDTO result = orderService.updateOrdersStatus(List.of(
+                new BulkOrderStatusUpdateDTO(UUID.randomUUID(), "CONFIRMED"),
+                new BulkOrderStatusUpdateDTO(UUID.randomUUID(), "CONFIRMED")));
+
+        assertEquals(2, result.getSuccesses().size());
+        verify(orderItemRepository, never()).findIdsByOrderIdIn(anyList());
+    }
+
+    @Test
+    void updateOrdersStatus_SetBased_MovesEachTransitionGroupWithOneCall() {
+        ReflectionTestUtils.setField(orderService, "setBasedStatusUpdates", true);
+        UUID pendingA = UUID.randomUUID();
+        UUID pendingB = UUID.randomUUID();
+        UUID shipped = UUID.randomUUID();
+        when(ordersRepository.findStatusRows(anyList())).thenReturn(List.of(
+                new OrderStatusRowDTO(pendingA, "PENDING"),
+                new OrderStatusRowDTO(pendingB, "PENDING"),
+                new OrderStatusRowDTO(shipped, "SHIPPED")));
+        when(transitionHelper.updateOrdersInternal(anyList(), any(), any())).thenAnswer(inv -> {
+            List<UUID> ids = inv.getArgument(0);
+            OrderStatus next = inv.getArgument(2);
+            Map<UUID, OrderDTO> moved = new HashMap<>();
+            ids.forEach(id -> moved.put(id, new OrderDTO(id, customerId, next.name(), null, null, null, null)));
+            return moved;
+        });
+
+        BulkOrderUpdateResultDTO result = orderService.updateOrdersStatus(List.of(
+                new BulkOrderStatusUpdateDTO(pendingA, "CONFIRMED"),
+                new BulkOrderStatusUpdateDTO(shipped, "delivered"),
+                new BulkOrderStatusUpdateDTO(pendingB, "CONFIRMED")));
+
+        assertEquals(List.of(pendingA, shipped, pendingB),
+                result.getSuccesses().stream().map(OrderDTO::getOrderId).toList());
+        assertTrue(result.getFailures().isEmpty());
+        verify(transitionHelper).updateOrdersInternal(List.of(pendingA, pendingB),
+                OrderStatus.PENDING, OrderStatus.CONFIRMED);
+        verify(transitionHelper).updateOrdersInternal(List.of(shipped), OrderStatus.SHIPPED, OrderStatus.DELIVERED);
+        verify(transitionHelper, never()).updateOrderInternal(any(), any());
+    }
+
+    @Test
+    void updateOrdersStatus_SetBased_LeavesUnmovedRepeatedAndInvalidUpdatesToPerOrderPath() {
+        ReflectionTestUtils.setField(orderService, "setBasedStatusUpdates", true);
+        UUID moved = UUID.randomUUID();
+        UUID stale = UUID.randomUUID();
+        UUID repeated = UUID.randomUUID();
+        UUID unknown = UUID.randomUUID();
+        UUID invalid = UUID.randomUUID();
+        when(ordersRepository.findStatusRows(anyList())).thenReturn(List.of(
+                new OrderStatusRowDTO(moved, "PENDING"),
+                new OrderStatusRowDTO(stale, "PENDING"),
+                new OrderStatusRowDTO(repeated, "PENDING"),
+                new OrderStatusRowDTO(invalid, "PENDING")));
+        // Lenient: the grouping pass also checks PENDING -> CONFIRMED, which is allowed
+        lenient().doThrow(new InvalidOrderTransitionException("Invalid transition"))
+                .when(orderValidator).validateAdminTransition(OrderStatus.PENDING, OrderStatus.DELIVERED);
+        when(transitionHelper.updateOrdersInternal(List.of(moved, stale), OrderStatus.PENDING, OrderStatus.CONFIRMED))
+                .thenReturn(Map.of(moved, new OrderDTO(moved, customerId, "CONFIRMED", null, null, null, null)));
+        when(transitionHelper.updateOrderInternal(any(), any()))
+                .thenAnswer(inv -> new OrderDTO(inv.getArgument(0), customerId, "CONFIRMED", null, null, null, null));
+        when(transitionHelper.updateOrderInternal(unknown, "CONFIRMED"))
+                .thenThrow(new OrderNotFoundException("Order not found: " + unknown));
+
+        BulkOrderUpdateResultDTO result = orderService.updateOrdersStatus(List.of(
+                new BulkOrderStatusUpdateDTO(moved, "CONFIRMED"),
+                new BulkOrderStatusUpdateDTO(stale, "CONFIRMED"),
+                new BulkOrderStatusUpdateDTO(repeated, "CONFIRMED"),
+                new BulkOrderStatusUpdateDTO(unknown, "CONFIRMED"),
+                new BulkOrderStatusUpdateDTO(repeated, "CANCELLED"),
+                new BulkOrderStatusUpdateDTO(invalid, "DELIVERED")));
+
+        assertEquals(List.of(moved, stale, repeated, repeated, invalid),
+                result.getSuccesses().stream().map(OrderDTO::getOrderId).toList());
+        assertEquals(List.of(unknown), result.getFailures().stream().map(BulkOrderFailureDTO::getOrderId).toList());
+        verify(transitionHelper, never()).updateOrderInternal(eq(moved), any());
+        verify(transitionHelper).updateOrderInternal(stale, "CONFIRMED");
+        verify(transitionHelper).updateOrderInternal(repeated, "CONFIRMED");
+        verify(transitionHelper).updateOrderInternal(repeated, "CANCELLED");
+        verify(transitionHelper).updateOrderInternal(invalid, "DELIVERED");
+    }
+
+    @Test
+    void updateOrdersStatus_SetBased_WhenGroupRollsBack_UpdatesItsOrdersOneByOne() {
+        ReflectionTestUtils.setField(orderService, "setBasedStatusUpdates", true);
+        UUID healthy = UUID.randomUUID();
+        UUID broken = UUID.randomUUID();
+        when(ordersRepository.findStatusRows(anyList())).thenReturn(List.of(
+                new OrderStatusRowDTO(healthy, "CONFIRMED"),
+                new OrderStatusRowDTO(broken, "CONFIRMED")));
+        when(transitionHelper.updateOrdersInternal(anyList(), eq(OrderStatus.CONFIRMED), eq(OrderStatus.CANCELLED)))
+                .thenThrow(new InvalidOperationException("Stock inconsistency"));
+        when(transitionHelper.updateOrderInternal(healthy, "CANCELLED"))
+                .thenReturn(new OrderDTO(healthy, customerId, "CANCELLED", null, null, null, null));
+        when(transitionHelper.updateOrderInternal(broken, "CANCELLED"))
+                .thenThrow(new InvalidOperationException("Stock inconsistency"));
+
+        BulkOrderUpdateResultDTO result = orderService.updateOrdersStatus(List.of(
+                new BulkOrderStatusUpdateDTO(healthy, "CANCELLED"),
+                new BulkOrderStatusUpdateDTO(broken, "CANCELLED")));
+
+        assertEquals(List.of(healthy), result.getSuccesses().stream().map(OrderDTO::getOrderId).toList());
+        assertEquals(List.of(broken), result.getFailures().stream().map(BulkOrderFailureDTO::getOrderId).toList());
+    }
+
+    private void useParallelBulkUpdates() {
+        ReflectionTestUtils.setField(orderService, "bulkStatusConcurrency", 8);
+        ReflectionTestUtils.setField(orderService, "connectionPoolSize", 50);
+    }
 }
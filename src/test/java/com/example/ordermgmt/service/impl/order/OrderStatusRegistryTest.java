@@ -0,0 +1,66 @@
+package com.example.ordermgmt.service.impl.order;
+
+import com.example.ordermgmt.entity.OrderStatusLookup;
+import com.example.ordermgmt.enums.OrderStatus;
+import com.example.ordermgmt.repository.OrderStatusLookupRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrderStatusRegistryTest {
+
+    @Mock
+    private OrderStatusLookupRepository statusRepository;
+
+    @InjectMocks
+    private OrderStatusRegistry statusRegistry;
+
+    @Test
+    void find_AfterStartup_ResolvesStatusesWithoutQueries() {
+        OrderStatusLookup pending = status(1, "PENDING");
+        OrderStatusLookup cancelled = status(6, "CANCELLED");
+        when(statusRepository.findAll()).thenReturn(List.of(pending, cancelled));
+        statusRegistry.loadStatuses();
+
+        for (int i = 0; i < 100; i++) {
+            assertSame(pending, statusRegistry.find("PENDING").orElseThrow());
+            assertSame(cancelled, statusRegistry.find(OrderStatus.CANCELLED).orElseThrow());
+        }
+
+        verify(statusRepository, times(1)).findAll();
+    }
+
+    @Test
+    void find_StatusSeededAfterStartup_IsPickedUpByReload() {
+        OrderStatusLookup confirmed = status(2, "CONFIRMED");
+        when(statusRepository.findAll()).thenReturn(List.of(), List.of(confirmed));
+        statusRegistry.loadStatuses();
+
+        assertSame(confirmed, statusRegistry.find("CONFIRMED").orElseThrow());
+        assertSame(confirmed, statusRegistry.find("CONFIRMED").orElseThrow());
+
+        verify(statusRepository, times(2)).findAll();
+    }
+
+    @Test
+    void find_UnknownName_IsEmptyWithoutQuery() {
+        assertTrue(statusRegistry.find("LOST").isEmpty());
+    }
+
+    private static OrderStatusLookup status(int statusId, String statusName) {
+        OrderStatusLookup status = new OrderStatusLookup();
+        status.setStatusId(statusId);
+        status.setStatusName(statusName);
+        return status;
+    }
+}
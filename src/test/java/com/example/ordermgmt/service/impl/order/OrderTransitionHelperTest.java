@@ -9,7 +9,11 @@ import com.example.ordermgmt.enums.OrderStatus;
 import com.example.ordermgmt.event.EmailDispatchEvent;
 import com.example.ordermgmt.exception.InvalidOrderTransitionException;
 import com.example.ordermgmt.exception.OrderNotFoundException;
+import com.example.ordermgmt.repository.OrderItemRepository;
 import com.example.ordermgmt.repository.OrdersRepository;
+import com.example.ordermgmt.service.impl.lock.LockAcquisitionPolicies;
+import com.example.ordermgmt.service.impl.lock.LockPolicy;
+import com.example.ordermgmt.service.impl.lock.LockSite;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -20,11 +24,17 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -45,6 +55,18 @@ class OrderTransitionHelperTest {
     @Mock
     private ApplicationEventPublisher eventPublisher;
 
+    @Mock
+    private LockAcquisitionPolicies lockPolicies;
+
+    @Mock
+    private OrderItemRepository orderItemRepository;
+
+    @Mock
+    private OrderTransitionStatements transitionStatements;
+
+    @Mock
+    private OrderStatusHistoryStatements statusHistory;
+
     @InjectMocks
     private OrderTransitionHelper orderTransitionHelper;
 
@@ -61,6 +83,15 @@ class OrderTransitionHelperTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(lockPolicies.acquire(any(), any()))
+                .thenAnswer(inv -> ((Supplier<?>) inv.getArgument(1)).get());
+        lenient().when(lockPolicies.withRetry(any(), any()))
+                .thenAnswer(inv -> ((Supplier<?>) inv.getArgument(1)).get());
+        lenient().when(orderValidator.validateAdminTransition(any(), any()))
+                .thenAnswer(inv -> OrderWorkflow.DEFAULT.transition(inv.getArgument(0), inv.getArgument(1)));
+        lenient().when(orderValidator.cancellationOf(any()))
+                .thenAnswer(inv -> OrderWorkflow.DEFAULT.transition(inv.getArgument(0), OrderStatus.CANCELLED));
+
         orderId = UUID.randomUUID();
         customerId = UUID.randomUUID();
         orgId = UUID.randomUUID();
@@ -76,12 +107,15 @@ class OrderTransitionHelperTest {
         customer.setOrgId(orgId);
 
         pendingStatus = new OrderStatusLookup();
+        pendingStatus.setStatusId(1);
         pendingStatus.setStatusName("PENDING");
 
         confirmedStatus = new OrderStatusLookup();
+        confirmedStatus.setStatusId(2);
         confirmedStatus.setStatusName("CONFIRMED");
 
         cancelledStatus = new OrderStatusLookup();
+        cancelledStatus.setStatusId(6);
         cancelledStatus.setStatusName("CANCELLED");
 
         order = new Orders();
@@ -97,9 +131,8 @@ class OrderTransitionHelperTest {
     @Test
     void updateOrderInternal_WithValidTransition_UpdatesSuccessfully() {
         when(ordersRepository.findByIdWithLock(orderId)).thenReturn(Optional.of(order));
-        doNothing().when(orderValidator).validateAdminTransition(OrderStatus.PENDING, OrderStatus.CONFIRMED);
         when(orderValidator.getStatusOrThrow("CONFIRMED")).thenReturn(confirmedStatus);
-        doNothing().when(orderInventoryManager).handleInventoryUpdate(order, OrderStatus.PENDING, OrderStatus.CONFIRMED);
+        doNothing().when(orderInventoryManager).handleInventoryUpdate(order, InventoryAction.NONE);
         when(orderMapper.convertToDTO(order)).thenReturn(orderDTO);
 
         OrderDTO result = orderTransitionHelper.updateOrderInternal(orderId, "CONFIRMED");
@@ -108,6 +141,7 @@ class OrderTransitionHelperTest {
         assertEquals(orderId, result.getOrderId());
         assertEquals(confirmedStatus, order.getStatus());
         verify(ordersRepository).save(order);
+        verify(statusHistory).recordTransitions(eq(List.of(orderId)), eq(1), eq(2), any());
         verify(eventPublisher).publishEvent(any(EmailDispatchEvent.class));
     }
 
@@ -119,7 +153,7 @@ class OrderTransitionHelperTest {
                 orderTransitionHelper.updateOrderInternal(orderId, "CONFIRMED"));
         
         verify(orderValidator, never()).validateAdminTransition(any(), any());
-        verify(orderInventoryManager, never()).handleInventoryUpdate(any(), any(), any());
+        verify(orderInventoryManager, never()).handleInventoryUpdate(any(), any());
         verify(eventPublisher, never()).publishEvent(any());
     }
 
@@ -132,17 +166,17 @@ class OrderTransitionHelperTest {
         assertThrows(InvalidOrderTransitionException.class, () ->
                 orderTransitionHelper.updateOrderInternal(orderId, "SHIPPED"));
         
-        verify(orderInventoryManager, never()).handleInventoryUpdate(any(), any(), any());
+        verify(orderInventoryManager, never()).handleInventoryUpdate(any(), any());
         verify(ordersRepository, never()).save(any());
+        verifyNoInteractions(statusHistory);
         verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
     void updateOrderInternal_TrimsAndUpperCasesStatus() {
         when(ordersRepository.findByIdWithLock(orderId)).thenReturn(Optional.of(order));
-        doNothing().when(orderValidator).validateAdminTransition(OrderStatus.PENDING, OrderStatus.CONFIRMED);
         when(orderValidator.getStatusOrThrow("CONFIRMED")).thenReturn(confirmedStatus);
-        doNothing().when(orderInventoryManager).handleInventoryUpdate(order, OrderStatus.PENDING, OrderStatus.CONFIRMED);
+        doNothing().when(orderInventoryManager).handleInventoryUpdate(order, InventoryAction.NONE);
         when(orderMapper.convertToDTO(order)).thenReturn(orderDTO);
 
         orderTransitionHelper.updateOrderInternal(orderId, "  confirmed  ");
@@ -157,9 +191,8 @@ class OrderTransitionHelperTest {
         customer.setLastName(null);
 
         when(ordersRepository.findByIdWithLock(orderId)).thenReturn(Optional.of(order));
-        doNothing().when(orderValidator).validateAdminTransition(OrderStatus.PENDING, OrderStatus.CONFIRMED);
         when(orderValidator.getStatusOrThrow("CONFIRMED")).thenReturn(confirmedStatus);
-        doNothing().when(orderInventoryManager).handleInventoryUpdate(order, OrderStatus.PENDING, OrderStatus.CONFIRMED);
+        doNothing().when(orderInventoryManager).handleInventoryUpdate(order, InventoryAction.NONE);
         when(orderMapper.convertToDTO(order)).thenReturn(orderDTO);
 
         orderTransitionHelper.updateOrderInternal(orderId, "CONFIRMED");
@@ -172,15 +205,38 @@ class OrderTransitionHelperTest {
         assertEquals(orgId, event.orgId());
     }
 
+    @Test
+    void updateOrderInternal_WithTenantWorkflow_AppliesItsStockMoveAndTemplate() {
+        order.setStatus(confirmedStatus);
+        when(ordersRepository.findByIdWithLock(orderId)).thenReturn(Optional.of(order));
+        when(orderValidator.validateAdminTransition(OrderStatus.CONFIRMED, OrderStatus.SHIPPED))
+                .thenReturn(new StatusTransition(OrderStatus.CONFIRMED, OrderStatus.SHIPPED, InventoryAction.FULFIL,
+                        "order-receipt"));
+        OrderStatusLookup shippedStatus = new OrderStatusLookup();
+        shippedStatus.setStatusId(4);
+        shippedStatus.setStatusName("SHIPPED");
+        when(orderValidator.getStatusOrThrow("SHIPPED")).thenReturn(shippedStatus);
+        when(orderMapper.convertToDTO(order)).thenReturn(orderDTO);
+
+        orderTransitionHelper.updateOrderInternal(orderId, "SHIPPED");
+
+        verify(orderInventoryManager).handleInventoryUpdate(order, InventoryAction.FULFIL);
+        ArgumentCaptor<EmailDispatchEvent> eventCaptor = ArgumentCaptor.forClass(EmailDispatchEvent.class);
+        verify(eventPublisher).publishEvent(eventCaptor.capture());
+        assertEquals("order-receipt", eventCaptor.getValue().templateName());
+        assertEquals("SHIPPED", eventCaptor.getValue().templateData().get("status"));
+    }
+
     @Test
     void cancelStalePendingOrder_WithPendingOrder_CancelsSuccessfully() {
         when(ordersRepository.findByIdWithLock(orderId)).thenReturn(Optional.of(order));
         when(orderValidator.getStatusOrThrow("CANCELLED")).thenReturn(cancelledStatus);
 
-        orderTransitionHelper.cancelStalePendingOrder(orderId);
+        assertTrue(orderTransitionHelper.cancelStalePendingOrder(orderId));
 
         assertEquals(cancelledStatus, order.getStatus());
         verify(ordersRepository).save(order);
+        verify(statusHistory).recordTransitions(eq(List.of(orderId)), eq(1), eq(6), any());
         verify(eventPublisher).publishEvent(any(EmailDispatchEvent.class));
     }
 
@@ -190,7 +246,7 @@ class OrderTransitionHelperTest {
         
         when(ordersRepository.findByIdWithLock(orderId)).thenReturn(Optional.of(order));
 
-        orderTransitionHelper.cancelStalePendingOrder(orderId);
+        assertFalse(orderTransitionHelper.cancelStalePendingOrder(orderId));
 
         assertEquals(confirmedStatus, order.getStatus()); // unchanged
         verify(ordersRepository, never()).save(any());
@@ -208,6 +264,33 @@ class OrderTransitionHelperTest {
         verify(eventPublisher, never()).publishEvent(any());
     }
 
+    @Test
+    void cancelStalePendingOrder_WithSkipLocked_SkipsOrderHeldElsewhere() {
+        when(lockPolicies.modeOf(LockSite.AUTO_CANCEL)).thenReturn(LockPolicy.Mode.SKIP_LOCKED);
+        when(ordersRepository.findByIdWithLockSkipLocked(orderId)).thenReturn(Optional.empty());
+
+        orderTransitionHelper.cancelStalePendingOrder(orderId);
+
+        verify(lockPolicies).applyTimeout(LockSite.AUTO_CANCEL);
+        verify(lockPolicies).recordSkipped(LockSite.AUTO_CANCEL);
+        verify(ordersRepository, never()).findByIdWithLock(any());
+        verify(orderInventoryManager, never()).handleInventoryUpdate(any(), any());
+        verify(ordersRepository, never()).save(any());
+    }
+
+    @Test
+    void updateOrderInternal_WithNoWait_UsesNoWaitLock() {
+        when(lockPolicies.modeOf(LockSite.STATUS_UPDATE)).thenReturn(LockPolicy.Mode.NOWAIT);
+        when(ordersRepository.findByIdWithLockNoWait(orderId)).thenReturn(Optional.of(order));
+        when(orderValidator.getStatusOrThrow("CONFIRMED")).thenReturn(confirmedStatus);
+        when(orderMapper.convertToDTO(order)).thenReturn(orderDTO);
+
+        orderTransitionHelper.updateOrderInternal(orderId, "CONFIRMED");
+
+        verify(ordersRepository, never()).findByIdWithLock(any());
+        verify(ordersRepository).save(order);
+    }
+
     @Test
     void cancelStalePendingOrder_WithNullCustomerName_UsesEmail() {
         customer.setFirstName(null);
@@ -241,4 +324,116 @@ class OrderTransitionHelperTest {
         EmailDispatchEvent event = eventCaptor.getValue();
         assertEquals("customer@example.com", event.recipientEmail());
     }
+
+    @Test
+    void updateOrdersInternal_MovesGroupWithOneStatementAndReturnsOnlyMovedOrders() {
+        UUID staleId = UUID.randomUUID();
+        order.setStatus(confirmedStatus);
+        when(orderValidator.getStatusOrThrow("PENDING")).thenReturn(pendingStatus);
+        when(orderValidator.getStatusOrThrow("CONFIRMED")).thenReturn(confirmedStatus);
+        when(transitionStatements.transition(eq(List.of(orderId, staleId)), eq(1), eq(2), any()))
+                .thenReturn(List.of(orderId));
+        when(orderItemRepository.findByOrderOrderIdIn(List.of(orderId))).thenReturn(List.of());
+        when(ordersRepository.findAllWithCustomerByOrderIdIn(List.of(orderId))).thenReturn(List.of(order));
+        when(orderMapper.convertToDTO(eq(order), anyMap())).thenReturn(orderDTO);
+
+        Map<UUID, OrderDTO> results = orderTransitionHelper.updateOrdersInternal(List.of(orderId, staleId),
+                OrderStatus.PENDING, OrderStatus.CONFIRMED);
+
+        assertEquals(Map.of(orderId, orderDTO), results);
+        verify(lockPolicies).applyTimeout(LockSite.STATUS_UPDATE);
+        // History is written for the moved orders only, in one statement
+        verify(statusHistory).recordTransitions(eq(List.of(orderId)), eq(1), eq(2), any());
+        verify(orderInventoryManager, never()).handleInventoryUpdates(any(), any());
+        verify(ordersRepository, never()).findByIdWithLock(any());
+        verify(ordersRepository, never()).save(any());
+        verify(eventPublisher, times(1)).publishEvent(any(EmailDispatchEvent.class));
+    }
+
+    @Test
+    void updateOrdersInternal_Cancelled_MovesStockOfMovedOrdersOnly() {
+        UUID staleId = UUID.randomUUID();
+        when(orderInventoryManager.movesStockInPlace(List.of(orderId, staleId))).thenReturn(true);
+        when(orderValidator.getStatusOrThrow("PENDING")).thenReturn(pendingStatus);
+        when(orderValidator.getStatusOrThrow("CANCELLED")).thenReturn(cancelledStatus);
+        when(transitionStatements.transition(eq(List.of(orderId, staleId)), eq(1), eq(6), any()))
+                .thenReturn(List.of(orderId));
+        when(ordersRepository.findAllWithCustomerByOrderIdIn(List.of(orderId))).thenReturn(List.of(order));
+
+        orderTransitionHelper.updateOrdersInternal(List.of(orderId, staleId), OrderStatus.PENDING,
+                OrderStatus.CANCELLED);
+
+        verify(orderInventoryManager).handleInventoryUpdates(List.of(orderId), InventoryAction.RELEASE);
+    }
+
+    @Test
+    void updateOrdersInternal_WithEngineRoutedStock_MovesNothing() {
+        when(orderInventoryManager.movesStockInPlace(List.of(orderId))).thenReturn(false);
+
+        Map<UUID, OrderDTO> results = orderTransitionHelper.updateOrdersInternal(List.of(orderId),
+                OrderStatus.CONFIRMED, OrderStatus.CANCELLED);
+
+        assertTrue(results.isEmpty());
+        verifyNoInteractions(transitionStatements);
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void updateOrdersInternal_WithInvalidTransition_ThrowsBeforeTouchingOrders() {
+        doThrow(new InvalidOrderTransitionException("Invalid transition"))
+                .when(orderValidator).validateAdminTransition(OrderStatus.PENDING, OrderStatus.SHIPPED);
+
+        assertThrows(InvalidOrderTransitionException.class, () ->
+                orderTransitionHelper.updateOrdersInternal(List.of(orderId), OrderStatus.PENDING,
+                        OrderStatus.SHIPPED));
+
+        verifyNoInteractions(transitionStatements);
+    }
+
+    @Test
+    void cancelStalePendingOrders_ClaimsChunkAndCancelsClaimedOrdersSetBased() {
+        UUID heldId = UUID.randomUUID();
+        when(orderValidator.getStatusOrThrow("PENDING")).thenReturn(pendingStatus);
+        when(orderValidator.getStatusOrThrow("CANCELLED")).thenReturn(cancelledStatus);
+        when(transitionStatements.claim(List.of(orderId, heldId), 1)).thenReturn(List.of(orderId));
+        when(orderInventoryManager.movesStockInPlace(List.of(orderId))).thenReturn(true);
+        when(ordersRepository.findAllWithCustomerByOrderIdIn(List.of(orderId))).thenReturn(List.of(order));
+
+        List<UUID> cancelled = orderTransitionHelper.cancelStalePendingOrders(List.of(orderId, heldId));
+
+        assertEquals(List.of(orderId), cancelled);
+        verify(lockPolicies).applyTimeout(LockSite.AUTO_CANCEL);
+        verify(transitionStatements).transition(eq(List.of(orderId)), eq(1), eq(6), any());
+        verify(statusHistory).recordTransitions(eq(List.of(orderId)), eq(1), eq(6), any());
+        verify(orderInventoryManager).handleInventoryUpdates(List.of(orderId), InventoryAction.RELEASE);
+        verify(ordersRepository, never()).saveAll(any());
+        verify(eventPublisher, times(1)).publishEvent(any(EmailDispatchEvent.class));
+    }
+
+    @Test
+    void cancelStalePendingOrders_WithEngineRoutedStock_CancelsClaimedOrdersThroughEntities() {
+        when(orderValidator.getStatusOrThrow("PENDING")).thenReturn(pendingStatus);
+        when(orderValidator.getStatusOrThrow("CANCELLED")).thenReturn(cancelledStatus);
+        when(transitionStatements.claim(List.of(orderId), 1)).thenReturn(List.of(orderId));
+        when(orderInventoryManager.movesStockInPlace(List.of(orderId))).thenReturn(false);
+        when(ordersRepository.findAllWithCustomerByOrderIdIn(List.of(orderId))).thenReturn(List.of(order));
+
+        orderTransitionHelper.cancelStalePendingOrders(List.of(orderId));
+
+        verify(orderInventoryManager).handleInventoryUpdate(order, InventoryAction.RELEASE);
+        assertEquals(cancelledStatus, order.getStatus());
+        verify(ordersRepository).saveAll(List.of(order));
+        verify(transitionStatements, never()).transition(any(), anyInt(), anyInt(), any());
+    }
+
+    @Test
+    void cancelStalePendingOrders_WhenEveryOrderIsHeldElsewhere_CancelsNothing() {
+        when(orderValidator.getStatusOrThrow("PENDING")).thenReturn(pendingStatus);
+        when(orderValidator.getStatusOrThrow("CANCELLED")).thenReturn(cancelledStatus);
+        when(transitionStatements.claim(List.of(orderId), 1)).thenReturn(List.of());
+
+        assertTrue(orderTransitionHelper.cancelStalePendingOrders(List.of(orderId)).isEmpty());
+
+        verifyNoInteractions(orderInventoryManager, eventPublisher, statusHistory);
+    }
 }
@@ -1,5 +1,6 @@
 package com.example.ordermgmt.service.impl.order;
 
+import com.example.ordermgmt.dto.OrderItemDTO;
 import com.example.ordermgmt.entity.AppUser;
 import com.example.ordermgmt.entity.Customer;
 import com.example.ordermgmt.entity.Orders;
@@ -8,18 +9,27 @@ import com.example.ordermgmt.enums.OrderStatus;
 import com.example.ordermgmt.exception.InvalidOperationException;
 import com.example.ordermgmt.exception.InvalidOrderTransitionException;
 import com.example.ordermgmt.repository.CustomerRepository;
-import com.example.ordermgmt.repository.OrderStatusLookupRepository;
+import com.example.ordermgmt.security.UserPrincipal;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,7 +39,10 @@ class OrderValidatorImplTest {
     private CustomerRepository customerRepository;
 
     @Mock
-    private OrderStatusLookupRepository statusRepository;
+    private OrderStatusRegistry statusRegistry;
+
+    @Spy
+    private OrderWorkflowRegistry workflows = new OrderWorkflowRegistry(new MockEnvironment());
 
     @InjectMocks
     private OrderValidatorImpl orderValidator;
@@ -67,6 +80,11 @@ class OrderValidatorImplTest {
         order.setStatus(statusLookup);
     }
 
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
     @Test
     void validateAndGetCustomer_WithExistingEmail_ReturnsCustomer() {
         when(customerRepository.findByAppUserEmail(email)).thenReturn(Optional.of(customer));
@@ -118,6 +136,23 @@ class OrderValidatorImplTest {
                 orderValidator.validateCustomerProfile(customer));
     }
 
+    @Test
+    void validateOrderItems_WithDistinctItems_DoesNothing() {
+        List<OrderItemDTO> items = List.of(new OrderItemDTO(UUID.randomUUID(), null, 1, null, null),
+                new OrderItemDTO(UUID.randomUUID(), null, 2, null, null));
+        assertDoesNotThrow(() -> orderValidator.validateOrderItems(items));
+    }
+
+    @Test
+    void validateOrderItems_WithRepeatedItem_ThrowsException() {
+        UUID itemId = UUID.randomUUID();
+        List<OrderItemDTO> items = List.of(new OrderItemDTO(itemId, null, 1, null, null),
+                new OrderItemDTO(itemId, null, 2, null, null));
+        InvalidOperationException ex = assertThrows(InvalidOperationException.class, () ->
+                orderValidator.validateOrderItems(items));
+        assertTrue(ex.getMessage().contains(itemId.toString()));
+    }
+
     @Test
     void validateOrderOwnership_WithCorrectOwner_DoesNothing() {
         assertDoesNotThrow(() -> orderValidator.validateOrderOwnership(order, email));
@@ -219,9 +254,17 @@ class OrderValidatorImplTest {
                 orderValidator.validateAdminTransition(OrderStatus.DELIVERED, OrderStatus.CANCELLED));
     }
 
+    @Test
+    void validateAdminTransition_ReturnsTheTransitionsStockMove() {
+        assertEquals(InventoryAction.FULFIL,
+                orderValidator.validateAdminTransition(OrderStatus.SHIPPED, OrderStatus.DELIVERED).inventoryAction());
+        assertEquals(InventoryAction.NONE,
+                orderValidator.validateAdminTransition(OrderStatus.PENDING, OrderStatus.CONFIRMED).inventoryAction());
+    }
+
     @Test
     void getStatusOrThrow_WithExistingStatus_ReturnsStatus() {
-        when(statusRepository.findByStatusName("PENDING")).thenReturn(Optional.of(statusLookup));
+        when(statusRegistry.find("PENDING")).thenReturn(Optional.of(statusLookup));
 
         OrderStatusLookup result = orderValidator.getStatusOrThrow("PENDING");
 
@@ -231,7 +274,7 @@ class OrderValidatorImplTest {
 
     @Test
     void getStatusOrThrow_WithNonExistingStatus_ThrowsException() {
-        when(statusRepository.findByStatusName("INVALID")).thenReturn(Optional.empty());
+        when(statusRegistry.find("INVALID")).thenReturn(Optional.empty());
 
         assertThrows(InvalidOperationException.class, () ->
                 orderValidator.getStatusOrThrow("INVALID"));
@@ -257,4 +300,32 @@ class OrderValidatorImplTest {
         assertThrows(NullPointerException.class, () ->
                 orderValidator.validateOrderCancellation(order));
     }
+
+    @Test
+    void validateAndGetCustomer_WithCustomerIdClaim_LooksUpByPrimaryKey() {
+        authenticate(customerId);
+        when(customerRepository.findById(customerId)).thenReturn(Optional.of(customer));
+
+        Customer result = orderValidator.validateAndGetCustomer("TEST@example.com");
+
+        assertEquals(customerId, result.getCustomerId());
+        verify(customerRepository, never()).findByAppUserEmail(anyString());
+    }
+
+    @Test
+    void validateOrderOwnership_WithCustomerIdClaim_ComparesCustomerIds() {
+        authenticate(customerId);
+        order.getCustomer().setAppUser(null);
+
+        assertDoesNotThrow(() -> orderValidator.validateOrderOwnership(order, email));
+
+        authenticate(UUID.randomUUID());
+        assertThrows(InvalidOperationException.class, () -> orderValidator.validateOrderOwnership(order, email));
+    }
+
+    private void authenticate(UUID principalCustomerId) {
+        UserPrincipal principal = new UserPrincipal(email, "CUSTOMER", null, UUID.randomUUID(), principalCustomerId);
+        SecurityContextHolder.getContext()
+                .setAuthentication(new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+    }
 }
@@ -0,0 +1,70 @@
+package com.example.ordermgmt.service.impl.order;
+
+import com.example.ordermgmt.enums.OrderStatus;
+import com.example.ordermgmt.security.TenantContextHolder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderWorkflowRegistryTest {
+
+    private final UUID orgId = UUID.randomUUID();
+
+    @AfterEach
+    void tearDown() {
+        TenantContextHolder.clear();
+    }
+
+    @Test
+    void workflow_TenantWithOverride_GetsItsOwnMatrix() {
+        OrderWorkflowRegistry registry = registry(new MockEnvironment()
+                .withProperty("app.order.workflow.tenants." + orgId, "PENDING>SHIPPED,SHIPPED>DELIVERED:FULFIL"));
+
+        TenantContextHolder.setTenantId(orgId);
+        assertNotNull(registry.workflow().transition(OrderStatus.PENDING, OrderStatus.SHIPPED));
+        assertNull(registry.workflow().transition(OrderStatus.PENDING, OrderStatus.CONFIRMED));
+
+        TenantContextHolder.setTenantId(UUID.randomUUID());
+        assertNotNull(registry.workflow().transition(OrderStatus.PENDING, OrderStatus.CONFIRMED));
+        assertNull(registry.workflow().transition(OrderStatus.PENDING, OrderStatus.SHIPPED));
+    }
+
+    @Test
+    void workflow_DefaultSpecFromProperty_AppliesToEveryTenant() {
+        OrderWorkflowRegistry registry = registry(new MockEnvironment()
+                .withProperty("app.order.workflow.transitions", "PENDING>CANCELLED:RELEASE"));
+
+        assertNull(registry.workflowOf(null).transition(OrderStatus.PENDING, OrderStatus.CONFIRMED));
+        assertEquals(1, registry.workflowOf(orgId).size());
+    }
+
+    @Test
+    void cancellation_TenantWithoutCancelEdge_StillReleasesTheReservation() {
+        OrderWorkflowRegistry registry = registry(new MockEnvironment()
+                .withProperty("app.order.workflow.tenants." + orgId, "PENDING>CONFIRMED"));
+        TenantContextHolder.setTenantId(orgId);
+
+        StatusTransition cancellation = registry.cancellation(OrderStatus.PENDING);
+
+        assertEquals(OrderStatus.CANCELLED, cancellation.to());
+        assertEquals(InventoryAction.RELEASE, cancellation.inventoryAction());
+    }
+
+    @Test
+    void loadWorkflows_WithMissingTemplate_FailsStartup() {
+        OrderWorkflowRegistry registry = new OrderWorkflowRegistry(new MockEnvironment()
+                .withProperty("app.order.workflow.tenants." + orgId, "PENDING>CONFIRMED::order-confirmed"));
+
+        assertThrows(IllegalStateException.class, registry::loadWorkflows);
+    }
+
+    private static OrderWorkflowRegistry registry(MockEnvironment environment) {
+        OrderWorkflowRegistry registry = new OrderWorkflowRegistry(environment);
+        registry.loadWorkflows();
+        return registry;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.ordermgmt.service.impl.order;
+
+import com.example.ordermgmt.enums.OrderStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderWorkflowTest {
+
+    @Test
+    void default_AllowsExactlyTheAdminTransitions() {
+        Set<String> allowed = Set.of("PENDING>CONFIRMED", "PENDING>CANCELLED", "CONFIRMED>PROCESSING",
+                "CONFIRMED>CANCELLED", "PROCESSING>SHIPPED", "PROCESSING>CANCELLED", "SHIPPED>DELIVERED");
+
+        for (OrderStatus from : OrderStatus.values()) {
+            for (OrderStatus to : OrderStatus.values()) {
+                StatusTransition transition = OrderWorkflow.DEFAULT.transition(from, to);
+                assertEquals(allowed.contains(from + ">" + to), transition != null, from + " -> " + to);
+            }
+        }
+        assertEquals(allowed.size(), OrderWorkflow.DEFAULT.size());
+    }
+
+    @Test
+    void default_ReleasesOnCancelAndFulfilsOnDelivery() {
+        assertEquals(InventoryAction.RELEASE,
+                OrderWorkflow.DEFAULT.transition(OrderStatus.PROCESSING, OrderStatus.CANCELLED).inventoryAction());
+        assertEquals(InventoryAction.FULFIL,
+                OrderWorkflow.DEFAULT.transition(OrderStatus.SHIPPED, OrderStatus.DELIVERED).inventoryAction());
+        assertEquals(InventoryAction.NONE,
+                OrderWorkflow.DEFAULT.transition(OrderStatus.PROCESSING, OrderStatus.SHIPPED).inventoryAction());
+        assertEquals(Set.of(OrderWorkflow.DEFAULT_TEMPLATE), OrderWorkflow.DEFAULT.templates());
+    }
+
+    @Test
+    void parse_ReadsActionAndTemplate() {
+        OrderWorkflow workflow = OrderWorkflow.parse(" pending>shipped:fulfil:order-receipt , SHIPPED>DELIVERED ");
+
+        StatusTransition shipped = workflow.transition(OrderStatus.PENDING, OrderStatus.SHIPPED);
+        assertEquals(InventoryAction.FULFIL, shipped.inventoryAction());
+        assertEquals("order-receipt", shipped.template());
+        StatusTransition delivered = workflow.transition(OrderStatus.SHIPPED, OrderStatus.DELIVERED);
+        assertEquals(InventoryAction.NONE, delivered.inventoryAction());
+        assertEquals(OrderWorkflow.DEFAULT_TEMPLATE, delivered.template());
+        assertNull(workflow.transition(OrderStatus.PENDING, OrderStatus.CANCELLED));
+    }
+
+    @Test
+    void parse_RejectsInvalidEntries() {
+        assertThrows(IllegalArgumentException.class, () -> OrderWorkflow.parse("PENDING>LOST"));
+        assertThrows(IllegalArgumentException.class, () -> OrderWorkflow.parse("PENDING>CANCELLED:REFUND"));
+        assertThrows(IllegalArgumentException.class, () -> OrderWorkflow.parse("PENDING>PENDING"));
+        assertThrows(IllegalArgumentException.class, () -> OrderWorkflow.parse("PENDING>CONFIRMED,PENDING>CONFIRMED"));
+        assertThrows(IllegalArgumentException.class, () -> OrderWorkflow.parse("PENDING"));
+    }
+
+    @Test
+    void parse_RejectsTransitionsOutOfTerminalStatuses() {
+        IllegalArgumentException reopen = assertThrows(IllegalArgumentException.class,
+                () -> OrderWorkflow.parse("PENDING>CANCELLED:RELEASE,CANCELLED>CONFIRMED"));
+        assertTrue(reopen.getMessage().contains("CANCELLED>CONFIRMED"));
+        assertThrows(IllegalArgumentException.class, () -> OrderWorkflow.parse("DELIVERED>SHIPPED"));
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.ordermgmt.service.impl.order;
+
+import com.example.ordermgmt.security.TenantContextHolder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PriceSnapshotCacheTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PriceSnapshotCache cache;
+    private UUID tenantId;
+    private UUID itemId;
+    private AtomicInteger loads;
+    private Function<UUID, PriceTimeline> loader;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new PriceSnapshotCache(redisTemplate, meterRegistry);
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "pendingTtlSeconds", 30L);
+        cache.init();
+
+        tenantId = UUID.randomUUID();
+        itemId = UUID.randomUUID();
+        TenantContextHolder.setTenantId(tenantId);
+        loads = new AtomicInteger();
+        loader = id -> PriceTimeline.constant(BigDecimal.valueOf(10 + loads.incrementAndGet()));
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContextHolder.clear();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void open_SameEpoch_ServesSecondLookupFromSnapshot() {
+        epoch("3", null);
+
+        PriceTimeline first = cache.open().timeline(itemId, loader);
+        PriceTimeline second = cache.open().timeline(itemId, loader);
+
+        assertEquals(BigDecimal.valueOf(11), first.priceAt(LocalDateTime.now()));
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1.0, lookups("hit"));
+        assertEquals(1.0, lookups("miss"));
+        assertEquals(1.0, meterRegistry.get("price.snapshot.entries").gauge().value());
+    }
+
+    @Test
+    void open_EpochAdvanced_DropsSnapshot() {
+        epoch("3", null);
+        cache.open().timeline(itemId, loader);
+        epoch("5", null);
+
+        PriceTimeline reloaded = cache.open().timeline(itemId, loader);
+
+        assertEquals(BigDecimal.valueOf(12), reloaded.priceAt(LocalDateTime.now()));
+        assertEquals(2.0, lookups("miss"));
+    }
+
+    @Test
+    void open_WhilePriceChangeIsPending_GoesToTheDatabaseWithoutCaching() {
+        epoch("3", null);
+        cache.open().timeline(itemId, loader);
+        epoch("4", "1");
+
+        cache.open().timeline(itemId, loader);
+        cache.open().timeline(itemId, loader);
+
+        assertEquals(3, loads.get());
+        assertEquals(2.0, lookups("bypass"));
+        assertEquals(0.0, lookups("hit"));
+    }
+
+    @Test
+    void open_RedisUnavailable_GoesToTheDatabase() {
+        when(valueOperations.multiGet(anyList())).thenThrow(new RedisConnectionFailureException("down"));
+
+        cache.open().timeline(itemId, loader);
+        cache.open().timeline(itemId, loader);
+
+        assertEquals(2, loads.get());
+        assertEquals(2.0, lookups("bypass"));
+    }
+
+    @Test
+    void open_SnapshotsAreScopedPerTenant() {
+        epoch("1", null);
+        cache.open().timeline(itemId, loader);
+
+        TenantContextHolder.setTenantId(UUID.randomUUID());
+        cache.open().timeline(itemId, loader);
+
+        assertEquals(2, loads.get());
+        assertEquals(0.0, lookups("hit"));
+    }
+
+    @Test
+    void invalidateOnCommit_MarksPendingBeforeCommitAndReleasesAfterCompletion() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.invalidateOnCommit();
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        assertEquals(1, synchronizations.size());
+        verifyNoInteractions(redisTemplate);
+
+        synchronizations.get(0).beforeCommit(false);
+        synchronizations.get(0).afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+
+        List<String> keys = List.of(PriceSnapshotCache.EPOCH_KEY_PREFIX + tenantId,
+                PriceSnapshotCache.PENDING_KEY_PREFIX + tenantId);
+        verify(redisTemplate).execute(any(RedisScript.class), eq(keys), eq("begin"), eq("30"));
+        verify(redisTemplate).execute(any(RedisScript.class), eq(keys), eq("end"), eq("30"));
+    }
+
+    @Test
+    void invalidateOnCommit_RedisUnavailable_FailsTheCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        cache.invalidateOnCommit();
+        TransactionSynchronization synchronization = TransactionSynchronizationManager.getSynchronizations().get(0);
+
+        assertThrows(RedisConnectionFailureException.class, () -> synchronization.beforeCommit(false));
+        synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        verify(redisTemplate, times(1)).execute(any(RedisScript.class), anyList(), any(Object[].class));
+    }
+
+    @Test
+    void open_Disabled_LoadsDirectly() {
+        ReflectionTestUtils.setField(cache, "enabled", false);
+
+        cache.open().timeline(itemId, loader);
+        cache.open().timeline(itemId, loader);
+
+        assertEquals(2, loads.get());
+        verifyNoInteractions(redisTemplate);
+    }
+
+    private void epoch(String epoch, String pending) {
+        when(valueOperations.multiGet(anyList())).thenReturn(Arrays.asList(epoch, pending));
+    }
+
+    private double lookups(String result) {
+        return meterRegistry.get("price.snapshot.lookups").tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.ordermgmt.service.impl.order;
+
+import com.example.ordermgmt.entity.PricingCatalog;
+import com.example.ordermgmt.entity.PricingHistory;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PriceTimelineTest {
+
+    private static final LocalDateTime JAN = LocalDateTime.of(2026, 1, 1, 0, 0);
+    private static final LocalDateTime FEB = LocalDateTime.of(2026, 2, 1, 0, 0);
+    private static final LocalDateTime MAR = LocalDateTime.of(2026, 3, 1, 0, 0);
+
+    @Test
+    void priceAt_ReturnsLastPriceEffectiveAtOrBeforeTheInstant() {
+        PriceTimeline timeline = PriceTimeline.of(List.of(row(JAN, 10), row(FEB, 12), row(MAR, 15)), null);
+
+        assertNull(timeline.priceAt(JAN.minusSeconds(1)));
+        assertEquals(BigDecimal.valueOf(10), timeline.priceAt(JAN));
+        assertEquals(BigDecimal.valueOf(10), timeline.priceAt(FEB.minusSeconds(1)));
+        assertEquals(BigDecimal.valueOf(12), timeline.priceAt(FEB));
+        assertEquals(BigDecimal.valueOf(15), timeline.priceAt(MAR.plusYears(1)));
+    }
+
+    @Test
+    void of_SortsRowsAndLetsTheLastRecordedWinOnTheSameInstant() {
+        PricingHistory first = row(FEB, 12);
+        first.setCreatedTimestamp(JAN);
+        PricingHistory correction = row(FEB, 11);
+        correction.setCreatedTimestamp(JAN.plusDays(1));
+
+        PriceTimeline timeline = PriceTimeline.of(List.of(correction, row(JAN, 10), first), null);
+
+        assertEquals(2, timeline.size());
+        assertEquals(BigDecimal.valueOf(11), timeline.priceAt(FEB));
+        assertEquals(new PriceTimeline.Entry(JAN, BigDecimal.valueOf(10)), timeline.entryAt(JAN.plusDays(3)).get());
+    }
+
+    @Test
+    void of_WithoutHistory_FallsBackToCatalogPriceAtEveryInstant() {
+        PricingCatalog catalog = new PricingCatalog();
+        catalog.setUnitPrice(BigDecimal.valueOf(7));
+
+        PriceTimeline timeline = PriceTimeline.of(List.of(), catalog);
+
+        assertEquals(BigDecimal.valueOf(7), timeline.priceAt(JAN.minusYears(50)));
+        assertTrue(PriceTimeline.of(List.of(), null).isEmpty());
+        assertTrue(PriceTimeline.of(List.of(), null).entryAt(MAR).isEmpty());
+    }
+
+    private PricingHistory row(LocalDateTime effectiveFrom, long price) {
+        PricingHistory history = new PricingHistory();
+        history.setEffectiveFrom(effectiveFrom);
+        history.setNewPrice(BigDecimal.valueOf(price));
+        return history;
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.ordermgmt.service.impl.order;
+
+import com.example.ordermgmt.entity.InventoryItem;
+import com.example.ordermgmt.exception.InsufficientStockException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ShardedStockReservationEngineTest {
+
+    @Mock
+    private InventoryShardWriter writer;
+
+    @Mock
+    private ConditionalStockReservationEngine conditionalEngine;
+
+    @InjectMocks
+    private ShardedStockReservationEngine engine;
+
+    private UUID firstShardItem;
+    private UUID secondShardItem;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(engine, "shardCount", 2);
+        ReflectionTestUtils.setField(engine, "queueCapacity", 16);
+        ReflectionTestUtils.setField(engine, "maxBatch", 8);
+        ReflectionTestUtils.setField(engine, "timeoutMs", 5000L);
+        engine.startShards();
+
+        firstShardItem = UUID.randomUUID();
+        do {
+            secondShardItem = UUID.randomUUID();
+        } while (engine.shardOf(secondShardItem) == engine.shardOf(firstShardItem));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        engine.stopShards();
+    }
+
+    @Test
+    void reserveAll_SplitsOrderPerShard() {
+        when(writer.reserveBatch(anyList())).thenAnswer(inv -> accepted(inv.getArgument(0)));
+
+        engine.reserveAll(new TreeMap<>(Map.of(firstShardItem, 2, secondShardItem, 3)));
+
+        verify(writer).reserveBatch(List.of(Map.of(firstShardItem, 2)));
+        verify(writer).reserveBatch(List.of(Map.of(secondShardItem, 3)));
+        verify(writer, never()).release(any());
+    }
+
+    @Test
+    void reserveAll_WhenOneShardRejects_ReleasesTheCommittedPart() {
+        when(writer.reserveBatch(anyList())).thenAnswer(inv -> {
+            List<Map<UUID, Integer>> requests = inv.getArgument(0);
+            if (requests.get(0).containsKey(secondShardItem)) {
+                return List.of(new InsufficientStockException("Insufficient stock for item: second"));
+            }
+            return accepted(requests);
+        });
+
+        assertThrows(InsufficientStockException.class, () ->
+                engine.reserveAll(new TreeMap<>(Map.of(firstShardItem, 2, secondShardItem, 3))));
+
+        verify(writer).release(Map.of(firstShardItem, 2));
+        verify(writer, never()).release(Map.of(secondShardItem, 3));
+    }
+
+    @Test
+    void reserveAll_WhenShardCommitFails_PropagatesFailure() {
+        when(writer.reserveBatch(anyList())).thenThrow(new IllegalStateException("connection reset"));
+
+        assertThrows(IllegalStateException.class, () -> engine.reserveAll(Map.of(firstShardItem, 1)));
+        verify(writer, never()).release(any());
+    }
+
+    @Test
+    void release_DelegatesToGuardedUpdate() {
+        InventoryItem item = new InventoryItem();
+        item.setItemId(firstShardItem);
+
+        engine.release(item, 4);
+
+        verify(conditionalEngine).release(item, 4);
+        verifyNoInteractions(writer);
+    }
+
+    private static List<RuntimeException> accepted(List<Map<UUID, Integer>> requests) {
+        List<RuntimeException> outcomes = new ArrayList<>();
+        requests.forEach(r -> outcomes.add(null));
+        return outcomes;
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.ordermgmt.service.impl.order;
+
+import com.example.ordermgmt.dto.OrderCursorDTO;
+import com.example.ordermgmt.exception.InvalidOperationException;
+import com.example.ordermgmt.exception.OrderNotFoundException;
+import com.example.ordermgmt.repository.OrdersRepository;
+import com.example.ordermgmt.repository.OrganizationRepository;
+import com.example.ordermgmt.security.TenantContextHolder;
+import com.example.ordermgmt.service.impl.lock.AdvisoryLockLeases;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StalePendingOrderSweeperTest {
+
+    @Mock
+    private OrganizationRepository organizationRepository;
+
+    @Mock
+    private OrdersRepository ordersRepository;
+
+    @Mock
+    private OrderTransitionHelper transitionHelper;
+
+    @Mock
+    private AdvisoryLockLeases leases;
+
+    private SimpleMeterRegistry meterRegistry;
+    private StalePendingOrderSweeper sweeper;
+    private UUID orgId;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        sweeper = new StalePendingOrderSweeper(organizationRepository, ordersRepository, transitionHelper,
+                leases, meterRegistry);
+        ReflectionTestUtils.setField(sweeper, "staleMinutes", 60);
+        ReflectionTestUtils.setField(sweeper, "chunkSize", 2);
+        ReflectionTestUtils.setField(sweeper, "workers", 2);
+        sweeper.registerMetrics();
+
+        orgId = UUID.randomUUID();
+        lenient().when(organizationRepository.findAllOrgIds()).thenReturn(List.of(orgId));
+        lenient().when(leases.runIfLeased(eq(StalePendingOrderSweeper.LEASE), any(), any())).thenAnswer(inv -> {
+            ((Runnable) inv.getArgument(2)).run();
+            return true;
+        });
+    }
+
+    @Test
+    void sweep_PagesByKeysetAndCancelsEachChunkOnce() {
+        List<OrderCursorDTO> stale = cursors(5);
+        stubPages(stale);
+        Map<UUID, UUID> tenantByOrder = new ConcurrentHashMap<>();
+        when(transitionHelper.cancelStalePendingOrders(anyList())).thenAnswer(inv -> {
+            List<UUID> chunk = inv.getArgument(0);
+            chunk.forEach(id -> tenantByOrder.put(id, TenantContextHolder.getTenantId()));
+            return chunk;
+        });
+
+        int cancelled = sweeper.sweep();
+
+        assertEquals(5, cancelled);
+        // Pages of 2, 2 and 1: the short page ends the sweep without another read
+        verify(transitionHelper, times(3)).cancelStalePendingOrders(anyList());
+        verify(ordersRepository, times(3)).findStalePage(eq("PENDING"), any(), any(), any(), any());
+        assertEquals(5, tenantByOrder.size());
+        assertTrue(tenantByOrder.values().stream().allMatch(orgId::equals), "workers run in the tenant");
+        assertEquals(5.0, meterRegistry.get("order.autocancel.cancelled").counter().count());
+        assertEquals(0.0, meterRegistry.get("order.autocancel.backlog").gauge().value());
+        assertNull(TenantContextHolder.getTenantId());
+    }
+
+    @Test
+    void sweep_WithNothingStale_ReadsNoPage() {
+        when(ordersRepository.countStale(eq("PENDING"), any())).thenReturn(0L);
+
+        assertEquals(0, sweeper.sweep());
+
+        verify(ordersRepository, never()).findStalePage(any(), any(), any(), any(), any());
+        verifyNoInteractions(transitionHelper);
+    }
+
+    @Test
+    void sweep_TenantLeasedByAnotherNode_IsSkipped() {
+        doReturn(false).when(leases).runIfLeased(eq(StalePendingOrderSweeper.LEASE), eq(orgId), any());
+
+        assertEquals(0, sweeper.sweep());
+
+        verifyNoInteractions(ordersRepository, transitionHelper);
+        assertEquals(0.0, meterRegistry.get("order.autocancel.backlog").gauge().value());
+    }
+
+    @Test
+    void sweep_WhenChunkFails_CancelsItsOrdersOneByOne() {
+        List<OrderCursorDTO> stale = cursors(2);
+        stubPages(stale);
+        UUID first = stale.get(0).getOrderId();
+        UUID second = stale.get(1).getOrderId();
+        when(transitionHelper.cancelStalePendingOrders(anyList()))
+                .thenThrow(new InvalidOperationException("Stock inconsistency"));
+        when(transitionHelper.cancelStalePendingOrder(first)).thenThrow(new OrderNotFoundException("missing"));
+        when(transitionHelper.cancelStalePendingOrder(second)).thenReturn(true);
+
+        int cancelled = sweeper.sweep();
+
+        assertEquals(1, cancelled);
+        verify(transitionHelper).cancelStalePendingOrder(first);
+        verify(transitionHelper).cancelStalePendingOrder(second);
+        assertEquals(1.0, meterRegistry.get("order.autocancel.backlog").gauge().value());
+    }
+
+    @Test
+    void sweep_WhenOrderLocksTimeOut_DefersIt() {
+        List<OrderCursorDTO> stale = cursors(2);
+        stubPages(stale);
+        UUID first = stale.get(0).getOrderId();
+        UUID second = stale.get(1).getOrderId();
+        when(transitionHelper.cancelStalePendingOrders(anyList()))
+                .thenThrow(new PessimisticLockingFailureException("lock timeout"));
+        when(transitionHelper.cancelStalePendingOrder(first))
+                .thenThrow(new PessimisticLockingFailureException("lock timeout"));
+        when(transitionHelper.cancelStalePendingOrder(second)).thenReturn(true);
+
+        assertEquals(1, sweeper.sweep());
+
+        assertEquals(1.0, meterRegistry.get("order.autocancel.deferred").counter().count());
+    }
+
+    @Test
+    void sweep_WhenAChunkFailsUnexpectedly_StillSweepsTheOtherTenants() {
+        UUID otherOrgId = UUID.randomUUID();
+        when(organizationRepository.findAllOrgIds()).thenReturn(List.of(orgId, otherOrgId));
+        List<OrderCursorDTO> stale = cursors(1);
+        stubPages(stale);
+        when(transitionHelper.cancelStalePendingOrders(anyList()))
+                .thenThrow(new IllegalStateException("connection reset"))
+                .thenReturn(List.of(stale.get(0).getOrderId()));
+
+        assertEquals(1, sweeper.sweep());
+
+        verify(transitionHelper, times(2)).cancelStalePendingOrders(anyList());
+    }
+
+    // Stale orders in key order, one minute apart
+    private List<OrderCursorDTO> cursors(int count) {
+        LocalDateTime start = LocalDateTime.now().minusDays(1);
+        List<OrderCursorDTO> cursors = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            cursors.add(new OrderCursorDTO(UUID.randomUUID(), start.plusMinutes(i)));
+        }
+        return cursors;
+    }
+
+    // Answers each page from the cursor it is asked to resume after, like the keyset query
+    private void stubPages(List<OrderCursorDTO> stale) {
+        when(ordersRepository.countStale(eq("PENDING"), any())).thenReturn((long) stale.size());
+        when(ordersRepository.findStalePage(eq("PENDING"), any(), any(), any(), any())).thenAnswer(inv -> {
+            LocalDateTime afterTimestamp = inv.getArgument(2);
+            Pageable pageable = inv.getArgument(4);
+            return stale.stream()
+                    .filter(cursor -> cursor.getCreatedTimestamp().isAfter(afterTimestamp))
+                    .limit(pageable.getPageSize())
+                    .toList();
+        });
+    }
+}
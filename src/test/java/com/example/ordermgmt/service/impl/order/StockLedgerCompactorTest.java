@@ -0,0 +1,72 @@
+package com.example.ordermgmt.service.impl.order;
+
+import com.example.ordermgmt.dto.StockLevelDTO;
+import com.example.ordermgmt.repository.InventoryMovementRepository;
+import com.example.ordermgmt.repository.InventoryStockSnapshotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockLedgerCompactorTest {
+
+    @Mock
+    private InventoryStockSnapshotRepository snapshotRepository;
+
+    @Mock
+    private InventoryMovementRepository movementRepository;
+
+    @InjectMocks
+    private StockLedgerCompactor compactor;
+
+    private UUID itemId;
+
+    @BeforeEach
+    void setUp() {
+        itemId = UUID.randomUUID();
+        ReflectionTestUtils.setField(compactor, "batchSize", 500);
+    }
+
+    @Test
+    void compactItem_FoldsPendingBatchIntoSnapshot() {
+        List<UUID> movementIds = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        when(snapshotRepository.lockSnapshot(itemId)).thenReturn(1);
+        when(movementRepository.findPendingMovementIds(itemId, PageRequest.of(0, 500))).thenReturn(movementIds);
+        when(movementRepository.sumDeltas(movementIds)).thenReturn(new StockLevelDTO(itemId, -4L, 1L));
+
+        assertEquals(3, compactor.compactItem(itemId));
+
+        verify(movementRepository).markCompacted(movementIds);
+        verify(snapshotRepository).applyCompaction(itemId, -4, 1);
+    }
+
+    @Test
+    void compactItem_WithoutSnapshot_Skips() {
+        when(snapshotRepository.lockSnapshot(itemId)).thenReturn(0);
+
+        assertEquals(0, compactor.compactItem(itemId));
+
+        verifyNoInteractions(movementRepository);
+    }
+
+    @Test
+    void compactItem_WithNothingPending_LeavesSnapshotAlone() {
+        when(snapshotRepository.lockSnapshot(itemId)).thenReturn(1);
+        when(movementRepository.findPendingMovementIds(itemId, PageRequest.of(0, 500))).thenReturn(List.of());
+
+        assertEquals(0, compactor.compactItem(itemId));
+
+        verify(snapshotRepository, never()).applyCompaction(any(), anyInt(), anyInt());
+    }
+}
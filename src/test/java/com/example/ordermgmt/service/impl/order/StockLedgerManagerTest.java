@@ -0,0 +1,117 @@
+package com.example.ordermgmt.service.impl.order;
+
+import com.example.ordermgmt.dto.StockLevelDTO;
+import com.example.ordermgmt.entity.InventoryItem;
+import com.example.ordermgmt.entity.InventoryMovement;
+import com.example.ordermgmt.entity.InventoryStockSnapshot;
+import com.example.ordermgmt.enums.StockMovementType;
+import com.example.ordermgmt.repository.InventoryMovementRepository;
+import com.example.ordermgmt.repository.InventoryStockSnapshotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockLedgerManagerTest {
+
+    @Mock
+    private InventoryStockSnapshotRepository snapshotRepository;
+
+    @Mock
+    private InventoryMovementRepository movementRepository;
+
+    @InjectMocks
+    private StockLedgerManager manager;
+
+    private UUID itemId;
+    private InventoryItem item;
+
+    @BeforeEach
+    void setUp() {
+        itemId = UUID.randomUUID();
+        item = new InventoryItem();
+        item.setItemId(itemId);
+        item.setAvailableStock(30);
+        item.setReservedStock(5);
+    }
+
+    @Test
+    void enable_MovesRowStockIntoSnapshot() {
+        manager.enable(item);
+
+        ArgumentCaptor<InventoryStockSnapshot> captor = ArgumentCaptor.forClass(InventoryStockSnapshot.class);
+        verify(snapshotRepository).save(captor.capture());
+        assertEquals(itemId, captor.getValue().getItemId());
+        assertEquals(30, captor.getValue().getAvailableStock());
+        assertEquals(5, captor.getValue().getReservedStock());
+        assertTrue(item.isStockLedger());
+        assertEquals(0, item.getAvailableStock());
+        assertEquals(0, item.getReservedStock());
+    }
+
+    @Test
+    void enable_WhenAlreadyInLedgerMode_DoesNothing() {
+        item.setStockLedger(true);
+
+        manager.enable(item);
+
+        verifyNoInteractions(snapshotRepository);
+    }
+
+    @Test
+    void disable_FoldsDerivedBalanceBackOntoRow() {
+        item.setStockLedger(true);
+        item.setAvailableStock(0);
+        item.setReservedStock(0);
+        when(snapshotRepository.findBalances(List.of(itemId))).thenReturn(List.of(new StockLevelDTO(itemId, 42L, 8L)));
+
+        manager.disable(item);
+
+        InOrder inOrder = inOrder(snapshotRepository, movementRepository);
+        inOrder.verify(snapshotRepository).lockSnapshot(itemId);
+        inOrder.verify(snapshotRepository).findBalances(List.of(itemId));
+        inOrder.verify(movementRepository).markAllCompacted(itemId);
+        inOrder.verify(snapshotRepository).deleteByItemId(itemId);
+        assertFalse(item.isStockLedger());
+        assertEquals(42, item.getAvailableStock());
+        assertEquals(8, item.getReservedStock());
+    }
+
+    @Test
+    void restock_InsertsRestockMovement() {
+        manager.restock(item, 25);
+
+        ArgumentCaptor<InventoryMovement> captor = ArgumentCaptor.forClass(InventoryMovement.class);
+        verify(movementRepository).save(captor.capture());
+        assertEquals(StockMovementType.RESTOCK, captor.getValue().getMovementType());
+        assertEquals(25, captor.getValue().getAvailableDelta());
+        assertEquals(0, captor.getValue().getReservedDelta());
+    }
+
+    @Test
+    void findStockLevels_WithoutLedgerItems_IssuesNoQuery() {
+        assertTrue(manager.findStockLevels(List.of(item)).isEmpty());
+        verifyNoInteractions(snapshotRepository);
+    }
+
+    @Test
+    void findStockLevels_ReturnsBalancesByItem() {
+        item.setStockLedger(true);
+        StockLevelDTO balance = new StockLevelDTO(itemId, 12L, 3L);
+        when(snapshotRepository.findBalances(List.of(itemId))).thenReturn(List.of(balance));
+
+        assertEquals(Map.of(itemId, balance), manager.findStockLevels(List.of(item)));
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.ordermgmt.service.impl.order;
+
+import com.example.ordermgmt.dto.StockBucketLevelDTO;
+import com.example.ordermgmt.dto.StockLevelDTO;
+import com.example.ordermgmt.entity.InventoryItem;
+import com.example.ordermgmt.entity.InventoryStockBucket;
+import com.example.ordermgmt.repository.InventoryStockBucketRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StripedStockManagerTest {
+
+    @Mock
+    private InventoryStockBucketRepository bucketRepository;
+
+    @InjectMocks
+    private StripedStockManager stripedStockManager;
+
+    private UUID itemId;
+    private InventoryItem item;
+
+    @BeforeEach
+    void setUp() {
+        itemId = UUID.randomUUID();
+        item = new InventoryItem();
+        item.setItemId(itemId);
+        item.setItemName("Hot Item");
+        item.setAvailableStock(10);
+        item.setReservedStock(2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void restripe_SplitsRowStockEvenlyAndZeroesTheRow() {
+        stripedStockManager.restripe(item, 3);
+
+        ArgumentCaptor<List<InventoryStockBucket>> captor = ArgumentCaptor.forClass(List.class);
+        verify(bucketRepository).saveAll(captor.capture());
+        List<InventoryStockBucket> buckets = captor.getValue();
+        assertEquals(List.of(4, 3, 3), buckets.stream().map(InventoryStockBucket::getAvailableStock).toList());
+        assertEquals(List.of(1, 1, 0), buckets.stream().map(InventoryStockBucket::getReservedStock).toList());
+        assertEquals(0, item.getAvailableStock());
+        assertEquals(0, item.getReservedStock());
+        assertEquals(3, item.getStripeCount());
+
+        verify(bucketRepository).lockBuckets(itemId);
+        verify(bucketRepository).deleteByItemId(itemId);
+    }
+
+    @Test
+    void restripe_ToOneBucket_FoldsBucketsBackOntoRow() {
+        item.setAvailableStock(0);
+        item.setReservedStock(0);
+        item.setStripeCount(2);
+        when(bucketRepository.findBucketLevels(itemId)).thenReturn(List.of(
+                new StockBucketLevelDTO(0, 5, 1),
+                new StockBucketLevelDTO(1, 7, 3)));
+
+        stripedStockManager.restripe(item, 1);
+
+        assertEquals(12, item.getAvailableStock());
+        assertEquals(4, item.getReservedStock());
+        assertEquals(1, item.getStripeCount());
+        verify(bucketRepository).deleteByItemId(itemId);
+        verify(bucketRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void addAvailable_SpreadsRestockOverBuckets() {
+        item.setStripeCount(4);
+        when(bucketRepository.moveStockIfCovered(eq(itemId), anyInt(), anyInt(), eq(0))).thenReturn(1);
+
+        stripedStockManager.addAvailable(item, 6);
+
+        verify(bucketRepository).moveStockIfCovered(itemId, 0, 2, 0);
+        verify(bucketRepository).moveStockIfCovered(itemId, 1, 2, 0);
+        verify(bucketRepository).moveStockIfCovered(itemId, 2, 1, 0);
+        verify(bucketRepository).moveStockIfCovered(itemId, 3, 1, 0);
+    }
+
+    @Test
+    void findStockLevels_WithoutStripedItems_SkipsQuery() {
+        assertTrue(stripedStockManager.findStockLevels(List.of(item)).isEmpty());
+
+        verifyNoInteractions(bucketRepository);
+    }
+
+    @Test
+    void findStockLevels_ReturnsBucketTotalsByItem() {
+        item.setStripeCount(8);
+        when(bucketRepository.sumStockByItemIds(List.of(itemId)))
+                .thenReturn(List.of(new StockLevelDTO(itemId, 40L, 8L)));
+
+        Map<UUID, StockLevelDTO> levels = stripedStockManager.findStockLevels(List.of(item));
+
+        assertEquals(40L, levels.get(itemId).getAvailableStock());
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.ordermgmt.service.impl.order;
+
+import com.example.ordermgmt.dto.StockBucketLevelDTO;
+import com.example.ordermgmt.entity.InventoryItem;
+import com.example.ordermgmt.exception.InsufficientStockException;
+import com.example.ordermgmt.exception.InvalidOperationException;
+import com.example.ordermgmt.repository.InventoryItemRepository;
+import com.example.ordermgmt.repository.InventoryStockBucketRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StripedStockReservationEngineTest {
+
+    @Mock
+    private InventoryStockBucketRepository bucketRepository;
+
+    @Mock
+    private InventoryItemRepository inventoryRepository;
+
+    @InjectMocks
+    private StripedStockReservationEngine engine;
+
+    private UUID itemId;
+    private InventoryItem item;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(engine, "bucketSelection", StripedStockReservationEngine.ROUND_ROBIN);
+        itemId = UUID.randomUUID();
+        item = new InventoryItem();
+        item.setItemId(itemId);
+        item.setItemName("Hot Item");
+        item.setAvailableStock(0);
+        item.setReservedStock(0);
+        item.setStripeCount(4);
+    }
+
+    @Test
+    void reserve_WhenFirstBucketCovers_UpdatesOnlyThatBucket() {
+        when(bucketRepository.moveStockIfCovered(itemId, 0, -2, 2)).thenReturn(1);
+
+        engine.reserve(item, 2);
+
+        verify(bucketRepository, times(1)).moveStockIfCovered(eq(itemId), anyInt(), anyInt(), anyInt());
+        verifyNoInteractions(inventoryRepository);
+    }
+
+    @Test
+    void reserve_RoundRobin_SpreadsConsecutiveOrdersOverBuckets() {
+        when(bucketRepository.moveStockIfCovered(eq(itemId), anyInt(), eq(-1), eq(1))).thenReturn(1);
+
+        for (int i = 0; i < 4; i++) {
+            engine.reserve(item, 1);
+        }
+
+        for (int bucketNo = 0; bucketNo < 4; bucketNo++) {
+            verify(bucketRepository).moveStockIfCovered(itemId, bucketNo, -1, 1);
+        }
+    }
+
+    @Test
+    void reserve_WhenFirstBucketEmpty_FallsBackToNextBucket() {
+        when(bucketRepository.moveStockIfCovered(itemId, 0, -3, 3)).thenReturn(0);
+        when(bucketRepository.moveStockIfCovered(itemId, 1, -3, 3)).thenReturn(1);
+
+        engine.reserve(item, 3);
+
+        verify(bucketRepository, never()).findBucketLevels(any());
+    }
+
+    @Test
+    void reserve_WhenNoSingleBucketCovers_SpreadsAcrossBucketsUnderRowLock() {
+        when(bucketRepository.moveStockIfCovered(eq(itemId), anyInt(), eq(-5), eq(5))).thenReturn(0);
+        when(bucketRepository.findBucketLevels(itemId)).thenReturn(List.of(
+                new StockBucketLevelDTO(0, 2, 0),
+                new StockBucketLevelDTO(1, 0, 0),
+                new StockBucketLevelDTO(2, 4, 0),
+                new StockBucketLevelDTO(3, 1, 0)));
+        when(bucketRepository.moveStockIfCovered(itemId, 0, -2, 2)).thenReturn(1);
+        when(bucketRepository.moveStockIfCovered(itemId, 2, -3, 3)).thenReturn(1);
+
+        engine.reserve(item, 5);
+
+        verify(inventoryRepository).findAllByItemIdInForUpdate(List.of(itemId));
+        // Buckets 0 and 2 cover it; bucket 3 is only tried by the single-bucket pass
+        verify(bucketRepository, never()).moveStockIfCovered(itemId, 3, -1, 1);
+    }
+
+    @Test
+    void reserve_WhenBucketsTogetherCannotCover_ThrowsInsufficientStockWithTotal() {
+        when(bucketRepository.moveStockIfCovered(eq(itemId), anyInt(), eq(-9), eq(9))).thenReturn(0);
+        when(bucketRepository.findBucketLevels(itemId)).thenReturn(List.of(
+                new StockBucketLevelDTO(0, 2, 0),
+                new StockBucketLevelDTO(1, 3, 0)));
+
+        InsufficientStockException ex = assertThrows(InsufficientStockException.class,
+                () -> engine.reserve(item, 9));
+
+        assertTrue(ex.getMessage().contains("Available: 5, Requested: 9"));
+    }
+
+    @Test
+    void reserve_WhenItemWasUnstripedConcurrently_AsksForRetry() {
+        when(bucketRepository.moveStockIfCovered(eq(itemId), anyInt(), eq(-1), eq(1))).thenReturn(0);
+        when(bucketRepository.findBucketLevels(itemId)).thenReturn(List.of());
+
+        assertThrows(InvalidOperationException.class, () -> engine.reserve(item, 1));
+    }
+
+    @Test
+    void release_MovesReservedBackToAvailable() {
+        when(bucketRepository.moveStockIfCovered(itemId, 0, 4, -4)).thenReturn(1);
+
+        engine.release(item, 4);
+
+        verify(bucketRepository).moveStockIfCovered(itemId, 0, 4, -4);
+    }
+
+    @Test
+    void fulfil_WhenReservedTooLow_ThrowsInconsistency() {
+        when(bucketRepository.moveStockIfCovered(eq(itemId), anyInt(), eq(0), eq(-6))).thenReturn(0);
+        when(bucketRepository.findBucketLevels(itemId)).thenReturn(List.of(new StockBucketLevelDTO(0, 10, 2)));
+
+        InvalidOperationException ex = assertThrows(InvalidOperationException.class,
+                () -> engine.fulfil(item, 6));
+
+        assertTrue(ex.getMessage().contains("cannot fulfil 6 units, only 2 reserved"));
+    }
+
+    @Test
+    void pickBucket_ThreadHash_StaysInRange() {
+        ReflectionTestUtils.setField(engine, "bucketSelection", StripedStockReservationEngine.THREAD_HASH);
+
+        int bucket = engine.pickBucket(7);
+
+        assertTrue(bucket >= 0 && bucket < 7);
+        assertEquals(bucket, engine.pickBucket(7));
+    }
+}
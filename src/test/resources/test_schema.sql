@@ -82,6 +82,74 @@ CREATE TABLE IF NOT EXISTS itest_ordermgmt.inventory_item (
     updatedby character varying(255),
     updatedtimestamp timestamp(6) without time zone,
     version bigint,
+    org_id uuid NOT NULL,
+    flashsale boolean DEFAULT false NOT NULL,
+    stripecount integer DEFAULT 1 NOT NULL,
+    stockledger boolean DEFAULT false NOT NULL
+    );
+
+CREATE TABLE IF NOT EXISTS itest_ordermgmt.inventory_stock_bucket (
+    itemid uuid NOT NULL,
+    bucketno integer NOT NULL,
+    availablestock integer NOT NULL,
+    reservedstock integer NOT NULL,
+    org_id uuid NOT NULL
+    );
+
+CREATE TABLE IF NOT EXISTS itest_ordermgmt.inventory_stock_snapshot (
+    itemid uuid NOT NULL,
+    availablestock integer NOT NULL,
+    reservedstock integer NOT NULL,
+    compactedtimestamp timestamp(6) without time zone DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    org_id uuid NOT NULL
+    );
+
+CREATE TABLE IF NOT EXISTS itest_ordermgmt.inventory_movement (
+    movementid uuid NOT NULL,
+    itemid uuid NOT NULL,
+    movementtype character varying(20) NOT NULL,
+    availabledelta integer NOT NULL,
+    reserveddelta integer NOT NULL,
+    compacted boolean DEFAULT false NOT NULL,
+    createdby character varying(255),
+    createdtimestamp timestamp(6) without time zone DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    org_id uuid NOT NULL
+    );
+
+CREATE TABLE IF NOT EXISTS itest_ordermgmt.order_status_history (
+    historyid uuid DEFAULT gen_random_uuid() NOT NULL,
+    orderid uuid NOT NULL,
+    fromstatusid integer,
+    tostatusid integer NOT NULL,
+    changedtimestamp timestamp(6) without time zone NOT NULL,
+    dwellms bigint,
+    org_id uuid NOT NULL
+    );
+
+CREATE TABLE IF NOT EXISTS itest_ordermgmt.orders_archive (
+    orderid uuid NOT NULL,
+    createdby character varying(255),
+    createdtimestamp timestamp(6) without time zone NOT NULL,
+    updatedby character varying(255),
+    updatedtimestamp timestamp(6) without time zone,
+    customerid uuid NOT NULL,
+    statusid integer NOT NULL,
+    org_id uuid NOT NULL,
+    intaketoken uuid,
+    totalamount numeric(19,4) DEFAULT 0 NOT NULL,
+    itemcount integer DEFAULT 0 NOT NULL,
+    archivedtimestamp timestamp(6) without time zone DEFAULT CURRENT_TIMESTAMP NOT NULL
+    );
+
+CREATE TABLE IF NOT EXISTS itest_ordermgmt.order_item_archive (
+    itemid uuid NOT NULL,
+    createdby character varying(255),
+    createdtimestamp timestamp(6) without time zone NOT NULL,
+    quantity integer NOT NULL,
+    unitprice numeric(19,4) NOT NULL,
+    updatedby character varying(255),
+    updatedtimestamp timestamp(6) without time zone,
+    orderid uuid NOT NULL,
     org_id uuid NOT NULL
     );
 
@@ -102,7 +170,8 @@ CREATE TABLE IF NOT EXISTS itest_ordermgmt.pricing_history (
     oldprice numeric(19,4),
     updatedby character varying(255),
     updatedtimestamp timestamp(6) without time zone,
-    itemid uuid NOT NULL
+    itemid uuid NOT NULL,
+    effectivefrom timestamp(6) without time zone DEFAULT CURRENT_TIMESTAMP NOT NULL
     );
 
 CREATE TABLE IF NOT EXISTS itest_ordermgmt.orders (
@@ -113,7 +182,10 @@ CREATE TABLE IF NOT EXISTS itest_ordermgmt.orders (
     updatedtimestamp timestamp(6) without time zone,
     customerid uuid NOT NULL,
     statusid integer NOT NULL,
-    org_id uuid NOT NULL
+    org_id uuid NOT NULL,
+    intaketoken uuid,
+    totalamount numeric(19,4) DEFAULT 0 NOT NULL,
+    itemcount integer DEFAULT 0 NOT NULL
     );
 
 CREATE TABLE IF NOT EXISTS itest_ordermgmt.order_item (
@@ -139,6 +211,150 @@ CREATE TABLE IF NOT EXISTS itest_ordermgmt.email_log (
     org_id uuid NOT NULL
     );
 
+-- Hot and archived order lines in one relation, for reports
+CREATE OR REPLACE VIEW itest_ordermgmt.order_sale_line AS
+SELECT i.orderid, i.itemid, i.org_id, i.quantity, i.unitprice, o.statusid, o.createdtimestamp
+FROM itest_ordermgmt.order_item i
+JOIN itest_ordermgmt.orders o ON o.orderid = i.orderid
+UNION ALL
+SELECT i.orderid, i.itemid, i.org_id, i.quantity, i.unitprice, o.statusid, o.createdtimestamp
+FROM itest_ordermgmt.order_item_archive i
+JOIN itest_ordermgmt.orders_archive o ON o.orderid = i.orderid;
+
+-- =============================================================================
+-- 2) FUNCTIONS
+-- =============================================================================
+
+-- Server-side order placement (app.order.placement.engine=plpgsql)
+CREATE OR REPLACE FUNCTION itest_ordermgmt.place_order(
+    p_org_id uuid,
+    p_customer_id uuid,
+    p_status_id integer,
+    p_item_ids uuid[],
+    p_quantities integer[],
+    p_intake_token uuid,
+    p_auditor character varying,
+    p_now timestamp without time zone)
+RETURNS TABLE (
+    outcome character varying,
+    orderid uuid,
+    itemid uuid,
+    itemname character varying,
+    quantity integer,
+    unitprice numeric,
+    availablestock integer)
+LANGUAGE plpgsql
+AS $$
+#variable_conflict use_column
+DECLARE
+    v_line record;
+    v_price numeric;
+    v_total numeric := 0;
+    v_order_id uuid;
+    v_item_ids uuid[] := '{}';
+    v_names character varying[] := '{}';
+    v_quantities integer[] := '{}';
+    v_prices numeric[] := '{}';
+BEGIN
+    -- Same lock order as the Java engine (ascending itemid), so both can run side by side
+    PERFORM 1
+    FROM itest_ordermgmt.inventory_item i
+    WHERE i.itemid = ANY (p_item_ids)
+      AND i.org_id = p_org_id
+    ORDER BY i.itemid
+    FOR UPDATE;
+
+    -- Check and price every line before writing anything; the first failing line is reported
+    FOR v_line IN
+        SELECT r.itemid, r.quantity, i.itemid IS NOT NULL AS known, i.itemname,
+               i.availablestock - (SUM(r.quantity) OVER (PARTITION BY r.itemid ORDER BY r.lineno)
+                                   - r.quantity) AS available
+        FROM unnest(p_item_ids, p_quantities) WITH ORDINALITY AS r(itemid, quantity, lineno)
+        LEFT JOIN itest_ordermgmt.inventory_item i ON i.itemid = r.itemid AND i.org_id = p_org_id
+        ORDER BY r.itemid, r.lineno
+    LOOP
+        IF NOT v_line.known THEN
+            RETURN QUERY SELECT 'ITEM_NOT_FOUND'::varchar, NULL::uuid, v_line.itemid, NULL::varchar,
+                v_line.quantity, NULL::numeric, NULL::integer;
+            RETURN;
+        END IF;
+        IF v_line.available < v_line.quantity THEN
+            RETURN QUERY SELECT 'INSUFFICIENT_STOCK'::varchar, NULL::uuid, v_line.itemid, v_line.itemname,
+                v_line.quantity, NULL::numeric, v_line.available::integer;
+            RETURN;
+        END IF;
+
+        -- Price timeline: the last history row effective at p_now (ties: recorded last),
+        -- the catalog price when the item has no history at all
+        SELECT ph.newprice INTO v_price
+        FROM itest_ordermgmt.pricing_history ph
+        WHERE ph.itemid = v_line.itemid
+          AND ph.effectivefrom <= p_now
+        ORDER BY ph.effectivefrom DESC, ph.createdtimestamp DESC
+        LIMIT 1;
+        IF NOT FOUND THEN
+            IF EXISTS (SELECT 1 FROM itest_ordermgmt.pricing_history ph WHERE ph.itemid = v_line.itemid) THEN
+                RETURN QUERY SELECT 'PRICE_NOT_IN_EFFECT'::varchar, NULL::uuid, v_line.itemid, v_line.itemname,
+                    v_line.quantity, NULL::numeric, NULL::integer;
+                RETURN;
+            END IF;
+            SELECT pc.unitprice INTO v_price
+            FROM itest_ordermgmt.pricing_catalog pc
+            WHERE pc.itemid = v_line.itemid;
+            IF NOT FOUND THEN
+                RETURN QUERY SELECT 'PRICE_NOT_FOUND'::varchar, NULL::uuid, v_line.itemid, v_line.itemname,
+                    v_line.quantity, NULL::numeric, NULL::integer;
+                RETURN;
+            END IF;
+        END IF;
+
+        v_item_ids := v_item_ids || v_line.itemid;
+        v_names := v_names || v_line.itemname;
+        v_quantities := v_quantities || v_line.quantity;
+        v_prices := v_prices || v_price;
+        v_total := v_total + v_price * v_line.quantity;
+    END LOOP;
+
+    -- Time-ordered (version 7) order ID, like the ones generated for orders placed from Java
+    v_order_id := encode(
+        set_bit(set_bit(
+            overlay(uuid_send(gen_random_uuid())
+                    PLACING substring(int8send(floor(extract(epoch FROM clock_timestamp()) * 1000)::bigint) FROM 3)
+                    FROM 1 FOR 6),
+            52, 1), 53, 1),
+        'hex')::uuid;
+
+    INSERT INTO itest_ordermgmt.orders (orderid, customerid, statusid, org_id, intaketoken, totalamount, itemcount,
+                               createdtimestamp, updatedtimestamp, createdby, updatedby)
+    VALUES (v_order_id, p_customer_id, p_status_id, p_org_id, p_intake_token, v_total,
+            cardinality(v_item_ids), p_now, p_now, p_auditor, p_auditor);
+
+    UPDATE itest_ordermgmt.inventory_item i
+    SET availablestock = i.availablestock - d.quantity,
+        reservedstock = i.reservedstock + d.quantity,
+        version = COALESCE(i.version, 0) + 1,
+        updatedtimestamp = p_now,
+        updatedby = p_auditor
+    FROM (
+        SELECT u.itemid, SUM(u.quantity) AS quantity
+        FROM unnest(v_item_ids, v_quantities) AS u(itemid, quantity)
+        GROUP BY u.itemid
+    ) d
+    WHERE i.itemid = d.itemid;
+
+    INSERT INTO itest_ordermgmt.order_item (orderid, itemid, quantity, unitprice, org_id,
+                                   createdtimestamp, updatedtimestamp, createdby, updatedby)
+    SELECT v_order_id, l.itemid, l.quantity, l.unitprice, p_org_id, p_now, p_now, p_auditor, p_auditor
+    FROM unnest(v_item_ids, v_quantities, v_prices) AS l(itemid, quantity, unitprice);
+
+    RETURN QUERY
+    SELECT 'PLACED'::varchar, v_order_id, l.itemid, l.itemname, l.quantity, l.unitprice, NULL::integer
+    FROM unnest(v_item_ids, v_names, v_quantities, v_prices) WITH ORDINALITY
+         AS l(itemid, itemname, quantity, unitprice, lineno)
+    ORDER BY l.lineno;
+END;
+$$;
+
 -- =============================================================================
 -- 3) CONSTRAINTS (ADDED ONCE, WITH CONSISTENT NAMES)
 -- =============================================================================
@@ -177,6 +393,24 @@ ALTER TABLE ONLY itest_ordermgmt.order_item
 ALTER TABLE ONLY itest_ordermgmt.email_log
     ADD CONSTRAINT pk_email_log PRIMARY KEY (id);
 
+ALTER TABLE ONLY itest_ordermgmt.inventory_stock_bucket
+    ADD CONSTRAINT pk_inventory_stock_bucket PRIMARY KEY (itemid, bucketno);
+
+ALTER TABLE ONLY itest_ordermgmt.inventory_stock_snapshot
+    ADD CONSTRAINT pk_inventory_stock_snapshot PRIMARY KEY (itemid);
+
+ALTER TABLE ONLY itest_ordermgmt.inventory_movement
+    ADD CONSTRAINT pk_inventory_movement PRIMARY KEY (movementid);
+
+ALTER TABLE ONLY itest_ordermgmt.order_status_history
+    ADD CONSTRAINT pk_order_status_history PRIMARY KEY (historyid);
+
+ALTER TABLE ONLY itest_ordermgmt.orders_archive
+    ADD CONSTRAINT pk_orders_archive PRIMARY KEY (orderid);
+
+ALTER TABLE ONLY itest_ordermgmt.order_item_archive
+    ADD CONSTRAINT pk_order_item_archive PRIMARY KEY (orderid, itemid);
+
 -- Unique constraints
 ALTER TABLE ONLY itest_ordermgmt.user_role
     ADD CONSTRAINT uq_user_role_rolename UNIQUE (rolename);
@@ -194,6 +428,19 @@ ALTER TABLE ONLY itest_ordermgmt.inventory_item
 ALTER TABLE ONLY itest_ordermgmt.inventory_item
     ADD CONSTRAINT ck_inventory_item_reservedstock_nonnegative CHECK (reservedstock >= 0);
 
+ALTER TABLE ONLY itest_ordermgmt.inventory_item
+    ADD CONSTRAINT ck_inventory_item_stripecount_positive CHECK (stripecount >= 1);
+
+ALTER TABLE ONLY itest_ordermgmt.inventory_stock_bucket
+    ADD CONSTRAINT ck_inventory_stock_bucket_availablestock_nonnegative CHECK (availablestock >= 0);
+
+ALTER TABLE ONLY itest_ordermgmt.inventory_stock_bucket
+    ADD CONSTRAINT ck_inventory_stock_bucket_reservedstock_nonnegative CHECK (reservedstock >= 0);
+
+ALTER TABLE ONLY itest_ordermgmt.inventory_movement
+    ADD CONSTRAINT ck_inventory_movement_movementtype
+    CHECK (movementtype IN ('RESERVE', 'RELEASE', 'FULFIL', 'RESTOCK'));
+
 -- Foreign keys
 ALTER TABLE ONLY itest_ordermgmt.app_user
     ADD CONSTRAINT fk_app_user_role
@@ -260,6 +507,58 @@ ALTER TABLE ONLY itest_ordermgmt.pricing_catalog
     FOREIGN KEY (itemid) REFERENCES itest_ordermgmt.inventory_item(itemid)
     ON UPDATE CASCADE ON DELETE RESTRICT;
 
+ALTER TABLE ONLY itest_ordermgmt.inventory_stock_bucket
+    ADD CONSTRAINT fk_inventory_stock_bucket_item
+    FOREIGN KEY (itemid) REFERENCES itest_ordermgmt.inventory_item(itemid)
+    ON UPDATE CASCADE ON DELETE CASCADE;
+
+ALTER TABLE ONLY itest_ordermgmt.inventory_stock_bucket
+    ADD CONSTRAINT fk_inventory_stock_bucket_org
+    FOREIGN KEY (org_id) REFERENCES itest_ordermgmt.organization(org_id)
+    ON UPDATE CASCADE ON DELETE RESTRICT;
+
+ALTER TABLE ONLY itest_ordermgmt.inventory_stock_snapshot
+    ADD CONSTRAINT fk_inventory_stock_snapshot_item
+    FOREIGN KEY (itemid) REFERENCES itest_ordermgmt.inventory_item(itemid)
+    ON UPDATE CASCADE ON DELETE CASCADE;
+
+ALTER TABLE ONLY itest_ordermgmt.inventory_stock_snapshot
+    ADD CONSTRAINT fk_inventory_stock_snapshot_org
+    FOREIGN KEY (org_id) REFERENCES itest_ordermgmt.organization(org_id)
+    ON UPDATE CASCADE ON DELETE RESTRICT;
+
+ALTER TABLE ONLY itest_ordermgmt.inventory_movement
+    ADD CONSTRAINT fk_inventory_movement_item
+    FOREIGN KEY (itemid) REFERENCES itest_ordermgmt.inventory_item(itemid)
+    ON UPDATE CASCADE ON DELETE CASCADE;
+
+ALTER TABLE ONLY itest_ordermgmt.inventory_movement
+    ADD CONSTRAINT fk_inventory_movement_org
+    FOREIGN KEY (org_id) REFERENCES itest_ordermgmt.organization(org_id)
+    ON UPDATE CASCADE ON DELETE RESTRICT;
+
+ALTER TABLE ONLY itest_ordermgmt.order_status_history
+    ADD CONSTRAINT fk_order_status_history_from
+    FOREIGN KEY (fromstatusid) REFERENCES itest_ordermgmt.order_status_lookup(statusid);
+
+ALTER TABLE ONLY itest_ordermgmt.order_status_history
+    ADD CONSTRAINT fk_order_status_history_to
+    FOREIGN KEY (tostatusid) REFERENCES itest_ordermgmt.order_status_lookup(statusid);
+
+ALTER TABLE ONLY itest_ordermgmt.order_status_history
+    ADD CONSTRAINT fk_order_status_history_org
+    FOREIGN KEY (org_id) REFERENCES itest_ordermgmt.organization(org_id)
+    ON UPDATE CASCADE ON DELETE RESTRICT;
+
+ALTER TABLE ONLY itest_ordermgmt.orders_archive
+    ADD CONSTRAINT fk_orders_archive_status
+    FOREIGN KEY (statusid) REFERENCES itest_ordermgmt.order_status_lookup(statusid);
+
+ALTER TABLE ONLY itest_ordermgmt.orders_archive
+    ADD CONSTRAINT fk_orders_archive_org
+    FOREIGN KEY (org_id) REFERENCES itest_ordermgmt.organization(org_id)
+    ON UPDATE CASCADE ON DELETE RESTRICT;
+
 -- =============================================================================
 -- 4) INDEXES (ADDED ONCE)
 -- =============================================================================
@@ -275,6 +574,21 @@ CREATE INDEX idx_email_log_sentat ON itest_ordermgmt.email_log USING btree (sent
 CREATE INDEX idx_email_log_status ON itest_ordermgmt.email_log USING btree (status);
 
 CREATE INDEX idx_inventory_item_org_id ON itest_ordermgmt.inventory_item USING btree (org_id);
+CREATE INDEX idx_inventory_item_flashsale ON itest_ordermgmt.inventory_item USING btree (itemid) WHERE flashsale;
+
+CREATE INDEX idx_inventory_stock_bucket_org_id ON itest_ordermgmt.inventory_stock_bucket USING btree (org_id);
+
+CREATE INDEX idx_inventory_stock_snapshot_org_id ON itest_ordermgmt.inventory_stock_snapshot USING btree (org_id);
+
+CREATE INDEX idx_inventory_movement_item_created ON itest_ordermgmt.inventory_movement USING btree (itemid, createdtimestamp);
+CREATE INDEX idx_inventory_movement_pending ON itest_ordermgmt.inventory_movement USING btree (itemid) WHERE NOT compacted;
+CREATE INDEX idx_inventory_movement_org_id ON itest_ordermgmt.inventory_movement USING btree (org_id);
+
+CREATE INDEX idx_order_status_history_order_changed ON itest_ordermgmt.order_status_history USING btree (orderid, changedtimestamp);
+CREATE INDEX idx_order_status_history_org_transition_changed ON itest_ordermgmt.order_status_history USING btree (org_id, fromstatusid, tostatusid, changedtimestamp) INCLUDE (dwellms);
+
+CREATE INDEX idx_orders_archive_org_customer_created ON itest_ordermgmt.orders_archive USING btree (org_id, customerid, createdtimestamp DESC, orderid);
+CREATE INDEX idx_orders_archive_org_created ON itest_ordermgmt.orders_archive USING btree (org_id, createdtimestamp DESC, orderid);
 
 CREATE INDEX idx_order_item_orderid ON itest_ordermgmt.order_item USING btree (orderid);
 CREATE INDEX idx_order_item_org_id ON itest_ordermgmt.order_item USING btree (org_id);
@@ -282,12 +596,14 @@ CREATE INDEX idx_order_item_org_id ON itest_ordermgmt.order_item USING btree (or
 CREATE INDEX idx_orders_created ON itest_ordermgmt.orders USING btree (createdtimestamp);
 CREATE INDEX idx_orders_customerid ON itest_ordermgmt.orders USING btree (customerid);
 CREATE INDEX idx_orders_org_id ON itest_ordermgmt.orders USING btree (org_id);
+CREATE INDEX idx_orders_org_status_created ON itest_ordermgmt.orders USING btree (org_id, statusid, createdtimestamp, orderid);
 CREATE INDEX idx_orders_status_created ON itest_ordermgmt.orders USING btree (statusid, createdtimestamp);
 CREATE INDEX idx_orders_statusid ON itest_ordermgmt.orders USING btree (statusid);
 
 CREATE INDEX idx_pricing_history_created ON itest_ordermgmt.pricing_history USING btree (createdtimestamp);
 CREATE INDEX idx_pricing_history_item_created ON itest_ordermgmt.pricing_history USING btree (itemid, createdtimestamp DESC);
 CREATE INDEX idx_pricing_history_itemid ON itest_ordermgmt.pricing_history USING btree (itemid);
+CREATE INDEX idx_pricing_history_item_effective ON itest_ordermgmt.pricing_history USING btree (itemid, effectivefrom);
 
 -- Tenant-scoped uniqueness
 CREATE UNIQUE INDEX uq_app_user_email_org
@@ -297,6 +613,10 @@ CREATE UNIQUE INDEX uq_customer_contactno_org
     ON itest_ordermgmt.customer USING btree (contactno, org_id)
     WHERE (contactno IS NOT NULL);
 
+CREATE UNIQUE INDEX uq_orders_intaketoken
+    ON itest_ordermgmt.orders USING btree (intaketoken)
+    WHERE (intaketoken IS NOT NULL);
+
 
 -- =============================================================================
 -- 5) LOOKUP DATA